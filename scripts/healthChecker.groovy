@@ -1,5 +1,9 @@
 Map<ElementKey, Boolean> classes = new HashMap<>();
 
+boolean isSideEffectFree() {
+   return true;
+}
+
 void process(NamedElement element) {
    HyperlinkElement hyperLinkElt = new HyperlinkElement(element.getPrefixedDisplayedName(), element);
    if (element.getElementType().equals(ElementTypes.CLASS)) {
@@ -32,9 +32,13 @@ the project website at the project page on https://github.com/hervegirod/owlToGr
  */
 package org.girod.ontobrowser;
 
+import java.awt.GraphicsEnvironment;
+import org.girod.ontobrowser.actions.LazyGraphBuilder;
 import org.girod.ontobrowser.parsers.PackagesConfigurationParser;
 import org.girod.ontobrowser.parsers.CustomGraphStylesParser;
 import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.util.PropertyResourceBundle;
 import java.util.prefs.Preferences;
@@ -46,6 +50,8 @@ import org.girod.ontobrowser.model.OntModelSpecTypes;
 import org.girod.ontobrowser.model.PackagesConfiguration;
 import org.girod.ontobrowser.model.SchemasRepository;
 import org.girod.ontobrowser.parsers.SchemasRepositoryParser;
+import org.girod.ontobrowser.parsers.graph.PersistentDatasetStore;
+import org.girod.ontobrowser.parsers.graph.SchemaSnapshotCache;
 import org.mdi.bootstrap.Configuration;
 import org.mdiutil.lang.swing.ResourceUILoader;
 import org.mdiutil.prefs.PreferencesHelper;
@@ -56,7 +62,7 @@ import org.girod.ontobrowser.parsers.graph.LayoutOptions;
 /**
  * The browser configuration.
  *
- * @version 0.17.2
+ * @version 0.18
  */
 public class BrowserConfiguration implements Configuration {
    private static BrowserConfiguration conf = null;
@@ -88,6 +94,9 @@ public class BrowserConfiguration implements Configuration {
    public boolean includeAlias = false;
    public short logLevel = ErrorLevel.WARNING;
    public boolean autoRefresh = false;
+   public boolean incrementalRefresh = true;
+   public boolean watchFiles = true;
+   public boolean compactAnnotations = true;
    public boolean multiSelection = false;
    /*
     * Diagrams configuration
@@ -100,6 +109,10 @@ public class BrowserConfiguration implements Configuration {
    public boolean showInterPackageConnections = true;
    public int maximumRadius = 1;
    public short layoutOptions = LayoutOptions.ANY_POSITION;
+   public boolean lazyDiagram = false;
+   public int lazyDiagramMaximumCells = LazyGraphBuilder.DEFAULT_MAXIMUM_CELLS;
+   public boolean streamingExport = false;
+   public boolean compressExport = false;
    /*
     * Parsing configuration
     */
@@ -107,6 +120,13 @@ public class BrowserConfiguration implements Configuration {
    public boolean addThingClass = true;
    public boolean strictMode = false;
    public String modelSpec = OntModelSpecTypes.OWL_MEM;
+   public boolean singlePassExtraction = false;
+   public boolean streamingOpen = false;
+   public boolean parallelExtraction = false;
+   public boolean useSnapshotCache = false;
+   private File snapshotCacheDirectory = null;
+   public boolean persistentDataset = false;
+   private File datasetsDirectory = null;
 
    /*
     * Schemas locations
@@ -126,7 +146,7 @@ public class BrowserConfiguration implements Configuration {
    public boolean showPackagesInPackageView = false;
    private boolean hasPackagesConfiguration = false;
    private File packagesConfigurationFile = null;
-   public final PackagesConfiguration packagesConfiguration = new PackagesConfiguration();
+   public final PackagesConfiguration packagesConfiguration;
    /*
     * SPARQL
     */
@@ -134,10 +154,13 @@ public class BrowserConfiguration implements Configuration {
    public boolean addGeoSPARQLPrefixInSPARQL = false;
    public boolean addOwlTimePrefixInSPARQL = false;
    public String basePrefix = "basePrefix";
+   public int sparqlResultLimit = 100000;
+   public boolean schemaAwareSPARQL = false;
    /*
     * scripts
     */
    public boolean endAtFirstException = false;
+   public boolean parallelScripts = false;
    /*
     * Style
     */
@@ -183,6 +206,10 @@ public class BrowserConfiguration implements Configuration {
     * The txt file filter.
     */
    public ExtensionFileFilter txtfilter;     
+   /**
+    * The SPARQL result file filter.
+    */
+   public ExtensionFileFilter sparqlResultfilter;
 
    private BrowserConfiguration() {
       // load ressources
@@ -191,6 +218,7 @@ public class BrowserConfiguration implements Configuration {
       packagesConfigurationXSD = loader.getURL("packagesConfiguration.xsd");
       schemasRepositoryXSD = loader.getURL("ontologies.xsd");
       defaultSchemasRepository = loader.getURL("ontologies.xml");
+      packagesConfiguration = new PackagesConfiguration();
 
       PropertyResourceBundle prb = loader.getPropertyResourceBundle("browser.properties");
 
@@ -207,7 +235,7 @@ public class BrowserConfiguration implements Configuration {
       String[] ext7 = {"ttl"};
       ttlfilter = new ExtensionFileFilter(ext7, "Turtle Files");      
 
-      String[] ext2 = {"graphml"};
+      String[] ext2 = {"graphml", "graphmlz"};
       graphmlfilter = new ExtensionFileFilter(ext2, "graphml Files");
 
       String[] ext3 = {"groovy"};
@@ -221,6 +249,46 @@ public class BrowserConfiguration implements Configuration {
       
       String[] ext6 = {"txt"};
       txtfilter = new ExtensionFileFilter(ext6, "ext6 files");          
+
+      String[] ext8 = {"csv", "tsv", "json"};
+      sparqlResultfilter = new ExtensionFileFilter(ext8, "SPARQL results");
+   }
+
+   private BrowserConfiguration(BrowserConfiguration other) {
+      graphStylesXSD = other.graphStylesXSD;
+      packagesConfigurationXSD = other.packagesConfigurationXSD;
+      schemasRepositoryXSD = other.schemasRepositoryXSD;
+      defaultSchemasRepository = other.defaultSchemasRepository;
+      version = other.version;
+      date = other.date;
+      packagesConfiguration = other.packagesConfiguration;
+      // copy all the options
+      Field[] fields = BrowserConfiguration.class.getDeclaredFields();
+      for (int i = 0; i < fields.length; i++) {
+         Field field = fields[i];
+         int modifiers = field.getModifiers();
+         if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)) {
+            try {
+               field.set(this, field.get(other));
+            } catch (IllegalAccessException ex) {
+               throw new IllegalStateException(ex);
+            }
+         }
+      }
+      if (hasCustomStyles) {
+         setCustomStylesConfiguration(customGraphStylesFile);
+      }
+   }
+
+   /**
+    * Return a copy of this configuration. Modifying the options of the copy does not modify this configuration, so the copy can be
+    * used for a specific run (for example a batch export). The custom graph styles are parsed again for the copy, but the packages
+    * configuration is shared with this configuration.
+    *
+    * @return the copy
+    */
+   public BrowserConfiguration copy() {
+      return new BrowserConfiguration(this);
    }
 
    /**
@@ -244,6 +312,15 @@ public class BrowserConfiguration implements Configuration {
       this.defaultDir = dir;
    }
 
+   /**
+    * Return the extension of the exported yEd diagrams. The diagrams are only compressed if they are streamed.
+    *
+    * @return the extension
+    */
+   public String getGraphMLExtension() {
+      return streamingExport && compressExport ? "graphmlz" : "graphml";
+   }
+
    /**
     * Return the default directory.
     *
@@ -297,6 +374,50 @@ public class BrowserConfiguration implements Configuration {
       SchemasResolvers.getInstance().setAlternateLocations(alternateLocations, useBuiltinSchemas);
    }
 
+   /**
+    * Return the directory of the schemas snapshots. Return the default directory if no directory has been set.
+    *
+    * @return the directory of the schemas snapshots
+    */
+   public File getSnapshotCacheDirectory() {
+      if (snapshotCacheDirectory == null) {
+         return SchemaSnapshotCache.getDefaultDirectory();
+      } else {
+         return snapshotCacheDirectory;
+      }
+   }
+
+   /**
+    * Set the directory of the schemas snapshots.
+    *
+    * @param snapshotCacheDirectory the directory of the schemas snapshots (null for the default directory)
+    */
+   public void setSnapshotCacheDirectory(File snapshotCacheDirectory) {
+      this.snapshotCacheDirectory = snapshotCacheDirectory;
+   }
+
+   /**
+    * Return the root directory of the persistent datasets. Return the default directory if no directory has been set.
+    *
+    * @return the root directory of the persistent datasets
+    */
+   public File getDatasetsDirectory() {
+      if (datasetsDirectory == null) {
+         return PersistentDatasetStore.getDefaultDirectory();
+      } else {
+         return datasetsDirectory;
+      }
+   }
+
+   /**
+    * Set the root directory of the persistent datasets.
+    *
+    * @param datasetsDirectory the root directory of the persistent datasets (null for the default directory)
+    */
+   public void setDatasetsDirectory(File datasetsDirectory) {
+      this.datasetsDirectory = datasetsDirectory;
+   }
+
    /**
     * Return the yed executable directory.
     *
@@ -355,16 +476,20 @@ public class BrowserConfiguration implements Configuration {
       if (customGraphStylesFile != null && customGraphStylesFile.exists()) {
          CustomGraphStylesParser parser = new CustomGraphStylesParser();
          try {
-            parser.parse(customGraphStylesFile);
+            parser.parse(customGraphStylesFile, customGraphStyles);
             this.customGraphStylesFile = customGraphStylesFile;
             this.hasCustomStyles = true;
          } catch (Exception e) {
             this.hasCustomStyles = false;
             this.customGraphStylesFile = null;
-            JErrorPane pane = new JErrorPane(e, JOptionPane.ERROR_MESSAGE);
-            JDialog dialog = pane.createDialog(null, "Exception");
-            dialog.setModal(false);
-            dialog.setVisible(true);
+            if (GraphicsEnvironment.isHeadless()) {
+               System.err.println("Could not parse the custom graph styles: " + e.getMessage());
+            } else {
+               JErrorPane pane = new JErrorPane(e, JOptionPane.ERROR_MESSAGE);
+               JDialog dialog = pane.createDialog(null, "Exception");
+               dialog.setModal(false);
+               dialog.setVisible(true);
+            }
 
          }
       } else {
@@ -490,6 +615,9 @@ public class BrowserConfiguration implements Configuration {
       // general
       PreferencesHelper.putFile(p, "defaultDir", defaultDir);
       p.putBoolean("autoRefresh", autoRefresh);
+      p.putBoolean("incrementalRefresh", incrementalRefresh);
+      p.putBoolean("watchFiles", watchFiles);
+      p.putBoolean("compactAnnotations", compactAnnotations);
       p.putBoolean("multiSelection", multiSelection);
       p.putBoolean("showIndirectRelations", showIndirectRelations);      
       p.putBoolean("showOwnElementsInBold", showOwnElementsInBold);
@@ -507,6 +635,10 @@ public class BrowserConfiguration implements Configuration {
       p.putBoolean("showAlias", showAlias);
       p.putInt("maximumRadius", maximumRadius);
       p.putInt("superClassPosition", (int)layoutOptions);
+      p.putBoolean("lazyDiagram", lazyDiagram);
+      p.putInt("lazyDiagramMaximumCells", lazyDiagramMaximumCells);
+      p.putBoolean("streamingExport", streamingExport);
+      p.putBoolean("compressExport", compressExport);
 
       // parsing
       p.putBoolean("includeIndividuals", includeIndividuals);
@@ -514,6 +646,13 @@ public class BrowserConfiguration implements Configuration {
       p.putBoolean("addThingClass", addThingClass);
       p.putBoolean("strictMode", strictMode);
       p.put("modelSpec", modelSpec);
+      p.putBoolean("singlePassExtraction", singlePassExtraction);
+      p.putBoolean("streamingOpen", streamingOpen);
+      p.putBoolean("parallelExtraction", parallelExtraction);
+      p.putBoolean("useSnapshotCache", useSnapshotCache);
+      PreferencesHelper.putFile(p, "snapshotCacheDirectory", snapshotCacheDirectory);
+      p.putBoolean("persistentDataset", persistentDataset);
+      PreferencesHelper.putFile(p, "datasetsDirectory", datasetsDirectory);
 
       // schemas
       PreferencesHelper.putFile(p, "schemasRepository", schemasRepositoryFile);
@@ -525,9 +664,12 @@ public class BrowserConfiguration implements Configuration {
       p.putBoolean("addGeoSPARQLPrefixInSPARQL", addGeoSPARQLPrefixInSPARQL);
       p.putBoolean("addOwlTimePrefixInSPARQL", addOwlTimePrefixInSPARQL);
       p.put("basePrefix", basePrefix);
+      p.putInt("sparqlResultLimit", sparqlResultLimit);
+      p.putBoolean("schemaAwareSPARQL", schemaAwareSPARQL);
 
       // scripts
       p.putBoolean("endAtFirstException", endAtFirstException);
+      p.putBoolean("parallelScripts", parallelScripts);
 
       // styles
       p.putInt("padWidth", padWidth);
@@ -555,6 +697,9 @@ public class BrowserConfiguration implements Configuration {
       // general
       defaultDir = PreferencesHelper.getFile(p, "defaultDir", defaultDir);
       autoRefresh = p.getBoolean("autoRefresh", autoRefresh);
+      incrementalRefresh = p.getBoolean("incrementalRefresh", incrementalRefresh);
+      watchFiles = p.getBoolean("watchFiles", watchFiles);
+      compactAnnotations = p.getBoolean("compactAnnotations", compactAnnotations);
       multiSelection = p.getBoolean("multiSelection", multiSelection);
       showIndirectRelations = p.getBoolean("showIndirectRelations", showIndirectRelations);
       showComments = p.getBoolean("showComments", showComments);
@@ -573,12 +718,23 @@ public class BrowserConfiguration implements Configuration {
       maximumRadius = p.getInt("maximumRadius", maximumRadius);
       showInterPackageConnections = p.getBoolean("showInterPackageConnections", showInterPackageConnections);
       layoutOptions = (short)p.getInt("superClassPosition", layoutOptions);
+      lazyDiagram = p.getBoolean("lazyDiagram", lazyDiagram);
+      lazyDiagramMaximumCells = p.getInt("lazyDiagramMaximumCells", lazyDiagramMaximumCells);
+      streamingExport = p.getBoolean("streamingExport", streamingExport);
+      compressExport = p.getBoolean("compressExport", compressExport);
 
       // parsing
       includeIndividuals = p.getBoolean("includeIndividuals", includeIndividuals);
       addThingClass = p.getBoolean("addThingClass", addThingClass);
       strictMode = p.getBoolean("strictMode", strictMode);
       modelSpec = p.get("modelSpec", modelSpec);
+      singlePassExtraction = p.getBoolean("singlePassExtraction", singlePassExtraction);
+      streamingOpen = p.getBoolean("streamingOpen", streamingOpen);
+      parallelExtraction = p.getBoolean("parallelExtraction", parallelExtraction);
+      useSnapshotCache = p.getBoolean("useSnapshotCache", useSnapshotCache);
+      snapshotCacheDirectory = PreferencesHelper.getFile(p, "snapshotCacheDirectory", snapshotCacheDirectory);
+      persistentDataset = p.getBoolean("persistentDataset", persistentDataset);
+      datasetsDirectory = PreferencesHelper.getFile(p, "datasetsDirectory", datasetsDirectory);
 
       // schemas
       schemasRepositoryFile = PreferencesHelper.getFile(p, "schemasRepository", schemasRepositoryFile);
@@ -592,9 +748,12 @@ public class BrowserConfiguration implements Configuration {
       addGeoSPARQLPrefixInSPARQL = p.getBoolean("addGeoSPARQLPrefixInSPARQL", addGeoSPARQLPrefixInSPARQL);
       addOwlTimePrefixInSPARQL = p.getBoolean("addOwlTimePrefixInSPARQL", addOwlTimePrefixInSPARQL);    
       basePrefix = p.get("basePrefix", basePrefix);
+      sparqlResultLimit = p.getInt("sparqlResultLimit", sparqlResultLimit);
+      schemaAwareSPARQL = p.getBoolean("schemaAwareSPARQL", schemaAwareSPARQL);
 
       // scripts
       endAtFirstException = p.getBoolean("endAtFirstException", endAtFirstException);
+      parallelScripts = p.getBoolean("parallelScripts", parallelScripts);
 
       // styles
       padWidth = p.getInt("padWidth", padWidth);
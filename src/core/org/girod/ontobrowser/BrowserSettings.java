@@ -45,6 +45,7 @@ import javax.swing.JSpinner;
 import javax.swing.JTextField;
 import javax.swing.SpinnerNumberModel;
 import javax.swing.event.ChangeEvent;
+import org.girod.ontobrowser.actions.LazyGraphBuilder;
 import org.girod.ontobrowser.gui.errors.ErrorLevel;
 import org.girod.ontobrowser.model.OntModelSpecTypes;
 import org.mdiutil.swing.JFileSelector;
@@ -55,7 +56,7 @@ import org.girod.ontobrowser.parsers.graph.LayoutOptions;
 /**
  * This class encapsulates the settings.
  *
- * @version 0.17.2
+ * @version 0.18
  */
 public class BrowserSettings {
    private static BrowserSettings settings = null;
@@ -74,6 +75,9 @@ public class BrowserSettings {
    // general
    private JCheckBox showIndirectRelationsCb;
    private JCheckBox autoRefreshCb;
+   private JCheckBox incrementalRefreshCb;
+   private JCheckBox watchFilesCb;
+   private JCheckBox compactAnnotationsCb;
    private JCheckBox multiSelectionCb;
    private JCheckBox showCommentsCb;
    private JCheckBox showOwnElementsInBoldCb;
@@ -86,6 +90,13 @@ public class BrowserSettings {
    private JCheckBox addThingClassCb;
    private JCheckBox strictModeCb;
    private JComboBox modelSpecCb;
+   private JCheckBox singlePassExtractionCb;
+   private JCheckBox streamingOpenCb;
+   private JCheckBox parallelExtractionCb;
+   private JCheckBox useSnapshotCacheCb;
+   private JFileSelector snapshotCacheDirectoryFs;
+   private JCheckBox persistentDatasetCb;
+   private JFileSelector datasetsDirectoryFs;
    // diagrams
    private JCheckBox showAliasCb;
    private JCheckBox showRelationsConstraintsCb;
@@ -95,6 +106,11 @@ public class BrowserSettings {
    private JCheckBox showInterPackageConnectionsCb;
    private final SpinnerNumberModel maximumRadiusSpinnerModel = new SpinnerNumberModel(1, 1, 10, 1);
    private JSpinner maximumRadiusSpinner;   
+   private JCheckBox lazyDiagramCb;
+   private final SpinnerNumberModel lazyDiagramMaximumCellsSpinnerModel = new SpinnerNumberModel(LazyGraphBuilder.DEFAULT_MAXIMUM_CELLS, 50, 10000, 50);
+   private JSpinner lazyDiagramMaximumCellsSpinner;
+   private JCheckBox streamingExportCb;
+   private JCheckBox compressExportCb;
    // Packages
    private JCheckBox showPackagesCb;
    private JCheckBox acceptSubPackagesCb;
@@ -105,8 +121,12 @@ public class BrowserSettings {
    private JCheckBox prefixGeoSPARQLInSPARQLCb;
    private JCheckBox prefixOwlTimeInSPARQLCb;   
    private JTextField basePrefixTf;
+   private final SpinnerNumberModel sparqlResultLimitSpinnerModel = new SpinnerNumberModel(100000, 100, 100000000, 1000);
+   private JSpinner sparqlResultLimitSpinner;
+   private JCheckBox schemaAwareSPARQLCb;
    // scripts
    private JCheckBox endAtFirstExceptionCb;
+   private JCheckBox parallelScriptsCb;
    // Styles
    private final SpinnerNumberModel padWidthSpinnerModel = new SpinnerNumberModel(15, 0, 100, 1);
    private JSpinner padWidthSpinner;
@@ -236,6 +256,9 @@ public class BrowserSettings {
       showOwnElementsInBoldCb.setSelected(conf.showOwnElementsInBold);
       showIndirectRelationsCb.setSelected(conf.showIndirectRelations);
       autoRefreshCb.setSelected(conf.autoRefresh);
+      incrementalRefreshCb.setSelected(conf.incrementalRefresh);
+      watchFilesCb.setSelected(conf.watchFiles);
+      compactAnnotationsCb.setSelected(conf.compactAnnotations);
       multiSelectionCb.setSelected(conf.multiSelection);
       includeParentRelationsCb.setSelected(conf.includeParentRelations);
       includeAliasCb.setSelected(conf.includeAlias);
@@ -249,12 +272,23 @@ public class BrowserSettings {
       showIndividualsCb.setSelected(conf.showIndividuals);
       showInterPackageConnectionsCb.setSelected(conf.showInterPackageConnections);
       maximumRadiusSpinner.setValue(conf.maximumRadius);
+      lazyDiagramCb.setSelected(conf.lazyDiagram);
+      lazyDiagramMaximumCellsSpinner.setValue(conf.lazyDiagramMaximumCells);
+      streamingExportCb.setSelected(conf.streamingExport);
+      compressExportCb.setSelected(conf.compressExport);
 
       // parsing
       includeIndividualsCb.setSelected(conf.includeIndividuals);
       addThingClassCb.setSelected(conf.addThingClass);
       strictModeCb.setSelected(conf.strictMode);
       modelSpecCb.setSelectedItem(conf.modelSpec);
+      singlePassExtractionCb.setSelected(conf.singlePassExtraction);
+      streamingOpenCb.setSelected(conf.streamingOpen);
+      parallelExtractionCb.setSelected(conf.parallelExtraction);
+      useSnapshotCacheCb.setSelected(conf.useSnapshotCache);
+      snapshotCacheDirectoryFs.setSelectedFile(conf.getSnapshotCacheDirectory());
+      persistentDatasetCb.setSelected(conf.persistentDataset);
+      datasetsDirectoryFs.setSelectedFile(conf.getDatasetsDirectory());
 
       // Styles
       padWidthSpinner.setValue(conf.padWidth);
@@ -302,9 +336,12 @@ public class BrowserSettings {
       prefixGeoSPARQLInSPARQLCb.setSelected(conf.addGeoSPARQLPrefixInSPARQL);      
       prefixOwlTimeInSPARQLCb.setSelected(conf.addOwlTimePrefixInSPARQL);
       basePrefixTf.setText(conf.basePrefix);
+      sparqlResultLimitSpinner.setValue(conf.sparqlResultLimit);
+      schemaAwareSPARQLCb.setSelected(conf.schemaAwareSPARQL);
 
       // scripts
       endAtFirstExceptionCb.setSelected(conf.endAtFirstException);
+      parallelScriptsCb.setSelected(conf.parallelScripts);
    }
 
    /**
@@ -425,6 +462,14 @@ public class BrowserSettings {
             conf.endAtFirstException = endAtFirstExceptionCb.isSelected();
          }
       });
+
+      parallelScriptsCb = new JCheckBox("", conf.parallelScripts);
+      parallelScriptsCb.addActionListener(new ActionListener() {
+         @Override
+         public void actionPerformed(ActionEvent e) {
+            conf.parallelScripts = parallelScriptsCb.isSelected();
+         }
+      });
    }
 
    /**
@@ -463,6 +508,21 @@ public class BrowserSettings {
             conf.basePrefix = basePrefixTf.getText();
          }
       });
+
+      sparqlResultLimitSpinner = new JSpinner(sparqlResultLimitSpinnerModel);
+      sparqlResultLimitSpinner.setEditor(new JSpinner.NumberEditor(sparqlResultLimitSpinner, "#########"));
+      sparqlResultLimitSpinner.setMaximumSize(sparqlResultLimitSpinner.getPreferredSize());
+      sparqlResultLimitSpinner.addChangeListener((ChangeEvent e) -> {
+         conf.sparqlResultLimit = ((Integer) ((JSpinner) e.getSource()).getValue());
+      });
+
+      schemaAwareSPARQLCb = new JCheckBox("", conf.schemaAwareSPARQL);
+      schemaAwareSPARQLCb.addActionListener(new ActionListener() {
+         @Override
+         public void actionPerformed(ActionEvent e) {
+            conf.schemaAwareSPARQL = schemaAwareSPARQLCb.isSelected();
+         }
+      });
    }
 
    /**
@@ -574,6 +634,31 @@ public class BrowserSettings {
          } catch (ArithmeticException ex) {
          }
       });      
+
+      lazyDiagramCb = new JCheckBox("", conf.lazyDiagram);
+      lazyDiagramCb.setBackground(Color.WHITE);
+      lazyDiagramCb.addActionListener((ActionEvent e) -> {
+         conf.lazyDiagram = lazyDiagramCb.isSelected();
+      });
+
+      lazyDiagramMaximumCellsSpinner = new JSpinner(lazyDiagramMaximumCellsSpinnerModel);
+      lazyDiagramMaximumCellsSpinner.setEditor(new JSpinner.NumberEditor(lazyDiagramMaximumCellsSpinner, "#####"));
+      lazyDiagramMaximumCellsSpinner.setMaximumSize(lazyDiagramMaximumCellsSpinner.getPreferredSize());
+      lazyDiagramMaximumCellsSpinner.addChangeListener((ChangeEvent e) -> {
+         conf.lazyDiagramMaximumCells = ((Integer) ((JSpinner) e.getSource()).getValue());
+      });
+
+      streamingExportCb = new JCheckBox("", conf.streamingExport);
+      streamingExportCb.setBackground(Color.WHITE);
+      streamingExportCb.addActionListener((ActionEvent e) -> {
+         conf.streamingExport = streamingExportCb.isSelected();
+      });
+
+      compressExportCb = new JCheckBox("", conf.compressExport);
+      compressExportCb.setBackground(Color.WHITE);
+      compressExportCb.addActionListener((ActionEvent e) -> {
+         conf.compressExport = compressExportCb.isSelected();
+      });
    }
 
    /**
@@ -613,6 +698,58 @@ public class BrowserSettings {
             conf.modelSpec = modelSpecCb.getSelectedItem().toString();
          }
       });
+
+      singlePassExtractionCb = new JCheckBox("", conf.singlePassExtraction);
+      singlePassExtractionCb.setBackground(Color.WHITE);
+      singlePassExtractionCb.addActionListener((ActionEvent e) -> {
+         conf.singlePassExtraction = singlePassExtractionCb.isSelected();
+      });
+
+      streamingOpenCb = new JCheckBox("", conf.streamingOpen);
+      streamingOpenCb.setBackground(Color.WHITE);
+      streamingOpenCb.addActionListener((ActionEvent e) -> {
+         conf.streamingOpen = streamingOpenCb.isSelected();
+      });
+
+      parallelExtractionCb = new JCheckBox("", conf.parallelExtraction);
+      parallelExtractionCb.setBackground(Color.WHITE);
+      parallelExtractionCb.addActionListener((ActionEvent e) -> {
+         conf.parallelExtraction = parallelExtractionCb.isSelected();
+      });
+
+      useSnapshotCacheCb = new JCheckBox("", conf.useSnapshotCache);
+      useSnapshotCacheCb.setBackground(Color.WHITE);
+      useSnapshotCacheCb.addActionListener((ActionEvent e) -> {
+         conf.useSnapshotCache = useSnapshotCacheCb.isSelected();
+      });
+
+      snapshotCacheDirectoryFs = new JFileSelector("Snapshot Cache Directory");
+      snapshotCacheDirectoryFs.setHasOptionalFiles(true);
+      snapshotCacheDirectoryFs.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+      snapshotCacheDirectoryFs.addActionListener(new ActionListener() {
+         @Override
+         public void actionPerformed(ActionEvent e) {
+            File file = ((JFileChooser) e.getSource()).getSelectedFile();
+            conf.setSnapshotCacheDirectory(file);
+         }
+      });
+
+      persistentDatasetCb = new JCheckBox("", conf.persistentDataset);
+      persistentDatasetCb.setBackground(Color.WHITE);
+      persistentDatasetCb.addActionListener((ActionEvent e) -> {
+         conf.persistentDataset = persistentDatasetCb.isSelected();
+      });
+
+      datasetsDirectoryFs = new JFileSelector("Datasets Directory");
+      datasetsDirectoryFs.setHasOptionalFiles(true);
+      datasetsDirectoryFs.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+      datasetsDirectoryFs.addActionListener(new ActionListener() {
+         @Override
+         public void actionPerformed(ActionEvent e) {
+            File file = ((JFileChooser) e.getSource()).getSelectedFile();
+            conf.setDatasetsDirectory(file);
+         }
+      });
    }
 
    /**
@@ -627,6 +764,25 @@ public class BrowserSettings {
          conf.autoRefresh = autoRefreshCb.isSelected();
       });
 
+      incrementalRefreshCb = new JCheckBox("", conf.incrementalRefresh);
+      incrementalRefreshCb.setBackground(Color.WHITE);
+      incrementalRefreshCb.addActionListener((ActionEvent e) -> {
+         conf.incrementalRefresh = incrementalRefreshCb.isSelected();
+      });
+
+      watchFilesCb = new JCheckBox("", conf.watchFiles);
+      watchFilesCb.setBackground(Color.WHITE);
+      watchFilesCb.addActionListener((ActionEvent e) -> {
+         conf.watchFiles = watchFilesCb.isSelected();
+         factory.updateFileWatcher();
+      });
+
+      compactAnnotationsCb = new JCheckBox("", conf.compactAnnotations);
+      compactAnnotationsCb.setBackground(Color.WHITE);
+      compactAnnotationsCb.addActionListener((ActionEvent e) -> {
+         conf.compactAnnotations = compactAnnotationsCb.isSelected();
+      });
+
       multiSelectionCb = new JCheckBox("", conf.multiSelection);
       multiSelectionCb.setBackground(Color.WHITE);
       multiSelectionCb.addActionListener((ActionEvent e) -> {
@@ -799,6 +955,9 @@ public class BrowserSettings {
       resetSettings();
 
       generalSettings.addProperty(autoRefreshCb, "", "Auto Refresh");
+      generalSettings.addProperty(incrementalRefreshCb, "", "Incremental Refresh");
+      generalSettings.addProperty(watchFilesCb, "", "Watch Files");
+      generalSettings.addProperty(compactAnnotationsCb, "", "Compact Annotations");
       generalSettings.addProperty(multiSelectionCb, "", "Multi Selection");
       generalSettings.addProperty(showIndirectRelationsCb, "", "Show Indirect Relations in Dependencies");
       generalSettings.addProperty(showCommentsCb, "", "Show Commented Elements");
@@ -815,6 +974,10 @@ public class BrowserSettings {
       diagramsSettings.addProperty(showInterPackageConnectionsCb, "", "Show Inter-package Connections");
       diagramsSettings.addProperty(maximumRadiusSpinner, "", "Maximum Class Radius");
       diagramsSettings.addProperty(showAliasCb, "", "Show Alias");
+      diagramsSettings.addProperty(lazyDiagramCb, "", "Lazy Diagram");
+      diagramsSettings.addProperty(lazyDiagramMaximumCellsSpinner, "", "Lazy Diagram Maximum Cells");
+      diagramsSettings.addProperty(streamingExportCb, "", "Streaming Export");
+      diagramsSettings.addProperty(compressExportCb, "", "Compress Streamed Export");
       diagramsSettings.setVisible(true);
 
       parsingSettings.addProperty(includeIndividualsCb, "", "Include Individuals");
@@ -822,6 +985,13 @@ public class BrowserSettings {
       parsingSettings.addProperty(addThingClassCb, "", "Add Thing Class");
       parsingSettings.addProperty(strictModeCb, "", "Strict Mode");
       parsingSettings.addProperty(modelSpecCb, "", "Model Specification");
+      parsingSettings.addProperty(singlePassExtractionCb, "", "Single-pass Extraction");
+      parsingSettings.addProperty(streamingOpenCb, "", "Streaming Open");
+      parsingSettings.addProperty(parallelExtractionCb, "", "Parallel Extraction");
+      parsingSettings.addProperty(useSnapshotCacheCb, "", "Snapshot Cache");
+      parsingSettings.addProperty(snapshotCacheDirectoryFs, "", "Snapshot Cache Directory");
+      parsingSettings.addProperty(persistentDatasetCb, "", "Persistent Dataset");
+      parsingSettings.addProperty(datasetsDirectoryFs, "", "Datasets Directory");
       parsingSettings.setVisible(true);
 
       schemasSettings.addProperty(schemasRepositoryFs, "", "Schemas Repository");
@@ -833,9 +1003,12 @@ public class BrowserSettings {
       sparqlSettings.addProperty(prefixGeoSPARQLInSPARQLCb, "", "Add GeoSPARQL PREFIX in SPARQL Requests");
       sparqlSettings.addProperty(prefixOwlTimeInSPARQLCb, "", "Add OwlTime PREFIX in SPARQL Requests");
       sparqlSettings.addProperty(basePrefixTf, "", "Default Base Prefix");
+      sparqlSettings.addProperty(sparqlResultLimitSpinner, "", "Maximum Rows in SPARQL Result");
+      sparqlSettings.addProperty(schemaAwareSPARQLCb, "", "Schema-aware SPARQL Queries");
       sparqlSettings.setVisible(true);
 
       scriptsSettings.addProperty(endAtFirstExceptionCb, "", "End Script at First Exception");
+      scriptsSettings.addProperty(parallelScriptsCb, "", "Run Side-effect-free Scripts in Parallel");
       scriptsSettings.setVisible(true);
 
       styleSettings.addProperty(padWidthSpinner, "", "Width Padding");
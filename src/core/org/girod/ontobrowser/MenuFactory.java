@@ -82,7 +82,7 @@ import org.mdiutil.swing.GenericDialog;
 /**
  * This class creates the Menus for the application.
  *
- * @version 0.17
+ * @version 0.18
  */
 public class MenuFactory extends AbstractMDIMenuFactory {
    private final JMenu filemenu = new JMenu("File");
@@ -314,6 +314,13 @@ public class MenuFactory extends AbstractMDIMenuFactory {
       }
    }
 
+   /**
+    * Start or stop watching the opened files depending on the configuration.
+    */
+   public void updateFileWatcher() {
+      ((OntoBrowserGUI) appli).updateFileWatcher();
+   }
+
    @Override
    public void updateMenus() {
       openInYedAction.setEnabled(bconf.hasYedExeDirectory() && bconf.getYedExeDirectory() != null);
@@ -526,6 +533,7 @@ public class MenuFactory extends AbstractMDIMenuFactory {
    public void doSearch() {
       GraphPanel graphpanel = (GraphPanel) ((AbstractMDIApplication) appli).getSelectedComponent();
       if (graphpanel != null) {
+         searchDialog.setSearchIndex(graphpanel.getSchema().getSearchIndex());
          appli.showDialog(searchDialog, MDIDialogType.UNLIMITED);
       }
    }
@@ -648,7 +656,7 @@ public class MenuFactory extends AbstractMDIMenuFactory {
          chooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
          if (chooser.showOpenDialog(appli.getApplicationWindow()) == JFileChooser.APPROVE_OPTION) {
             File file = chooser.getSelectedFile();
-            file = FileUtilities.getCompatibleFile(file, "graphml");
+            file = FileUtilities.getCompatibleFile(file, conf.getGraphMLExtension());
             ExportGraphAction action = new ExportGraphAction(appli, "Export Graph", "Export Graph", elt, file);
             appli.executeAction(action);
             bconf.setDefaultDirectory(file.getParentFile());
@@ -665,6 +673,8 @@ public class MenuFactory extends AbstractMDIMenuFactory {
          options.category = searchDialog.getSearchCategory();
          options.matchCase = searchDialog.matchCase();
          options.regex = searchDialog.isRegexSearch();
+         options.fuzzy = searchDialog.isFuzzySearch();
+         options.searchAnnotations = searchDialog.isAnnotationsSearch();
          options.searchString = searchDialog.getSearchString();
          ((OntoBrowserGUI) appli).search(options);
       }
@@ -32,12 +32,13 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser;
 
+import java.util.Arrays;
 import org.mdiutil.lang.swing.SwingMacOSXUISetter;
 
 /**
  * The starter class of the application.
  *
- * @version 0.6
+ * @version 0.18
  */
 public class OntoBrowser {
 
@@ -45,6 +46,10 @@ public class OntoBrowser {
    }
 
    public static void main(String[] args) {
+      if (args.length > 0 && args[0].equals("-batch")) {
+         OntoBrowserBatch.main(Arrays.copyOfRange(args, 1, args.length));
+         return;
+      }
       SwingMacOSXUISetter.setNativePlatformUI("Ontology Browser", true);
       OntoBrowserGUI gui = new OntoBrowserGUI();
       gui.setVisible(true);
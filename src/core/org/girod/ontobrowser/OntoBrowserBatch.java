@@ -0,0 +1,234 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.girod.ontobrowser.batch.BatchExporter;
+import org.girod.ontobrowser.batch.BatchResult;
+
+/**
+ * The headless starter of the application, which opens, extracts and exports a list of Ontology files without the GUI.
+ *
+ * The arguments are:
+ * <ul>
+ * <li><code>-out &lt;dir&gt;</code>: the directory where the exported files are written (the current directory by default)</li>
+ * <li><code>-threads &lt;n&gt;</code>: the number of files processed concurrently</li>
+ * <li><code>-graphml</code>: export the whole schema as a yEd diagram (the default if no target is specified)</li>
+ * <li><code>-packages</code>: export each package as a yEd diagram</li>
+ * <li><code>-xsd</code>: export the schema as a XML Schema (only if the XSD plugin is in the classpath)</li>
+ * <li><code>-stream</code>: write the yEd diagrams directly to the files rather than building them in memory</li>
+ * <li><code>-gzip</code>: write the yEd diagrams directly to compressed "graphmlz" files</li>
+ * <li><code>-thing</code>: add the owl:Thing class</li>
+ * <li><code>-styles &lt;file&gt;</code>: the custom graph styles file</li>
+ * <li>the Ontology files, or directories containing Ontology files</li>
+ * </ul>
+ *
+ * The options are applied to a copy of the {@link BrowserConfiguration}, so that a batch run does not modify the configuration of the
+ * application.
+ *
+ * @since 0.18
+ */
+public class OntoBrowserBatch {
+   private OntoBrowserBatch() {
+   }
+
+   public static void main(String[] args) {
+      System.exit(run(args, System.out));
+   }
+
+   /**
+    * Run the batch exporter.
+    *
+    * @param args the arguments
+    * @param out the stream where the report is printed
+    * @return the exit code: 0 if all the files have been processed without errors
+    */
+   public static int run(String[] args, PrintStream out) {
+      if (System.getProperty("java.awt.headless") == null) {
+         System.setProperty("java.awt.headless", "true");
+      }
+      configureLog4J();
+      BrowserConfiguration conf = BrowserConfiguration.getInstance().copy();
+      File outputDir = new File(System.getProperty("user.dir"));
+      int threads = BatchExporter.getDefaultThreads();
+      boolean exportGraph = false;
+      boolean exportPackages = false;
+      boolean exportXSD = false;
+      List<File> files = new ArrayList<>();
+      for (int i = 0; i < args.length; i++) {
+         String arg = args[i];
+         switch (arg) {
+            case "-out":
+               if (i + 1 >= args.length) {
+                  return usage(out, "Missing output directory");
+               }
+               i++;
+               outputDir = new File(args[i]);
+               break;
+            case "-threads":
+               if (i + 1 >= args.length) {
+                  return usage(out, "Missing number of threads");
+               }
+               i++;
+               try {
+                  threads = Integer.parseInt(args[i]);
+               } catch (NumberFormatException ex) {
+                  return usage(out, "Invalid number of threads " + args[i]);
+               }
+               break;
+            case "-graphml":
+               exportGraph = true;
+               break;
+            case "-packages":
+               exportPackages = true;
+               break;
+            case "-xsd":
+               if (!BatchExporter.isXSDSupported()) {
+                  return usage(out, "The XSD plugin is not in the classpath");
+               }
+               exportXSD = true;
+               break;
+            case "-stream":
+               conf.streamingExport = true;
+               break;
+            case "-gzip":
+               conf.streamingExport = true;
+               conf.compressExport = true;
+               break;
+            case "-thing":
+               conf.addThingClass = true;
+               break;
+            case "-styles":
+               if (i + 1 >= args.length) {
+                  return usage(out, "Missing styles file");
+               }
+               i++;
+               File stylesFile = new File(args[i]);
+               if (!stylesFile.exists()) {
+                  return usage(out, "The styles file " + stylesFile + " does not exist");
+               }
+               conf.setCustomStylesConfiguration(stylesFile);
+               break;
+            default:
+               if (arg.startsWith("-")) {
+                  return usage(out, "Unknown option " + arg);
+               }
+               addFiles(files, new File(arg));
+               break;
+         }
+      }
+      if (files.isEmpty()) {
+         return usage(out, "No Ontology file");
+      }
+      if (!exportGraph && !exportPackages && !exportXSD) {
+         exportGraph = true;
+      }
+      BatchExporter exporter = new BatchExporter(outputDir, conf);
+      exporter.setThreads(threads);
+      exporter.setExportGraph(exportGraph);
+      exporter.setExportPackages(exportPackages);
+      exporter.setExportXSD(exportXSD);
+      Iterator<File> it = files.iterator();
+      while (it.hasNext()) {
+         exporter.addFile(it.next());
+      }
+      long time = System.currentTimeMillis();
+      List<BatchResult> results;
+      try {
+         results = exporter.run();
+      } catch (InterruptedException ex) {
+         out.println("Batch interrupted");
+         return 1;
+      }
+      return report(out, results, System.currentTimeMillis() - time);
+   }
+
+   private static void addFiles(List<File> files, File file) {
+      if (file.isDirectory()) {
+         File[] children = file.listFiles((dir, name) -> {
+            String lowerName = name.toLowerCase();
+            return lowerName.endsWith(".owl") || lowerName.endsWith(".rdf") || lowerName.endsWith(".ttl");
+         });
+         if (children != null) {
+            Arrays.sort(children);
+            files.addAll(Arrays.asList(children));
+         }
+      } else {
+         files.add(file);
+      }
+   }
+
+   private static int report(PrintStream out, List<BatchResult> results, long totalTime) {
+      int failed = 0;
+      Iterator<BatchResult> it = results.iterator();
+      while (it.hasNext()) {
+         BatchResult result = it.next();
+         if (result.isSuccessful()) {
+            out.println(result.getFile().getName() + ": parse " + result.getParseTime() + " ms, extract " + result.getExtractTime()
+               + " ms, export " + result.getExportTime() + " ms, total " + result.getTotalTime() + " ms ("
+               + result.getExportedFiles().size() + " files)");
+         } else {
+            failed++;
+            out.println(result.getFile().getName() + ": FAILED " + result.getErrorMessage());
+         }
+      }
+      out.println("Processed " + results.size() + " files in " + totalTime + " ms, " + failed + " failed");
+      return failed == 0 ? 0 : 1;
+   }
+
+   private static int usage(PrintStream out, String message) {
+      out.println(message);
+      out.println("Usage: OntoBrowser -batch [-out <dir>] [-threads <n>] [-graphml] [-packages] [-xsd] [-stream] [-gzip] [-thing] [-styles <file>] <files or directories>");
+      return 2;
+   }
+
+   private static void configureLog4J() {
+      BasicConfigurator.configure();
+
+      Enumeration<?> loggers = LogManager.getCurrentLoggers();
+      while (loggers.hasMoreElements()) {
+         ((Logger) loggers.nextElement()).setLevel(Level.OFF);
+      }
+      LogManager.getRootLogger().setLevel(Level.OFF);
+   }
+}
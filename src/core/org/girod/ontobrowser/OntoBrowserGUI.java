@@ -33,10 +33,17 @@ the project website at the project page on https://github.com/hervegirod/ontolog
 package org.girod.ontobrowser;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.prefs.BackingStoreException;
 import java.util.prefs.Preferences;
+import javax.swing.Icon;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
 import org.apache.log4j.BasicConfigurator;
 import org.apache.log4j.Level;
 import org.apache.log4j.LogManager;
@@ -46,6 +53,9 @@ import org.girod.ontobrowser.actions.RefreshTreeAction;
 import org.girod.ontobrowser.actions.SearchAction;
 import org.girod.ontobrowser.gui.GraphPanel;
 import org.girod.ontobrowser.gui.search.SearchOptions;
+import org.girod.ontobrowser.model.OntModelSpecTypes;
+import org.girod.ontobrowser.parsers.graph.ImportsLoader;
+import org.girod.ontobrowser.utils.FileWatcher;
 import org.mdi.app.LauncherConf;
 import org.mdi.app.swing.AbstractMDIApplication;
 import org.mdi.bootstrap.swing.SwingFileProperties;
@@ -54,10 +64,12 @@ import org.mdiutil.prefs.NetworkPreferencesFactory;
 /**
  * The main class of the application.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class OntoBrowserGUI extends AbstractMDIApplication {
    private Preferences pref = null;
+   private FileWatcher watcher = null;
+   private final Set<File> configurationFiles = new HashSet<>();
 
    public OntoBrowserGUI() {
       this(true);
@@ -83,9 +95,157 @@ public class OntoBrowserGUI extends AbstractMDIApplication {
          mfactory = new MenuFactory(this);
          super.preparePanels(8, true, true, mfactory);
          this.message.manageClipBoard(true);
+         updateFileWatcher();
       }
    }
 
+   /**
+    * Start or stop the file watcher depending on the {@link BrowserConfiguration#watchFiles} option. When the watcher is started,
+    * the files of the opened diagrams and the configuration files are watched. When it is stopped, its Thread is terminated.
+    */
+   public void updateFileWatcher() {
+      boolean watchFiles = ((BrowserConfiguration) conf).watchFiles;
+      if (watchFiles && watcher == null) {
+         try {
+            watcher = new FileWatcher(this::filesChanged);
+         } catch (IOException ex) {
+            watcher = null;
+            return;
+         }
+         Iterator<SwingFileProperties> it = properties.values().iterator();
+         while (it.hasNext()) {
+            watcher.watch(it.next().getFile());
+         }
+         updateWatchedConfigurationFiles();
+      } else if (!watchFiles && watcher != null) {
+         watcher.close();
+         watcher = null;
+         configurationFiles.clear();
+      }
+   }
+
+   /**
+    * Update the configuration files which are watched: the schemas alternate locations, the packages configuration file and
+    * the custom graph styles file.
+    */
+   public void updateWatchedConfigurationFiles() {
+      if (watcher == null) {
+         return;
+      }
+      BrowserConfiguration browserConf = (BrowserConfiguration) conf;
+      Set<File> files = new HashSet<>();
+      File[] alternateLocations = browserConf.getAlternateLocations();
+      if (alternateLocations != null) {
+         for (int i = 0; i < alternateLocations.length; i++) {
+            files.add(FileWatcher.normalize(alternateLocations[i]));
+         }
+      }
+      if (browserConf.getPackagesToForgetFile() != null) {
+         files.add(FileWatcher.normalize(browserConf.getPackagesToForgetFile()));
+      }
+      if (browserConf.getCustomGraphStylesFile() != null) {
+         files.add(FileWatcher.normalize(browserConf.getCustomGraphStylesFile()));
+      }
+      Iterator<File> it = configurationFiles.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         if (!files.contains(file)) {
+            watcher.unwatch(file);
+            it.remove();
+         }
+      }
+      it = files.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         if (!configurationFiles.contains(file) && watcher.watch(file)) {
+            configurationFiles.add(file);
+         }
+      }
+   }
+
+   private void filesChanged(Set<File> files) {
+      SwingUtilities.invokeLater(() -> refreshFiles(files));
+   }
+
+   /**
+    * Called in the EDT when watched files have been modified. The refresh of the models is performed in the background.
+    */
+   private void refreshFiles(Set<File> files) {
+      BrowserConfiguration browserConf = (BrowserConfiguration) conf;
+      if (!browserConf.watchFiles || watcher == null) {
+         return;
+      }
+      boolean refreshAll = false;
+      File packagesFile = browserConf.getPackagesToForgetFile();
+      File stylesFile = browserConf.getCustomGraphStylesFile();
+      File[] alternateLocations = browserConf.getAlternateLocations();
+      Iterator<File> it = files.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         if (packagesFile != null && file.equals(FileWatcher.normalize(packagesFile))) {
+            browserConf.setPackagesConfiguration(packagesFile);
+            refreshAll = true;
+         }
+         if (stylesFile != null && file.equals(FileWatcher.normalize(stylesFile))) {
+            // the styles are only used when exporting the diagrams, so the models do not need to be refreshed
+            browserConf.setCustomStylesConfiguration(stylesFile);
+         }
+         if (alternateLocations != null) {
+            for (int i = 0; i < alternateLocations.length; i++) {
+               if (file.equals(FileWatcher.normalize(alternateLocations[i]))) {
+                  ImportsLoader.clearCache(OntModelSpecTypes.getOntModelSpec(browserConf.modelSpec));
+                  refreshAll = true;
+                  break;
+               }
+            }
+         }
+      }
+      updateWatchedConfigurationFiles();
+      Iterator<SwingFileProperties> it2 = properties.values().iterator();
+      while (it2.hasNext()) {
+         SwingFileProperties prop = it2.next();
+         File file = prop.getFile();
+         if (file == null || !file.exists() || !(prop.getComponent() instanceof GraphPanel)) {
+            continue;
+         }
+         if (refreshAll || files.contains(FileWatcher.normalize(file))) {
+            RefreshModelAction action = new RefreshModelAction(this, "Refresh", "Refresh", prop);
+            executeAction(action);
+         }
+      }
+   }
+
+   @Override
+   public SwingFileProperties addTab(JComponent comp, Icon icon, SwingFileProperties prop, String tooltip) {
+      SwingFileProperties tabProp = super.addTab(comp, icon, prop, tooltip);
+      if (watcher != null && tabProp != null) {
+         watcher.watch(tabProp.getFile());
+         updateWatchedConfigurationFiles();
+      }
+      return tabProp;
+   }
+
+   @Override
+   protected void fireTabRemoved(SwingFileProperties prop) {
+      if (watcher != null && prop != null) {
+         watcher.unwatch(prop.getFile());
+      }
+      if (prop != null && prop.getComponent() instanceof GraphPanel) {
+         ((GraphPanel) prop.getComponent()).close();
+      }
+      super.fireTabRemoved(prop);
+   }
+
+   @Override
+   public void dispose() {
+      if (watcher != null) {
+         watcher.close();
+         watcher = null;
+         configurationFiles.clear();
+      }
+      super.dispose();
+   }
+
    private void configureDerby() {
       // this is to make sure that Apache Derby do not create a derby.log file.
       // see http://davidvancouvering.blogspot.com/2007/10/quiet-time-and-how-to-suppress-derbylog.html
@@ -37,6 +37,7 @@ import com.mxgraph.swing.mxGraphComponent;
 import com.mxgraph.view.mxGraph;
 import java.io.File;
 import java.util.Map;
+import org.girod.ontobrowser.actions.LazyGraphBuilder;
 import org.girod.ontobrowser.model.ElementKey;
 import org.girod.ontobrowser.model.OwlRepresentationType;
 import org.girod.ontobrowser.model.OwlSchema;
@@ -44,12 +45,13 @@ import org.girod.ontobrowser.model.OwlSchema;
 /**
  * An Owl diagram shown in the browser.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class OwlDiagram {
    private mxGraph graph = null;
    private mxGraphComponent comp = null;
    private Map<ElementKey, mxCell> keyToCell = null;
+   private LazyGraphBuilder lazyBuilder = null;
    private String name = null;
    private File file;
    private short representationType = OwlRepresentationType.TYPE_OWL_XML;
@@ -173,12 +175,45 @@ public class OwlDiagram {
    }
 
    /**
-    * Return the cell for a key.
+    * Set the builder of the graph if the graph is created lazily.
+    *
+    * @param lazyBuilder the builder (null if the graph is not created lazily)
+    */
+   public void setLazyGraphBuilder(LazyGraphBuilder lazyBuilder) {
+      this.lazyBuilder = lazyBuilder;
+   }
+
+   /**
+    * Return the builder of the graph if the graph is created lazily.
+    *
+    * @return the builder, or null if the graph is not created lazily
+    */
+   public LazyGraphBuilder getLazyGraphBuilder() {
+      return lazyBuilder;
+   }
+
+   /**
+    * Return true if the graph is created lazily.
+    *
+    * @return true if the graph is created lazily
+    */
+   public boolean isLazy() {
+      return lazyBuilder != null;
+   }
+
+   /**
+    * Return the cell for a key. If the graph is created lazily, the neighbourhood of the element is created if necessary.
     *
     * @param key the element key
-    * @return the cell
+    * @return the cell, or null if there is no cell for the key or the graph has not been built yet
     */
    public mxCell getCell(ElementKey key) {
+      if (lazyBuilder != null) {
+         return lazyBuilder.expand(key);
+      }
+      if (keyToCell == null) {
+         return null;
+      }
       return keyToCell.get(key);
    }
 
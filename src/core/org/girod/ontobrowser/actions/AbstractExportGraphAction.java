@@ -62,7 +62,7 @@ import org.girod.ontobrowser.model.OwlDatatypeProperty;
 import org.girod.ontobrowser.model.OwlObjectProperty;
 import org.girod.ontobrowser.model.OwlProperty;
 import org.girod.ontobrowser.model.OwlSchema;
-import org.girod.ontobrowser.parsers.graph.NodeSorter;
+import org.girod.ontobrowser.parsers.graph.LayeredLayout;
 import org.mdi.bootstrap.MDIApplication;
 import org.mdi.bootstrap.swing.AbstractMDIAction;
 import org.girod.ontobrowser.parsers.graph.LayoutOptions;
@@ -70,7 +70,7 @@ import org.girod.ontobrowser.parsers.graph.LayoutOptions;
 /**
  * An abstract class which exports a doiagram as a GraphML graoh.
  *
- * @version 0.15
+ * @version 0.18
  */
 public abstract class AbstractExportGraphAction extends AbstractMDIAction {
    protected static final String DEFAULT_NS = "http://www.w3.org/2001/XMLSchema#";
@@ -102,13 +102,24 @@ public abstract class AbstractExportGraphAction extends AbstractMDIAction {
    protected DiagramDefaults defaults = null;
    protected final CustomGraphStyles customStyles;
    protected final Set<ElementKey> processedPackages = new HashSet<>();
-   private final BrowserConfiguration conf = BrowserConfiguration.getInstance();
+   /**
+    * The configuration used for the export.
+    */
+   protected final BrowserConfiguration conf;
    protected final boolean hasLayoutOption;
    protected final boolean hasSuperClassLayout;
    protected final boolean hasChildrenLayout;
    protected final boolean showProperties;
    protected final boolean showIndividuals;
    protected final boolean showInterPackageConnections;
+   /**
+    * True if the diagram is directly written to the file rather than built in memory.
+    */
+   protected boolean streaming = false;
+   /**
+    * True if the streamed diagram is compressed with gzip.
+    */
+   protected boolean compressed = false;
 
    /**
     * Create the export File Action.
@@ -120,11 +131,27 @@ public abstract class AbstractExportGraphAction extends AbstractMDIAction {
     * @param file the file to open
     */
    public AbstractExportGraphAction(MDIApplication app, String desc, String longDesc, OwlDiagram diagram, File file) {
+      this(app, desc, longDesc, diagram, file, BrowserConfiguration.getInstance());
+   }
+
+   /**
+    * Create the export File Action with a specific configuration.
+    *
+    * @param app the Application
+    * @param desc the short description of the action
+    * @param longDesc the long description of the action
+    * @param diagram the diagram
+    * @param file the file to open
+    * @param conf the configuration
+    */
+   public AbstractExportGraphAction(MDIApplication app, String desc, String longDesc, OwlDiagram diagram, File file,
+      BrowserConfiguration conf) {
       super(app, desc);
       this.file = file;
       this.diagram = diagram;
       this.schema = diagram.getSchema();
-      this.customStyles = BrowserConfiguration.getInstance().getCustomGraphStyles();
+      this.conf = conf;
+      this.customStyles = conf.getCustomGraphStyles();
       this.showProperties = conf.showProperties;
       this.showIndividuals = conf.showIndividuals;
       this.showInterPackageConnections = conf.showInterPackageConnections;
@@ -239,23 +266,24 @@ public abstract class AbstractExportGraphAction extends AbstractMDIAction {
    }
 
    /**
-    * Sort the relative position of the nodes.
+    * Compute the position of the nodes with a layered layout.
     */
    protected void sortNodesPosition() {
       if (hasSuperClassLayout) {
-         NodeSorter sorter = new NodeSorter(schema, elementToNode);
-         sorter.setLayoutOption(conf.layoutOptions);
+         LayeredLayout layout = new LayeredLayout(schema, elementToNode);
+         layout.setLayoutOption(conf.layoutOptions);
+         layout.setPackagesNodes(packagesNodes);
          if (conf.customGraphStyles != null) {
             if (conf.customGraphStyles.hasLayoutMaximumSteps()) {
                int maximumSteps = conf.customGraphStyles.getLayoutMaximumSteps();
-               sorter.setMaximumSteps(maximumSteps);
+               layout.setMaximumSteps(maximumSteps);
             }
             if (conf.customGraphStyles.hasLayoutDistance()) {
                float distance = conf.customGraphStyles.getLayoutDistance();
-               sorter.setDistance(distance);
+               layout.setDistance(distance);
             }
          }
-         sorter.apply();
+         layout.apply();
       }
    }
 
@@ -271,12 +299,28 @@ public abstract class AbstractExportGraphAction extends AbstractMDIAction {
       }
    }
 
+   /**
+    * Create the writer which streams the diagram to the file, and start the document.
+    *
+    * @return the writer
+    * @throws java.io.IOException if the file can not be created
+    */
+   protected GraphMLStreamWriter createStreamWriter() throws IOException {
+      GraphMLStreamWriter writer = GraphMLStreamWriter.create(file, compressed);
+      writer.setGroupStyle(customStyles.getBackgroundColor(CustomGraphStyles.PACKAGE), conf.showPackagesAsClosed,
+         customStyles.isShowingInnerGraphDisplay());
+      writer.startDocument();
+      return writer;
+   }
+
    /**
     * Configure the exporter.
     */
    protected void configure() {
       this.showRelationsConstraints = conf.showRelationsConstraints;
       this.showDataPropertiesTypes = conf.showDataPropertiesTypes;
+      this.streaming = conf.streamingExport && file != null;
+      this.compressed = streaming && (conf.compressExport || GraphMLStreamWriter.isCompressedFile(file));
 
       GraphMLFactory factory = GraphMLFactory.getInstance();
       graph = factory.newDiagram();
@@ -296,17 +340,7 @@ public abstract class AbstractExportGraphAction extends AbstractMDIAction {
       packagesNodes = new HashMap<>();
    }
 
-   /**
-    * Return the group node for the package associated with a class.
-    *
-    * @param theClass the class
-    * @param key the class key
-    * @return the group node
-    */
-   protected abstract GraphMLGroupNode getPackageNode(OwlClass theClass, ElementKey key);
-
    protected void setGroupNodeStyle(GraphMLGroupNode node, String name) {
-      BrowserConfiguration conf = BrowserConfiguration.getInstance();
       node.setClosedWidth(200);
       node.setClosedHeight(100);
       node.setRealizedStateValue(conf.showPackagesAsClosed);
@@ -350,6 +384,22 @@ public abstract class AbstractExportGraphAction extends AbstractMDIAction {
     * @param edge the edge
     */
    protected void addCardinalityRestriction(OwlProperty property, GraphMLEdge edge) {
+      EdgeLabel label = edge.createAdditionalLabel(getCardinality(property), 0.02f);
+      label.setAutoFlip(false);
+      label.setAutoRotate(false);
+   }
+
+   /**
+    * Add a cardinality restriction on an emitted edge.
+    *
+    * @param property the property
+    * @param edge the edge
+    */
+   protected void addCardinalityRestriction(OwlProperty property, GraphMLEmitter.Edge edge) {
+      edge.setAdditionalLabel(getCardinality(property), 0.02f);
+   }
+
+   private String getCardinality(OwlProperty property) {
       StringBuilder buf = new StringBuilder();
       int minCardinality = property.computeMinCardinality();
       int maxCardinality = property.computeMaxCardinality();
@@ -362,9 +412,7 @@ public abstract class AbstractExportGraphAction extends AbstractMDIAction {
             buf.append(Integer.toString(maxCardinality));
          }
       }
-      EdgeLabel label = edge.createAdditionalLabel(buf.toString(), 0.02f);
-      label.setAutoFlip(false);
-      label.setAutoRotate(false);
+      return buf.toString();
    }
 
    /**
@@ -404,6 +452,17 @@ public abstract class AbstractExportGraphAction extends AbstractMDIAction {
       ExportUtils.setArrows(edge, property);
    }
 
+   /**
+    * Add a label on an emitted edge for an object property
+    *
+    * @param edge the edge
+    * @param property the object property
+    */
+   protected void addLabelOnEdge(GraphMLEmitter.Edge edge, OwlObjectProperty property) {
+      edge.setLabel(ExportUtils.getDisplayedLabel(property));
+      ExportUtils.setArrows(edge, property);
+   }
+
    @Override
    public String getMessage() {
       return this.getLongDescription() + " exported successfully";
@@ -32,26 +32,40 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.actions;
 
+import org.apache.jena.shared.WrappedIOException;
+import org.girod.ontobrowser.model.OntModelLoader;
 import org.girod.ontobrowser.model.OwlRepresentationType;
 import com.mxgraph.view.mxGraph;
 import java.io.File;
-import java.net.URI;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import javax.swing.JOptionPane;
 import javax.xml.namespace.QName;
 import org.apache.jena.ontology.OntModel;
 import org.apache.jena.ontology.OntModelSpec;
 import org.apache.jena.ontology.OntologyException;
-import org.apache.jena.ontology.impl.OntModelImpl;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.ResourceRequiredException;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RiotException;
 import org.apache.jena.riot.system.ErrorHandlerFactory;
-import org.apache.jena.util.FileManager;
 import org.girod.ontobrowser.BrowserConfiguration;
 import org.girod.ontobrowser.OwlDiagram;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.CancellableInputStream;
 import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.ImportsLoader;
+import org.girod.ontobrowser.parsers.graph.LoadingCancelledException;
+import org.girod.ontobrowser.parsers.graph.LoadingMonitor;
+import org.girod.ontobrowser.parsers.graph.LoadingPhases;
+import org.girod.ontobrowser.parsers.graph.PersistentDatasetStore;
+import org.girod.ontobrowser.parsers.graph.SchemaSnapshotCache;
+import org.girod.ontobrowser.parsers.graph.StreamingModelReader;
 import org.girod.ontobrowser.gui.GraphPanel;
+import org.girod.ontobrowser.gui.LoadingProgressDialog;
 import org.girod.ontobrowser.gui.errors.SwingErrorLogger;
 import org.girod.ontobrowser.model.OntModelSpecTypes;
 import org.mdi.bootstrap.MDIApplication;
@@ -64,12 +78,14 @@ import org.mdiutil.xml.XMLRootDetector;
 /**
  * The Action that opens owl/rdf schemas.
  *
- * @version 0.17.1
+ * @version 0.18
  */
 public abstract class AbstractOpenModelAction extends AbstractUpdateModelAction {
    protected File file = null;
    protected String name = null;
    private short owlRepresentationType = OwlRepresentationType.TYPE_UNDEFINED;
+   protected final LoadingMonitor monitor = new LoadingMonitor();
+   private boolean cancelled = false;
 
    /**
     * Constructor.
@@ -122,6 +138,16 @@ public abstract class AbstractOpenModelAction extends AbstractUpdateModelAction
     * @return the Owl representation type
     */
    protected short getOwlRepresentationType(File file) {
+      return getRepresentationType(file);
+   }
+
+   /**
+    * Return the Owl representation type of a file.
+    *
+    * @param file the file
+    * @return the Owl representation type
+    */
+   public static short getRepresentationType(File file) {
       String extension = FileUtilities.getFileExtension(file);
       if (extension == null) {
          return OwlRepresentationType.TYPE_UNDEFINED;
@@ -147,6 +173,31 @@ public abstract class AbstractOpenModelAction extends AbstractUpdateModelAction
       }
    }
 
+   /**
+    * Return the monitor which follows the progress of the loading, and allows to cancel it.
+    *
+    * @return the monitor
+    */
+   public LoadingMonitor getLoadingMonitor() {
+      return monitor;
+   }
+
+   /**
+    * Return true if the loading has been cancelled.
+    *
+    * @return true if the loading has been cancelled
+    */
+   public boolean isCancelled() {
+      return cancelled;
+   }
+
+   /**
+    * Called when the schema has been extracted, before building the diagram graph. The {@link #diagram} and the {@link #graphPanel}
+    * are already created, but the graph of the diagram is not set yet. Does nothing by default.
+    */
+   protected void publishSchema() {
+   }
+
    @Override
    public void run() throws Exception {
       owlRepresentationType = getOwlRepresentationType(file);
@@ -169,45 +220,76 @@ public abstract class AbstractOpenModelAction extends AbstractUpdateModelAction
 
    private void parseImpl(short owlType) {
       BrowserConfiguration conf = BrowserConfiguration.getInstance();
-      URI uri = file.toURI();
       OntoErrorHandler errorHandler = new OntoErrorHandler((GUIApplication) app);
       ErrorHandlerFactory.setDefaultErrorHandler(errorHandler);
-      OntModel model = createModel("OWL_MEM");
       MessageArea area = ((GUIApplication) app).getMessageArea();
+      LoadingProgressDialog progressDialog = null;
+      if (area != null) {
+         progressDialog = new LoadingProgressDialog(((GUIApplication) app).getApplicationWindow(), "Opening " + file.getName(), monitor);
+         progressDialog.show();
+      }
+      OntModel model = null;
       try {
-         // see https://web-semantique.developpez.com/tutoriels/jena/io/#LV-A
-         switch (owlType) {
-            case OwlRepresentationType.TYPE_OWL_XML:
-               FileManager.get().readModel(model, uri.toString(), "N-TRIPLES");
-               break;
-            case OwlRepresentationType.TYPE_OWL_TURTLE:
-               FileManager.get().readModel(model, uri.toString(), "TURTLE");
-               break;
+         monitor.startPhase(LoadingPhases.PHASE_PARSE);
+         SchemaSnapshotCache snapshotCache = null;
+         String snapshotKey = null;
+         OwlSchema snapshotSchema = null;
+         if (conf.useSnapshotCache) {
+            snapshotCache = new SchemaSnapshotCache(conf.getSnapshotCacheDirectory());
+            snapshotKey = snapshotCache.getKey(file);
+            snapshotSchema = snapshotCache.load(snapshotKey);
+         }
+         GraphExtractor extractor = null;
+         boolean schemaOnly = false;
+         if (snapshotSchema != null) {
+            // the Ontology model will only be parsed if it is used, for example by a SPARQL request or a script
+            schema = snapshotSchema;
+            schema.setFile(file);
+            schema.setOntModelLoader(new FileModelLoader(file, owlType));
+         } else {
+            schemaOnly = isStreamingSchemaOnly();
+            if (schemaOnly) {
+               model = readSchemaModel(file, owlType, monitor);
+            } else {
+               model = readModel(file, owlType, monitor);
+            }
+            boolean addThingClass = conf.addThingClass;
+            boolean showPackages = conf.showPackages;
+            extractor = new GraphExtractor(file, model, addThingClass, showPackages);
+            // the statements index is kept in memory, so it is not used implicitly for a persistent dataset
+            extractor.setUseStatementsIndex(conf.singlePassExtraction);
+            extractor.setParallelExtraction(conf.parallelExtraction && !conf.persistentDataset);
+            extractor.setLoadingMonitor(monitor);
+            schema = extractor.getGraph();
          }
-         // getting a raw model is necessary because if we don't do that, we will use the reasoner when getting the individuals, and if can take a
-         // very long time
-         // see https://stackoverflow.com/questions/27645110/method-listindividual-takes-more-than-15-mins-with-dbpedia-2014-owl-2mb-siz
-         Model _model = model.getRawModel();
-         model = new OntModelImpl(OntModelSpecTypes.getOntModelSpec(conf.modelSpec), _model);
-         model.setStrictMode(conf.strictMode);
-
-         boolean addThingClass = conf.addThingClass;
-         boolean showPackages = conf.showPackages;
-         GraphExtractor extractor = new GraphExtractor(file, model, addThingClass, showPackages);
-         schema = extractor.getGraph();
          diagram = new OwlDiagram(file.getName());
          diagram.setRepresentationType(owlRepresentationType);
          diagram.setFile(file);
          diagram.setSchema(schema);
-         mxGraph graph = createGraph(schema);
-         diagram.setGraph(graph);
-         diagram.setKeyToCell(cell4Class);
-
          if (graphPanel == null) {
             graphPanel = new GraphPanel((GUIApplication) app);
          }
+         publishSchema();
+
+         monitor.startPhase(LoadingPhases.PHASE_GRAPH);
+         mxGraph graph = createGraph(schema);
+         diagram.setGraph(graph);
+         diagram.setKeyToCell(cell4Class);
+         diagram.setLazyGraphBuilder(lazyBuilder);
          graphPanel.setDiagram(diagram);
-         if (extractor.hasErrors()) {
+         // build the search index while the model is opened rather than at the first search
+         schema.getSearchIndex();
+         if (snapshotCache != null && snapshotSchema == null) {
+            storeSnapshot(snapshotCache, snapshotKey, area);
+         }
+         if (schemaOnly) {
+            // the model only contains the schema, so the complete model will only be parsed if it is used, for example by a SPARQL
+            // request or a script
+            schema.resetOntModel(new FileModelLoader(file, owlType));
+            ImportsLoader.releaseImports(model);
+            model = null;
+         }
+         if (extractor != null && extractor.hasErrors()) {
             SwingErrorLogger logger = new SwingErrorLogger();
             logger.showParserExceptions(extractor.getErrors());
          }
@@ -249,10 +331,111 @@ public abstract class AbstractOpenModelAction extends AbstractUpdateModelAction
          } else {
             System.err.println("Error when parsing model");
          }
+      } catch (IOException ex) {
+         if (area != null) {
+            JOptionPane.showMessageDialog(((GUIApplication) app).getApplicationWindow(), "IOException: " + ex.getMessage(), "Error when parsing model", JOptionPane.ERROR_MESSAGE);
+         } else {
+            System.err.println("Error when parsing model");
+         }
+      } catch (LoadingCancelledException ex) {
+         cancelled = true;
+         schema = null;
+         diagram = null;
+      } finally {
+         if (diagram == null && model != null) {
+            // the opening has failed or has been cancelled, so the model will not be released by a graph panel
+            ImportsLoader.releaseImports(model);
+         }
+         if (progressDialog != null) {
+            progressDialog.close();
+         }
       }
    }
 
-   private OntModel createModel(String ontologyModel) {
+   private void storeSnapshot(SchemaSnapshotCache snapshotCache, String snapshotKey, MessageArea area) {
+      try {
+         snapshotCache.store(snapshotKey, schema);
+      } catch (IOException ex) {
+         if (area != null) {
+            area.append("Could not store the schema snapshot: " + ex.getMessage(), "red");
+         } else {
+            System.err.println("Could not store the schema snapshot: " + ex.getMessage());
+         }
+      }
+   }
+
+   /**
+    * Read the Ontology model of a file. The imports of the model must be released with {@link ImportsLoader#releaseImports(OntModel)}
+    * when the model is not used anymore.
+    *
+    * @param file the file
+    * @param owlType the Owl representation type
+    * @param monitor the loading monitor
+    * @return the Ontology model
+    * @throws IOException if the file could not be read
+    */
+   public static OntModel readModel(File file, short owlType, LoadingMonitor monitor) throws IOException {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      OntModel model;
+      if (conf.persistentDataset) {
+         // the triples are only loaded in the persistent dataset if the file has changed since the last loading
+         PersistentDatasetStore store = new PersistentDatasetStore(conf.getDatasetsDirectory());
+         model = store.getModel(file, owlType, OntModelSpecTypes.getOntModelSpec(conf.modelSpec), monitor);
+      } else {
+         model = createModel("OWL_MEM");
+         // see https://web-semantique.developpez.com/tutoriels/jena/io/#LV-A
+         // the file is read through a cancellable stream, so that cancelling the loading aborts the parser
+         Lang lang;
+         if (owlType == OwlRepresentationType.TYPE_OWL_TURTLE) {
+            lang = Lang.TURTLE;
+         } else {
+            lang = Lang.RDFXML;
+         }
+         try (InputStream stream = new CancellableInputStream(new FileInputStream(file), monitor)) {
+            RDFDataMgr.read(model, stream, file.toURI().toString(), lang);
+         }
+         // getting a raw model is necessary because if we don't do that, we will use the reasoner when getting the individuals, and if can take a
+         // very long time
+         // see https://stackoverflow.com/questions/27645110/method-listindividual-takes-more-than-15-mins-with-dbpedia-2014-owl-2mb-siz
+         Model _model = model.getRawModel();
+         model = ImportsLoader.createOntModel(OntModelSpecTypes.getOntModelSpec(conf.modelSpec), _model);
+      }
+      model.setStrictMode(conf.strictMode);
+      return model;
+   }
+
+   /**
+    * Return true if the files must be opened by only streaming the triples of their schema. It is the case for the streaming open if
+    * the individuals are not included and the model is not read from a persistent dataset.
+    *
+    * @return true if the files must be opened by only streaming the triples of their schema
+    */
+   public static boolean isStreamingSchemaOnly() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      return conf.streamingOpen && !conf.includeIndividuals && !conf.persistentDataset;
+   }
+
+   /**
+    * Read the Ontology model of the schema of a file, without the triples of its individuals. The model must only be used to
+    * extract the schema, and its imports must be released with {@link ImportsLoader#releaseImports(OntModel)} when the model is not
+    * used anymore.
+    *
+    * @param file the file
+    * @param owlType the Owl representation type
+    * @param monitor the loading monitor
+    * @return the Ontology model of the schema
+    * @see StreamingModelReader
+    */
+   public static OntModel readSchemaModel(File file, short owlType, LoadingMonitor monitor) {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      StreamingModelReader reader = new StreamingModelReader(file, owlType);
+      reader.setLoadingMonitor(monitor);
+      OntModel model = reader.read(OntModelSpecTypes.getOntModelSpec(conf.modelSpec));
+      model.setStrictMode(conf.strictMode);
+      return model;
+   }
+
+   private static OntModel createModel(String ontologyModel) {
       switch (ontologyModel) {
          case "OWL_MEM_RDFS_INF":
             return ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM_RDFS_INF);
@@ -287,8 +470,33 @@ public abstract class AbstractOpenModelAction extends AbstractUpdateModelAction
       }
    }
 
+   /**
+    * Loads the Ontology model of a schema which has been restored from a snapshot or extracted from the model of its schema.
+    */
+   private static class FileModelLoader implements OntModelLoader {
+      private final File file;
+      private final short owlType;
+
+      private FileModelLoader(File file, short owlType) {
+         this.file = file;
+         this.owlType = owlType;
+      }
+
+      @Override
+      public OntModel loadModel() {
+         try {
+            return readModel(file, owlType, new LoadingMonitor());
+         } catch (IOException ex) {
+            throw new WrappedIOException(ex);
+         }
+      }
+   }
+
    @Override
    public String getMessage() {
+      if (cancelled) {
+         return this.getLongDescription() + " cancelled";
+      }
       switch (owlRepresentationType) {
          case OwlRepresentationType.TYPE_UNDEFINED:
             return "Owl2 Representation undefined";
@@ -69,7 +69,7 @@ import org.mdi.bootstrap.swing.SwingFileProperties;
 /**
  * The Action that updates owl/rdf schemas.
  *
- * @version 0.15
+ * @version 0.18
  */
 public abstract class AbstractUpdateModelAction extends AbstractMDIAction {
    protected OwlSchema schema = null;
@@ -78,8 +78,12 @@ public abstract class AbstractUpdateModelAction extends AbstractMDIAction {
    protected GraphPanel graphPanel = null;
    protected Map<ElementKey, mxCell> cell4Class = null;
    protected Map<ElementKey, mxCell> cell4Property = null;   
-   private static final String FONT_FAMILY = "Dialog";
-   private static final int FONT_SIZE = 11;   
+   /**
+    * The builder of the graph if the diagram is created lazily.
+    */
+   protected LazyGraphBuilder lazyBuilder = null;
+   static final String FONT_FAMILY = "Dialog";
+   static final int FONT_SIZE = 11;   
    private boolean showAlias = false;
    
    /**
@@ -206,6 +210,10 @@ public abstract class AbstractUpdateModelAction extends AbstractMDIAction {
     * @return the graph
     */
    protected mxGraph createGraph(OwlSchema schema) {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      if (conf.lazyDiagram) {
+         return createLazyGraph(schema, conf.lazyDiagramMaximumCells);
+      }
       mxGraph graph = new mxGraph();
       graph.setDisconnectOnMove(false);
       graph.setAutoOrigin(true);
@@ -380,6 +388,27 @@ public abstract class AbstractUpdateModelAction extends AbstractMDIAction {
       return graph;
    }
 
+   /**
+    * Creates the graph for a schema, where the cells are only created for the neighbourhoods of the elements which are navigated
+    * to. Only the neighbourhoods of the root classes are created initially.
+    *
+    * @param schema the schema
+    * @param maximumCells the maximum number of vertices in the graph
+    * @return the graph
+    */
+   private mxGraph createLazyGraph(OwlSchema schema, int maximumCells) {
+      mxGraph graph = new mxGraph();
+      graph.setDisconnectOnMove(false);
+      graph.setAutoOrigin(true);
+      createStyles(graph);
+      lazyBuilder = new LazyGraphBuilder(graph, schema, showAlias);
+      lazyBuilder.setMaximumCells(maximumCells);
+      lazyBuilder.expandRoots();
+      cell4Class = lazyBuilder.getKeyToCell();
+      cell4Property = lazyBuilder.getKeyToCell();
+      return graph;
+   }
+
    private void updateGraphBounds(mxGraph graph, List<mxCell> allCells) {
       double minx = 0;
       double miny = 0;
@@ -50,7 +50,6 @@ import org.girod.jgraphml.model.LineStyle;
 import org.girod.jgraphml.model.NodeLabel;
 import org.girod.jgraphml.model.PortConstraints;
 import org.girod.jgraphml.model.ShapeType;
-import org.girod.ontobrowser.BrowserConfiguration;
 import org.girod.ontobrowser.OwlDiagram;
 import org.girod.ontobrowser.gui.CustomGraphStyles;
 import org.girod.ontobrowser.model.ElementKey;
@@ -60,12 +59,13 @@ import org.girod.ontobrowser.model.OwlIndividual;
 import org.girod.ontobrowser.model.OwlObjectProperty;
 import org.girod.ontobrowser.model.OwlProperty;
 import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.utils.ClassAdjacencyIndex.Neighbourhood;
 import org.mdi.bootstrap.MDIApplication;
 
 /**
  * The Action that save Classes as yEd diagrams.
  *
- * @version 0.15
+ * @version 0.18
  */
 public class ExportClassGraphAction extends AbstractExportGraphAction {
    private final OwlSchema schema;
@@ -73,9 +73,8 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
    private final Set<ElementKey> selectedClassesKeys;
    private boolean showAlias = false;
    private int maximumRadius = 1;
-   private int effectiveRadius = 0;
-   private boolean addedRadius = false;
-   private Set<ElementKey> newClasses = new HashSet<>();
+   private Neighbourhood neighbourhood = null;
+   private final Set<NodesConnection> processedConnections = new HashSet<>();
    private Map<ElementKey, OwlProperty> owlProperties = null;
    private Map<ElementKey, OwlClass> owlClasses = null;
 
@@ -120,17 +119,12 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
       }
    }
 
-   @Override
-   protected GraphMLGroupNode getPackageNode(OwlClass theClass, ElementKey key) {
-      return null;
-   }
-
    private GraphMLNode addIndividual(OwlClass owlClass, GraphMLNode node, OwlIndividual individual) {
       GraphMLNode inode;
       if (owlClass.isPackageOrInPackage()) {
          ElementKey packageKey = owlClass.getPackage(false);
          GraphMLGroupNode groupNode = packagesNodes.get(packageKey);
-         inode = groupNode.addNode();
+         inode = groupNode != null ? groupNode.addNode() : graph.addNode();
       } else {
          inode = graph.addNode();
       }
@@ -170,8 +164,10 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
          label.setLabel(theClass.getDisplayedName());
          elementToNode.put(theClass.getKey(), node);
       }
+      return node;
+   }
 
-      // individuals
+   private void addIndividuals(OwlClass theClass, GraphMLNode node) {
       if (showIndividuals && theClass.hasIndividuals()) {
          Iterator<OwlIndividual> it2 = theClass.getIndividuals().values().iterator();
          while (it2.hasNext()) {
@@ -179,11 +175,11 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
             addIndividual(theClass, node, individual);
          }
       }
-      return node;
    }
 
    private void exportAllImpl() {
       elementToNode = new HashMap<>();
+      processedConnections.clear();
       owlClasses = schema.getOwlClasses();
       owlProperties = schema.getOwlProperties();
 
@@ -207,6 +203,9 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
                      processedEdges.add(pair);
                      OwlClass rangeClass = owlClasses.get(propKey);
                      IGraphMLNode rangeNode = createClassNode(rangeClass);
+                     if (rangeNode == null) {
+                        continue;
+                     }
                      GraphMLEdge edge = graph.addEdge(rangeNode, theRootNode);
                      addLabelOnEdge(edge, objectProp);
                      if (showRelationsConstraints) {
@@ -256,6 +255,9 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
                   processedEdges.add(pair);
                   OwlClass domainClass = owlClasses.get(propKey);
                   IGraphMLNode domainNode = createClassNode(domainClass);
+                  if (domainNode == null) {
+                     continue;
+                  }
                   GraphMLEdge edge = graph.addEdge(domainNode, theRootNode);
                   addLabelOnEdge(edge, property);
                   Arrows arrows = edge.getArrows();
@@ -327,30 +329,30 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
       }
    }
 
+   /**
+    * Export the classes which are in the neighbourhood of the selected classes. The neighbourhood is computed once with a breadth-first
+    * search on the adjacency index of the schema. The relations of the classes which are nearer than the radius are exported, and
+    * the classes at the radius are only the targets of these relations.
+    */
    private void exportClasses() {
+      neighbourhood = schema.getAdjacencyIndex().getNeighbourhood(selectedClasses, maximumRadius, showAlias);
       Iterator<OwlClass> it = selectedClasses.iterator();
       while (it.hasNext()) {
          OwlClass theClass = it.next();
-         exportClass(theClass);
+         addRootNode(theClass);
       }
-      boolean executeNewSession = effectiveRadius < maximumRadius && !newClasses.isEmpty();
-      while (executeNewSession) {
-         addedRadius = false;
-         Set<ElementKey> currentNewClasses = new HashSet<>(newClasses);
-         newClasses.clear();
-         Iterator<ElementKey> it2 = currentNewClasses.iterator();
-         while (it2.hasNext()) {
-            ElementKey key = it2.next();
-            OwlClass theClass = schema.getOwlClass(key);
+      it = neighbourhood.getClasses().iterator();
+      while (it.hasNext()) {
+         OwlClass theClass = it.next();
+         if (neighbourhood.isExpanded(theClass)) {
             exportClass(theClass);
          }
-         newClasses.addAll(currentNewClasses);
-         executeNewSession = effectiveRadius < maximumRadius && !newClasses.isEmpty();
       }
    }
 
    private void exportClass(OwlClass theClass) {
-      GraphMLNode theRootNode = addRootNode(theClass);
+      GraphMLNode theRootNode = createClassNode(theClass);
+      addIndividuals(theClass, theRootNode);
 
       // parent classes
       Iterator<ElementKey> it3 = theClass.getSuperClasses().keySet().iterator();
@@ -358,6 +360,9 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
          ElementKey parentKey = it3.next();
          if (owlClasses.containsKey(parentKey)) {
             OwlClass parentClass = owlClasses.get(parentKey);
+            if (!processedConnections.add(new NodesConnection(theClass, parentClass))) {
+               continue;
+            }
             IGraphMLNode theNode = createClassNode(parentClass);
             GraphMLEdge edge = graph.addEdge(theRootNode, theNode);
             if (hasLayoutOption) {
@@ -374,8 +379,11 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
       while (it3.hasNext()) {
          ElementKey parentKey = it3.next();
          if (owlClasses.containsKey(parentKey)) {
-            OwlClass parentClass = owlClasses.get(parentKey);
-            IGraphMLNode theNode = createClassNode(parentClass);
+            OwlClass subClass = owlClasses.get(parentKey);
+            if (!processedConnections.add(new NodesConnection(theClass, subClass))) {
+               continue;
+            }
+            IGraphMLNode theNode = createClassNode(subClass);
             GraphMLEdge edge = graph.addEdge(theRootNode, theNode);
             if (hasLayoutOption) {
                edge.setPortConstraint(PortConstraints.SOURCE, PortConstraints.POSITION_SOUTH);
@@ -397,9 +405,8 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
       GraphMLNode theNode;
       if (elementToNode.containsKey(key)) {
          theNode = (GraphMLNode) elementToNode.get(key);
-      } else if (effectiveRadius <= maximumRadius) {
+      } else if (neighbourhood.contains(owlClass)) {
          GraphMLNode theNode1 = graph.addNode();
-         newClasses.add(owlClass.getKey());
          theNode = theNode1;
          elementToNode.put(key, theNode);
          theNode1.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
@@ -407,10 +414,6 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
          NodeLabel label = theNode1.createLabel(true);
          label.setFontSize(11);
          label.setLabel(owlClass.getDisplayedName());
-         if (!addedRadius) {
-            addedRadius = true;
-            effectiveRadius++;
-         }
       } else {
          theNode = null;
       }
@@ -423,6 +426,9 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
          ElementKey keyAlias = it3.next();
          if (owlClasses.containsKey(keyAlias)) {
             OwlClass aliasClass = owlClasses.get(keyAlias);
+            if (!processedConnections.add(new NodesConnection(theClass, aliasClass))) {
+               continue;
+            }
             IGraphMLNode theNode = createClassNode(aliasClass);
             GraphMLEdge edge = graph.addEdge(theRootNode, theNode);
             Arrows arrows = edge.getArrows();
@@ -438,7 +444,6 @@ public class ExportClassGraphAction extends AbstractExportGraphAction {
    @Override
    protected void configure() {
       super.configure();
-      BrowserConfiguration conf = BrowserConfiguration.getInstance();
       this.showAlias = conf.showAlias;
       this.maximumRadius = conf.maximumRadius;
    }
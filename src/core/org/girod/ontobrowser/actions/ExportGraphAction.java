@@ -33,21 +33,18 @@ the project website at the project page on https://github.com/hervegirod/ontolog
 package org.girod.ontobrowser.actions;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import org.girod.jgraphml.model.Arrows;
-import org.girod.jgraphml.model.GraphMLEdge;
 import org.girod.jgraphml.model.GraphMLGroupNode;
-import org.girod.jgraphml.model.GraphMLNode;
 import org.girod.jgraphml.model.IGraphMLNode;
-import org.girod.jgraphml.model.LineStyle;
-import org.girod.jgraphml.model.NodeLabel;
-import org.girod.jgraphml.model.PortConstraints;
-import org.girod.jgraphml.model.ShapeType;
 import org.girod.ontobrowser.BrowserConfiguration;
 import org.girod.ontobrowser.OwlDiagram;
 import org.girod.ontobrowser.gui.CustomGraphStyles;
@@ -62,12 +59,18 @@ import org.mdi.bootstrap.MDIApplication;
 /**
  * The Action that save schemas as yEd diagrams.
  *
- * @version 0.15
+ * @version 0.18
  */
 public class ExportGraphAction extends AbstractExportGraphAction {
    private boolean showPackages = false;
    private boolean showAlias = false;
    private final Set<NodesConnection> existingConnections = new HashSet<>();
+   // the nodes ids and the content of the groups of the diagram, the null key is the key of the top-level graph
+   private Map<ElementKey, String> nodeIds = null;
+   private Map<ElementKey, List<ElementKey>> groupChildren = null;
+   private Map<ElementKey, List<OwlClass>> groupClasses = null;
+   private Map<ElementKey, List<OwlClass>> groupIndividuals = null;
+   private Map<ElementKey, List<OwlClass>> groupDataProperties = null;
 
    /**
     * Create the export File Action.
@@ -82,321 +85,356 @@ public class ExportGraphAction extends AbstractExportGraphAction {
       super(app, desc, longDesc, diagram, file);
    }
 
-   @Override
-   protected GraphMLGroupNode getPackageNode(OwlClass theClass, ElementKey key) {
-      if (packagesNodes.containsKey(key)) {
-         return packagesNodes.get(key);
-      } else {
-         OwlClass superClass = theClass.getFirstSuperClass();
-         if (superClass == null) {
-            GraphMLGroupNode node = graph.addGroupNode();
-            elementToNode.put(key, node);
-            setGroupNodeStyle(node, theClass.getDisplayedName());
-            packagesNodes.put(key, node);
-            processedPackages.add(key);
-            return node;
-         } else {
-            ElementKey superclassKey = superClass.getKey();
-            if (!processedPackages.contains(superclassKey)) {
-               getPackageNode(superClass, superclassKey);
-            }
-            if (packagesNodes.containsKey(superclassKey)) {
-               GraphMLGroupNode superclassNode = packagesNodes.get(superclassKey);
-               GraphMLGroupNode node = superclassNode.addGroupNode();
-               elementToNode.put(key, node);
-               setGroupNodeStyle(node, theClass.getDisplayedName());
-               packagesNodes.put(key, node);
-               processedPackages.add(key);
-               return node;
-            } else {
-               GraphMLGroupNode node = graph.addGroupNode();
-               elementToNode.put(key, node);
-               setGroupNodeStyle(node, theClass.getDisplayedName());
-               packagesNodes.put(key, node);
-               processedPackages.add(key);
-               return node;
-            }
-         }
-      }
+   /**
+    * Create the export File Action with a specific configuration.
+    *
+    * @param app the Application
+    * @param desc the short description of the action
+    * @param longDesc the long description of the action
+    * @param diagram the diagram
+    * @param file the file to open
+    * @param conf the configuration
+    */
+   public ExportGraphAction(MDIApplication app, String desc, String longDesc, OwlDiagram diagram, File file, BrowserConfiguration conf) {
+      super(app, desc, longDesc, diagram, file, conf);
    }
 
-   private GraphMLGroupNode getGroupParent(ElementKey key, OwlClass owlClass) {
-      if (packagesNodes == null || !owlClass.isInUniquePackage()) {
-         return null;
-      } else {
-         ElementKey thePackageKey = owlClass.getPackage();
-         return packagesNodes.get(thePackageKey);
+   private static <T> void addToGroup(Map<ElementKey, List<T>> groups, ElementKey groupKey, T element) {
+      List<T> list = groups.get(groupKey);
+      if (list == null) {
+         list = new ArrayList<>();
+         groups.put(groupKey, list);
       }
+      list.add(element);
    }
 
-   private GraphMLNode addIndividual(OwlClass owlClass, GraphMLNode node, OwlIndividual individual) {
-      GraphMLNode inode;
-      if (owlClass.isPackageOrInPackage()) {
-         ElementKey packageKey = owlClass.getPackage(false);
-         GraphMLGroupNode groupNode = packagesNodes.get(packageKey);
-         if (groupNode == null) {
-            inode = graph.addNode();
-         } else {
-            inode = groupNode.addNode();
+   private void addPackage(OwlClass theClass, ElementKey key, Set<ElementKey> inProgress) {
+      if (nodeIds.containsKey(key)) {
+         return;
+      }
+      ElementKey parentKey = null;
+      OwlClass superClass = theClass.getFirstSuperClass();
+      // the inProgress set avoids an infinite recursion if the first superclasses form a cycle
+      if (superClass != null && inProgress.add(key)) {
+         ElementKey superclassKey = superClass.getKey();
+         addPackage(superClass, superclassKey, inProgress);
+         if (nodeIds.containsKey(key)) {
+            return;
          }
-      } else {
-         inode = graph.addNode();
+         parentKey = superclassKey;
       }
-      inode.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-      inode.getShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.INDIVIDUAL));
-      NodeLabel ilabel = inode.createLabel(true);
-      ilabel.setFontSize(11);
-      ilabel.setLabel(individual.getDisplayedName());
-      GraphMLEdge edge = graph.addEdge(node, inode);
-      if (hasChildrenLayout) {
-         edge.setPortConstraint(PortConstraints.TARGET, PortConstraints.POSITION_SOUTH);
-         edge.setPortConstraint(PortConstraints.SOURCE, PortConstraints.POSITION_NORTH);
+      nodeIds.put(key, "n" + nodeIds.size());
+      processedPackages.add(key);
+      addToGroup(groupChildren, parentKey, key);
+   }
+
+   private ElementKey getGroup(OwlClass owlClass) {
+      if (owlClass.isInUniquePackage()) {
+         ElementKey packageKey = owlClass.getPackage();
+         return processedPackages.contains(packageKey) ? packageKey : null;
+      } else {
+         return null;
       }
-      Arrows arrows = edge.getArrows();
-      arrows.setSource(Arrows.NONE);
-      arrows.setTarget(Arrows.NONE);
-      return inode;
    }
 
-   private GraphMLNode addDataProperty(OwlClass owlClass, OwlDatatypeProperty dataProperty) {
-      GraphMLNode propertyNode;
+   private ElementKey getIndividualsGroup(OwlClass owlClass) {
       if (owlClass.isPackageOrInPackage()) {
          ElementKey packageKey = owlClass.getPackage(false);
-         GraphMLGroupNode groupNode = packagesNodes.get(packageKey);
-         propertyNode = groupNode.addNode();
+         return processedPackages.contains(packageKey) ? packageKey : null;
       } else {
-         propertyNode = graph.addNode();
+         return null;
       }
-      propertyNode.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-      propertyNode.getShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.PROPERTY));
-      NodeLabel label = propertyNode.createLabel(true);
-      label.setFontSize(11);
-      if (showDataPropertiesTypes) {
-         String typeS = getType(dataProperty);
-         if (typeS != null) {
-            label.setLabel(dataProperty.getDisplayedName() + "\n" + typeS);
-            propertyNode.setHeight(propertyNode.getHeight() * 1.5f);
-         } else {
-            label.setLabel(dataProperty.getDisplayedName());
+   }
+
+   private static boolean hasDataProperties(OwlClass owlClass) {
+      Iterator<OwlProperty> it = owlClass.getOwlProperties().values().iterator();
+      while (it.hasNext()) {
+         if (it.next() instanceof OwlDatatypeProperty) {
+            return true;
          }
-      } else {
-         label.setLabel(dataProperty.getDisplayedName());
       }
-      return propertyNode;
+      return false;
    }
 
-   private GraphMLNode addLeafNode(ElementKey key, OwlClass owlClass) {
-      GraphMLGroupNode groupNode = getGroupParent(key, owlClass);
-      GraphMLNode node;
-      if (groupNode == null) {
-         node = graph.addNode();
-      } else {
-         node = groupNode.addNode();
+   /**
+    * Compute the ids of the nodes and the content of each group. Only the keys of the elements are kept, the nodes
+    * themselves are created when they are emitted.
+    */
+   private void prepareNodes(Map<ElementKey, OwlClass> owlClasses) {
+      nodeIds = new HashMap<>();
+      groupChildren = new HashMap<>();
+      groupClasses = new HashMap<>();
+      groupIndividuals = new HashMap<>();
+      groupDataProperties = new HashMap<>();
+      if (showPackages) {
+         Set<ElementKey> inProgress = new HashSet<>();
+         Iterator<Entry<ElementKey, OwlClass>> it = schema.getPackages().entrySet().iterator();
+         while (it.hasNext()) {
+            Entry<ElementKey, OwlClass> entry = it.next();
+            addPackage(entry.getValue(), entry.getKey(), inProgress);
+         }
       }
-      node.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-      node.getShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.CLASS));
-      NodeLabel label = node.createLabel(true);
-      label.setFontSize(11);
-      label.setLabel(owlClass.getDisplayedName());
-      elementToNode.put(key, node);
-
-      // individuals
-      if (showIndividuals && owlClass.hasIndividuals()) {
-         Iterator<OwlIndividual> it2 = owlClass.getIndividuals().values().iterator();
-         while (it2.hasNext()) {
-            OwlIndividual individual = it2.next();
-            addIndividual(owlClass, node, individual);
+      Iterator<Entry<ElementKey, OwlClass>> it = owlClasses.entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<ElementKey, OwlClass> entry = it.next();
+         ElementKey key = entry.getKey();
+         OwlClass owlClass = entry.getValue();
+         if (!showPackages || !processedPackages.contains(key)) {
+            nodeIds.put(key, "n" + nodeIds.size());
+            addToGroup(groupClasses, getGroup(owlClass), owlClass);
+            if (showIndividuals && owlClass.hasIndividuals()) {
+               addToGroup(groupIndividuals, getIndividualsGroup(owlClass), owlClass);
+            }
+         }
+         if (showIndividuals && hasDataProperties(owlClass)) {
+            addToGroup(groupDataProperties, getIndividualsGroup(owlClass), owlClass);
          }
       }
-      return node;
    }
 
-   private void addPackages() {
-      if (showPackages) {
-         Map<ElementKey, OwlClass> owlPackages = schema.getPackages();
-         Iterator<Entry<ElementKey, OwlClass>> it = owlPackages.entrySet().iterator();
+   private void emitGroup(GraphMLEmitter emitter, ElementKey groupKey) throws IOException {
+      List<OwlClass> classes = groupClasses.get(groupKey);
+      if (classes != null) {
+         Iterator<OwlClass> it = classes.iterator();
          while (it.hasNext()) {
-            Entry<ElementKey, OwlClass> entry = it.next();
-            ElementKey key = entry.getKey();
-            OwlClass owlPackage = entry.getValue();
-            getPackageNode(owlPackage, key);
+            OwlClass owlClass = it.next();
+            emitter.addNode(nodeIds.get(owlClass.getKey()), owlClass.getDisplayedName(), customStyles.getBackgroundColor(CustomGraphStyles.CLASS), 1f);
+         }
+      }
+      classes = groupIndividuals.get(groupKey);
+      if (classes != null) {
+         Iterator<OwlClass> it = classes.iterator();
+         while (it.hasNext()) {
+            OwlClass owlClass = it.next();
+            String classId = nodeIds.get(owlClass.getKey());
+            int index = 0;
+            Iterator<OwlIndividual> it2 = owlClass.getIndividuals().values().iterator();
+            while (it2.hasNext()) {
+               OwlIndividual individual = it2.next();
+               emitter.addNode(classId + "::i" + index, individual.getDisplayedName(), customStyles.getBackgroundColor(CustomGraphStyles.INDIVIDUAL), 1f);
+               index++;
+            }
+         }
+      }
+      classes = groupDataProperties.get(groupKey);
+      if (classes != null) {
+         Iterator<OwlClass> it = classes.iterator();
+         while (it.hasNext()) {
+            OwlClass owlClass = it.next();
+            String classId = nodeIds.get(owlClass.getKey());
+            int index = 0;
+            Iterator<OwlProperty> it2 = owlClass.getOwlProperties().values().iterator();
+            while (it2.hasNext()) {
+               OwlProperty property = it2.next();
+               if (property instanceof OwlDatatypeProperty) {
+                  emitDataProperty(emitter, classId + "::p" + index, (OwlDatatypeProperty) property);
+               }
+               index++;
+            }
+         }
+      }
+      List<ElementKey> children = groupChildren.get(groupKey);
+      if (children != null) {
+         Iterator<ElementKey> it = children.iterator();
+         while (it.hasNext()) {
+            ElementKey childKey = it.next();
+            emitter.startGroup(nodeIds.get(childKey), schema.getOwlClass(childKey).getDisplayedName());
+            emitGroup(emitter, childKey);
+            emitter.endGroup();
          }
       }
    }
 
-   private void exportAllImpl() {
-      elementToNode = new HashMap<>();
-      Map<ElementKey, OwlClass> owlClasses = schema.getOwlClasses();
-      if (showPackages) {
-         addPackages();
+   private void emitDataProperty(GraphMLEmitter emitter, String id, OwlDatatypeProperty dataProperty) throws IOException {
+      String label = dataProperty.getDisplayedName();
+      float heightFactor = 1f;
+      if (showDataPropertiesTypes) {
+         String typeS = getType(dataProperty);
+         if (typeS != null) {
+            label = label + "\n" + typeS;
+            heightFactor = 1.5f;
+         }
       }
+      emitter.addNode(id, label, customStyles.getBackgroundColor(CustomGraphStyles.PROPERTY), heightFactor);
+   }
 
-      exportClasses(owlClasses);
-      exportProperties(owlClasses);
-      sortNodesPosition();
+   private void emitClassesEdges(GraphMLEmitter emitter, Map<ElementKey, OwlClass> owlClasses) throws IOException {
+      Iterator<Entry<ElementKey, OwlClass>> it = owlClasses.entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<ElementKey, OwlClass> entry = it.next();
+         ElementKey key = entry.getKey();
+         OwlClass theClass = entry.getValue();
+         String theId = nodeIds.get(key);
+         if (!showPackages || !processedPackages.contains(key)) {
+            // parent classes
+            Iterator<ElementKey> it2 = theClass.getSuperClasses().keySet().iterator();
+            while (it2.hasNext()) {
+               ElementKey parentKey = it2.next();
+               if (owlClasses.containsKey(parentKey)) {
+                  OwlClass parentClass = owlClasses.get(parentKey);
+                  boolean acceptConnection = acceptSuperClassConnection(theClass, parentClass);
+                  if (acceptConnection && (!showPackages || !parentClass.isPackage())) {
+                     GraphMLEmitter.Edge edge = emitter.addEdge(nodeIds.get(parentKey), theId);
+                     edge.setArrows(GraphMLEmitter.ARROW_WHITE_DELTA, GraphMLEmitter.ARROW_NONE);
+                     if (hasLayoutOption) {
+                        edge.setPortConstraints(GraphMLEmitter.SIDE_SOUTH, GraphMLEmitter.SIDE_NORTH);
+                     }
+                  }
+               }
+            }
+            // individuals
+            if (showIndividuals && theClass.hasIndividuals()) {
+               int count = theClass.getIndividuals().size();
+               for (int i = 0; i < count; i++) {
+                  GraphMLEmitter.Edge edge = emitter.addEdge(theId, theId + "::i" + i);
+                  edge.setArrows(GraphMLEmitter.ARROW_NONE, GraphMLEmitter.ARROW_NONE);
+                  if (hasChildrenLayout) {
+                     edge.setPortConstraints(GraphMLEmitter.SIDE_NORTH, GraphMLEmitter.SIDE_SOUTH);
+                  }
+               }
+            }
+         }
+         if (showAlias && theClass.hasAliasClasses()) {
+            Iterator<ElementKey> it3 = theClass.getAliasClasses().keySet().iterator();
+            while (it3.hasNext()) {
+               String aliasId = nodeIds.get(it3.next());
+               if (theId != null && aliasId != null) {
+                  emitter.addEdge(theId, aliasId).setArrows(GraphMLEmitter.ARROW_NONE, GraphMLEmitter.ARROW_NONE).setDashed(true);
+               }
+            }
+         }
+      }
    }
 
-   private void exportProperties(Map<ElementKey, OwlClass> owlClasses) {
+   private void emitPropertiesEdges(GraphMLEmitter emitter, Map<ElementKey, OwlClass> owlClasses) throws IOException {
       Set<ElementKey> inversePropertiesToSkip = new HashSet<>();
-      // properties
       Iterator<ElementKey> it = owlClasses.keySet().iterator();
       while (it.hasNext()) {
          ElementKey key = it.next();
          OwlClass theClass = owlClasses.get(key);
-         IGraphMLNode theNode = elementToNode.get(key);
+         String theId = nodeIds.get(key);
+         int index = 0;
          Iterator<OwlProperty> it3 = theClass.getOwlProperties().values().iterator();
          while (it3.hasNext()) {
             OwlProperty property = it3.next();
             if (property instanceof OwlObjectProperty) {
                OwlObjectProperty objectProp = (OwlObjectProperty) property;
-
                if (objectProp.hasInverseProperty()) {
                   ElementKey thePropertyKey = objectProp.getKey();
                   if (inversePropertiesToSkip.contains(thePropertyKey)) {
+                     index++;
                      continue;
                   } else {
                      inversePropertiesToSkip.add(objectProp.getInverseProperty().getKey());
                   }
                }
-
                Iterator<ElementKey> it4 = objectProp.getRange().keySet().iterator();
                while (it4.hasNext()) {
                   ElementKey propKey = it4.next();
                   if (owlClasses.containsKey(propKey)) {
-                     char acceptConnection = acceptConnection(key, propKey);
-                     if (acceptConnection == REFUSE_CONNECTION) {
-                        continue;
-                     }
-                     EdgePair pair = new EdgePair(property, theClass.getKey(), propKey);
-                     if (!processedEdges.contains(pair)) {
-                        processedEdges.add(pair);
-                        if (!showInterPackageConnections) {
-                           NodesConnection nodesConnection = new NodesConnection(key, propKey);
-                           if (!existingConnections.contains(nodesConnection)) {
-                              existingConnections.add(nodesConnection);
-                              if (acceptConnection == ACCEPT_CONNECTION) {
-                                 IGraphMLNode rangeNode = elementToNode.get(propKey);
-                                 GraphMLEdge edge = graph.addEdge(rangeNode, theNode);
-                                 addLabelOnEdge(edge, objectProp);
-                              } else if (acceptConnection == ACCEPT_CONNECTION_ON_PACKAGES) {
-                                 OwlClass pack1 = schema.getOwlClass(theClass.getPackage());
-                                 OwlClass pack2 = schema.getOwlClass(propKey);
-                                 pack2 = schema.getOwlClass(pack2.getPackage());
-                                 IGraphMLNode pack1Node = elementToNode.get(pack1.getKey());
-                                 IGraphMLNode pack2Node = elementToNode.get(pack2.getKey());
-                                 GraphMLEdge edge = graph.addEdge(pack1Node, pack2Node);
-                                 addLabelOnEdge(edge, objectProp);
-                              }
-                           }
-                        } else {
-                           IGraphMLNode rangeNode = elementToNode.get(propKey);
-                           GraphMLEdge edge = graph.addEdge(rangeNode, theNode);
-                           addLabelOnEdge(edge, objectProp);
-                           if (showRelationsConstraints) {
-                              addCardinalityRestriction(objectProp, edge);
-                           }
-                        }
-                     }
+                     emitPropertyEdge(emitter, theClass, theId, objectProp, propKey);
                   }
                }
             } else if (showIndividuals) {
-               OwlDatatypeProperty dataProperty = (OwlDatatypeProperty) property;
-               EdgePair pair = new EdgePair(property, theClass.getKey());
-               if (!processedEdges.contains(pair)) {
-                  processedEdges.add(pair);
-                  GraphMLNode propertyNode = addDataProperty(theClass, dataProperty);
-                  GraphMLEdge edge = graph.addEdge(propertyNode, theNode);
-                  if (hasChildrenLayout) {
-                     edge.setPortConstraint(PortConstraints.TARGET, PortConstraints.POSITION_SOUTH);
-                     edge.setPortConstraint(PortConstraints.SOURCE, PortConstraints.POSITION_NORTH);
-                  }
-                  edge.createLabel(true);
-                  Arrows arrows = edge.getArrows();
-                  arrows.setSource(Arrows.STANDARD);
-                  arrows.setTarget(Arrows.NONE);
-
-                  if (showAlias && dataProperty.hasAliasProperties()) {
-                     exportPropertyAlias(dataProperty);
-                  }
+               GraphMLEmitter.Edge edge = emitter.addEdge(theId + "::p" + index, theId);
+               if (hasChildrenLayout) {
+                  edge.setPortConstraints(GraphMLEmitter.SIDE_NORTH, GraphMLEmitter.SIDE_SOUTH);
                }
+               edge.setLabel("");
+               edge.setArrows(GraphMLEmitter.ARROW_STANDARD, GraphMLEmitter.ARROW_NONE);
             }
+            index++;
          }
       }
    }
 
-   private void exportPropertyAlias(OwlProperty theProperty) {
-      Iterator<ElementKey> it3 = theProperty.getAliasProperties().keySet().iterator();
-      while (it3.hasNext()) {
-         ElementKey keyAlias = it3.next();
-         IGraphMLNode source = elementToNode.get(theProperty.getKey());
-         IGraphMLNode target = elementToNode.get(keyAlias);
-         GraphMLEdge edge = graph.addEdge(source, target);
-         Arrows arrows = edge.getArrows();
-         arrows.setSource(Arrows.NONE);
-         arrows.setTarget(Arrows.NONE);
-         LineStyle lineStyle = new LineStyle();
-         lineStyle.setLineStyle(LineStyle.DASHED);
-         edge.setLineStyle(lineStyle);
+   private void emitPropertyEdge(GraphMLEmitter emitter, OwlClass theClass, String theId, OwlObjectProperty objectProp, ElementKey propKey)
+      throws IOException {
+      ElementKey key = theClass.getKey();
+      char acceptConnection = acceptConnection(key, propKey);
+      if (acceptConnection == REFUSE_CONNECTION) {
+         return;
       }
-   }
-
-   private void exportClasses(Map<ElementKey, OwlClass> owlClasses) {
-      Iterator<Entry<ElementKey, OwlClass>> it = owlClasses.entrySet().iterator();
-      while (it.hasNext()) {
-         Entry<ElementKey, OwlClass> entry = it.next();
-         ElementKey key = entry.getKey();
-         OwlClass owlClass = entry.getValue();
-         if (!showPackages || !packagesNodes.containsKey(key)) {
-            addLeafNode(key, owlClass);
-         }
+      EdgePair pair = new EdgePair(objectProp, key, propKey);
+      if (!processedEdges.add(pair)) {
+         return;
       }
-
-      // parent classes
-      Iterator<ElementKey> it2 = owlClasses.keySet().iterator();
-      while (it2.hasNext()) {
-         ElementKey key = it2.next();
-         OwlClass theClass = owlClasses.get(key);
-         if (!showPackages || !packagesNodes.containsKey(key)) {
-            IGraphMLNode theNode = elementToNode.get(key);
-            Iterator<ElementKey> it3 = theClass.getSuperClasses().keySet().iterator();
-            while (it3.hasNext()) {
-               ElementKey parentKey = it3.next();
-               if (owlClasses.containsKey(parentKey)) {
-                  OwlClass parentClass = owlClasses.get(parentKey);
-                  boolean acceptConnection = acceptSuperClassConnection(theClass, parentClass);
-                  if (acceptConnection && (!showPackages || !parentClass.isPackage())) {
-                     IGraphMLNode source = elementToNode.get(parentKey);
-                     GraphMLEdge edge = graph.addEdge(source, theNode);
-                     if (hasLayoutOption) {
-                        edge.setPortConstraint(PortConstraints.SOURCE, PortConstraints.POSITION_SOUTH);
-                        edge.setPortConstraint(PortConstraints.TARGET, PortConstraints.POSITION_NORTH);
-                     }
-                     Arrows arrows = edge.getArrows();
-                     arrows.setSource(Arrows.WHITE_DELTA);
-                     arrows.setTarget(Arrows.NONE);
-                  }
+      if (!showInterPackageConnections) {
+         NodesConnection nodesConnection = new NodesConnection(key, propKey);
+         if (existingConnections.add(nodesConnection)) {
+            if (acceptConnection == ACCEPT_CONNECTION) {
+               addLabelOnEdge(emitter.addEdge(nodeIds.get(propKey), theId), objectProp);
+            } else if (acceptConnection == ACCEPT_CONNECTION_ON_PACKAGES) {
+               OwlClass pack2 = schema.getOwlClass(propKey);
+               String pack1Id = nodeIds.get(theClass.getPackage());
+               String pack2Id = nodeIds.get(pack2.getPackage());
+               if (pack1Id != null && pack2Id != null) {
+                  addLabelOnEdge(emitter.addEdge(pack1Id, pack2Id), objectProp);
                }
             }
          }
-         if (showAlias && theClass.hasAliasClasses()) {
-            exportClassAlias(theClass);
+      } else {
+         GraphMLEmitter.Edge edge = emitter.addEdge(nodeIds.get(propKey), theId);
+         addLabelOnEdge(edge, objectProp);
+         if (showRelationsConstraints) {
+            addCardinalityRestriction(objectProp, edge);
          }
       }
    }
 
-   private void exportClassAlias(OwlClass theClass) {
-      Iterator<ElementKey> it3 = theClass.getAliasClasses().keySet().iterator();
-      while (it3.hasNext()) {
-         ElementKey keyAlias = it3.next();
-         IGraphMLNode source = elementToNode.get(theClass.getKey());
-         IGraphMLNode target = elementToNode.get(keyAlias);
-         GraphMLEdge edge = graph.addEdge(source, target);
-         Arrows arrows = edge.getArrows();
-         arrows.setSource(Arrows.NONE);
-         arrows.setTarget(Arrows.NONE);
-         LineStyle lineStyle = new LineStyle();
-         lineStyle.setLineStyle(LineStyle.DASHED);
-         edge.setLineStyle(lineStyle);
+   /**
+    * Emit the diagram. The nodes are emitted first, grouped by package, then the edges.
+    *
+    * @param emitter the emitter
+    * @param owlClasses the classes of the schema
+    * @throws IOException if the diagram can not be emitted
+    */
+   private void emitDiagram(GraphMLEmitter emitter, Map<ElementKey, OwlClass> owlClasses) throws IOException {
+      prepareNodes(owlClasses);
+      emitGroup(emitter, null);
+      groupClasses = null;
+      groupIndividuals = null;
+      groupDataProperties = null;
+      groupChildren = null;
+      emitClassesEdges(emitter, owlClasses);
+      emitPropertiesEdges(emitter, owlClasses);
+   }
+
+   private void exportAllImpl() {
+      elementToNode = new HashMap<>();
+      GraphMLDiagramEmitter emitter = new GraphMLDiagramEmitter(this, graph);
+      try {
+         emitDiagram(emitter, schema.getOwlClasses());
+         emitter.close();
+      } catch (IOException e) {
+         // the diagram is built in memory, so this can not happen
+         throw new UncheckedIOException(e);
+      }
+      Iterator<Entry<ElementKey, String>> it = nodeIds.entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<ElementKey, String> entry = it.next();
+         ElementKey key = entry.getKey();
+         IGraphMLNode node = emitter.getNode(entry.getValue());
+         elementToNode.put(key, node);
+         if (processedPackages.contains(key)) {
+            packagesNodes.put(key, (GraphMLGroupNode) node);
+         }
+      }
+      nodeIds = null;
+      sortNodesPosition();
+   }
+
+   /**
+    * Write the diagram directly to the file. The nodes are not sorted, because their positions would have to be kept in
+    * memory.
+    *
+    * @throws IOException if the diagram can not be written
+    */
+   private void exportStreaming() throws IOException {
+      try (GraphMLStreamWriter writer = createStreamWriter()) {
+         emitDiagram(writer, schema.getOwlClasses());
+      } finally {
+         nodeIds = null;
       }
    }
 
@@ -404,7 +442,7 @@ public class ExportGraphAction extends AbstractExportGraphAction {
    protected void configure() {
       super.configure();
       this.showPackages = diagram.hasPackages();
-      this.showAlias = BrowserConfiguration.getInstance().showAlias;
+      this.showAlias = conf.showAlias;
    }
 
    /**
@@ -420,7 +458,11 @@ public class ExportGraphAction extends AbstractExportGraphAction {
    public void run() throws Exception {
       configure();
 
-      export();
-      saveDiagram();
+      if (streaming) {
+         exportStreaming();
+      } else {
+         export();
+         saveDiagram();
+      }
    }
 }
@@ -33,23 +33,19 @@ the project website at the project page on https://github.com/hervegirod/ontolog
 package org.girod.ontobrowser.actions;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import org.girod.jgraphml.model.Arrows;
-import org.girod.jgraphml.model.EdgeLabel;
-import org.girod.jgraphml.model.GraphMLEdge;
-import org.girod.jgraphml.model.GraphMLGroupNode;
-import org.girod.jgraphml.model.GraphMLNode;
-import org.girod.jgraphml.model.IGraphMLNode;
-import org.girod.jgraphml.model.NodeLabel;
-import org.girod.jgraphml.model.NodeParent;
-import org.girod.jgraphml.model.ShapeType;
 import org.girod.ontobrowser.BrowserConfiguration;
 import org.girod.ontobrowser.OwlDiagram;
 import org.girod.ontobrowser.gui.CustomGraphStyles;
@@ -64,7 +60,7 @@ import org.mdi.bootstrap.MDIApplication;
 /**
  * The Action that save schemas as yEd diagrams.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class ExportPackageGraphAction extends AbstractExportGraphAction {
    private final OwlClass thePackage;
@@ -73,6 +69,12 @@ public class ExportPackageGraphAction extends AbstractExportGraphAction {
    private final Set<ElementKey> subPackages = new HashSet<>();
    private Map<ElementKey, OwlClass> owlClasses = null;
    private Map<ElementKey, OwlClass> allOwlClasses = null;
+   // the nodes of the diagram, the null key is the key of the top-level graph
+   private Map<ElementKey, DiagramNode> diagramNodes = null;
+   private Map<ElementKey, String> groupIds = null;
+   private Map<ElementKey, List<ElementKey>> groupChildren = null;
+   private Map<ElementKey, List<DiagramNode>> groupNodes = null;
+   private Map<ElementKey, Boolean> openedGroups = null;
 
    /**
     * Create the export File Action.
@@ -85,52 +87,25 @@ public class ExportPackageGraphAction extends AbstractExportGraphAction {
     * @param file the file to open
     */
    public ExportPackageGraphAction(MDIApplication app, String desc, String longDesc, OwlDiagram diagram, OwlClass thePackage, File file) {
-      super(app, desc, longDesc, diagram, file);
-      this.thePackage = thePackage;
-      this.thePackageKey = thePackage.getKey();
+      this(app, desc, longDesc, diagram, thePackage, file, BrowserConfiguration.getInstance());
    }
 
-   @Override
-   protected GraphMLGroupNode getPackageNode(OwlClass theClass, ElementKey key) {
-      if (packagesNodes.containsKey(key)) {
-         return packagesNodes.get(key);
-      } else {
-         OwlClass superClass = theClass.getFirstSuperClass();
-         if (superClass == null) {
-            GraphMLGroupNode node = graph.addGroupNode();
-            setGroupNodeStyle(node, theClass.getDisplayedName());
-            packagesNodes.put(key, node);
-            processedPackages.add(key);
-            return node;
-         } else {
-            ElementKey superclassKey = superClass.getKey();
-            if (superclassKey.equals(thePackageKey)) {
-               GraphMLGroupNode node = graph.addGroupNode();
-               setGroupNodeStyle(node, theClass.getDisplayedName());
-               packagesNodes.put(key, node);
-               processedPackages.add(key);
-               return node;
-            } else {
-               if (!processedPackages.contains(superclassKey)) {
-                  getPackageNode(superClass, superclassKey);
-               }
-               if (packagesNodes.containsKey(superclassKey)) {
-                  GraphMLGroupNode superclassNode = packagesNodes.get(superclassKey);
-                  GraphMLGroupNode node = superclassNode.addGroupNode();
-                  setGroupNodeStyle(node, theClass.getDisplayedName());
-                  packagesNodes.put(key, node);
-                  processedPackages.add(key);
-                  return node;
-               } else {
-                  GraphMLGroupNode node = graph.addGroupNode();
-                  setGroupNodeStyle(node, theClass.getDisplayedName());
-                  packagesNodes.put(key, node);
-                  processedPackages.add(key);
-                  return node;
-               }
-            }
-         }
-      }
+   /**
+    * Create the export File Action with a specific configuration.
+    *
+    * @param app the Application
+    * @param desc the short description of the action
+    * @param longDesc the long description of the action
+    * @param diagram the diagram
+    * @param thePackage the package to export
+    * @param file the file to open
+    * @param conf the configuration
+    */
+   public ExportPackageGraphAction(MDIApplication app, String desc, String longDesc, OwlDiagram diagram, OwlClass thePackage, File file,
+      BrowserConfiguration conf) {
+      super(app, desc, longDesc, diagram, file, conf);
+      this.thePackage = thePackage;
+      this.thePackageKey = thePackage.getKey();
    }
 
    private void detectSubPackages() {
@@ -175,272 +150,225 @@ public class ExportPackageGraphAction extends AbstractExportGraphAction {
       }
    }
 
-   private void addPackages() {
-      detectSubPackages();
+   private boolean acceptTarget(OwlClass originClass, OwlClass targetClass) {
+      if (targetClass.isInUniquePackage()) {
+         if (targetClass.getPackage().equals(thePackageKey)) {
+            return true;
+         }
+         if (originClass.isInUniquePackage()) {
+            if (originClass.getPackage().equals(thePackageKey)) {
+               return true;
+            }
+         }
+      } else {
+         if (originClass.isInUniquePackage()) {
+            if (originClass.getPackage().equals(thePackageKey)) {
+               return true;
+            }
+         }
+      }
+      return false;
+   }
 
+   private void getAllOWlClassses() {
+      allOwlClasses = new HashMap<>();
       Iterator<Entry<ElementKey, OwlClass>> it = owlClasses.entrySet().iterator();
       while (it.hasNext()) {
          Entry<ElementKey, OwlClass> entry = it.next();
-         ElementKey key = entry.getKey();
-         OwlClass owlClass = entry.getValue();
-         if (schema.isPackage(key)) {
-            getPackageNode(owlClass, key);
-         }
+         OwlClass theClass = entry.getValue();
+         allOwlClasses.put(entry.getKey(), theClass);
+         getAllOWlClassses(theClass);
       }
    }
 
-   private GraphMLGroupNode getGroupParent(ElementKey key, OwlClass owlClass) {
-      if (owlClass.isInUniquePackage()) {
-         ElementKey _thePackageKey = owlClass.getPackage();
-         return packagesNodes.get(_thePackageKey);
-      } else {
-         return null;
+   private void getAllOWlClassses(OwlClass theClass) {
+      Map<ElementKey, OwlClass> subClasses = theClass.getSubClasses();
+      Iterator<Entry<ElementKey, OwlClass>> it = subClasses.entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<ElementKey, OwlClass> entry = it.next();
+         OwlClass theClass2 = entry.getValue();
+         allOwlClasses.put(entry.getKey(), theClass2);
+         getAllOWlClassses(theClass2);
       }
    }
 
-   private GraphMLNode addIndividualInPackage(OwlClass owlClass, IGraphMLNode node, OwlIndividual individual) {
-      GraphMLNode inode;
-      if (owlClass.isInUniquePackage()) {
-         ElementKey packageKey = owlClass.getPackage();
-         GraphMLGroupNode groupNode = packagesNodes.get(packageKey);
-         if (groupNode != null) {
-            inode = groupNode.addNode();
-         } else {
-            inode = graph.addNode();
+   private static <T> void addToGroup(Map<ElementKey, List<T>> groups, ElementKey groupKey, T element) {
+      List<T> list = groups.get(groupKey);
+      if (list == null) {
+         list = new ArrayList<>();
+         groups.put(groupKey, list);
+      }
+      list.add(element);
+   }
+
+   private void addGroup(ElementKey key, ElementKey parentKey) {
+      groupIds.put(key, "g" + groupIds.size());
+      processedPackages.add(key);
+      addToGroup(groupChildren, parentKey, key);
+   }
+
+   private void addPackage(OwlClass theClass, ElementKey key, Set<ElementKey> inProgress) {
+      if (groupIds.containsKey(key)) {
+         return;
+      }
+      ElementKey parentKey = null;
+      OwlClass superClass = theClass.getFirstSuperClass();
+      // the inProgress set avoids an infinite recursion if the first superclasses form a cycle
+      if (superClass != null && !superClass.getKey().equals(thePackageKey) && inProgress.add(key)) {
+         ElementKey superclassKey = superClass.getKey();
+         addPackage(superClass, superclassKey, inProgress);
+         if (groupIds.containsKey(key)) {
+            return;
          }
-      } else {
-         inode = null;
+         parentKey = superclassKey;
       }
-      if (inode == null) {
-         return null;
+      addGroup(key, parentKey);
+   }
+
+   private DiagramNode addDiagramNode(ElementKey key, ElementKey groupKey, String label, short style) {
+      DiagramNode node = new DiagramNode("n" + diagramNodes.size(), groupKey, label, style);
+      if (key != null) {
+         diagramNodes.put(key, node);
       }
-      inode.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-      inode.getShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.INDIVIDUAL));
-      NodeLabel ilabel = inode.createLabel(true);
-      ilabel.setFontSize(11);
-      ilabel.setLabel(individual.getDisplayedName());
-      GraphMLEdge edge = graph.addEdge(node, inode);
-      Arrows arrows = edge.getArrows();
-      arrows.setSource(Arrows.NONE);
-      arrows.setTarget(Arrows.NONE);
-      return inode;
+      addToGroup(groupNodes, groupKey, node);
+      return node;
    }
 
-   private GraphMLNode addDataPropertyInPackage(IGraphMLNode node, OwlDatatypeProperty dataProperty) {
-      NodeParent parent = node.getParent();
-      GraphMLNode propertyNode = parent.addNode();
-      propertyNode.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-      propertyNode.getShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.PROPERTY));
-      NodeLabel label = propertyNode.createLabel(true);
-      label.setFontSize(11);
-      if (showDataPropertiesTypes) {
-         String typeS = getType(dataProperty);
-         if (typeS != null) {
-            label.setLabel(dataProperty.getDisplayedName() + "\n" + typeS);
-            propertyNode.setHeight(propertyNode.getHeight() * 1.5f);
-         } else {
-            label.setLabel(dataProperty.getDisplayedName());
-         }
+   private ElementKey getGroup(OwlClass owlClass) {
+      if (owlClass.isInUniquePackage()) {
+         ElementKey packageKey = owlClass.getPackage();
+         return processedPackages.contains(packageKey) ? packageKey : null;
       } else {
-         label.setLabel(dataProperty.getDisplayedName());
+         return null;
       }
-      return propertyNode;
    }
 
-   private IGraphMLNode addLeafNodeImpl(ElementKey key, OwlClass owlClass, boolean isPackage) {
-      IGraphMLNode node;
-      if (isPackage) {
-         node = this.packagesNodes.get(key);
+   /**
+    * Compute the nodes of the classes of the package and of their sub-classes.
+    */
+   private void prepareLeafNode(ElementKey key, OwlClass owlClass, Map<ElementKey, OwlClass> visited) {
+      if (visited.containsKey(key)) {
+         return;
+      }
+      visited.put(key, owlClass);
+      String classId;
+      if (processedPackages.contains(key)) {
+         classId = groupIds.get(key);
       } else {
-         GraphMLNode gnode;
-         GraphMLGroupNode groupNode = getGroupParent(key, owlClass);
-         if (groupNode == null) {
-            gnode = graph.addNode();
-         } else {
-            gnode = groupNode.addNode();
-         }
-         node = gnode;
-         gnode.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-         gnode.getShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.CLASS));
-         NodeLabel label = gnode.createLabel(true);
-         label.setFontSize(11);
-         label.setLabel(owlClass.getDisplayedName());
-         elementToNode.put(key, node);
+         classId = addDiagramNode(key, getGroup(owlClass), owlClass.getDisplayedName(), CustomGraphStyles.CLASS).id;
       }
-
       if (owlClass.hasSubClasses()) {
          Iterator<OwlClass> it = owlClass.getSubClasses().values().iterator();
          while (it.hasNext()) {
-            OwlClass parentClass = it.next();
-            ElementKey parentKey = parentClass.getKey();
-            if (!parentKey.equals(thePackageKey)) {
-               IGraphMLNode source = addLeafNode(parentKey, parentClass);
-               if (!owlClass.isPackage()) {
-                  GraphMLEdge edge = graph.addEdge(source, node);
-                  Arrows arrows = edge.getArrows();
-                  arrows.setSource(Arrows.NONE);
-                  arrows.setTarget(Arrows.WHITE_DELTA);
-               }
+            OwlClass subClass = it.next();
+            ElementKey subClassKey = subClass.getKey();
+            if (!subClassKey.equals(thePackageKey)) {
+               prepareLeafNode(subClassKey, subClass, visited);
             }
          }
       }
-
-      // individuals
-      if (showIndividuals && owlClass.hasIndividuals()) {
-         Iterator<OwlIndividual> it2 = owlClass.getIndividuals().values().iterator();
-         while (it2.hasNext()) {
-            OwlIndividual individual = it2.next();
-            addIndividualInPackage(owlClass, node, individual);
+      if (showIndividuals && owlClass.hasIndividuals() && owlClass.isInUniquePackage()) {
+         ElementKey groupKey = getGroup(owlClass);
+         int index = 0;
+         Iterator<OwlIndividual> it = owlClass.getIndividuals().values().iterator();
+         while (it.hasNext()) {
+            OwlIndividual individual = it.next();
+            addToGroup(groupNodes, groupKey, new DiagramNode(classId + "::i" + index, groupKey, individual.getDisplayedName(),
+               CustomGraphStyles.INDIVIDUAL));
+            index++;
          }
       }
-      return node;
    }
 
-   private IGraphMLNode addLeafNode(ElementKey key, OwlClass owlClass) {
-      if (elementToNode.containsKey(key)) {
-         return elementToNode.get(key);
-      } else if (packagesNodes.containsKey(key)) {
-         if (elementToNode.containsKey(key)) {
-            return elementToNode.put(key, packagesNodes.get(key));
-         } else {
-            IGraphMLNode node = addLeafNodeImpl(key, owlClass, true);
-            return node;
-         }
-      } else {
-         IGraphMLNode node = addLeafNodeImpl(key, owlClass, false);
-         return node;
+   private String getNodeId(ElementKey key) {
+      if (processedPackages.contains(key)) {
+         return groupIds.get(key);
       }
+      DiagramNode node = diagramNodes.get(key);
+      return node == null ? null : node.id;
    }
 
-   private void addProperties() {
-      Set<ElementKey> processedProperties = addDomainProperties();
-      addRangeProperties(processedProperties);
-   }
-
-   private boolean acceptTarget(OwlClass originClass, OwlClass targetClass) {
-      if (targetClass.isInUniquePackage()) {
-         if (targetClass.getPackage().equals(thePackageKey)) {
-            return true;
-         }
-         if (originClass.isInUniquePackage()) {
-            if (originClass.getPackage().equals(thePackageKey)) {
-               return true;
+   private void emitLeafEdges(GraphMLEmitter emitter, Map<ElementKey, OwlClass> visited) throws IOException {
+      Iterator<Entry<ElementKey, OwlClass>> it = visited.entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<ElementKey, OwlClass> entry = it.next();
+         OwlClass owlClass = entry.getValue();
+         String theId = getNodeId(entry.getKey());
+         if (owlClass.hasSubClasses() && !owlClass.isPackage()) {
+            Iterator<OwlClass> it2 = owlClass.getSubClasses().values().iterator();
+            while (it2.hasNext()) {
+               ElementKey subClassKey = it2.next().getKey();
+               if (!subClassKey.equals(thePackageKey)) {
+                  emitter.addEdge(getNodeId(subClassKey), theId).setArrows(GraphMLEmitter.ARROW_NONE, GraphMLEmitter.ARROW_WHITE_DELTA);
+               }
             }
          }
-      } else {
-         if (originClass.isInUniquePackage()) {
-            if (originClass.getPackage().equals(thePackageKey)) {
-               return true;
+         if (showIndividuals && owlClass.hasIndividuals() && owlClass.isInUniquePackage()) {
+            int count = owlClass.getIndividuals().size();
+            for (int i = 0; i < count; i++) {
+               emitter.addEdge(theId, theId + "::i" + i).setArrows(GraphMLEmitter.ARROW_NONE, GraphMLEmitter.ARROW_NONE);
             }
          }
       }
-      return false;
    }
 
-   private void addRangeProperties(Set<ElementKey> processedProperties) {
-      Iterator<Entry<ElementKey, OwlClass>> it2 = allOwlClasses.entrySet().iterator();
-      while (it2.hasNext()) {
-         Entry<ElementKey, OwlClass> entry = it2.next();
-         OwlClass theClass = entry.getValue();
-         IGraphMLNode theNode = elementToNode.get(entry.getKey());
-         Iterator<OwlObjectProperty> it3 = theClass.getRangeOwlProperties().values().iterator();
-         while (it3.hasNext()) {
-            OwlObjectProperty objectProp = it3.next();
-            ElementKey key = objectProp.getKey();
-            if (processedProperties.contains(key)) {
-               continue;
-            }
-            Iterator<ElementKey> it4 = objectProp.getDomain().keySet().iterator();
-            while (it4.hasNext()) {
-               ElementKey propDomainKey = it4.next();
-               boolean hasNodeForClass = elementToNode.containsKey(propDomainKey);
-               OwlClass targetClass = schema.getOwlClass(propDomainKey);
-               if (targetClass != null) {
-                  IGraphMLNode node;
-                  if (targetClass.isInUniquePackage() && acceptTarget(theClass, targetClass)) {
-                     ElementKey packageKey = targetClass.getPackage();
-                     if (showPackagesInPackageView) {
-                        if (hasNodeForClass) {
-                           node = elementToNode.get(propDomainKey);
-                        } else {
-                           GraphMLGroupNode packageNode;
-                           if (packagesNodes.containsKey(packageKey)) {
-                              packageNode = packagesNodes.get(packageKey);
-                           } else {
-                              OwlClass packageClass = schema.getOwlClass(packageKey);
-                              packageNode = graph.addGroupNode();
-                              setGroupNodeStyle(packageNode, packageClass.getDisplayedName());
-                              packagesNodes.put(entry.getKey(), packageNode);
-                              packageNode.setRealizedStateValue(false);
-                           }
-                           node = packageNode.addNode();
-                           elementToNode.put(propDomainKey, node);
-                           node.getOpenedShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-                           node.getOpenedShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.CLASS));
-                           NodeLabel label = node.setLabel(targetClass.getDisplayedName());
-                           label.setFontSize(11);
-                        }
-                     } else {
-                        if (hasNodeForClass) {
-                           node = elementToNode.get(propDomainKey);
-                        } else {
-                           node = graph.addNode();
-                           elementToNode.put(propDomainKey, node);
-                           node.getOpenedShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-                           node.getOpenedShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.EXTERNAL_PACKAGE));
-                        }
-                        NodeLabel label = node.setLabel(targetClass.getDisplayedName() + "\nfrom " + packageKey.getName());
-                        label.setFontSize(11);
-                        label.setLabel(targetClass.getDisplayedName() + "\nfrom " + packageKey.getName());
-                        node.getRealizedShapeNode().getGeometry().setHeight(node.getRealizedShapeNode().getGeometry().getHeight() * 1.5f);
-                     }
-                  } else {
-                     if (hasNodeForClass) {
-                        node = elementToNode.get(propDomainKey);
-                     } else {
-                        node = graph.addNode();
-                        elementToNode.put(targetClass.getKey(), node);
-                        node.getOpenedShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-                        node.getOpenedShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.EXTERNAL_PACKAGE));
-                        NodeLabel label;
-                        if (targetClass.isInPackage()) {
-                           StringBuilder buf = new StringBuilder();
-                           buf.append(targetClass.getDisplayedName());
-                           SortedSet<ElementKey> set = new TreeSet<>(targetClass.getPackageList());
-                           Iterator<ElementKey> it = set.iterator();
-                           while (it.hasNext()) {
-                              ElementKey key2 = it.next();
-                              buf.append("\nfrom ").append(key2.getName());
-                           }
-                           label = node.setLabel(buf.toString());
-                        } else {
-                           label = node.setLabel(targetClass.getDisplayedName());
-                        }
-                        label.setFontSize(11);
-                     }
-                  }
-                  GraphMLEdge edge = graph.addEdge(node, theNode);
-                  EdgeLabel elabel = edge.createLabel(true);
-                  elabel.setLabel(objectProp.getDisplayedName());
-                  Arrows arrows = edge.getArrows();
-                  arrows.setSource(Arrows.NONE);
-                  arrows.setTarget(Arrows.STANDARD);
-                  if (showRelationsConstraints) {
-                     addCardinalityRestriction(objectProp, edge);
-                  }
+   /**
+    * Return the node of a class which is the domain or the range of a property, creating it if necessary.
+    */
+   private DiagramNode getExternalNode(OwlClass theClass, OwlClass targetClass, boolean isRange) {
+      ElementKey targetKey = targetClass.getKey();
+      DiagramNode node = diagramNodes.get(targetKey);
+      if (node != null && !isRange) {
+         return node;
+      }
+      if (targetClass.isInUniquePackage() && acceptTarget(theClass, targetClass)) {
+         ElementKey packageKey = targetClass.getPackage();
+         if (showPackagesInPackageView) {
+            if (node == null) {
+               if (!processedPackages.contains(packageKey)) {
+                  addGroup(packageKey, null);
+                  openedGroups.put(packageKey, Boolean.TRUE);
                }
+               node = addDiagramNode(targetKey, packageKey, targetClass.getDisplayedName(), CustomGraphStyles.CLASS);
+            }
+         } else {
+            // the label of an existing node is also changed for the range of a property
+            if (node == null) {
+               node = addDiagramNode(targetKey, null, null, CustomGraphStyles.EXTERNAL_PACKAGE);
+            }
+            node.label = targetClass.getDisplayedName() + "\nfrom " + packageKey.getName();
+            node.heightFactor = 1.5f;
+         }
+      } else if (node == null) {
+         String label;
+         if (isRange && targetClass.isInPackage()) {
+            StringBuilder buf = new StringBuilder();
+            buf.append(targetClass.getDisplayedName());
+            SortedSet<ElementKey> set = new TreeSet<>(targetClass.getPackageList());
+            Iterator<ElementKey> it = set.iterator();
+            while (it.hasNext()) {
+               buf.append("\nfrom ").append(it.next().getName());
             }
+            label = buf.toString();
+         } else {
+            label = targetClass.getDisplayedName();
          }
+         node = addDiagramNode(targetKey, null, label, CustomGraphStyles.EXTERNAL_PACKAGE);
       }
+      return node;
    }
 
-   private Set<ElementKey> addDomainProperties() {
+   /**
+    * Compute the nodes which are created for the properties if the emitter is null, else emit the edges of the properties.
+    */
+   private void processProperties(GraphMLEmitter emitter) throws IOException {
       Set<ElementKey> processedProperties = new HashSet<>();
       Iterator<Entry<ElementKey, OwlClass>> it2 = allOwlClasses.entrySet().iterator();
       while (it2.hasNext()) {
          Entry<ElementKey, OwlClass> entry = it2.next();
          OwlClass theClass = entry.getValue();
-         IGraphMLNode theNode = elementToNode.get(entry.getKey());
+         DiagramNode theNode = diagramNodes.get(entry.getKey());
+         int index = 0;
          Iterator<OwlProperty> it3 = theClass.getOwlProperties().values().iterator();
          while (it3.hasNext()) {
             OwlProperty property = it3.next();
@@ -450,130 +378,167 @@ public class ExportPackageGraphAction extends AbstractExportGraphAction {
                Iterator<ElementKey> it4 = objectProp.getRange().keySet().iterator();
                while (it4.hasNext()) {
                   ElementKey rangeClassKey = it4.next();
-                  if (elementToNode.containsKey(rangeClassKey)) {
-                     IGraphMLNode rangeNode = elementToNode.get(rangeClassKey);
-                     GraphMLEdge edge = graph.addEdge(rangeNode, theNode);
-                     EdgeLabel label = edge.createLabel(true);
-                     label.setLabel(property.getDisplayedName());
-                     Arrows arrows = edge.getArrows();
-                     arrows.setSource(Arrows.STANDARD);
-                     arrows.setTarget(Arrows.NONE);
-                     if (showRelationsConstraints) {
-                        addCardinalityRestriction(objectProp, edge);
-                     }
-                  } else {
-                     OwlClass targetClass = schema.getOwlClass(rangeClassKey);
-                     if (targetClass != null) {
-                        GraphMLNode node;
-                        if (targetClass.isInUniquePackage() && acceptTarget(theClass, targetClass)) {
-                           ElementKey packageKey = targetClass.getPackage();
-                           if (showPackagesInPackageView) {
-                              GraphMLGroupNode packageNode;
-                              if (packagesNodes.containsKey(packageKey)) {
-                                 packageNode = packagesNodes.get(packageKey);
-                              } else {
-                                 OwlClass packageClass = schema.getOwlClass(packageKey);
-                                 packageNode = graph.addGroupNode();
-                                 setGroupNodeStyle(packageNode, packageClass.getDisplayedName());
-                                 packagesNodes.put(entry.getKey(), packageNode);
-                                 packageNode.setRealizedStateValue(false);
-                              }
-                              node = packageNode.addNode();
-                              node.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-                              node.getShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.CLASS));
-                              NodeLabel label = node.createLabel(true);
-                              label.setFontSize(11);
-                              label.setLabel(targetClass.getDisplayedName());
-                           } else {
-                              node = graph.addNode();
-                              node.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-                              node.getShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.EXTERNAL_PACKAGE));
-                              NodeLabel label = node.createLabel(true);
-                              label.setFontSize(11);
-                              label.setLabel(targetClass.getDisplayedName() + "\nfrom " + packageKey.getName());
-                              node.setHeight(node.getHeight() * 1.5f);
-                           }
-                           elementToNode.put(rangeClassKey, node);
-                        } else {
-                           node = graph.addNode();
-                           node.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
-                           node.getShapeNode().setFillColor(customStyles.getBackgroundColor(CustomGraphStyles.EXTERNAL_PACKAGE));
-                           NodeLabel label = node.createLabel(true);
-                           label.setFontSize(11);
-                           label.setLabel(targetClass.getDisplayedName());
-                           elementToNode.put(rangeClassKey, node);
-                        }
-
-                        GraphMLEdge edge = graph.addEdge(node, theNode);
-                        EdgeLabel elabel = edge.createLabel(true);
-                        elabel.setLabel(property.getDisplayedName());
-                        Arrows arrows = edge.getArrows();
-                        arrows.setSource(Arrows.STANDARD);
-                        arrows.setTarget(Arrows.NONE);
-                        if (showRelationsConstraints) {
-                           addCardinalityRestriction(objectProp, edge);
-                        }
+                  OwlClass targetClass = schema.getOwlClass(rangeClassKey);
+                  if (targetClass != null) {
+                     if (emitter == null) {
+                        getExternalNode(theClass, targetClass, false);
+                     } else if (theNode != null) {
+                        emitPropertyEdge(emitter, getNodeId(rangeClassKey), theNode.id, property, GraphMLEmitter.ARROW_STANDARD,
+                           GraphMLEmitter.ARROW_NONE);
                      }
                   }
                }
-            } else if (showProperties && property instanceof OwlDatatypeProperty) {
-               OwlDatatypeProperty dataProperty = (OwlDatatypeProperty) property;
-               GraphMLNode propertyNode = addDataPropertyInPackage(theNode, dataProperty);
-               GraphMLEdge edge = graph.addEdge(propertyNode, theNode);
-               EdgeLabel elabel = edge.createLabel(true);
-               elabel.setLabel(property.getDisplayedName());
-               Arrows arrows = edge.getArrows();
-               arrows.setSource(Arrows.STANDARD);
-               arrows.setTarget(Arrows.NONE);
+            } else if (showProperties && property instanceof OwlDatatypeProperty && theNode != null) {
+               String propertyId = theNode.id + "::p" + index;
+               if (emitter == null) {
+                  DiagramNode propertyNode = new DiagramNode(propertyId, theNode.group, getDataPropertyLabel((OwlDatatypeProperty) property),
+                     CustomGraphStyles.PROPERTY);
+                  if (showDataPropertiesTypes && getType((OwlDatatypeProperty) property) != null) {
+                     propertyNode.heightFactor = 1.5f;
+                  }
+                  addToGroup(groupNodes, theNode.group, propertyNode);
+               } else {
+                  emitter.addEdge(propertyId, theNode.id).setLabel(property.getDisplayedName())
+                     .setArrows(GraphMLEmitter.ARROW_STANDARD, GraphMLEmitter.ARROW_NONE);
+               }
+            }
+            index++;
+         }
+      }
+      it2 = allOwlClasses.entrySet().iterator();
+      while (it2.hasNext()) {
+         Entry<ElementKey, OwlClass> entry = it2.next();
+         OwlClass theClass = entry.getValue();
+         DiagramNode theNode = diagramNodes.get(entry.getKey());
+         Iterator<OwlObjectProperty> it3 = theClass.getRangeOwlProperties().values().iterator();
+         while (it3.hasNext()) {
+            OwlObjectProperty objectProp = it3.next();
+            if (processedProperties.contains(objectProp.getKey())) {
+               continue;
+            }
+            Iterator<ElementKey> it4 = objectProp.getDomain().keySet().iterator();
+            while (it4.hasNext()) {
+               OwlClass targetClass = schema.getOwlClass(it4.next());
+               if (targetClass != null) {
+                  if (emitter == null) {
+                     getExternalNode(theClass, targetClass, true);
+                  } else if (theNode != null) {
+                     emitPropertyEdge(emitter, getNodeId(targetClass.getKey()), theNode.id, objectProp, GraphMLEmitter.ARROW_NONE,
+                        GraphMLEmitter.ARROW_STANDARD);
+                  }
+               }
             }
          }
       }
-      return processedProperties;
    }
 
-   private void getAllOWlClassses() {
-      allOwlClasses = new HashMap<>();
-      Iterator<Entry<ElementKey, OwlClass>> it = owlClasses.entrySet().iterator();
-      while (it.hasNext()) {
-         Entry<ElementKey, OwlClass> entry = it.next();
-         OwlClass theClass = entry.getValue();
-         allOwlClasses.put(entry.getKey(), theClass);
-         getAllOWlClassses(theClass);
+   private String getDataPropertyLabel(OwlDatatypeProperty dataProperty) {
+      if (showDataPropertiesTypes) {
+         String typeS = getType(dataProperty);
+         if (typeS != null) {
+            return dataProperty.getDisplayedName() + "\n" + typeS;
+         }
       }
+      return dataProperty.getDisplayedName();
    }
 
-   private void getAllOWlClassses(OwlClass theClass) {
-      Map<ElementKey, OwlClass> subClasses = theClass.getSubClasses();
-      Iterator<Entry<ElementKey, OwlClass>> it = subClasses.entrySet().iterator();
-      while (it.hasNext()) {
-         Entry<ElementKey, OwlClass> entry = it.next();
-         OwlClass theClass2 = entry.getValue();
-         allOwlClasses.put(entry.getKey(), theClass2);
-         getAllOWlClassses(theClass2);
+   private void emitPropertyEdge(GraphMLEmitter emitter, String source, String target, OwlProperty property,
+      String sourceArrow, String targetArrow) throws IOException {
+      GraphMLEmitter.Edge edge = emitter.addEdge(source, target);
+      edge.setLabel(property.getDisplayedName());
+      edge.setArrows(sourceArrow, targetArrow);
+      if (showRelationsConstraints) {
+         addCardinalityRestriction(property, edge);
+      }
+   }
+
+   private void emitGroup(GraphMLEmitter emitter, ElementKey groupKey) throws IOException {
+      List<DiagramNode> nodes = groupNodes.get(groupKey);
+      if (nodes != null) {
+         Iterator<DiagramNode> it = nodes.iterator();
+         while (it.hasNext()) {
+            DiagramNode node = it.next();
+            emitter.addNode(node.id, node.label, customStyles.getBackgroundColor(node.style), node.heightFactor);
+         }
+      }
+      List<ElementKey> children = groupChildren.get(groupKey);
+      if (children != null) {
+         Iterator<ElementKey> it = children.iterator();
+         while (it.hasNext()) {
+            ElementKey childKey = it.next();
+            String name = schema.getOwlClass(childKey).getDisplayedName();
+            if (openedGroups.containsKey(childKey)) {
+               emitter.startGroup(groupIds.get(childKey), name, false);
+            } else {
+               emitter.startGroup(groupIds.get(childKey), name);
+            }
+            emitGroup(emitter, childKey);
+            emitter.endGroup();
+         }
       }
    }
 
-   private void exportPackageImpl() {
+   /**
+    * Emit the diagram. The nodes of the package diagram and their labels are computed first, because the properties can add
+    * nodes in the groups or change the labels of the nodes, then the nodes are emitted, and the edges are emitted as they
+    * are found.
+    *
+    * @param emitter the emitter
+    * @throws IOException if the diagram can not be emitted
+    */
+   private void emitDiagram(GraphMLEmitter emitter) throws IOException {
       owlClasses = thePackage.getSubClasses();
       getAllOWlClassses();
-      addPackages();
-
-      Iterator<Entry<ElementKey, OwlClass>> it = owlClasses.entrySet().iterator();
-      while (it.hasNext()) {
-         Entry<ElementKey, OwlClass> entry = it.next();
-         ElementKey key = entry.getKey();
-         OwlClass owlClass = entry.getValue();
-         addLeafNode(key, owlClass);
+      detectSubPackages();
+      diagramNodes = new HashMap<>();
+      groupIds = new HashMap<>();
+      groupChildren = new HashMap<>();
+      groupNodes = new HashMap<>();
+      openedGroups = new HashMap<>();
+      try {
+         Set<ElementKey> inProgress = new HashSet<>();
+         Iterator<Entry<ElementKey, OwlClass>> it = owlClasses.entrySet().iterator();
+         while (it.hasNext()) {
+            Entry<ElementKey, OwlClass> entry = it.next();
+            if (schema.isPackage(entry.getKey())) {
+               addPackage(entry.getValue(), entry.getKey(), inProgress);
+            }
+         }
+         Map<ElementKey, OwlClass> visited = new LinkedHashMap<>();
+         it = owlClasses.entrySet().iterator();
+         while (it.hasNext()) {
+            Entry<ElementKey, OwlClass> entry = it.next();
+            prepareLeafNode(entry.getKey(), entry.getValue(), visited);
+         }
+         processProperties(null);
+         emitGroup(emitter, null);
+         groupNodes = null;
+         groupChildren = null;
+         emitLeafEdges(emitter, visited);
+         processProperties(emitter);
+      } finally {
+         diagramNodes = null;
+         groupIds = null;
+         groupNodes = null;
+         groupChildren = null;
+         openedGroups = null;
       }
+   }
 
-      // properties
-      addProperties();
+   /**
+    * Write the diagram directly to the file.
+    *
+    * @throws IOException if the diagram can not be written
+    */
+   private void exportStreaming() throws IOException {
+      try (GraphMLStreamWriter writer = createStreamWriter()) {
+         emitDiagram(writer);
+      }
    }
 
    @Override
    protected void configure() {
       super.configure();
-      BrowserConfiguration conf = BrowserConfiguration.getInstance();
       this.showPackagesInPackageView = conf.showPackagesInPackageView;
    }
 
@@ -583,14 +548,41 @@ public class ExportPackageGraphAction extends AbstractExportGraphAction {
    @Override
    public void export() {
       elementToNode = new HashMap<>();
-      exportPackageImpl();
+      try (GraphMLDiagramEmitter emitter = new GraphMLDiagramEmitter(this, graph)) {
+         emitDiagram(emitter);
+      } catch (IOException e) {
+         // the diagram is built in memory, so this can not happen
+         throw new UncheckedIOException(e);
+      }
    }
 
    @Override
    public void run() throws Exception {
       configure();
 
-      export();
-      saveDiagram();
+      if (streaming) {
+         exportStreaming();
+      } else {
+         export();
+         saveDiagram();
+      }
+   }
+
+   /**
+    * A node of the diagram, which is kept until the nodes are emitted.
+    */
+   private static class DiagramNode {
+      private final String id;
+      private final ElementKey group;
+      private final short style;
+      private String label;
+      private float heightFactor = 1f;
+
+      private DiagramNode(String id, ElementKey group, String label, short style) {
+         this.id = id;
+         this.group = group;
+         this.label = label;
+         this.style = style;
+      }
    }
 }
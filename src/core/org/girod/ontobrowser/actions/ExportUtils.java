@@ -79,6 +79,20 @@ public class ExportUtils {
       return arrows;
    }
 
+   /**
+    * Set the arrows on an emitted edge for an object property.
+    *
+    * @param edge the edge
+    * @param property the object property
+    */
+   public static void setArrows(GraphMLEmitter.Edge edge, OwlObjectProperty property) {
+      if (property.hasInverseProperty()) {
+         edge.setArrows(GraphMLEmitter.ARROW_STANDARD, GraphMLEmitter.ARROW_STANDARD);
+      } else {
+         edge.setArrows(GraphMLEmitter.ARROW_STANDARD, GraphMLEmitter.ARROW_NONE);
+      }
+   }
+
    /**
     * Return the displayed label on an edge for an object property.
     *
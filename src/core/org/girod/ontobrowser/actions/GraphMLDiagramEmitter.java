@@ -0,0 +1,192 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.girod.jgraphml.model.Arrows;
+import org.girod.jgraphml.model.EdgeLabel;
+import org.girod.jgraphml.model.GraphMLDiagram;
+import org.girod.jgraphml.model.GraphMLEdge;
+import org.girod.jgraphml.model.GraphMLGroupNode;
+import org.girod.jgraphml.model.GraphMLNode;
+import org.girod.jgraphml.model.IGraphMLNode;
+import org.girod.jgraphml.model.LineStyle;
+import org.girod.jgraphml.model.NodeLabel;
+import org.girod.jgraphml.model.NodeParent;
+import org.girod.jgraphml.model.PortConstraints;
+import org.girod.jgraphml.model.ShapeType;
+
+/**
+ * Builds a yEd GraphML diagram in memory with the jgraphml model. The nodes are kept by their id, so that the exporter can
+ * retrieve them after the diagram has been built, for example to compute their positions.
+ *
+ * @since 0.18
+ */
+class GraphMLDiagramEmitter implements GraphMLEmitter {
+   private final AbstractExportGraphAction action;
+   private final GraphMLDiagram graph;
+   private final Map<String, IGraphMLNode> nodes = new HashMap<>();
+   private final List<NodeParent> parents = new ArrayList<>();
+   private final Edge edge = new Edge();
+   private boolean hasPendingEdge = false;
+
+   /**
+    * Constructor.
+    *
+    * @param action the export action, which defines the style of the group nodes
+    * @param graph the diagram
+    */
+   GraphMLDiagramEmitter(AbstractExportGraphAction action, GraphMLDiagram graph) {
+      this.action = action;
+      this.graph = graph;
+   }
+
+   /**
+    * Return the node or group node with a specified id.
+    *
+    * @param id the node id
+    * @return the node
+    */
+   IGraphMLNode getNode(String id) {
+      return nodes.get(id);
+   }
+
+   @Override
+   public void addNode(String id, String label, Color fillColor, float heightFactor) {
+      flushEdge();
+      GraphMLNode node = parents.isEmpty() ? graph.addNode() : getParent().addNode();
+      node.getShapeNode().setType(ShapeType.ROUNDRECTANGLE);
+      node.getShapeNode().setFillColor(fillColor);
+      NodeLabel nodeLabel = node.createLabel(true);
+      nodeLabel.setFontSize(11);
+      nodeLabel.setLabel(label);
+      if (heightFactor != 1f) {
+         node.setHeight(node.getHeight() * heightFactor);
+      }
+      nodes.put(id, node);
+   }
+
+   @Override
+   public void startGroup(String id, String name) {
+      flushEdge();
+      GraphMLGroupNode node = parents.isEmpty() ? graph.addGroupNode() : getParent().addGroupNode();
+      action.setGroupNodeStyle(node, name);
+      nodes.put(id, node);
+      parents.add(node);
+   }
+
+   @Override
+   public void startGroup(String id, String name, boolean closed) {
+      startGroup(id, name);
+      ((GraphMLGroupNode) getParent()).setRealizedStateValue(closed);
+   }
+
+   @Override
+   public void endGroup() {
+      flushEdge();
+      parents.remove(parents.size() - 1);
+   }
+
+   private NodeParent getParent() {
+      return parents.get(parents.size() - 1);
+   }
+
+   @Override
+   public Edge addEdge(String source, String target) {
+      flushEdge();
+      edge.reset(source, target);
+      hasPendingEdge = true;
+      return edge;
+   }
+
+   private void flushEdge() {
+      if (!hasPendingEdge) {
+         return;
+      }
+      hasPendingEdge = false;
+      GraphMLEdge gedge = graph.addEdge(nodes.get(edge.source), nodes.get(edge.target));
+      if (edge.sourceSide != null) {
+         gedge.setPortConstraint(PortConstraints.SOURCE, getPosition(edge.sourceSide));
+         gedge.setPortConstraint(PortConstraints.TARGET, getPosition(edge.targetSide));
+      }
+      Arrows arrows = gedge.getArrows();
+      arrows.setSource(getArrow(edge.sourceArrow));
+      arrows.setTarget(getArrow(edge.targetArrow));
+      if (edge.dashed) {
+         LineStyle lineStyle = new LineStyle();
+         lineStyle.setLineStyle(LineStyle.DASHED);
+         gedge.setLineStyle(lineStyle);
+      }
+      if (edge.label != null) {
+         EdgeLabel label = gedge.createLabel(true);
+         EdgeLabel.ParamModel model = label.getParameterModel();
+         model.setAutoFlip(true);
+         model.setAutoRotate(true);
+         if (!edge.label.isEmpty()) {
+            label.setLabel(edge.label);
+         }
+      }
+      if (edge.additionalLabel != null) {
+         EdgeLabel label = gedge.createAdditionalLabel(edge.additionalLabel, edge.additionalLabelRatio);
+         label.setAutoFlip(false);
+         label.setAutoRotate(false);
+      }
+   }
+
+   private static short getPosition(String side) {
+      return SIDE_NORTH.equals(side) ? PortConstraints.POSITION_NORTH : PortConstraints.POSITION_SOUTH;
+   }
+
+   private static short getArrow(String arrow) {
+      switch (arrow) {
+         case ARROW_STANDARD:
+            return Arrows.STANDARD;
+         case ARROW_WHITE_DELTA:
+            return Arrows.WHITE_DELTA;
+         default:
+            return Arrows.NONE;
+      }
+   }
+
+   /**
+    * Add the last edge to the diagram.
+    */
+   @Override
+   public void close() {
+      flushEdge();
+   }
+}
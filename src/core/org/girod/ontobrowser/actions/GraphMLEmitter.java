@@ -0,0 +1,212 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import java.awt.Color;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The sink of the nodes and edges of an exported yEd diagram. The exporters traverse the schema once and add the nodes
+ * and edges to an emitter, which either builds the diagram in memory or writes it directly to a stream.
+ *
+ * <p>The nodes of a group must be added between the {@link #startGroup(String, String)} and the {@link #endGroup()} calls
+ * of the group, and the edges must be added after all the nodes. An edge is only added when the next element is added or
+ * when the emitter is closed, which allows to set the properties of the edge returned by {@link #addEdge(String, String)}
+ * after its creation.</p>
+ *
+ * @since 0.18
+ */
+public interface GraphMLEmitter extends Closeable {
+   /**
+    * The no arrow type.
+    */
+   public static final String ARROW_NONE = "none";
+   /**
+    * The standard arrow type.
+    */
+   public static final String ARROW_STANDARD = "standard";
+   /**
+    * The white delta arrow type.
+    */
+   public static final String ARROW_WHITE_DELTA = "white_delta";
+   /**
+    * The north side of a node.
+    */
+   public static final String SIDE_NORTH = "north";
+   /**
+    * The south side of a node.
+    */
+   public static final String SIDE_SOUTH = "south";
+
+   /**
+    * Add a node.
+    *
+    * @param id the node id
+    * @param label the node label
+    * @param fillColor the background color of the node
+    * @param heightFactor the factor to apply on the default height of the node
+    * @throws IOException if the node can not be added
+    */
+   public void addNode(String id, String label, Color fillColor, float heightFactor) throws IOException;
+
+   /**
+    * Start a group node with the default closed state. The nodes which are added until the {@link #endGroup()} call are the
+    * children of the group.
+    *
+    * @param id the group node id
+    * @param name the group node name
+    * @throws IOException if the group node can not be added
+    */
+   public void startGroup(String id, String name) throws IOException;
+
+   /**
+    * Start a group node. The nodes which are added until the {@link #endGroup()} call are the children of the group.
+    *
+    * @param id the group node id
+    * @param name the group node name
+    * @param closed true if the group node is closed
+    * @throws IOException if the group node can not be added
+    */
+   public void startGroup(String id, String name, boolean closed) throws IOException;
+
+   /**
+    * End the current group node.
+    *
+    * @throws IOException if the group node can not be added
+    */
+   public void endGroup() throws IOException;
+
+   /**
+    * Add an edge. The edge is added when the next element is added, so its properties can be set on the returned
+    * object until then. The returned object is reused for the next edge.
+    *
+    * @param source the source node id
+    * @param target the target node id
+    * @return the edge
+    * @throws IOException if the previous edge can not be added
+    */
+   public Edge addEdge(String source, String target) throws IOException;
+
+   /**
+    * The properties of an edge which has not been added yet.
+    */
+   public static class Edge {
+      String source;
+      String target;
+      String sourceArrow;
+      String targetArrow;
+      String label;
+      String additionalLabel;
+      float additionalLabelRatio;
+      boolean dashed;
+      String sourceSide;
+      String targetSide;
+
+      Edge() {
+      }
+
+      void reset(String source, String target) {
+         this.source = source;
+         this.target = target;
+         this.sourceArrow = ARROW_NONE;
+         this.targetArrow = ARROW_STANDARD;
+         this.label = null;
+         this.additionalLabel = null;
+         this.dashed = false;
+         this.sourceSide = null;
+         this.targetSide = null;
+      }
+
+      /**
+       * Set the arrows of the edge.
+       *
+       * @param sourceArrow the source arrow
+       * @param targetArrow the target arrow
+       * @return the edge
+       */
+      public Edge setArrows(String sourceArrow, String targetArrow) {
+         this.sourceArrow = sourceArrow;
+         this.targetArrow = targetArrow;
+         return this;
+      }
+
+      /**
+       * Set the label of the edge. An empty label is added as an empty label element.
+       *
+       * @param label the label
+       * @return the edge
+       */
+      public Edge setLabel(String label) {
+         this.label = label;
+         return this;
+      }
+
+      /**
+       * Set an additional label on the edge.
+       *
+       * @param label the label
+       * @param ratio the position of the label on the edge
+       * @return the edge
+       */
+      public Edge setAdditionalLabel(String label, float ratio) {
+         this.additionalLabel = label;
+         this.additionalLabelRatio = ratio;
+         return this;
+      }
+
+      /**
+       * Set if the edge is dashed.
+       *
+       * @param dashed true if the edge is dashed
+       * @return the edge
+       */
+      public Edge setDashed(boolean dashed) {
+         this.dashed = dashed;
+         return this;
+      }
+
+      /**
+       * Set the port constraints of the edge.
+       *
+       * @param sourceSide the side of the source node
+       * @param targetSide the side of the target node
+       * @return the edge
+       */
+      public Edge setPortConstraints(String sourceSide, String targetSide) {
+         this.sourceSide = sourceSide;
+         this.targetSide = targetSide;
+         return this;
+      }
+   }
+}
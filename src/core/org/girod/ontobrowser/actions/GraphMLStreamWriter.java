@@ -0,0 +1,408 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import java.awt.Color;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import org.girod.ontobrowser.utils.LabelUtils;
+
+/**
+ * Writes a yEd GraphML diagram directly to a stream. Contrary to the jgraphml model, the nodes and edges are not kept in memory:
+ * they are written as soon as they are added.
+ *
+ * @since 0.18
+ */
+public class GraphMLStreamWriter implements GraphMLEmitter {
+   private static final int BUFFER_SIZE = 65536;
+   private static final float NODE_HEIGHT = 22f;
+   private static final String FONT_FAMILY = "Dialog";
+   private static final int NODE_FONT_SIZE = 11;
+   private final Writer writer;
+   private final StringBuilder indent = new StringBuilder("  ");
+   private final Edge edge = new Edge();
+   private boolean hasPendingEdge = false;
+   private int edgesCount = 0;
+   private int nodesCount = 0;
+   private Color packageColor = Color.LIGHT_GRAY;
+   private boolean showPackagesAsClosed = false;
+   private boolean innerGraphDisplayEnabled = false;
+
+   /**
+    * Constructor.
+    *
+    * @param stream the output stream
+    */
+   public GraphMLStreamWriter(OutputStream stream) {
+      this.writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+   }
+
+   /**
+    * Create a writer on a file.
+    *
+    * @param file the file
+    * @param compress true if the file must be compressed with gzip
+    * @return the writer
+    * @throws IOException if the file can not be created
+    */
+   public static GraphMLStreamWriter create(File file, boolean compress) throws IOException {
+      OutputStream stream = new FileOutputStream(file);
+      if (compress) {
+         stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+      } else {
+         stream = new BufferedOutputStream(stream, BUFFER_SIZE);
+      }
+      return new GraphMLStreamWriter(stream);
+   }
+
+   /**
+    * Return true if the name of a file is the name of a gzip compressed diagram.
+    *
+    * @param file the file
+    * @return true if the name of a file is the name of a gzip compressed diagram
+    */
+   public static boolean isCompressedFile(File file) {
+      String name = file.getName().toLowerCase(Locale.ROOT);
+      return name.endsWith(".graphmlz") || name.endsWith(".gz");
+   }
+
+   /**
+    * Set the style of the group nodes.
+    *
+    * @param packageColor the background color of the group nodes
+    * @param showPackagesAsClosed true if the group nodes are closed
+    * @param innerGraphDisplayEnabled true if the inner graph is displayed for closed group nodes
+    */
+   public void setGroupStyle(Color packageColor, boolean showPackagesAsClosed, boolean innerGraphDisplayEnabled) {
+      this.packageColor = packageColor;
+      this.showPackagesAsClosed = showPackagesAsClosed;
+      this.innerGraphDisplayEnabled = innerGraphDisplayEnabled;
+   }
+
+   /**
+    * Return the number of written nodes, including the group nodes.
+    *
+    * @return the number of nodes
+    */
+   public int getNodesCount() {
+      return nodesCount;
+   }
+
+   /**
+    * Return the number of written edges.
+    *
+    * @return the number of edges
+    */
+   public int getEdgesCount() {
+      return edgesCount;
+   }
+
+   /**
+    * Start the document.
+    *
+    * @throws IOException if the document can not be written
+    */
+   public void startDocument() throws IOException {
+      writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      writer.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+         + "xmlns:y=\"http://www.yworks.com/xml/graphml\" xmlns:yed=\"http://www.yworks.com/xml/yed/3\" "
+         + "xsi:schemaLocation=\"http://graphml.graphdrawing.org/xmlns http://www.yworks.com/xml/schema/graphml/1.1/ygraphml.xsd\">\n");
+      writer.write("  <key attr.name=\"description\" attr.type=\"string\" for=\"graph\" id=\"d0\"/>\n");
+      writer.write("  <key for=\"port\" id=\"d1\" yfiles.type=\"portgraphics\"/>\n");
+      writer.write("  <key for=\"edge\" id=\"d10\" yfiles.type=\"edgegraphics\"/>\n");
+      writer.write("  <key for=\"edge\" id=\"d11\" yfiles.type=\"portconstraints\"/>\n");
+      writer.write("  <key for=\"port\" id=\"d2\" yfiles.type=\"portgeometry\"/>\n");
+      writer.write("  <key attr.name=\"url\" attr.type=\"string\" for=\"node\" id=\"d4\"/>\n");
+      writer.write("  <key attr.name=\"description\" attr.type=\"string\" for=\"node\" id=\"d5\"/>\n");
+      writer.write("  <key for=\"node\" id=\"d6\" yfiles.type=\"nodegraphics\"/>\n");
+      writer.write("  <key for=\"graphml\" id=\"d7\" yfiles.type=\"resources\"/>\n");
+      writer.write("  <key attr.name=\"url\" attr.type=\"string\" for=\"edge\" id=\"d8\"/>\n");
+      writer.write("  <key attr.name=\"description\" attr.type=\"string\" for=\"edge\" id=\"d9\"/>\n");
+      writer.write("  <graph edgedefault=\"directed\" id=\"G\">\n");
+      writer.write("    <data key=\"d0\"/>\n");
+      indent.append("  ");
+   }
+
+   /**
+    * Add a node.
+    *
+    * @param id the node id
+    * @param label the node label
+    * @param fillColor the background color of the node
+    * @param heightFactor the factor to apply on the default height of the node
+    * @throws IOException if the node can not be written
+    */
+   @Override
+   public void addNode(String id, String label, Color fillColor, float heightFactor) throws IOException {
+      flushEdge();
+      nodesCount++;
+      float width = LabelUtils.getDimension(label, NODE_FONT_SIZE, FONT_FAMILY).width;
+      line("<node id=\"" + escape(id) + "\">");
+      line("  <data key=\"d5\"/>");
+      line("  <data key=\"d6\">");
+      line("    <y:ShapeNode>");
+      line("      <y:Geometry height=\"" + format(NODE_HEIGHT * heightFactor) + "\" width=\"" + format(width) + "\" x=\"0.000\" y=\"0.000\"/>");
+      line("      <y:Fill color=\"" + getColor(fillColor) + "\" transparent=\"false\"/>");
+      line("      <y:BorderStyle color=\"#000000\" raised=\"false\" type=\"line\" width=\"1.000\"/>");
+      line("      " + getNodeLabel("center", "content", NODE_FONT_SIZE, "custom", null, label));
+      line("      <y:Shape type=\"roundrectangle\"/>");
+      line("    </y:ShapeNode>");
+      line("  </data>");
+      line("</node>");
+   }
+
+   /**
+    * Start a group node. The nodes which are added until the {@link #endGroup()} call are the children of the group.
+    *
+    * @param id the group node id
+    * @param name the group node name
+    * @throws IOException if the group node can not be written
+    */
+   @Override
+   public void startGroup(String id, String name) throws IOException {
+      startGroup(id, name, showPackagesAsClosed);
+   }
+
+   /**
+    * Start a group node. The nodes which are added until the {@link #endGroup()} call are the children of the group.
+    *
+    * @param id the group node id
+    * @param name the group node name
+    * @param closed true if the group node is closed
+    * @throws IOException if the group node can not be written
+    */
+   @Override
+   public void startGroup(String id, String name, boolean closed) throws IOException {
+      flushEdge();
+      nodesCount++;
+      line("<node id=\"" + escape(id) + "\" yfiles.foldertype=\"folder\">");
+      line("  <data key=\"d4\" xml:space=\"preserve\"/>");
+      line("  <data key=\"d5\"/>");
+      line("  <data key=\"d6\">");
+      line("    <y:ProxyAutoBoundsNode>");
+      line("      <y:Realizers active=\"" + (closed ? "1" : "0") + "\">");
+      writeGroupState(50f, 50f, getNodeLabel("right", "node_width", 14, "internal", "tr", name), false, 20);
+      int insets = innerGraphDisplayEnabled ? 20 : 150;
+      writeGroupState(150f, 80f, getNodeLabel("center", "node_width", 18, "internal", "c", name), true, insets);
+      line("      </y:Realizers>");
+      line("    </y:ProxyAutoBoundsNode>");
+      line("  </data>");
+      line("  <graph edgedefault=\"directed\" id=\"" + escape(id) + ":\">");
+      indent.append("    ");
+   }
+
+   private void writeGroupState(float width, float height, String label, boolean closed, int insets) throws IOException {
+      boolean innerGraph = closed && innerGraphDisplayEnabled;
+      line("        <y:GroupNode>");
+      line("          <y:Geometry height=\"" + format(height) + "\" width=\"" + format(width) + "\" x=\"0.000\" y=\"0.000\"/>");
+      line("          <y:Fill color=\"" + getColor(packageColor) + "\" transparent=\"false\"/>");
+      line("          <y:BorderStyle color=\"#000000\" raised=\"false\" type=\"dashed\" width=\"1.000\"/>");
+      line("          " + label);
+      line("          <y:Shape type=\"roundrectangle\"/>");
+      line("          <y:State closed=\"" + closed + "\" closedHeight=\"100\" closedWidth=\"200\" innerGraphDisplayEnabled=\"" + innerGraph + "\"/>");
+      String value = Integer.toString(insets);
+      line("          <y:Insets bottom=\"" + value + "\" bottomF=\"" + value + "\" left=\"" + value + "\" leftF=\"" + value
+         + "\" right=\"" + value + "\" rightF=\"" + value + "\" top=\"" + value + "\" topF=\"" + value + "\"/>");
+      line("          <y:BorderInsets bottom=\"0\" bottomF=\"0\" left=\"0\" leftF=\"0\" right=\"0\" rightF=\"0\" top=\"0\" topF=\"0\"/>");
+      line("        </y:GroupNode>");
+   }
+
+   /**
+    * End the current group node.
+    *
+    * @throws IOException if the group node can not be written
+    */
+   @Override
+   public void endGroup() throws IOException {
+      flushEdge();
+      indent.setLength(indent.length() - 4);
+      line("  </graph>");
+      line("</node>");
+   }
+
+   /**
+    * Add an edge. The edge is written when the next element is added, so its properties can be set on the returned
+    * object until then. The returned object is reused for the next edge.
+    *
+    * @param source the source node id
+    * @param target the target node id
+    * @return the edge
+    * @throws IOException if the previous edge can not be written
+    */
+   @Override
+   public Edge addEdge(String source, String target) throws IOException {
+      flushEdge();
+      edge.reset(source, target);
+      hasPendingEdge = true;
+      return edge;
+   }
+
+   private void flushEdge() throws IOException {
+      if (!hasPendingEdge) {
+         return;
+      }
+      hasPendingEdge = false;
+      line("<edge id=\"e" + edgesCount + "\" source=\"" + escape(edge.source) + "\" target=\"" + escape(edge.target) + "\">");
+      edgesCount++;
+      if (edge.sourceSide != null) {
+         line("  <data key=\"d11\">");
+         line("    <y:PortConstraint endpoint=\"source\" side=\"" + edge.sourceSide + "\" strong=\"false\"/>");
+         line("    <y:PortConstraint endpoint=\"target\" side=\"" + edge.targetSide + "\" strong=\"false\"/>");
+         line("  </data>");
+      }
+      line("  <data key=\"d10\">");
+      line("    <y:PolyLineEdge>");
+      line("      <y:Path sx=\"0.000\" sy=\"0.000\" tx=\"0.000\" ty=\"0.000\"/>");
+      line("      <y:LineStyle color=\"#000000\" raised=\"false\" type=\"" + (edge.dashed ? "dashed" : "line") + "\" width=\"1.000\"/>");
+      line("      <y:Arrows source=\"" + edge.sourceArrow + "\" target=\"" + edge.targetArrow + "\"/>");
+      if (edge.label != null) {
+         line("      <y:EdgeLabel alignment=\"center\" anchorX=\"0.000\" anchorY=\"0.000\" configuration=\"AutoFlippingLabel\" "
+            + "fontFamily=\"Dialog\" fontSize=\"11\" fontStyle=\"plain\" hasBackgroundColor=\"false\" hasLineColor=\"false\" "
+            + "horizontalTextPosition=\"center\" iconTextGap=\"4\" modelName=\"custom\" preferredPlacement=\"anywhere\" ratio=\"0.500\" "
+            + "textColor=\"#000000\" verticalTextPosition=\"bottom\" visible=\"true\" xml:space=\"preserve\">" + escape(edge.label)
+            + "<y:LabelModel>");
+         line("          <y:RotatedDiscreteEdgeLabelModel angle=\"0\" autoRotationEnabled=\"true\" distance=\"-4.000\"/>");
+         line("        </y:LabelModel>");
+         line("        <y:ModelParameter>");
+         line("          <y:RotatedDiscreteEdgeLabelModelParameter angle=\"0\" autoRotationEnabled=\"true\" distance=\"-4.000\" position=\"tail\"/>");
+         line("        </y:ModelParameter>");
+         line("      </y:EdgeLabel>");
+      }
+      if (edge.additionalLabel != null) {
+         String ratio = format(edge.additionalLabelRatio);
+         line("      <y:EdgeLabel alignment=\"center\" anchorX=\"0.000\" anchorY=\"0.000\" fontFamily=\"Dialog\" fontSize=\"11\" "
+            + "fontStyle=\"plain\" hasBackgroundColor=\"false\" hasLineColor=\"false\" horizontalTextPosition=\"center\" "
+            + "iconTextGap=\"4\" modelName=\"custom\" preferredPlacement=\"anywhere\" ratio=\"" + ratio + "\" textColor=\"#000000\" "
+            + "verticalTextPosition=\"bottom\" visible=\"true\" xml:space=\"preserve\">" + escape(edge.additionalLabel) + "<y:LabelModel>");
+         line("          <y:SmartEdgeLabelModel/>");
+         line("        </y:LabelModel>");
+         line("        <y:ModelParameter>");
+         line("          <y:SmartEdgeLabelModelParameter position=\"left\" ratio=\"" + ratio + "\" segment=\"0\"/>");
+         line("        </y:ModelParameter>");
+         line("      </y:EdgeLabel>");
+      }
+      line("      <y:BendStyle smoothed=\"false\"/>");
+      line("    </y:PolyLineEdge>");
+      line("  </data>");
+      line("</edge>");
+   }
+
+   /**
+    * End the document and close the underlying stream.
+    *
+    * @throws IOException if the document can not be written
+    */
+   @Override
+   public void close() throws IOException {
+      try {
+         flushEdge();
+         writer.write("  </graph>\n");
+         writer.write("</graphml>\n");
+      } finally {
+         writer.close();
+      }
+   }
+
+   private void line(String text) throws IOException {
+      writer.append(indent).append(text).append('\n');
+   }
+
+   private static String getNodeLabel(String alignment, String autoSizePolicy, int fontSize, String modelName, String modelPosition, String label) {
+      StringBuilder buf = new StringBuilder();
+      buf.append("<y:NodeLabel alignment=\"").append(alignment).append("\" autoSizePolicy=\"").append(autoSizePolicy);
+      buf.append("\" fontFamily=\"Dialog\" fontSize=\"").append(fontSize);
+      buf.append("\" fontStyle=\"plain\" hasBackgroundColor=\"false\" hasLineColor=\"false\" height=\"18.7\" horizontalTextPosition=\"center\" "
+         + "iconTextGap=\"4\" modelName=\"").append(modelName).append('"');
+      if (modelPosition != null) {
+         buf.append(" modelPosition=\"").append(modelPosition).append('"');
+      }
+      buf.append(" textColor=\"#000000\" verticalTextPosition=\"bottom\" visible=\"true\" width=\"16.0\" x=\"30.5\" xml:space=\"preserve\" y=\"23.6\">");
+      buf.append("<![CDATA[").append(label == null ? "" : label.replace("]]>", "]]]]><![CDATA[>")).append("]]></y:NodeLabel>");
+      return buf.toString();
+   }
+
+   private static String getColor(Color color) {
+      return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+   }
+
+   private static String format(float value) {
+      return String.format(Locale.ROOT, "%.3f", value);
+   }
+
+   private static String escape(String text) {
+      StringBuilder buf = null;
+      for (int i = 0; i < text.length(); i++) {
+         char c = text.charAt(i);
+         String replacement;
+         switch (c) {
+            case '&':
+               replacement = "&amp;";
+               break;
+            case '<':
+               replacement = "&lt;";
+               break;
+            case '>':
+               replacement = "&gt;";
+               break;
+            case '"':
+               replacement = "&quot;";
+               break;
+            default:
+               replacement = null;
+               break;
+         }
+         if (replacement != null && buf == null) {
+            buf = new StringBuilder(text.length() + 16);
+            buf.append(text, 0, i);
+         }
+         if (buf != null) {
+            if (replacement != null) {
+               buf.append(replacement);
+            } else {
+               buf.append(c);
+            }
+         }
+      }
+      return buf == null ? text : buf.toString();
+   }
+
+}
@@ -0,0 +1,431 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import com.mxgraph.model.mxCell;
+import com.mxgraph.model.mxGeometry;
+import com.mxgraph.model.mxGraphModel;
+import com.mxgraph.view.mxGraph;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlDatatypeProperty;
+import org.girod.ontobrowser.model.OwlIndividual;
+import org.girod.ontobrowser.model.OwlObjectProperty;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.utils.LabelUtils;
+
+/**
+ * Builds the graph of a diagram on demand.
+ *
+ * Rather than creating the cells of all the elements of the schema, the builder only creates the cells of the neighbourhood of the
+ * elements which are navigated to: the class itself, its super-classes, sub-classes, alias classes, individuals, and the
+ * classes and datatype properties it is related to. The new cells are placed around the cell of the navigated class.
+ *
+ * The number of vertices in the graph is bounded. When the bound is exceeded, the neighbourhoods which have been navigated to the
+ * least recently are evicted, and the cells which do not belong to any remaining neighbourhood are removed from the graph.
+ *
+ * @since 0.18
+ */
+public class LazyGraphBuilder {
+   /**
+    * The default maximum number of vertices in the graph.
+    */
+   public static final int DEFAULT_MAXIMUM_CELLS = 500;
+   private static final double RADIUS = 160d;
+   private static final double RADIUS_INCREMENT = 6d;
+   private static final double DISTANCE = 120d;
+   private final mxGraph graph;
+   private final Object parent;
+   private final OwlSchema schema;
+   private final boolean showAlias;
+   private int maximumCells = DEFAULT_MAXIMUM_CELLS;
+   private final Map<ElementKey, mxCell> keyToCell = new HashMap<>();
+   private final Map<mxCell, ElementKey> cellToKey = new IdentityHashMap<>();
+   private final Map<mxCell, Integer> references = new IdentityHashMap<>();
+   // the neighbourhoods which have been navigated to, ordered from the least recently navigated to the most recently navigated
+   private final LinkedHashMap<ElementKey, List<mxCell>> neighbourhoods = new LinkedHashMap<>(16, 0.75f, true);
+   private double nextX = 0;
+
+   /**
+    * Constructor.
+    *
+    * @param graph the graph
+    * @param schema the schema
+    * @param showAlias true if the alias classes are shown
+    */
+   public LazyGraphBuilder(mxGraph graph, OwlSchema schema, boolean showAlias) {
+      this.graph = graph;
+      this.parent = graph.getDefaultParent();
+      this.schema = schema;
+      this.showAlias = showAlias;
+   }
+
+   /**
+    * Set the maximum number of vertices in the graph.
+    *
+    * @param maximumCells the maximum number of vertices
+    */
+   public void setMaximumCells(int maximumCells) {
+      this.maximumCells = maximumCells;
+   }
+
+   /**
+    * Return the maximum number of vertices in the graph.
+    *
+    * @return the maximum number of vertices
+    */
+   public int getMaximumCells() {
+      return maximumCells;
+   }
+
+   /**
+    * Return the graph.
+    *
+    * @return the graph
+    */
+   public mxGraph getGraph() {
+      return graph;
+   }
+
+   /**
+    * Return the map from the keys of the elements to the cells which are currently in the graph. The map is updated each time
+    * the graph is expanded.
+    *
+    * @return the map
+    */
+   public Map<ElementKey, mxCell> getKeyToCell() {
+      return keyToCell;
+   }
+
+   /**
+    * Return the key of the element associated with a cell.
+    *
+    * @param cell the cell
+    * @return the key, or null if the cell is not a vertex of the builder
+    */
+   public ElementKey getKey(mxCell cell) {
+      return cellToKey.get(cell);
+   }
+
+   /**
+    * Return the number of vertices in the graph.
+    *
+    * @return the number of vertices
+    */
+   public int getVerticesCount() {
+      return cellToKey.size();
+   }
+
+   /**
+    * Return the number of neighbourhoods in the graph.
+    *
+    * @return the number of neighbourhoods
+    */
+   public int getNeighbourhoodsCount() {
+      return neighbourhoods.size();
+   }
+
+   /**
+    * Expand the neighbourhoods of the root classes of the schema, until half of the maximum number of vertices is reached.
+    */
+   public void expandRoots() {
+      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
+      while (it.hasNext() && cellToKey.size() < maximumCells / 2) {
+         OwlClass owlClass = it.next();
+         if (!hasSuperClassInSchema(owlClass)) {
+            expand(owlClass.getKey());
+         }
+      }
+   }
+
+   private boolean hasSuperClassInSchema(OwlClass owlClass) {
+      Map<ElementKey, OwlClass> owlClasses = schema.getOwlClasses();
+      Iterator<ElementKey> it = owlClass.getSuperClasses().keySet().iterator();
+      while (it.hasNext()) {
+         if (owlClasses.containsKey(it.next())) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   /**
+    * Expand the neighbourhood of the element of a cell.
+    *
+    * @param cell the cell
+    * @return the cell, or null if the cell is not a vertex of the builder
+    */
+   public mxCell expand(mxCell cell) {
+      ElementKey key = cellToKey.get(cell);
+      if (key == null) {
+         return null;
+      }
+      return expand(key);
+   }
+
+   /**
+    * Expand the neighbourhood of an element and return its cell. The neighbourhood of an individual or a datatype property is
+    * the neighbourhood of its first class.
+    *
+    * @param key the element key
+    * @return the cell, or null if the element is not represented in the graph
+    */
+   public mxCell expand(ElementKey key) {
+      ElementKey focusKey = getFocusKey(key);
+      if (focusKey == null) {
+         return keyToCell.get(key);
+      }
+      if (neighbourhoods.get(focusKey) == null) {
+         graph.getModel().beginUpdate();
+         try {
+            List<mxCell> cells = createNeighbourhood(schema.getOwlClasses().get(focusKey));
+            neighbourhoods.put(focusKey, cells);
+            Iterator<mxCell> it = cells.iterator();
+            while (it.hasNext()) {
+               mxCell cell = it.next();
+               Integer count = references.get(cell);
+               references.put(cell, count == null ? 1 : count + 1);
+            }
+            evict();
+         } finally {
+            graph.getModel().endUpdate();
+         }
+      }
+      return keyToCell.get(key);
+   }
+
+   private ElementKey getFocusKey(ElementKey key) {
+      Map<ElementKey, OwlClass> owlClasses = schema.getOwlClasses();
+      if (owlClasses.containsKey(key)) {
+         return key;
+      }
+      OwlIndividual individual = schema.getIndividuals().get(key);
+      if (individual != null) {
+         Iterator<ElementKey> it = individual.getParentClasses().keySet().iterator();
+         while (it.hasNext()) {
+            ElementKey classKey = it.next();
+            if (owlClasses.containsKey(classKey)) {
+               return classKey;
+            }
+         }
+         return null;
+      }
+      OwlDatatypeProperty property = schema.getOwlDatatypeProperties().get(key);
+      if (property != null) {
+         Iterator<ElementKey> it = property.getDomain().keySet().iterator();
+         while (it.hasNext()) {
+            ElementKey classKey = it.next();
+            if (owlClasses.containsKey(classKey)) {
+               return classKey;
+            }
+         }
+      }
+      return null;
+   }
+
+   private List<mxCell> createNeighbourhood(OwlClass owlClass) {
+      List<mxCell> cells = new ArrayList<>();
+      mxCell focusCell = keyToCell.get(owlClass.getKey());
+      if (focusCell == null) {
+         focusCell = createVertex(owlClass, "class", nextX, 0);
+         nextX += 2 * DISTANCE + RADIUS;
+      }
+      cells.add(focusCell);
+      Map<ElementKey, OwlClass> owlClasses = schema.getOwlClasses();
+      List<Neighbour> neighbours = new ArrayList<>();
+      Iterator<OwlClass> it = owlClass.getSuperClasses().values().iterator();
+      while (it.hasNext()) {
+         OwlClass superClass = it.next();
+         if (owlClasses.containsKey(superClass.getKey())) {
+            neighbours.add(new Neighbour(superClass, "class", "", "parent", true));
+         }
+      }
+      it = owlClass.getSubClasses().values().iterator();
+      while (it.hasNext()) {
+         OwlClass subClass = it.next();
+         if (owlClasses.containsKey(subClass.getKey())) {
+            neighbours.add(new Neighbour(subClass, "class", "", "parent", false));
+         }
+      }
+      if (showAlias && owlClass.hasAliasClasses()) {
+         it = owlClass.getAliasClasses().values().iterator();
+         while (it.hasNext()) {
+            OwlClass aliasClass = it.next();
+            if (owlClasses.containsKey(aliasClass.getKey())) {
+               neighbours.add(new Neighbour(aliasClass, "class", "", "alias", true));
+            }
+         }
+      }
+      if (owlClass.hasIndividuals()) {
+         Iterator<OwlIndividual> it2 = owlClass.getIndividuals().values().iterator();
+         while (it2.hasNext()) {
+            neighbours.add(new Neighbour(it2.next(), "individual", "", "property", true));
+         }
+      }
+      Iterator<OwlProperty> it3 = owlClass.getOwlProperties().values().iterator();
+      while (it3.hasNext()) {
+         OwlProperty property = it3.next();
+         if (property instanceof OwlObjectProperty) {
+            OwlObjectProperty objectProp = (OwlObjectProperty) property;
+            Iterator<ElementKey> it4 = objectProp.getRange().keySet().iterator();
+            while (it4.hasNext()) {
+               OwlClass rangeClass = owlClasses.get(it4.next());
+               if (rangeClass != null) {
+                  Neighbour neighbour = new Neighbour(rangeClass, "class", ExportUtils.getDisplayedLabel(objectProp), null, true);
+                  neighbour.property = objectProp;
+                  neighbours.add(neighbour);
+               }
+            }
+         } else if (schema.getOwlDatatypeProperties().containsKey(property.getKey())) {
+            neighbours.add(new Neighbour(property, "dataProperty", property.getDisplayedName(), "property", true));
+         }
+      }
+
+      int count = 0;
+      Iterator<Neighbour> it5 = neighbours.iterator();
+      while (it5.hasNext()) {
+         if (!keyToCell.containsKey(it5.next().element.getKey())) {
+            count++;
+         }
+      }
+      mxGeometry focusGeometry = focusCell.getGeometry();
+      double centerX = focusGeometry.getCenterX();
+      double centerY = focusGeometry.getCenterY();
+      double radius = RADIUS + RADIUS_INCREMENT * count;
+      int index = 0;
+      it5 = neighbours.iterator();
+      while (it5.hasNext()) {
+         Neighbour neighbour = it5.next();
+         mxCell cell = keyToCell.get(neighbour.element.getKey());
+         if (cell == null) {
+            double angle = 2 * Math.PI * index / count;
+            cell = createVertex(neighbour.element, neighbour.vertexStyle, centerX + radius * Math.cos(angle), centerY + radius * Math.sin(angle));
+            index++;
+         }
+         if (!cells.contains(cell)) {
+            cells.add(cell);
+         }
+         if (neighbour.outgoing) {
+            addEdge(focusCell, cell, neighbour);
+         } else {
+            addEdge(cell, focusCell, neighbour);
+         }
+      }
+      return cells;
+   }
+
+   private mxCell createVertex(NamedOwlElement element, String style, double centerX, double centerY) {
+      String name = element.getDisplayedName();
+      Dimension d = LabelUtils.getDimension(name, AbstractUpdateModelAction.FONT_SIZE, AbstractUpdateModelAction.FONT_FAMILY);
+      mxCell cell = (mxCell) graph.insertVertex(parent, null, name, centerX - d.width / 2d, centerY - d.height / 2d, d.width, d.height);
+      cell.setStyle(style);
+      keyToCell.put(element.getKey(), cell);
+      cellToKey.put(cell, element.getKey());
+      if (centerX + d.width / 2d + DISTANCE > nextX) {
+         nextX = centerX + d.width / 2d + DISTANCE;
+      }
+      return cell;
+   }
+
+   private void addEdge(mxCell source, mxCell target, Neighbour neighbour) {
+      Object[] edges = mxGraphModel.getEdgesBetween(graph.getModel(), source, target, true);
+      for (int i = 0; i < edges.length; i++) {
+         mxCell edge = (mxCell) edges[i];
+         if (neighbour.label.equals(edge.getValue())) {
+            return;
+         }
+      }
+      mxCell edge = (mxCell) graph.insertEdge(parent, null, neighbour.label, source, target);
+      if (neighbour.property != null) {
+         ExportUtils.setCellStyle(edge, neighbour.property);
+      } else {
+         edge.setStyle(neighbour.edgeStyle);
+      }
+   }
+
+   private void evict() {
+      List<mxCell> removed = new ArrayList<>();
+      Iterator<List<mxCell>> it = neighbourhoods.values().iterator();
+      // the most recently navigated neighbourhood is never evicted
+      while (cellToKey.size() - removed.size() > maximumCells && neighbourhoods.size() > 1 && it.hasNext()) {
+         List<mxCell> cells = it.next();
+         it.remove();
+         Iterator<mxCell> it2 = cells.iterator();
+         while (it2.hasNext()) {
+            mxCell cell = it2.next();
+            int count = references.get(cell) - 1;
+            if (count == 0) {
+               references.remove(cell);
+               removed.add(cell);
+            } else {
+               references.put(cell, count);
+            }
+         }
+      }
+      if (!removed.isEmpty()) {
+         Iterator<mxCell> it2 = removed.iterator();
+         while (it2.hasNext()) {
+            ElementKey key = cellToKey.remove(it2.next());
+            keyToCell.remove(key);
+         }
+         graph.removeCells(removed.toArray(), true);
+      }
+   }
+
+   private static class Neighbour {
+      private final NamedOwlElement element;
+      private final String vertexStyle;
+      private final String label;
+      private final String edgeStyle;
+      private final boolean outgoing;
+      private OwlObjectProperty property = null;
+
+      private Neighbour(NamedOwlElement element, String vertexStyle, String label, String edgeStyle, boolean outgoing) {
+         this.element = element;
+         this.vertexStyle = vertexStyle;
+         this.label = label;
+         this.edgeStyle = edgeStyle;
+         this.outgoing = outgoing;
+      }
+   }
+}
@@ -34,6 +34,7 @@ package org.girod.ontobrowser.actions;
 
 import java.io.File;
 import java.net.MalformedURLException;
+import javax.swing.SwingUtilities;
 import org.mdi.app.swing.AbstractMDIApplication;
 import org.mdi.bootstrap.MDIApplication;
 import org.mdi.bootstrap.swing.SwingFileProperties;
@@ -41,9 +42,10 @@ import org.mdi.bootstrap.swing.SwingFileProperties;
 /**
  * The Action that opens owl/rdf schemas.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class OpenModelAction extends AbstractOpenModelAction {
+   private volatile boolean tabPublished = false;
 
    /**
     * Constructor.
@@ -70,11 +72,30 @@ public class OpenModelAction extends AbstractOpenModelAction {
       super(app, desc, longDesc, prop, file);
    }
 
+   /**
+    * Add the tab of the model as soon as its schema has been extracted, so that the trees can be browsed while the diagram is built.
+    */
+   @Override
+   protected void publishSchema() {
+      graphPanel.setSchema(diagram);
+      tabPublished = true;
+      SwingUtilities.invokeLater(new Runnable() {
+         @Override
+         public void run() {
+            addTab();
+         }
+      });
+   }
+
    @Override
    public void endAction() {
-      if (diagram == null) {
+      if (diagram == null || tabPublished) {
          return;
       }
+      addTab();
+   }
+
+   private void addTab() {
       if (prop == null) {
          AbstractMDIApplication mdi = (AbstractMDIApplication) app;
          if (mdi.hasTab(name)) {
@@ -32,17 +32,38 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.actions;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RiotException;
+import org.apache.jena.riot.system.ErrorHandlerFactory;
+import org.girod.ontobrowser.BrowserConfiguration;
 import org.girod.ontobrowser.gui.GraphPanel;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlRepresentationType;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.IncrementalSchemaUpdater;
 import org.mdi.bootstrap.MDIApplication;
 import org.mdi.bootstrap.swing.SwingFileProperties;
 
 /**
- * The Action that opens owl/rdf schemas.
+ * The Action that refreshes owl/rdf schemas.
  *
- * @since 0.13
+ * If the incremental refresh is allowed, the file is parsed again and its triples are compared with the triples of the current
+ * model. If the only differences are annotations on existing elements, only these elements are updated. Else the schema is
+ * opened again.
+ *
+ * @version 0.18
  */
 public class RefreshModelAction extends AbstractOpenModelAction {
    private int selectedTab = 0;
+   private Map<ElementKey, NamedOwlElement> updatedElements = null;
 
    /**
     * Constructor.
@@ -61,20 +82,78 @@ public class RefreshModelAction extends AbstractOpenModelAction {
    
    @Override
    public void run() throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      if (conf.incrementalRefresh && refreshIncrementally()) {
+         return;
+      }
       graphPanel.reset();
       super.run();
    }
+
+   private boolean refreshIncrementally() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      OwlSchema currentSchema = graphPanel.getSchema();
+      // a schema restored from a snapshot or stored in a persistent dataset is always opened again
+      if (currentSchema == null || !currentSchema.hasOntModel() || conf.persistentDataset) {
+         return false;
+      }
+      Lang lang;
+      switch (getOwlRepresentationType(file)) {
+         case OwlRepresentationType.TYPE_OWL_TURTLE:
+            lang = Lang.TURTLE;
+            break;
+         case OwlRepresentationType.TYPE_OWL_XML:
+            lang = Lang.RDFXML;
+            break;
+         default:
+            return false;
+      }
+      Model newModel = ModelFactory.createDefaultModel();
+      try (InputStream stream = new FileInputStream(file)) {
+         // the errors are not reported here, they will be reported when opening the schema again
+         RDFParser.create().source(stream).base(file.toURI().toString()).lang(lang)
+            .errorHandler(ErrorHandlerFactory.errorHandlerStrictNoLogging).parse(newModel);
+      } catch (IOException | RiotException ex) {
+         return false;
+      }
+      IncrementalSchemaUpdater updater = new IncrementalSchemaUpdater(currentSchema);
+      if (!updater.update(newModel)) {
+         return false;
+      }
+      updatedElements = updater.getUpdatedElements();
+      schema = currentSchema;
+      diagram = graphPanel.getDiagram();
+      return true;
+   }
    
    @Override
    public void endAction() {
       if (diagram == null) {
          return;
       }
+      if (updatedElements != null) {
+         if (!updatedElements.isEmpty()) {
+            graphPanel.updateElements(updatedElements);
+         }
+         return;
+      }
       
       graphPanel.reset();
       graphPanel.setDiagram(diagram);      
       graphPanel.revalidate();
       graphPanel.setSelectedTab(selectedTab);
       prop.setObject(diagram);
-   }   
+   }
+
+   @Override
+   public String getMessage() {
+      if (updatedElements != null) {
+         if (updatedElements.isEmpty()) {
+            return this.getLongDescription() + ": the schema has not changed";
+         } else {
+            return this.getLongDescription() + ": " + updatedElements.size() + " elements updated";
+         }
+      }
+      return super.getMessage();
+   }
 }
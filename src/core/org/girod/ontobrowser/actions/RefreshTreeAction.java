@@ -73,11 +73,14 @@ public class RefreshTreeAction extends AbstractUpdateModelAction {
       boolean addThingClass = conf.addThingClass;
       boolean showPackages = conf.showPackages;
       GraphExtractor extractor = new GraphExtractor(file, diagram.getSchema().getOntModel(), addThingClass, showPackages);
+      extractor.setUseStatementsIndex(conf.singlePassExtraction);
+      extractor.setParallelExtraction(conf.parallelExtraction && !conf.persistentDataset);
       schema = extractor.getGraph();
       diagram.setSchema(schema);
       mxGraph graph = createGraph(schema);
       diagram.setGraph(graph);
       diagram.setKeyToCell(cell4Class);
+      diagram.setLazyGraphBuilder(lazyBuilder);
 
       if (graphPanel == null) {
          graphPanel = new GraphPanel((GUIApplication) app);
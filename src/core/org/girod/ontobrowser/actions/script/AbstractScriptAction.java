@@ -67,7 +67,7 @@ public abstract class AbstractScriptAction extends AbstractMDIAction implements
    protected OwlScriptContext context = null;
    protected ScriptExceptionListener exListener = null;
    protected boolean endAtFirstException = false;
-   protected boolean isScriptAborted = false;
+   protected volatile boolean isScriptAborted = false;
 
    /**
     * Create a Script Action.
@@ -41,14 +41,16 @@ import org.girod.ontobrowser.script.DefaultScriptImports;
 import org.girod.ontobrowser.script.OwlScriptContext;
 import org.girod.ontobrowser.script.Script;
 import org.mdi.bootstrap.MDIApplication;
+import org.scripthelper.context.ScriptLogger;
 import org.scripthelper.groovy.GroovyScriptWrapper;
 import org.scripthelper.swing.DefaultSwingScriptLogger;
 import org.scripthelper.swing.SwingExceptionListener;
 
 /**
- * The apply Script Action.
+ * The apply Script Action. If the "Run Side-effect-free Scripts in Parallel" option is checked and the Script declares itself as
+ * side-effect-free, the elements of the schema are processed in parallel by a {@link ParallelScriptRunner}.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class ApplyScriptAction extends AbstractScriptAction {
 
@@ -102,7 +104,11 @@ public class ApplyScriptAction extends AbstractScriptAction {
          startScript();
          if (!isScriptAborted()) {
             if (script.visitSchema()) {
-               schema.accept(this);
+               if (conf.parallelScripts && script.isSideEffectFree()) {
+                  visitSchemaInParallel(logger);
+               } else {
+                  schema.accept(this);
+               }
             }
             endScript();
             logger.finishedScript();
@@ -112,4 +118,35 @@ public class ApplyScriptAction extends AbstractScriptAction {
          }
       }
    }
+
+   private void visitSchemaInParallel(ScriptLogger logger) throws Exception {
+      int threadsCount = Runtime.getRuntime().availableProcessors();
+      ParallelScriptRunner runner = new ParallelScriptRunner(new ParallelScriptRunner.ContextFactory() {
+         @Override
+         public OwlScriptContext createContext(ScriptLogger workerLogger) throws Exception {
+            return createWorkerContext(workerLogger);
+         }
+      }, threadsCount) {
+         @Override
+         protected boolean isAborted() {
+            return isScriptAborted();
+         }
+      };
+      runner.run(ParallelScriptRunner.getElements(schema), logger);
+   }
+
+   private OwlScriptContext createWorkerContext(ScriptLogger workerLogger) throws Exception {
+      OwlScriptContext workerContext = new OwlScriptContext((OntoBrowserGUI) app, diagram);
+      workerContext.setLogger(workerLogger);
+      GroovyScriptWrapper<Script> wrapper = new GroovyScriptWrapper<Script>() {
+      };
+      wrapper.setScriptContext(workerContext);
+      wrapper.addImports(DefaultScriptImports.getImports());
+      Script workerScript = wrapper.getScript();
+      wrapper.setScriptLogger(workerLogger);
+      wrapper.addExceptionListener(exListener);
+      wrapper.installScript(scriptFile);
+      workerContext.setScript(workerScript);
+      return workerContext;
+   }
 }
@@ -0,0 +1,215 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions.script;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.girod.ontobrowser.model.ElementVisitor;
+import org.girod.ontobrowser.model.NamedElement;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.script.OwlScriptContext;
+import org.girod.ontobrowser.script.RecordingScriptLogger;
+import org.girod.ontobrowser.script.Script;
+import org.scripthelper.context.ScriptLogger;
+
+/**
+ * Runs a side-effect-free Script on the elements of a schema in parallel. The elements are split in consecutive chunks which are processed
+ * by a pool of worker Threads. Each worker Thread has its own Script context and its own instance of the Script, whose output is recorded
+ * and then replayed on the logger of the Script in the order of the chunks. The output is therefore the same as if the elements had been
+ * processed sequentially.
+ *
+ * The {@link Script#start(OwlSchema)} method is called on each worker Script when it is created, but its output is discarded. The
+ * {@link Script#end()} method is not called on the worker Scripts.
+ *
+ * @since 0.18
+ */
+public class ParallelScriptRunner {
+   /**
+    * The default number of elements in each chunk.
+    */
+   public static final int DEFAULT_CHUNK_SIZE = 64;
+   private final ContextFactory factory;
+   private final int threadsCount;
+   private int chunkSize = DEFAULT_CHUNK_SIZE;
+   private final AtomicInteger workersCount = new AtomicInteger();
+
+   /**
+    * The factory of the Script contexts of the worker Threads.
+    */
+   public interface ContextFactory {
+      /**
+       * Create the Script context of a worker Thread. The Script of the context must have been installed, and must write its output
+       * to the logger. This method is called once for each worker Thread, in the worker Thread.
+       *
+       * @param logger the logger of the worker Thread
+       * @return the Script context
+       * @throws Exception if the Script could not be installed
+       */
+      public OwlScriptContext createContext(ScriptLogger logger) throws Exception;
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param factory the factory of the Script contexts
+    * @param threadsCount the number of worker Threads
+    */
+   public ParallelScriptRunner(ContextFactory factory, int threadsCount) {
+      this.factory = factory;
+      this.threadsCount = Math.max(1, threadsCount);
+   }
+
+   /**
+    * Set the number of elements in each chunk.
+    *
+    * @param chunkSize the number of elements
+    */
+   public void setChunkSize(int chunkSize) {
+      this.chunkSize = Math.max(1, chunkSize);
+   }
+
+   /**
+    * Return the number of worker Scripts which have been created by the last run.
+    *
+    * @return the number of worker Scripts
+    */
+   public int getWorkersCount() {
+      return workersCount.get();
+   }
+
+   /**
+    * Return the elements of a schema, in the order where they are visited by {@link OwlSchema#accept(ElementVisitor)}.
+    *
+    * @param schema the schema
+    * @return the elements
+    */
+   public static List<NamedElement> getElements(OwlSchema schema) {
+      List<NamedElement> elements = new ArrayList<>();
+      schema.accept(new ElementVisitor() {
+         @Override
+         public boolean visit(NamedElement element) {
+            elements.add(element);
+            return true;
+         }
+      });
+      return elements;
+   }
+
+   /**
+    * Return true if the Script has been aborted. The elements which have not been processed yet are skipped if the Script has been aborted.
+    * Return false by default.
+    *
+    * @return true if the Script has been aborted
+    */
+   protected boolean isAborted() {
+      return false;
+   }
+
+   /**
+    * Process elements in parallel and replay the output of the worker Scripts on a logger.
+    *
+    * @param elements the elements
+    * @param logger the logger
+    * @throws Exception if a worker Script could not be created or threw an exception
+    */
+   public void run(List<NamedElement> elements, ScriptLogger logger) throws Exception {
+      workersCount.set(0);
+      ThreadLocal<Worker> workers = new ThreadLocal<>();
+      ExecutorService executor = Executors.newFixedThreadPool(threadsCount);
+      try {
+         List<Future<List<Consumer<ScriptLogger>>>> futures = new ArrayList<>();
+         for (int start = 0; start < elements.size(); start += chunkSize) {
+            List<NamedElement> chunk = elements.subList(start, Math.min(start + chunkSize, elements.size()));
+            futures.add(executor.submit(new Callable<List<Consumer<ScriptLogger>>>() {
+               @Override
+               public List<Consumer<ScriptLogger>> call() throws Exception {
+                  Worker worker = workers.get();
+                  if (worker == null) {
+                     worker = new Worker();
+                     workers.set(worker);
+                  }
+                  return worker.process(chunk);
+               }
+            }));
+         }
+         Iterator<Future<List<Consumer<ScriptLogger>>>> it = futures.iterator();
+         while (it.hasNext()) {
+            RecordingScriptLogger.replay(it.next().get(), logger);
+         }
+      } catch (ExecutionException e) {
+         Throwable cause = e.getCause();
+         if (cause instanceof Exception) {
+            throw (Exception) cause;
+         } else {
+            throw e;
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   /**
+    * The Script context of a worker Thread.
+    */
+   private class Worker {
+      private final RecordingScriptLogger recorder = new RecordingScriptLogger();
+      private final OwlScriptContext context;
+      private final Script script;
+
+      private Worker() throws Exception {
+         context = factory.createContext(recorder);
+         script = context.getScript();
+         script.start(context.getSchema());
+         recorder.takeRecords();
+         workersCount.incrementAndGet();
+      }
+
+      private List<Consumer<ScriptLogger>> process(List<NamedElement> chunk) {
+         Iterator<NamedElement> it = chunk.iterator();
+         while (it.hasNext() && !isAborted()) {
+            NamedElement element = it.next();
+            context.setCurrentElement(element);
+            script.process(element);
+         }
+         return recorder.takeRecords();
+      }
+   }
+}
@@ -32,26 +32,26 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.actions.sparql;
 
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.util.List;
 import javax.swing.AbstractAction;
+import javax.swing.JButton;
 import javax.swing.JFileChooser;
+import javax.swing.JLabel;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
+import javax.swing.JPanel;
 import javax.swing.JScrollPane;
-import javax.swing.JTextArea;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
 import org.apache.jena.ontology.OntModel;
 import org.apache.jena.query.Query;
-import org.apache.jena.query.QueryExecution;
-import org.apache.jena.query.QueryExecutionFactory;
-import org.apache.jena.query.QueryFactory;
 import org.apache.jena.query.QueryParseException;
-import org.apache.jena.query.ResultSet;
-import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.rdf.model.RDFNode;
 import org.girod.ontobrowser.BrowserConfiguration;
 import org.girod.ontobrowser.gui.errors.SwingErrorLogger;
 import org.girod.ontobrowser.model.OwlSchema;
@@ -65,14 +65,25 @@ import org.mdiutil.io.FileUtilities;
 /**
  * A Sparql action, which executes a SPARQL query.
  *
- * @version 0.13
+ * The rows of the result are streamed in a table while the query is executed, up to the maximum number of rows specified in the
+ * configuration. The query can be cancelled from the result dialog. The parsed queries are kept in the {@link SPARQLQueryCache} of
+ * the schema, so that a query which is executed again is not parsed again. If the "Schema-aware SPARQL Queries" option is
+ * checked, the query is executed as a {@link SchemaAwareSPARQL schema-aware query}.
+ *
+ * @version 0.18
  */
 public class ExecuteSPARQLAction extends AbstractMDIAction {
+   private static final String[] RESULT_EXTENSIONS = {"csv", "tsv", "json"};
    private final OwlSchema schema;
    private final String sparql;
    private final SparqlActionHelper helper;
-   private String resultAsString = null;
-   private Exception exception = null;
+   private OntModel model = null;
+   private Query query = null;
+   private boolean isSchemaAware = false;
+   private SPARQLResultStreamer streamer = null;
+   private SPARQLResultTableModel tableModel = null;
+   private JLabel statusLabel = null;
+   private AbstractAction cancelAction = null;
 
    /**
     * Constructor.
@@ -92,94 +103,165 @@ public class ExecuteSPARQLAction extends AbstractMDIAction {
 
    @Override
    public void run() throws Exception {
-      OntModel model = schema.getOntModel();
+      model = schema.getOntModel();
       BrowserConfiguration conf = BrowserConfiguration.getInstance();
-      boolean addPrefix = conf.addPrefixInSPARQL;
       if (conf.addGeoSPARQLPrefixInSPARQL) {
          GeosparqlConfiguration.configure();
       }
-      String queryAsString;
-      int offset = 0;
-      if (addPrefix && !helper.hasPrefix(sparql)) {
-         queryAsString = helper.addPrefixToRequest(sparql);
-         String[] lines = sparql.split("\r\n|\r|\n");
-         String[] lines2 = queryAsString.split("\r\n|\r|\n");
-         offset = lines2.length - lines.length;
-      } else {
-         queryAsString = sparql;
-      }
+      Exception error = null;
       try {
-         Query query = QueryFactory.create(queryAsString);
-         try ( QueryExecution qexec = QueryExecutionFactory.create(query, model)) {
-            ResultSet resultsSet = qexec.execSelect();
-            resultAsString = ResultSetFormatter.asText(resultsSet);
-         }
+         query = SPARQLQueryCache.getCache(schema).getQuery(sparql);
+         isSchemaAware = conf.schemaAwareSPARQL;
+         streamer = createStreamer();
+         streamer.setRowLimit(conf.sparqlResultLimit);
+         streamer.stream(new SPARQLResultStreamer.RowsListener() {
+            @Override
+            public void variablesFound(List<String> variables) {
+               SwingUtilities.invokeLater(new Runnable() {
+                  @Override
+                  public void run() {
+                     showResult(variables);
+                  }
+               });
+            }
+
+            @Override
+            public void rowsAdded(List<RDFNode[]> rows) {
+               SwingUtilities.invokeLater(new Runnable() {
+                  @Override
+                  public void run() {
+                     tableModel.addRows(rows);
+                     statusLabel.setText(tableModel.getRowCount() + " rows...");
+                  }
+               });
+            }
+         });
       } catch (QueryParseException e) {
-         SPARQLErrorWindow error = new SPARQLErrorWindow(sparql, offset, e);
-         error.setVisible(true);
-         this.exception = e;
+         SPARQLErrorWindow errorWindow = new SPARQLErrorWindow(sparql, getPrefixLinesCount(), e);
+         errorWindow.setVisible(true);
       } catch (Exception e) {
+         error = e;
          SwingErrorLogger logger = new SwingErrorLogger();
          logger.showRuntimeException(e);
-         this.exception = e;
+      } finally {
+         // the result dialog may already be shown if the query fails after its first rows, so it must always be finalized
+         Exception theError = error;
+         SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+               showEndOfResult(theError);
+            }
+         });
       }
    }
 
-   @Override
-   public void endAction() {
-      if (exception == null) {
-         DefaultMDIDialogBuilder builder = new DefaultMDIDialogBuilder("SPARQL Result");
-
-         JMenuBar menubar = new JMenuBar();
-         builder.setJMenuBar(menubar);
-         JMenu menu = new JMenu("File");
-         menubar.add(menu);
-         AbstractAction saveSPARQLAction = new AbstractAction("Save SPARQL") {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-               String queryAsString;
-               if (!helper.hasPrefix(sparql)) {
-                  queryAsString = helper.addPrefixToRequest(sparql);
-               } else {
-                  queryAsString = sparql;
-               }
-               helper.saveSPARQL(queryAsString);
-            }
-         };
-         menu.add(new JMenuItem(saveSPARQLAction));
+   /**
+    * Return the number of lines of the prefixes which are added to the request, to report the position of parse errors in the
+    * request as it was typed.
+    */
+   private int getPrefixLinesCount() {
+      if (!BrowserConfiguration.getInstance().addPrefixInSPARQL || helper.hasPrefix(sparql)) {
+         return 0;
+      }
+      String queryAsString = helper.addPrefixToRequest(sparql);
+      String[] lines = sparql.split("\r\n|\r|\n");
+      String[] lines2 = queryAsString.split("\r\n|\r|\n");
+      return lines2.length - lines.length;
+   }
 
-         AbstractAction saveResultAction = new AbstractAction("Save Result") {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-               saveResult(resultAsString);
+   private SPARQLResultStreamer createStreamer() {
+      SPARQLResultStreamer theStreamer = new SPARQLResultStreamer(query, model);
+      if (isSchemaAware) {
+         theStreamer.setSchemaAware(schema);
+      }
+      return theStreamer;
+   }
+
+   private void showResult(List<String> variables) {
+      tableModel = new SPARQLResultTableModel(query.getPrefixMapping());
+      tableModel.setColumns(variables);
+      DefaultMDIDialogBuilder builder = new DefaultMDIDialogBuilder("SPARQL Result");
+
+      JMenuBar menubar = new JMenuBar();
+      builder.setJMenuBar(menubar);
+      JMenu menu = new JMenu("File");
+      menubar.add(menu);
+      AbstractAction saveSPARQLAction = new AbstractAction("Save SPARQL") {
+         @Override
+         public void actionPerformed(ActionEvent e) {
+            String queryAsString;
+            if (!helper.hasPrefix(sparql)) {
+               queryAsString = helper.addPrefixToRequest(sparql);
+            } else {
+               queryAsString = sparql;
             }
-         };
-         menu.add(new JMenuItem(saveResultAction));
-
-         JTextArea area = new JTextArea(40, 40);
-         area.setText(resultAsString);
-         builder.setResizable(true);
-         builder.addVerticalDialogPart(new JScrollPane(area));
-         GUIApplication guiAppli = (GUIApplication) app;
-         guiAppli.showDialog(builder, MDIDialogType.UNIQUE_INSTANCE);
+            helper.saveSPARQL(queryAsString);
+         }
+      };
+      menu.add(new JMenuItem(saveSPARQLAction));
+
+      AbstractAction saveResultAction = new AbstractAction("Save Result") {
+         @Override
+         public void actionPerformed(ActionEvent e) {
+            saveResult();
+         }
+      };
+      menu.add(new JMenuItem(saveResultAction));
+
+      JPanel pane = new JPanel();
+      pane.setLayout(new BorderLayout());
+      JTable table = new JTable(tableModel);
+      table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+      pane.add(new JScrollPane(table), BorderLayout.CENTER);
+      JPanel statusPanel = new JPanel();
+      statusPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
+      cancelAction = new AbstractAction("Cancel") {
+         @Override
+         public void actionPerformed(ActionEvent e) {
+            streamer.cancel();
+            setEnabled(false);
+         }
+      };
+      statusPanel.add(new JButton(cancelAction));
+      statusLabel = new JLabel("Executing...");
+      statusPanel.add(statusLabel);
+      pane.add(statusPanel, BorderLayout.SOUTH);
+
+      builder.setResizable(true);
+      builder.addVerticalDialogPart(pane);
+      GUIApplication guiAppli = (GUIApplication) app;
+      guiAppli.showDialog(builder, MDIDialogType.UNIQUE_INSTANCE);
+   }
+
+   private void showEndOfResult(Exception error) {
+      if (statusLabel == null) {
+         return;
       }
+      cancelAction.setEnabled(false);
+      StringBuilder buf = new StringBuilder();
+      buf.append(streamer.getRowsCount()).append(" rows");
+      if (error != null) {
+         buf.append(" (failed: ").append(error.getMessage()).append(")");
+      } else if (streamer.isCancelled()) {
+         buf.append(" (cancelled)");
+      } else if (streamer.isTruncated()) {
+         buf.append(" (limited to the first ").append(streamer.getRowsCount()).append(" rows)");
+      }
+      statusLabel.setText(buf.toString());
    }
 
-   private void saveResult(String sparql) {
+   private void saveResult() {
       JFileChooser chooser = new JFileChooser("Save Result");
       chooser.setDialogType(JFileChooser.SAVE_DIALOG);
       BrowserConfiguration conf = BrowserConfiguration.getInstance();
-      chooser.setFileFilter(conf.txtfilter);
+      chooser.setFileFilter(conf.sparqlResultfilter);
       chooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
       chooser.setCurrentDirectory(conf.getDefaultDirectory());
       if (chooser.showSaveDialog(((GUIApplication) app).getApplicationWindow()) == JFileChooser.APPROVE_OPTION) {
          File file = chooser.getSelectedFile();
-         file = FileUtilities.getCompatibleFile(file, "txt");
-         try ( BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            writer.write(sparql);
-            writer.flush();
-         } catch (IOException e) {
-         }
+         file = FileUtilities.getCompatibleFile(file, RESULT_EXTENSIONS, "csv");
+         SaveSPARQLResultAction action = new SaveSPARQLResultAction(app, createStreamer(), file);
+         app.executeAction(action);
       }
    }
 }
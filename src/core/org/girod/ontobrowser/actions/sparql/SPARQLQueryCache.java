@@ -0,0 +1,298 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions.sparql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QueryParseException;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * A cache of the parsed SPARQL queries of a schema. The queries are keyed by their normalized text and the prefixes which are added
+ * to the request, so that a query which is executed several times is only prefixed and parsed once. The text is normalized by
+ * collapsing the whitespaces which are outside string literals and IRIs.
+ *
+ * The queries returned by the cache are shared and must not be modified. Use a {@link SPARQLTemplate} to execute the same query
+ * with different values for its variables.
+ *
+ * @since 0.18
+ */
+public class SPARQLQueryCache {
+   /**
+    * The default maximum number of queries in the cache.
+    */
+   public static final int DEFAULT_MAXIMUM_SIZE = 64;
+   private static final Map<OwlSchema, SPARQLQueryCache> caches = new WeakHashMap<>();
+   private final SparqlActionHelper helper;
+   private final LinkedHashMap<String, Query> queries;
+   private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+   private int hitCount = 0;
+   private int missCount = 0;
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema
+    */
+   public SPARQLQueryCache(OwlSchema schema) {
+      this.helper = new SparqlActionHelper(schema);
+      this.queries = new LinkedHashMap<String, Query>(16, 0.75f, true) {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<String, Query> eldest) {
+            return size() > maximumSize;
+         }
+      };
+   }
+
+   /**
+    * Return the cache of a schema. The cache is created if it does not exist already.
+    *
+    * @param schema the schema
+    * @return the cache
+    */
+   public static SPARQLQueryCache getCache(OwlSchema schema) {
+      synchronized (caches) {
+         SPARQLQueryCache cache = caches.get(schema);
+         if (cache == null) {
+            cache = new SPARQLQueryCache(schema);
+            caches.put(schema, cache);
+         }
+         return cache;
+      }
+   }
+
+   /**
+    * Set the maximum number of queries in the cache. The least recently used queries are removed first.
+    *
+    * @param maximumSize the maximum number of queries
+    */
+   public synchronized void setMaximumSize(int maximumSize) {
+      this.maximumSize = Math.max(1, maximumSize);
+      while (queries.size() > this.maximumSize) {
+         String eldest = queries.keySet().iterator().next();
+         queries.remove(eldest);
+      }
+   }
+
+   /**
+    * Return the maximum number of queries in the cache.
+    *
+    * @return the maximum number of queries
+    */
+   public synchronized int getMaximumSize() {
+      return maximumSize;
+   }
+
+   /**
+    * Return the number of queries in the cache.
+    *
+    * @return the number of queries
+    */
+   public synchronized int size() {
+      return queries.size();
+   }
+
+   /**
+    * Return the number of requests which have been found in the cache.
+    *
+    * @return the number of requests
+    */
+   public synchronized int getHitCount() {
+      return hitCount;
+   }
+
+   /**
+    * Return the number of requests which have been parsed.
+    *
+    * @return the number of requests
+    */
+   public synchronized int getMissCount() {
+      return missCount;
+   }
+
+   /**
+    * Remove all the queries of the cache.
+    */
+   public synchronized void clear() {
+      queries.clear();
+      hitCount = 0;
+      missCount = 0;
+   }
+
+   /**
+    * Return the parsed query for a SPARQL request. The prefixes of the schema are added to the request if the configuration specifies it
+    * and the request has no prefixes.
+    *
+    * @param sparql the SPARQL request
+    * @return the query
+    * @throws QueryParseException if the request can not be parsed
+    */
+   public Query getQuery(String sparql) throws QueryParseException {
+      boolean addPrefix = BrowserConfiguration.getInstance().addPrefixInSPARQL;
+      String key = getPrefixesKey(addPrefix) + normalize(sparql);
+      synchronized (this) {
+         Query query = queries.get(key);
+         if (query != null) {
+            hitCount++;
+            return query;
+         }
+      }
+      String queryAsString = sparql;
+      if (addPrefix && !helper.hasPrefix(sparql)) {
+         queryAsString = helper.addPrefixToRequest(sparql);
+      }
+      Query query = QueryFactory.create(queryAsString);
+      synchronized (this) {
+         missCount++;
+         queries.put(key, query);
+      }
+      return query;
+   }
+
+   /**
+    * Return a new template for a SPARQL request. The query of the template is taken from the cache.
+    *
+    * @param sparql the SPARQL request
+    * @return the template
+    * @throws QueryParseException if the request can not be parsed
+    */
+   public SPARQLTemplate getTemplate(String sparql) throws QueryParseException {
+      return new SPARQLTemplate(getQuery(sparql));
+   }
+
+   private String getPrefixesKey(boolean addPrefix) {
+      if (!addPrefix) {
+         return "-\n";
+      }
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      StringBuilder buf = new StringBuilder();
+      buf.append(conf.addGeoSPARQLPrefixInSPARQL ? 'G' : '-');
+      buf.append(conf.addOwlTimePrefixInSPARQL ? 'T' : '-');
+      buf.append(conf.schemaAwareSPARQL ? 'S' : '-');
+      buf.append(conf.basePrefix).append('\n');
+      return buf.toString();
+   }
+
+   /**
+    * Normalize a SPARQL request. The whitespaces outside string literals and IRIs are collapsed to one space, or one new line if they
+    * contain a new line, so that the comments still end at the end of their line. The leading and trailing whitespaces are removed.
+    *
+    * @param sparql the SPARQL request
+    * @return the normalized request
+    */
+   public static String normalize(String sparql) {
+      int length = sparql.length();
+      StringBuilder buf = new StringBuilder(length);
+      int i = 0;
+      while (i < length) {
+         char c = sparql.charAt(i);
+         if (Character.isWhitespace(c)) {
+            boolean hasNewLine = false;
+            while (i < length && Character.isWhitespace(sparql.charAt(i))) {
+               char c2 = sparql.charAt(i);
+               if (c2 == '\n' || c2 == '\r') {
+                  hasNewLine = true;
+               }
+               i++;
+            }
+            if (buf.length() > 0 && i < length) {
+               buf.append(hasNewLine ? '\n' : ' ');
+            }
+         } else if (c == '"' || c == '\'') {
+            int end = getEndOfString(sparql, i, c);
+            buf.append(sparql, i, end);
+            i = end;
+         } else if (c == '<') {
+            int end = getEndOfIRI(sparql, i);
+            buf.append(sparql, i, end);
+            i = end;
+         } else if (c == '#') {
+            int end = i;
+            while (end < length && sparql.charAt(end) != '\n' && sparql.charAt(end) != '\r') {
+               end++;
+            }
+            buf.append(sparql, i, end);
+            i = end;
+         } else {
+            buf.append(c);
+            i++;
+         }
+      }
+      return buf.toString();
+   }
+
+   private static int getEndOfString(String sparql, int start, char quote) {
+      int length = sparql.length();
+      boolean isLong = start + 2 < length && sparql.charAt(start + 1) == quote && sparql.charAt(start + 2) == quote;
+      int i = isLong ? start + 3 : start + 1;
+      while (i < length) {
+         char c = sparql.charAt(i);
+         if (c == '\\') {
+            i += 2;
+         } else if (c == quote) {
+            if (!isLong) {
+               return i + 1;
+            } else if (i + 2 < length && sparql.charAt(i + 1) == quote && sparql.charAt(i + 2) == quote) {
+               return i + 3;
+            } else {
+               i++;
+            }
+         } else if (!isLong && (c == '\n' || c == '\r')) {
+            return i;
+         } else {
+            i++;
+         }
+      }
+      return length;
+   }
+
+   private static int getEndOfIRI(String sparql, int start) {
+      int length = sparql.length();
+      int i = start + 1;
+      while (i < length) {
+         char c = sparql.charAt(i);
+         if (c == '>') {
+            return i + 1;
+         } else if (c <= ' ' || c == '<' || c == '"' || c == '{' || c == '}' || c == '|' || c == '^' || c == '`' || c == '\\') {
+            // this is not an IRI but a comparison operator
+            return start + 1;
+         }
+         i++;
+      }
+      return start + 1;
+   }
+}
@@ -0,0 +1,291 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions.sparql;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryCancelledException;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.mdiutil.io.FileUtilities;
+
+/**
+ * Executes a SPARQL SELECT query and streams its results. The rows of the result are consumed incrementally and sent to a listener by
+ * batches, so that they can be shown before the end of the query. The number of rows can be limited, and the query can be cancelled
+ * from another Thread.
+ *
+ * The results can also be written to a CSV, TSV, or JSON file without keeping them in memory.
+ *
+ * @since 0.18
+ */
+public class SPARQLResultStreamer {
+   /**
+    * The CSV format.
+    */
+   public static final short FORMAT_CSV = 0;
+   /**
+    * The TSV format.
+    */
+   public static final short FORMAT_TSV = 1;
+   /**
+    * The JSON format.
+    */
+   public static final short FORMAT_JSON = 2;
+   private final Query query;
+   private final Model model;
+   private int rowLimit = -1;
+   private int batchSize = 500;
+   private QuerySolution initialBinding = null;
+   private OwlSchema schema = null;
+   private volatile QueryExecution qexec = null;
+   private volatile boolean isCancelled = false;
+   private boolean isTruncated = false;
+   private int rowsCount = 0;
+
+   /**
+    * The listener which is notified of the results of the query.
+    */
+   public interface RowsListener {
+      /**
+       * Called when the variables of the result are known, before the first rows.
+       *
+       * @param variables the variables
+       */
+      public void variablesFound(List<String> variables);
+
+      /**
+       * Called for each batch of rows. Each row has one value for each variable, which is null if the variable is not bound.
+       *
+       * @param rows the rows
+       */
+      public void rowsAdded(List<RDFNode[]> rows);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param query the query
+    * @param model the model
+    */
+   public SPARQLResultStreamer(Query query, Model model) {
+      this.query = query;
+      this.model = model;
+   }
+
+   /**
+    * Set the maximum number of rows. The default is no limit.
+    *
+    * @param rowLimit the maximum number of rows, or -1 for no limit
+    */
+   public void setRowLimit(int rowLimit) {
+      this.rowLimit = rowLimit;
+   }
+
+   /**
+    * Set the values of variables of the query which are bound before its execution.
+    *
+    * @param initialBinding the values of the variables, or null if there are none
+    */
+   public void setInitialBinding(QuerySolution initialBinding) {
+      this.initialBinding = initialBinding;
+   }
+
+   /**
+    * Set the schema used to execute the query as a schema-aware query. If the schema is not null, the query is executed on the raw
+    * model of the schema rather than on the model of this streamer.
+    *
+    * @param schema the schema, or null if the query is not schema-aware
+    * @see SchemaAwareSPARQL
+    */
+   public void setSchemaAware(OwlSchema schema) {
+      this.schema = schema;
+   }
+
+   /**
+    * Set the number of rows which are sent to the listener at once.
+    *
+    * @param batchSize the number of rows
+    */
+   public void setBatchSize(int batchSize) {
+      this.batchSize = Math.max(1, batchSize);
+   }
+
+   /**
+    * Return the number of rows which have been sent to the listener.
+    *
+    * @return the number of rows
+    */
+   public int getRowsCount() {
+      return rowsCount;
+   }
+
+   /**
+    * Return true if the result has more rows than the limit.
+    *
+    * @return true if the result has more rows than the limit
+    */
+   public boolean isTruncated() {
+      return isTruncated;
+   }
+
+   /**
+    * Return true if the query has been cancelled.
+    *
+    * @return true if the query has been cancelled
+    */
+   public boolean isCancelled() {
+      return isCancelled;
+   }
+
+   /**
+    * Cancel the query. This method can be called from any Thread.
+    */
+   public void cancel() {
+      isCancelled = true;
+      QueryExecution exec = qexec;
+      if (exec != null) {
+         exec.abort();
+      }
+   }
+
+   private QueryExecution createExecution() {
+      if (schema != null) {
+         return SchemaAwareSPARQL.createExecution(schema, query, initialBinding);
+      } else if (initialBinding == null) {
+         return QueryExecutionFactory.create(query, model);
+      } else {
+         return QueryExecutionFactory.create(query, model, initialBinding);
+      }
+   }
+
+   /**
+    * Execute the query and send its rows to a listener. The listener is called in the Thread of this method.
+    *
+    * @param listener the listener
+    * @return the number of rows
+    */
+   public int stream(RowsListener listener) {
+      rowsCount = 0;
+      isTruncated = false;
+      List<RDFNode[]> batch = new ArrayList<>();
+      try (QueryExecution exec = createExecution()) {
+         qexec = exec;
+         if (isCancelled) {
+            return rowsCount;
+         }
+         ResultSet results = exec.execSelect();
+         List<String> variables = results.getResultVars();
+         listener.variablesFound(variables);
+         int size = variables.size();
+         while (!isCancelled && results.hasNext()) {
+            if (rowLimit >= 0 && rowsCount + batch.size() >= rowLimit) {
+               isTruncated = true;
+               break;
+            }
+            QuerySolution solution = results.next();
+            RDFNode[] row = new RDFNode[size];
+            for (int i = 0; i < size; i++) {
+               row[i] = solution.get(variables.get(i));
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+               rowsCount += batch.size();
+               listener.rowsAdded(batch);
+               batch = new ArrayList<>();
+            }
+         }
+      } catch (QueryCancelledException e) {
+         isCancelled = true;
+      } finally {
+         qexec = null;
+      }
+      if (!batch.isEmpty()) {
+         rowsCount += batch.size();
+         listener.rowsAdded(batch);
+      }
+      return rowsCount;
+   }
+
+   /**
+    * Return the format to use for a file, depending on its extension. The default is the CSV format.
+    *
+    * @param file the file
+    * @return the format
+    */
+   public static short getFormat(File file) {
+      String extension = FileUtilities.getFileExtension(file);
+      if (extension == null) {
+         return FORMAT_CSV;
+      }
+      extension = extension.toLowerCase();
+      if (extension.equals("tsv")) {
+         return FORMAT_TSV;
+      } else if (extension.equals("json")) {
+         return FORMAT_JSON;
+      } else {
+         return FORMAT_CSV;
+      }
+   }
+
+   /**
+    * Execute the query and write all its rows to a stream. The rows are written as they are found, without keeping them in memory.
+    *
+    * @param stream the stream
+    * @param format the format
+    */
+   public void write(OutputStream stream, short format) {
+      try (QueryExecution exec = createExecution()) {
+         ResultSet results = exec.execSelect();
+         switch (format) {
+            case FORMAT_TSV:
+               ResultSetFormatter.outputAsTSV(stream, results);
+               break;
+            case FORMAT_JSON:
+               ResultSetFormatter.outputAsJSON(stream, results);
+               break;
+            default:
+               ResultSetFormatter.outputAsCSV(stream, results);
+               break;
+         }
+      }
+   }
+}
@@ -0,0 +1,179 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions.sparql;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+import org.apache.jena.datatypes.DatatypeFormatException;
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.serializer.SerializationContext;
+import org.apache.jena.sparql.util.FmtUtils;
+
+/**
+ * The table model of the result of a SPARQL query. The rows are added by batches while the query is executed, and are kept in pages of
+ * fixed size, so that adding rows never copies the rows which have already been added.
+ *
+ * The values are converted when the rows are added: the numeric and boolean literals keep their Java value, the other literals are
+ * presented by their lexical form, and the resources are presented with the prefixes of the query. A column has the Number or Boolean
+ * class if all its values have this type, so that the table can present them accordingly.
+ *
+ * This model must only be used in the Swing Thread.
+ *
+ * @since 0.18
+ */
+public class SPARQLResultTableModel extends AbstractTableModel {
+   private static final int PAGE_SIZE = 1024;
+   private final SerializationContext context;
+   private final List<Object[][]> pages = new ArrayList<>();
+   private List<String> columns = new ArrayList<>();
+   private Class<?>[] columnClasses = new Class<?>[0];
+   private int rowCount = 0;
+
+   /**
+    * Constructor.
+    *
+    * @param prefixes the prefixes used to present the resources
+    */
+   public SPARQLResultTableModel(PrefixMapping prefixes) {
+      this.context = new SerializationContext(prefixes);
+   }
+
+   /**
+    * Set the columns of the result. It removes all the rows.
+    *
+    * @param variables the variables of the result
+    */
+   public void setColumns(List<String> variables) {
+      this.columns = new ArrayList<>(variables);
+      this.columnClasses = new Class<?>[variables.size()];
+      pages.clear();
+      rowCount = 0;
+      fireTableStructureChanged();
+   }
+
+   /**
+    * Add rows at the end of the table.
+    *
+    * @param rows the rows
+    */
+   public void addRows(List<RDFNode[]> rows) {
+      if (rows.isEmpty()) {
+         return;
+      }
+      int firstRow = rowCount;
+      Iterator<RDFNode[]> it = rows.iterator();
+      while (it.hasNext()) {
+         RDFNode[] row = it.next();
+         int pageIndex = rowCount / PAGE_SIZE;
+         if (pageIndex == pages.size()) {
+            pages.add(new Object[PAGE_SIZE][]);
+         }
+         Object[] values = new Object[columns.size()];
+         for (int i = 0; i < values.length; i++) {
+            values[i] = getValue(row[i]);
+            updateColumnClass(i, values[i]);
+         }
+         pages.get(pageIndex)[rowCount % PAGE_SIZE] = values;
+         rowCount++;
+      }
+      fireTableRowsInserted(firstRow, rowCount - 1);
+   }
+
+   private Object getValue(RDFNode node) {
+      if (node == null) {
+         return null;
+      } else if (node.isLiteral()) {
+         Literal literal = node.asLiteral();
+         try {
+            Object value = literal.getValue();
+            if (value instanceof Number || value instanceof Boolean) {
+               return value;
+            }
+         } catch (DatatypeFormatException e) {
+         }
+         return literal.getLexicalForm();
+      } else {
+         return FmtUtils.stringForRDFNode(node, context);
+      }
+   }
+
+   private void updateColumnClass(int column, Object value) {
+      if (value == null) {
+         return;
+      }
+      Class<?> theClass;
+      if (value instanceof Number) {
+         theClass = Number.class;
+      } else if (value instanceof Boolean) {
+         theClass = Boolean.class;
+      } else {
+         theClass = String.class;
+      }
+      Class<?> columnClass = columnClasses[column];
+      if (columnClass == null) {
+         columnClasses[column] = theClass;
+      } else if (columnClass != theClass) {
+         columnClasses[column] = String.class;
+      }
+   }
+
+   @Override
+   public int getRowCount() {
+      return rowCount;
+   }
+
+   @Override
+   public int getColumnCount() {
+      return columns.size();
+   }
+
+   @Override
+   public String getColumnName(int column) {
+      return columns.get(column);
+   }
+
+   @Override
+   public Class<?> getColumnClass(int column) {
+      Class<?> columnClass = columnClasses[column];
+      return columnClass == null ? Object.class : columnClass;
+   }
+
+   @Override
+   public Object getValueAt(int row, int column) {
+      return pages.get(row / PAGE_SIZE)[row % PAGE_SIZE][column];
+   }
+}
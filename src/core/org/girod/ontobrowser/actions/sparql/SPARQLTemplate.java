@@ -0,0 +1,197 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions.sparql;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.QuerySolutionMap;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.ResourceFactory;
+
+/**
+ * A parameterized SPARQL query. The variables of the query can be bound to values before each execution, without parsing the query
+ * again. For example:
+ * <pre>
+ *    SPARQLTemplate template = SPARQLQueryCache.getCache(schema).getTemplate("SELECT ?p ?o WHERE { ?s ?p ?o }");
+ *    template.bindResource("s", "http://example.org#Pizza");
+ *    List&lt;QuerySolution&gt; solutions = template.select(model);
+ * </pre>
+ *
+ * The parsed query is shared and is never modified by the template. A template is not thread-safe, but several templates can share
+ * the same query.
+ *
+ * @since 0.18
+ */
+public class SPARQLTemplate {
+   private final Query query;
+   private QuerySolutionMap bindings = new QuerySolutionMap();
+
+   /**
+    * Constructor.
+    *
+    * @param query the query
+    */
+   public SPARQLTemplate(Query query) {
+      this.query = query;
+   }
+
+   /**
+    * Return the query.
+    *
+    * @return the query
+    */
+   public Query getQuery() {
+      return query;
+   }
+
+   /**
+    * Bind a variable to a value.
+    *
+    * @param varName the variable name, without the leading "?"
+    * @param value the value
+    * @return this template
+    */
+   public SPARQLTemplate bind(String varName, RDFNode value) {
+      bindings.add(getVarName(varName), value);
+      return this;
+   }
+
+   /**
+    * Bind a variable to a resource.
+    *
+    * @param varName the variable name, without the leading "?"
+    * @param uri the URI of the resource
+    * @return this template
+    */
+   public SPARQLTemplate bindResource(String varName, String uri) {
+      return bind(varName, ResourceFactory.createResource(uri));
+   }
+
+   /**
+    * Bind a variable to a typed literal. The datatype of the literal is deduced from the class of the value.
+    *
+    * @param varName the variable name, without the leading "?"
+    * @param value the value
+    * @return this template
+    */
+   public SPARQLTemplate bindLiteral(String varName, Object value) {
+      return bind(varName, ResourceFactory.createTypedLiteral(value));
+   }
+
+   /**
+    * Remove all the bindings of the template.
+    */
+   public void clearBindings() {
+      bindings = new QuerySolutionMap();
+   }
+
+   /**
+    * Return the current bindings of the template.
+    *
+    * @return the bindings
+    */
+   public QuerySolution getBindings() {
+      return bindings;
+   }
+
+   private static String getVarName(String varName) {
+      if (varName.startsWith("?") || varName.startsWith("$")) {
+         return varName.substring(1);
+      } else {
+         return varName;
+      }
+   }
+
+   /**
+    * Create a query execution on a model, with the current bindings of the template.
+    *
+    * @param model the model
+    * @return the query execution
+    */
+   public QueryExecution createExecution(Model model) {
+      return QueryExecutionFactory.create(query, model, copyBindings());
+   }
+
+   private QuerySolutionMap copyBindings() {
+      QuerySolutionMap copy = new QuerySolutionMap();
+      copy.addAll(bindings);
+      return copy;
+   }
+
+   /**
+    * Create a streamer which executes the query on a model, with the current bindings of the template.
+    *
+    * @param model the model
+    * @return the streamer
+    */
+   public SPARQLResultStreamer createStreamer(Model model) {
+      SPARQLResultStreamer streamer = new SPARQLResultStreamer(query, model);
+      streamer.setInitialBinding(copyBindings());
+      return streamer;
+   }
+
+   /**
+    * Execute a SELECT query on a model and return all its solutions.
+    *
+    * @param model the model
+    * @return the solutions
+    */
+   public List<QuerySolution> select(Model model) {
+      List<QuerySolution> solutions = new ArrayList<>();
+      try (QueryExecution exec = createExecution(model)) {
+         ResultSet results = exec.execSelect();
+         while (results.hasNext()) {
+            solutions.add(results.next());
+         }
+      }
+      return solutions;
+   }
+
+   /**
+    * Execute an ASK query on a model.
+    *
+    * @param model the model
+    * @return the result of the query
+    */
+   public boolean ask(Model model) {
+      try (QueryExecution exec = createExecution(model)) {
+         return exec.execAsk();
+      }
+   }
+}
@@ -0,0 +1,76 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions.sparql;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import org.girod.ontobrowser.gui.errors.SwingErrorLogger;
+import org.mdi.bootstrap.MDIApplication;
+import org.mdi.bootstrap.swing.AbstractMDIAction;
+
+/**
+ * The action which saves the result of a SPARQL query in a CSV, TSV, or JSON file. The query is executed again, and its rows are
+ * written as they are found, so the result is never kept in memory and is not limited to the rows shown in the result dialog.
+ *
+ * @since 0.18
+ */
+public class SaveSPARQLResultAction extends AbstractMDIAction {
+   private final SPARQLResultStreamer streamer;
+   private final File file;
+
+   /**
+    * Constructor.
+    *
+    * @param app the application
+    * @param streamer the streamer of the query
+    * @param file the file
+    */
+   public SaveSPARQLResultAction(MDIApplication app, SPARQLResultStreamer streamer, File file) {
+      super(app, "Save SPARQL Result");
+      this.streamer = streamer;
+      this.file = file;
+      this.setDescription("Save SPARQL Result", "Save SPARQL Result");
+   }
+
+   @Override
+   public void run() throws Exception {
+      try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file), 65536)) {
+         streamer.write(stream, SPARQLResultStreamer.getFormat(file));
+      } catch (Exception e) {
+         SwingErrorLogger logger = new SwingErrorLogger();
+         logger.showRuntimeException(e);
+      }
+   }
+}
@@ -0,0 +1,184 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions.sparql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlDatatype;
+import org.girod.ontobrowser.model.OwlDatatypeProperty;
+import org.girod.ontobrowser.model.OwlObjectProperty;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.utils.ClassClosureIndex;
+
+/**
+ * The index used by the schema-aware SPARQL property functions. It maps the nodes of the classes and properties of a schema to
+ * their elements, and uses the closure index of the schema for the classes hierarchy.
+ *
+ * @since 0.18
+ */
+class SchemaAwareIndex {
+   private final ClassClosureIndex closureIndex;
+   private final Map<Node, OwlClass> classes = new HashMap<>();
+   private final Map<OwlClass, Node> classNodes = new HashMap<>();
+   private final Map<Node, List<Node>> domains = new HashMap<>();
+   private final Map<Node, List<Node>> ranges = new HashMap<>();
+   private final Map<Node, List<Node>> domainProperties = new HashMap<>();
+   private final Map<Node, List<Node>> rangeProperties = new HashMap<>();
+
+   SchemaAwareIndex(OwlSchema schema) {
+      this.closureIndex = schema.getClosureIndex();
+      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
+      while (it.hasNext()) {
+         OwlClass owlClass = it.next();
+         Node node = createNode(owlClass.getKey());
+         classes.put(node, owlClass);
+         classNodes.put(owlClass, node);
+      }
+      Iterator<OwlProperty> it2 = schema.getOwlProperties().values().iterator();
+      while (it2.hasNext()) {
+         OwlProperty property = it2.next();
+         Node propertyNode = createNode(property.getKey());
+         Iterator<Map.Entry<ElementKey, OwlClass>> it3 = property.getDomainIterator();
+         while (it3.hasNext()) {
+            addRelation(domains, domainProperties, propertyNode, createNode(it3.next().getKey()));
+         }
+         if (property instanceof OwlObjectProperty) {
+            it3 = ((OwlObjectProperty) property).getRangeIterator();
+            while (it3.hasNext()) {
+               addRelation(ranges, rangeProperties, propertyNode, createNode(it3.next().getKey()));
+            }
+         } else if (property instanceof OwlDatatypeProperty) {
+            Iterator<OwlDatatype> it4 = ((OwlDatatypeProperty) property).getTypes().values().iterator();
+            while (it4.hasNext()) {
+               addRelation(ranges, rangeProperties, propertyNode, createNode(it4.next().getKey()));
+            }
+         }
+      }
+   }
+
+   private static Node createNode(ElementKey key) {
+      return NodeFactory.createURI(key.getNamespace() + key.getName());
+   }
+
+   private static void addRelation(Map<Node, List<Node>> forward, Map<Node, List<Node>> backward, Node subject, Node object) {
+      List<Node> objects = forward.get(subject);
+      if (objects == null) {
+         objects = new ArrayList<>();
+         forward.put(subject, objects);
+      }
+      if (!objects.contains(object)) {
+         objects.add(object);
+         List<Node> subjects = backward.get(object);
+         if (subjects == null) {
+            subjects = new ArrayList<>();
+            backward.put(object, subjects);
+         }
+         subjects.add(subject);
+      }
+   }
+
+   /**
+    * Return true if the index is still valid for the schema, which means that the classes or properties of the schema have not changed
+    * since the index was created.
+    */
+   boolean isValid(OwlSchema schema) {
+      return schema.getClosureIndex() == closureIndex;
+   }
+
+   /**
+    * Return the nodes of the classes of the schema.
+    */
+   Iterator<Node> getClasses() {
+      return classes.keySet().iterator();
+   }
+
+   /**
+    * Return the node and the nodes of the ancestors of a class. A node which is not a class of the schema has no ancestors.
+    */
+   List<Node> getAncestorsOrSelf(Node node) {
+      OwlClass owlClass = classes.get(node);
+      if (owlClass == null) {
+         return Collections.singletonList(node);
+      }
+      return getNodes(node, closureIndex.getAncestors(owlClass));
+   }
+
+   /**
+    * Return the node and the nodes of the descendants of a class. A node which is not a class of the schema has no descendants.
+    */
+   List<Node> getDescendantsOrSelf(Node node) {
+      OwlClass owlClass = classes.get(node);
+      if (owlClass == null) {
+         return Collections.singletonList(node);
+      }
+      return getNodes(node, closureIndex.getDescendants(owlClass));
+   }
+
+   private List<Node> getNodes(Node node, Map<ElementKey, OwlClass> relatives) {
+      List<Node> nodes = new ArrayList<>(relatives.size() + 1);
+      nodes.add(node);
+      Iterator<OwlClass> it = relatives.values().iterator();
+      while (it.hasNext()) {
+         Node relative = classNodes.get(it.next());
+         if (relative != null) {
+            nodes.add(relative);
+         }
+      }
+      return nodes;
+   }
+
+   Map<Node, List<Node>> getDomains() {
+      return domains;
+   }
+
+   Map<Node, List<Node>> getDomainProperties() {
+      return domainProperties;
+   }
+
+   Map<Node, List<Node>> getRanges() {
+      return ranges;
+   }
+
+   Map<Node, List<Node>> getRangeProperties() {
+      return rangeProperties;
+   }
+}
@@ -0,0 +1,235 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions.sparql;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.sparql.core.TriplePath;
+import org.apache.jena.sparql.path.P_Link;
+import org.apache.jena.sparql.path.P_Path1;
+import org.apache.jena.sparql.path.P_Seq;
+import org.apache.jena.sparql.path.P_ZeroOrMore1;
+import org.apache.jena.sparql.path.P_ZeroOrMoreN;
+import org.apache.jena.sparql.path.Path;
+import org.apache.jena.sparql.pfunction.PropertyFunction;
+import org.apache.jena.sparql.pfunction.PropertyFunctionFactory;
+import org.apache.jena.sparql.pfunction.PropertyFunctionRegistry;
+import org.apache.jena.sparql.syntax.Element;
+import org.apache.jena.sparql.syntax.ElementPathBlock;
+import org.apache.jena.sparql.syntax.syntaxtransform.ElementTransformCopyBase;
+import org.apache.jena.sparql.syntax.syntaxtransform.QueryTransformOps;
+import org.apache.jena.sparql.util.Symbol;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * The schema-aware SPARQL queries. These queries are executed on the raw model of a schema, without any inference, and the
+ * hierarchy of the classes and the domain and range of the properties are answered from the schema rather than computed by the
+ * reasoner of the model. The following property functions are available:
+ * <ul>
+ * <li>{@link #SUB_CLASS_OF}: the subject is the object or one of its sub-classes, as for <code>rdfs:subClassOf*</code></li>
+ * <li>{@link #INSTANCE_OF}: the subject is an instance of the object or one of its sub-classes, as for
+ * <code>rdf:type/rdfs:subClassOf*</code></li>
+ * <li>{@link #DOMAIN}: the object is a class of the domain of the property</li>
+ * <li>{@link #RANGE}: the object is a class or a datatype of the range of the property</li>
+ * </ul>
+ * The <code>rdfs:subClassOf*</code> and <code>rdf:type/rdfs:subClassOf*</code> property paths are rewritten to the corresponding property
+ * functions, so that existing queries benefit from the schema without being modified. All the other patterns are matched on the raw model.
+ *
+ * @since 0.18
+ */
+public class SchemaAwareSPARQL {
+   /**
+    * The namespace of the schema-aware property functions.
+    */
+   public static final String NAMESPACE = "https://github.com/hervegirod/ontologyBrowser/sparql#";
+   /**
+    * The usual prefix of the schema-aware property functions.
+    */
+   public static final String PREFIX = "ob";
+   /**
+    * The sub-class property function.
+    */
+   public static final String SUB_CLASS_OF = NAMESPACE + "subClassOf";
+   /**
+    * The instance property function.
+    */
+   public static final String INSTANCE_OF = NAMESPACE + "instanceOf";
+   /**
+    * The domain property function.
+    */
+   public static final String DOMAIN = NAMESPACE + "domain";
+   /**
+    * The range property function.
+    */
+   public static final String RANGE = NAMESPACE + "range";
+   static final Symbol INDEX = Symbol.create(NAMESPACE + "index");
+   private static final Node SUB_CLASS_OF_NODE = NodeFactory.createURI(SUB_CLASS_OF);
+   private static final Node INSTANCE_OF_NODE = NodeFactory.createURI(INSTANCE_OF);
+   private static final Map<OwlSchema, SchemaAwareIndex> indexes = new WeakHashMap<>();
+   private static boolean isRegistered = false;
+
+   private SchemaAwareSPARQL() {
+   }
+
+   /**
+    * Register the schema-aware property functions. This method is called automatically when creating a schema-aware query execution.
+    */
+   public static synchronized void register() {
+      if (isRegistered) {
+         return;
+      }
+      PropertyFunctionRegistry registry = PropertyFunctionRegistry.get();
+      registry.put(SUB_CLASS_OF, getFactory(SchemaPropertyFunction.SUB_CLASS_OF));
+      registry.put(INSTANCE_OF, getFactory(SchemaPropertyFunction.INSTANCE_OF));
+      registry.put(DOMAIN, getFactory(SchemaPropertyFunction.DOMAIN));
+      registry.put(RANGE, getFactory(SchemaPropertyFunction.RANGE));
+      isRegistered = true;
+   }
+
+   private static PropertyFunctionFactory getFactory(short type) {
+      return new PropertyFunctionFactory() {
+         @Override
+         public PropertyFunction create(String uri) {
+            return new SchemaPropertyFunction(type);
+         }
+      };
+   }
+
+   private static SchemaAwareIndex getIndex(OwlSchema schema) {
+      synchronized (indexes) {
+         SchemaAwareIndex index = indexes.get(schema);
+         if (index == null || !index.isValid(schema)) {
+            index = new SchemaAwareIndex(schema);
+            indexes.put(schema, index);
+         }
+         return index;
+      }
+   }
+
+   /**
+    * Create a schema-aware query execution. The query is rewritten to use the schema-aware property functions, and is executed on the
+    * raw model of the schema.
+    *
+    * @param schema the schema
+    * @param query the query
+    * @param initialBinding the values of variables of the query which are bound before its execution, or null if there are none
+    * @return the query execution
+    */
+   public static QueryExecution createExecution(OwlSchema schema, Query query, QuerySolution initialBinding) {
+      register();
+      Query rewrittenQuery = rewrite(query);
+      Model model = schema.getOntModel().getRawModel();
+      QueryExecution exec;
+      if (initialBinding == null) {
+         exec = QueryExecutionFactory.create(rewrittenQuery, model);
+      } else {
+         exec = QueryExecutionFactory.create(rewrittenQuery, model, initialBinding);
+      }
+      exec.getContext().set(INDEX, getIndex(schema));
+      return exec;
+   }
+
+   /**
+    * Rewrite the <code>rdfs:subClassOf*</code> and <code>rdf:type/rdfs:subClassOf*</code> property paths of a query to the
+    * corresponding schema-aware property functions. The query is not modified.
+    *
+    * @param query the query
+    * @return the rewritten query, or the query itself if it has no such property paths
+    */
+   public static Query rewrite(Query query) {
+      PathsTransform transform = new PathsTransform();
+      Query rewrittenQuery = QueryTransformOps.transform(query, transform);
+      return transform.isChanged ? rewrittenQuery : query;
+   }
+
+   private static Node getPropertyFunction(Path path) {
+      if (path == null) {
+         return null;
+      } else if (isSubClassOfClosure(path)) {
+         return SUB_CLASS_OF_NODE;
+      } else if (path instanceof P_Seq) {
+         P_Seq seq = (P_Seq) path;
+         if (seq.getLeft() instanceof P_Link && ((P_Link) seq.getLeft()).getNode().equals(RDF.type.asNode())
+            && isSubClassOfClosure(seq.getRight())) {
+            return INSTANCE_OF_NODE;
+         }
+      }
+      return null;
+   }
+
+   private static boolean isSubClassOfClosure(Path path) {
+      if (path instanceof P_ZeroOrMore1 || path instanceof P_ZeroOrMoreN) {
+         Path subPath = ((P_Path1) path).getSubPath();
+         return subPath instanceof P_Link && ((P_Link) subPath).getNode().equals(RDFS.subClassOf.asNode());
+      }
+      return false;
+   }
+
+   private static class PathsTransform extends ElementTransformCopyBase {
+      private boolean isChanged = false;
+
+      @Override
+      public Element transform(ElementPathBlock block) {
+         ElementPathBlock newBlock = new ElementPathBlock();
+         boolean isBlockChanged = false;
+         Iterator<TriplePath> it = block.patternElts();
+         while (it.hasNext()) {
+            TriplePath triplePath = it.next();
+            Node function = getPropertyFunction(triplePath.getPath());
+            if (function != null) {
+               newBlock.addTriple(new Triple(triplePath.getSubject(), function, triplePath.getObject()));
+               isBlockChanged = true;
+            } else {
+               newBlock.addTriplePath(triplePath);
+            }
+         }
+         if (isBlockChanged) {
+            isChanged = true;
+            return newBlock;
+         } else {
+            return block;
+         }
+      }
+   }
+}
@@ -0,0 +1,212 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions.sparql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.query.QueryExecException;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.ExecutionContext;
+import org.apache.jena.sparql.engine.QueryIterator;
+import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.engine.binding.BindingFactory;
+import org.apache.jena.sparql.engine.binding.BindingMap;
+import org.apache.jena.sparql.engine.iterator.QueryIterPlainWrapper;
+import org.apache.jena.sparql.pfunction.PFuncSimple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDF;
+
+/**
+ * A schema-aware SPARQL property function. The relation between the subject and the object is answered from the {@link SchemaAwareIndex}
+ * of the query execution rather than from the model.
+ *
+ * @since 0.18
+ */
+class SchemaPropertyFunction extends PFuncSimple {
+   static final short SUB_CLASS_OF = 0;
+   static final short INSTANCE_OF = 1;
+   static final short DOMAIN = 2;
+   static final short RANGE = 3;
+   private final short type;
+
+   SchemaPropertyFunction(short type) {
+      this.type = type;
+   }
+
+   @Override
+   public QueryIterator execEvaluated(Binding binding, Node subject, Node predicate, Node object, ExecutionContext execCxt) {
+      SchemaAwareIndex index = (SchemaAwareIndex) execCxt.getContext().get(SchemaAwareSPARQL.INDEX);
+      if (index == null) {
+         throw new QueryExecException("The " + predicate.getURI() + " property function can only be used in a schema-aware query");
+      }
+      Graph graph = execCxt.getActiveGraph();
+      List<Binding> bindings = new ArrayList<>();
+      if (subject.isConcrete()) {
+         Iterator<Node> it = getObjects(index, graph, subject).iterator();
+         if (object.isConcrete()) {
+            while (it.hasNext()) {
+               if (it.next().equals(object)) {
+                  bindings.add(binding);
+                  break;
+               }
+            }
+         } else {
+            Var var = Var.alloc(object);
+            while (it.hasNext()) {
+               bindings.add(BindingFactory.binding(binding, var, it.next()));
+            }
+         }
+      } else if (object.isConcrete()) {
+         Var var = Var.alloc(subject);
+         Iterator<Node> it = getSubjects(index, graph, object).iterator();
+         while (it.hasNext()) {
+            bindings.add(BindingFactory.binding(binding, var, it.next()));
+         }
+      } else {
+         Var subjectVar = Var.alloc(subject);
+         Var objectVar = Var.alloc(object);
+         boolean isSameVar = subjectVar.equals(objectVar);
+         Iterator<Node> it = getAllSubjects(index, graph).iterator();
+         while (it.hasNext()) {
+            Node theSubject = it.next();
+            Iterator<Node> it2 = getObjects(index, graph, theSubject).iterator();
+            while (it2.hasNext()) {
+               Node theObject = it2.next();
+               if (isSameVar) {
+                  if (theObject.equals(theSubject)) {
+                     bindings.add(BindingFactory.binding(binding, subjectVar, theSubject));
+                  }
+               } else {
+                  BindingMap map = BindingFactory.create(binding);
+                  map.add(subjectVar, theSubject);
+                  map.add(objectVar, theObject);
+                  bindings.add(map);
+               }
+            }
+         }
+      }
+      return new QueryIterPlainWrapper(bindings.iterator(), execCxt);
+   }
+
+   private Iterable<Node> getObjects(SchemaAwareIndex index, Graph graph, Node subject) {
+      switch (type) {
+         case SUB_CLASS_OF:
+            return index.getAncestorsOrSelf(subject);
+         case INSTANCE_OF: {
+            Set<Node> classes = new LinkedHashSet<>();
+            ExtendedIterator<Triple> it = graph.find(subject, RDF.type.asNode(), Node.ANY);
+            try {
+               while (it.hasNext()) {
+                  classes.addAll(index.getAncestorsOrSelf(it.next().getObject()));
+               }
+            } finally {
+               it.close();
+            }
+            return classes;
+         }
+         case DOMAIN:
+            return getList(index.getDomains(), subject);
+         default:
+            return getList(index.getRanges(), subject);
+      }
+   }
+
+   private Iterable<Node> getSubjects(SchemaAwareIndex index, Graph graph, Node object) {
+      switch (type) {
+         case SUB_CLASS_OF:
+            return index.getDescendantsOrSelf(object);
+         case INSTANCE_OF: {
+            Set<Node> individuals = new LinkedHashSet<>();
+            Iterator<Node> it = index.getDescendantsOrSelf(object).iterator();
+            while (it.hasNext()) {
+               addSubjects(graph, it.next(), individuals);
+            }
+            return individuals;
+         }
+         case DOMAIN:
+            return getList(index.getDomainProperties(), object);
+         default:
+            return getList(index.getRangeProperties(), object);
+      }
+   }
+
+   private Iterable<Node> getAllSubjects(SchemaAwareIndex index, Graph graph) {
+      switch (type) {
+         case SUB_CLASS_OF: {
+            List<Node> classes = new ArrayList<>();
+            Iterator<Node> it = index.getClasses();
+            while (it.hasNext()) {
+               classes.add(it.next());
+            }
+            return classes;
+         }
+         case INSTANCE_OF: {
+            Set<Node> individuals = new LinkedHashSet<>();
+            addSubjects(graph, Node.ANY, individuals);
+            return individuals;
+         }
+         case DOMAIN:
+            return index.getDomains().keySet();
+         default:
+            return index.getRanges().keySet();
+      }
+   }
+
+   private static void addSubjects(Graph graph, Node theClass, Set<Node> individuals) {
+      ExtendedIterator<Triple> it = graph.find(Node.ANY, RDF.type.asNode(), theClass);
+      try {
+         while (it.hasNext()) {
+            individuals.add(it.next().getSubject());
+         }
+      } finally {
+         it.close();
+      }
+   }
+
+   private static List<Node> getList(Map<Node, List<Node>> map, Node node) {
+      List<Node> list = map.get(node);
+      if (list == null) {
+         return Collections.emptyList();
+      } else {
+         return list;
+      }
+   }
+}
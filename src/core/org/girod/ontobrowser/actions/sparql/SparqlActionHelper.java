@@ -68,7 +68,7 @@ import org.mdiutil.io.FileUtilities;
 /**
  * Encapsulate a SPARQL request.
  *
- * @version 0.17.2
+ * @version 0.18
  */
 public class SparqlActionHelper {
    private static final Pattern TRIM_LEFT = Pattern.compile("(\\s*)(.*)");
@@ -91,6 +91,15 @@ public class SparqlActionHelper {
       this.schema = schema;
    }
 
+   /**
+    * Create a helper which is only used to handle the prefixes of requests, without any GUI.
+    *
+    * @param schema the schema
+    */
+   SparqlActionHelper(OwlSchema schema) {
+      this(null, schema);
+   }
+
    public void showDialog() {
       DefaultMDIDialogBuilder builder = new DefaultMDIDialogBuilder("SPARQL Window");
       JMenuBar menubar = new JMenuBar();
@@ -253,6 +262,11 @@ public class SparqlActionHelper {
          buf.append("PREFIX time").append(": <").append(uri).append(">\n");
          alreadyExists.add(uri);
       }      
+      if (conf.schemaAwareSPARQL) {
+         String uri = SchemaAwareSPARQL.NAMESPACE;
+         buf.append("PREFIX ").append(SchemaAwareSPARQL.PREFIX).append(": <").append(uri).append(">\n");
+         alreadyExists.add(uri);
+      }
 
       Map<String, String> prefixMap = schema.getPrefixMap();
       Iterator<Map.Entry<String, String>> it = prefixMap.entrySet().iterator();
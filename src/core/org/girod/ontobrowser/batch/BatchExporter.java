@@ -0,0 +1,303 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.batch;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.jena.ontology.OntModel;
+import org.girod.jgraphml.GraphMLFactory;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.OwlDiagram;
+import org.girod.ontobrowser.actions.AbstractOpenModelAction;
+import org.girod.ontobrowser.actions.ExportGraphAction;
+import org.girod.ontobrowser.actions.ExportPackageGraphAction;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlRepresentationType;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.ImportsLoader;
+import org.girod.ontobrowser.parsers.graph.LoadingMonitor;
+import org.mdi.bootstrap.MDIAction;
+import org.mdi.bootstrap.MDIApplication;
+import org.mdiutil.io.FileUtilities;
+
+/**
+ * Opens, extracts and exports a list of Ontology files without the GUI.
+ *
+ * The files are processed concurrently on a fixed-size pool of workers. The imported models are shared through the
+ * {@link org.girod.ontobrowser.parsers.graph.ImportsCache}, so an Ontology which is imported by the files processed at the same time is
+ * only parsed once. The imports of each file are released as soon as the file has been exported. The exports do not depend on any Swing
+ * component, so the exporter can be used with <code>java.awt.headless=true</code>.
+ *
+ * @since 0.18
+ */
+public class BatchExporter {
+   /**
+    * The name of the XSD export action, which is only available if the XSD plugin is in the classpath.
+    */
+   private static final String XSD_ACTION = "org.ontobrowser.xsdplugin.ExportXSDAction";
+   private final File outputDir;
+   private final BrowserConfiguration conf;
+   private final List<File> files = new ArrayList<>();
+   private int threads = 1;
+   private boolean exportGraph = true;
+   private boolean exportPackages = false;
+   private boolean exportXSD = false;
+
+   /**
+    * Constructor.
+    *
+    * @param outputDir the directory where the exported files are written
+    */
+   public BatchExporter(File outputDir) {
+      this(outputDir, BrowserConfiguration.getInstance());
+   }
+
+   /**
+    * Constructor with a specific configuration. The configuration is used for the extraction and the export options of the files.
+    *
+    * @param outputDir the directory where the exported files are written
+    * @param conf the configuration
+    */
+   public BatchExporter(File outputDir, BrowserConfiguration conf) {
+      this.outputDir = outputDir;
+      this.conf = conf;
+   }
+
+   /**
+    * Return the default number of workers.
+    *
+    * @return the default number of workers
+    */
+   public static int getDefaultThreads() {
+      return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+   }
+
+   /**
+    * Return true if the XSD export is available.
+    *
+    * @return true if the XSD export is available
+    */
+   public static boolean isXSDSupported() {
+      try {
+         Class.forName(XSD_ACTION);
+         return true;
+      } catch (ClassNotFoundException ex) {
+         return false;
+      }
+   }
+
+   /**
+    * Set the number of workers.
+    *
+    * @param threads the number of workers
+    */
+   public void setThreads(int threads) {
+      this.threads = Math.max(1, threads);
+   }
+
+   /**
+    * Return the number of workers.
+    *
+    * @return the number of workers
+    */
+   public int getThreads() {
+      return threads;
+   }
+
+   /**
+    * Set if the whole schema is exported as a yEd diagram.
+    *
+    * @param exportGraph true if the whole schema is exported as a yEd diagram
+    */
+   public void setExportGraph(boolean exportGraph) {
+      this.exportGraph = exportGraph;
+   }
+
+   /**
+    * Set if each package is exported as a yEd diagram.
+    *
+    * @param exportPackages true if each package is exported as a yEd diagram
+    */
+   public void setExportPackages(boolean exportPackages) {
+      this.exportPackages = exportPackages;
+   }
+
+   /**
+    * Set if the schema is exported as a XML Schema.
+    *
+    * @param exportXSD true if the schema is exported as a XML Schema
+    */
+   public void setExportXSD(boolean exportXSD) {
+      this.exportXSD = exportXSD;
+   }
+
+   /**
+    * Add a file to process.
+    *
+    * @param file the file
+    */
+   public void addFile(File file) {
+      files.add(file);
+   }
+
+   /**
+    * Return the files to process.
+    *
+    * @return the files
+    */
+   public List<File> getFiles() {
+      return files;
+   }
+
+   /**
+    * Process all the files. The results are returned in the order of the files.
+    *
+    * @return the results
+    * @throws InterruptedException if the processing was interrupted
+    */
+   public List<BatchResult> run() throws InterruptedException {
+      if (!outputDir.exists()) {
+         outputDir.mkdirs();
+      }
+      // the factory is lazily created, so it is created here before the workers use it
+      GraphMLFactory.getInstance();
+
+      List<Future<BatchResult>> futures = new ArrayList<>();
+      ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, files.size())));
+      try {
+         Iterator<File> it = files.iterator();
+         while (it.hasNext()) {
+            File file = it.next();
+            futures.add(executor.submit(() -> process(file)));
+         }
+         List<BatchResult> results = new ArrayList<>();
+         for (int i = 0; i < futures.size(); i++) {
+            try {
+               results.add(futures.get(i).get());
+            } catch (ExecutionException ex) {
+               BatchResult result = new BatchResult(files.get(i));
+               result.setError(ex.getCause().toString(), ex.getCause());
+               results.add(result);
+            }
+         }
+         return results;
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   /**
+    * Open, extract and export one file.
+    *
+    * @param file the file
+    * @return the result
+    */
+   BatchResult process(File file) {
+      BatchResult result = new BatchResult(file);
+      short owlType = AbstractOpenModelAction.getRepresentationType(file);
+      if (owlType != OwlRepresentationType.TYPE_OWL_XML && owlType != OwlRepresentationType.TYPE_OWL_TURTLE) {
+         result.setError("Unsupported Owl representation", null);
+         return result;
+      }
+      OntModel model = null;
+      try {
+         long time = System.currentTimeMillis();
+         if (AbstractOpenModelAction.isStreamingSchemaOnly()) {
+            // the exports only use the schema
+            model = AbstractOpenModelAction.readSchemaModel(file, owlType, new LoadingMonitor());
+         } else {
+            model = AbstractOpenModelAction.readModel(file, owlType, new LoadingMonitor());
+         }
+         result.setParseTime(System.currentTimeMillis() - time);
+
+         time = System.currentTimeMillis();
+         // the packages are only computed if they are shown
+         GraphExtractor extractor = new GraphExtractor(file, model, conf.addThingClass, conf.showPackages || exportPackages);
+         extractor.setUseStatementsIndex(conf.singlePassExtraction);
+         OwlSchema schema = extractor.getGraph();
+         result.setExtractTime(System.currentTimeMillis() - time);
+
+         OwlDiagram diagram = new OwlDiagram(file.getName());
+         diagram.setRepresentationType(owlType);
+         diagram.setFile(file);
+         diagram.setSchema(schema);
+         String name = FileUtilities.getFileNameBody(file);
+         if (exportGraph) {
+            File graphFile = new File(outputDir, name + "." + conf.getGraphMLExtension());
+            export(result, new ExportGraphAction(null, "Export graph", "Export graph", diagram, graphFile, conf), graphFile);
+         }
+         if (exportPackages && schema.hasPackages()) {
+            Iterator<OwlClass> it = schema.getPackages().values().iterator();
+            while (it.hasNext()) {
+               OwlClass thePackage = it.next();
+               File packageFile = new File(outputDir, name + "_" + thePackage.getName() + "." + conf.getGraphMLExtension());
+               ExportPackageGraphAction action = new ExportPackageGraphAction(null, "Export Package graph", "Export Package graph",
+                  diagram, thePackage, packageFile, conf);
+               export(result, action, packageFile);
+            }
+         }
+         if (exportXSD) {
+            File xsdFile = new File(outputDir, name + ".xsd");
+            export(result, createXSDAction(schema, xsdFile), xsdFile);
+         }
+      } catch (Exception ex) {
+         result.setError(ex.toString(), ex);
+      } finally {
+         if (model != null) {
+            ImportsLoader.releaseImports(model);
+         }
+      }
+      return result;
+   }
+
+   private void export(BatchResult result, MDIAction action, File exportedFile) throws Exception {
+      long time = System.currentTimeMillis();
+      action.run();
+      result.addExportTime(System.currentTimeMillis() - time);
+      result.addExportedFile(exportedFile);
+   }
+
+   private MDIAction createXSDAction(OwlSchema schema, File file) throws Exception {
+      Class<?> clazz = Class.forName(XSD_ACTION);
+      Constructor<?> constr = clazz.getConstructor(MDIApplication.class, OwlSchema.class, File.class);
+      return (MDIAction) constr.newInstance(null, schema, file);
+   }
+}
@@ -0,0 +1,164 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.batch;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of the batch processing of one file.
+ *
+ * @since 0.18
+ */
+public class BatchResult {
+   private final File file;
+   private long parseTime = 0;
+   private long extractTime = 0;
+   private long exportTime = 0;
+   private final List<File> exportedFiles = new ArrayList<>();
+   private Throwable error = null;
+   private String errorMessage = null;
+
+   /**
+    * Constructor.
+    *
+    * @param file the Ontology file
+    */
+   public BatchResult(File file) {
+      this.file = file;
+   }
+
+   /**
+    * Return the Ontology file.
+    *
+    * @return the file
+    */
+   public File getFile() {
+      return file;
+   }
+
+   void setParseTime(long parseTime) {
+      this.parseTime = parseTime;
+   }
+
+   /**
+    * Return the time spent to parse the file, in milliseconds.
+    *
+    * @return the parse time
+    */
+   public long getParseTime() {
+      return parseTime;
+   }
+
+   void setExtractTime(long extractTime) {
+      this.extractTime = extractTime;
+   }
+
+   /**
+    * Return the time spent to extract the schema, in milliseconds.
+    *
+    * @return the extraction time
+    */
+   public long getExtractTime() {
+      return extractTime;
+   }
+
+   void addExportTime(long time) {
+      this.exportTime += time;
+   }
+
+   /**
+    * Return the time spent to export the schema for all the targets, in milliseconds.
+    *
+    * @return the export time
+    */
+   public long getExportTime() {
+      return exportTime;
+   }
+
+   /**
+    * Return the total time spent for the file, in milliseconds.
+    *
+    * @return the total time
+    */
+   public long getTotalTime() {
+      return parseTime + extractTime + exportTime;
+   }
+
+   void addExportedFile(File exportedFile) {
+      exportedFiles.add(exportedFile);
+   }
+
+   /**
+    * Return the files which have been exported.
+    *
+    * @return the exported files
+    */
+   public List<File> getExportedFiles() {
+      return exportedFiles;
+   }
+
+   void setError(String errorMessage, Throwable error) {
+      this.errorMessage = errorMessage;
+      this.error = error;
+   }
+
+   /**
+    * Return true if the file has been processed without errors.
+    *
+    * @return true if the file has been processed without errors
+    */
+   public boolean isSuccessful() {
+      return errorMessage == null;
+   }
+
+   /**
+    * Return the error message, or null if the file has been processed without errors.
+    *
+    * @return the error message
+    */
+   public String getErrorMessage() {
+      return errorMessage;
+   }
+
+   /**
+    * Return the exception which stopped the processing of the file. Note that the returned value may be null even if the
+    * processing failed, for example if the representation type of the file is not supported.
+    *
+    * @return the exception
+    */
+   public Throwable getError() {
+      return error;
+   }
+}
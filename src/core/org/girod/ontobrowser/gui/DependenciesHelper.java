@@ -135,7 +135,7 @@ public class DependenciesHelper {
    private void createDependenciesList(OwlClass theClass, ElementFilter filter) {
       // data properties of the Class
       model.addElement("Data Properties");
-      SortedMap<ElementKey, OwlProperty> mapp = new TreeMap<>(SchemaUtils.getDataProperties(theClass, filter));
+      SortedMap<ElementKey, OwlProperty> mapp = new TreeMap<>(SchemaUtils.getDataProperties(schema, theClass, filter));
       Iterator<OwlProperty> itp = mapp.values().iterator();
       while (itp.hasNext()) {
          OwlProperty property = itp.next();
@@ -145,7 +145,7 @@ public class DependenciesHelper {
       }
       // domain properties of the Class
       model.addElement("Object Properties Domain");
-      mapp = new TreeMap<>(SchemaUtils.getDomainProperties(theClass, filter));
+      mapp = new TreeMap<>(SchemaUtils.getDomainProperties(schema, theClass, filter));
       itp = mapp.values().iterator();
       while (itp.hasNext()) {
          OwlProperty property = itp.next();
@@ -155,7 +155,7 @@ public class DependenciesHelper {
       }
       // range properties of the Class
       model.addElement("Object Properties Range");
-      mapp = new TreeMap<>(SchemaUtils.getRangeProperties(theClass, filter));
+      mapp = new TreeMap<>(SchemaUtils.getRangeProperties(schema, theClass, filter));
       itp = mapp.values().iterator();
       while (itp.hasNext()) {
          OwlProperty property = itp.next();
@@ -54,6 +54,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import javax.swing.JComponent;
@@ -84,6 +85,8 @@ import org.girod.ontobrowser.actions.ExportImportGraphAction;
 import org.girod.ontobrowser.actions.ExportPackageGraphAction;
 import org.girod.ontobrowser.actions.OpenClassInYedAction;
 import org.girod.ontobrowser.actions.OpenPackageInYedAction;
+import org.girod.ontobrowser.gui.tree.ClassTreeModel;
+import org.girod.ontobrowser.gui.tree.IndividualsTreeModel;
 import org.girod.ontobrowser.gui.tree.ModelTreeRenderer;
 import org.girod.ontobrowser.gui.tree.OntologyTreeRenderer;
 import org.girod.ontobrowser.gui.tree.OwlElementRep;
@@ -91,6 +94,7 @@ import org.girod.ontobrowser.gui.tree.OwlImportedSchemaRep;
 import org.girod.ontobrowser.gui.tree.OwlOntologyRep;
 import org.girod.ontobrowser.gui.tree.OwlOntologyTreeRep;
 import org.girod.ontobrowser.gui.tree.OwlPrefixRep;
+import org.girod.ontobrowser.gui.tree.PropertiesTreeModel;
 import org.girod.ontobrowser.model.ElementKey;
 import org.girod.ontobrowser.model.ElementTypes;
 import org.girod.ontobrowser.model.NamedOwlElement;
@@ -100,6 +104,7 @@ import org.girod.ontobrowser.model.OwlDatatype;
 import org.girod.ontobrowser.model.OwlIndividual;
 import org.girod.ontobrowser.model.OwlProperty;
 import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.ImportsLoader;
 import org.mdi.bootstrap.MDIDialogType;
 import org.mdi.bootstrap.swing.GUIApplication;
 import org.mdiutil.io.FileUtilities;
@@ -107,20 +112,15 @@ import org.mdiutil.io.FileUtilities;
 /**
  * The panel for one ontology graph.
  *
- * @version 0.16
+ * @version 0.18
  */
 public class GraphPanel extends JSplitPane implements GUITabTypes {
    private final GUIApplication browser;
    // Classes tree
-   private DefaultMutableTreeNode thingRoot = new DefaultMutableTreeNode("Thing");
-   private ElementKey thingKey = null;
-   private DefaultTreeModel classTreeModel = new DefaultTreeModel(thingRoot);
+   private ClassTreeModel classTreeModel = new ClassTreeModel(null, false);
    private JTree classTree = new JTree(classTreeModel);
    // Properties tree
-   private DefaultMutableTreeNode propertiesRoot = new DefaultMutableTreeNode(PROPERTIES_NAME);
-   private DefaultMutableTreeNode dataPropertiesRoot = new DefaultMutableTreeNode(DATA_PROPERTIES_NAME);
-   private DefaultMutableTreeNode objectPropertiesRoot = new DefaultMutableTreeNode(OBJECT_PROPERTIES_NAME);
-   private DefaultTreeModel propertiesTreeModel = new DefaultTreeModel(propertiesRoot);
+   private PropertiesTreeModel propertiesTreeModel = new PropertiesTreeModel(null, false);
    private JTree propertiesTree = new JTree(propertiesTreeModel);
    // Annotations tree
    private DefaultMutableTreeNode annotationsRoot = new DefaultMutableTreeNode(ANNOTATIONS_NAME);
@@ -131,8 +131,7 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
    private DefaultTreeModel datatypesTreeModel = new DefaultTreeModel(datatypesRoot);
    private JTree datatypesTree = new JTree(datatypesTreeModel);
    // Individuals tree
-   private DefaultMutableTreeNode individualsRoot = new DefaultMutableTreeNode(INDIVIDUALS_NAME);
-   private DefaultTreeModel individualsTreeModel = new DefaultTreeModel(individualsRoot);
+   private IndividualsTreeModel individualsTreeModel = new IndividualsTreeModel(null, false);
    private JTree individualsTree = new JTree(individualsTreeModel);
    // prefix tree
    private DefaultMutableTreeNode prefixRoot;
@@ -154,11 +153,9 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
    private OwlOntologyTreeRep selectedPrefix = null;
    private boolean autoTabChange = false;
    private boolean allowBold = false;
-   private final Map<ElementKey, DefaultMutableTreeNode> keyToClassNode = new HashMap<>();
-   private final Map<ElementKey, DefaultMutableTreeNode> keyToPropertyNode = new HashMap<>();
+   private boolean schemaPublished = false;
    private final Map<ElementKey, DefaultMutableTreeNode> keyToAnnotationNode = new HashMap<>();
    private final Map<ElementKey, DefaultMutableTreeNode> keyToDatatypeNode = new HashMap<>();
-   private final Map<ElementKey, DefaultMutableTreeNode> keyToIndividualNode = new HashMap<>();
 
    public GraphPanel(GUIApplication browser) {
       super(JSplitPane.HORIZONTAL_SPLIT);
@@ -212,22 +209,15 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
     * Reset the content of the panel.
     */
    public void reset() {
-      keyToClassNode.clear();
-      keyToPropertyNode.clear();
       keyToAnnotationNode.clear();
       keyToDatatypeNode.clear();
-      keyToIndividualNode.clear();
+      schemaPublished = false;
 
-      
       // Classes tree
-      thingRoot = new DefaultMutableTreeNode("Thing");
-      classTreeModel = new DefaultTreeModel(thingRoot);
+      classTreeModel = new ClassTreeModel(null, false);
       
       // Properties tree
-      propertiesRoot = new DefaultMutableTreeNode(PROPERTIES_NAME);
-      dataPropertiesRoot = new DefaultMutableTreeNode(DATA_PROPERTIES_NAME);
-      objectPropertiesRoot = new DefaultMutableTreeNode(OBJECT_PROPERTIES_NAME);
-      propertiesTreeModel = new DefaultTreeModel(propertiesRoot);
+      propertiesTreeModel = new PropertiesTreeModel(null, false);
       
       // Datatypes tree
       datatypesRoot = new DefaultMutableTreeNode(DATATYPES_NAME);
@@ -238,8 +228,7 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
       annotationsTreeModel = new DefaultTreeModel(annotationsRoot);
       
       // individual tree
-      individualsRoot = new DefaultMutableTreeNode(INDIVIDUALS_NAME);
-      individualsTreeModel = new DefaultTreeModel(individualsRoot);
+      individualsTreeModel = new IndividualsTreeModel(null, false);
       // see https://stackoverflow.com/questions/5368367/jtree-refreshing-after-setting-new-jtree-model
       SwingUtilities.invokeLater(new Runnable() {
          @Override
@@ -391,25 +380,140 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
    public DefaultMutableTreeNode getNode(NamedOwlElement elt) {
       ElementKey key = elt.getKey();
       if (elt instanceof OwlClass) {
-         return keyToClassNode.get(key);
+         return classTreeModel.getNode(key);
       } else if (elt instanceof OwlProperty) {
-         return keyToPropertyNode.get(key);
+         return propertiesTreeModel.getNode(key);
       } else if (elt instanceof OwlIndividual) {
-         return keyToIndividualNode.get(key);
+         return individualsTreeModel.getNode(key);
       } else {
          return null;
       }
    }
 
-   public void setDiagram(OwlDiagram diagram) {
+   /**
+    * Update the representation of some elements after their annotations have been modified by an incremental refresh of the schema.
+    * Only the tree nodes and the cells which have already been created are updated.
+    *
+    * @param elements the updated elements
+    */
+   public void updateElements(Map<ElementKey, NamedOwlElement> elements) {
+      Set<ElementKey> keys = elements.keySet();
+      classTreeModel.updateElements(keys);
+      propertiesTreeModel.updateElements(keys);
+      individualsTreeModel.updateElements(keys);
+      if (packagesModel != null) {
+         for (int i = 0; i < thingPackagesRoot.getChildCount(); i++) {
+            DefaultMutableTreeNode node = (DefaultMutableTreeNode) thingPackagesRoot.getChildAt(i);
+            NamedOwlElement element = ((OwlElementRep) node.getUserObject()).getOwlElement();
+            if (keys.contains(element.getKey())) {
+               node.setUserObject(createElementRep(element));
+               packagesModel.nodeChanged(node);
+            }
+         }
+      }
+
+      // update the labels of the cells of the diagram
+      Map<ElementKey, mxCell> keyToCell;
+      if (diagram.isLazy()) {
+         keyToCell = diagram.getLazyGraphBuilder().getKeyToCell();
+      } else {
+         keyToCell = diagram.getKeyToCell();
+      }
+      mxGraph graph = diagram.getGraph();
+      if (keyToCell != null && graph != null) {
+         Iterator<NamedOwlElement> it = elements.values().iterator();
+         while (it.hasNext()) {
+            NamedOwlElement element = it.next();
+            mxCell cell = keyToCell.get(element.getKey());
+            if (cell != null && cell.getValue() instanceof String && !cell.getValue().equals(element.getDisplayedName())) {
+               graph.getModel().setValue(cell, element.getDisplayedName());
+            }
+         }
+      }
+
+      if (selectedElement != null && keys.contains(selectedElement.getOwlElement().getKey())) {
+         selectedElement = createElementRep(selectedElement.getOwlElement());
+         updateComponentPanel(selectedElement);
+      }
+   }
+
+   /**
+    * Publish the schema of a diagram whose graph has not been built yet. The trees of the panel are computed from the schema, and
+    * the graph will be added to the panel by the next call to {@link #setDiagram(OwlDiagram)}.
+    *
+    * @param diagram the diagram
+    */
+   public void setSchema(OwlDiagram diagram) {
+      schemaPublished = true;
+      setSchemaImpl(diagram);
+      SwingUtilities.invokeLater(new Runnable() {
+         @Override
+         public void run() {
+            setupTrees();
+         }
+      });
+   }
+
+   private void setSchemaImpl(OwlDiagram diagram) {
+      OwlSchema previousSchema = schema;
       this.diagram = diagram;
       this.schema = diagram.getSchema();
+      if (previousSchema != null && previousSchema != schema) {
+         releaseImports(previousSchema);
+      }
       this.allowBold = BrowserConfiguration.getInstance().showOwnElementsInBold;
       prefixRoot = new DefaultMutableTreeNode(new OwlOntologyRep(schema));
       prefixTreeModel = new DefaultTreeModel(prefixRoot);
       prefixTree = new JTree(prefixTreeModel);
       panelFactory = new ComponentPanelFactory(this, schema);
+   }
+
+   private static void releaseImports(OwlSchema schema) {
+      if (schema.hasOntModel()) {
+         ImportsLoader.releaseImports(schema.getOntModel());
+      }
+   }
+
+   /**
+    * Called when the panel is closed. The imported models used by the schema are released, so that they can be evicted from the
+    * imports cache if no other schema uses them.
+    */
+   public void close() {
+      if (schema != null) {
+         releaseImports(schema);
+      }
+   }
 
+   /**
+    * Set the diagram. If the schema of the diagram has already been published by {@link #setSchema(OwlDiagram)}, only the graph
+    * of the diagram is added to the panel.
+    *
+    * @param diagram the diagram
+    */
+   public void setDiagram(OwlDiagram diagram) {
+      if (schemaPublished) {
+         schemaPublished = false;
+         // the trees are already shown, so the graph must be added in the Swing thread
+         SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+               setGraph(diagram);
+               diagramPanel.revalidate();
+            }
+         });
+      } else {
+         setSchemaImpl(diagram);
+         setGraph(diagram);
+         SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+               setupTrees();
+            }
+         });
+      }
+   }
+
+   private void setGraph(OwlDiagram diagram) {
       mxGraph graph = diagram.getGraph();
       mxStylesheet stylesheet = graph.getStylesheet();
       diagramPanel.setLayout(new BorderLayout());
@@ -419,14 +523,21 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
       graphComp.setPanning(true);
       graphComp.zoom(1.5f);
       graph.getModel().setGeometry(graph.getDefaultParent(), new mxGeometry(-300, -300, 300, 300));
+      if (diagram.isLazy()) {
+         // the neighbourhood of a class is expanded by double-clicking on its cell
+         graphComp.getGraphControl().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+               if (e.getClickCount() == 2) {
+                  Object cell = graphComp.getCellAt(e.getX(), e.getY());
+                  if (cell instanceof mxCell && ((mxCell) cell).isVertex()) {
+                     diagram.getLazyGraphBuilder().expand((mxCell) cell);
+                  }
+               }
+            }
+         });
+      }
       diagramPanel.add(graphComp, BorderLayout.CENTER);
-
-      SwingUtilities.invokeLater(new Runnable() {
-         @Override
-         public void run() {
-            setupTrees();
-         }
-      });
    }
 
    private void addIndividualsTab(boolean includeIndividuals) {
@@ -444,9 +555,6 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
    }
 
    private ModelTreeRenderer setupTrees() {
-      propertiesRoot.add(objectPropertiesRoot);
-      propertiesRoot.add(dataPropertiesRoot);
-
       ModelTreeRenderer treeRenderer = new ModelTreeRenderer();
       classTree.setCellRenderer(treeRenderer);
       propertiesTree.setCellRenderer(treeRenderer);
@@ -538,8 +646,8 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
     * @param theKey the class key
     */
    public void selectClass(ElementKey theKey) {
-      if (keyToClassNode.containsKey(theKey)) {
-         DefaultMutableTreeNode node = keyToClassNode.get(theKey);
+      DefaultMutableTreeNode node = classTreeModel.getNode(theKey);
+      if (node != null) {
          TreePath path = new TreePath(node.getPath());
          highlightElement(ElementTypes.CLASS, path);
          Object o = node.getUserObject();
@@ -560,8 +668,8 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
     * @param theKey the property key
     */
    public void selectProperty(ElementKey theKey) {
-      if (keyToPropertyNode.containsKey(theKey)) {
-         DefaultMutableTreeNode node = keyToPropertyNode.get(theKey);
+      DefaultMutableTreeNode node = propertiesTreeModel.getNode(theKey);
+      if (node != null) {
          TreePath path = new TreePath(node.getPath());
          highlightElement(ElementTypes.PROPERTY, path);
          Object o = node.getUserObject();
@@ -626,8 +734,8 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
     * @param theKey the individual key
     */
    public void selectIndividual(ElementKey theKey) {
-      if (keyToIndividualNode.containsKey(theKey)) {
-         DefaultMutableTreeNode node = keyToIndividualNode.get(theKey);
+      DefaultMutableTreeNode node = individualsTreeModel.getNode(theKey);
+      if (node != null) {
          TreePath path = new TreePath(node.getPath());
          highlightElement(ElementTypes.INDIVIDUAL, path);
          Object o = node.getUserObject();
@@ -1197,7 +1305,7 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
       chooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
       if (chooser.showOpenDialog(browser.getApplicationWindow()) == JFileChooser.APPROVE_OPTION) {
          File file = chooser.getSelectedFile();
-         file = FileUtilities.getCompatibleFile(file, "graphml");
+         file = FileUtilities.getCompatibleFile(file, conf.getGraphMLExtension());
          OwlClass theClass = (OwlClass) selectedElement.getOwlElement();
          AbstractExportGraphAction action;
          if (isPackage) {
@@ -1218,11 +1326,11 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
 
    public void selectElement(NamedOwlElement element) {
       ElementKey key = element.getKey();
-      if (keyToClassNode.containsKey(key)) {
+      if (schema.getOwlClasses().containsKey(key)) {
          this.selectClass(key);
-      } else if (keyToPropertyNode.containsKey(key)) {
+      } else if (schema.getOwlProperties().containsKey(key)) {
          this.selectProperty(key);
-      } else if (keyToIndividualNode.containsKey(key)) {
+      } else if (schema.getIndividuals().containsKey(key)) {
          this.selectIndividual(key);
       } else if (keyToAnnotationNode.containsKey(key)) {
          this.selectAnnotation(key);
@@ -1233,36 +1341,40 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
       ElementKey key = rep.getOwlElement().getKey();
       updateComponentPanel(rep);
       mxCell cell = diagram.getCell(key);
-      if (cell != null) {
+      if (cell != null && graphComp != null) {
          graphComp.scrollCellToVisible(cell, true);
       }
    }
 
-   private void addToPackagesTree(OwlClass theClass) {
-      if (theClass.isPackage() && packagesTree != null) {
-         DefaultMutableTreeNode node = createClassNode(theClass, true);
-         thingPackagesRoot.add(node);
+   private void computePackagesTree() {
+      if (packagesTree == null) {
+         return;
       }
-   }
-
-   private void computeIndividualsTree() {
-      schema = diagram.getSchema();
-      SortedMap<ElementKey, OwlIndividual> sortedMap = new TreeMap<>();
-      // first created a sorted map for the individuals keys
-      Iterator<OwlIndividual> it = schema.getIndividuals().values().iterator();
+      SortedMap<ElementKey, OwlClass> sortedMap = new TreeMap<>();
+      // first created a sorted map for the packages keys
+      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
       while (it.hasNext()) {
-         OwlIndividual individual = it.next();
-         sortedMap.put(individual.getKey(), individual);
+         OwlClass theClass = it.next();
+         if (theClass.isPackage()) {
+            sortedMap.put(theClass.getKey(), theClass);
+         }
       }
       // now create the nodes
       it = sortedMap.values().iterator();
       while (it.hasNext()) {
-         OwlIndividual individual = it.next();
-         DefaultMutableTreeNode node = createIndividualNode(individual);
-         individualsRoot.add(node);
+         OwlClass theClass = it.next();
+         DefaultMutableTreeNode node = new DefaultMutableTreeNode(createElementRep(theClass));
+         thingPackagesRoot.add(node);
       }
    }
 
+   private void computeIndividualsTree() {
+      schema = diagram.getSchema();
+      // the nodes of the individuals are only created when they are shown in the tree
+      individualsTreeModel = new IndividualsTreeModel(schema, allowBold);
+      individualsTree.setModel(individualsTreeModel);
+   }
+
    private void computeAnnotationsTree() {
       schema = diagram.getSchema();
       SortedMap<ElementKey, OwlAnnotation> sortedMap = new TreeMap<>();
@@ -1300,94 +1412,16 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
    }
 
    private void computePropertiesTree() {
-      Map<ElementKey, List<DefaultMutableTreeNode>> nodesMap = new HashMap<>();
       schema = diagram.getSchema();
-      SortedMap<ElementKey, OwlProperty> sortedMap = new TreeMap<>();
-      // first created a sorted map for the properties keys
-      Iterator<OwlProperty> it = schema.getOwlProperties().values().iterator();
-      while (it.hasNext()) {
-         OwlProperty property = it.next();
-         sortedMap.put(property.getKey(), property);
-      }
-      // now create the nodes
-      it = sortedMap.values().iterator();
-      while (it.hasNext()) {
-         OwlProperty theProperty = it.next();
-         ElementKey key = theProperty.getKey();
-         if (!nodesMap.containsKey(key)) {
-            List<DefaultMutableTreeNode> list = new ArrayList<>();
-            nodesMap.put(key, list);
-            Map<ElementKey, OwlProperty> superProperties = theProperty.getSuperProperties();
-            if (superProperties.isEmpty()) {
-               DefaultMutableTreeNode node = createPropertyNode(theProperty);
-               if (theProperty.isObjectProperty()) {
-                  objectPropertiesRoot.add(node);
-               } else {
-                  dataPropertiesRoot.add(node);
-               }
-               list.add(node);
-            } else {
-               Iterator<ElementKey> it2 = superProperties.keySet().iterator();
-               while (it2.hasNext()) {
-                  ElementKey parentKey = it2.next();
-                  OwlProperty parentProperty = superProperties.get(parentKey);
-                  List<DefaultMutableTreeNode> nodes;
-                  if (nodesMap.containsKey(parentKey)) {
-                     nodes = nodesMap.get(parentKey);
-                  } else {
-                     nodes = computePropertyTree(parentProperty, nodesMap);
-                  }
-                  Iterator<DefaultMutableTreeNode> it3 = nodes.iterator();
-                  while (it3.hasNext()) {
-                     DefaultMutableTreeNode theNode = it3.next();
-                     DefaultMutableTreeNode node = createPropertyNode(theProperty);
-                     theNode.add(node);
-                     list.add(node);
-                  }
-               }
-            }
-         }
-      }
-      TreePath path = new TreePath(objectPropertiesRoot.getPath());
+      // the nodes of the properties are only created when their parent is expanded
+      propertiesTreeModel = new PropertiesTreeModel(schema, allowBold);
+      propertiesTree.setModel(propertiesTreeModel);
+      TreePath path = new TreePath(propertiesTreeModel.getObjectPropertiesRoot().getPath());
       propertiesTree.expandPath(path);
-      path = new TreePath(dataPropertiesRoot.getPath());
+      path = new TreePath(propertiesTreeModel.getDataPropertiesRoot().getPath());
       propertiesTree.expandPath(path);
    }
 
-   private List<DefaultMutableTreeNode> computePropertyTree(OwlProperty theProperty, Map<ElementKey, List<DefaultMutableTreeNode>> nodesMap) {
-      List<DefaultMutableTreeNode> nodes = new ArrayList<>();
-      ElementKey key = theProperty.getKey();
-      if (nodesMap.containsKey(key)) {
-         return nodesMap.get(key);
-      }
-      Map<ElementKey, OwlProperty> superProperties = theProperty.getSuperProperties();
-      if (superProperties.isEmpty()) {
-         DefaultMutableTreeNode node = createPropertyNode(theProperty);
-         nodes.add(node);
-         if (theProperty.isObjectProperty()) {
-            objectPropertiesRoot.add(node);
-         } else {
-            dataPropertiesRoot.add(node);
-         }
-      } else {
-         Iterator<ElementKey> it2 = superProperties.keySet().iterator();
-         while (it2.hasNext()) {
-            ElementKey parentKey = it2.next();
-            OwlProperty parentProperty = superProperties.get(parentKey);
-            List<DefaultMutableTreeNode> _nodes = computePropertyTree(parentProperty, nodesMap);
-            Iterator<DefaultMutableTreeNode> it3 = _nodes.iterator();
-            while (it3.hasNext()) {
-               DefaultMutableTreeNode theNode = it3.next();
-               DefaultMutableTreeNode node = createPropertyNode(theProperty);
-               nodes.add(node);
-               theNode.add(node);
-            }
-         }
-      }
-      nodesMap.put(key, nodes);
-      return nodes;
-   }
-
    private void computeOntologyPrefixTree() {
       OntologyTreeHelper.computeOntologyPrefixTree(diagram, prefixTree, prefixRoot);
    }
@@ -1406,125 +1440,11 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
 
    private void computeClassTree() {
       updateTreeSelectionMode();
-
-      Map<ElementKey, List<DefaultMutableTreeNode>> nodesMap = new HashMap<>();
-      SortedMap<ElementKey, OwlClass> sortedMap = new TreeMap<>();
       schema = diagram.getSchema();
-      thingKey = schema.getThingClass().getKey();
-      // first created a sorted map for the classes keys
-      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
-      while (it.hasNext()) {
-         OwlClass theClass = it.next();
-         ElementKey key = theClass.getKey();
-         if (key.equals(thingKey) || nodesMap.containsKey(key)) {
-            continue;
-         }
-         sortedMap.put(key, theClass);
-      }
-
-      // now create the nodes
-      it = sortedMap.values().iterator();
-      while (it.hasNext()) {
-         OwlClass theClass = it.next();
-         ElementKey key = theClass.getKey();
-         if (key.equals(thingKey) || nodesMap.containsKey(key)) {
-            continue;
-         }
-         addToPackagesTree(theClass);
-         List<DefaultMutableTreeNode> list = new ArrayList<>();
-         nodesMap.put(key, list);
-
-         Map<ElementKey, OwlClass> superClasses = theClass.getSuperClasses();
-         if (superClasses.isEmpty()) {
-            DefaultMutableTreeNode node = createClassNode(theClass, false);
-            list.add(node);
-            thingRoot.add(node);
-         } else {
-            Iterator<ElementKey> it2 = superClasses.keySet().iterator();
-            while (it2.hasNext()) {
-               ElementKey parentKey = it2.next();
-               if (parentKey.equals(thingKey)) {
-                  DefaultMutableTreeNode node = createClassNode(theClass, false);
-                  list.add(node);
-                  thingRoot.add(node);
-               } else {
-                  OwlClass parentClass = superClasses.get(parentKey);
-                  List<DefaultMutableTreeNode> nodes;
-                  if (nodesMap.containsKey(parentKey)) {
-                     nodes = nodesMap.get(parentKey);
-                  } else {
-                     nodes = computeClassTree(parentClass, nodesMap);
-                  }
-                  Iterator<DefaultMutableTreeNode> it3 = nodes.iterator();
-                  while (it3.hasNext()) {
-                     DefaultMutableTreeNode theNode = it3.next();
-                     DefaultMutableTreeNode node = createClassNode(theClass, false);
-                     list.add(node);
-                     theNode.add(node);
-                  }
-               }
-            }
-         }
-         if (!nodesMap.containsKey(key)) {
-            nodesMap.put(key, list);
-            addToPackagesTree(theClass);
-         }
-      }
-   }
-
-   private List<DefaultMutableTreeNode> computeClassTree(OwlClass theClass, Map<ElementKey, List<DefaultMutableTreeNode>> nodesMap) {
-      List<DefaultMutableTreeNode> nodes = new ArrayList<>();
-      ElementKey key = theClass.getKey();
-      if (nodesMap.containsKey(key)) {
-         return nodesMap.get(key);
-      }
-      addToPackagesTree(theClass);
-      Map<ElementKey, OwlClass> superClasses = theClass.getSuperClasses();
-      if (superClasses.isEmpty()) {
-         DefaultMutableTreeNode node = createClassNode(theClass, false);
-         nodes.add(node);
-         thingRoot.add(node);
-      } else {
-         Iterator<ElementKey> it2 = superClasses.keySet().iterator();
-         while (it2.hasNext()) {
-            ElementKey parentKey = it2.next();
-            if (parentKey.equals(thingKey)) {
-               DefaultMutableTreeNode node = createClassNode(theClass, false);
-               nodes.add(node);
-               thingRoot.add(node);
-            } else {
-               OwlClass parentClass = superClasses.get(parentKey);
-               List<DefaultMutableTreeNode> _nodes = computeClassTree(parentClass, nodesMap);
-               Iterator<DefaultMutableTreeNode> it3 = _nodes.iterator();
-               while (it3.hasNext()) {
-                  DefaultMutableTreeNode theNode = it3.next();
-                  DefaultMutableTreeNode node = createClassNode(theClass, false);
-                  nodes.add(node);
-                  theNode.add(node);
-               }
-            }
-         }
-      }
-      nodesMap.put(key, nodes);
-      return nodes;
-   }
-
-   private DefaultMutableTreeNode createIndividualNode(OwlIndividual individual) {
-      DefaultMutableTreeNode node = new DefaultMutableTreeNode(createElementRep(individual));
-      ElementKey theKey = individual.getKey();
-      if (!keyToIndividualNode.containsKey(theKey)) {
-         keyToIndividualNode.put(theKey, node);
-      }
-      return node;
-   }
-
-   private DefaultMutableTreeNode createPropertyNode(OwlProperty property) {
-      DefaultMutableTreeNode node = new DefaultMutableTreeNode(createElementRep(property));
-      ElementKey theKey = property.getKey();
-      if (!keyToPropertyNode.containsKey(theKey)) {
-         keyToPropertyNode.put(theKey, node);
-      }
-      return node;
+      // the nodes of the classes are only created when their parent is expanded
+      classTreeModel = new ClassTreeModel(schema, allowBold);
+      classTree.setModel(classTreeModel);
+      computePackagesTree();
    }
 
    private DefaultMutableTreeNode createAnnotationNode(OwlAnnotation annotation) {
@@ -1545,17 +1465,6 @@ public class GraphPanel extends JSplitPane implements GUITabTypes {
       return node;
    }
 
-   private DefaultMutableTreeNode createClassNode(OwlClass theClass, boolean packageTree) {
-      DefaultMutableTreeNode node = new DefaultMutableTreeNode(createElementRep(theClass));
-      ElementKey theKey = theClass.getKey();
-      if (!packageTree) {
-         if (!keyToClassNode.containsKey(theKey)) {
-            keyToClassNode.put(theKey, node);
-         }
-      }
-      return node;
-   }
-
    private OwlElementRep createElementRep(NamedOwlElement theElement) {
       return new OwlElementRep(theElement, schema, allowBold);
    }
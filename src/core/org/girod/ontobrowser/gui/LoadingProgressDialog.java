@@ -0,0 +1,174 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.gui;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import javax.swing.AbstractAction;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.WindowConstants;
+import org.girod.ontobrowser.parsers.graph.LoadingListener;
+import org.girod.ontobrowser.parsers.graph.LoadingMonitor;
+import org.girod.ontobrowser.parsers.graph.LoadingPhases;
+
+/**
+ * A non modal dialog which shows the progress of the loading of a model, and allows to cancel it.
+ *
+ * The dialog can be updated from any thread, the updates are performed in the Swing thread.
+ *
+ * @since 0.18
+ */
+public class LoadingProgressDialog implements LoadingListener {
+   private final JFrame parent;
+   private final String title;
+   private final LoadingMonitor monitor;
+   private JDialog dialog = null;
+   private JLabel phaseLabel = null;
+   private JProgressBar progressBar = null;
+   private AbstractAction cancelAction = null;
+
+   /**
+    * Constructor.
+    *
+    * @param parent the parent window
+    * @param title the title of the dialog
+    * @param monitor the loading monitor
+    */
+   public LoadingProgressDialog(JFrame parent, String title, LoadingMonitor monitor) {
+      this.parent = parent;
+      this.title = title;
+      this.monitor = monitor;
+      monitor.setListener(this);
+   }
+
+   /**
+    * Show the dialog.
+    */
+   public void show() {
+      SwingUtilities.invokeLater(new Runnable() {
+         @Override
+         public void run() {
+            showImpl();
+         }
+      });
+   }
+
+   /**
+    * Close the dialog.
+    */
+   public void close() {
+      monitor.setListener(null);
+      SwingUtilities.invokeLater(new Runnable() {
+         @Override
+         public void run() {
+            if (dialog != null) {
+               dialog.dispose();
+               dialog = null;
+            }
+         }
+      });
+   }
+
+   private void showImpl() {
+      dialog = new JDialog(parent, title, false);
+      dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+      dialog.addWindowListener(new WindowAdapter() {
+         @Override
+         public void windowClosing(WindowEvent e) {
+            cancel();
+         }
+      });
+      JPanel pane = new JPanel();
+      pane.setLayout(new BorderLayout(5, 5));
+      pane.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+      phaseLabel = new JLabel(LoadingMonitor.getPhaseDescription(monitor.getPhase()));
+      pane.add(phaseLabel, BorderLayout.NORTH);
+      progressBar = new JProgressBar(0, LoadingPhases.PHASES_COUNT);
+      progressBar.setPreferredSize(new Dimension(300, progressBar.getPreferredSize().height));
+      progressBar.setValue(monitor.getPhase());
+      pane.add(progressBar, BorderLayout.CENTER);
+
+      JPanel actionsPanel = new JPanel();
+      actionsPanel.setLayout(new FlowLayout());
+      cancelAction = new AbstractAction("Cancel") {
+         @Override
+         public void actionPerformed(ActionEvent ae) {
+            cancel();
+         }
+      };
+      cancelAction.setEnabled(monitor.getPhase() != LoadingPhases.PHASE_GRAPH);
+      actionsPanel.add(new JButton(cancelAction));
+      pane.add(actionsPanel, BorderLayout.SOUTH);
+
+      dialog.setContentPane(pane);
+      dialog.pack();
+      dialog.setLocationRelativeTo(parent);
+      dialog.setVisible(true);
+   }
+
+   private void cancel() {
+      if (cancelAction != null && cancelAction.isEnabled()) {
+         monitor.cancel();
+         cancelAction.setEnabled(false);
+         phaseLabel.setText("Cancelling...");
+      }
+   }
+
+   @Override
+   public void phaseStarted(short phase) {
+      SwingUtilities.invokeLater(new Runnable() {
+         @Override
+         public void run() {
+            if (dialog != null && !monitor.isCancelled()) {
+               phaseLabel.setText(LoadingMonitor.getPhaseDescription(phase));
+               progressBar.setValue(phase);
+               // the schema is already shown when building the diagram, so it is too late to cancel the loading
+               if (phase == LoadingPhases.PHASE_GRAPH) {
+                  cancelAction.setEnabled(false);
+               }
+            }
+         }
+      });
+   }
+}
@@ -38,8 +38,10 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.ExecutionException;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -48,16 +50,24 @@ import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
 import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
 import org.girod.ontobrowser.model.ElementTypes;
+import org.girod.ontobrowser.utils.SearchIndex;
 import org.mdi.bootstrap.swing.MDIDialog;
 import org.mdiutil.swing.GenericDialog;
 
 /**
  * This class is a Search Dialog.
  *
- * @version 0.6
+ * @version 0.18
  */
 public class SearchDialog extends GenericDialog implements MDIDialog {
    private JPanel listPanel = new JPanel();
@@ -66,12 +76,32 @@ public class SearchDialog extends GenericDialog implements MDIDialog {
    private JTextField tf;
    private JCheckBox regexCheck;
    private JCheckBox matchcaseCheck;
+   private JCheckBox fuzzyCheck;
+   private JCheckBox annotationsCheck;
+   private DefaultListModel<SearchIndex.Match> matchesModel;
+   private SearchIndex searchIndex = null;
    private static boolean _regexCheck = false;
    private static boolean _matchcaseCheck = true;
+   private static boolean _fuzzyCheck = false;
+   private static boolean _annotationsCheck = false;
+   private static final int MAX_PREVIEW_MATCHES = 20;
+   /**
+    * The delay in milliseconds after the last modification of the search before the matches are searched.
+    */
+   private static final int MATCHES_DELAY = 200;
    private final Vector<String> categories = new Vector<>();
+   private final Timer matchesTimer;
+   private SwingWorker<List<SearchIndex.Match>, Object> matchesWorker = null;
 
    public SearchDialog() {
       super("Search");
+      matchesTimer = new Timer(MATCHES_DELAY, new ActionListener() {
+         @Override
+         public void actionPerformed(ActionEvent e) {
+            searchMatches();
+         }
+      });
+      matchesTimer.setRepeats(false);
       categories.add(ElementTypes.ALL);
       categories.add(ElementTypes.CLASS);
       categories.add(ElementTypes.PROPERTY);
@@ -85,6 +115,81 @@ public class SearchDialog extends GenericDialog implements MDIDialog {
       return categories;
    }
 
+   /**
+    * Set the search index used to show the elements which match the search string while it is typed.
+    *
+    * @param searchIndex the search index (can be null)
+    */
+   public void setSearchIndex(SearchIndex searchIndex) {
+      this.searchIndex = searchIndex;
+      if (matchesModel != null) {
+         updateMatches();
+      }
+   }
+
+   /**
+    * Schedule the search of the matches. The search is only performed when the search has not been modified for
+    * {@link #MATCHES_DELAY} milliseconds, so that typing the search string does not search each intermediate string.
+    */
+   private void updateMatches() {
+      matchesTimer.restart();
+   }
+
+   /**
+    * Search the matches in the background. The search options are read in the EDT, and the matches are shown in the EDT if no
+    * other search has been started in the meantime.
+    */
+   private void searchMatches() {
+      if (matchesWorker != null) {
+         matchesWorker.cancel(false);
+         matchesWorker = null;
+      }
+      SearchIndex index = searchIndex;
+      if (index == null || tf.getText().isEmpty()) {
+         matchesModel.clear();
+         return;
+      }
+      SearchIndex.Query query = new SearchIndex.Query();
+      query.searchString = getSearchString();
+      String category = getSearchCategory();
+      query.category = category;
+      query.regex = isRegexSearch();
+      query.matchCase = matchCase();
+      query.fuzzy = isFuzzySearch();
+      query.searchAnnotations = isAnnotationsSearch();
+      if (!query.regex && !query.searchString.endsWith("*")) {
+         query.searchString += "*";
+      }
+      query.maxResults = MAX_PREVIEW_MATCHES;
+      matchesWorker = new SwingWorker<List<SearchIndex.Match>, Object>() {
+         @Override
+         protected List<SearchIndex.Match> doInBackground() throws Exception {
+            return index.search(query);
+         }
+
+         @Override
+         protected void done() {
+            if (isCancelled() || matchesWorker != this) {
+               // the results of a previous search are discarded
+               return;
+            }
+            matchesWorker = null;
+            matchesModel.clear();
+            try {
+               List<SearchIndex.Match> matches = get();
+               if (matches != null) {
+                  Iterator<SearchIndex.Match> it = matches.iterator();
+                  while (it.hasNext()) {
+                     matchesModel.addElement(it.next());
+                  }
+               }
+            } catch (InterruptedException | ExecutionException ex) {
+            }
+         }
+      };
+      matchesWorker.execute();
+   }
+
    @Override
    protected void createPanel() {
       // get the container where to put the search panels
@@ -112,6 +217,7 @@ public class SearchDialog extends GenericDialog implements MDIDialog {
       regexCheck.addActionListener(new ActionListener() {
          public void actionPerformed(ActionEvent e) {
             _regexCheck = regexCheck.isSelected();
+            updateMatches();
          }
       });
 
@@ -121,6 +227,27 @@ public class SearchDialog extends GenericDialog implements MDIDialog {
       matchcaseCheck.addActionListener(new ActionListener() {
          public void actionPerformed(ActionEvent e) {
             _matchcaseCheck = matchcaseCheck.isSelected();
+            updateMatches();
+         }
+      });
+
+      JLabel fuzzyLabel = new JLabel("Fuzzy");
+      fuzzyCheck = new JCheckBox();
+      fuzzyCheck.setSelected(_fuzzyCheck);
+      fuzzyCheck.addActionListener(new ActionListener() {
+         public void actionPerformed(ActionEvent e) {
+            _fuzzyCheck = fuzzyCheck.isSelected();
+            updateMatches();
+         }
+      });
+
+      JLabel annotationsLabel = new JLabel("Annotations");
+      annotationsCheck = new JCheckBox();
+      annotationsCheck.setSelected(_annotationsCheck);
+      annotationsCheck.addActionListener(new ActionListener() {
+         public void actionPerformed(ActionEvent e) {
+            _annotationsCheck = annotationsCheck.isSelected();
+            updateMatches();
          }
       });
 
@@ -132,10 +259,31 @@ public class SearchDialog extends GenericDialog implements MDIDialog {
       regexPanel.add(Box.createRigidArea(new Dimension(5, 5)));
       regexPanel.add(matchcaseLabel);
       regexPanel.add(matchcaseCheck);
+      regexPanel.add(Box.createRigidArea(new Dimension(5, 5)));
+      regexPanel.add(fuzzyLabel);
+      regexPanel.add(fuzzyCheck);
+      regexPanel.add(Box.createRigidArea(new Dimension(5, 5)));
+      regexPanel.add(annotationsLabel);
+      regexPanel.add(annotationsCheck);
 
       // create the search panel
       JPanel searchPanel = new JPanel();
       tf = new JTextField(15);
+      tf.getDocument().addDocumentListener(new DocumentListener() {
+         @Override
+         public void insertUpdate(DocumentEvent e) {
+            updateMatches();
+         }
+
+         @Override
+         public void removeUpdate(DocumentEvent e) {
+            updateMatches();
+         }
+
+         @Override
+         public void changedUpdate(DocumentEvent e) {
+         }
+      });
 
       searchPanel.setLayout(new BoxLayout(searchPanel, BoxLayout.X_AXIS));
       searchPanel.add(Box.createRigidArea(new Dimension(5, 5)));
@@ -148,12 +296,30 @@ public class SearchDialog extends GenericDialog implements MDIDialog {
       Dimension dim = list.getPreferredSize();
       dim.width = searchPanel.getPreferredSize().width;
       list.setPreferredSize(dim);
+      list.addListSelectionListener(new ListSelectionListener() {
+         @Override
+         public void valueChanged(ListSelectionEvent e) {
+            updateMatches();
+         }
+      });
+
+      // create the panel which shows the first matching elements while the search string is typed
+      JPanel matchesPanel = new JPanel();
+      matchesModel = new DefaultListModel<>();
+      JList<SearchIndex.Match> matchesList = new JList<>(matchesModel);
+      matchesList.setVisibleRowCount(8);
+      TitledBorder matchesBorder = BorderFactory.createTitledBorder("Matches");
+      matchesBorder.setTitleColor(Color.GRAY);
+      matchesPanel.setLayout(new BorderLayout());
+      matchesPanel.setBorder(matchesBorder);
+      matchesPanel.add(new JScrollPane(matchesList), BorderLayout.CENTER);
 
       pane.add(listPanel);
       pane.add(Box.createRigidArea(new Dimension(5, 5)));
       pane.add(regexPanel);
       pane.add(Box.createRigidArea(new Dimension(5, 5)));
       pane.add(searchPanel);
+      pane.add(matchesPanel);
       pane.add(createYesNoPanel());
       pane.add(Box.createHorizontalGlue());
    }
@@ -205,4 +371,22 @@ public class SearchDialog extends GenericDialog implements MDIDialog {
    public boolean matchCase() {
       return matchcaseCheck.isSelected();
    }
+
+   /**
+    * Return true if the search must also find the elements with words near the searched words.
+    *
+    * @return true if the search must also find the elements with words near the searched words
+    */
+   public boolean isFuzzySearch() {
+      return fuzzyCheck.isSelected();
+   }
+
+   /**
+    * Return true if the search must also be performed on the labels, comments and annotations of the elements.
+    *
+    * @return true if the search must also be performed on the labels, comments and annotations of the elements
+    */
+   public boolean isAnnotationsSearch() {
+      return annotationsCheck.isSelected();
+   }
 }
@@ -47,6 +47,8 @@ public class SearchOptions {
    public String searchString = "";
    public boolean regex = false;
    public boolean matchCase = true;
+   public boolean fuzzy = false;
+   public boolean searchAnnotations = false;
 
    public SearchOptions() {
    }
@@ -0,0 +1,154 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.gui.tree;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.tree.TreePath;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * The model of the classes tree. A class appears under each of its super classes, and the classes which have no super
+ * class other than Thing appear under the root of the tree. The nodes are created only when their parent is expanded.
+ *
+ * @since 0.18
+ */
+public class ClassTreeModel extends LazyTreeModel {
+   private static final Object ROOT_KEY = new Object();
+   private final ElementKey thingKey;
+   private final LazyTreeNode thingRoot;
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema (can be null for an empty tree)
+    * @param allowBold true if the elements of the schema can be shown in bold
+    */
+   public ClassTreeModel(OwlSchema schema, boolean allowBold) {
+      super(schema, allowBold);
+      if (schema != null && schema.getThingClass() != null) {
+         thingKey = schema.getThingClass().getKey();
+      } else {
+         thingKey = null;
+      }
+      thingRoot = createNode(ROOT_KEY, "Thing");
+      setRoot(thingRoot);
+   }
+
+   @Override
+   protected void computeChildrenIndex(Map<Object, List<NamedOwlElement>> index) {
+      Set<ElementKey> indexed = new HashSet<>();
+      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
+      while (it.hasNext()) {
+         OwlClass theClass = it.next();
+         indexClass(index, theClass, indexed);
+      }
+   }
+
+   private void indexClass(Map<Object, List<NamedOwlElement>> index, OwlClass theClass, Set<ElementKey> indexed) {
+      ElementKey key = theClass.getKey();
+      if (key.equals(thingKey) || indexed.contains(key)) {
+         return;
+      }
+      indexed.add(key);
+      Map<ElementKey, OwlClass> superClasses = theClass.getSuperClasses();
+      if (superClasses.isEmpty()) {
+         addChild(index, ROOT_KEY, theClass);
+      } else {
+         Iterator<Map.Entry<ElementKey, OwlClass>> it = superClasses.entrySet().iterator();
+         while (it.hasNext()) {
+            Map.Entry<ElementKey, OwlClass> entry = it.next();
+            ElementKey parentKey = entry.getKey();
+            if (parentKey.equals(thingKey)) {
+               addChild(index, ROOT_KEY, theClass);
+            } else {
+               addChild(index, parentKey, theClass);
+               // the super class may not be one of the classes of the schema
+               indexClass(index, entry.getValue(), indexed);
+            }
+         }
+      }
+   }
+
+   /**
+    * Return the path of the node representing a class in the tree. If the class has several super classes, the path
+    * goes through the super class with the lowest key.
+    *
+    * @param key the class key
+    * @return the path, or null if the class is not in the tree
+    */
+   @Override
+   public TreePath getPath(ElementKey key) {
+      if (key.equals(thingKey)) {
+         return new TreePath(thingRoot);
+      }
+      if (schema == null || !schema.getOwlClasses().containsKey(key)) {
+         return null;
+      }
+      List<ElementKey> keys = new ArrayList<>();
+      Set<ElementKey> visited = new HashSet<>();
+      OwlClass theClass = schema.getOwlClasses().get(key);
+      while (theClass != null) {
+         ElementKey classKey = theClass.getKey();
+         keys.add(0, classKey);
+         visited.add(classKey);
+         Map<ElementKey, OwlClass> superClasses = theClass.getSuperClasses();
+         if (superClasses.isEmpty() || superClasses.containsKey(thingKey)) {
+            return createPath(thingRoot, keys);
+         }
+         theClass = getFirstSuperClass(superClasses, visited);
+      }
+      // all the super classes have already been visited, which means that the hierarchy has a cycle
+      return null;
+   }
+
+   private OwlClass getFirstSuperClass(Map<ElementKey, OwlClass> superClasses, Set<ElementKey> visited) {
+      OwlClass superClass = null;
+      Iterator<Map.Entry<ElementKey, OwlClass>> it = superClasses.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<ElementKey, OwlClass> entry = it.next();
+         ElementKey parentKey = entry.getKey();
+         if (!visited.contains(parentKey) && (superClass == null || parentKey.compareTo(superClass.getKey()) < 0)) {
+            superClass = entry.getValue();
+         }
+      }
+      return superClass;
+   }
+}
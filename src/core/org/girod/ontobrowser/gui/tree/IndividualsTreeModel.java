@@ -0,0 +1,89 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.gui.tree;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.swing.tree.TreePath;
+import org.girod.ontobrowser.gui.GUITabTypes;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlIndividual;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * The model of the individuals tree. The nodes of the individuals are created only when they are shown in the tree.
+ *
+ * @since 0.18
+ */
+public class IndividualsTreeModel extends LazyTreeModel {
+   private static final Object ROOT_KEY = new Object();
+   private final LazyTreeNode individualsRoot;
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema (can be null for an empty tree)
+    * @param allowBold true if the elements of the schema can be shown in bold
+    */
+   public IndividualsTreeModel(OwlSchema schema, boolean allowBold) {
+      super(schema, allowBold);
+      individualsRoot = createNode(ROOT_KEY, GUITabTypes.INDIVIDUALS_NAME);
+      setRoot(individualsRoot);
+   }
+
+   @Override
+   protected void computeChildrenIndex(Map<Object, List<NamedOwlElement>> index) {
+      Iterator<OwlIndividual> it = schema.getIndividuals().values().iterator();
+      while (it.hasNext()) {
+         addChild(index, ROOT_KEY, it.next());
+      }
+   }
+
+   /**
+    * Return the path of the node representing an individual in the tree.
+    *
+    * @param key the individual key
+    * @return the path, or null if the individual is not in the tree
+    */
+   @Override
+   public TreePath getPath(ElementKey key) {
+      LazyTreeNode node = individualsRoot.getChild(key);
+      if (node == null) {
+         return null;
+      } else {
+         return new TreePath(node.getPath());
+      }
+   }
+}
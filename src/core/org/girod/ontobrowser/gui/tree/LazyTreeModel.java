@@ -0,0 +1,241 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.gui.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreeNode;
+import javax.swing.tree.TreePath;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * The abstract tree model of the trees whose nodes are created only when they are expanded. The model keeps an index
+ * of the children elements of each parent, computed from the schema on the first access to the children of a node, and
+ * the nodes are {@link LazyTreeNode}s which create their children on demand from this index.
+ *
+ * @since 0.18
+ */
+public abstract class LazyTreeModel extends DefaultTreeModel {
+   /**
+    * The schema.
+    */
+   protected final OwlSchema schema;
+   private final boolean allowBold;
+   private Map<Object, List<NamedOwlElement>> childrenIndex = null;
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema (can be null for an empty tree)
+    * @param allowBold true if the elements of the schema can be shown in bold
+    */
+   protected LazyTreeModel(OwlSchema schema, boolean allowBold) {
+      super(null);
+      this.schema = schema;
+      this.allowBold = allowBold;
+   }
+
+   /**
+    * Return the schema.
+    *
+    * @return the schema
+    */
+   public OwlSchema getSchema() {
+      return schema;
+   }
+
+   /**
+    * Create a node which does not represent an element, such as the root of the tree.
+    *
+    * @param indexKey the key of the children of the node in the index
+    * @param userObject the user object of the node
+    * @return the node
+    */
+   protected LazyTreeNode createNode(Object indexKey, Object userObject) {
+      return new LazyTreeNode(this, indexKey, userObject);
+   }
+
+   /**
+    * Create the representation of an element in the tree.
+    *
+    * @param element the element
+    * @return the representation
+    */
+   protected OwlElementRep createElementRep(NamedOwlElement element) {
+      return new OwlElementRep(element, schema, allowBold);
+   }
+
+   /**
+    * Compute the index of the children elements. The keys of the index are the keys of the parent elements, or the
+    * index keys of the nodes which do not represent an element. The children do not need to be sorted.
+    *
+    * @param index the index
+    */
+   protected abstract void computeChildrenIndex(Map<Object, List<NamedOwlElement>> index);
+
+   /**
+    * Add a child element in the index of the children elements.
+    *
+    * @param index the index
+    * @param parentKey the key of the parent
+    * @param child the child element
+    */
+   protected void addChild(Map<Object, List<NamedOwlElement>> index, Object parentKey, NamedOwlElement child) {
+      List<NamedOwlElement> children = index.get(parentKey);
+      if (children == null) {
+         children = new ArrayList<>();
+         index.put(parentKey, children);
+      }
+      children.add(child);
+   }
+
+   private Map<Object, List<NamedOwlElement>> getChildrenIndex() {
+      if (childrenIndex == null) {
+         Map<Object, List<NamedOwlElement>> index = new HashMap<>();
+         if (schema != null) {
+            computeChildrenIndex(index);
+         }
+         childrenIndex = index;
+      }
+      return childrenIndex;
+   }
+
+   /**
+    * Return the unsorted children elements of a parent.
+    *
+    * @param parentKey the key of the parent
+    * @return the children elements
+    */
+   List<NamedOwlElement> getChildren(Object parentKey) {
+      List<NamedOwlElement> children = getChildrenIndex().get(parentKey);
+      if (children == null) {
+         return Collections.emptyList();
+      } else {
+         return children;
+      }
+   }
+
+   /**
+    * Return true if a parent has children elements.
+    *
+    * @param parentKey the key of the parent
+    * @return true if the parent has children elements
+    */
+   boolean hasChildren(Object parentKey) {
+      return getChildrenIndex().containsKey(parentKey);
+   }
+
+   /**
+    * Update the representation of some elements in the tree, after their annotations or their label have been modified. Only the
+    * nodes which have already been created are updated, the other nodes will use the new state of the elements when they are
+    * created.
+    *
+    * @param keys the elements keys
+    */
+   public void updateElements(Set<ElementKey> keys) {
+      List<LazyTreeNode> nodes = new ArrayList<>();
+      collectCreatedNodes((TreeNode) getRoot(), keys, nodes);
+      Iterator<LazyTreeNode> it = nodes.iterator();
+      while (it.hasNext()) {
+         LazyTreeNode node = it.next();
+         node.setUserObject(createElementRep(node.getElement()));
+         nodeChanged(node);
+      }
+   }
+
+   private void collectCreatedNodes(TreeNode node, Set<ElementKey> keys, List<LazyTreeNode> nodes) {
+      if (node instanceof LazyTreeNode) {
+         ((LazyTreeNode) node).collectCreatedNodes(keys, nodes);
+      } else if (node != null) {
+         for (int i = 0; i < node.getChildCount(); i++) {
+            collectCreatedNodes(node.getChildAt(i), keys, nodes);
+         }
+      }
+   }
+
+   /**
+    * Return the path from a node to one of its descendants. The nodes along the path are created if they did not
+    * exist yet.
+    *
+    * @param node the node
+    * @param keys the keys of the elements along the path, starting with the child of the node
+    * @return the path, or null if there is no descendant for these keys
+    */
+   protected TreePath createPath(LazyTreeNode node, List<ElementKey> keys) {
+      TreePath path = new TreePath(node.getPath());
+      Iterator<ElementKey> it = keys.iterator();
+      while (it.hasNext()) {
+         ElementKey key = it.next();
+         node = node.getChild(key);
+         if (node == null) {
+            return null;
+         }
+         path = path.pathByAddingChild(node);
+      }
+      return path;
+   }
+
+   /**
+    * Return the path of the node representing an element in the tree. The nodes along the path are created if they
+    * did not exist yet.
+    *
+    * @param key the element key
+    * @return the path, or null if the element is not in the tree
+    */
+   public abstract TreePath getPath(ElementKey key);
+
+   /**
+    * Return the node representing an element in the tree. The nodes along the path of the node are created if they did
+    * not exist yet.
+    *
+    * @param key the element key
+    * @return the node, or null if the element is not in the tree
+    */
+   public DefaultMutableTreeNode getNode(ElementKey key) {
+      TreePath path = getPath(key);
+      if (path == null) {
+         return null;
+      } else {
+         return (DefaultMutableTreeNode) path.getLastPathComponent();
+      }
+   }
+}
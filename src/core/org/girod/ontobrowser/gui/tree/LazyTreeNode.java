@@ -0,0 +1,280 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.gui.tree;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.MutableTreeNode;
+import javax.swing.tree.TreeNode;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
+
+/**
+ * A tree node whose children are created only when they are accessed. The sorted index of the children elements is
+ * computed on the first access to the children of the node, and each child node is created the first time it is
+ * returned by {@link #getChildAt(int)}.
+ *
+ * <p>The node is a {@link DefaultMutableTreeNode} so that the listeners of the trees can still get the
+ * {@link OwlElementRep} of a node by its user object, but the children of the node can not be modified.</p>
+ *
+ * @since 0.18
+ */
+public class LazyTreeNode extends DefaultMutableTreeNode {
+   private static final Comparator<NamedOwlElement> KEY_COMPARATOR = new Comparator<NamedOwlElement>() {
+      @Override
+      public int compare(NamedOwlElement elt1, NamedOwlElement elt2) {
+         return elt1.getKey().compareTo(elt2.getKey());
+      }
+   };
+   private final LazyTreeModel model;
+   private final Object indexKey;
+   private final NamedOwlElement element;
+   private NamedOwlElement[] childElements = null;
+   private LazyTreeNode[] childNodes = null;
+
+   /**
+    * Constructor for a node representing an element.
+    *
+    * @param model the model
+    * @param element the element
+    */
+   LazyTreeNode(LazyTreeModel model, NamedOwlElement element) {
+      super(model.createElementRep(element));
+      this.model = model;
+      this.element = element;
+      this.indexKey = element.getKey();
+   }
+
+   /**
+    * Constructor for a node which does not represent an element, such as the root of a tree.
+    *
+    * @param model the model
+    * @param indexKey the key of the children of the node in the model
+    * @param userObject the user object
+    */
+   LazyTreeNode(LazyTreeModel model, Object indexKey, Object userObject) {
+      super(userObject);
+      this.model = model;
+      this.element = null;
+      this.indexKey = indexKey;
+   }
+
+   /**
+    * Return the element represented by this node. Return null if the node does not represent an element.
+    *
+    * @return the element
+    */
+   public NamedOwlElement getElement() {
+      return element;
+   }
+
+   /**
+    * Return true if the sorted index of the children of the node has been computed.
+    *
+    * @return true if the sorted index of the children of the node has been computed
+    */
+   public boolean isChildIndexComputed() {
+      return childElements != null;
+   }
+
+   /**
+    * Return the number of children nodes which have already been created.
+    *
+    * @return the number of children nodes which have already been created
+    */
+   public int getCreatedChildCount() {
+      if (childNodes == null) {
+         return 0;
+      }
+      int count = 0;
+      for (int i = 0; i < childNodes.length; i++) {
+         if (childNodes[i] != null) {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   private NamedOwlElement[] getChildElements() {
+      if (childElements == null) {
+         List<NamedOwlElement> list = model.getChildren(indexKey);
+         NamedOwlElement[] elements = list.toArray(new NamedOwlElement[list.size()]);
+         Arrays.sort(elements, KEY_COMPARATOR);
+         childNodes = new LazyTreeNode[elements.length];
+         childElements = elements;
+      }
+      return childElements;
+   }
+
+   private int getIndex(ElementKey key) {
+      NamedOwlElement[] elements = getChildElements();
+      int low = 0;
+      int high = elements.length - 1;
+      while (low <= high) {
+         int mid = (low + high) >>> 1;
+         int compared = elements[mid].getKey().compareTo(key);
+         if (compared < 0) {
+            low = mid + 1;
+         } else if (compared > 0) {
+            high = mid - 1;
+         } else {
+            return mid;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * Return the child node representing an element. The node is created if it did not exist yet.
+    *
+    * @param key the element key
+    * @return the child node, or null if there is no child for this element
+    */
+   public LazyTreeNode getChild(ElementKey key) {
+      int index = getIndex(key);
+      if (index == -1) {
+         return null;
+      } else {
+         return (LazyTreeNode) getChildAt(index);
+      }
+   }
+
+   /**
+    * Collect this node and its already created descendants which represent some elements.
+    *
+    * @param keys the elements keys
+    * @param nodes the collected nodes
+    */
+   void collectCreatedNodes(Set<ElementKey> keys, List<LazyTreeNode> nodes) {
+      if (element != null && keys.contains(element.getKey())) {
+         nodes.add(this);
+      }
+      if (childNodes != null) {
+         for (int i = 0; i < childNodes.length; i++) {
+            if (childNodes[i] != null) {
+               childNodes[i].collectCreatedNodes(keys, nodes);
+            }
+         }
+      }
+   }
+
+   @Override
+   public int getChildCount() {
+      return getChildElements().length;
+   }
+
+   @Override
+   public TreeNode getChildAt(int index) {
+      NamedOwlElement[] elements = getChildElements();
+      if (index < 0 || index >= elements.length) {
+         throw new ArrayIndexOutOfBoundsException("node has no child at index " + index);
+      }
+      LazyTreeNode node = childNodes[index];
+      if (node == null) {
+         node = new LazyTreeNode(model, elements[index]);
+         node.setParent(this);
+         childNodes[index] = node;
+      }
+      return node;
+   }
+
+   @Override
+   public int getIndex(TreeNode child) {
+      if (child == null) {
+         throw new IllegalArgumentException("argument is null");
+      }
+      if (!(child instanceof LazyTreeNode) || child.getParent() != this) {
+         return -1;
+      }
+      NamedOwlElement childElement = ((LazyTreeNode) child).getElement();
+      if (childElement == null) {
+         return -1;
+      }
+      int index = getIndex(childElement.getKey());
+      if (index == -1 || childNodes[index] != child) {
+         return -1;
+      }
+      return index;
+   }
+
+   @Override
+   public Enumeration<TreeNode> children() {
+      return new Enumeration<TreeNode>() {
+         private int index = 0;
+
+         @Override
+         public boolean hasMoreElements() {
+            return index < getChildCount();
+         }
+
+         @Override
+         public TreeNode nextElement() {
+            if (index >= getChildCount()) {
+               throw new NoSuchElementException();
+            }
+            TreeNode node = getChildAt(index);
+            index++;
+            return node;
+         }
+      };
+   }
+
+   /**
+    * Return true if the node has no children. This does not compute the sorted index of the children of the node.
+    *
+    * @return true if the node has no children
+    */
+   @Override
+   public boolean isLeaf() {
+      if (childElements != null) {
+         return childElements.length == 0;
+      } else {
+         return !model.hasChildren(indexKey);
+      }
+   }
+
+   @Override
+   public void insert(MutableTreeNode newChild, int childIndex) {
+      throw new UnsupportedOperationException("The children of a lazy node can not be modified");
+   }
+
+   @Override
+   public void remove(int childIndex) {
+      throw new UnsupportedOperationException("The children of a lazy node can not be modified");
+   }
+}
@@ -0,0 +1,165 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.gui.tree;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreePath;
+import org.girod.ontobrowser.gui.GUITabTypes;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * The model of the properties tree. The object properties and the datatype properties are under two separate nodes, and
+ * a property appears under each of its super properties. The nodes are created only when their parent is expanded.
+ *
+ * @since 0.18
+ */
+public class PropertiesTreeModel extends LazyTreeModel {
+   private static final Object OBJECT_PROPERTIES_KEY = new Object();
+   private static final Object DATA_PROPERTIES_KEY = new Object();
+   private final LazyTreeNode objectPropertiesRoot;
+   private final LazyTreeNode dataPropertiesRoot;
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema (can be null for an empty tree)
+    * @param allowBold true if the elements of the schema can be shown in bold
+    */
+   public PropertiesTreeModel(OwlSchema schema, boolean allowBold) {
+      super(schema, allowBold);
+      DefaultMutableTreeNode propertiesRoot = new DefaultMutableTreeNode(GUITabTypes.PROPERTIES_NAME);
+      objectPropertiesRoot = createNode(OBJECT_PROPERTIES_KEY, GUITabTypes.OBJECT_PROPERTIES_NAME);
+      dataPropertiesRoot = createNode(DATA_PROPERTIES_KEY, GUITabTypes.DATA_PROPERTIES_NAME);
+      propertiesRoot.add(objectPropertiesRoot);
+      propertiesRoot.add(dataPropertiesRoot);
+      setRoot(propertiesRoot);
+   }
+
+   /**
+    * Return the node under which are the object properties.
+    *
+    * @return the node
+    */
+   public LazyTreeNode getObjectPropertiesRoot() {
+      return objectPropertiesRoot;
+   }
+
+   /**
+    * Return the node under which are the datatype properties.
+    *
+    * @return the node
+    */
+   public LazyTreeNode getDataPropertiesRoot() {
+      return dataPropertiesRoot;
+   }
+
+   @Override
+   protected void computeChildrenIndex(Map<Object, List<NamedOwlElement>> index) {
+      Iterator<OwlProperty> it = schema.getOwlProperties().values().iterator();
+      while (it.hasNext()) {
+         OwlProperty property = it.next();
+         Map<ElementKey, OwlProperty> superProperties = property.getSuperProperties();
+         if (superProperties.isEmpty()) {
+            addChild(index, getRootKey(property), property);
+         } else {
+            Iterator<ElementKey> it2 = superProperties.keySet().iterator();
+            while (it2.hasNext()) {
+               addChild(index, it2.next(), property);
+            }
+         }
+      }
+   }
+
+   private Object getRootKey(OwlProperty property) {
+      if (property.isObjectProperty()) {
+         return OBJECT_PROPERTIES_KEY;
+      } else {
+         return DATA_PROPERTIES_KEY;
+      }
+   }
+
+   /**
+    * Return the path of the node representing a property in the tree. If the property has several super properties,
+    * the path goes through the super property with the lowest key.
+    *
+    * @param key the property key
+    * @return the path, or null if the property is not in the tree
+    */
+   @Override
+   public TreePath getPath(ElementKey key) {
+      if (schema == null || !schema.getOwlProperties().containsKey(key)) {
+         return null;
+      }
+      List<ElementKey> keys = new ArrayList<>();
+      Set<ElementKey> visited = new HashSet<>();
+      OwlProperty property = schema.getOwlProperties().get(key);
+      while (property != null) {
+         ElementKey propertyKey = property.getKey();
+         keys.add(0, propertyKey);
+         visited.add(propertyKey);
+         Map<ElementKey, OwlProperty> superProperties = property.getSuperProperties();
+         if (superProperties.isEmpty()) {
+            if (property.isObjectProperty()) {
+               return createPath(objectPropertiesRoot, keys);
+            } else {
+               return createPath(dataPropertiesRoot, keys);
+            }
+         }
+         property = getFirstSuperProperty(superProperties, visited);
+      }
+      // all the super properties have already been visited, which means that the hierarchy has a cycle
+      return null;
+   }
+
+   private OwlProperty getFirstSuperProperty(Map<ElementKey, OwlProperty> superProperties, Set<ElementKey> visited) {
+      OwlProperty superProperty = null;
+      Iterator<Map.Entry<ElementKey, OwlProperty>> it = superProperties.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<ElementKey, OwlProperty> entry = it.next();
+         ElementKey parentKey = entry.getKey();
+         if (!visited.contains(parentKey) && (superProperty == null || parentKey.compareTo(superProperty.getKey()) < 0)) {
+            superProperty = entry.getValue();
+         }
+      }
+      return superProperty;
+   }
+}
@@ -32,15 +32,17 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.Serializable;
 import java.util.Map;
 
 /**
  * An annotated element.
  *
- * @version 0.13
+ * @version 0.18
  */
-public abstract class AnnotatedElement {
+public abstract class AnnotatedElement implements Serializable {
+   private static final long serialVersionUID = 1L;
    public static final ElementKey DUBLINCORE_DESCRIPTION = ElementKey.create("http://purl.org/dc/terms/", "description");
    public static final ElementKey DUBLINCORE_DESCRIPTION2 = ElementKey.create("http://purl.org/dc/elements/1.1/", "description");
    public static final ElementKey COMMENT = ElementKey.create("http://www.w3.org/2000/01/rdf-schema/", "comment");
@@ -55,7 +57,7 @@ public abstract class AnnotatedElement {
    public static final OwlAnnotation DEFINED_BY_ANNOTATION = new OwlAnnotation(DEFINED_BY);
    public static final OwlAnnotation VERSION_INFO_ANNOTATION = new OwlAnnotation(VERSION_INFO);
    public static final OwlAnnotation LABEL_ANNOTATION = new OwlAnnotation(LABEL);
-   public final Map<ElementKey, AnnotationValue> annotations = new HashMap<>();
+   public final Map<ElementKey, AnnotationValue> annotations = new ElementMap<>();
    private ElementDocumentation elementDoc = null;
    /**
     * The element label.
@@ -74,6 +76,30 @@ public abstract class AnnotatedElement {
       return elementDoc;
    }
 
+   /**
+    * Write the annotations, the documentation and the label of the element in a snapshot.
+    *
+    * @param writer the snapshot writer
+    * @throws IOException if the element could not be written
+    */
+   void writeSnapshot(SchemaSnapshot.Writer writer) throws IOException {
+      writer.writeAnnotationValues(annotations);
+      writer.writeDocumentation(elementDoc);
+      writer.writeString(label);
+   }
+
+   /**
+    * Read the annotations, the documentation and the label of the element from a snapshot.
+    *
+    * @param reader the snapshot reader
+    * @throws IOException if the element could not be read
+    */
+   void readSnapshot(SchemaSnapshot.Reader reader) throws IOException {
+      reader.readAnnotationValues(annotations);
+      elementDoc = reader.readDocumentation();
+      label = LiteralPool.getInstance().intern(reader.readString());
+   }
+
    protected ElementDocumentation createDocumentation() {
       if (elementDoc == null) {
          elementDoc = new ElementDocumentation();
@@ -126,6 +152,16 @@ public abstract class AnnotatedElement {
       return !annotations.isEmpty();
    }   
 
+   /**
+    * Remove the annotations, the documentation and the label of the element. It is used before extracting again the annotations of
+    * the element.
+    */
+   public void clearAnnotations() {
+      annotations.clear();
+      elementDoc = null;
+      label = null;
+   }
+
    /**
     * Set the element description.
     *
@@ -256,9 +292,9 @@ public abstract class AnnotatedElement {
     */
    public void setLabel(String label) {
       if (label != null) {
-         this.label = label;
-         annotations.put(LABEL, new AnnotationValue.LiteralAnnotationValue(LABEL_ANNOTATION, label));
-         createDocumentation().setLabel(label);
+         this.label = LiteralPool.getInstance().intern(label);
+         annotations.put(LABEL, new AnnotationValue.LiteralAnnotationValue(LABEL_ANNOTATION, this.label));
+         createDocumentation().setLabel(this.label);
       }
    }
 
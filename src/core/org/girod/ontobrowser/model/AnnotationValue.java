@@ -32,12 +32,13 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.Serializable;
 import java.net.URI;
 
 /**
  * The value of an annotation on an element.
  *
- * @version 0.13
+ * @version 0.18
  */
 public interface AnnotationValue {
    public static final short LITERAL_TYPE = 0;
@@ -92,13 +93,14 @@ public interface AnnotationValue {
     */
    public String getLiteral();
 
-   public static class URIAnnotationValue implements AnnotationValue {
+   public static class URIAnnotationValue implements AnnotationValue, Serializable {
+      private static final long serialVersionUID = 1L;
       private final URI uri;
       private final OwlAnnotation annotation;
 
       public URIAnnotationValue(OwlAnnotation annotation, URI uri) {
          this.annotation = annotation;
-         this.uri = uri;
+         this.uri = LiteralPool.getInstance().intern(uri);
       }
 
       /**
@@ -141,7 +143,8 @@ public interface AnnotationValue {
       }
    }
 
-   public static class ElementAnnotationValue implements AnnotationValue {
+   public static class ElementAnnotationValue implements AnnotationValue, Serializable {
+      private static final long serialVersionUID = 1L;
       private final NamedOwlElement element;
       private final OwlAnnotation annotation;
 
@@ -190,12 +193,13 @@ public interface AnnotationValue {
       }
    }
 
-   public static class LiteralAnnotationValue implements AnnotationValue {
-      private final String literal;
+   public static class LiteralAnnotationValue implements AnnotationValue, Serializable {
+      private static final long serialVersionUID = 1L;
+      private final Object literal;
       private final OwlAnnotation annotation;
 
       public LiteralAnnotationValue(OwlAnnotation annotation, String literal) {
-         this.literal = literal;
+         this.literal = LiteralPool.getInstance().compact(literal);
          this.annotation = annotation;
       }
       
@@ -216,7 +220,7 @@ public interface AnnotationValue {
 
       @Override
       public String getLiteral() {
-         return literal;
+         return LiteralPool.toString(literal);
       }
 
       /**
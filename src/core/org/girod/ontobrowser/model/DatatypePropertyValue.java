@@ -38,6 +38,7 @@ package org.girod.ontobrowser.model;
  * @since 0.8
  */
 public class DatatypePropertyValue extends PropertyValue<OwlDatatypeProperty> {
+   private static final long serialVersionUID = 1L;
    private final OwlDatatype datatype;
    private final String value;
 
@@ -32,21 +32,26 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.Serializable;
+
 /**
- * Represents any element documentation.
+ * Represents any element documentation. The description, comments and version information are stored in the {@link LiteralPool}, and
+ * are only decoded when they are used.
  *
- * @version 0.13
+ * @version 0.18
  */
-public class ElementDocumentation {
-   private String desc = null;
-   private String comments = null;
+public class ElementDocumentation implements Serializable {
+   private static final long serialVersionUID = 1L;
+   private Object desc = null;
+   private Object comments = null;
    private String label = null;
-   private String versionInfo = null;
+   private Object versionInfo = null;
    private AnnotationValue isDefinedBy = null;
    private AnnotationValue seeAlso = null;
 
    public ElementDocumentation() {
    }
+
    
    /**
     * Set the description.
@@ -54,7 +59,7 @@ public class ElementDocumentation {
     * @param desc the description
     */
    public void setDescription(String desc) {
-      this.desc = desc;
+      this.desc = LiteralPool.getInstance().compact(desc);
    }
 
    /**
@@ -72,7 +77,7 @@ public class ElementDocumentation {
     * @return the description
     */
    public String getDescription() {
-      return desc;
+      return LiteralPool.toString(desc);
    }   
    
    /**
@@ -95,9 +100,9 @@ public class ElementDocumentation {
     */
    public String getDescriptionOrComments() {
       if (desc != null) {
-         return desc;
+         return desc.toString();
       } else {
-         return comments;
+         return LiteralPool.toString(comments);
       }
    }     
 
@@ -107,7 +112,7 @@ public class ElementDocumentation {
     * @param comments the comments
     */
    public void setComments(String comments) {
-      this.comments = comments;
+      this.comments = LiteralPool.getInstance().compact(comments);
    }
 
    /**
@@ -125,7 +130,7 @@ public class ElementDocumentation {
     * @return the comments
     */
    public String getComments() {
-      return comments;
+      return LiteralPool.toString(comments);
    }
 
    /**
@@ -134,7 +139,7 @@ public class ElementDocumentation {
     * @param versionInfo the version information
     */
    public void setVersionInfo(String versionInfo) {
-      this.versionInfo = versionInfo;
+      this.versionInfo = LiteralPool.getInstance().compact(versionInfo);
    }
    
    /**
@@ -152,7 +157,7 @@ public class ElementDocumentation {
     * @return the version information
     */
    public String getVersionInfo() {
-      return versionInfo;
+      return LiteralPool.toString(versionInfo);
    }
    
    /**
@@ -161,7 +166,7 @@ public class ElementDocumentation {
     * @param label the label information
     */
    public void setLabel(String label) {
-      this.label = label;
+      this.label = LiteralPool.getInstance().intern(label);
    }
    
    /**
@@ -38,11 +38,13 @@ import java.net.URISyntaxException;
 import java.util.Objects;
 
 /**
- * The element key, with a name and namespace.
+ * The element key, with a name and namespace. The hash code of the key is computed only once. The {@link #create(String, String)},
+ * {@link #create(String)} and {@link #createFromURI(String)} methods return the canonical keys of the {@link ElementKeyPool}.
  *
- * @version 0.8
+ * @version 0.18
  */
 public class ElementKey implements Comparable<ElementKey>, Cloneable, Serializable {
+   private static final long serialVersionUID = 1L;
    public static final String XML_NAMESPACE = "http://www.w3.org/2001/XMLSchema#";
    /**
     * The Thing key.
@@ -50,10 +52,12 @@ public class ElementKey implements Comparable<ElementKey>, Cloneable, Serializab
    public static final ElementKey THING = ElementKey.create("http://www.w3.org/2002/07/owl#", "Thing");
    private final String namespace;
    private final String name;
+   private final int hash;
 
    public ElementKey(String name) {
       this.namespace = null;
       this.name = name;
+      this.hash = computeHash();
    }
 
    public ElementKey(OwlSchema schema, String prefix, String name) {
@@ -64,11 +68,20 @@ public class ElementKey implements Comparable<ElementKey>, Cloneable, Serializab
          this.namespace = null;
          this.name = name;
       }
+      this.hash = computeHash();
    }
 
    public ElementKey(String namespace, String name) {
       this.namespace = namespace;
       this.name = name;
+      this.hash = computeHash();
+   }
+
+   private int computeHash() {
+      int _hash = 3;
+      _hash = 79 * _hash + Objects.hashCode(this.namespace);
+      _hash = 79 * _hash + Objects.hashCode(this.name);
+      return _hash;
    }
 
    /**
@@ -108,25 +121,35 @@ public class ElementKey implements Comparable<ElementKey>, Cloneable, Serializab
       }
    }
 
+   /**
+    * Return the canonical key for an URI. The namespace of the key ends with the '#' character of the URI.
+    *
+    * @param uriAsString the URI
+    * @return the key, or null if the URI has no '#' character
+    */
    public static ElementKey createFromURI(String uriAsString) {
-      if (uriAsString.contains("#")) {
-         int index = uriAsString.indexOf("#");
-         String namespace = uriAsString.substring(0, index + 1);
-         String name = uriAsString.substring(index + 1);
-         return create(namespace, name);
-      } else {
-         return null;
-      }
+      return ElementKeyPool.getInstance().getKeyFromURI(uriAsString);
    }
 
+   /**
+    * Return the canonical key for a name without namespace.
+    *
+    * @param name the name
+    * @return the key
+    */
    public static ElementKey create(String name) {
-      ElementKey key = new ElementKey(name);
-      return key;
+      return ElementKeyPool.getInstance().getKey(name);
    }
 
+   /**
+    * Return the canonical key for a namespace and a name.
+    *
+    * @param namespace the namespace (can be null)
+    * @param name the name
+    * @return the key
+    */
    public static ElementKey create(String namespace, String name) {
-      ElementKey key = new ElementKey(namespace, name);
-      return key;
+      return ElementKeyPool.getInstance().getKey(namespace, name);
    }
 
    @Override
@@ -141,9 +164,6 @@ public class ElementKey implements Comparable<ElementKey>, Cloneable, Serializab
 
    @Override
    public int hashCode() {
-      int hash = 3;
-      hash = 79 * hash + Objects.hashCode(this.namespace);
-      hash = 79 * hash + Objects.hashCode(this.name);
       return hash;
    }
 
@@ -168,6 +188,9 @@ public class ElementKey implements Comparable<ElementKey>, Cloneable, Serializab
          return false;
       }
       final ElementKey other = (ElementKey) obj;
+      if (hash != other.hash) {
+         return false;
+      }
       if (!Objects.equals(this.namespace, other.namespace)) {
          return false;
       }
@@ -195,6 +218,15 @@ public class ElementKey implements Comparable<ElementKey>, Cloneable, Serializab
       }
    }
 
+   /**
+    * Return the canonical key when deserializing the key.
+    *
+    * @return the canonical key
+    */
+   private Object readResolve() {
+      return ElementKeyPool.getInstance().getKey(namespace, name);
+   }
+
    public String getName() {
       return name;
    }
@@ -0,0 +1,344 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.model;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * The pool of the canonical element keys. The pool interns the namespaces of the keys, so that all the keys of a namespace share
+ * the same namespace String, and returns the same key instance for the same namespace and name.
+ *
+ * The pool only keeps weak references on the keys and the namespaces, so the keys which are not used anymore by any schema are removed
+ * from the pool. The keys are stored in hash tables whose chains are never modified once they are published, so looking up an existing
+ * key does not lock anything and does not allocate anything: the hash code of the key is computed from the namespace and the name
+ * (or from the two parts of an URI), and the keys of the chain are compared in place. Only the creation of a new key locks the segment
+ * of the key, so that the keys can be created concurrently by the parallel extraction. Note that the keys equality does not depend on
+ * the identity of the keys, so keys which have not been created by the pool are still valid.
+ *
+ * @since 0.18
+ */
+public class ElementKeyPool {
+   private static final int SEGMENTS = 16;
+   private static final int SEGMENT_BITS = 4;
+   private static final int INITIAL_CAPACITY = 64;
+   private static ElementKeyPool pool = null;
+   private final Map<String, WeakReference<String>> namespaces = new WeakHashMap<>();
+   private final KeySegment[] segments = new KeySegment[SEGMENTS];
+
+   private ElementKeyPool() {
+      for (int i = 0; i < SEGMENTS; i++) {
+         segments[i] = new KeySegment();
+      }
+   }
+
+   /**
+    * Return the unique instance.
+    *
+    * @return the unique instance
+    */
+   public static synchronized ElementKeyPool getInstance() {
+      if (pool == null) {
+         pool = new ElementKeyPool();
+      }
+      return pool;
+   }
+
+   /**
+    * Return the interned instance of a namespace.
+    *
+    * @param namespace the namespace
+    * @return the interned namespace
+    */
+   public String getNamespace(String namespace) {
+      if (namespace == null) {
+         return null;
+      }
+      synchronized (namespaces) {
+         WeakReference<String> ref = namespaces.get(namespace);
+         String interned = ref == null ? null : ref.get();
+         if (interned == null) {
+            namespaces.put(namespace, new WeakReference<>(namespace));
+            interned = namespace;
+         }
+         return interned;
+      }
+   }
+
+   /**
+    * Return the hash code of a key, which is the same as {@link ElementKey#hashCode()}.
+    */
+   private static int hash(int namespaceHash, int nameHash) {
+      return 79 * (79 * 3 + namespaceHash) + nameHash;
+   }
+
+   /**
+    * Return the hash code of a part of a String, which is the same as the hash code of the corresponding substring.
+    */
+   private static int hash(String value, int start, int end) {
+      int hash = 0;
+      for (int i = start; i < end; i++) {
+         hash = 31 * hash + value.charAt(i);
+      }
+      return hash;
+   }
+
+   private static int mix(int hash) {
+      return hash ^ (hash >>> 16);
+   }
+
+   private KeySegment getSegment(int hash) {
+      return segments[mix(hash) & (SEGMENTS - 1)];
+   }
+
+   /**
+    * Return the canonical key for a name without namespace.
+    *
+    * @param name the name
+    * @return the key
+    */
+   public ElementKey getKey(String name) {
+      int hash = hash(0, Objects.hashCode(name));
+      KeySegment segment = getSegment(hash);
+      ElementKey key = segment.get(hash, null, name);
+      if (key == null) {
+         key = segment.intern(new ElementKey(name));
+      }
+      return key;
+   }
+
+   /**
+    * Return the canonical key for a namespace and a name.
+    *
+    * @param namespace the namespace (can be null)
+    * @param name the name
+    * @return the key
+    */
+   public ElementKey getKey(String namespace, String name) {
+      if (namespace == null) {
+         return getKey(name);
+      }
+      int hash = hash(namespace.hashCode(), Objects.hashCode(name));
+      KeySegment segment = getSegment(hash);
+      ElementKey key = segment.get(hash, namespace, name);
+      if (key == null) {
+         // the namespace is only interned when the key is not already in the pool
+         key = segment.intern(new ElementKey(getNamespace(namespace), name));
+      }
+      return key;
+   }
+
+   /**
+    * Return the canonical key for an URI. The namespace of the key ends with the '#' character of the URI.
+    *
+    * @param uriAsString the URI
+    * @return the key, or null if the URI has no '#' character
+    */
+   public ElementKey getKeyFromURI(String uriAsString) {
+      int index = uriAsString.indexOf('#');
+      if (index == -1) {
+         return null;
+      }
+      int namespaceLength = index + 1;
+      int hash = hash(hash(uriAsString, 0, namespaceLength), hash(uriAsString, namespaceLength, uriAsString.length()));
+      KeySegment segment = getSegment(hash);
+      ElementKey key = segment.get(hash, uriAsString, namespaceLength);
+      if (key == null) {
+         // the namespace and the name are only extracted from the URI when the key is not already in the pool
+         String namespace = getNamespace(uriAsString.substring(0, namespaceLength));
+         key = segment.intern(new ElementKey(namespace, uriAsString.substring(namespaceLength)));
+      }
+      return key;
+   }
+
+   /**
+    * Return the number of keys in the pool.
+    *
+    * @return the number of keys
+    */
+   public int size() {
+      int size = 0;
+      for (int i = 0; i < SEGMENTS; i++) {
+         size += segments[i].size();
+      }
+      return size;
+   }
+
+   /**
+    * A weak reference to a key in a chain of a segment. The references are never modified, so a chain can be read while it is
+    * replaced by a new chain.
+    */
+   private static final class KeyReference extends WeakReference<ElementKey> {
+      private final int hash;
+      private final KeyReference next;
+
+      private KeyReference(ElementKey key, int hash, KeyReference next, ReferenceQueue<ElementKey> queue) {
+         super(key, queue);
+         this.hash = hash;
+         this.next = next;
+      }
+   }
+
+   /**
+    * One segment of the keys. The keys are read without lock, and the segment is locked when a key is added or when the references
+    * of the garbage collected keys are removed.
+    */
+   private static final class KeySegment {
+      private final ReferenceQueue<ElementKey> queue = new ReferenceQueue<>();
+      // the table is written after each modification, so that the readers see the modified chains
+      private volatile KeyReference[] table = new KeyReference[INITIAL_CAPACITY];
+      private int count = 0;
+
+      private static int indexOf(int hash, int length) {
+         // the lowest bits of the hash code are used to select the segment
+         return (mix(hash) >>> SEGMENT_BITS) & (length - 1);
+      }
+
+      private ElementKey get(int hash, String namespace, String name) {
+         KeyReference[] theTable = table;
+         KeyReference ref = theTable[indexOf(hash, theTable.length)];
+         while (ref != null) {
+            if (ref.hash == hash) {
+               ElementKey key = ref.get();
+               if (key != null && Objects.equals(key.getNamespace(), namespace) && Objects.equals(key.getName(), name)) {
+                  return key;
+               }
+            }
+            ref = ref.next;
+         }
+         return null;
+      }
+
+      private ElementKey get(int hash, String uri, int namespaceLength) {
+         KeyReference[] theTable = table;
+         KeyReference ref = theTable[indexOf(hash, theTable.length)];
+         while (ref != null) {
+            if (ref.hash == hash) {
+               ElementKey key = ref.get();
+               if (key != null && matches(key, uri, namespaceLength)) {
+                  return key;
+               }
+            }
+            ref = ref.next;
+         }
+         return null;
+      }
+
+      private static boolean matches(ElementKey key, String uri, int namespaceLength) {
+         String namespace = key.getNamespace();
+         String name = key.getName();
+         return namespace != null && name != null && namespace.length() == namespaceLength
+            && name.length() == uri.length() - namespaceLength && uri.startsWith(namespace) && uri.startsWith(name, namespaceLength);
+      }
+
+      private synchronized ElementKey intern(ElementKey key) {
+         expungeClearedKeys();
+         int hash = key.hashCode();
+         KeyReference[] theTable = table;
+         int index = indexOf(hash, theTable.length);
+         KeyReference ref = theTable[index];
+         while (ref != null) {
+            if (ref.hash == hash) {
+               ElementKey canonical = ref.get();
+               if (key.equals(canonical)) {
+                  return canonical;
+               }
+            }
+            ref = ref.next;
+         }
+         if (count >= theTable.length - (theTable.length >> 2)) {
+            theTable = resize(theTable);
+            index = indexOf(hash, theTable.length);
+         }
+         theTable[index] = new KeyReference(key, hash, theTable[index], queue);
+         count++;
+         table = theTable;
+         return key;
+      }
+
+      private KeyReference[] resize(KeyReference[] theTable) {
+         KeyReference[] newTable = new KeyReference[theTable.length << 1];
+         count = 0;
+         for (int i = 0; i < theTable.length; i++) {
+            KeyReference ref = theTable[i];
+            while (ref != null) {
+               ElementKey key = ref.get();
+               if (key != null) {
+                  int index = indexOf(ref.hash, newTable.length);
+                  newTable[index] = new KeyReference(key, ref.hash, newTable[index], queue);
+                  count++;
+               }
+               ref = ref.next;
+            }
+         }
+         return newTable;
+      }
+
+      /**
+       * Remove the references of the keys which have been garbage collected. The chains which contain these references are replaced by
+       * new chains.
+       */
+      private void expungeClearedKeys() {
+         KeyReference cleared = (KeyReference) queue.poll();
+         if (cleared == null) {
+            return;
+         }
+         KeyReference[] theTable = table;
+         while (cleared != null) {
+            int index = indexOf(cleared.hash, theTable.length);
+            KeyReference chain = null;
+            KeyReference ref = theTable[index];
+            while (ref != null) {
+               ElementKey key = ref.get();
+               if (key != null) {
+                  chain = new KeyReference(key, ref.hash, chain, queue);
+               } else {
+                  count--;
+               }
+               ref = ref.next;
+            }
+            theTable[index] = chain;
+            cleared = (KeyReference) queue.poll();
+         }
+         table = theTable;
+      }
+
+      private synchronized int size() {
+         expungeClearedKeys();
+         return count;
+      }
+   }
+}
@@ -0,0 +1,585 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.model;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A compact map of elements by their keys, used for the relations of the elements of the schema.
+ *
+ * Most of the relations of the elements of a schema are empty or only have a few elements, so a HashMap allocates far more memory
+ * than necessary for them. This map stores the keys and the values in one array, in the order of their insertion:
+ * <ul>
+ * <li>The array is not allocated as long as the map is empty</li>
+ * <li>The keys are searched sequentially by their hash code as long as the map has at most {@link #LINEAR_THRESHOLD} elements</li>
+ * <li>An open addressing table of the positions of the keys is used for bigger maps</li>
+ * </ul>
+ *
+ * The removal of an element of a small map shifts the following elements. For bigger maps, the position of the element is only
+ * cleared in the array, and its slot is removed from the table by shifting back the following slots of its probe sequence, so that
+ * the removal does not depend on the size of the map. The array is compacted when it has more cleared positions than elements.
+ *
+ * The {@link #trimToSize()} method allows to reduce the size of the array to the number of elements when the map will not be
+ * modified anymore. Contrary to a HashMap, the iterators of the map are not fail-fast.
+ *
+ * @param <V> the type of the values
+ * @since 0.18
+ */
+public class ElementMap<V> implements Map<ElementKey, V>, Serializable {
+   private static final long serialVersionUID = 1L;
+   /**
+    * The maximum size of the map for which the keys are searched sequentially.
+    */
+   public static final int LINEAR_THRESHOLD = 8;
+   private static final Object[] EMPTY = new Object[0];
+   // the keys are at the even positions, and their values at the next odd positions
+   private Object[] data = EMPTY;
+   private int size = 0;
+   // the number of positions used in the array, including the positions of the removed elements
+   private transient int used = 0;
+   private transient int[] table = null;
+
+   public ElementMap() {
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param map the map to copy
+    */
+   public ElementMap(Map<ElementKey, ? extends V> map) {
+      putAll(map);
+   }
+
+   @Override
+   public int size() {
+      return size;
+   }
+
+   @Override
+   public boolean isEmpty() {
+      return size == 0;
+   }
+
+   private int indexOf(Object key) {
+      if (!(key instanceof ElementKey)) {
+         return -1;
+      }
+      int hash = key.hashCode();
+      if (table == null) {
+         for (int i = 0; i < used; i++) {
+            Object theKey = data[i << 1];
+            if (theKey.hashCode() == hash && theKey.equals(key)) {
+               return i;
+            }
+         }
+         return -1;
+      } else {
+         int mask = table.length - 1;
+         int slot = mix(hash) & mask;
+         while (true) {
+            int position = table[slot];
+            if (position == 0) {
+               return -1;
+            }
+            Object theKey = data[(position - 1) << 1];
+            if (theKey.hashCode() == hash && theKey.equals(key)) {
+               return position - 1;
+            }
+            slot = (slot + 1) & mask;
+         }
+      }
+   }
+
+   private static int mix(int hash) {
+      return hash ^ (hash >>> 16);
+   }
+
+   @SuppressWarnings("unchecked")
+   private ElementKey keyAt(int index) {
+      return (ElementKey) data[index << 1];
+   }
+
+   @SuppressWarnings("unchecked")
+   private V valueAt(int index) {
+      return (V) data[(index << 1) + 1];
+   }
+
+   @Override
+   public boolean containsKey(Object key) {
+      return indexOf(key) != -1;
+   }
+
+   private boolean isRemoved(int index) {
+      return data[index << 1] == null;
+   }
+
+   @Override
+   public boolean containsValue(Object value) {
+      for (int i = 0; i < used; i++) {
+         if (!isRemoved(i) && Objects.equals(value, valueAt(i))) {
+            return true;
+         }
+      }
+      return false;
+   }
+
+   @Override
+   public V get(Object key) {
+      int index = indexOf(key);
+      return index == -1 ? null : valueAt(index);
+   }
+
+   @Override
+   public V put(ElementKey key, V value) {
+      if (key == null) {
+         throw new NullPointerException();
+      }
+      int index = indexOf(key);
+      if (index != -1) {
+         V previous = valueAt(index);
+         data[(index << 1) + 1] = value;
+         return previous;
+      }
+      if (used << 1 == data.length) {
+         if (used > size) {
+            compact();
+         }
+         if (used << 1 == data.length) {
+            int capacity = size == 0 ? 1 : size + (size >> 1) + 1;
+            data = Arrays.copyOf(data, capacity << 1);
+         }
+      }
+      data[used << 1] = key;
+      data[(used << 1) + 1] = value;
+      used++;
+      size++;
+      if (table != null) {
+         if (size * 2 > table.length) {
+            rehash();
+         } else {
+            insertInTable(used - 1);
+         }
+      } else if (size > LINEAR_THRESHOLD) {
+         rehash();
+      }
+      return null;
+   }
+
+   @Override
+   public void putAll(Map<? extends ElementKey, ? extends V> map) {
+      Iterator<? extends Map.Entry<? extends ElementKey, ? extends V>> it = map.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<? extends ElementKey, ? extends V> entry = it.next();
+         put(entry.getKey(), entry.getValue());
+      }
+   }
+
+   private void insertInTable(int index) {
+      int mask = table.length - 1;
+      int slot = mix(data[index << 1].hashCode()) & mask;
+      while (table[slot] != 0) {
+         slot = (slot + 1) & mask;
+      }
+      table[slot] = index + 1;
+   }
+
+   /**
+    * Remove the slot of an element from the table. The following slots of the probe sequence are shifted back to fill the hole,
+    * so that the table does not need any marker for the removed elements.
+    */
+   private void removeFromTable(int index) {
+      int mask = table.length - 1;
+      int hole = mix(data[index << 1].hashCode()) & mask;
+      while (table[hole] != index + 1) {
+         hole = (hole + 1) & mask;
+      }
+      int slot = (hole + 1) & mask;
+      while (table[slot] != 0) {
+         int home = mix(data[(table[slot] - 1) << 1].hashCode()) & mask;
+         // the slot can be moved to the hole only if the hole is between its home and its current position
+         if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+            table[hole] = table[slot];
+            hole = slot;
+         }
+         slot = (slot + 1) & mask;
+      }
+      table[hole] = 0;
+   }
+
+   /**
+    * Move the elements to the beginning of the array, keeping their order, and rebuild the table.
+    */
+   private void compact() {
+      int count = 0;
+      for (int i = 0; i < used; i++) {
+         if (!isRemoved(i)) {
+            if (count != i) {
+               data[count << 1] = data[i << 1];
+               data[(count << 1) + 1] = data[(i << 1) + 1];
+            }
+            count++;
+         }
+      }
+      Arrays.fill(data, count << 1, used << 1, null);
+      used = count;
+      rehash();
+   }
+
+   private void rehash() {
+      if (size <= LINEAR_THRESHOLD) {
+         table = null;
+         return;
+      }
+      int capacity = Integer.highestOneBit(size * 3 - 1) << 1;
+      table = new int[capacity];
+      for (int i = 0; i < used; i++) {
+         if (!isRemoved(i)) {
+            insertInTable(i);
+         }
+      }
+   }
+
+   @Override
+   public V remove(Object key) {
+      int index = indexOf(key);
+      if (index == -1) {
+         return null;
+      }
+      return removeAt(index, true);
+   }
+
+   /**
+    * Remove an element.
+    *
+    * @param index the position of the element
+    * @param compact true if the array can be compacted after the removal. It is false for the removals of the iterators, which
+    * must not move the elements
+    * @return the value of the element
+    */
+   private V removeAt(int index, boolean compact) {
+      V previous = valueAt(index);
+      size--;
+      if (table == null) {
+         // small map: the following elements are shifted, there are at most LINEAR_THRESHOLD of them
+         int moved = (used - index - 1) << 1;
+         if (moved > 0) {
+            System.arraycopy(data, (index + 1) << 1, data, index << 1, moved);
+         }
+         used--;
+         data[used << 1] = null;
+         data[(used << 1) + 1] = null;
+      } else {
+         removeFromTable(index);
+         data[index << 1] = null;
+         data[(index << 1) + 1] = null;
+         if (compact && (size <= LINEAR_THRESHOLD || used - size > size)) {
+            compact();
+         }
+      }
+      return previous;
+   }
+
+   @Override
+   public void clear() {
+      data = EMPTY;
+      size = 0;
+      used = 0;
+      table = null;
+   }
+
+   /**
+    * Reduce the size of the array of the map to its number of elements.
+    */
+   public void trimToSize() {
+      if (used > size) {
+         compact();
+      }
+      if (size == 0) {
+         data = EMPTY;
+      } else if (size << 1 < data.length) {
+         data = Arrays.copyOf(data, size << 1);
+      }
+   }
+
+   @Override
+   public Set<ElementKey> keySet() {
+      return new AbstractSet<ElementKey>() {
+         @Override
+         public Iterator<ElementKey> iterator() {
+            return new MapIterator<ElementKey>() {
+               @Override
+               ElementKey get(int index) {
+                  return keyAt(index);
+               }
+            };
+         }
+
+         @Override
+         public boolean contains(Object o) {
+            return containsKey(o);
+         }
+
+         @Override
+         public boolean remove(Object o) {
+            if (containsKey(o)) {
+               ElementMap.this.remove(o);
+               return true;
+            }
+            return false;
+         }
+
+         @Override
+         public int size() {
+            return size;
+         }
+
+         @Override
+         public void clear() {
+            ElementMap.this.clear();
+         }
+      };
+   }
+
+   @Override
+   public Collection<V> values() {
+      return new AbstractCollection<V>() {
+         @Override
+         public Iterator<V> iterator() {
+            return new MapIterator<V>() {
+               @Override
+               V get(int index) {
+                  return valueAt(index);
+               }
+            };
+         }
+
+         @Override
+         public int size() {
+            return size;
+         }
+
+         @Override
+         public void clear() {
+            ElementMap.this.clear();
+         }
+      };
+   }
+
+   @Override
+   public Set<Map.Entry<ElementKey, V>> entrySet() {
+      return new AbstractSet<Map.Entry<ElementKey, V>>() {
+         @Override
+         public Iterator<Map.Entry<ElementKey, V>> iterator() {
+            return new MapIterator<Map.Entry<ElementKey, V>>() {
+               @Override
+               Map.Entry<ElementKey, V> get(int index) {
+                  return new Entry(index);
+               }
+            };
+         }
+
+         @Override
+         public int size() {
+            return size;
+         }
+
+         @Override
+         public void clear() {
+            ElementMap.this.clear();
+         }
+      };
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (o == this) {
+         return true;
+      } else if (!(o instanceof Map)) {
+         return false;
+      }
+      Map<?, ?> map = (Map<?, ?>) o;
+      if (map.size() != size) {
+         return false;
+      }
+      for (int i = 0; i < used; i++) {
+         if (isRemoved(i)) {
+            continue;
+         }
+         Object value = valueAt(i);
+         Object otherValue = map.get(keyAt(i));
+         if (!Objects.equals(value, otherValue) || (otherValue == null && !map.containsKey(keyAt(i)))) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public int hashCode() {
+      int hash = 0;
+      for (int i = 0; i < used; i++) {
+         if (isRemoved(i)) {
+            continue;
+         }
+         hash += keyAt(i).hashCode() ^ Objects.hashCode(valueAt(i));
+      }
+      return hash;
+   }
+
+   @Override
+   public String toString() {
+      StringBuilder buf = new StringBuilder("{");
+      boolean first = true;
+      for (int i = 0; i < used; i++) {
+         if (isRemoved(i)) {
+            continue;
+         }
+         if (!first) {
+            buf.append(", ");
+         }
+         first = false;
+         buf.append(keyAt(i)).append('=').append(valueAt(i));
+      }
+      return buf.append('}').toString();
+   }
+
+   private void writeObject(ObjectOutputStream out) throws IOException {
+      trimToSize();
+      out.defaultWriteObject();
+   }
+
+   private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      in.defaultReadObject();
+      used = size;
+      if (size > LINEAR_THRESHOLD) {
+         rehash();
+      }
+   }
+
+   private abstract class MapIterator<E> implements Iterator<E> {
+      private int next = 0;
+      private int last = -1;
+
+      abstract E get(int index);
+
+      @Override
+      public boolean hasNext() {
+         while (next < used && isRemoved(next)) {
+            next++;
+         }
+         return next < used;
+      }
+
+      @Override
+      public E next() {
+         if (!hasNext()) {
+            throw new NoSuchElementException();
+         }
+         last = next;
+         next++;
+         return get(last);
+      }
+
+      @Override
+      public void remove() {
+         if (last == -1) {
+            throw new IllegalStateException();
+         }
+         if (table == null) {
+            // the following elements have been shifted
+            next = last;
+         }
+         removeAt(last, false);
+         last = -1;
+      }
+   }
+
+   private class Entry implements Map.Entry<ElementKey, V> {
+      private final int index;
+      private final ElementKey key;
+
+      private Entry(int index) {
+         this.index = index;
+         this.key = keyAt(index);
+      }
+
+      @Override
+      public ElementKey getKey() {
+         return key;
+      }
+
+      @Override
+      public V getValue() {
+         return valueAt(index);
+      }
+
+      @Override
+      public V setValue(V value) {
+         V previous = valueAt(index);
+         data[(index << 1) + 1] = value;
+         return previous;
+      }
+
+      @Override
+      public boolean equals(Object o) {
+         if (!(o instanceof Map.Entry)) {
+            return false;
+         }
+         Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+         return key.equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+      }
+
+      @Override
+      public int hashCode() {
+         return key.hashCode() ^ Objects.hashCode(getValue());
+      }
+
+      @Override
+      public String toString() {
+         return key + "=" + getValue();
+      }
+   }
+}
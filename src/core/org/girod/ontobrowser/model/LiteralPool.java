@@ -0,0 +1,240 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.model;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.girod.ontobrowser.BrowserConfiguration;
+
+/**
+ * The pool of the literals and URIs of the annotations and documentation of the elements. The same values are often used on a lot of
+ * elements (for example licenses, <code>isDefinedBy</code> URIs or boilerplate comments), so the pool returns the same instance for the
+ * same value.
+ *
+ * If {@link BrowserConfiguration#compactAnnotations} is true, the literals which are longer than {@link #COMPACT_LENGTH} characters are
+ * stored as {@link CompactLiteral} if their UTF-8 encoding is smaller than the String. These literals keep the UTF-8 encoding and only
+ * decode it when the literal is used. Since Java 9, the Strings which only have latin-1 characters already use one byte per
+ * character, so these literals are only compacted on Java 8.
+ *
+ * The pool only keeps weak references on the values, so the values which are not used anymore by any element are removed from the pool.
+ *
+ * @since 0.18
+ */
+public class LiteralPool {
+   /**
+    * The minimum length of the literals which are stored as UTF-8 bytes.
+    */
+   public static final int COMPACT_LENGTH = 128;
+   private static final boolean COMPACT_STRINGS = !System.getProperty("java.specification.version", "1.8").startsWith("1.");
+   private static LiteralPool pool = null;
+   private final Map<Object, WeakReference<Object>> literals = new WeakHashMap<>();
+
+   private LiteralPool() {
+   }
+
+   /**
+    * Return the unique instance.
+    *
+    * @return the unique instance
+    */
+   public static synchronized LiteralPool getInstance() {
+      if (pool == null) {
+         pool = new LiteralPool();
+      }
+      return pool;
+   }
+
+   /**
+    * Return the canonical instance of a String. The String is never compacted.
+    *
+    * @param literal the String
+    * @return the canonical instance
+    */
+   public String intern(String literal) {
+      if (literal == null) {
+         return null;
+      }
+      return getCanonical(literal);
+   }
+
+   /**
+    * Return the canonical representation of a literal. It is a String, or a {@link CompactLiteral} if the literal is long enough,
+    * {@link BrowserConfiguration#compactAnnotations} is true, and its UTF-8 encoding is smaller than the String. In both cases
+    * the literal is returned by {@link #toString(Object)}.
+    *
+    * @param literal the literal
+    * @return the canonical representation of the literal
+    */
+   public Object compact(String literal) {
+      if (literal == null) {
+         return null;
+      } else if (literal.length() >= COMPACT_LENGTH && BrowserConfiguration.getInstance().compactAnnotations
+         && !(COMPACT_STRINGS && isLatin1(literal))) {
+         byte[] bytes = literal.getBytes(StandardCharsets.UTF_8);
+         // the UTF-8 encoding of non latin literals can be bigger than the String itself
+         if (bytes.length < 2 * literal.length()) {
+            return getCanonical(new CompactLiteral(bytes, literal.hashCode()));
+         }
+      }
+      return getCanonical(literal);
+   }
+
+   private static boolean isLatin1(String literal) {
+      for (int i = 0; i < literal.length(); i++) {
+         if (literal.charAt(i) > 0xFF) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Return the number of bytes used to store the characters of a representation returned by {@link #compact(String)}. It is the
+    * size of the UTF-8 encoding for a {@link CompactLiteral}, and one or two bytes per character for a String depending on its
+    * characters and the version of Java.
+    *
+    * @param literal the representation of the literal
+    * @return the number of bytes
+    */
+   public static int getStorageSize(Object literal) {
+      if (literal == null) {
+         return 0;
+      } else if (literal instanceof CompactLiteral) {
+         return ((CompactLiteral) literal).getEncodedSize();
+      } else {
+         String theLiteral = literal.toString();
+         return COMPACT_STRINGS && isLatin1(theLiteral) ? theLiteral.length() : 2 * theLiteral.length();
+      }
+   }
+
+   /**
+    * Return the literal of a representation returned by {@link #compact(String)}.
+    *
+    * @param literal the representation of the literal
+    * @return the literal
+    */
+   public static String toString(Object literal) {
+      return literal == null ? null : literal.toString();
+   }
+
+   /**
+    * Return the canonical instance of an URI.
+    *
+    * @param uri the URI
+    * @return the canonical instance
+    */
+   public URI intern(URI uri) {
+      if (uri == null) {
+         return null;
+      }
+      return getCanonical(uri);
+   }
+
+   @SuppressWarnings("unchecked")
+   private synchronized <T> T getCanonical(T value) {
+      WeakReference<Object> ref = literals.get(value);
+      if (ref != null) {
+         Object canonical = ref.get();
+         if (canonical != null) {
+            return (T) canonical;
+         }
+      }
+      literals.put(value, new WeakReference<>(value));
+      return value;
+   }
+
+   /**
+    * Return the number of literals and URIs in the pool.
+    *
+    * @return the number of literals and URIs
+    */
+   public synchronized int size() {
+      return literals.size();
+   }
+
+   /**
+    * A literal stored as UTF-8 bytes. The literal is decoded each time the {@link #toString()} method is called.
+    *
+    * @since 0.18
+    */
+   public static final class CompactLiteral implements Serializable {
+      private static final long serialVersionUID = 1L;
+      private final byte[] bytes;
+      private final int hash;
+
+      private CompactLiteral(byte[] bytes, int hash) {
+         this.bytes = bytes;
+         this.hash = hash;
+      }
+
+      /**
+       * Return the size of the UTF-8 encoding of the literal.
+       *
+       * @return the size of the encoding
+       */
+      public int getEncodedSize() {
+         return bytes.length;
+      }
+
+      @Override
+      public String toString() {
+         return new String(bytes, StandardCharsets.UTF_8);
+      }
+
+      @Override
+      public int hashCode() {
+         return hash;
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (this == obj) {
+            return true;
+         } else if (!(obj instanceof CompactLiteral)) {
+            return false;
+         }
+         CompactLiteral other = (CompactLiteral) obj;
+         return hash == other.hash && Arrays.equals(bytes, other.bytes);
+      }
+
+      private Object readResolve() throws ObjectStreamException {
+         return LiteralPool.getInstance().getCanonical(this);
+      }
+   }
+}
@@ -32,17 +32,18 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.IOException;
 import java.net.URI;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Represents a named Owl element.
  *
- * @version 0.11
+ * @version 0.18
  * @param <T> the element type
  */
 public abstract class NamedOwlElement<T extends NamedOwlElement> extends AnnotatedElement implements NamedElement, Cloneable {
+   private static final long serialVersionUID = 1L;
    /**
     * The element namespace.
     */
@@ -57,21 +58,35 @@ public abstract class NamedOwlElement<T extends NamedOwlElement> extends Annotat
    protected String prefix = null;
    private ElementKey key = null;
    private boolean isForeign = false;
-   private final Map<ElementKey, OwlClass> inEquivalentExpressions = new HashMap<>();
+   private final Map<ElementKey, OwlClass> inEquivalentExpressions = new ElementMap<>();
 
    public NamedOwlElement(String namespace, String name, String prefix) {
       super();
-      this.namespace = namespace;
+      this.namespace = ElementKeyPool.getInstance().getNamespace(namespace);
       this.name = name;
       this.prefix = prefix;
    }
 
    public NamedOwlElement(String namespace, String name) {
       super();
-      this.namespace = namespace;
+      this.namespace = ElementKeyPool.getInstance().getNamespace(namespace);
       this.name = name;
    }
 
+   @Override
+   void writeSnapshot(SchemaSnapshot.Writer writer) throws IOException {
+      super.writeSnapshot(writer);
+      writer.writeString(prefix);
+      writer.writeBoolean(isForeign);
+   }
+
+   @Override
+   void readSnapshot(SchemaSnapshot.Reader reader) throws IOException {
+      super.readSnapshot(reader);
+      prefix = reader.readString();
+      isForeign = reader.readBoolean();
+   }
+
    /**
     * Set if the element is foreign (does not belong to the default namespace - in the case where there is a default namespace.
     *
@@ -235,7 +250,7 @@ public abstract class NamedOwlElement<T extends NamedOwlElement> extends Annotat
    @Override
    public ElementKey getKey() {
       if (key == null) {
-         key = new ElementKey(namespace, name);
+         key = ElementKey.create(namespace, name);
       }
       return key;
    }
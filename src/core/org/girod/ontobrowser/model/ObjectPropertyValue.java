@@ -35,9 +35,10 @@ package org.girod.ontobrowser.model;
 /**
  * Represents an object property value.
  *
- * @version 0.8
+ * @version 0.18
  */
 public class ObjectPropertyValue extends PropertyValue<OwlObjectProperty> {
+   private static final long serialVersionUID = 1L;
    private final OwlIndividual target;
 
    public ObjectPropertyValue(OwlObjectProperty property, OwlIndividual source, OwlIndividual target) {
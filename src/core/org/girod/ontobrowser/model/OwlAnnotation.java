@@ -38,9 +38,10 @@ import org.apache.jena.rdf.model.Resource;
 /**
  * Represents an Owl annotation.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class OwlAnnotation extends NamedOwlElement<OwlAnnotation> {
+   private static final long serialVersionUID = 1L;
 
    public OwlAnnotation(AnnotationProperty annotation) {
       super(annotation.getNameSpace(), annotation.getLocalName());
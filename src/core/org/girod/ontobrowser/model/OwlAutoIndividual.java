@@ -38,10 +38,21 @@ import org.apache.jena.rdf.model.Resource;
 /**
  * Represents an Individual coming from a Resource.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class OwlAutoIndividual extends OwlIndividual<Resource> {
+   private static final long serialVersionUID = 1L;
    
+   /**
+    * Constructor for an Individual restored from a snapshot.
+    *
+    * @param namespace the namespace
+    * @param name the name
+    */
+   OwlAutoIndividual(String namespace, String name) {
+      super(namespace, name);
+   }
+
    public OwlAutoIndividual(Resource resource) {
       super(resource);
    }     
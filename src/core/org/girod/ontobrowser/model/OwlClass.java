@@ -32,6 +32,7 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -40,44 +41,132 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.jena.ontology.OntClass;
+import org.apache.jena.ontology.OntModel;
 import org.girod.ontobrowser.model.restriction.OwlRestriction;
 
 /**
  * Represents an Owl class.
  *
- * @version 0.17
+ * @version 0.18
  */
 public class OwlClass extends NamedOwlElement<OwlClass> {
-   private final Map<ElementKey, Set<PropertyClassRef>> fromDomain = new HashMap<>();
-   private final Map<ElementKey, Set<PropertyClassRef>> toRange = new HashMap<>();
-   private final Map<ElementKey, OwlClass> superClasses = new HashMap<>();
-   private final Map<ElementKey, OwlClass> subClasses = new HashMap<>();
+   private static final long serialVersionUID = 1L;
+   private final Map<ElementKey, Set<PropertyClassRef>> fromDomain = new ElementMap<>();
+   private final Map<ElementKey, Set<PropertyClassRef>> toRange = new ElementMap<>();
+   private final Map<ElementKey, OwlClass> superClasses = new ElementMap<>();
+   private final Map<ElementKey, OwlClass> subClasses = new ElementMap<>();
    private boolean hasDefinedSuperClass = false;
-   private OntClass ontClass = null;
+   private transient OntClass ontClass = null;
+   private String uri = null;
    private char packageType = PackageType.UNDEFINED;
    private ElementKey packageKey = null;
    private Set<ElementKey> packageList = null;
-   private final Map<ElementKey, OwlIndividual> individuals = new HashMap<>();
-   private final Map<ElementKey, OwlProperty> properties = new HashMap<>();
-   private final Map<ElementKey, OwlObjectProperty> toProperties = new HashMap<>();
-   private final Map<ElementKey, OwlClass> aliasClasses = new HashMap<>();
-   private final Map<ElementKey, OwlClass> classFromAlias = new HashMap<>();
+   private final Map<ElementKey, OwlIndividual> individuals = new ElementMap<>();
+   private final Map<ElementKey, OwlProperty> properties = new ElementMap<>();
+   private final Map<ElementKey, OwlObjectProperty> toProperties = new ElementMap<>();
+   private final Map<ElementKey, OwlClass> aliasClasses = new ElementMap<>();
+   private final Map<ElementKey, OwlClass> classFromAlias = new ElementMap<>();
    private final List<OwlEquivalentExpression> equivalentExpressions = new ArrayList<>();
 
    public OwlClass(OntClass ontClass) {
       super(ontClass.getNameSpace(), ontClass.getLocalName());
       this.ontClass = ontClass;
+      this.uri = ontClass.getURI();
    }
 
    public OwlClass(OntClass ontClass, String namespace) {
       super(namespace, ontClass.getLocalName());
       this.ontClass = ontClass;
+      this.uri = ontClass.getURI();
+   }
+
+   /**
+    * Bind the class to its OntClass in a model. It is used for a schema which has been restored from a snapshot, because the OntClass
+    * is not serialized.
+    *
+    * @param model the model
+    */
+   void bindModel(OntModel model) {
+      if (uri != null) {
+         ontClass = model.getOntClass(uri);
+      }
    }
 
    public OwlClass(String namespace, String name) {
       super(namespace, name);
    }
 
+   /**
+    * Write the content of the class in a snapshot. The OntClass is not written, only its URI.
+    *
+    * @param writer the snapshot writer
+    * @throws IOException if the class could not be written
+    */
+   @Override
+   void writeSnapshot(SchemaSnapshot.Writer writer) throws IOException {
+      super.writeSnapshot(writer);
+      writer.writeBoolean(hasDefinedSuperClass);
+      writer.writeString(uri);
+      writer.writeChar(packageType);
+      writer.writeKey(packageKey);
+      writer.writeKeys(packageList);
+      writer.writePropertyClassRefs(fromDomain);
+      writer.writePropertyClassRefs(toRange);
+      writer.writeElements(superClasses);
+      writer.writeElements(subClasses);
+      writer.writeElements(individuals);
+      writer.writeElements(properties);
+      writer.writeElements(toProperties);
+      writer.writeElements(aliasClasses);
+      writer.writeElements(classFromAlias);
+      writer.writeInt(equivalentExpressions.size());
+      Iterator<OwlEquivalentExpression> it = equivalentExpressions.iterator();
+      while (it.hasNext()) {
+         OwlEquivalentExpression expression = it.next();
+         writer.writeShort(expression.getType());
+         writer.writeElement(expression.getOwlClass());
+         writer.writeElements(expression.getElementsList());
+      }
+   }
+
+   /**
+    * Read the content of the class from a snapshot.
+    *
+    * @param reader the snapshot reader
+    * @throws IOException if the class could not be read
+    */
+   @Override
+   void readSnapshot(SchemaSnapshot.Reader reader) throws IOException {
+      super.readSnapshot(reader);
+      hasDefinedSuperClass = reader.readBoolean();
+      uri = reader.readString();
+      packageType = reader.readChar();
+      packageKey = reader.readKey();
+      packageList = reader.readKeys();
+      reader.readPropertyClassRefs(fromDomain);
+      reader.readPropertyClassRefs(toRange);
+      reader.readElements(superClasses, OwlClass.class);
+      reader.readElements(subClasses, OwlClass.class);
+      reader.readElements(individuals, OwlIndividual.class);
+      reader.readElements(properties, OwlProperty.class);
+      reader.readElements(toProperties, OwlObjectProperty.class);
+      reader.readElements(aliasClasses, OwlClass.class);
+      reader.readElements(classFromAlias, OwlClass.class);
+      int size = reader.readSize();
+      for (int i = 0; i < size; i++) {
+         short type = reader.readShort();
+         OwlEquivalentExpression expression = new OwlEquivalentExpression(reader.readElement(OwlClass.class), type);
+         List<NamedOwlElement> elements = new ArrayList<>();
+         reader.readElements(elements, NamedOwlElement.class);
+         Iterator<NamedOwlElement> it = elements.iterator();
+         while (it.hasNext()) {
+            expression.addElement(it.next());
+         }
+         // also registers the class in the elements of the expression
+         addEquivalentExpression(expression);
+      }
+   }
+
    /**
     * Return the underlying OntClass.
     *
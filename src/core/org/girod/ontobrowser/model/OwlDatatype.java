@@ -35,9 +35,10 @@ package org.girod.ontobrowser.model;
 /**
  * Represents an Owl datatype.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class OwlDatatype extends NamedOwlElement<OwlDatatype> implements BaseTypes {
+   private static final long serialVersionUID = 1L;
    public static final String XML_SCHEMA = "http://www.w3.org/2001/XMLSchema#";
    private short type = CUSTOM;
 
@@ -32,22 +32,35 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.Map;
 import org.apache.jena.ontology.DatatypeProperty;
 
 /**
  * Represents an Owl Datatype property.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class OwlDatatypeProperty extends OwlProperty<DatatypeProperty> {
-   private final Map<ElementKey, OwlDatatype> types = new HashMap<>();
+   private static final long serialVersionUID = 1L;
+   private final Map<ElementKey, OwlDatatype> types = new ElementMap<>();
 
    public OwlDatatypeProperty(DatatypeProperty ontProperty, String namespace, String name) {
       super(ontProperty, namespace, name);
    }
 
+   @Override
+   void writeSnapshot(SchemaSnapshot.Writer writer) throws IOException {
+      super.writeSnapshot(writer);
+      writer.writeElements(types);
+   }
+
+   @Override
+   void readSnapshot(SchemaSnapshot.Reader reader) throws IOException {
+      super.readSnapshot(reader);
+      reader.readElements(types, OwlDatatype.class);
+   }
+
    public void addType(OwlDatatype type) {
       types.put(type.getKey(), type);
    }
@@ -34,14 +34,26 @@ package org.girod.ontobrowser.model;
 
 import java.util.Map;
 import org.apache.jena.ontology.Individual;
+import org.apache.jena.ontology.OntModel;
 
 /**
  * Represents a declared Individual.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class OwlDeclaredIndividual extends OwlIndividual<Individual> {
+   private static final long serialVersionUID = 1L;
    
+   /**
+    * Constructor for an Individual restored from a snapshot.
+    *
+    * @param namespace the namespace
+    * @param name the name
+    */
+   OwlDeclaredIndividual(String namespace, String name) {
+      super(namespace, name);
+   }
+
    public OwlDeclaredIndividual(Individual individual) {
       super(individual);
    }     
@@ -64,5 +76,10 @@ public class OwlDeclaredIndividual extends OwlIndividual<Individual> {
    
    public OwlDeclaredIndividual(Map<ElementKey, OwlClass> parentClasses, Individual individual, String namespace) {
       super(parentClasses, individual, namespace);
-   }    
+   }
+
+   @Override
+   protected Individual getResource(OntModel model, String uri) {
+      return model.getIndividual(uri);
+   }
 }
@@ -32,8 +32,8 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.jena.ontology.BooleanClassDescription;
@@ -43,9 +43,10 @@ import org.apache.jena.ontology.UnionClass;
 /**
  * Represents an union or Intersection for an equivalent expression.
  *
- * @since 0.7
+ * @version 0.18
  */
-public class OwlEquivalentExpression {
+public class OwlEquivalentExpression implements Serializable {
+   private static final long serialVersionUID = 1L;
    /**
     * The Intersection type.
     */
@@ -61,7 +62,7 @@ public class OwlEquivalentExpression {
    private final short type;
    private final OwlClass owlClass;
    private final List<NamedOwlElement> elementsList = new ArrayList<>();
-   private final Map<ElementKey, NamedOwlElement> elements = new HashMap<>();
+   private final Map<ElementKey, NamedOwlElement> elements = new ElementMap<>();
 
    public OwlEquivalentExpression(OwlClass owlClass, EnumeratedClass enumClass) {
       this.owlClass = owlClass;
@@ -77,6 +78,17 @@ public class OwlEquivalentExpression {
       }
    }
 
+   /**
+    * Constructor for an expression restored from a snapshot.
+    *
+    * @param owlClass the class
+    * @param type the expression type
+    */
+   OwlEquivalentExpression(OwlClass owlClass, short type) {
+      this.owlClass = owlClass;
+      this.type = type;
+   }
+
    /**
     * Return the type of the equivalent class.
     *
@@ -32,6 +32,7 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.util.Map;
 
@@ -40,7 +41,8 @@ import java.util.Map;
  *
  * @since 0.8
  */
-public class OwlImportedSchema implements OwlDeclaredSchema {
+public class OwlImportedSchema implements OwlDeclaredSchema, Serializable {
+   private static final long serialVersionUID = 1L;
    private final String prefix;
    private final String namespace;
    private SchemasRepository.SchemaRep schemaRep = null;
@@ -32,25 +32,28 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import org.apache.jena.ontology.OntModel;
 import org.apache.jena.rdf.model.Resource;
 
 /**
  * Represents an Individual.
  *
- * @version 0.17
+ * @version 0.18
  * @param <I> the type of the underlying class
  */
 public class OwlIndividual<I extends Resource> extends NamedOwlElement<OwlIndividual> {
-   private final I individual;
+   private static final long serialVersionUID = 1L;
+   private transient I individual;
+   private String uri = null;
    private final Map<ElementKey, OwlClass> parentClasses;
-   private final Map<ElementKey, List<ObjectPropertyValue>> objectPropertyValues = new HashMap<>();
-   private final Map<ElementKey, List<ObjectPropertyValue>> objectTargetPropertyValues = new HashMap<>();
-   private final Map<ElementKey, List<DatatypePropertyValue>> datatypePropertyValues = new HashMap<>();
+   private final Map<ElementKey, List<ObjectPropertyValue>> objectPropertyValues = new ElementMap<>();
+   private final Map<ElementKey, List<ObjectPropertyValue>> objectTargetPropertyValues = new ElementMap<>();
+   private final Map<ElementKey, List<DatatypePropertyValue>> datatypePropertyValues = new ElementMap<>();
 
    public OwlIndividual(I individual) {
       this(individual, individual.getNameSpace());
@@ -58,8 +61,20 @@ public class OwlIndividual<I extends Resource> extends NamedOwlElement<OwlIndivi
 
    public OwlIndividual(I individual, String namespace) {
       super(namespace, individual.getLocalName());
-      this.parentClasses = new HashMap<>();
+      this.parentClasses = new ElementMap<>();
       this.individual = individual;
+      this.uri = individual.getURI();
+   }
+
+   /**
+    * Constructor for an Individual restored from a snapshot.
+    *
+    * @param namespace the namespace
+    * @param name the name
+    */
+   OwlIndividual(String namespace, String name) {
+      super(namespace, name);
+      this.parentClasses = new ElementMap<>();
    }
 
    public OwlIndividual(OwlClass parentClass, I individual) {
@@ -68,9 +83,10 @@ public class OwlIndividual<I extends Resource> extends NamedOwlElement<OwlIndivi
 
    public OwlIndividual(OwlClass parentClass, I individual, String namespace) {
       super(namespace, individual.getLocalName());
-      this.parentClasses = new HashMap<>();
+      this.parentClasses = new ElementMap<>();
       this.parentClasses.put(parentClass.getKey(), parentClass);
       this.individual = individual;
+      this.uri = individual.getURI();
       updateNameSpace();
    }
 
@@ -82,6 +98,7 @@ public class OwlIndividual<I extends Resource> extends NamedOwlElement<OwlIndivi
       super(namespace, individual.getLocalName());
       this.parentClasses = parentClasses;
       this.individual = individual;
+      this.uri = individual.getURI();
       updateNameSpace();
    }
 
@@ -94,6 +111,102 @@ public class OwlIndividual<I extends Resource> extends NamedOwlElement<OwlIndivi
       return individual;
    }
 
+   /**
+    * Bind the individual to its resource in a model. It is used for a schema which has been restored from a snapshot, because the
+    * resource is not serialized.
+    *
+    * @param model the model
+    */
+   void bindModel(OntModel model) {
+      if (uri != null) {
+         individual = getResource(model, uri);
+      }
+   }
+
+   /**
+    * Write the content of the Individual in a snapshot. The values of the properties for which the Individual is the target are not
+    * written, because they are the values of their source Individuals.
+    *
+    * @param writer the snapshot writer
+    * @throws IOException if the Individual could not be written
+    */
+   @Override
+   void writeSnapshot(SchemaSnapshot.Writer writer) throws IOException {
+      super.writeSnapshot(writer);
+      writer.writeString(uri);
+      writer.writeElements(parentClasses);
+      writer.writeInt(objectPropertyValues.size());
+      Iterator<List<ObjectPropertyValue>> it = objectPropertyValues.values().iterator();
+      while (it.hasNext()) {
+         List<ObjectPropertyValue> values = it.next();
+         writer.writeInt(values.size());
+         Iterator<ObjectPropertyValue> it2 = values.iterator();
+         while (it2.hasNext()) {
+            ObjectPropertyValue value = it2.next();
+            writer.writeElement(value.getObjectProperty());
+            writer.writeElement(value.getSource());
+            writer.writeElement(value.getTarget());
+         }
+      }
+      writer.writeInt(datatypePropertyValues.size());
+      Iterator<List<DatatypePropertyValue>> it3 = datatypePropertyValues.values().iterator();
+      while (it3.hasNext()) {
+         List<DatatypePropertyValue> values = it3.next();
+         writer.writeInt(values.size());
+         Iterator<DatatypePropertyValue> it4 = values.iterator();
+         while (it4.hasNext()) {
+            DatatypePropertyValue value = it4.next();
+            writer.writeElement(value.getDatatypeProperty());
+            writer.writeElement(value.getSource());
+            writer.writeElement(value.getDatatype());
+            writer.writeString(value.getValue());
+         }
+      }
+   }
+
+   /**
+    * Read the content of the Individual from a snapshot.
+    *
+    * @param reader the snapshot reader
+    * @throws IOException if the Individual could not be read
+    */
+   @Override
+   void readSnapshot(SchemaSnapshot.Reader reader) throws IOException {
+      super.readSnapshot(reader);
+      uri = reader.readString();
+      reader.readElements(parentClasses, OwlClass.class);
+      int size = reader.readSize();
+      for (int i = 0; i < size; i++) {
+         int valuesSize = reader.readSize();
+         for (int j = 0; j < valuesSize; j++) {
+            OwlObjectProperty property = reader.readElement(OwlObjectProperty.class);
+            OwlIndividual source = reader.readElement(OwlIndividual.class);
+            addObjectPropertyValue(new ObjectPropertyValue(property, source, reader.readElement(OwlIndividual.class)));
+         }
+      }
+      size = reader.readSize();
+      for (int i = 0; i < size; i++) {
+         int valuesSize = reader.readSize();
+         for (int j = 0; j < valuesSize; j++) {
+            OwlDatatypeProperty property = reader.readElement(OwlDatatypeProperty.class);
+            OwlIndividual source = reader.readElement(OwlIndividual.class);
+            OwlDatatype datatype = reader.readElement(OwlDatatype.class);
+            addDatatypePropertyValue(new DatatypePropertyValue(property, source, datatype, reader.readString()));
+         }
+      }
+   }
+
+   /**
+    * Return the resource of the individual in a model.
+    *
+    * @param model the model
+    * @param uri the individual URI
+    * @return the resource
+    */
+   protected I getResource(OntModel model, String uri) {
+      return (I) model.getResource(uri);
+   }
+
    private void updateNameSpace() {
       if (namespace == null && !parentClasses.isEmpty()) {
          String _namespace = null;
@@ -32,6 +32,7 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -42,16 +43,31 @@ import org.girod.ontobrowser.model.restriction.UnrestrictedOwlRestriction;
 /**
  * Represents an Owl Object property.
  *
- * @version 0.11
+ * @version 0.18
  */
 public class OwlObjectProperty extends OwlProperty<ObjectProperty> {
-   private final Map<ElementKey, OwlRestriction> range = new HashMap<>();
+   private static final long serialVersionUID = 1L;
+   private final Map<ElementKey, OwlRestriction> range = new ElementMap<>();
    private OwlObjectProperty inverse = null;
 
    public OwlObjectProperty(ObjectProperty ontProperty, String namespace, String name) {
       super(ontProperty, namespace, name);
    }
 
+   @Override
+   void writeSnapshot(SchemaSnapshot.Writer writer) throws IOException {
+      super.writeSnapshot(writer);
+      writer.writeRestrictions(range);
+      writer.writeElement(inverse);
+   }
+
+   @Override
+   void readSnapshot(SchemaSnapshot.Reader reader) throws IOException {
+      super.readSnapshot(reader);
+      reader.readRestrictions(range);
+      inverse = reader.readElement(OwlObjectProperty.class);
+   }
+
    /**
     * Set the Inverse property for this property.
     *
@@ -32,11 +32,15 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import org.apache.jena.ontology.OntModel;
 import org.apache.jena.ontology.OntProperty;
+import org.apache.jena.ontology.OntResource;
 import org.girod.ontobrowser.model.restriction.OwlRestriction;
 import org.girod.ontobrowser.model.restriction.UnrestrictedOwlRestriction;
 
@@ -44,21 +48,86 @@ import org.girod.ontobrowser.model.restriction.UnrestrictedOwlRestriction;
  * An abstract OwlProperty.
  *
  * @param <T> the property type
- * @version 0.13
+ * @version 0.18
  */
 public abstract class OwlProperty<T extends OntProperty> extends NamedOwlElement<OwlProperty> {
-   private final Map<ElementKey, OwlRestriction> domain = new HashMap<>();
+   private static final long serialVersionUID = 1L;
+   private final Map<ElementKey, OwlRestriction> domain = new ElementMap<>();
    private int minCardinality = 0;
    private int maxCardinality = -1;
-   private T ontProperty = null;
-   private final Map<ElementKey, OwlProperty> superProperties = new HashMap<>();
-   private final Map<ElementKey, OwlProperty> subProperties = new HashMap<>();
-   private final Map<ElementKey, OwlProperty> aliasProperties = new HashMap<>();
-   private final Map<ElementKey, OwlProperty> propertyFromAlias = new HashMap<>();
+   private transient T ontProperty = null;
+   private String uri = null;
+   private Boolean isFunctional = null;
+   private Boolean isInverseFunctional = null;
+   private final Map<ElementKey, OwlProperty> superProperties = new ElementMap<>();
+   private final Map<ElementKey, OwlProperty> subProperties = new ElementMap<>();
+   private final Map<ElementKey, OwlProperty> aliasProperties = new ElementMap<>();
+   private final Map<ElementKey, OwlProperty> propertyFromAlias = new ElementMap<>();
 
    public OwlProperty(T ontProperty, String namespace, String name) {
       super(namespace, name);
       this.ontProperty = ontProperty;
+      if (ontProperty != null) {
+         this.uri = ontProperty.getURI();
+      }
+   }
+
+   /**
+    * Bind the property to its OntProperty in a model. It is used for a schema which has been restored from a snapshot, because the
+    * OntProperty is not serialized.
+    *
+    * @param model the model
+    * @param type the type of the property
+    */
+   void bindModel(OntModel model, Class<T> type) {
+      if (uri != null) {
+         OntResource resource = model.getOntResource(uri);
+         if (resource != null && resource.canAs(type)) {
+            ontProperty = resource.as(type);
+         }
+      }
+   }
+
+   /**
+    * Write the content of the property in a snapshot. The OntProperty is not written, so its characteristics are computed before.
+    *
+    * @param writer the snapshot writer
+    * @throws IOException if the property could not be written
+    */
+   @Override
+   void writeSnapshot(SchemaSnapshot.Writer writer) throws IOException {
+      super.writeSnapshot(writer);
+      writer.writeRestrictions(domain);
+      writer.writeInt(minCardinality);
+      writer.writeInt(maxCardinality);
+      writer.writeString(uri);
+      writer.writeBoolean(isFunctionalProperty());
+      writer.writeBoolean(isInverseFunctionalProperty());
+      writer.writeElements(superProperties);
+      writer.writeElements(subProperties);
+      writer.writeElements(aliasProperties);
+      writer.writeElements(propertyFromAlias);
+   }
+
+   /**
+    * Read the content of the property from a snapshot.
+    *
+    * @param reader the snapshot reader
+    * @throws IOException if the property could not be read
+    */
+   @Override
+   void readSnapshot(SchemaSnapshot.Reader reader) throws IOException {
+      super.readSnapshot(reader);
+      reader.readRestrictions(domain);
+      minCardinality = reader.readInt();
+      maxCardinality = reader.readInt();
+      uri = reader.readString();
+      isFunctional = reader.readBoolean();
+      isInverseFunctional = reader.readBoolean();
+      reader.readElements(superProperties, OwlProperty.class);
+      reader.readElements(subProperties, OwlProperty.class);
+      reader.readElements(aliasProperties, OwlProperty.class);
+      reader.readElements(propertyFromAlias, OwlProperty.class);
    }
 
    /**
@@ -76,7 +145,10 @@ public abstract class OwlProperty<T extends OntProperty> extends NamedOwlElement
     * @return true if the property is a Funtional property
     */
    public boolean isFunctionalProperty() {
-      return ontProperty.isFunctionalProperty();
+      if (isFunctional == null) {
+         isFunctional = ontProperty != null && ontProperty.isFunctionalProperty();
+      }
+      return isFunctional;
    }
 
    /**
@@ -85,7 +157,17 @@ public abstract class OwlProperty<T extends OntProperty> extends NamedOwlElement
     * @return true if the property is an inverse Funtional property
     */
    public boolean isInverseFunctionalProperty() {
-      return ontProperty.isInverseFunctionalProperty();
+      if (isInverseFunctional == null) {
+         isInverseFunctional = ontProperty != null && ontProperty.isInverseFunctionalProperty();
+      }
+      return isInverseFunctional;
+   }
+
+   private void writeObject(ObjectOutputStream out) throws IOException {
+      // the OntProperty is not serialized, so its characteristics must be known before
+      isFunctionalProperty();
+      isInverseFunctionalProperty();
+      out.defaultWriteObject();
    }
 
    /**
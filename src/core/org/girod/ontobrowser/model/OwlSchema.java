@@ -41,9 +41,12 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -54,19 +57,29 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
+import org.apache.jena.ontology.DatatypeProperty;
+import org.apache.jena.ontology.ObjectProperty;
 import org.apache.jena.ontology.OntClass;
 import org.apache.jena.ontology.OntModel;
 import org.apache.jena.rdf.model.Resource;
+import org.girod.ontobrowser.utils.ClassAdjacencyIndex;
+import org.girod.ontobrowser.utils.ClassClosureIndex;
 import org.girod.ontobrowser.utils.SchemaUtils;
+import org.girod.ontobrowser.utils.SearchIndex;
 
 /**
  * Specifies the graph of an Owl ontology.
  *
- * @version 0.17.1
+ * @version 0.18
  */
 public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDeclaredSchema, OwlSchemaProperties, Cloneable, Serializable {
+   private static final long serialVersionUID = 1L;
    private File file = null;
-   private final OntModel ontModel;
+   private transient OntModel ontModel;
+   private transient OntModelLoader modelLoader = null;
+   private transient ClassClosureIndex closureIndex = null;
+   private transient ClassAdjacencyIndex adjacencyIndex = null;
+   private transient SearchIndex searchIndex = null;
    private OwlClass owlThingClass;
    private boolean includeIndividuals = true;
    private String defaultNamespace = null;
@@ -105,6 +118,170 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
       computePrefixMap();
    }
 
+   /**
+    * Constructor for a schema restored from a snapshot.
+    */
+   OwlSchema() {
+   }
+
+   /**
+    * Write the content of the schema in a snapshot. The imported schemas are written as their prefix and namespace, and their
+    * description is taken again from the schemas repository when the snapshot is read.
+    *
+    * @param writer the snapshot writer
+    * @throws IOException if the schema could not be written
+    */
+   @Override
+   void writeSnapshot(SchemaSnapshot.Writer writer) throws IOException {
+      super.writeSnapshot(writer);
+      writer.writeString(file == null ? null : file.getPath());
+      writer.writeShort(representationType);
+      writer.writeBoolean(includeIndividuals);
+      writer.writeString(defaultNamespace);
+      writer.writeString(defaultSquashedNamespace);
+      writer.writeString(defaultPrefix);
+      writer.writeString(namespaceFromFile);
+      writer.writeBoolean(hasForeignElements);
+      writer.writeBoolean(hasNonForeignElements);
+      writer.writeBoolean(emptyChecked);
+      writer.writeBoolean(isEmpty);
+      writer.writeStrings(prefixMap);
+      writer.writeStrings(prefixToNamespace);
+      writer.writeStrings(namespaces);
+
+      // the same imported schema can be in the two maps of imported schemas
+      Map<OwlImportedSchema, Integer> importedIndex = new IdentityHashMap<>();
+      List<OwlImportedSchema> importedList = new ArrayList<>();
+      Iterator<OwlImportedSchema> iti = importedSchemas.values().iterator();
+      while (iti.hasNext()) {
+         OwlImportedSchema imported = iti.next();
+         importedIndex.put(imported, importedList.size());
+         importedList.add(imported);
+      }
+      iti = importedSchemasFromNamespace.values().iterator();
+      while (iti.hasNext()) {
+         OwlImportedSchema imported = iti.next();
+         if (!importedIndex.containsKey(imported)) {
+            importedIndex.put(imported, importedList.size());
+            importedList.add(imported);
+         }
+      }
+      writer.writeInt(importedList.size());
+      iti = importedList.iterator();
+      while (iti.hasNext()) {
+         OwlImportedSchema imported = iti.next();
+         writer.writeString(imported.getPrefix());
+         writer.writeString(imported.getNamespace());
+      }
+      writeImportedSchemas(writer, importedSchemas, importedIndex);
+      writeImportedSchemas(writer, importedSchemasFromNamespace, importedIndex);
+      // the declared schemas are the descriptions of the imported schemas with the same namespace
+      writer.writeInt(declaredSchemasFromNamespace.size());
+      Iterator<Entry<String, OwlDeclaredSchema>> itd = declaredSchemasFromNamespace.entrySet().iterator();
+      while (itd.hasNext()) {
+         Entry<String, OwlDeclaredSchema> entry = itd.next();
+         OwlImportedSchema imported = importedSchemasFromNamespace.get(entry.getKey());
+         if (imported == null || imported.getSchemaRep() != entry.getValue()) {
+            throw new IOException("The declared schema " + entry.getKey() + " is not an imported schema");
+         }
+         writer.writeString(entry.getKey());
+      }
+
+      writer.writeElement(owlThingClass);
+      writer.writeElements(classes);
+      writer.writeElements(individuals);
+      writer.writeElements(datatypeProperties);
+      writer.writeElements(objectProperties);
+      writer.writeElements(properties);
+      writer.writeElements(elementsAnnotations);
+      writer.writeElements(datatypes);
+      writer.writeBoolean(packages != null);
+      if (packages != null) {
+         writer.writeElements(packages);
+      }
+   }
+
+   private static void writeImportedSchemas(SchemaSnapshot.Writer writer, Map<String, OwlImportedSchema> map,
+      Map<OwlImportedSchema, Integer> importedIndex) throws IOException {
+      writer.writeInt(map.size());
+      Iterator<Entry<String, OwlImportedSchema>> it = map.entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<String, OwlImportedSchema> entry = it.next();
+         writer.writeString(entry.getKey());
+         writer.writeInt(importedIndex.get(entry.getValue()));
+      }
+   }
+
+   /**
+    * Read the content of the schema from a snapshot.
+    *
+    * @param reader the snapshot reader
+    * @throws IOException if the schema could not be read
+    */
+   @Override
+   void readSnapshot(SchemaSnapshot.Reader reader) throws IOException {
+      super.readSnapshot(reader);
+      String path = reader.readString();
+      file = path == null ? null : new File(path);
+      representationType = reader.readShort();
+      includeIndividuals = reader.readBoolean();
+      defaultNamespace = reader.readString();
+      defaultSquashedNamespace = reader.readString();
+      defaultPrefix = reader.readString();
+      namespaceFromFile = reader.readString();
+      hasForeignElements = reader.readBoolean();
+      hasNonForeignElements = reader.readBoolean();
+      emptyChecked = reader.readBoolean();
+      isEmpty = reader.readBoolean();
+      reader.readStrings(prefixMap);
+      reader.readStrings(prefixToNamespace);
+      reader.readStrings(namespaces);
+
+      int size = reader.readSize();
+      List<OwlImportedSchema> importedList = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+         String prefix = reader.readString();
+         importedList.add(createImportedSchema(prefix, reader.readString()));
+      }
+      readImportedSchemas(reader, importedSchemas, importedList);
+      readImportedSchemas(reader, importedSchemasFromNamespace, importedList);
+      size = reader.readSize();
+      for (int i = 0; i < size; i++) {
+         String ns = reader.readString();
+         OwlImportedSchema imported = importedSchemasFromNamespace.get(ns);
+         if (imported == null) {
+            throw new IOException("The declared schema " + ns + " is not an imported schema");
+         }
+         declaredSchemasFromNamespace.put(ns, imported.getSchemaRep());
+      }
+
+      owlThingClass = reader.readElement(OwlClass.class);
+      reader.readElements(classes, OwlClass.class);
+      reader.readElements(individuals, OwlIndividual.class);
+      reader.readElements(datatypeProperties, OwlDatatypeProperty.class);
+      reader.readElements(objectProperties, OwlObjectProperty.class);
+      reader.readElements(properties, OwlProperty.class);
+      reader.readElements(elementsAnnotations, OwlAnnotation.class);
+      reader.readElements(datatypes, OwlDatatype.class);
+      if (reader.readBoolean()) {
+         packages = new HashMap<>();
+         reader.readElements(packages, OwlClass.class);
+      }
+   }
+
+   private static void readImportedSchemas(SchemaSnapshot.Reader reader, Map<String, OwlImportedSchema> map,
+      List<OwlImportedSchema> importedList) throws IOException {
+      int size = reader.readSize();
+      for (int i = 0; i < size; i++) {
+         String key = reader.readString();
+         int index = reader.readInt();
+         if (index < 0 || index >= importedList.size()) {
+            throw new IOException("Invalid imported schema index " + index);
+         }
+         map.put(key, importedList.get(index));
+      }
+   }
+
    /**
     * Reset the content of the schema.
     */
@@ -138,16 +315,140 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
    }
 
    /**
-    * Return the OntModel.
+    * Set the loader of the OntModel. It is used for a schema which has been restored from a snapshot, because the OntModel is not
+    * serialized. The model will only be loaded the first time it is needed.
+    *
+    * @param modelLoader the loader
+    */
+   public void setOntModelLoader(OntModelLoader modelLoader) {
+      this.modelLoader = modelLoader;
+   }
+
+   /**
+    * Replace the OntModel by a loader. It is used for a schema which has been extracted from a model only containing the triples of
+    * the schema, so that the complete model will only be loaded the first time it is needed. The imports of the replaced model must
+    * be released by the caller.
+    *
+    * @param modelLoader the loader of the complete model
+    */
+   public synchronized void resetOntModel(OntModelLoader modelLoader) {
+      this.ontModel = null;
+      this.modelLoader = modelLoader;
+   }
+
+   /**
+    * Return true if the OntModel is available without having to load it.
+    *
+    * @return true if the OntModel is available without having to load it
+    */
+   public boolean hasOntModel() {
+      return ontModel != null;
+   }
+
+   /**
+    * Return the closure index of the classes of the schema. The index is created the first time this method is called after the
+    * extraction of the schema, or after the schema has been modified.
+    *
+    * @return the closure index
+    */
+   public synchronized ClassClosureIndex getClosureIndex() {
+      if (closureIndex == null) {
+         closureIndex = new ClassClosureIndex(this);
+      }
+      return closureIndex;
+   }
+
+   /**
+    * Return the adjacency index of the classes of the schema. The index is created the first time this method is called after the
+    * extraction of the schema, or after the schema has been modified.
+    *
+    * @return the adjacency index
+    */
+   public synchronized ClassAdjacencyIndex getAdjacencyIndex() {
+      if (adjacencyIndex == null) {
+         adjacencyIndex = new ClassAdjacencyIndex(this);
+      }
+      return adjacencyIndex;
+   }
+
+   /**
+    * Invalidate the closure and adjacency indexes of the classes of the schema. It must be called if the classes hierarchy or the
+    * properties of the classes have been modified.
+    */
+   public synchronized void invalidateClosureIndex() {
+      closureIndex = null;
+      adjacencyIndex = null;
+   }
+
+   /**
+    * Return the search index of the elements of the schema. The index is created the first time this method is called, and the
+    * elements which are added to the schema after its creation are added to the index.
+    *
+    * @return the search index
+    */
+   public synchronized SearchIndex getSearchIndex() {
+      if (searchIndex == null) {
+         searchIndex = new SearchIndex(this);
+      }
+      return searchIndex;
+   }
+
+   /**
+    * Invalidate the search index of the elements of the schema. It must be called if the names or the annotations of existing elements
+    * have been modified. The index will be created again the next time it is needed.
+    */
+   public synchronized void invalidateSearchIndex() {
+      searchIndex = null;
+   }
+
+   private synchronized void addToSearchIndex(NamedOwlElement element) {
+      if (searchIndex != null) {
+         searchIndex.addElement(element);
+      }
+   }
+
+   /**
+    * Return the OntModel. If the schema has been restored from a snapshot, the model is loaded the first time this method is called,
+    * and the elements of the schema are bound to their resources in the model.
     *
     * @return the OntModel
     */
-   public OntModel getOntModel() {
+   public synchronized OntModel getOntModel() {
+      if (ontModel == null && modelLoader != null) {
+         ontModel = modelLoader.loadModel();
+         modelLoader = null;
+         bindModel();
+      }
       return ontModel;
    }
 
+   private void bindModel() {
+      Iterator<OwlClass> itc = classes.values().iterator();
+      while (itc.hasNext()) {
+         OwlClass theClass = itc.next();
+         theClass.bindModel(ontModel);
+      }
+      if (owlThingClass != null) {
+         owlThingClass.bindModel(ontModel);
+      }
+      Iterator<OwlObjectProperty> ito = objectProperties.values().iterator();
+      while (ito.hasNext()) {
+         OwlObjectProperty theProperty = ito.next();
+         theProperty.bindModel(ontModel, ObjectProperty.class);
+      }
+      Iterator<OwlDatatypeProperty> itd = datatypeProperties.values().iterator();
+      while (itd.hasNext()) {
+         OwlDatatypeProperty theProperty = itd.next();
+         theProperty.bindModel(ontModel, DatatypeProperty.class);
+      }
+      Iterator<OwlIndividual> iti = individuals.values().iterator();
+      while (iti.hasNext()) {
+         OwlIndividual theIndividual = iti.next();
+         theIndividual.bindModel(ontModel);
+      }
+   }
+
    private void computePrefixMap() {
-      SchemasRepository schemasRepository = SchemasRepository.getInstance();
       Iterator<Entry<String, String>> it = ontModel.getNsPrefixMap().entrySet().iterator();
       while (it.hasNext()) {
          Entry<String, String> entry = it.next();
@@ -180,17 +481,9 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
                   break;
                default:
                   if (defaultNamespace == null || !ns.equals(defaultNamespace)) {
-                     OwlImportedSchema imported = new OwlImportedSchema(prefix, ns);
+                     OwlImportedSchema imported = createImportedSchema(prefix, ns);
                      importedSchemas.put(prefix, imported);
                      importedSchemasFromNamespace.put(ns, imported);
-
-                     if (schemasRepository.hasSchemaByNamespace(ns)) {
-                        SchemasRepository.SchemaRep schemaRep = schemasRepository.getSchemaByNamespace(ns);
-                        imported.setSchemaRep(schemaRep);
-                     } else {
-                        SchemasRepository.SchemaRep schemaRep = new SchemasRepository.SchemaRep(ns);
-                        imported.setSchemaRep(schemaRep);
-                     }
                      declaredSchemasFromNamespace.put(ns, imported.getSchemaRep());
                   }
                   break;
@@ -224,6 +517,26 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
       }
    }
 
+   /**
+    * Create an imported schema, described by the schema of the schemas repository with the same namespace if there is one.
+    *
+    * @param prefix the prefix
+    * @param ns the namespace
+    * @return the imported schema
+    */
+   private static OwlImportedSchema createImportedSchema(String prefix, String ns) {
+      SchemasRepository schemasRepository = SchemasRepository.getInstance();
+      OwlImportedSchema imported = new OwlImportedSchema(prefix, ns);
+      if (schemasRepository.hasSchemaByNamespace(ns)) {
+         SchemasRepository.SchemaRep schemaRep = schemasRepository.getSchemaByNamespace(ns);
+         imported.setSchemaRep(schemaRep);
+      } else {
+         SchemasRepository.SchemaRep schemaRep = new SchemasRepository.SchemaRep(ns);
+         imported.setSchemaRep(schemaRep);
+      }
+      return imported;
+   }
+
    private void setupNamespaceFromFile() {
       String uriAsString = file.toURI().toString();
       int index = uriAsString.lastIndexOf('/');
@@ -493,7 +806,7 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
     */
    public OwlClass getThingClass() {
       if (owlThingClass == null) {
-         OntClass thingClass = ontModel.getOntClass("http://www.w3.org/2002/07/owl#Thing");
+         OntClass thingClass = getOntModel().getOntClass("http://www.w3.org/2002/07/owl#Thing");
          owlThingClass = new OwlClass(thingClass);
       }
       return owlThingClass;
@@ -565,6 +878,7 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
     * @param individual the individual
     */
    public void addIndividual(OwlIndividual individual) {
+      invalidateClosureIndex();
       addNamespace(individual);
       individuals.put(individual.getKey(), individual);
       Iterator<OwlClass> it = individual.getParentClasses().values().iterator();
@@ -572,6 +886,7 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
          OwlClass theClass = it.next();
          theClass.addIndividual(individual);
       }
+      addToSearchIndex(individual);
    }
 
    public void addDatatype(OwlDatatype datatype) {
@@ -591,11 +906,8 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
    }
 
    public boolean hasElement(URI uri) {
-      String uriAsString = uri.toString();
-      if (uriAsString.contains("#")) {
-         String namespace = uriAsString.substring(0, uriAsString.indexOf('#') + 1);
-         String name = uriAsString.substring(uriAsString.indexOf('#') + 1);
-         ElementKey key = ElementKey.create(namespace, name);
+      ElementKey key = ElementKey.createFromURI(uri.toString());
+      if (key != null) {
          if (individuals.containsKey(key)) {
             return true;
          } else if (classes.containsKey(key)) {
@@ -611,11 +923,8 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
    }
 
    public NamedOwlElement getElement(URI uri) {
-      String uriAsString = uri.toString();
-      if (uriAsString.contains("#")) {
-         String namespace = uriAsString.substring(0, uriAsString.indexOf('#') + 1);
-         String name = uriAsString.substring(uriAsString.indexOf('#') + 1);
-         ElementKey key = ElementKey.create(namespace, name);
+      ElementKey key = ElementKey.createFromURI(uri.toString());
+      if (key != null) {
          if (individuals.containsKey(key)) {
             return individuals.get(key);
          } else if (classes.containsKey(key)) {
@@ -764,6 +1073,7 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
    public void addElementAnnotation(OwlAnnotation annotation) {
       addNamespace(annotation);
       elementsAnnotations.put(annotation.getKey(), annotation);
+      addToSearchIndex(annotation);
    }
 
    /**
@@ -801,8 +1111,10 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
     * @param owlClass the owl class
     */
    public void addOwlClass(OwlClass owlClass) {
+      invalidateClosureIndex();
       addNamespace(owlClass);
       classes.put(owlClass.getKey(), owlClass);
+      addToSearchIndex(owlClass);
    }
 
    private void addNamespace(NamedOwlElement element) {
@@ -847,6 +1159,7 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
     * @param owlProperty the Owl property
     */
    public void addOwlProperty(OwlProperty owlProperty) {
+      invalidateClosureIndex();
       addNamespace(owlProperty);
       properties.put(owlProperty.getKey(), owlProperty);
       if (owlProperty instanceof OwlDatatypeProperty) {
@@ -854,6 +1167,7 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
       } else if (owlProperty instanceof OwlObjectProperty) {
          objectProperties.put(owlProperty.getKey(), (OwlObjectProperty) owlProperty);
       }
+      addToSearchIndex(owlProperty);
    }
 
    /**
@@ -957,7 +1271,7 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
     */
    public Map<ElementKey, OwlClass> getDependentClasses(OwlClass theClass) {
       ElementFilter filter = new ElementFilter();
-      return SchemaUtils.getDependentClasses(theClass, filter);
+      return SchemaUtils.getDependentClasses(this, theClass, filter);
    }
 
    /**
@@ -968,7 +1282,7 @@ public class OwlSchema extends AnnotatedElement implements NamedElement, OwlDecl
     * @return the dependant classes
     */
    public Map<ElementKey, OwlClass> getDependentClasses(OwlClass theClass, ElementFilter filter) {
-      return SchemaUtils.getDependentClasses(theClass, filter);
+      return SchemaUtils.getDependentClasses(this, theClass, filter);
    }
 
    @Override
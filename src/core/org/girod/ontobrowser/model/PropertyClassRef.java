@@ -32,14 +32,16 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
  * Represents the reference to a class property.
  *
- * @version 0.4
+ * @version 0.18
  */
-public class PropertyClassRef implements Cloneable {
+public class PropertyClassRef implements Cloneable, Serializable {
+   private static final long serialVersionUID = 1L;
    private final ElementKey domainKey;
    private final ElementKey propertyKey;
 
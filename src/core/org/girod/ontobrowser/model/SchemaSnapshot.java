@@ -0,0 +1,689 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.girod.ontobrowser.model.restriction.OwlAllValuesFromRestriction;
+import org.girod.ontobrowser.model.restriction.OwlCardinalityRestriction;
+import org.girod.ontobrowser.model.restriction.OwlHasValueRestriction;
+import org.girod.ontobrowser.model.restriction.OwlMaxCardinalityRestriction;
+import org.girod.ontobrowser.model.restriction.OwlMaxQualifiedCardinalityRestriction;
+import org.girod.ontobrowser.model.restriction.OwlMinCardinalityRestriction;
+import org.girod.ontobrowser.model.restriction.OwlMinQualifiedCardinalityRestriction;
+import org.girod.ontobrowser.model.restriction.OwlQualifiedCardinalityRestriction;
+import org.girod.ontobrowser.model.restriction.OwlRestriction;
+import org.girod.ontobrowser.model.restriction.OwlSomeValuesFromRestriction;
+import org.girod.ontobrowser.model.restriction.UnrestrictedOwlRestriction;
+
+/**
+ * The binary format of the snapshots of schemas. The format does not use the Java serialization.
+ *
+ * The strings, the element keys, and the named elements are each stored in a table, and are written as their index in the table. An
+ * item is added to its table the first time it is written, and only in this case its content follows its index. For a named element,
+ * this content is only its type, namespace, and name. The content of the schema is written first, then the content of each named element
+ * (its annotations and its relations to other elements), in the order of the elements table. New elements which are referenced by this
+ * content are added at the end of the table, so the graph of the elements is written and read iteratively, whatever its depth.
+ *
+ * @since 0.18
+ */
+public final class SchemaSnapshot {
+   private static final int NULL = -1;
+   // the types of the named elements
+   private static final byte CLASS = 0;
+   private static final byte OBJECT_PROPERTY = 1;
+   private static final byte DATATYPE_PROPERTY = 2;
+   private static final byte DATATYPE = 3;
+   private static final byte ANNOTATION = 4;
+   private static final byte INDIVIDUAL = 5;
+   private static final byte DECLARED_INDIVIDUAL = 6;
+   private static final byte AUTO_INDIVIDUAL = 7;
+   // the types of the restrictions
+   private static final byte UNRESTRICTED = 0;
+   private static final byte ALL_VALUES_FROM = 1;
+   private static final byte SOME_VALUES_FROM = 2;
+   private static final byte HAS_VALUE = 3;
+   private static final byte CARDINALITY = 4;
+   private static final byte MIN_CARDINALITY = 5;
+   private static final byte MAX_CARDINALITY = 6;
+   private static final byte QUALIFIED_CARDINALITY = 7;
+   private static final byte MIN_QUALIFIED_CARDINALITY = 8;
+   private static final byte MAX_QUALIFIED_CARDINALITY = 9;
+
+   private SchemaSnapshot() {
+   }
+
+   /**
+    * Write a schema.
+    *
+    * @param schema the schema
+    * @param stream the stream
+    * @throws IOException if the schema could not be written
+    */
+   public static void write(OwlSchema schema, DataOutputStream stream) throws IOException {
+      Writer writer = new Writer(stream);
+      schema.writeSnapshot(writer);
+      writer.writeElementsContent();
+   }
+
+   /**
+    * Read a schema. The schema has no Ontology model.
+    *
+    * @param stream the stream
+    * @return the schema
+    * @throws IOException if the schema could not be read
+    */
+   public static OwlSchema read(DataInputStream stream) throws IOException {
+      OwlSchema schema = new OwlSchema();
+      Reader reader = new Reader(stream, schema);
+      schema.readSnapshot(reader);
+      reader.readElementsContent();
+      return schema;
+   }
+
+   /**
+    * Writes the content of a schema.
+    */
+   static final class Writer {
+      private final DataOutputStream stream;
+      private final Map<String, Integer> strings = new HashMap<>();
+      private final Map<ElementKey, Integer> keys = new HashMap<>();
+      private final Map<NamedOwlElement, Integer> elementsIndex = new IdentityHashMap<>();
+      private final List<NamedOwlElement> elements = new ArrayList<>();
+
+      private Writer(DataOutputStream stream) {
+         this.stream = stream;
+      }
+
+      private void writeElementsContent() throws IOException {
+         // the list grows while the content of its elements is written
+         for (int i = 0; i < elements.size(); i++) {
+            elements.get(i).writeSnapshot(this);
+         }
+         stream.writeInt(elements.size());
+      }
+
+      void writeBoolean(boolean value) throws IOException {
+         stream.writeBoolean(value);
+      }
+
+      void writeChar(char value) throws IOException {
+         stream.writeChar(value);
+      }
+
+      void writeShort(short value) throws IOException {
+         stream.writeShort(value);
+      }
+
+      void writeInt(int value) throws IOException {
+         stream.writeInt(value);
+      }
+
+      void writeString(String value) throws IOException {
+         if (value == null) {
+            stream.writeInt(NULL);
+         } else if (strings.containsKey(value)) {
+            stream.writeInt(strings.get(value));
+         } else {
+            int index = strings.size();
+            strings.put(value, index);
+            stream.writeInt(index);
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            stream.writeInt(bytes.length);
+            stream.write(bytes);
+         }
+      }
+
+      void writeStrings(Collection<String> values) throws IOException {
+         stream.writeInt(values.size());
+         Iterator<String> it = values.iterator();
+         while (it.hasNext()) {
+            writeString(it.next());
+         }
+      }
+
+      void writeStrings(Map<String, String> values) throws IOException {
+         stream.writeInt(values.size());
+         Iterator<Map.Entry<String, String>> it = values.entrySet().iterator();
+         while (it.hasNext()) {
+            Map.Entry<String, String> entry = it.next();
+            writeString(entry.getKey());
+            writeString(entry.getValue());
+         }
+      }
+
+      void writeKey(ElementKey key) throws IOException {
+         if (key == null) {
+            stream.writeInt(NULL);
+         } else if (keys.containsKey(key)) {
+            stream.writeInt(keys.get(key));
+         } else {
+            int index = keys.size();
+            keys.put(key, index);
+            stream.writeInt(index);
+            writeString(key.getNamespace());
+            writeString(key.getName());
+         }
+      }
+
+      void writeKeys(Collection<ElementKey> values) throws IOException {
+         if (values == null) {
+            stream.writeInt(NULL);
+         } else {
+            stream.writeInt(values.size());
+            Iterator<ElementKey> it = values.iterator();
+            while (it.hasNext()) {
+               writeKey(it.next());
+            }
+         }
+      }
+
+      void writeElement(NamedOwlElement element) throws IOException {
+         if (element == null) {
+            stream.writeInt(NULL);
+         } else if (elementsIndex.containsKey(element)) {
+            stream.writeInt(elementsIndex.get(element));
+         } else {
+            int index = elements.size();
+            elementsIndex.put(element, index);
+            elements.add(element);
+            stream.writeInt(index);
+            stream.writeByte(getType(element));
+            writeString(element.getNamespace());
+            writeString(element.getName());
+         }
+      }
+
+      private byte getType(NamedOwlElement element) throws IOException {
+         if (element instanceof OwlClass) {
+            return CLASS;
+         } else if (element instanceof OwlObjectProperty) {
+            return OBJECT_PROPERTY;
+         } else if (element instanceof OwlDatatypeProperty) {
+            return DATATYPE_PROPERTY;
+         } else if (element instanceof OwlDatatype) {
+            return DATATYPE;
+         } else if (element instanceof OwlAnnotation) {
+            return ANNOTATION;
+         } else if (element instanceof OwlDeclaredIndividual) {
+            return DECLARED_INDIVIDUAL;
+         } else if (element instanceof OwlAutoIndividual) {
+            return AUTO_INDIVIDUAL;
+         } else if (element instanceof OwlIndividual) {
+            return INDIVIDUAL;
+         } else {
+            throw new IOException("Unsupported element type " + element.getClass().getName());
+         }
+      }
+
+      void writeElements(Collection<? extends NamedOwlElement> values) throws IOException {
+         stream.writeInt(values.size());
+         Iterator<? extends NamedOwlElement> it = values.iterator();
+         while (it.hasNext()) {
+            writeElement(it.next());
+         }
+      }
+
+      void writeElements(Map<ElementKey, ? extends NamedOwlElement> values) throws IOException {
+         stream.writeInt(values.size());
+         Iterator<? extends Map.Entry<ElementKey, ? extends NamedOwlElement>> it = values.entrySet().iterator();
+         while (it.hasNext()) {
+            Map.Entry<ElementKey, ? extends NamedOwlElement> entry = it.next();
+            writeKey(entry.getKey());
+            writeElement(entry.getValue());
+         }
+      }
+
+      void writePropertyClassRefs(Map<ElementKey, Set<PropertyClassRef>> values) throws IOException {
+         stream.writeInt(values.size());
+         Iterator<Map.Entry<ElementKey, Set<PropertyClassRef>>> it = values.entrySet().iterator();
+         while (it.hasNext()) {
+            Map.Entry<ElementKey, Set<PropertyClassRef>> entry = it.next();
+            writeKey(entry.getKey());
+            Set<PropertyClassRef> refs = entry.getValue();
+            stream.writeInt(refs.size());
+            Iterator<PropertyClassRef> it2 = refs.iterator();
+            while (it2.hasNext()) {
+               PropertyClassRef ref = it2.next();
+               writeKey(ref.getDomainKey());
+               writeKey(ref.getPropertyKey());
+            }
+         }
+      }
+
+      void writeRestrictions(Map<ElementKey, OwlRestriction> values) throws IOException {
+         stream.writeInt(values.size());
+         Iterator<Map.Entry<ElementKey, OwlRestriction>> it = values.entrySet().iterator();
+         while (it.hasNext()) {
+            Map.Entry<ElementKey, OwlRestriction> entry = it.next();
+            writeKey(entry.getKey());
+            OwlRestriction restriction = entry.getValue();
+            if (restriction instanceof UnrestrictedOwlRestriction) {
+               stream.writeByte(UNRESTRICTED);
+               writeKey(restriction.getKey());
+            } else if (restriction instanceof OwlAllValuesFromRestriction) {
+               stream.writeByte(ALL_VALUES_FROM);
+               writeKey(restriction.getKey());
+            } else if (restriction instanceof OwlSomeValuesFromRestriction) {
+               stream.writeByte(SOME_VALUES_FROM);
+               writeKey(restriction.getKey());
+            } else if (restriction instanceof OwlHasValueRestriction) {
+               stream.writeByte(HAS_VALUE);
+               writeKey(restriction.getKey());
+            } else if (restriction instanceof OwlCardinalityRestriction) {
+               stream.writeByte(CARDINALITY);
+               writeKey(restriction.getKey());
+               stream.writeInt(((OwlCardinalityRestriction) restriction).getCardinality());
+            } else if (restriction instanceof OwlMinCardinalityRestriction) {
+               stream.writeByte(MIN_CARDINALITY);
+               writeKey(restriction.getKey());
+               stream.writeInt(((OwlMinCardinalityRestriction) restriction).getMinCardinality());
+            } else if (restriction instanceof OwlMaxCardinalityRestriction) {
+               stream.writeByte(MAX_CARDINALITY);
+               writeKey(restriction.getKey());
+               stream.writeInt(((OwlMaxCardinalityRestriction) restriction).getMaxCardinality());
+            } else if (restriction instanceof OwlQualifiedCardinalityRestriction) {
+               stream.writeByte(QUALIFIED_CARDINALITY);
+               writeKey(restriction.getKey());
+               stream.writeInt(((OwlQualifiedCardinalityRestriction) restriction).getCardinality());
+            } else if (restriction instanceof OwlMinQualifiedCardinalityRestriction) {
+               stream.writeByte(MIN_QUALIFIED_CARDINALITY);
+               writeKey(restriction.getKey());
+               stream.writeInt(((OwlMinQualifiedCardinalityRestriction) restriction).getMinCardinality());
+            } else if (restriction instanceof OwlMaxQualifiedCardinalityRestriction) {
+               stream.writeByte(MAX_QUALIFIED_CARDINALITY);
+               writeKey(restriction.getKey());
+               stream.writeInt(((OwlMaxQualifiedCardinalityRestriction) restriction).getMaxCardinality());
+            } else {
+               throw new IOException("Unsupported restriction type " + restriction.getClass().getName());
+            }
+         }
+      }
+
+      void writeAnnotationValue(AnnotationValue value) throws IOException {
+         if (value == null) {
+            stream.writeShort(NULL);
+            return;
+         }
+         short type = value.getType();
+         stream.writeShort(type);
+         writeElement(value.getAnnotation());
+         switch (type) {
+            case AnnotationValue.LITERAL_TYPE:
+               writeString(value.getLiteral());
+               break;
+            case AnnotationValue.ELEMENT_TYPE:
+               writeElement(value.asElement().getElement());
+               break;
+            case AnnotationValue.URI_TYPE:
+               writeString(value.asURI().getURI().toString());
+               break;
+            default:
+               throw new IOException("Unsupported annotation type " + type);
+         }
+      }
+
+      void writeAnnotationValues(Map<ElementKey, AnnotationValue> values) throws IOException {
+         stream.writeInt(values.size());
+         Iterator<Map.Entry<ElementKey, AnnotationValue>> it = values.entrySet().iterator();
+         while (it.hasNext()) {
+            Map.Entry<ElementKey, AnnotationValue> entry = it.next();
+            writeKey(entry.getKey());
+            writeAnnotationValue(entry.getValue());
+         }
+      }
+
+      void writeDocumentation(ElementDocumentation doc) throws IOException {
+         stream.writeBoolean(doc != null);
+         if (doc != null) {
+            writeString(doc.getDescription());
+            writeString(doc.getComments());
+            writeString(doc.getLabel());
+            writeString(doc.getVersionInfo());
+            writeAnnotationValue(doc.getIsDefinedBy());
+            writeAnnotationValue(doc.getSeeAlso());
+         }
+      }
+   }
+
+   /**
+    * Reads the content of a schema.
+    */
+   static final class Reader {
+      private final DataInputStream stream;
+      private final OwlSchema schema;
+      private final List<String> strings = new ArrayList<>();
+      private final List<ElementKey> keys = new ArrayList<>();
+      private final List<NamedOwlElement> elements = new ArrayList<>();
+
+      private Reader(DataInputStream stream, OwlSchema schema) {
+         this.stream = stream;
+         this.schema = schema;
+      }
+
+      private void readElementsContent() throws IOException {
+         for (int i = 0; i < elements.size(); i++) {
+            elements.get(i).readSnapshot(this);
+         }
+         if (stream.readInt() != elements.size()) {
+            throw new IOException("Invalid number of elements");
+         }
+      }
+
+      /**
+       * Return the index of the next item of a table, or NULL. The index can not be greater than the size of the table, because an item
+       * is added to its table the first time it is referenced.
+       */
+      private int readIndex(List<?> table) throws IOException {
+         int index = stream.readInt();
+         if (index < NULL || index > table.size()) {
+            throw new IOException("Invalid index " + index);
+         }
+         return index;
+      }
+
+      boolean readBoolean() throws IOException {
+         return stream.readBoolean();
+      }
+
+      char readChar() throws IOException {
+         return stream.readChar();
+      }
+
+      short readShort() throws IOException {
+         return stream.readShort();
+      }
+
+      int readInt() throws IOException {
+         return stream.readInt();
+      }
+
+      /**
+       * Read the size of a collection.
+       */
+      int readSize() throws IOException {
+         int size = stream.readInt();
+         if (size < 0) {
+            throw new IOException("Invalid size " + size);
+         }
+         return size;
+      }
+
+      String readString() throws IOException {
+         int index = readIndex(strings);
+         if (index == NULL) {
+            return null;
+         } else if (index < strings.size()) {
+            return strings.get(index);
+         } else {
+            byte[] bytes = new byte[readSize()];
+            stream.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+         }
+      }
+
+      void readStrings(Collection<String> values) throws IOException {
+         int size = readSize();
+         for (int i = 0; i < size; i++) {
+            values.add(readString());
+         }
+      }
+
+      void readStrings(Map<String, String> values) throws IOException {
+         int size = readSize();
+         for (int i = 0; i < size; i++) {
+            String key = readString();
+            values.put(key, readString());
+         }
+      }
+
+      ElementKey readKey() throws IOException {
+         int index = readIndex(keys);
+         if (index == NULL) {
+            return null;
+         } else if (index < keys.size()) {
+            return keys.get(index);
+         } else {
+            String namespace = readString();
+            ElementKey key = ElementKey.create(namespace, readString());
+            keys.add(key);
+            return key;
+         }
+      }
+
+      Set<ElementKey> readKeys() throws IOException {
+         int size = stream.readInt();
+         if (size == NULL) {
+            return null;
+         } else if (size < 0) {
+            throw new IOException("Invalid size " + size);
+         }
+         Set<ElementKey> values = new HashSet<>();
+         for (int i = 0; i < size; i++) {
+            values.add(readKey());
+         }
+         return values;
+      }
+
+      <T extends NamedOwlElement> T readElement(Class<T> type) throws IOException {
+         int index = readIndex(elements);
+         NamedOwlElement element;
+         if (index == NULL) {
+            return null;
+         } else if (index < elements.size()) {
+            element = elements.get(index);
+         } else {
+            element = createElement(stream.readByte());
+            elements.add(element);
+         }
+         if (!type.isInstance(element)) {
+            throw new IOException("Invalid element type " + element.getClass().getName());
+         }
+         return type.cast(element);
+      }
+
+      private NamedOwlElement createElement(byte type) throws IOException {
+         String namespace = readString();
+         String name = readString();
+         switch (type) {
+            case CLASS:
+               return new OwlClass(namespace, name);
+            case OBJECT_PROPERTY:
+               return new OwlObjectProperty(null, namespace, name);
+            case DATATYPE_PROPERTY:
+               return new OwlDatatypeProperty(null, namespace, name);
+            case DATATYPE:
+               return new OwlDatatype(namespace, name);
+            case ANNOTATION:
+               return new OwlAnnotation(namespace, name);
+            case INDIVIDUAL:
+               return new OwlIndividual<>(namespace, name);
+            case DECLARED_INDIVIDUAL:
+               return new OwlDeclaredIndividual(namespace, name);
+            case AUTO_INDIVIDUAL:
+               return new OwlAutoIndividual(namespace, name);
+            default:
+               throw new IOException("Invalid element type " + type);
+         }
+      }
+
+      <T extends NamedOwlElement> void readElements(Collection<T> values, Class<T> type) throws IOException {
+         int size = readSize();
+         for (int i = 0; i < size; i++) {
+            values.add(readElement(type));
+         }
+      }
+
+      <T extends NamedOwlElement> void readElements(Map<ElementKey, T> values, Class<T> type) throws IOException {
+         int size = readSize();
+         for (int i = 0; i < size; i++) {
+            ElementKey key = readKey();
+            values.put(key, readElement(type));
+         }
+      }
+
+      void readPropertyClassRefs(Map<ElementKey, Set<PropertyClassRef>> values) throws IOException {
+         int size = readSize();
+         for (int i = 0; i < size; i++) {
+            ElementKey key = readKey();
+            int refsSize = readSize();
+            Set<PropertyClassRef> refs = new HashSet<>();
+            for (int j = 0; j < refsSize; j++) {
+               ElementKey domainKey = readKey();
+               refs.add(new PropertyClassRef(domainKey, readKey()));
+            }
+            values.put(key, refs);
+         }
+      }
+
+      /**
+       * Read restrictions. The classes of the restrictions are set up with the schema, whose classes have already been read.
+       */
+      void readRestrictions(Map<ElementKey, OwlRestriction> values) throws IOException {
+         int size = readSize();
+         for (int i = 0; i < size; i++) {
+            ElementKey key = readKey();
+            byte type = stream.readByte();
+            ElementKey restrictionKey = readKey();
+            OwlRestriction restriction;
+            switch (type) {
+               case UNRESTRICTED:
+                  restriction = new UnrestrictedOwlRestriction(restrictionKey);
+                  break;
+               case ALL_VALUES_FROM:
+                  restriction = new OwlAllValuesFromRestriction(restrictionKey);
+                  break;
+               case SOME_VALUES_FROM:
+                  restriction = new OwlSomeValuesFromRestriction(restrictionKey);
+                  break;
+               case HAS_VALUE:
+                  restriction = new OwlHasValueRestriction(restrictionKey);
+                  break;
+               case CARDINALITY:
+                  restriction = new OwlCardinalityRestriction(restrictionKey, stream.readInt());
+                  break;
+               case MIN_CARDINALITY:
+                  restriction = new OwlMinCardinalityRestriction(restrictionKey, stream.readInt());
+                  break;
+               case MAX_CARDINALITY:
+                  restriction = new OwlMaxCardinalityRestriction(restrictionKey, stream.readInt());
+                  break;
+               case QUALIFIED_CARDINALITY:
+                  restriction = new OwlQualifiedCardinalityRestriction(restrictionKey, stream.readInt());
+                  break;
+               case MIN_QUALIFIED_CARDINALITY:
+                  restriction = new OwlMinQualifiedCardinalityRestriction(restrictionKey, stream.readInt());
+                  break;
+               case MAX_QUALIFIED_CARDINALITY:
+                  restriction = new OwlMaxQualifiedCardinalityRestriction(restrictionKey, stream.readInt());
+                  break;
+               default:
+                  throw new IOException("Invalid restriction type " + type);
+            }
+            restriction.setup(schema);
+            values.put(key, restriction);
+         }
+      }
+
+      AnnotationValue readAnnotationValue() throws IOException {
+         short type = stream.readShort();
+         if (type == NULL) {
+            return null;
+         }
+         OwlAnnotation annotation = readElement(OwlAnnotation.class);
+         switch (type) {
+            case AnnotationValue.LITERAL_TYPE:
+               return new AnnotationValue.LiteralAnnotationValue(annotation, readString());
+            case AnnotationValue.ELEMENT_TYPE:
+               return new AnnotationValue.ElementAnnotationValue(annotation, readElement(NamedOwlElement.class));
+            case AnnotationValue.URI_TYPE:
+               try {
+                  return new AnnotationValue.URIAnnotationValue(annotation, new URI(readString()));
+               } catch (URISyntaxException ex) {
+                  throw new IOException(ex);
+               }
+            default:
+               throw new IOException("Invalid annotation type " + type);
+         }
+      }
+
+      void readAnnotationValues(Map<ElementKey, AnnotationValue> values) throws IOException {
+         int size = readSize();
+         for (int i = 0; i < size; i++) {
+            ElementKey key = readKey();
+            values.put(key, readAnnotationValue());
+         }
+      }
+
+      ElementDocumentation readDocumentation() throws IOException {
+         if (!stream.readBoolean()) {
+            return null;
+         }
+         ElementDocumentation doc = new ElementDocumentation();
+         String value = readString();
+         if (value != null) {
+            doc.setDescription(value);
+         }
+         value = readString();
+         if (value != null) {
+            doc.setComments(value);
+         }
+         value = readString();
+         if (value != null) {
+            doc.setLabel(value);
+         }
+         value = readString();
+         if (value != null) {
+            doc.setVersionInfo(value);
+         }
+         doc.setIsDefinedBy(readAnnotationValue());
+         doc.setSeeAlso(readAnnotationValue());
+         return doc;
+      }
+   }
+}
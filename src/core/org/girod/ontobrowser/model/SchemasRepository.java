@@ -32,6 +32,7 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model;
 
+import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -116,7 +117,8 @@ public class SchemasRepository {
     *
     * @since 0.8
     */
-   public static class SchemaRep implements OwlDeclaredSchema, Cloneable {
+   public static class SchemaRep implements OwlDeclaredSchema, Cloneable, Serializable {
+      private static final long serialVersionUID = 1L;
       private final String name;
       private String prefix;
       private final String namespace;
@@ -34,17 +34,28 @@ package org.girod.ontobrowser.model.restriction;
 
 import org.apache.jena.ontology.AllValuesFromRestriction;
 import org.apache.jena.rdf.model.Resource;
+import org.girod.ontobrowser.model.ElementKey;
 
 /**
  * An owl restriction which binds to a AllValuesFromRestriction.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class OwlAllValuesFromRestriction extends RestrictedOwlRestriction<AllValuesFromRestriction> {
+   private static final long serialVersionUID = 1L;
 
    public OwlAllValuesFromRestriction(AllValuesFromRestriction restriction) {
       super(restriction);
       Resource resource = restriction.getAllValuesFrom();
       computeKey(resource);
    }
+
+   /**
+    * Constructor for a restriction restored from a snapshot.
+    *
+    * @param key the key
+    */
+   public OwlAllValuesFromRestriction(ElementKey key) {
+      super(key);
+   }
 }
@@ -34,21 +34,36 @@ package org.girod.ontobrowser.model.restriction;
 
 import org.apache.jena.ontology.CardinalityRestriction;
 import org.apache.jena.rdf.model.Resource;
+import org.girod.ontobrowser.model.ElementKey;
 
 /**
  * An owl restriction which binds to a CardinalityRestriction.
  *
- * @version 0.12
+ * @version 0.18
  */
 public class OwlCardinalityRestriction extends RestrictedOwlRestriction<CardinalityRestriction> {
+   private static final long serialVersionUID = 1L;
+   private final int cardinality;
 
    public OwlCardinalityRestriction(CardinalityRestriction restriction) {
       super(restriction);
       Resource resource = restriction.getIsDefinedBy();
       computeKey(resource);
+      this.cardinality = restriction.getCardinality();
+   }
+
+   /**
+    * Constructor for a restriction restored from a snapshot.
+    *
+    * @param key the key
+    * @param cardinality the cardinality
+    */
+   public OwlCardinalityRestriction(ElementKey key, int cardinality) {
+      super(key);
+      this.cardinality = cardinality;
    }
    
    public int getCardinality() {
-      return getRestriction().getCardinality();
+      return cardinality;
    }
 }
@@ -34,17 +34,28 @@ package org.girod.ontobrowser.model.restriction;
 
 import org.apache.jena.ontology.HasValueRestriction;
 import org.apache.jena.rdf.model.Resource;
+import org.girod.ontobrowser.model.ElementKey;
 
 /**
  * An owl restriction which binds to a HasValueRestriction.
  *
- * @since 0.1
+ * @version 0.18
  */
 public class OwlHasValueRestriction extends RestrictedOwlRestriction<HasValueRestriction> {
+   private static final long serialVersionUID = 1L;
 
    public OwlHasValueRestriction(HasValueRestriction restriction) {
       super(restriction);
       Resource resource = restriction.getHasValue().asResource();
       computeKey(resource);
    }
+
+   /**
+    * Constructor for a restriction restored from a snapshot.
+    *
+    * @param key the key
+    */
+   public OwlHasValueRestriction(ElementKey key) {
+      super(key);
+   }
 }
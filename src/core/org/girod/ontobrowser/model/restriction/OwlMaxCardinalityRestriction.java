@@ -34,18 +34,33 @@ package org.girod.ontobrowser.model.restriction;
 
 import org.apache.jena.ontology.MaxCardinalityRestriction;
 import org.apache.jena.rdf.model.Resource;
+import org.girod.ontobrowser.model.ElementKey;
 
 /**
  * An owl restriction which binds to a MaxCardinalityRestriction.
  *
- * @version 0.4
+ * @version 0.18
  */
 public class OwlMaxCardinalityRestriction extends RestrictedOwlRestriction<MaxCardinalityRestriction> {
+   private static final long serialVersionUID = 1L;
+   private final int maxCardinality;
 
    public OwlMaxCardinalityRestriction(MaxCardinalityRestriction restriction) {
       super(restriction);
       Resource resource = restriction.getIsDefinedBy();
       computeKey(resource);
+      this.maxCardinality = restriction.getMaxCardinality();
+   }
+
+   /**
+    * Constructor for a restriction restored from a snapshot.
+    *
+    * @param key the key
+    * @param maxCardinality the maximum cardinality
+    */
+   public OwlMaxCardinalityRestriction(ElementKey key, int maxCardinality) {
+      super(key);
+      this.maxCardinality = maxCardinality;
    }
 
    /**
@@ -54,6 +69,6 @@ public class OwlMaxCardinalityRestriction extends RestrictedOwlRestriction<MaxCa
     * @return the max cardinality
     */
    public int getMaxCardinality() {
-      return restriction.getMaxCardinality();
+      return maxCardinality;
    }
 }
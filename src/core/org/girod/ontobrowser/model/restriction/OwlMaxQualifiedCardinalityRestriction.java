@@ -37,13 +37,15 @@ import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.OWL2;
+import org.girod.ontobrowser.model.ElementKey;
 
 /**
  * An owl restriction which binds to a max qualified cardinality restriction.
  *
- * @version 0.4
+ * @version 0.18
  */
 public class OwlMaxQualifiedCardinalityRestriction extends RestrictedOwlRestriction<Restriction> {
+   private static final long serialVersionUID = 1L;
    private final int maxCardinality;
 
    public OwlMaxQualifiedCardinalityRestriction(Restriction restriction, Resource resource) {
@@ -55,6 +57,17 @@ public class OwlMaxQualifiedCardinalityRestriction extends RestrictedOwlRestrict
       maxCardinality = literal.getInt();
    }
 
+   /**
+    * Constructor for a restriction restored from a snapshot.
+    *
+    * @param key the key
+    * @param maxCardinality the maximum cardinality
+    */
+   public OwlMaxQualifiedCardinalityRestriction(ElementKey key, int maxCardinality) {
+      super(key);
+      this.maxCardinality = maxCardinality;
+   }
+
    /**
     * Return the max cardinality.
     *
@@ -33,18 +33,33 @@ the project website at the project page on https://github.com/hervegirod/ontolog
 package org.girod.ontobrowser.model.restriction;
 
 import org.apache.jena.ontology.MinCardinalityRestriction;
+import org.girod.ontobrowser.model.ElementKey;
 
 /**
  * An owl restriction which binds to a MinCardinalityRestriction.
  *
- * @version 0.12
+ * @version 0.18
  */
 public class OwlMinCardinalityRestriction extends RestrictedOwlRestriction<MinCardinalityRestriction> {
+   private static final long serialVersionUID = 1L;
+   private final int minCardinality;
 
    public OwlMinCardinalityRestriction(MinCardinalityRestriction restriction) {
       super(restriction);
       //Resource resource = restriction.getIsDefinedBy();
       computeKey(restriction);
+      this.minCardinality = restriction.getMinCardinality();
+   }
+
+   /**
+    * Constructor for a restriction restored from a snapshot.
+    *
+    * @param key the key
+    * @param minCardinality the minimum cardinality
+    */
+   public OwlMinCardinalityRestriction(ElementKey key, int minCardinality) {
+      super(key);
+      this.minCardinality = minCardinality;
    }
 
    /**
@@ -53,6 +68,6 @@ public class OwlMinCardinalityRestriction extends RestrictedOwlRestriction<MinCa
     * @return the min cardinality
     */
    public int getMinCardinality() {
-      return restriction.getMinCardinality();
+      return minCardinality;
    }
 }
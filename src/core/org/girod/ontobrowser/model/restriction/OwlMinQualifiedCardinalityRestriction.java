@@ -37,13 +37,15 @@ import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.vocabulary.OWL2;
+import org.girod.ontobrowser.model.ElementKey;
 
 /**
  * An owl restriction which binds to a min qualified cardinality restriction.
  *
- * @version 0.4
+ * @version 0.18
  */
 public class OwlMinQualifiedCardinalityRestriction extends RestrictedOwlRestriction<Restriction> {
+   private static final long serialVersionUID = 1L;
    private final int minCardinality;
 
    public OwlMinQualifiedCardinalityRestriction(Restriction restriction, Resource resource) {
@@ -55,6 +57,17 @@ public class OwlMinQualifiedCardinalityRestriction extends RestrictedOwlRestrict
       minCardinality = literal.getInt();
    }
 
+   /**
+    * Constructor for a restriction restored from a snapshot.
+    *
+    * @param key the key
+    * @param minCardinality the minimum cardinality
+    */
+   public OwlMinQualifiedCardinalityRestriction(ElementKey key, int minCardinality) {
+      super(key);
+      this.minCardinality = minCardinality;
+   }
+
    /**
     * Return the min cardinality.
     *
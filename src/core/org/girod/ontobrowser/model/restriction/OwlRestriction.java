@@ -32,6 +32,7 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.model.restriction;
 
+import java.io.Serializable;
 import org.apache.jena.ontology.OntClass;
 import org.girod.ontobrowser.model.ElementKey;
 import org.girod.ontobrowser.model.OwlClass;
@@ -40,9 +41,10 @@ import org.girod.ontobrowser.model.OwlSchema;
 /**
  * An owl restriction specifies an element in the domain or range of a property.
  *
- * @version 0.13
+ * @version 0.18
  */
-public abstract class OwlRestriction {
+public abstract class OwlRestriction implements Serializable {
+   private static final long serialVersionUID = 1L;
    /**
     * The key of the Owl Class which is refered by the restriction.
     */
@@ -63,7 +65,7 @@ public abstract class OwlRestriction {
     */
    public OwlRestriction(OntClass clazz, String namespace) {
       String localName = clazz.getLocalName();
-      this.key = new ElementKey(namespace, localName);
+      this.key = ElementKey.create(namespace, localName);
    }   
 
    /**
@@ -74,7 +76,7 @@ public abstract class OwlRestriction {
    public OwlRestriction(OntClass clazz) {
       String localName = clazz.getLocalName();
       String namespace = clazz.getNameSpace();
-      this.key = new ElementKey(namespace, localName);
+      this.key = ElementKey.create(namespace, localName);
    }
 
    /**
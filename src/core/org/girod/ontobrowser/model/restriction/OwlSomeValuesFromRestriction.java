@@ -34,17 +34,28 @@ package org.girod.ontobrowser.model.restriction;
 
 import org.apache.jena.ontology.SomeValuesFromRestriction;
 import org.apache.jena.rdf.model.Resource;
+import org.girod.ontobrowser.model.ElementKey;
 
 /**
  * An owl restriction which binds to a SomeValuesFromRestriction.
  *
- * @version 0.4
+ * @version 0.18
  */
 public class OwlSomeValuesFromRestriction extends RestrictedOwlRestriction<SomeValuesFromRestriction> {
+   private static final long serialVersionUID = 1L;
 
    public OwlSomeValuesFromRestriction(SomeValuesFromRestriction restriction) {
       super(restriction);
       Resource resource = restriction.getSomeValuesFrom();
       computeKey(resource);
    }
+
+   /**
+    * Constructor for a restriction restored from a snapshot.
+    *
+    * @param key the key
+    */
+   public OwlSomeValuesFromRestriction(ElementKey key) {
+      super(key);
+   }
 }
@@ -43,15 +43,25 @@ import org.girod.ontobrowser.model.ElementKey;
  * @param <R> the restriction type
  */
 public class RestrictedOwlRestriction<R extends Restriction> extends OwlRestriction {
+   private static final long serialVersionUID = 1L;
    /**
-    * The restriction.
+    * The restriction. It is not serialized, so it is only available for a schema which has been extracted from a model.
     */
-   protected final R restriction;
+   protected transient R restriction;
 
    public RestrictedOwlRestriction(R restriction) {
       this.restriction = restriction;
    }
 
+   /**
+    * Constructor for a restriction restored from a snapshot. The underlying restriction is not available.
+    *
+    * @param key the key
+    */
+   protected RestrictedOwlRestriction(ElementKey key) {
+      super(key);
+   }
+
    /**
     * Compute the key of the element referred by the restriction.
     *
@@ -60,7 +70,7 @@ public class RestrictedOwlRestriction<R extends Restriction> extends OwlRestrict
    protected void computeKey(Resource resource) {
       String localName = resource.getLocalName();
       String nameSpace = resource.getNameSpace();
-      key = new ElementKey(nameSpace, localName);
+      key = ElementKey.create(nameSpace, localName);
    }
 
    /**
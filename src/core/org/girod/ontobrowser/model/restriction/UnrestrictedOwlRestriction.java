@@ -38,9 +38,10 @@ import org.girod.ontobrowser.model.ElementKey;
 /**
  * An unrestricted owl restriction. This allows to use the {@link OwlRestriction} signature for a range or a domain which has no restiction.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class UnrestrictedOwlRestriction extends OwlRestriction {
+   private static final long serialVersionUID = 1L;
    public UnrestrictedOwlRestriction(OntClass clazz) {
       super(clazz);
    }
@@ -54,8 +54,18 @@ public class CustomGraphStylesParser extends BasicSAXHandler {
     }
     
     public void parse(File file) {
+        parse(file, BrowserConfiguration.getInstance().getCustomGraphStyles());
+    }
+
+    /**
+     * Parse the custom styles in a styles instance.
+     *
+     * @param file the file
+     * @param graphStyles the styles
+     */
+    public void parse(File file, CustomGraphStyles graphStyles) {
         BrowserConfiguration conf = BrowserConfiguration.getInstance();
-        graphStyles = conf.getCustomGraphStyles();
+        this.graphStyles = graphStyles;
         graphStyles.reset();
         XMLSAXParser parser = new XMLSAXParser(this);
         parser.setSchema(conf.getGraphStylesSchema());
@@ -44,7 +44,7 @@ import org.xml.sax.Attributes;
 /**
  * This class allows to parse the packages configuration.
  *
- * @version 0.8
+ * @version 0.18
  */
 public class PackagesConfigurationParser extends BasicSAXHandler {
    private PackagesConfiguration packagesConfiguration;
@@ -117,12 +117,12 @@ public class PackagesConfigurationParser extends BasicSAXHandler {
                String name = path.substring(index + 1);
                if (index != 0) {
                   String namespace = path.substring(0, index + 1);
-                  key = new ElementKey(namespace, name);
+                  key = ElementKey.create(namespace, name);
                } else {
-                  key = new ElementKey(name);
+                  key = ElementKey.create(name);
                }
             } else {
-               key = new ElementKey(path);
+               key = ElementKey.create(path);
             }
             if (forget) {
                packagesConfiguration.addClass(key, PackageConfigType.FORGET_PACKAGE);
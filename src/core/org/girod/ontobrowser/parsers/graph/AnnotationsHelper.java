@@ -49,10 +49,12 @@ import org.apache.jena.ontology.OntologyException;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.girod.ontobrowser.model.AnnotatedElement;
 import org.girod.ontobrowser.model.AnnotationValue;
 import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
 import org.girod.ontobrowser.model.OwlAnnotation;
 import org.girod.ontobrowser.model.OwlClass;
 import org.girod.ontobrowser.model.OwlDatatypeProperty;
@@ -64,18 +66,31 @@ import org.girod.ontobrowser.model.OwlSchema;
 /**
  * This class get the annotations on elements in the graph.
  *
- * @version 0.11
+ * @version 0.18
  */
 public class AnnotationsHelper {
    private final OwlSchema graph;
    private final GraphExtractor extractor;
    private final OntModel model;
    private final SkippedAnnotations skipped = SkippedAnnotations.getInstance();
+   private final StatementsIndex statementsIndex;
 
    public AnnotationsHelper(OwlSchema graph, GraphExtractor extractor) {
+      this(graph, extractor, null);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param graph the schema
+    * @param extractor the extractor
+    * @param statementsIndex the statements index (may be null)
+    */
+   public AnnotationsHelper(OwlSchema graph, GraphExtractor extractor, StatementsIndex statementsIndex) {
       this.graph = graph;
       this.extractor = extractor;
       this.model = graph.getOntModel();
+      this.statementsIndex = statementsIndex;
    }
 
    public void addSchemaAnnotations() {
@@ -179,6 +194,74 @@ public class AnnotationsHelper {
       }
    }
 
+   /**
+    * Extract again the annotations of an element, after the statements of its resource have been modified in the model. The
+    * previous annotations of the element are removed.
+    *
+    * @param element the element
+    */
+   public void updateAnnotations(NamedOwlElement element) {
+      if (element instanceof OwlClass) {
+         OwlClass owlClass = (OwlClass) element;
+         OntClass theClass = owlClass.getOntClass();
+         if (theClass == null) {
+            return;
+         }
+         owlClass.clearAnnotations();
+         Iterator<Statement> stmt = theClass.listProperties();
+         while (stmt.hasNext()) {
+            Statement statement = stmt.next();
+            Property prop = statement.getPredicate();
+            ElementKey theKey = ElementKey.create(prop.getNameSpace(), prop.getLocalName());
+            OwlAnnotation annotation = graph.getOrCreateAnnotation(theKey);
+            addAnnotationValue(theClass, owlClass, annotation, prop);
+         }
+         setDefaultAnnotations(owlClass, theClass);
+      } else if (element instanceof OwlProperty) {
+         OwlProperty owlProperty = (OwlProperty) element;
+         OntProperty theProperty = owlProperty.getProperty();
+         if (theProperty == null) {
+            return;
+         }
+         owlProperty.clearAnnotations();
+         Iterator<Statement> stmt = theProperty.listProperties();
+         while (stmt.hasNext()) {
+            Statement statement = stmt.next();
+            Property predicate = statement.getPredicate();
+            RDFNode node = statement.getObject();
+            ElementKey theKey = ElementKey.create(predicate.getNameSpace(), predicate.getLocalName());
+            OwlAnnotation annotation = graph.getOrCreateAnnotation(theKey);
+            if (owlProperty instanceof OwlObjectProperty) {
+               addAnnotationValue(node, (OwlObjectProperty) owlProperty, annotation);
+            } else if (owlProperty instanceof OwlDatatypeProperty) {
+               addAnnotationValue(node, (OwlDatatypeProperty) owlProperty, annotation);
+            }
+         }
+         setDefaultAnnotations(owlProperty, theProperty);
+      } else if (element instanceof OwlIndividual) {
+         OwlIndividual owlIndividual = (OwlIndividual) element;
+         Resource resource = owlIndividual.getIndividual();
+         if (resource == null) {
+            return;
+         }
+         owlIndividual.clearAnnotations();
+         Iterator<Statement> stmt = resource.listProperties();
+         while (stmt.hasNext()) {
+            Statement statement = stmt.next();
+            RDFNode node = statement.getObject();
+            Property predicate = statement.getPredicate();
+            ElementKey theKey = ElementKey.create(predicate.getNameSpace(), predicate.getLocalName());
+            if (!graph.hasOwlProperty(theKey)) {
+               OwlAnnotation annotation = graph.getOrCreateAnnotation(theKey);
+               addAnnotationValue(node, owlIndividual, annotation);
+            }
+         }
+         if (resource instanceof OntResource) {
+            setDefaultAnnotations(owlIndividual, (OntResource) resource);
+         }
+      }
+   }
+
    private void setDefaultAnnotations(AnnotatedElement element, OntResource resource) {
       String comment = getComments(resource);
       element.setComments(comment);
@@ -316,7 +399,12 @@ public class AnnotationsHelper {
       if (skipped.isSkipped(annotationKey)) {
          return null;
       }
-      RDFNode theNode = theClass.getPropertyValue(property);
+      RDFNode theNode;
+      if (statementsIndex != null) {
+         theNode = statementsIndex.getPropertyValue(theClass, property);
+      } else {
+         theNode = theClass.getPropertyValue(property);
+      }
       if (theNode == null) {
          return null;
       }
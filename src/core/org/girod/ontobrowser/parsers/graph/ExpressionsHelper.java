@@ -65,7 +65,7 @@ import org.girod.ontobrowser.model.OwlSchema;
 /**
  * A helper for boolean expressions.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class ExpressionsHelper {
    private final OwlSchema graph;
@@ -95,7 +95,7 @@ public class ExpressionsHelper {
                extractor.addError("property.noname");
                continue;
             }
-            ElementKey otherKey = new ElementKey(theProperty.getNameSpace(), theProperty.getLocalName());
+            ElementKey otherKey = ElementKey.create(theProperty.getNameSpace(), theProperty.getLocalName());
             set.add(otherKey);
          } catch (ConversionException ex) {
             extractor.addError(ex);
@@ -130,7 +130,7 @@ public class ExpressionsHelper {
                   extractor.addInfo("equivalentclass.nothandled", key);
                }
             } else {
-               ElementKey otherKey = new ElementKey(theClass.getNameSpace(), theClass.getLocalName());
+               ElementKey otherKey = ElementKey.create(theClass.getNameSpace(), theClass.getLocalName());
                set.add(otherKey);
             }
          }
@@ -34,6 +34,7 @@ package org.girod.ontobrowser.parsers.graph;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -64,7 +65,6 @@ import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
-import org.apache.jena.rdf.model.StmtIterator;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.OWL2;
@@ -100,7 +100,7 @@ import org.girod.ontobrowser.utils.DatatypeUtils;
 /**
  * This class allows to extract the graph from an Owl model.
  *
- * @version 0.17.1
+ * @version 0.18
  */
 public class GraphExtractor extends AbstractWarningAction {
    private static final ElementKey TYPE_NS = ElementKey.create("http://www.w3.org/1999/02/22-rdf-syntax-ns#", "type");
@@ -120,6 +120,12 @@ public class GraphExtractor extends AbstractWarningAction {
    private String defaultNamespace = null;
    private String defaultSquashedNamespace = null;
    private short representationType = OwlRepresentationType.TYPE_OWL_XML;
+   private boolean useStatementsIndex = false;
+   private StatementsIndex statementsIndex = null;
+   private LoadingMonitor monitor = null;
+   private boolean parallelExtraction = false;
+   private int parallelism = ParallelExtractionHelper.getDefaultParallelism();
+   private ParallelExtractionHelper parallelHelper = null;
 
    /**
     * Constructor.
@@ -151,6 +157,132 @@ public class GraphExtractor extends AbstractWarningAction {
       this.representationType = representationType;
    }
 
+   /**
+    * Set if the extraction must use a single-pass statements index. If true, the statements of the model are indexed by subject in
+    * only one pass before the extraction, and the extraction uses this index rather than querying the model for each element.
+    *
+    * @param useStatementsIndex true if the extraction must use a single-pass statements index
+    */
+   public void setUseStatementsIndex(boolean useStatementsIndex) {
+      this.useStatementsIndex = useStatementsIndex;
+   }
+
+   /**
+    * Return true if the extraction uses a single-pass statements index.
+    *
+    * @return true if the extraction uses a single-pass statements index
+    */
+   public boolean isUsingStatementsIndex() {
+      return useStatementsIndex;
+   }
+
+   /**
+    * Set if the extraction must compute the direct relations of the elements of the model in parallel. The parallel extraction is
+    * only used if the model has no reasoner, and it always uses the single-pass statements index.
+    *
+    * @param parallelExtraction true if the extraction must compute the direct relations of the elements in parallel
+    */
+   public void setParallelExtraction(boolean parallelExtraction) {
+      this.parallelExtraction = parallelExtraction;
+   }
+
+   /**
+    * Return true if the extraction computes the direct relations of the elements of the model in parallel.
+    *
+    * @return true if the extraction computes the direct relations of the elements in parallel
+    */
+   public boolean isParallelExtraction() {
+      return parallelExtraction;
+   }
+
+   /**
+    * Set the number of Threads used for the parallel extraction. The default is the number of available processors.
+    *
+    * @param parallelism the number of Threads
+    */
+   public void setParallelism(int parallelism) {
+      this.parallelism = parallelism;
+   }
+
+   /**
+    * Set the monitor notified of the extraction phases, and allowing to cancel the extraction.
+    *
+    * @param monitor the monitor
+    */
+   public void setLoadingMonitor(LoadingMonitor monitor) {
+      this.monitor = monitor;
+   }
+
+   private void startPhase(short phase) {
+      if (monitor != null) {
+         monitor.startPhase(phase);
+      }
+   }
+
+   private void checkCancelled() {
+      if (monitor != null) {
+         monitor.checkCancelled();
+      }
+   }
+
+   private Iterator<Statement> listProperties(Resource resource) {
+      if (statementsIndex != null) {
+         return statementsIndex.listProperties(resource);
+      } else {
+         return resource.listProperties();
+      }
+   }
+
+   private Iterator<OntClass> listClasses() {
+      if (statementsIndex != null) {
+         return statementsIndex.listClasses();
+      } else {
+         return model.listClasses();
+      }
+   }
+
+   private Iterator<OntProperty> listAllOntProperties() {
+      if (statementsIndex != null) {
+         return statementsIndex.listAllOntProperties();
+      } else {
+         return model.listAllOntProperties();
+      }
+   }
+
+   private static <E> List<E> toList(Iterator<E> it) {
+      List<E> list = new ArrayList<>();
+      while (it.hasNext()) {
+         list.add(it.next());
+      }
+      return list;
+   }
+
+   private Iterator<OntClass> listDirectSuperClasses(OntClass theClass) {
+      if (parallelHelper != null && parallelHelper.hasSuperClasses(theClass)) {
+         return parallelHelper.listSuperClasses(theClass);
+      } else if (theClass.hasSuperClass()) {
+         return theClass.listSuperClasses(true);
+      } else {
+         return Collections.emptyIterator();
+      }
+   }
+
+   private Iterator<? extends OntProperty> listDirectSuperProperties(OntProperty property) {
+      if (parallelHelper != null && parallelHelper.hasProperty(property)) {
+         return parallelHelper.listSuperProperties(property);
+      } else {
+         return property.listSuperProperties(true);
+      }
+   }
+
+   private Iterator<? extends OntProperty> listDirectSubProperties(OntProperty property) {
+      if (parallelHelper != null && parallelHelper.hasProperty(property)) {
+         return parallelHelper.listSubProperties(property);
+      } else {
+         return property.listSubProperties(true);
+      }
+   }
+
    private OwlRestriction getRestrictionFrom(Restriction restriction) {
       OwlRestriction owlRestriction = null;
       Resource resource;
@@ -226,7 +358,12 @@ public class GraphExtractor extends AbstractWarningAction {
     */
    private List<OntClass> getOwlClasses(Individual individual) {
       List<OntClass> list = new ArrayList<>();
-      ExtendedIterator<Resource> it = individual.listRDFTypes(true);
+      Iterator<Resource> it;
+      if (parallelHelper != null && parallelHelper.hasTypes(individual)) {
+         it = parallelHelper.listTypes(individual);
+      } else {
+         it = individual.listRDFTypes(true);
+      }
       while (it.hasNext()) {
          Resource res = it.next();
          try {
@@ -283,16 +420,38 @@ public class GraphExtractor extends AbstractWarningAction {
     *
     * @return the graph
     */
-   public OwlSchema getGraph() throws OntologyException {
+   public OwlSchema getGraph() throws OntologyException, LoadingCancelledException {
+      if (parallelExtraction && ParallelExtractionHelper.isSupported(model)) {
+         parallelHelper = new ParallelExtractionHelper(parallelism, monitor);
+      }
+      try {
+         return extractGraph();
+      } finally {
+         if (parallelHelper != null) {
+            parallelHelper.close();
+            parallelHelper = null;
+         }
+      }
+   }
+
+   private OwlSchema extractGraph() throws OntologyException, LoadingCancelledException {
       BrowserConfiguration conf = BrowserConfiguration.getInstance();
       graph = new OwlSchema(model, representationType, file);
       namespaceFromFile = graph.getPotentialNamespaceFromFile();
       defaultNamespace = graph.getDefaultNamespace();
       defaultSquashedNamespace = graph.getDefaultSquashedNamespace();
       graph.setIncludeIndividuals(conf.includeIndividuals);
-      annotationsHelper = new AnnotationsHelper(graph, this);
+      startPhase(LoadingPhases.PHASE_PROPERTIES);
+      // the parallel extraction uses the statements index as a read-only snapshot of the statements of the model
+      if (useStatementsIndex || parallelHelper != null) {
+         statementsIndex = new StatementsIndex(model);
+         statementsIndex.index();
+      } else {
+         statementsIndex = null;
+      }
+      annotationsHelper = new AnnotationsHelper(graph, this, statementsIndex);
       exprHelper = new ExpressionsHelper(this, graph);
-      individualsHelper = new IndividualsHelper(graph);
+      individualsHelper = new IndividualsHelper(graph, statementsIndex);
       OntClass thingClass = model.getOntClass("http://www.w3.org/2002/07/owl#Thing");
       OwlClass owlThingClass = graph.getThingClass();
       thingKey = owlThingClass.getKey();
@@ -310,9 +469,10 @@ public class GraphExtractor extends AbstractWarningAction {
 
       // list properties
       Map<ElementKey, Set<ElementKey>> equivalentProperties = new HashMap<>();
-      ExtendedIterator properties = model.listAllOntProperties();
+      Iterator<OntProperty> properties = listAllOntProperties();
       while (properties.hasNext()) {
-         OntProperty thisProperty = (OntProperty) properties.next();
+         OntProperty thisProperty = properties.next();
+         checkCancelled();
          String nameSpace = graph.getNamespace(thisProperty);
          OwlProperty owlProp = null;
          if (thisProperty.isObjectProperty()) {
@@ -323,7 +483,7 @@ public class GraphExtractor extends AbstractWarningAction {
             Resource resource = thisProperty.asResource();
             OwlAnnotation annotation = new OwlAnnotation(resource);
             graph.addElementAnnotation(annotation);
-            StmtIterator iterSmt = resource.listProperties();
+            Iterator<Statement> iterSmt = listProperties(resource);
             while (iterSmt.hasNext()) {
                Statement statement = iterSmt.next();
                Property predicate = statement.getPredicate();
@@ -341,9 +501,11 @@ public class GraphExtractor extends AbstractWarningAction {
       boolean hasThingClass = false;
       Map<ElementKey, Set<ElementKey>> equivalentClasses = new HashMap<>();
       // list classes
-      ExtendedIterator classes = model.listClasses();
+      startPhase(LoadingPhases.PHASE_CLASSES);
+      Iterator<OntClass> classes = listClasses();
       while (classes.hasNext()) {
-         OntClass thisClass = (OntClass) classes.next();
+         OntClass thisClass = classes.next();
+         checkCancelled();
          if (thisClass.getNameSpace() == null && thisClass.getLocalName() == null) {
             continue;
          }
@@ -359,7 +521,7 @@ public class GraphExtractor extends AbstractWarningAction {
             owlClass = createOwlClass(thisClass);
             setPrefix(owlClass);
 
-            StmtIterator stmt = thisClass.listProperties();
+            Iterator<Statement> stmt = listProperties(thisClass);
             while (stmt.hasNext()) {
                Statement statement = stmt.next();
                Property prop = statement.getPredicate();
@@ -382,7 +544,7 @@ public class GraphExtractor extends AbstractWarningAction {
          if (owlProperty instanceof OwlObjectProperty) {
             OwlObjectProperty _owlProperty = (OwlObjectProperty) owlProperty;
             ObjectProperty objproperty = _owlProperty.getProperty();
-            StmtIterator iterSmt = objproperty.listProperties();
+            Iterator<Statement> iterSmt = listProperties(objproperty);
             while (iterSmt.hasNext()) {
                Statement statement = iterSmt.next();
                Property predicate = statement.getPredicate();
@@ -394,7 +556,7 @@ public class GraphExtractor extends AbstractWarningAction {
          } else if (owlProperty instanceof OwlDatatypeProperty) {
             OwlDatatypeProperty _owlProperty = (OwlDatatypeProperty) owlProperty;
             DatatypeProperty datatypeProperty = _owlProperty.getProperty();
-            StmtIterator iterSmt = datatypeProperty.listProperties();
+            Iterator<Statement> iterSmt = listProperties(datatypeProperty);
             while (iterSmt.hasNext()) {
                Statement statement = iterSmt.next();
                RDFNode node = statement.getObject();
@@ -407,28 +569,47 @@ public class GraphExtractor extends AbstractWarningAction {
       }
 
       // list individuals
+      startPhase(LoadingPhases.PHASE_INDIVIDUALS);
       if (conf.includeIndividuals) {
          try {
-            ExtendedIterator individuals = model.listIndividuals();
+            Iterator<Individual> individuals;
+            if (parallelHelper != null) {
+               List<Individual> list = toList(model.listIndividuals());
+               parallelHelper.prefetchTypes(list);
+               individuals = list.iterator();
+            } else {
+               individuals = model.listIndividuals();
+            }
             while (individuals.hasNext()) {
-               Individual thisIndividual = (Individual) individuals.next();
+               Individual thisIndividual = individuals.next();
+               checkCancelled();
                addIndividual(thisIndividual);
             }
 
             Iterator<OwlClass> itc = graph.getOwlClasses().values().iterator();
             while (itc.hasNext()) {
                OwlClass owlClass = itc.next();
+               checkCancelled();
                OntClass theClass = owlClass.getOntClass();
                if (theClass != null) {
-                  individuals = model.listIndividuals(theClass);
+                  if (statementsIndex != null) {
+                     individuals = statementsIndex.listIndividuals(theClass);
+                  } else {
+                     individuals = model.listIndividuals(theClass);
+                  }
                   while (individuals.hasNext()) {
-                     Individual thisIndividual = (Individual) individuals.next();
+                     Individual thisIndividual = individuals.next();
                      addIndividual(thisIndividual);
                   }
                }
             }
 
-            StmtIterator stmts = model.listStatements();
+            Iterator<Statement> stmts;
+            if (statementsIndex != null) {
+               stmts = statementsIndex.getTypeStatements().iterator();
+            } else {
+               stmts = model.listStatements();
+            }
             while (stmts.hasNext()) {
                Statement stmt = stmts.next();
                RDFNode object = stmt.getObject();
@@ -458,9 +639,16 @@ public class GraphExtractor extends AbstractWarningAction {
 
       hasThingClass = false;
       // parent classes
-      classes = model.listClasses();
+      startPhase(LoadingPhases.PHASE_DEPENDENCIES);
+      classes = listClasses();
+      if (parallelHelper != null) {
+         List<OntClass> list = toList(classes);
+         parallelHelper.prefetchSuperClasses(list);
+         classes = list.iterator();
+      }
       while (classes.hasNext()) {
-         OntClass thisClass = (OntClass) classes.next();
+         OntClass thisClass = classes.next();
+         checkCancelled();
          addClassToGraph(thisClass, owlThingClass);
       }
       if (!hasThingClass && addThingClass) {
@@ -468,7 +656,7 @@ public class GraphExtractor extends AbstractWarningAction {
          while (children.hasNext()) {
             OntClass childClass = children.next();
             String childNamespace = graph.getNamespace(childClass);
-            ElementKey skey = new ElementKey(childNamespace, childClass.getLocalName());
+            ElementKey skey = ElementKey.create(childNamespace, childClass.getLocalName());
             if (graph.hasOwlClass(skey)) {
                OwlClass childOwlClass = graph.getOwlClass(skey);
                childOwlClass.addSuperClass(thingKey, owlThingClass, thingKey);
@@ -478,28 +666,33 @@ public class GraphExtractor extends AbstractWarningAction {
       }
 
       // parent and sub-properties
-      properties = model.listAllOntProperties();
+      properties = listAllOntProperties();
+      if (parallelHelper != null) {
+         List<OntProperty> list = toList(properties);
+         parallelHelper.prefetchProperties(list);
+         properties = list.iterator();
+      }
       while (properties.hasNext()) {
-         OntProperty thisProperty = (OntProperty) properties.next();
+         OntProperty thisProperty = properties.next();
          if (thisProperty.getNameSpace() == null && thisProperty.getLocalName() == null) {
             continue;
          }
-         ElementKey key = new ElementKey(thisProperty.getNameSpace(), thisProperty.getLocalName());
+         ElementKey key = ElementKey.create(thisProperty.getNameSpace(), thisProperty.getLocalName());
          if (graph.hasOwlProperty(key)) {
             OwlProperty owlProperty = graph.getOwlProperty(key);
-            ExtendedIterator<? extends OntProperty> parents = thisProperty.listSuperProperties(true);
+            Iterator<? extends OntProperty> parents = listDirectSuperProperties(thisProperty);
             while (parents.hasNext()) {
                OntProperty superProperty = parents.next();
-               ElementKey skey = new ElementKey(superProperty.getNameSpace(), superProperty.getLocalName());
+               ElementKey skey = ElementKey.create(superProperty.getNameSpace(), superProperty.getLocalName());
                if (graph.hasOwlProperty(skey)) {
                   OwlProperty superOwlProperty = graph.getOwlProperty(skey);
                   owlProperty.addSuperProperty(skey, superOwlProperty);
                }
             }
-            ExtendedIterator<? extends OntProperty> children = thisProperty.listSubProperties(true);
+            Iterator<? extends OntProperty> children = listDirectSubProperties(thisProperty);
             while (children.hasNext()) {
                OntProperty subProperty = children.next();
-               ElementKey skey = new ElementKey(subProperty.getNameSpace(), subProperty.getLocalName());
+               ElementKey skey = ElementKey.create(subProperty.getNameSpace(), subProperty.getLocalName());
                if (!skey.equals(key) && graph.hasOwlProperty(skey)) {
                   OwlProperty superOwlProperty = graph.getOwlProperty(skey);
                   owlProperty.addSubProperty(skey, superOwlProperty);
@@ -509,6 +702,7 @@ public class GraphExtractor extends AbstractWarningAction {
       }
 
       // class to properties dependencies
+      checkCancelled();
       addDependencies(graph, restrictions, domainClassToProperties, rangeClassToProperties);
 
       // setup restrictions
@@ -533,6 +727,7 @@ public class GraphExtractor extends AbstractWarningAction {
          Iterator<OwlIndividual> it = graph.getIndividuals().values().iterator();
          while (it.hasNext()) {
             OwlIndividual owlIndividual = it.next();
+            checkCancelled();
             individualsHelper.addIndividualProperties(owlIndividual);
          }
       }
@@ -541,12 +736,14 @@ public class GraphExtractor extends AbstractWarningAction {
       exprHelper.fillEquivalentProperties(equivalentProperties);
       annotationsHelper.addDefaultAnnotations();
 
+      startPhase(LoadingPhases.PHASE_PACKAGES);
       if (showPackages) {
          PackagesExtractor pExtractor = new PackagesExtractor(graph);
          Map<ElementKey, OwlClass> packages = pExtractor.extractPackages();
          graph.setPackages(packages);
       }
       lookForForeignElements();
+      statementsIndex = null;
 
       return graph;
    }
@@ -556,32 +753,30 @@ public class GraphExtractor extends AbstractWarningAction {
          return;
       }
       String classNamespace = graph.getNamespace(thisClass);
-      ElementKey key = new ElementKey(classNamespace, thisClass.getLocalName());
+      ElementKey key = ElementKey.create(classNamespace, thisClass.getLocalName());
       if (graph.hasOwlClass(key)) {
          OwlClass owlClass = graph.getOwlClass(key);
          boolean isEmpty = true;
          try {
-            if (thisClass.hasSuperClass()) {
-               ExtendedIterator<OntClass> parents = thisClass.listSuperClasses(true);
-               while (parents.hasNext()) {
-                  OntClass superClass = parents.next();
-                  isEmpty = false;
-                  if (superClass.getLocalName() == null) {
-                     continue;
-                  }
-                  String superclassNamespace = graph.getNamespace(superClass);
-                  ElementKey skey = new ElementKey(superclassNamespace, superClass.getLocalName());
-                  if (graph.hasOwlClass(skey)) {
-                     OwlClass superOwlClass = graph.getOwlClass(skey);
-                     if (addThingClass || !skey.equals(thingKey)) {
-                        owlClass.addSuperClass(skey, superOwlClass, thingKey);
-                        superOwlClass.addSubClass(key, owlClass);
-                     }
-                  } else if (defaultSquashedNamespace == null) {
-                     addOwlClass(superClass, skey, owlClass, key, owlThingClass);
-                  } else if (!SkippedNamespaces.isSkipped(defaultSquashedNamespace, skey)) {
-                     addOwlClass(superClass, skey, owlClass, key, owlThingClass);
+            Iterator<OntClass> parents = listDirectSuperClasses(thisClass);
+            while (parents.hasNext()) {
+               OntClass superClass = parents.next();
+               isEmpty = false;
+               if (superClass.getLocalName() == null) {
+                  continue;
+               }
+               String superclassNamespace = graph.getNamespace(superClass);
+               ElementKey skey = ElementKey.create(superclassNamespace, superClass.getLocalName());
+               if (graph.hasOwlClass(skey)) {
+                  OwlClass superOwlClass = graph.getOwlClass(skey);
+                  if (addThingClass || !skey.equals(thingKey)) {
+                     owlClass.addSuperClass(skey, superOwlClass, thingKey);
+                     superOwlClass.addSubClass(key, owlClass);
                   }
+               } else if (defaultSquashedNamespace == null) {
+                  addOwlClass(superClass, skey, owlClass, key, owlThingClass);
+               } else if (!SkippedNamespaces.isSkipped(defaultSquashedNamespace, skey)) {
+                  addOwlClass(superClass, skey, owlClass, key, owlThingClass);
                }
             }
          } catch (ConversionException ex) {
@@ -650,7 +845,7 @@ public class GraphExtractor extends AbstractWarningAction {
             OntResource resource = resources.next();
             if (resource.isURIResource()) {
                String namespace = graph.getNamespace(resource);
-               ElementKey tkey = new ElementKey(namespace, resource.getLocalName());
+               ElementKey tkey = ElementKey.create(namespace, resource.getLocalName());
                OwlDatatype dtype;
                if (graph.hasDatatype(tkey)) {
                   dtype = graph.getDatatype(tkey);
@@ -1073,7 +1268,7 @@ public class GraphExtractor extends AbstractWarningAction {
          while (it.hasNext()) {
             OntClass theClass = it.next();
             String namespace = graph.getNamespace(theClass);
-            ElementKey theKey = new ElementKey(namespace, theClass.getLocalName());
+            ElementKey theKey = ElementKey.create(namespace, theClass.getLocalName());
             if (graph.hasOwlClass(theKey)) {
                OwlClass theOwlClass = graph.getOwlClass(theKey);
                parentClasses.put(theKey, theOwlClass);
@@ -1082,7 +1277,7 @@ public class GraphExtractor extends AbstractWarningAction {
          OwlIndividual owlIndividual = createOwlIndividual(parentClasses, individual);
          setPrefix(owlIndividual);
          if (!graph.hasIndividual(owlIndividual.getKey())) {
-            StmtIterator iterSmt = individual.listProperties();
+            Iterator<Statement> iterSmt = listProperties(individual);
             while (iterSmt.hasNext()) {
                Statement statement = iterSmt.next();
                RDFNode node = statement.getObject();
@@ -1142,7 +1337,7 @@ public class GraphExtractor extends AbstractWarningAction {
             if (ontProperty.hasInverse()) {
                try {
                   ontProperty = ontProperty.getInverse();
-                  ElementKey inverseKey = new ElementKey(ontProperty.getNameSpace(), ontProperty.getLocalName());
+                  ElementKey inverseKey = ElementKey.create(ontProperty.getNameSpace(), ontProperty.getLocalName());
                   if (modelProps.containsKey(inverseKey)) {
                      objectProp.setInverseProperty((OwlObjectProperty) modelProps.get(inverseKey));
                   }
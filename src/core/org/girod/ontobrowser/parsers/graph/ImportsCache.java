@@ -0,0 +1,360 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import java.io.File;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.ontology.OntDocumentManager;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.ModelGetter;
+import org.apache.jena.rdf.model.ModelReader;
+import org.apache.jena.riot.system.stream.JenaIOEnvironment;
+import org.apache.jena.riot.system.stream.LocationMapper;
+import org.apache.jena.sparql.graph.GraphReadOnly;
+
+/**
+ * A process-wide cache of the imported ontologies. Each imported URI is parsed once into a read-only graph, which is shared as a sub-model
+ * by all the Ontology models which import it.
+ *
+ * The Ontology models which use the cache are created with {@link ImportsLoader#createOntModel(OntModelSpec, Model)}, which register the
+ * imported graphs used by each model. The graphs are counted as referenced until the model is released with
+ * {@link ImportsLoader#releaseImports(OntModel)}, and a graph is evicted from the cache when it is not referenced anymore. The models are only
+ * weakly referenced by the cache, so the graphs used by a model which has not been released are released when the model is garbage collected.
+ *
+ * A cached graph is parsed again if it has been invalidated, or if the local file it has been read from has been modified. The models which
+ * still use the previous graph keep it until they are released.
+ *
+ * @since 0.18
+ */
+public class ImportsCache implements ModelGetter {
+   private static ImportsCache cache = null;
+   private final Map<String, Entry> entries = new HashMap<>();
+   private final Map<OntModel, ModelReference> users = new WeakHashMap<>();
+   private final ReferenceQueue<OntModel> queue = new ReferenceQueue<>();
+   // the document managers are not thread-safe, so each Thread has its own copy of the specifications
+   private final ThreadLocal<Map<OntModelSpec, OntModelSpec>> specs = ThreadLocal.withInitial(IdentityHashMap::new);
+   private final ThreadLocal<List<Entry>> loadedEntries = new ThreadLocal<>();
+
+   private ImportsCache() {
+   }
+
+   /**
+    * Return the unique instance.
+    *
+    * @return the instance
+    */
+   public static synchronized ImportsCache getInstance() {
+      if (cache == null) {
+         cache = new ImportsCache();
+      }
+      return cache;
+   }
+
+   /**
+    * Return the Ontology model specification which loads its imports through the cache for the current Thread. The returned
+    * specification is a copy of the specification, with the same reasoner and a document manager which does not cache the imported
+    * models itself. Each Thread has its own copy, so that the models can be created concurrently without sharing a document manager.
+    *
+    * @param spec the Ontology model specification
+    * @return the specification which loads its imports through the cache
+    */
+   OntModelSpec getSharedSpec(OntModelSpec spec) {
+      Map<OntModelSpec, OntModelSpec> threadSpecs = specs.get();
+      OntModelSpec sharedSpec = threadSpecs.get(spec);
+      if (sharedSpec == null) {
+         sharedSpec = new OntModelSpec(spec);
+         // the imports model maker is never used to store models, so that the imports are always asked to the cache
+         sharedSpec.setImportModelMaker(ModelFactory.createMemModelMaker());
+         sharedSpec.setImportModelGetter(this);
+         // the models are not cached by the document manager, else the cache would not know which imports are used by the models
+         OntDocumentManager manager = new OntDocumentManager();
+         OntDocumentManager specManager = spec.getDocumentManager();
+         synchronized (specManager) {
+            manager.setFileManager(specManager.getFileManager());
+            manager.setProcessImports(specManager.getProcessImports());
+         }
+         manager.setCacheModels(false);
+         sharedSpec.setDocumentManager(manager);
+         threadSpecs.put(spec, sharedSpec);
+      }
+      return sharedSpec;
+   }
+
+   /**
+    * Start to record the imported graphs used by a model created in the current Thread.
+    */
+   void beginLoad() {
+      loadedEntries.set(new ArrayList<>());
+   }
+
+   /**
+    * Stop to record the imported graphs used by a model created in the current Thread, and register them as referenced by the model.
+    *
+    * @param model the model, or null if the model could not be created
+    */
+   void endLoad(OntModel model) {
+      List<Entry> loaded = loadedEntries.get();
+      loadedEntries.remove();
+      if (model == null || loaded == null || loaded.isEmpty()) {
+         return;
+      }
+      synchronized (this) {
+         expungeReleasedModels();
+         ModelReference reference = users.get(model);
+         if (reference == null) {
+            reference = new ModelReference(model, queue);
+            users.put(model, reference);
+         }
+         Iterator<Entry> it = loaded.iterator();
+         while (it.hasNext()) {
+            Entry entry = it.next();
+            if (!reference.used.contains(entry)) {
+               reference.used.add(entry);
+               entry.references++;
+            }
+         }
+      }
+   }
+
+   /**
+    * Release the imported graphs used by a model. The graphs which are not referenced anymore are evicted from the cache.
+    *
+    * @param model the model
+    */
+   synchronized void release(OntModel model) {
+      expungeReleasedModels();
+      ModelReference reference = users.remove(model);
+      if (reference != null) {
+         // a cleared reference is not enqueued, so the graphs will not be released again when the model is garbage collected
+         reference.clear();
+         release(reference.used);
+      }
+   }
+
+   /**
+    * Release the imported graphs used by the models which have been garbage collected without being released.
+    */
+   private void expungeReleasedModels() {
+      ModelReference reference = (ModelReference) queue.poll();
+      while (reference != null) {
+         release(reference.used);
+         reference = (ModelReference) queue.poll();
+      }
+   }
+
+   private void release(List<Entry> used) {
+      Iterator<Entry> it = used.iterator();
+      while (it.hasNext()) {
+         Entry entry = it.next();
+         entry.references--;
+         if (entry.references <= 0 && entries.get(entry.uri) == entry) {
+            entries.remove(entry.uri);
+         }
+      }
+   }
+
+   /**
+    * Invalidate all the cached graphs. They will be parsed again the next time they are imported.
+    */
+   public synchronized void invalidate() {
+      expungeReleasedModels();
+      Iterator<Entry> it = entries.values().iterator();
+      while (it.hasNext()) {
+         Entry entry = it.next();
+         entry.invalidated = true;
+         if (entry.references <= 0) {
+            it.remove();
+         }
+      }
+   }
+
+   /**
+    * Return true if an imported URI is in the cache.
+    *
+    * @param uri the imported URI
+    * @return true if the imported URI is in the cache
+    */
+   public synchronized boolean isCached(String uri) {
+      expungeReleasedModels();
+      return entries.containsKey(uri);
+   }
+
+   /**
+    * Return the number of models which reference the cached graph of an imported URI.
+    *
+    * @param uri the imported URI
+    * @return the number of models which reference the graph, or 0 if the URI is not in the cache
+    */
+   public synchronized int getReferences(String uri) {
+      expungeReleasedModels();
+      Entry entry = entries.get(uri);
+      return entry == null ? 0 : entry.references;
+   }
+
+   /**
+    * Return the cached graph of an imported URI.
+    *
+    * @param uri the imported URI
+    * @return the graph, or null if the URI is not in the cache
+    */
+   public synchronized Graph getGraph(String uri) {
+      Entry entry = entries.get(uri);
+      return entry == null ? null : entry.graph;
+   }
+
+   /**
+    * Return the imported URIs in the cache.
+    *
+    * @return the imported URIs
+    */
+   public synchronized List<String> getCachedURIs() {
+      expungeReleasedModels();
+      List<String> list = new ArrayList<>(entries.keySet());
+      Collections.sort(list);
+      return list;
+   }
+
+   @Override
+   public synchronized Model getModel(String uri) {
+      Entry entry = entries.get(uri);
+      if (entry == null || entry.isStale()) {
+         return null;
+      }
+      return ModelFactory.createModelForGraph(entry.graph);
+   }
+
+   @Override
+   public Model getModel(String uri, ModelReader loadIfAbsent) {
+      Entry entry;
+      synchronized (this) {
+         entry = entries.get(uri);
+         if (entry != null && entry.isStale()) {
+            if (entry.references <= 0) {
+               entries.remove(uri);
+            }
+            entry = null;
+         }
+      }
+      if (entry == null) {
+         Model model = ModelFactory.createDefaultModel();
+         loadIfAbsent.readModel(model, uri);
+         if (model.isEmpty()) {
+            // the import could not be read, it will be tried again the next time it is imported
+            return model;
+         }
+         synchronized (this) {
+            Entry current = entries.get(uri);
+            if (current != null && !current.isStale()) {
+               entry = current;
+            } else {
+               entry = new Entry(uri, new GraphReadOnly(model.getGraph()), getLocalFile(uri));
+               entries.put(uri, entry);
+            }
+         }
+      }
+      List<Entry> loaded = loadedEntries.get();
+      if (loaded != null) {
+         loaded.add(entry);
+      }
+      return ModelFactory.createModelForGraph(entry.graph);
+   }
+
+   /**
+    * Return the local file an imported URI is read from.
+    *
+    * @param uri the imported URI
+    * @return the local file, or null if the URI is not resolved to an existing local file
+    */
+   static File getLocalFile(String uri) {
+      String location = uri;
+      LocationMapper mapper = JenaIOEnvironment.getLocationMapper();
+      if (mapper != null) {
+         location = mapper.altMapping(uri);
+      }
+      if (location == null || !location.startsWith("file:")) {
+         return null;
+      }
+      try {
+         File file = new File(new URI(location));
+         return file.exists() ? file : null;
+      } catch (URISyntaxException | IllegalArgumentException ex) {
+         return null;
+      }
+   }
+
+   /**
+    * The weak reference to a model which uses imported graphs of the cache.
+    */
+   private static class ModelReference extends WeakReference<OntModel> {
+      private final List<Entry> used = new ArrayList<>();
+
+      private ModelReference(OntModel model, ReferenceQueue<OntModel> queue) {
+         super(model, queue);
+      }
+   }
+
+   private static class Entry {
+      private final String uri;
+      private final Graph graph;
+      private final File file;
+      private final long lastModified;
+      private int references = 0;
+      private boolean invalidated = false;
+
+      private Entry(String uri, Graph graph, File file) {
+         this.uri = uri;
+         this.graph = graph;
+         this.file = file;
+         this.lastModified = file == null ? 0 : file.lastModified();
+      }
+
+      private boolean isStale() {
+         return invalidated || (file != null && file.lastModified() != lastModified);
+      }
+   }
+}
@@ -0,0 +1,115 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import org.apache.jena.ontology.OntDocumentManager;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.ontology.impl.OntModelImpl;
+import org.apache.jena.rdf.model.Model;
+
+/**
+ * Creates the Ontology models of parsed files, loading their imports.
+ *
+ * The imports are resolved by a document manager which belongs to the current Thread, because the document managers are not
+ * thread-safe. The document manager of the model specification is only locked while its settings are read or modified. This allows
+ * several files to be opened concurrently while sharing the imported models which have already been parsed.
+ *
+ * The imported models are shared through the {@link ImportsCache}: each imported URI is parsed once, and its graph is referenced by
+ * all the models which import it until they are released by {@link #releaseImports(OntModel)}.
+ *
+ * @since 0.18
+ */
+public class ImportsLoader {
+   private ImportsLoader() {
+   }
+
+   /**
+    * Create the Ontology model for a raw model, and load its imports.
+    *
+    * @param spec the Ontology model specification
+    * @param model the raw model
+    * @return the Ontology model
+    */
+   public static OntModel createOntModel(OntModelSpec spec, Model model) {
+      ImportsCache cache = ImportsCache.getInstance();
+      OntModelSpec sharedSpec = cache.getSharedSpec(spec);
+      OntModel ontModel = null;
+      cache.beginLoad();
+      try {
+         ontModel = new OntModelImpl(sharedSpec, model);
+      } finally {
+         cache.endLoad(ontModel);
+      }
+      return ontModel;
+   }
+
+   /**
+    * Release the imported models used by an Ontology model. It must be called when the Ontology model is not used anymore, so that the
+    * imported models which are not used by other models can be evicted from the cache.
+    *
+    * @param model the Ontology model
+    */
+   public static void releaseImports(OntModel model) {
+      ImportsCache.getInstance().release(model);
+   }
+
+   /**
+    * Set if the imported models are cached by the document manager of a model specification. This only applies to the models
+    * which are created directly with the specification, the models created by {@link #createOntModel(OntModelSpec, Model)} always
+    * share their imported models through the {@link ImportsCache}.
+    *
+    * @param spec the Ontology model specification
+    * @param cacheModels true if the imported models are cached
+    */
+   public static void setCacheImports(OntModelSpec spec, boolean cacheModels) {
+      OntDocumentManager manager = spec.getDocumentManager();
+      synchronized (manager) {
+         manager.setCacheModels(cacheModels);
+      }
+   }
+
+   /**
+    * Remove all the imported models cached by the document manager of a model specification, and invalidate the models of the
+    * {@link ImportsCache}. This must be called when the files of imported models have been modified.
+    *
+    * @param spec the Ontology model specification
+    */
+   public static void clearCache(OntModelSpec spec) {
+      OntDocumentManager manager = spec.getDocumentManager();
+      synchronized (manager) {
+         manager.clearCache();
+      }
+      ImportsCache.getInstance().invalidate();
+   }
+}
@@ -0,0 +1,232 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.shared.Lock;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlIndividual;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * Update a schema incrementally from a new parsing of its file.
+ *
+ * The triples of the new parsing are compared with the triples of the base model of the schema. If the only differences are
+ * annotations on existing classes, properties or individuals, the differences are applied to the model and only the annotations of
+ * these elements are extracted again. Else the schema can not be updated incrementally and it must be extracted again from the
+ * file. In that case the schema and its model are not modified.
+ *
+ * @since 0.18
+ */
+public class IncrementalSchemaUpdater {
+   private final OwlSchema schema;
+   private final Map<ElementKey, NamedOwlElement> updatedElements = new LinkedHashMap<>();
+   private ModelDiff diff = null;
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema
+    */
+   public IncrementalSchemaUpdater(OwlSchema schema) {
+      this.schema = schema;
+   }
+
+   /**
+    * Update the schema from a new parsing of its file.
+    *
+    * @param newModel the model of the new parsing
+    * @return true if the schema has been updated incrementally (or did not need to be updated), false if it must be extracted again
+    */
+   public boolean update(Model newModel) {
+      return update(newModel.getGraph());
+   }
+
+   /**
+    * Update the schema from a new parsing of its file.
+    *
+    * @param newGraph the graph of the new parsing
+    * @return true if the schema has been updated incrementally (or did not need to be updated), false if it must be extracted again
+    */
+   public boolean update(Graph newGraph) {
+      updatedElements.clear();
+      OntModel model = schema.getOntModel();
+      if (model == null) {
+         return false;
+      }
+      Graph baseGraph = model.getBaseModel().getGraph();
+      diff = new ModelDiff(baseGraph, newGraph);
+      diff.compute();
+      if (diff.hasBlankNodeChanges()) {
+         return false;
+      } else if (diff.isEmpty()) {
+         return true;
+      }
+      // first check that all the triples are annotations on existing elements, before modifying anything
+      Map<String, NamedOwlElement> elementsByURI = getElementsByURI();
+      Map<ElementKey, NamedOwlElement> elements = new LinkedHashMap<>();
+      List<Triple> triples = new ArrayList<>(diff.getRemovedTriples());
+      triples.addAll(diff.getAddedTriples());
+      Iterator<Triple> it = triples.iterator();
+      while (it.hasNext()) {
+         NamedOwlElement element = getAnnotatedElement(it.next(), elementsByURI);
+         if (element == null) {
+            return false;
+         }
+         elements.put(element.getKey(), element);
+      }
+
+      // apply the differences to the model
+      model.enterCriticalSection(Lock.WRITE);
+      try {
+         it = diff.getRemovedTriples().iterator();
+         while (it.hasNext()) {
+            baseGraph.delete(it.next());
+         }
+         it = diff.getAddedTriples().iterator();
+         while (it.hasNext()) {
+            baseGraph.add(it.next());
+         }
+      } finally {
+         model.leaveCriticalSection();
+      }
+
+      // extract again the annotations of the elements
+      AnnotationsHelper annotationsHelper = new AnnotationsHelper(schema, null);
+      Iterator<NamedOwlElement> it2 = elements.values().iterator();
+      while (it2.hasNext()) {
+         NamedOwlElement element = it2.next();
+         annotationsHelper.updateAnnotations(element);
+         updatedElements.put(element.getKey(), element);
+      }
+      schema.invalidateSearchIndex();
+      return true;
+   }
+
+   private Map<String, NamedOwlElement> getElementsByURI() {
+      Map<String, NamedOwlElement> elementsByURI = new HashMap<>();
+      Iterator<OwlClass> itc = schema.getOwlClasses().values().iterator();
+      while (itc.hasNext()) {
+         OwlClass owlClass = itc.next();
+         addElement(elementsByURI, owlClass, owlClass.getOntClass());
+      }
+      Iterator<OwlProperty> itp = schema.getOwlProperties().values().iterator();
+      while (itp.hasNext()) {
+         OwlProperty owlProperty = itp.next();
+         addElement(elementsByURI, owlProperty, owlProperty.getProperty());
+      }
+      Iterator<OwlIndividual> iti = schema.getIndividuals().values().iterator();
+      while (iti.hasNext()) {
+         OwlIndividual owlIndividual = iti.next();
+         addElement(elementsByURI, owlIndividual, owlIndividual.getIndividual());
+      }
+      return elementsByURI;
+   }
+
+   private void addElement(Map<String, NamedOwlElement> elementsByURI, NamedOwlElement element, Resource resource) {
+      if (resource != null && resource.isURIResource()) {
+         elementsByURI.put(resource.getURI(), element);
+      }
+   }
+
+   /**
+    * Return the element annotated by a triple. Return null if the triple is not an annotation on an existing element, for example if
+    * it is a part of the classes hierarchy, or if it uses an annotation which is not already in the schema.
+    *
+    * @param triple the triple
+    * @param elementsByURI the elements of the schema by the URI of their resource
+    * @return the element, or null if the triple is not an annotation on an existing element
+    */
+   private NamedOwlElement getAnnotatedElement(Triple triple, Map<String, NamedOwlElement> elementsByURI) {
+      Node subject = triple.getSubject();
+      Node predicate = triple.getPredicate();
+      if (!subject.isURI() || !predicate.isURI() || !isAnnotationPredicate(predicate)) {
+         return null;
+      }
+      if (elementsByURI.get(predicate.getURI()) != null) {
+         // the assertion of a property on an individual
+         return null;
+      }
+      ElementKey annotationKey = ElementKey.create(predicate.getNameSpace(), predicate.getLocalName());
+      if (!schema.hasElementAnnotation(annotationKey)) {
+         return null;
+      }
+      return elementsByURI.get(subject.getURI());
+   }
+
+   private static boolean isAnnotationPredicate(Node predicate) {
+      String uri = predicate.getURI();
+      if (uri.equals(RDFS.label.getURI()) || uri.equals(RDFS.comment.getURI()) || uri.equals(RDFS.seeAlso.getURI())
+         || uri.equals(RDFS.isDefinedBy.getURI()) || uri.equals(OWL.versionInfo.getURI())) {
+         return true;
+      }
+      // the other predicates of these namespaces define the structure of the schema
+      return !uri.startsWith(RDF.getURI()) && !uri.startsWith(RDFS.getURI()) && !uri.startsWith(OWL.getURI());
+   }
+
+   /**
+    * Return the differences between the base model of the schema and the new parsing, computed by the last update.
+    *
+    * @return the differences, or null if the schema has not been updated
+    */
+   public ModelDiff getDiff() {
+      return diff;
+   }
+
+   /**
+    * Return the elements whose annotations have been updated by the last update.
+    *
+    * @return the updated elements
+    */
+   public Map<ElementKey, NamedOwlElement> getUpdatedElements() {
+      return Collections.unmodifiableMap(updatedElements);
+   }
+}
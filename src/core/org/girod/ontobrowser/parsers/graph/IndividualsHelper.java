@@ -32,12 +32,12 @@ the project website at the project page on https://github.com/hervegirod/ontolog
  */
 package org.girod.ontobrowser.parsers.graph;
 
+import java.util.Iterator;
 import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
-import org.apache.jena.rdf.model.StmtIterator;
 import org.girod.ontobrowser.model.DatatypePropertyValue;
 import org.girod.ontobrowser.model.ElementKey;
 import org.girod.ontobrowser.model.ObjectPropertyValue;
@@ -51,21 +51,38 @@ import org.girod.ontobrowser.model.OwlSchema;
 /**
  * A helper for individuals.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class IndividualsHelper {
    private final OwlSchema graph;
+   private final StatementsIndex statementsIndex;
 
    public IndividualsHelper(OwlSchema graph) {
+      this(graph, null);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param graph the schema
+    * @param statementsIndex the statements index (may be null)
+    */
+   public IndividualsHelper(OwlSchema graph, StatementsIndex statementsIndex) {
       this.graph = graph;
+      this.statementsIndex = statementsIndex;
    }
 
    public void addIndividualProperties(OwlIndividual owlIndividual) {
       Resource individual = owlIndividual.getIndividual();
 
-      StmtIterator smt = individual.listProperties();
+      Iterator<Statement> smt;
+      if (statementsIndex != null) {
+         smt = statementsIndex.listProperties(individual);
+      } else {
+         smt = individual.listProperties();
+      }
       while (smt.hasNext()) {
-         Statement statement = smt.nextStatement();
+         Statement statement = smt.next();
          Property property = statement.getPredicate();
          String namespace = graph.getNamespace(property);
          String name = property.getLocalName();
@@ -0,0 +1,563 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.stream.IntStream;
+import org.girod.jgraphml.model.GraphMLNode;
+import org.girod.jgraphml.model.IGraphMLNode;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * A layered layout of the nodes of an exported diagram. The sub-classes are presented below their super-classes, and the data properties
+ * are presented below their Class if the children are presented on the south.
+ *
+ * The nodes are split in one partition for each package and one partition for the nodes which are not in a package, and the partitions
+ * are laid out in parallel. For each partition, the layout:
+ * <ul>
+ * <li>Assigns each node to a layer, which is the length of the longest path from a root Class to the node</li>
+ * <li>Reduces the crossings of the edges by sorting the nodes of each layer on the barycenter of their neighbours in the adjacent layers</li>
+ * <li>Assigns the coordinates of the nodes, each node being centered as much as possible on its neighbours in the layer above</li>
+ * </ul>
+ * The nodes which have no relation are presented on a grid below the other nodes. The partitions are then presented side by side.
+ *
+ * @since 0.18
+ */
+public class LayeredLayout {
+   private final OwlSchema schema;
+   private final Map<ElementKey, IGraphMLNode> elementToNode;
+   private Map<ElementKey, ? extends IGraphMLNode> packagesNodes = null;
+   private float distance = 10;
+   private boolean hasSuperClassLayout = true;
+   private boolean hasChildrenLayout = false;
+   private int maximumSteps = 4;
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema
+    * @param elementToNode the nodes of the diagram for each element
+    */
+   public LayeredLayout(OwlSchema schema, Map<ElementKey, IGraphMLNode> elementToNode) {
+      this.schema = schema;
+      this.elementToNode = elementToNode;
+   }
+
+   /**
+    * Set the nodes of the packages of the diagram. The classes which are in a package which has a node are laid out separately from the
+    * other classes. If there are no packages nodes, all the nodes are laid out together.
+    *
+    * @param packagesNodes the nodes of the packages
+    */
+   public void setPackagesNodes(Map<ElementKey, ? extends IGraphMLNode> packagesNodes) {
+      this.packagesNodes = packagesNodes;
+   }
+
+   /**
+    * Set the maximum number of sweeps on the layers to reduce the crossings of the edges.
+    *
+    * @param maximumSteps the maximum number of sweeps
+    */
+   public void setMaximumSteps(int maximumSteps) {
+      this.maximumSteps = maximumSteps;
+   }
+
+   /**
+    * Set the distance between two adjacent nodes of the same layer. The distance between two layers is three times this distance.
+    *
+    * @param distance the distance
+    */
+   public void setDistance(float distance) {
+      this.distance = distance;
+   }
+
+   /**
+    * Set the layout option.
+    *
+    * @param layoutOptions the layout option
+    * @see LayoutOptions
+    */
+   public void setLayoutOption(short layoutOptions) {
+      switch (layoutOptions) {
+         case LayoutOptions.SUBCLASS_SOUTH_POSITION:
+            this.hasSuperClassLayout = true;
+            this.hasChildrenLayout = false;
+            break;
+         case LayoutOptions.CHILDREN_SOUTH_POSITION:
+            this.hasSuperClassLayout = true;
+            this.hasChildrenLayout = true;
+            break;
+         default:
+            this.hasSuperClassLayout = false;
+            this.hasChildrenLayout = false;
+            break;
+      }
+   }
+
+   /**
+    * Apply the layout.
+    */
+   public void apply() {
+      if (!hasSuperClassLayout) {
+         return;
+      }
+      List<Partition> partitions = createPartitions();
+      // the size of the nodes is read before the parallel layout, because it may be computed from their label
+      Iterator<Partition> it = partitions.iterator();
+      while (it.hasNext()) {
+         it.next().measure();
+      }
+      IntStream.range(0, partitions.size()).parallel().forEach(i -> partitions.get(i).layout());
+      float x = 0;
+      it = partitions.iterator();
+      while (it.hasNext()) {
+         Partition partition = it.next();
+         partition.moveTo(x);
+         x += partition.width + 3 * distance;
+      }
+   }
+
+   private ElementKey getPartitionKey(OwlClass theClass) {
+      if (packagesNodes != null && theClass.isInUniquePackage()) {
+         ElementKey packageKey = theClass.getPackage();
+         if (packagesNodes.containsKey(packageKey)) {
+            return packageKey;
+         }
+      }
+      return null;
+   }
+
+   private List<Partition> createPartitions() {
+      Map<ElementKey, Partition> partitions = new LinkedHashMap<>();
+      Map<ElementKey, Partition> elementToPartition = new HashMap<>();
+      Map<ElementKey, OwlClass> owlClasses = schema.getOwlClasses();
+      Iterator<Entry<ElementKey, OwlClass>> it = owlClasses.entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<ElementKey, OwlClass> entry = it.next();
+         ElementKey key = entry.getKey();
+         OwlClass theClass = entry.getValue();
+         IGraphMLNode node = elementToNode.get(key);
+         if (node instanceof GraphMLNode && !theClass.isPackage()) {
+            ElementKey partitionKey = getPartitionKey(theClass);
+            Partition partition = partitions.get(partitionKey);
+            if (partition == null) {
+               partition = new Partition();
+               partitions.put(partitionKey, partition);
+            }
+            partition.addVertex(key, (GraphMLNode) node);
+            elementToPartition.put(key, partition);
+         }
+      }
+      it = owlClasses.entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<ElementKey, OwlClass> entry = it.next();
+         ElementKey key = entry.getKey();
+         Partition partition = elementToPartition.get(key);
+         if (partition == null) {
+            continue;
+         }
+         OwlClass theClass = entry.getValue();
+         // super classes
+         Iterator<OwlClass> it2 = theClass.getSuperClasses().values().iterator();
+         while (it2.hasNext()) {
+            ElementKey superKey = it2.next().getKey();
+            if (elementToPartition.get(superKey) == partition) {
+               partition.addEdge(superKey, key);
+            }
+         }
+         // data properties
+         if (hasChildrenLayout) {
+            Iterator<OwlProperty> it3 = theClass.getDomainOwlProperties().values().iterator();
+            while (it3.hasNext()) {
+               OwlProperty property = it3.next();
+               if (property.isDatatypeProperty()) {
+                  ElementKey propKey = property.getKey();
+                  IGraphMLNode node = elementToNode.get(propKey);
+                  if (node instanceof GraphMLNode) {
+                     if (!elementToPartition.containsKey(propKey)) {
+                        partition.addVertex(propKey, (GraphMLNode) node);
+                        elementToPartition.put(propKey, partition);
+                     }
+                     if (elementToPartition.get(propKey) == partition) {
+                        partition.addEdge(key, propKey);
+                     }
+                  }
+               }
+            }
+         }
+      }
+      return new ArrayList<>(partitions.values());
+   }
+
+   /**
+    * Sort the vertices of a layer on their keys. The sort is stable, so the vertices which have the same key keep their relative order.
+    *
+    * @param vertices the vertices
+    * @param keys the keys, for each vertex
+    * @param buffer a buffer with at least the size of the vertices
+    */
+   private static void sort(int[] vertices, double[] keys, int[] buffer) {
+      int length = vertices.length;
+      for (int width = 1; width < length; width *= 2) {
+         for (int low = 0; low < length - width; low += 2 * width) {
+            int mid = low + width;
+            int high = Math.min(low + 2 * width, length);
+            int i = low;
+            int j = mid;
+            int k = low;
+            while (i < mid && j < high) {
+               if (keys[vertices[j]] < keys[vertices[i]]) {
+                  buffer[k++] = vertices[j++];
+               } else {
+                  buffer[k++] = vertices[i++];
+               }
+            }
+            while (i < mid) {
+               buffer[k++] = vertices[i++];
+            }
+            while (j < high) {
+               buffer[k++] = vertices[j++];
+            }
+            System.arraycopy(buffer, low, vertices, low, high - low);
+         }
+      }
+   }
+
+   /**
+    * The nodes which are laid out together. The vertices and edges are stored in arrays of primitives, the vertices being identified by
+    * their index.
+    */
+   private class Partition {
+      private final Map<ElementKey, Integer> ids = new HashMap<>();
+      private final List<GraphMLNode> nodes = new ArrayList<>();
+      private int[] edgeSources = new int[16];
+      private int[] edgeTargets = new int[16];
+      private int edgesCount = 0;
+      private float[] widths;
+      private float[] heights;
+      private float[] x;
+      private float[] y;
+      private float width = 0;
+
+      private void addVertex(ElementKey key, GraphMLNode node) {
+         ids.put(key, nodes.size());
+         nodes.add(node);
+      }
+
+      private void addEdge(ElementKey upperKey, ElementKey lowerKey) {
+         int source = ids.get(upperKey);
+         int target = ids.get(lowerKey);
+         if (source == target) {
+            return;
+         }
+         if (edgesCount == edgeSources.length) {
+            edgeSources = Arrays.copyOf(edgeSources, edgesCount * 2);
+            edgeTargets = Arrays.copyOf(edgeTargets, edgesCount * 2);
+         }
+         edgeSources[edgesCount] = source;
+         edgeTargets[edgesCount] = target;
+         edgesCount++;
+      }
+
+      private void measure() {
+         int count = nodes.size();
+         widths = new float[count];
+         heights = new float[count];
+         for (int v = 0; v < count; v++) {
+            GraphMLNode node = nodes.get(v);
+            widths[v] = node.getWidth();
+            heights[v] = node.getHeight();
+         }
+      }
+
+      /**
+       * Return the neighbours of the vertices, as offsets in an array of vertices.
+       *
+       * @param count the number of vertices
+       * @param from the first vertex of the edges
+       * @param to the second vertex of the edges
+       * @param offsets the offsets of the neighbours of each vertex, of size count + 1
+       * @return the neighbours
+       */
+      private int[] getNeighbours(int count, int[] from, int[] to, int[] offsets) {
+         for (int i = 0; i < edgesCount; i++) {
+            offsets[from[i] + 1]++;
+         }
+         for (int v = 0; v < count; v++) {
+            offsets[v + 1] += offsets[v];
+         }
+         int[] neighbours = new int[edgesCount];
+         int[] next = Arrays.copyOf(offsets, count);
+         for (int i = 0; i < edgesCount; i++) {
+            neighbours[next[from[i]]++] = to[i];
+         }
+         return neighbours;
+      }
+
+      private void layout() {
+         int count = nodes.size();
+         int[] succOffsets = new int[count + 1];
+         int[] successors = getNeighbours(count, edgeSources, edgeTargets, succOffsets);
+         int[] predOffsets = new int[count + 1];
+         int[] predecessors = getNeighbours(count, edgeTargets, edgeSources, predOffsets);
+
+         // longest path layering, the cycles are broken on the first vertex which is not already layered
+         int[] layer = new int[count];
+         int[] inDegree = new int[count];
+         for (int v = 0; v < count; v++) {
+            inDegree[v] = predOffsets[v + 1] - predOffsets[v];
+         }
+         int[] queue = new int[count];
+         boolean[] queued = new boolean[count];
+         int head = 0;
+         int tail = 0;
+         int nextForced = 0;
+         while (tail < count) {
+            if (head == tail) {
+               for (int v = 0; v < count; v++) {
+                  if (!queued[v] && inDegree[v] == 0) {
+                     queue[tail++] = v;
+                     queued[v] = true;
+                  }
+               }
+               if (head == tail) {
+                  while (queued[nextForced]) {
+                     nextForced++;
+                  }
+                  queue[tail++] = nextForced;
+                  queued[nextForced] = true;
+               }
+            }
+            int v = queue[head++];
+            for (int i = succOffsets[v]; i < succOffsets[v + 1]; i++) {
+               int s = successors[i];
+               if (!queued[s]) {
+                  layer[s] = Math.max(layer[s], layer[v] + 1);
+                  if (--inDegree[s] == 0) {
+                     queue[tail++] = s;
+                     queued[s] = true;
+                  }
+               }
+            }
+         }
+
+         // the vertices without relations are not in the layers
+         int layersCount = 0;
+         int isolatedCount = 0;
+         boolean[] isolated = new boolean[count];
+         for (int v = 0; v < count; v++) {
+            isolated[v] = succOffsets[v + 1] == succOffsets[v] && predOffsets[v + 1] == predOffsets[v];
+            if (isolated[v]) {
+               isolatedCount++;
+            } else {
+               layersCount = Math.max(layersCount, layer[v] + 1);
+            }
+         }
+         int[] layerSizes = new int[layersCount];
+         for (int v = 0; v < count; v++) {
+            if (!isolated[v]) {
+               layerSizes[layer[v]]++;
+            }
+         }
+         int[][] layers = new int[layersCount][];
+         for (int l = 0; l < layersCount; l++) {
+            layers[l] = new int[layerSizes[l]];
+            layerSizes[l] = 0;
+         }
+         int[] isolatedVertices = new int[isolatedCount];
+         isolatedCount = 0;
+         // the initial order in the layers is the order of the layering, which keeps the siblings together
+         for (int i = 0; i < count; i++) {
+            int v = queue[i];
+            if (isolated[v]) {
+               isolatedVertices[isolatedCount++] = v;
+            } else {
+               layers[layer[v]][layerSizes[layer[v]]++] = v;
+            }
+         }
+
+         // crossing reduction
+         int[] position = new int[count];
+         for (int l = 0; l < layersCount; l++) {
+            for (int i = 0; i < layers[l].length; i++) {
+               position[layers[l][i]] = i;
+            }
+         }
+         double[] keys = new double[count];
+         int[] buffer = new int[count];
+         for (int step = 0; step < maximumSteps; step++) {
+            boolean modified = false;
+            for (int l = 1; l < layersCount; l++) {
+               modified |= sortLayer(layers[l], predOffsets, predecessors, position, keys, buffer);
+            }
+            for (int l = layersCount - 2; l >= 0; l--) {
+               modified |= sortLayer(layers[l], succOffsets, successors, position, keys, buffer);
+            }
+            if (!modified) {
+               break;
+            }
+         }
+
+         // coordinates
+         x = new float[count];
+         y = new float[count];
+         float layerY = 0;
+         for (int l = 0; l < layersCount; l++) {
+            float layerHeight = 0;
+            float left = 0;
+            for (int i = 0; i < layers[l].length; i++) {
+               int v = layers[l][i];
+               y[v] = layerY;
+               x[v] = left;
+               left += widths[v] + distance;
+               layerHeight = Math.max(layerHeight, heights[v]);
+            }
+            layerY += layerHeight + 3 * distance;
+         }
+         for (int l = 1; l < layersCount; l++) {
+            placeLayer(layers[l], predOffsets, predecessors);
+         }
+         for (int l = layersCount - 2; l >= 0; l--) {
+            placeLayer(layers[l], succOffsets, successors);
+         }
+         float minX = Float.MAX_VALUE;
+         float maxX = 0;
+         for (int v = 0; v < count; v++) {
+            if (!isolated[v]) {
+               minX = Math.min(minX, x[v]);
+            }
+         }
+         for (int v = 0; v < count; v++) {
+            if (!isolated[v]) {
+               x[v] -= minX;
+               maxX = Math.max(maxX, x[v] + widths[v]);
+            }
+         }
+
+         // the vertices without relations are on a grid below the layers
+         if (isolatedCount > 0) {
+            int columns = (int) Math.ceil(Math.sqrt(isolatedCount));
+            float cellWidth = 0;
+            float cellHeight = 0;
+            for (int i = 0; i < isolatedCount; i++) {
+               cellWidth = Math.max(cellWidth, widths[isolatedVertices[i]]);
+               cellHeight = Math.max(cellHeight, heights[isolatedVertices[i]]);
+            }
+            for (int i = 0; i < isolatedCount; i++) {
+               int v = isolatedVertices[i];
+               x[v] = (i % columns) * (cellWidth + distance);
+               y[v] = layerY + (i / columns) * (cellHeight + distance);
+               maxX = Math.max(maxX, x[v] + widths[v]);
+            }
+         }
+         width = maxX;
+      }
+
+      /**
+       * Sort a layer on the barycenter of the positions of the neighbours of its vertices. The vertices which have no neighbours keep
+       * their position.
+       *
+       * @return true if the order of the layer has been modified
+       */
+      private boolean sortLayer(int[] vertices, int[] offsets, int[] neighbours, int[] position, double[] keys, int[] buffer) {
+         for (int i = 0; i < vertices.length; i++) {
+            int v = vertices[i];
+            int start = offsets[v];
+            int end = offsets[v + 1];
+            if (start == end) {
+               keys[v] = i;
+            } else {
+               double sum = 0;
+               for (int j = start; j < end; j++) {
+                  sum += position[neighbours[j]];
+               }
+               keys[v] = sum / (end - start);
+            }
+         }
+         sort(vertices, keys, buffer);
+         boolean modified = false;
+         for (int i = 0; i < vertices.length; i++) {
+            if (position[vertices[i]] != i) {
+               position[vertices[i]] = i;
+               modified = true;
+            }
+         }
+         return modified;
+      }
+
+      /**
+       * Place the vertices of a layer as near as possible of the center of their neighbours, keeping the order of the layer and the
+       * distance between the vertices.
+       */
+      private void placeLayer(int[] vertices, int[] offsets, int[] neighbours) {
+         float right = -Float.MAX_VALUE;
+         for (int i = 0; i < vertices.length; i++) {
+            int v = vertices[i];
+            int start = offsets[v];
+            int end = offsets[v + 1];
+            float left = x[v];
+            if (start < end) {
+               float sum = 0;
+               for (int j = start; j < end; j++) {
+                  int n = neighbours[j];
+                  sum += x[n] + widths[n] / 2;
+               }
+               left = sum / (end - start) - widths[v] / 2;
+            }
+            if (left < right + distance) {
+               left = right + distance;
+            }
+            x[v] = left;
+            right = left + widths[v];
+         }
+      }
+
+      private void moveTo(float left) {
+         for (int v = 0; v < nodes.size(); v++) {
+            GraphMLNode node = nodes.get(v);
+            node.setX(x[v] + left);
+            node.setY(y[v]);
+         }
+      }
+   }
+}
@@ -0,0 +1,141 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+/**
+ * Follows the progress of the loading of a model, and allows to cancel it.
+ *
+ * The loading code calls {@link #startPhase(short)} at the start of each phase, and {@link #checkCancelled()} regularly during a phase.
+ * Both methods throw a {@link LoadingCancelledException} if the loading has been cancelled, which allows to abort the Jena parser or
+ * the extraction of the schema from any thread.
+ *
+ * @since 0.18
+ */
+public class LoadingMonitor implements LoadingPhases {
+   private volatile boolean cancelled = false;
+   private volatile short phase = PHASE_PARSE;
+   private volatile LoadingListener listener = null;
+
+   /**
+    * Constructor.
+    */
+   public LoadingMonitor() {
+   }
+
+   /**
+    * Set the listener notified of the progress of the loading.
+    *
+    * @param listener the listener
+    */
+   public void setListener(LoadingListener listener) {
+      this.listener = listener;
+   }
+
+   /**
+    * Cancel the loading. The loading will be aborted at the next check.
+    */
+   public void cancel() {
+      cancelled = true;
+   }
+
+   /**
+    * Return true if the loading has been cancelled.
+    *
+    * @return true if the loading has been cancelled
+    */
+   public boolean isCancelled() {
+      return cancelled;
+   }
+
+   /**
+    * Return the current phase.
+    *
+    * @return the current phase
+    */
+   public short getPhase() {
+      return phase;
+   }
+
+   /**
+    * Start a phase.
+    *
+    * @param phase the phase
+    * @throws LoadingCancelledException if the loading has been cancelled
+    */
+   public void startPhase(short phase) throws LoadingCancelledException {
+      checkCancelled();
+      this.phase = phase;
+      LoadingListener theListener = listener;
+      if (theListener != null) {
+         theListener.phaseStarted(phase);
+      }
+   }
+
+   /**
+    * Check if the loading has been cancelled.
+    *
+    * @throws LoadingCancelledException if the loading has been cancelled
+    */
+   public void checkCancelled() throws LoadingCancelledException {
+      if (cancelled) {
+         throw new LoadingCancelledException();
+      }
+   }
+
+   /**
+    * Return the description of a phase.
+    *
+    * @param phase the phase
+    * @return the description
+    */
+   public static String getPhaseDescription(short phase) {
+      switch (phase) {
+         case PHASE_PARSE:
+            return "Parsing model";
+         case PHASE_PROPERTIES:
+            return "Extracting properties";
+         case PHASE_CLASSES:
+            return "Extracting classes";
+         case PHASE_INDIVIDUALS:
+            return "Extracting individuals";
+         case PHASE_DEPENDENCIES:
+            return "Linking hierarchies and dependencies";
+         case PHASE_PACKAGES:
+            return "Extracting packages";
+         case PHASE_GRAPH:
+            return "Building diagram";
+         default:
+            return "Loading";
+      }
+   }
+}
@@ -0,0 +1,73 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+/**
+ * The phases of the loading of a model, in the order where they are performed.
+ *
+ * @since 0.18
+ */
+public interface LoadingPhases {
+   /**
+    * The parsing of the model file.
+    */
+   public static final short PHASE_PARSE = 0;
+   /**
+    * The extraction of the properties.
+    */
+   public static final short PHASE_PROPERTIES = 1;
+   /**
+    * The extraction of the classes.
+    */
+   public static final short PHASE_CLASSES = 2;
+   /**
+    * The extraction of the individuals.
+    */
+   public static final short PHASE_INDIVIDUALS = 3;
+   /**
+    * The linking of the classes and properties hierarchies and dependencies.
+    */
+   public static final short PHASE_DEPENDENCIES = 4;
+   /**
+    * The extraction of the packages.
+    */
+   public static final short PHASE_PACKAGES = 5;
+   /**
+    * The construction of the diagram graph.
+    */
+   public static final short PHASE_GRAPH = 6;
+   /**
+    * The number of phases.
+    */
+   public static final short PHASES_COUNT = 7;
+}
@@ -0,0 +1,144 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+/**
+ * The difference between the triples of two graphs.
+ *
+ * The triples without blank nodes are compared one by one. The blank nodes of two parsings of the same file are never the same, so
+ * the triples which have blank nodes are not compared one by one, but the two sub-graphs of these triples are only checked for
+ * isomorphism. If they are not isomorphic, {@link #hasBlankNodeChanges()} returns true and the added and removed triples only
+ * contain the triples without blank nodes.
+ *
+ * @since 0.18
+ */
+public class ModelDiff {
+   private final Graph oldGraph;
+   private final Graph newGraph;
+   private final List<Triple> addedTriples = new ArrayList<>();
+   private final List<Triple> removedTriples = new ArrayList<>();
+   private boolean hasBlankNodeChanges = false;
+
+   /**
+    * Constructor.
+    *
+    * @param oldGraph the old graph
+    * @param newGraph the new graph
+    */
+   public ModelDiff(Graph oldGraph, Graph newGraph) {
+      this.oldGraph = oldGraph;
+      this.newGraph = newGraph;
+   }
+
+   /**
+    * Compute the difference between the two graphs.
+    */
+   public void compute() {
+      addedTriples.clear();
+      removedTriples.clear();
+      Graph oldBlankGraph = Factory.createDefaultGraph();
+      Graph newBlankGraph = Factory.createDefaultGraph();
+      compare(oldGraph, newGraph, removedTriples, oldBlankGraph);
+      compare(newGraph, oldGraph, addedTriples, newBlankGraph);
+      if (oldBlankGraph.size() != newBlankGraph.size()) {
+         hasBlankNodeChanges = true;
+      } else {
+         hasBlankNodeChanges = !oldBlankGraph.isIsomorphicWith(newBlankGraph);
+      }
+   }
+
+   private void compare(Graph graph, Graph otherGraph, List<Triple> missingTriples, Graph blankGraph) {
+      ExtendedIterator<Triple> it = graph.find(Node.ANY, Node.ANY, Node.ANY);
+      try {
+         while (it.hasNext()) {
+            Triple triple = it.next();
+            if (hasBlankNode(triple)) {
+               blankGraph.add(triple);
+            } else if (!otherGraph.contains(triple)) {
+               missingTriples.add(triple);
+            }
+         }
+      } finally {
+         it.close();
+      }
+   }
+
+   private static boolean hasBlankNode(Triple triple) {
+      return triple.getSubject().isBlank() || triple.getObject().isBlank();
+   }
+
+   /**
+    * Return true if the triples which have blank nodes are different in the two graphs.
+    *
+    * @return true if the triples which have blank nodes are different
+    */
+   public boolean hasBlankNodeChanges() {
+      return hasBlankNodeChanges;
+   }
+
+   /**
+    * Return true if the two graphs have the same triples.
+    *
+    * @return true if the two graphs have the same triples
+    */
+   public boolean isEmpty() {
+      return !hasBlankNodeChanges && addedTriples.isEmpty() && removedTriples.isEmpty();
+   }
+
+   /**
+    * Return the triples without blank nodes which are in the new graph but not in the old graph.
+    *
+    * @return the added triples
+    */
+   public List<Triple> getAddedTriples() {
+      return Collections.unmodifiableList(addedTriples);
+   }
+
+   /**
+    * Return the triples without blank nodes which are in the old graph but not in the new graph.
+    *
+    * @return the removed triples
+    */
+   public List<Triple> getRemovedTriples() {
+      return Collections.unmodifiableList(removedTriples);
+   }
+}
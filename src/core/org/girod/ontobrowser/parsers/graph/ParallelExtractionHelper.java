@@ -0,0 +1,290 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.apache.jena.graph.Node;
+import org.apache.jena.ontology.Individual;
+import org.apache.jena.ontology.OntClass;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntProperty;
+import org.apache.jena.rdf.model.Resource;
+
+/**
+ * A helper which computes in parallel the direct relations of the elements of a model before they are used by the extraction.
+ *
+ * The computation of the direct super-classes, super-properties, sub-properties and types of the elements are the most expensive
+ * queries of the extraction, but they only read the model. This helper performs these queries for all the elements of a kind on a
+ * ForkJoinPool, and keeps the results. The extraction itself still links the elements in only one Thread and in the same order as
+ * the sequential extraction, so the resulting schema is the same.
+ *
+ * The exceptions which are thrown by a query are kept with the elements which have been found before the exception, and are thrown
+ * again when the result of the query is iterated, at the same position as for the sequential extraction.
+ *
+ * @since 0.18
+ */
+public class ParallelExtractionHelper {
+   private final ForkJoinPool pool;
+   private final LoadingMonitor monitor;
+   private final Map<Node, Prefetched<OntClass>> superClasses = new HashMap<>();
+   private final Map<Node, Prefetched<OntProperty>> superProperties = new HashMap<>();
+   private final Map<Node, Prefetched<OntProperty>> subProperties = new HashMap<>();
+   private final Map<Node, Prefetched<Resource>> individualTypes = new HashMap<>();
+
+   /**
+    * Constructor.
+    *
+    * @param parallelism the number of Threads
+    * @param monitor the loading monitor (may be null)
+    */
+   public ParallelExtractionHelper(int parallelism, LoadingMonitor monitor) {
+      this.pool = new ForkJoinPool(Math.max(1, parallelism));
+      this.monitor = monitor;
+   }
+
+   /**
+    * Return true if the parallel extraction can be used for a model. The parallel extraction can not be used for a model with a
+    * reasoner, because the reasoner updates its inferences while the model is queried.
+    *
+    * @param model the model
+    * @return true if the parallel extraction can be used for the model
+    */
+   public static boolean isSupported(OntModel model) {
+      return model.getSpecification().getReasonerFactory() == null;
+   }
+
+   /**
+    * Return the default number of Threads, which is the number of available processors.
+    *
+    * @return the default number of Threads
+    */
+   public static int getDefaultParallelism() {
+      return Runtime.getRuntime().availableProcessors();
+   }
+
+   /**
+    * Shutdown the Threads used by this helper.
+    */
+   public void close() {
+      pool.shutdownNow();
+   }
+
+   private <E extends Resource, T> void prefetch(List<E> elements, Function<E, Iterator<? extends T>> query, Map<Node, Prefetched<T>> results) {
+      int size = elements.size();
+      List<Prefetched<T>> list = new ArrayList<>(Collections.nCopies(size, (Prefetched<T>) null));
+      try {
+         pool.submit(() -> IntStream.range(0, size).parallel().forEach(i -> {
+            if (monitor != null) {
+               monitor.checkCancelled();
+            }
+            list.set(i, new Prefetched<>(elements.get(i), query));
+         })).get();
+      } catch (InterruptedException ex) {
+         Thread.currentThread().interrupt();
+         throw new LoadingCancelledException();
+      } catch (ExecutionException ex) {
+         Throwable cause = ex.getCause();
+         if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+         } else {
+            throw new IllegalStateException(cause);
+         }
+      }
+      for (int i = 0; i < size; i++) {
+         Node node = elements.get(i).asNode();
+         if (!results.containsKey(node)) {
+            results.put(node, list.get(i));
+         }
+      }
+   }
+
+   /**
+    * Compute the direct super-classes of classes.
+    *
+    * @param classes the classes
+    */
+   public void prefetchSuperClasses(List<OntClass> classes) {
+      prefetch(classes, theClass -> {
+         if (theClass.hasSuperClass()) {
+            return theClass.listSuperClasses(true);
+         } else {
+            List<OntClass> empty = Collections.emptyList();
+            return empty.iterator();
+         }
+      }, superClasses);
+   }
+
+   /**
+    * Return true if the direct super-classes of a class have been computed.
+    *
+    * @param theClass the class
+    * @return true if the direct super-classes of the class have been computed
+    */
+   public boolean hasSuperClasses(OntClass theClass) {
+      return superClasses.containsKey(theClass.asNode());
+   }
+
+   /**
+    * Return the direct super-classes of a class.
+    *
+    * @param theClass the class
+    * @return the direct super-classes
+    */
+   public Iterator<OntClass> listSuperClasses(OntClass theClass) {
+      return superClasses.get(theClass.asNode()).iterator();
+   }
+
+   /**
+    * Compute the direct super-properties and sub-properties of properties.
+    *
+    * @param properties the properties
+    */
+   public void prefetchProperties(List<OntProperty> properties) {
+      prefetch(properties, property -> property.listSuperProperties(true), superProperties);
+      prefetch(properties, property -> property.listSubProperties(true), subProperties);
+   }
+
+   /**
+    * Return true if the direct super-properties and sub-properties of a property have been computed.
+    *
+    * @param property the property
+    * @return true if the direct super-properties and sub-properties of the property have been computed
+    */
+   public boolean hasProperty(OntProperty property) {
+      return superProperties.containsKey(property.asNode());
+   }
+
+   /**
+    * Return the direct super-properties of a property.
+    *
+    * @param property the property
+    * @return the direct super-properties
+    */
+   public Iterator<OntProperty> listSuperProperties(OntProperty property) {
+      return superProperties.get(property.asNode()).iterator();
+   }
+
+   /**
+    * Return the direct sub-properties of a property.
+    *
+    * @param property the property
+    * @return the direct sub-properties
+    */
+   public Iterator<OntProperty> listSubProperties(OntProperty property) {
+      return subProperties.get(property.asNode()).iterator();
+   }
+
+   /**
+    * Compute the direct types of individuals.
+    *
+    * @param individuals the individuals
+    */
+   public void prefetchTypes(List<Individual> individuals) {
+      prefetch(individuals, individual -> individual.listRDFTypes(true), individualTypes);
+   }
+
+   /**
+    * Return true if the direct types of an individual have been computed.
+    *
+    * @param individual the individual
+    * @return true if the direct types of the individual have been computed
+    */
+   public boolean hasTypes(Individual individual) {
+      return individualTypes.containsKey(individual.asNode());
+   }
+
+   /**
+    * Return the direct types of an individual.
+    *
+    * @param individual the individual
+    * @return the direct types
+    */
+   public Iterator<Resource> listTypes(Individual individual) {
+      return individualTypes.get(individual.asNode()).iterator();
+   }
+
+   /**
+    * The result of a query for an element.
+    */
+   private static class Prefetched<T> {
+      private final List<T> values = new ArrayList<>();
+      private RuntimeException exception = null;
+
+      private <E> Prefetched(E element, Function<E, Iterator<? extends T>> query) {
+         try {
+            Iterator<? extends T> it = query.apply(element);
+            while (it.hasNext()) {
+               values.add(it.next());
+            }
+         } catch (LoadingCancelledException ex) {
+            throw ex;
+         } catch (RuntimeException ex) {
+            exception = ex;
+         }
+      }
+
+      private Iterator<T> iterator() {
+         Iterator<T> it = values.iterator();
+         return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+               if (it.hasNext()) {
+                  return true;
+               } else if (exception != null) {
+                  throw exception;
+               } else {
+                  return false;
+               }
+            }
+
+            @Override
+            public T next() {
+               if (!hasNext()) {
+                  throw new NoSuchElementException();
+               }
+               return it.next();
+            }
+         };
+      }
+   }
+}
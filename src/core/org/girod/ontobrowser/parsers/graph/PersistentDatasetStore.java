@@ -0,0 +1,215 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.tdb.TDB;
+import org.apache.jena.tdb.TDBFactory;
+import org.girod.ontobrowser.model.OwlRepresentationType;
+import org.mdiutil.io.FileUtilities;
+
+/**
+ * Stores the triples of Ontology files in persistent TDB datasets. The triples of a file are loaded only once in a dataset located in a
+ * directory specific to the file. The dataset is loaded again only if the file has changed.
+ *
+ * The Ontology models returned by this class use the default graph of the dataset as their base graph, so the triples are not kept in memory.
+ * The datasets are used without transactions, so that the models can be used from any Thread as the in-memory models. Note that
+ * the typed literals are stored in their canonical form, for example a <code>xsd:nonNegativeInteger</code> is returned as a <code>xsd:integer</code>.
+ *
+ * @since 0.18
+ */
+public class PersistentDatasetStore {
+   private static final String SOURCE_PROPERTIES = "source.properties";
+   private final File directory;
+
+   /**
+    * Constructor.
+    *
+    * @param directory the root directory of the datasets
+    */
+   public PersistentDatasetStore(File directory) {
+      this.directory = directory;
+   }
+
+   /**
+    * Return the default root directory of the datasets.
+    *
+    * @return the default directory
+    */
+   public static File getDefaultDirectory() {
+      File dir = new File(System.getProperty("user.home"), ".ontologyBrowser");
+      return new File(dir, "datasets");
+   }
+
+   /**
+    * Return the root directory of the datasets.
+    *
+    * @return the directory
+    */
+   public File getDirectory() {
+      return directory;
+   }
+
+   /**
+    * Return the directory of the dataset of an Ontology file.
+    *
+    * @param file the Ontology file
+    * @return the directory of the dataset
+    * @throws IOException if the directory name could not be computed
+    */
+   public File getLocation(File file) throws IOException {
+      MessageDigest digest;
+      try {
+         digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+         throw new IOException(ex);
+      }
+      byte[] hash = digest.digest(file.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+      StringBuilder buf = new StringBuilder();
+      buf.append(FileUtilities.getFileNameBody(file)).append('_');
+      for (int i = 0; i < 8; i++) {
+         buf.append(String.format("%02x", hash[i]));
+      }
+      return new File(directory, buf.toString());
+   }
+
+   /**
+    * Return true if the dataset of an Ontology file has been loaded from the current content of the file.
+    *
+    * @param file the Ontology file
+    * @return true if the dataset is up to date
+    * @throws IOException if the dataset could not be checked
+    */
+   public boolean isUpToDate(File file) throws IOException {
+      File sourceFile = new File(getLocation(file), SOURCE_PROPERTIES);
+      if (!sourceFile.exists()) {
+         return false;
+      }
+      Properties props = new Properties();
+      try (InputStream stream = new FileInputStream(sourceFile)) {
+         props.load(stream);
+      }
+      return Long.toString(file.length()).equals(props.getProperty("length"))
+         && Long.toString(file.lastModified()).equals(props.getProperty("lastModified"));
+   }
+
+   /**
+    * Return the dataset of an Ontology file. The triples of the file are loaded in the dataset only if the dataset is not up to date.
+    *
+    * @param file the Ontology file
+    * @param owlType the Owl representation type
+    * @param monitor the loading monitor (can be null)
+    * @return the dataset
+    * @throws IOException if the file could not be read
+    */
+   public Dataset getDataset(File file, short owlType, LoadingMonitor monitor) throws IOException {
+      File location = getLocation(file);
+      if (isUpToDate(file)) {
+         return TDBFactory.createDataset(location.getAbsolutePath());
+      }
+      if (location.exists()) {
+         // the dataset may still be used, so it must be released before removing its files
+         TDBFactory.release(TDBFactory.createDataset(location.getAbsolutePath()));
+         deleteContent(location);
+      } else if (!location.mkdirs()) {
+         throw new IOException("Could not create the directory " + location);
+      }
+      Dataset dataset = TDBFactory.createDataset(location.getAbsolutePath());
+      Lang lang;
+      if (owlType == OwlRepresentationType.TYPE_OWL_TURTLE) {
+         lang = Lang.TURTLE;
+      } else {
+         lang = Lang.RDFXML;
+      }
+      InputStream fileStream = new FileInputStream(file);
+      if (monitor != null) {
+         fileStream = new CancellableInputStream(fileStream, monitor);
+      }
+      try (InputStream stream = fileStream) {
+         RDFDataMgr.read(dataset.getDefaultModel(), stream, file.toURI().toString(), lang);
+      }
+      TDB.sync(dataset);
+      // the source properties are only written when the dataset is complete, so that a cancelled loading will be done again
+      Properties props = new Properties();
+      props.setProperty("file", file.getAbsolutePath());
+      props.setProperty("length", Long.toString(file.length()));
+      props.setProperty("lastModified", Long.toString(file.lastModified()));
+      try (OutputStream stream = new FileOutputStream(new File(location, SOURCE_PROPERTIES))) {
+         props.store(stream, null);
+      }
+      return dataset;
+   }
+
+   /**
+    * Return an Ontology model whose base graph is the default graph of the dataset of an Ontology file. The imports of the model must be released with
+    * {@link ImportsLoader#releaseImports(OntModel)} when the model is not used anymore.
+    *
+    * @param file the Ontology file
+    * @param owlType the Owl representation type
+    * @param spec the Ontology model specification
+    * @param monitor the loading monitor (can be null)
+    * @return the Ontology model
+    * @throws IOException if the file could not be read
+    */
+   public OntModel getModel(File file, short owlType, OntModelSpec spec, LoadingMonitor monitor) throws IOException {
+      Dataset dataset = getDataset(file, owlType, monitor);
+      return ImportsLoader.createOntModel(spec, dataset.getDefaultModel());
+   }
+
+   private void deleteContent(File dir) {
+      File[] files = dir.listFiles();
+      if (files != null) {
+         for (int i = 0; i < files.length; i++) {
+            File child = files[i];
+            if (child.isDirectory()) {
+               deleteContent(child);
+            }
+            child.delete();
+         }
+      }
+   }
+}
@@ -0,0 +1,318 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.jena.ontology.OntModel;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.model.SchemaSnapshot;
+
+/**
+ * A persistent cache of the schemas extracted from Ontology files. Each extracted schema is stored in a compressed binary
+ * snapshot file, keyed by the hash of the content and the location of the Ontology file and the configuration which has been used for
+ * the extraction, including the alternate locations of the schemas. The location is part of the key because the namespace of a schema
+ * can be derived from the location of its file.
+ *
+ * The snapshots are written in the explicit format of {@link SchemaSnapshot}, which does not depend on the Java serialization.
+ *
+ * The imports of an Ontology are only known after its model has been parsed, so they are not part of the key. Each snapshot stores
+ * the URIs of the Ontologies which were imported by the schema, with the location and the modification date of their local files. A
+ * snapshot is not used anymore if one of these local files has been modified, removed, or is now resolved to another file.
+ *
+ * A schema restored from a snapshot has no Ontology model. The model can be set lazily on the schema with
+ * {@link OwlSchema#setOntModelLoader(org.girod.ontobrowser.model.OntModelLoader)}.
+ *
+ * @since 0.18
+ */
+public class SchemaSnapshotCache {
+   /**
+    * The version of the snapshots format. It must be incremented each time the format of {@link SchemaSnapshot} changes.
+    */
+   private static final int FORMAT_VERSION = 4;
+   private static final String EXTENSION = ".snapshot";
+   private static final int BUFFER_SIZE = 65536;
+   private final File directory;
+
+   /**
+    * Constructor.
+    *
+    * @param directory the directory of the snapshot files
+    */
+   public SchemaSnapshotCache(File directory) {
+      this.directory = directory;
+   }
+
+   /**
+    * Return the default directory of the snapshot files.
+    *
+    * @return the default directory
+    */
+   public static File getDefaultDirectory() {
+      File dir = new File(System.getProperty("user.home"), ".ontologyBrowser");
+      return new File(dir, "snapshots");
+   }
+
+   /**
+    * Return the directory of the snapshot files.
+    *
+    * @return the directory
+    */
+   public File getDirectory() {
+      return directory;
+   }
+
+   /**
+    * Return the key of the snapshot of an Ontology file for the current configuration.
+    *
+    * @param file the Ontology file
+    * @return the key
+    * @throws IOException if the file could not be read
+    */
+   public String getKey(File file) throws IOException {
+      MessageDigest digest;
+      try {
+         digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+         throw new IOException(ex);
+      }
+      try (InputStream stream = new FileInputStream(file)) {
+         byte[] buf = new byte[BUFFER_SIZE];
+         int count;
+         while ((count = stream.read(buf)) != -1) {
+            digest.update(buf, 0, count);
+         }
+      }
+      digest.update(file.getCanonicalFile().toURI().toString().getBytes(StandardCharsets.UTF_8));
+      digest.update(getConfigurationSignature().getBytes(StandardCharsets.UTF_8));
+      byte[] hash = digest.digest();
+      StringBuilder buf = new StringBuilder();
+      for (int i = 0; i < hash.length; i++) {
+         buf.append(String.format("%02x", hash[i]));
+      }
+      return buf.toString();
+   }
+
+   /**
+    * Return the signature of the configuration options which are used when extracting a schema.
+    *
+    * @return the signature
+    */
+   private String getConfigurationSignature() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      StringBuilder buf = new StringBuilder();
+      buf.append("version=").append(FORMAT_VERSION);
+      buf.append(";includeIndividuals=").append(conf.includeIndividuals);
+      buf.append(";addThingClass=").append(conf.addThingClass);
+      buf.append(";strictMode=").append(conf.strictMode);
+      buf.append(";modelSpec=").append(conf.modelSpec);
+      buf.append(";includeForeignDisconnectedElements=").append(conf.includeForeignDisconnectedElements);
+      buf.append(";showOwnElementsInBold=").append(conf.showOwnElementsInBold);
+      buf.append(";useBuiltinSchemas=").append(conf.useBuiltinSchemas);
+      buf.append(";showPackages=").append(conf.showPackages);
+      buf.append(";acceptSubPackages=").append(conf.acceptSubPackages);
+      File packagesFile = conf.getPackagesToForgetFile();
+      if (conf.hasPackagesConfiguration() && packagesFile != null) {
+         buf.append(";packagesConfiguration=").append(packagesFile.getAbsolutePath()).append(':').append(packagesFile.lastModified());
+      }
+      File[] alternateLocations = conf.getAlternateLocations();
+      if (alternateLocations != null) {
+         for (int i = 0; i < alternateLocations.length; i++) {
+            File location = alternateLocations[i];
+            buf.append(";alternateLocation=").append(location.getAbsolutePath()).append(':').append(location.lastModified());
+         }
+      }
+      return buf.toString();
+   }
+
+   /**
+    * Return the URIs of the Ontologies imported by a schema, including the indirect imports.
+    *
+    * @param schema the schema
+    * @return the imported URIs
+    */
+   private static List<String> getImports(OwlSchema schema) {
+      List<String> imports = new ArrayList<>();
+      if (schema.hasOntModel()) {
+         OntModel model = schema.getOntModel();
+         imports.addAll(model.listImportedOntologyURIs(true));
+         Collections.sort(imports);
+      }
+      return imports;
+   }
+
+   /**
+    * Return the signature of the documents of imported Ontologies. The signature contains the location and modification date of the
+    * local file of each import, so it changes if one of these files is modified or if an import is resolved to another file.
+    *
+    * @param imports the imported URIs
+    * @return the signature
+    */
+   private static String getImportsSignature(List<String> imports) {
+      StringBuilder buf = new StringBuilder();
+      for (int i = 0; i < imports.size(); i++) {
+         String uri = imports.get(i);
+         buf.append(uri);
+         File file = ImportsCache.getLocalFile(uri);
+         if (file != null) {
+            buf.append('=').append(file.getAbsolutePath()).append(':').append(file.lastModified());
+         }
+         buf.append(';');
+      }
+      return buf.toString();
+   }
+
+   /**
+    * Return the snapshot file for a key.
+    *
+    * @param key the key
+    * @return the snapshot file
+    */
+   public File getSnapshotFile(String key) {
+      return new File(directory, key + EXTENSION);
+   }
+
+   /**
+    * Return true if there is a snapshot for a key.
+    *
+    * @param key the key
+    * @return true if there is a snapshot for the key
+    */
+   public boolean hasSnapshot(String key) {
+      return getSnapshotFile(key).exists();
+   }
+
+   /**
+    * Load the schema stored for a key. Return null if there is no snapshot for the key, if the snapshot could not be read, or if the
+    * documents of the imported Ontologies have changed since the snapshot was stored. In the last two cases the snapshot file is deleted.
+    *
+    * @param key the key
+    * @return the schema, or null if it could not be loaded
+    */
+   public OwlSchema load(String key) {
+      File snapshotFile = getSnapshotFile(key);
+      if (!snapshotFile.exists()) {
+         return null;
+      }
+      OwlSchema schema = null;
+      try (DataInputStream stream = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(snapshotFile), BUFFER_SIZE)))) {
+         if (stream.readInt() == FORMAT_VERSION) {
+            int size = stream.readInt();
+            List<String> imports = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+               imports.add(stream.readUTF());
+            }
+            String importsSignature = stream.readUTF();
+            // the schema is not read at all if its imports are stale
+            if (importsSignature.equals(getImportsSignature(imports))) {
+               schema = SchemaSnapshot.read(stream);
+            }
+         }
+      } catch (IOException | RuntimeException ex) {
+         // corrupted snapshot
+         schema = null;
+      }
+      if (schema == null) {
+         snapshotFile.delete();
+      }
+      return schema;
+   }
+
+   /**
+    * Store a schema for a key.
+    *
+    * @param key the key
+    * @param schema the schema
+    * @throws IOException if the snapshot could not be written
+    */
+   public void store(String key, OwlSchema schema) throws IOException {
+      if (!directory.exists() && !directory.mkdirs()) {
+         throw new IOException("Could not create the directory " + directory);
+      }
+      File snapshotFile = getSnapshotFile(key);
+      // the snapshot is written in a temporary file first, so that a partially written snapshot is never read
+      File tmpFile = new File(directory, key + ".tmp");
+      List<String> imports = getImports(schema);
+      String importsSignature = getImportsSignature(imports);
+      try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(tmpFile), BUFFER_SIZE)))) {
+         stream.writeInt(FORMAT_VERSION);
+         stream.writeInt(imports.size());
+         for (int i = 0; i < imports.size(); i++) {
+            stream.writeUTF(imports.get(i));
+         }
+         stream.writeUTF(importsSignature);
+         SchemaSnapshot.write(schema, stream);
+      } catch (IOException ex) {
+         tmpFile.delete();
+         throw ex;
+      }
+      if (snapshotFile.exists()) {
+         snapshotFile.delete();
+      }
+      if (!tmpFile.renameTo(snapshotFile)) {
+         tmpFile.delete();
+         throw new IOException("Could not write the snapshot " + snapshotFile);
+      }
+   }
+
+   /**
+    * Remove all the snapshot files.
+    */
+   public void clear() {
+      File[] files = directory.listFiles();
+      if (files != null) {
+         for (int i = 0; i < files.length; i++) {
+            File snapshotFile = files[i];
+            if (snapshotFile.isFile() && snapshotFile.getName().endsWith(EXTENSION)) {
+               snapshotFile.delete();
+            }
+         }
+      }
+   }
+}
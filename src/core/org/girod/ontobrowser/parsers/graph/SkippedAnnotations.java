@@ -39,7 +39,7 @@ import org.girod.ontobrowser.model.ElementKey;
 /**
  * The skipped annotations.
  *
- * @version 0.11
+ * @version 0.18
  */
 public class SkippedAnnotations {
    private static SkippedAnnotations annotationsInstance = null;
@@ -49,7 +49,7 @@ public class SkippedAnnotations {
       setup();
    }
 
-   public static SkippedAnnotations getInstance() {
+   public static synchronized SkippedAnnotations getInstance() {
       if (annotationsInstance == null) {
          annotationsInstance = new SkippedAnnotations();
       }
@@ -39,7 +39,7 @@ import org.girod.ontobrowser.model.ElementKey;
 /**
  * The skipped namespaces for foreign elements.
  *
- * @version 0.13
+ * @version 0.18
  */
 public class SkippedNamespaces {
    private static SkippedNamespaces skippedNamespaces = null;
@@ -49,7 +49,7 @@ public class SkippedNamespaces {
       setup();
    }
 
-   public static SkippedNamespaces getInstance() {
+   public static synchronized SkippedNamespaces getInstance() {
       if (skippedNamespaces == null) {
          skippedNamespaces = new SkippedNamespaces();
       }
@@ -57,9 +57,9 @@ public class SkippedNamespaces {
    }
 
    public static boolean isSkipped(String defaultNameSpace, ElementKey key) {
-      SkippedNamespaces.getInstance();
+      SkippedNamespaces namespaces = getInstance();
       if (defaultNameSpace == null || defaultNameSpace.equals(key.getNamespace())) {
-         return skippedNamespaces.skipped.contains(key.getNamespace());
+         return namespaces.skipped.contains(key.getNamespace());
       } else {
          return false;
       }
@@ -0,0 +1,233 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.jena.ontology.Individual;
+import org.apache.jena.ontology.OntClass;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntProperty;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdf.model.StmtIterator;
+import org.apache.jena.vocabulary.RDF;
+import org.girod.ontobrowser.model.ElementKey;
+
+/**
+ * An index of the statements of an Owl model, built by walking the model only once.
+ *
+ * The statements are kept in buckets by subject, in the order in which the model returns them, which is the same order as the one
+ * of the Jena <code>Resource.listProperties()</code> method for each subject. The <code>rdf:type</code> statements are also
+ * indexed by their type, which allows to get the individuals of a class without querying the model again.
+ *
+ * @since 0.18
+ */
+public class StatementsIndex {
+   private final OntModel model;
+   private final Map<ElementKey, List<Statement>> statementsBySubject = new HashMap<>();
+   private final Map<ElementKey, List<Resource>> subjectsByType = new HashMap<>();
+   private final List<Statement> typeStatements = new ArrayList<>();
+   private List<OntClass> classes = null;
+   private List<OntProperty> properties = null;
+
+   /**
+    * Constructor.
+    *
+    * @param model the Owl model
+    */
+   public StatementsIndex(OntModel model) {
+      this.model = model;
+   }
+
+   /**
+    * Index the statements of the model. This method walks the whole model only once.
+    */
+   public void index() {
+      StmtIterator it = model.listStatements();
+      while (it.hasNext()) {
+         Statement statement = it.next();
+         Resource subject = statement.getSubject();
+         ElementKey subjectKey = getKey(subject);
+         if (subjectKey != null) {
+            List<Statement> list;
+            if (statementsBySubject.containsKey(subjectKey)) {
+               list = statementsBySubject.get(subjectKey);
+            } else {
+               list = new ArrayList<>(4);
+               statementsBySubject.put(subjectKey, list);
+            }
+            list.add(statement);
+         }
+         if (RDF.type.equals(statement.getPredicate())) {
+            typeStatements.add(statement);
+            RDFNode object = statement.getObject();
+            ElementKey typeKey = object.isURIResource() ? getKey(object.asResource()) : null;
+            if (typeKey != null) {
+               List<Resource> list;
+               if (subjectsByType.containsKey(typeKey)) {
+                  list = subjectsByType.get(typeKey);
+               } else {
+                  list = new ArrayList<>();
+                  subjectsByType.put(typeKey, list);
+               }
+               list.add(subject);
+            }
+         }
+      }
+   }
+
+   private ElementKey getKey(Resource resource) {
+      if (!resource.isURIResource()) {
+         return null;
+      }
+      return ElementKey.create(resource.getNameSpace(), resource.getLocalName());
+   }
+
+   /**
+    * Return the number of indexed subjects.
+    *
+    * @return the number of indexed subjects
+    */
+   public int countSubjects() {
+      return statementsBySubject.size();
+   }
+
+   /**
+    * Return the statements which have a specified resource as subject. It is equivalent to the Jena
+    * <code>Resource.listProperties()</code> method, but the model is not queried if the resource is a named resource.
+    *
+    * @param resource the resource
+    * @return the statements
+    */
+   public Iterator<Statement> listProperties(Resource resource) {
+      ElementKey key = getKey(resource);
+      if (key == null) {
+         return resource.listProperties();
+      } else if (statementsBySubject.containsKey(key)) {
+         return statementsBySubject.get(key).iterator();
+      } else {
+         List<Statement> list = Collections.emptyList();
+         return list.iterator();
+      }
+   }
+
+   /**
+    * Return the first value of a property for a resource. It is equivalent to the Jena <code>Resource.getPropertyValue(Property)</code>
+    * method.
+    *
+    * @param resource the resource
+    * @param property the property
+    * @return the value (may be null)
+    */
+   public RDFNode getPropertyValue(Resource resource, Property property) {
+      Iterator<Statement> it = listProperties(resource);
+      while (it.hasNext()) {
+         Statement statement = it.next();
+         if (property.equals(statement.getPredicate())) {
+            return statement.getObject();
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Return the <code>rdf:type</code> statements of the model, in the order of the model.
+    *
+    * @return the <code>rdf:type</code> statements
+    */
+   public List<Statement> getTypeStatements() {
+      return typeStatements;
+   }
+
+   /**
+    * Return the individuals which have a specified class as <code>rdf:type</code>. It is equivalent to the Jena
+    * <code>OntModel.listIndividuals(Resource)</code> method.
+    *
+    * @param theClass the class
+    * @return the individuals
+    */
+   public Iterator<Individual> listIndividuals(OntClass theClass) {
+      ElementKey key = getKey(theClass);
+      List<Resource> subjects;
+      if (key != null && subjectsByType.containsKey(key)) {
+         subjects = subjectsByType.get(key);
+      } else if (key == null) {
+         return model.listIndividuals(theClass);
+      } else {
+         subjects = Collections.emptyList();
+      }
+      Iterator<Resource> it = subjects.iterator();
+      return new Iterator<Individual>() {
+         @Override
+         public boolean hasNext() {
+            return it.hasNext();
+         }
+
+         @Override
+         public Individual next() {
+            return it.next().as(Individual.class);
+         }
+      };
+   }
+
+   /**
+    * Return the classes of the model. The classes are only retrieved once from the model.
+    *
+    * @return the classes
+    */
+   public Iterator<OntClass> listClasses() {
+      if (classes == null) {
+         classes = model.listClasses().toList();
+      }
+      return classes.iterator();
+   }
+
+   /**
+    * Return the properties of the model. The properties are only retrieved once from the model.
+    *
+    * @return the properties
+    */
+   public Iterator<OntProperty> listAllOntProperties() {
+      if (properties == null) {
+         properties = model.listAllOntProperties().toList();
+      }
+      return properties.iterator();
+   }
+}
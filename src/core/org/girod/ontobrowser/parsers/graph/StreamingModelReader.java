@@ -0,0 +1,211 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.parsers.graph;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import org.apache.jena.graph.Factory;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.OWL2;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.girod.ontobrowser.model.OwlRepresentationType;
+
+/**
+ * This class reads the schema of an Owl file by streaming the triples of the parser, and only keeping the triples which are
+ * necessary to extract the schema without its individuals.
+ *
+ * The triples of a subject typed by a class which is not part of the RDF, RDFS or OWL vocabularies, or typed as an
+ * <code>owl:NamedIndividual</code>, are dropped while parsing, except for the first typing of each class. The triples of a subject
+ * which is not typed yet are kept aside until the end of the parsing, and are only added to the graph if their subject has not been
+ * typed as an individual. The retained graph is then much smaller than the graph of the complete model for an Ontology with a lot of individuals.
+ *
+ * The resulting Ontology model must only be used for the extraction of the schema. The complete model must be read with
+ * {@link org.girod.ontobrowser.actions.AbstractOpenModelAction#readModel(File, short, LoadingMonitor)} if it is needed.
+ *
+ * @since 0.18
+ */
+public class StreamingModelReader {
+   private final File file;
+   private final short representationType;
+   private long triplesCount = 0;
+   private long retainedTriplesCount = 0;
+   private LoadingMonitor monitor = null;
+
+   /**
+    * Constructor.
+    *
+    * @param file the file
+    * @param representationType the representation type
+    */
+   public StreamingModelReader(File file, short representationType) {
+      this.file = file;
+      this.representationType = representationType;
+   }
+
+   /**
+    * Set the monitor allowing to cancel the parsing.
+    *
+    * @param monitor the monitor
+    */
+   public void setLoadingMonitor(LoadingMonitor monitor) {
+      this.monitor = monitor;
+   }
+
+   /**
+    * Return the number of triples which have been parsed.
+    *
+    * @return the number of triples
+    */
+   public long getTriplesCount() {
+      return triplesCount;
+   }
+
+   /**
+    * Return the number of parsed triples which have been kept in the graph of the model.
+    *
+    * @return the number of retained triples
+    */
+   public long getRetainedTriplesCount() {
+      return retainedTriplesCount;
+   }
+
+   /**
+    * Read the file and return the Ontology model of its schema. The imports of the model must be released with
+    * {@link ImportsLoader#releaseImports(OntModel)} when the model is not used anymore.
+    *
+    * @param spec the Ontology model specification
+    * @return the Ontology model
+    * @throws LoadingCancelledException if the parsing has been cancelled
+    */
+   public OntModel read(OntModelSpec spec) throws LoadingCancelledException {
+      Graph graph = Factory.createDefaultGraph();
+      SchemaSink sink = new SchemaSink(graph);
+      Lang lang;
+      if (representationType == OwlRepresentationType.TYPE_OWL_TURTLE) {
+         lang = Lang.TURTLE;
+      } else {
+         lang = Lang.RDFXML;
+      }
+      RDFDataMgr.parse(sink, file.toURI().toString(), lang);
+      sink.addPendingTriples();
+      retainedTriplesCount = graph.size();
+      Model model = ModelFactory.createModelForGraph(graph);
+      return ImportsLoader.createOntModel(spec, model);
+   }
+
+   private static boolean isVocabulary(Node node) {
+      if (!node.isURI()) {
+         return false;
+      }
+      String uri = node.getURI();
+      return uri.startsWith(RDF.getURI()) || uri.startsWith(RDFS.getURI()) || uri.startsWith(OWL.getURI());
+   }
+
+   /**
+    * The sink which adds the parsed triples of the schema and the prefixes to the graph.
+    */
+   private class SchemaSink extends StreamRDFBase {
+      private final Graph graph;
+      private final Node typeNode = RDF.type.asNode();
+      private final Node namedIndividualNode = OWL2.NamedIndividual.asNode();
+      private final Set<Node> schemaSubjects = new HashSet<>();
+      private final Set<Node> individuals = new HashSet<>();
+      private final Set<Node> individualsTypes = new HashSet<>();
+      private final List<Triple> pendingTriples = new ArrayList<>();
+
+      private SchemaSink(Graph graph) {
+         this.graph = graph;
+      }
+
+      @Override
+      public void triple(Triple triple) {
+         if (monitor != null) {
+            monitor.checkCancelled();
+         }
+         triplesCount++;
+         Node subject = triple.getSubject();
+         if (triple.getPredicate().equals(typeNode)) {
+            Node type = triple.getObject();
+            if (isVocabulary(type) && !type.equals(namedIndividualNode)) {
+               schemaSubjects.add(subject);
+               graph.add(triple);
+            } else {
+               individuals.add(subject);
+               // the first typing of a class is kept, so that a class which is only declared by its individuals is still found
+               if (individualsTypes.add(type)) {
+                  graph.add(triple);
+               }
+            }
+         } else if (schemaSubjects.contains(subject)) {
+            graph.add(triple);
+         } else if (!individuals.contains(subject)) {
+            pendingTriples.add(triple);
+         }
+      }
+
+      /**
+       * Add the triples whose subject was not typed yet when they were parsed, unless this subject is an individual.
+       */
+      private void addPendingTriples() {
+         Iterator<Triple> it = pendingTriples.iterator();
+         while (it.hasNext()) {
+            Triple triple = it.next();
+            Node subject = triple.getSubject();
+            if (schemaSubjects.contains(subject) || !individuals.contains(subject)) {
+               graph.add(triple);
+            }
+         }
+         pendingTriples.clear();
+      }
+
+      @Override
+      public void prefix(String prefix, String iri) {
+         graph.getPrefixMapping().setNsPrefix(prefix, iri);
+      }
+   }
+}
@@ -43,7 +43,7 @@ import org.scripthelper.context.ScriptHelper;
 /**
  * A Script Context passed to browser Scripts.
  *
- * @version 0.16
+ * @version 0.18
  */
 public class OwlScriptContext extends DefaultScriptContext {
    private OntoBrowserGUI app = null;
@@ -51,6 +51,7 @@ public class OwlScriptContext extends DefaultScriptContext {
    private OwlSchema schema = null;
    private NamedElement currentElt = null;
    private OwlScriptHelper scriptHelper = null;
+   private Script script = null;
 
    /**
     * Create a new ScriptContext.
@@ -72,9 +73,19 @@ public class OwlScriptContext extends DefaultScriptContext {
     * @param script the script
     */
    public void setScript(Script script) {
+      this.script = script;
       scriptHelper.setScript(script);
    }
 
+   /**
+    * Return the script.
+    *
+    * @return the script
+    */
+   public Script getScript() {
+      return script;
+   }
+
    /**
     * Return the script helper.
     *
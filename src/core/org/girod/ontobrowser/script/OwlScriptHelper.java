@@ -47,7 +47,10 @@ import javax.xml.parsers.SAXParserFactory;
 import org.apache.jena.ontology.Individual;
 import org.apache.jena.ontology.OntModel;
 import org.apache.jena.ontology.OntProperty;
+import org.apache.jena.query.QuerySolution;
 import org.apache.jena.rdf.model.Resource;
+import org.girod.ontobrowser.actions.sparql.SPARQLQueryCache;
+import org.girod.ontobrowser.actions.sparql.SPARQLTemplate;
 import org.girod.ontobrowser.model.DatatypePropertyValue;
 import org.girod.ontobrowser.model.ElementKey;
 import org.girod.ontobrowser.model.OwlClass;
@@ -72,7 +75,7 @@ import org.xml.sax.helpers.DefaultHandler;
 /**
  * The script helper.
  *
- * @version 0.17
+ * @version 0.18
  */
 public class OwlScriptHelper implements ScriptHelper {
    private static final Pattern ID_PAT = Pattern.compile("(\\d+\\s*)(.*)");
@@ -108,7 +111,7 @@ public class OwlScriptHelper implements ScriptHelper {
       String namespace = key.getNamespace();
       if (name.contains(" ")) {
          name = name.replaceAll(" ", "_");
-         return new ElementKey(namespace, name);
+         return ElementKey.create(namespace, name);
       } else {
          return key;
       }
@@ -121,8 +124,8 @@ public class OwlScriptHelper implements ScriptHelper {
     * @param filter the request filter
     * @return the data properties
     */
-   public static Map<ElementKey, OwlProperty> getDataProperties(OwlClass theClass, ElementFilter filter) {
-      return SchemaUtils.getDataProperties(theClass, filter);
+   public Map<ElementKey, OwlProperty> getDataProperties(OwlClass theClass, ElementFilter filter) {
+      return new HashMap<>(SchemaUtils.getDataProperties(schema, theClass, filter));
    }
 
    /**
@@ -132,8 +135,8 @@ public class OwlScriptHelper implements ScriptHelper {
     * @param filter the request properties
     * @return the properties for which this Class is in their domain
     */
-   public static Map<ElementKey, OwlProperty> getDomainProperties(OwlClass theClass, ElementFilter filter) {
-      return SchemaUtils.getDomainProperties(theClass, filter);
+   public Map<ElementKey, OwlProperty> getDomainProperties(OwlClass theClass, ElementFilter filter) {
+      return new HashMap<>(SchemaUtils.getDomainProperties(schema, theClass, filter));
    }
 
    /**
@@ -144,7 +147,7 @@ public class OwlScriptHelper implements ScriptHelper {
     * @return the properties for which this Class is in their range
     */
    public Map<ElementKey, OwlProperty> getRangeProperties(OwlClass theClass, ElementFilter filter) {
-      return SchemaUtils.getRangeProperties(theClass, filter);
+      return new HashMap<>(SchemaUtils.getRangeProperties(schema, theClass, filter));
    }
 
    /**
@@ -154,8 +157,8 @@ public class OwlScriptHelper implements ScriptHelper {
     * @param filter the filter
     * @return the dependant classes
     */
-   public static Map<ElementKey, OwlClass> getDependentClasses(OwlClass theClass, ElementFilter filter) {
-      return SchemaUtils.getDependentClasses(theClass, filter);
+   public Map<ElementKey, OwlClass> getDependentClasses(OwlClass theClass, ElementFilter filter) {
+      return SchemaUtils.getDependentClasses(schema, theClass, filter);
    }
 
    /**
@@ -188,6 +191,37 @@ public class OwlScriptHelper implements ScriptHelper {
       context.getApplication().refreshTree(context.getDiagram());
    }
 
+   /**
+    * Return a template for a SPARQL request. The request is only parsed the first time it is used, and the variables of the template
+    * can be bound to different values before each execution.
+    *
+    * @param sparql the SPARQL request
+    * @return the template
+    */
+   public SPARQLTemplate getSPARQLTemplate(String sparql) {
+      return SPARQLQueryCache.getCache(schema).getTemplate(sparql);
+   }
+
+   /**
+    * Execute a SPARQL SELECT request on the model and return all its solutions. The request is only parsed the first time it is used.
+    *
+    * @param sparql the SPARQL request
+    * @return the solutions
+    */
+   public List<QuerySolution> selectSPARQL(String sparql) {
+      return getSPARQLTemplate(sparql).select(ontModel);
+   }
+
+   /**
+    * Execute a SPARQL SELECT template on the model and return all its solutions.
+    *
+    * @param template the template
+    * @return the solutions
+    */
+   public List<QuerySolution> selectSPARQL(SPARQLTemplate template) {
+      return template.select(ontModel);
+   }
+
    /**
     * Return the key corresponding to a name and a prefix.
     *
@@ -0,0 +1,218 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.script;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import org.scripthelper.context.HyperlinkElement;
+import org.scripthelper.context.ScriptLogger;
+
+/**
+ * A Script logger which records the calls to its methods rather than showing them. The recorded calls can then be replayed on
+ * another logger. This is used by the Scripts executed in parallel, so that their output can be shown in a deterministic order.
+ *
+ * The tab of the logger is only tracked locally, and the progress of the Script and its end are not recorded.
+ *
+ * @since 0.18
+ */
+public class RecordingScriptLogger implements ScriptLogger {
+   private static final String TAB = "   ";
+   private List<Consumer<ScriptLogger>> records = new ArrayList<>();
+   private int tabs = 0;
+
+   /**
+    * Constructor.
+    */
+   public RecordingScriptLogger() {
+   }
+
+   /**
+    * Return the recorded calls and start a new recording.
+    *
+    * @return the recorded calls
+    */
+   public List<Consumer<ScriptLogger>> takeRecords() {
+      List<Consumer<ScriptLogger>> theRecords = records;
+      records = new ArrayList<>();
+      return theRecords;
+   }
+
+   /**
+    * Replay recorded calls on a logger.
+    *
+    * @param records the recorded calls
+    * @param logger the logger
+    */
+   public static void replay(List<Consumer<ScriptLogger>> records, ScriptLogger logger) {
+      Iterator<Consumer<ScriptLogger>> it = records.iterator();
+      while (it.hasNext()) {
+         it.next().accept(logger);
+      }
+   }
+
+   @Override
+   public void setLoggerTitle(String title) {
+      records.add(logger -> logger.setLoggerTitle(title));
+   }
+
+   @Override
+   public void setStatusMessage(String message) {
+      records.add(logger -> logger.setStatusMessage(message));
+   }
+
+   @Override
+   public void newLine() {
+      records.add(logger -> logger.newLine());
+   }
+
+   @Override
+   public void append(String text) {
+      records.add(logger -> logger.append(text));
+   }
+
+   @Override
+   public void append(String text, String color) {
+      records.add(logger -> logger.append(text, color));
+   }
+
+   @Override
+   public void appendLink(String text, String link) {
+      records.add(logger -> logger.appendLink(text, link));
+   }
+
+   @Override
+   public void appendLink(String text, String link, String color) {
+      records.add(logger -> logger.appendLink(text, link, color));
+   }
+
+   @Override
+   public void appendObjectLink(HyperlinkElement element) {
+      records.add(logger -> logger.appendObjectLink(element));
+   }
+
+   @Override
+   public void appendObjectLink(HyperlinkElement element, String color) {
+      records.add(logger -> logger.appendObjectLink(element, color));
+   }
+
+   @Override
+   public void appendLinks(String text, List<String> links) {
+      records.add(logger -> logger.appendLinks(text, links));
+   }
+
+   @Override
+   public void appendLinks(String text, List<String> links, String color) {
+      records.add(logger -> logger.appendLinks(text, links, color));
+   }
+
+   @Override
+   public void appendArrayLinks(String text, String... links) {
+      records.add(logger -> logger.appendArrayLinks(text, links));
+   }
+
+   @Override
+   public void appendColorArrayLinks(String text, String color, String... links) {
+      records.add(logger -> logger.appendColorArrayLinks(text, color, links));
+   }
+
+   @Override
+   public void appendObjectLinks(String text, List<HyperlinkElement> elements) {
+      records.add(logger -> logger.appendObjectLinks(text, elements));
+   }
+
+   @Override
+   public void appendObjectLinks(String text, HyperlinkElement... elements) {
+      records.add(logger -> logger.appendObjectLinks(text, elements));
+   }
+
+   @Override
+   public void appendObjectLinks(String text, List<HyperlinkElement> elements, String color) {
+      records.add(logger -> logger.appendObjectLinks(text, elements, color));
+   }
+
+   @Override
+   public void appendObjectLinks(String text, String color, HyperlinkElement... elements) {
+      records.add(logger -> logger.appendObjectLinks(text, color, elements));
+   }
+
+   @Override
+   public void appendError(String error) {
+      records.add(logger -> logger.appendError(error));
+   }
+
+   @Override
+   public void appendError(Throwable th) {
+      records.add(logger -> logger.appendError(th));
+   }
+
+   @Override
+   public void appendStackTrace(Throwable th) {
+      records.add(logger -> logger.appendStackTrace(th));
+   }
+
+   @Override
+   public void clearTab() {
+      tabs = 0;
+      records.add(logger -> logger.clearTab());
+   }
+
+   @Override
+   public void setTab(int tabs) {
+      this.tabs = tabs;
+      records.add(logger -> logger.setTab(tabs));
+   }
+
+   @Override
+   public String getTab() {
+      StringBuilder buf = new StringBuilder();
+      for (int i = 0; i < tabs; i++) {
+         buf.append(TAB);
+      }
+      return buf.toString();
+   }
+
+   @Override
+   public void clear() {
+      records.add(logger -> logger.clear());
+   }
+
+   @Override
+   public void setProgress(float progress) {
+   }
+
+   @Override
+   public void finishedScript() {
+   }
+}
@@ -38,7 +38,7 @@ import org.girod.ontobrowser.model.OwlSchema;
 /**
  * An interface that all scripts must implement. The associated object is available through the <code>context</code> reference.
  *
- * @version 0.13
+ * @version 0.18
  */
 public interface Script extends XMLHandler {
    /**
@@ -71,4 +71,15 @@ public interface Script extends XMLHandler {
    public default boolean visitSchema() {
       return true;
    }  
+
+   /**
+    * Return true if the script has no side effect when processing an element, which means that it only reads the schema and writes to
+    * the logger. Such scripts can be executed in parallel on several Threads, each with its own instance of the script. Return false by
+    * default.
+    *
+    * @return true if the script has no side effect
+    */
+   public default boolean isSideEffectFree() {
+      return false;
+   }
 }
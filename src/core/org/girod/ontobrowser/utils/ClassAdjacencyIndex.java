@@ -0,0 +1,284 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlObjectProperty;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * An adjacency index of the classes of a schema. Each class has a dense id, and the neighbours of all the classes are stored in
+ * one array of ids, in the order of the ids of the classes. The neighbours of a class are its super classes, its sub classes, its alias
+ * classes, the classes in the range of its object properties, and the classes in the domain of the object properties for which it is
+ * in the range. Only the classes of the schema are indexed.
+ *
+ * The index must not be used anymore if the classes hierarchy or the properties of the classes change.
+ *
+ * @since 0.18
+ */
+public class ClassAdjacencyIndex {
+   /**
+    * The kind of the edges to the super classes and the sub classes.
+    */
+   public static final byte HIERARCHY = 0;
+   /**
+    * The kind of the edges to the alias classes.
+    */
+   public static final byte ALIAS = 1;
+   /**
+    * The kind of the edges to the classes connected by an object property.
+    */
+   public static final byte PROPERTY = 2;
+   private final Map<OwlClass, Integer> ids = new IdentityHashMap<>();
+   private final OwlClass[] classes;
+   private final int[] offsets;
+   private int[] neighbours;
+   private byte[] kinds;
+   private int edgesCount = 0;
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema
+    */
+   public ClassAdjacencyIndex(OwlSchema schema) {
+      Map<ElementKey, OwlClass> owlClasses = schema.getOwlClasses();
+      classes = new OwlClass[owlClasses.size()];
+      Iterator<OwlClass> it = owlClasses.values().iterator();
+      while (it.hasNext()) {
+         OwlClass owlClass = it.next();
+         int id = ids.size();
+         ids.put(owlClass, id);
+         classes[id] = owlClass;
+      }
+      offsets = new int[classes.length + 1];
+      neighbours = new int[Math.max(16, classes.length * 2)];
+      kinds = new byte[neighbours.length];
+      for (int id = 0; id < classes.length; id++) {
+         offsets[id] = edgesCount;
+         OwlClass owlClass = classes[id];
+         addEdges(owlClasses, owlClass.getSuperClasses().keySet().iterator(), HIERARCHY);
+         addEdges(owlClasses, owlClass.getSubClasses().keySet().iterator(), HIERARCHY);
+         addEdges(owlClasses, owlClass.getAliasClasses().keySet().iterator(), ALIAS);
+         Iterator<OwlProperty> it2 = owlClass.getOwlProperties().values().iterator();
+         while (it2.hasNext()) {
+            OwlProperty property = it2.next();
+            if (property instanceof OwlObjectProperty) {
+               addEdges(owlClasses, ((OwlObjectProperty) property).getRange().keySet().iterator(), PROPERTY);
+            }
+         }
+         Iterator<OwlObjectProperty> it3 = owlClass.getRangeOwlProperties().values().iterator();
+         while (it3.hasNext()) {
+            addEdges(owlClasses, it3.next().getDomain().keySet().iterator(), PROPERTY);
+         }
+      }
+      offsets[classes.length] = edgesCount;
+      neighbours = Arrays.copyOf(neighbours, edgesCount);
+      kinds = Arrays.copyOf(kinds, edgesCount);
+   }
+
+   private void addEdges(Map<ElementKey, OwlClass> owlClasses, Iterator<ElementKey> it, byte kind) {
+      while (it.hasNext()) {
+         OwlClass owlClass = owlClasses.get(it.next());
+         if (owlClass != null) {
+            if (edgesCount == neighbours.length) {
+               neighbours = Arrays.copyOf(neighbours, edgesCount * 2);
+               kinds = Arrays.copyOf(kinds, edgesCount * 2);
+            }
+            neighbours[edgesCount] = ids.get(owlClass);
+            kinds[edgesCount] = kind;
+            edgesCount++;
+         }
+      }
+   }
+
+   /**
+    * Return the number of classes in the index.
+    *
+    * @return the number of classes
+    */
+   public int size() {
+      return classes.length;
+   }
+
+   /**
+    * Return the number of edges in the index. Each edge is counted once for each of the classes it connects.
+    *
+    * @return the number of edges
+    */
+   public int getEdgesCount() {
+      return edgesCount;
+   }
+
+   /**
+    * Return the id of a class.
+    *
+    * @param owlClass the class
+    * @return the id, or -1 if the class is not in the index
+    */
+   public int getId(OwlClass owlClass) {
+      Integer id = ids.get(owlClass);
+      return id == null ? -1 : id;
+   }
+
+   /**
+    * Return the class of an id.
+    *
+    * @param id the id
+    * @return the class
+    */
+   public OwlClass getOwlClass(int id) {
+      return classes[id];
+   }
+
+   /**
+    * Return the neighbourhood of a list of classes. The neighbourhood contains the classes which can be reached from these classes
+    * by following at most <code>radius</code> edges. The classes which are not in the index are ignored.
+    *
+    * @param roots the classes
+    * @param radius the radius
+    * @param includeAlias true if the alias edges must be followed
+    * @return the neighbourhood
+    */
+   public Neighbourhood getNeighbourhood(Collection<OwlClass> roots, int radius, boolean includeAlias) {
+      int[] distances = new int[classes.length];
+      Arrays.fill(distances, -1);
+      int[] queue = new int[classes.length];
+      int head = 0;
+      int tail = 0;
+      Iterator<OwlClass> it = roots.iterator();
+      while (it.hasNext()) {
+         int id = getId(it.next());
+         if (id != -1 && distances[id] == -1) {
+            distances[id] = 0;
+            queue[tail++] = id;
+         }
+      }
+      while (head < tail) {
+         int id = queue[head++];
+         int distance = distances[id];
+         if (distance >= radius) {
+            continue;
+         }
+         int end = offsets[id + 1];
+         for (int i = offsets[id]; i < end; i++) {
+            int neighbour = neighbours[i];
+            if (distances[neighbour] == -1 && (includeAlias || kinds[i] != ALIAS)) {
+               distances[neighbour] = distance + 1;
+               queue[tail++] = neighbour;
+            }
+         }
+      }
+      return new Neighbourhood(distances, Arrays.copyOf(queue, tail), radius);
+   }
+
+   /**
+    * The classes which can be reached from a list of classes in a bounded number of edges.
+    */
+   public class Neighbourhood {
+      private final int[] distances;
+      private final int[] order;
+      private final int radius;
+
+      private Neighbourhood(int[] distances, int[] order, int radius) {
+         this.distances = distances;
+         this.order = order;
+         this.radius = radius;
+      }
+
+      /**
+       * Return the number of classes in the neighbourhood.
+       *
+       * @return the number of classes
+       */
+      public int size() {
+         return order.length;
+      }
+
+      /**
+       * Return the classes of the neighbourhood, in increasing order of their distance.
+       *
+       * @return the classes
+       */
+      public List<OwlClass> getClasses() {
+         List<OwlClass> list = new ArrayList<>(order.length);
+         for (int i = 0; i < order.length; i++) {
+            list.add(classes[order[i]]);
+         }
+         return Collections.unmodifiableList(list);
+      }
+
+      /**
+       * Return the distance of a class from the nearest root class.
+       *
+       * @param owlClass the class
+       * @return the distance, or -1 if the class is not in the neighbourhood
+       */
+      public int getDistance(OwlClass owlClass) {
+         int id = getId(owlClass);
+         return id == -1 ? -1 : distances[id];
+      }
+
+      /**
+       * Return true if a class is in the neighbourhood.
+       *
+       * @param owlClass the class
+       * @return true if the class is in the neighbourhood
+       */
+      public boolean contains(OwlClass owlClass) {
+         return getDistance(owlClass) != -1;
+      }
+
+      /**
+       * Return true if the relations of a class are in the neighbourhood, which is the case for the classes which are nearer than the
+       * radius.
+       *
+       * @param owlClass the class
+       * @return true if the relations of the class are in the neighbourhood
+       */
+      public boolean isExpanded(OwlClass owlClass) {
+         int distance = getDistance(owlClass);
+         return distance != -1 && distance < radius;
+      }
+   }
+}
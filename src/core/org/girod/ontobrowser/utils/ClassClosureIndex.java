@@ -0,0 +1,335 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.girod.ontobrowser.model.ElementFilter;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlDatatypeProperty;
+import org.girod.ontobrowser.model.OwlObjectProperty;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * An index of the transitive closures of the classes of a schema. Each class has a dense id, and the closures of the classes are bitsets
+ * over these ids. The closure of a class for a filter contains the class itself and the classes which can be reached from it by following
+ * the super classes (if {@link ElementFilter#includeParentRelations} is true) and the alias classes (if {@link ElementFilter#includeAlias}
+ * is true), without following the Thing class.
+ *
+ * The closures and the inherited properties of a class are computed the first time they are requested, and then reused. The index must not
+ * be used anymore if the classes hierarchy or the properties of the classes change.
+ *
+ * @since 0.18
+ */
+public class ClassClosureIndex {
+   private static final int VARIANTS = 4;
+   private static final short DATA_PROPERTIES = 0;
+   private static final short DOMAIN_PROPERTIES = 1;
+   private static final short RANGE_PROPERTIES = 2;
+   private final Map<OwlClass, ClassEntry> entries = new IdentityHashMap<>();
+   private final List<ClassEntry> entriesById = new ArrayList<>();
+
+   /**
+    * Constructor for an empty index. The classes are added to the index when they are used.
+    */
+   public ClassClosureIndex() {
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema
+    */
+   public ClassClosureIndex(OwlSchema schema) {
+      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
+      while (it.hasNext()) {
+         getEntry(it.next());
+      }
+   }
+
+   private ClassEntry getEntry(OwlClass owlClass) {
+      ClassEntry entry = entries.get(owlClass);
+      if (entry == null) {
+         entry = new ClassEntry(owlClass, entriesById.size());
+         entries.put(owlClass, entry);
+         entriesById.add(entry);
+      }
+      return entry;
+   }
+
+   private static int getVariant(ElementFilter filter) {
+      int variant = 0;
+      if (filter.includeParentRelations) {
+         variant |= 1;
+      }
+      if (filter.includeAlias) {
+         variant |= 2;
+      }
+      return variant;
+   }
+
+   /**
+    * Return the number of classes in the index.
+    *
+    * @return the number of classes
+    */
+   public synchronized int size() {
+      return entriesById.size();
+   }
+
+   /**
+    * Return the id of a class.
+    *
+    * @param owlClass the class
+    * @return the id
+    */
+   public synchronized int getId(OwlClass owlClass) {
+      return getEntry(owlClass).id;
+   }
+
+   /**
+    * Return the class of an id.
+    *
+    * @param id the id
+    * @return the class
+    */
+   public synchronized OwlClass getOwlClass(int id) {
+      return entriesById.get(id).owlClass;
+   }
+
+   /**
+    * Return the closure of a class for a filter.
+    *
+    * @param owlClass the class
+    * @param filter the filter
+    * @return the ids of the classes in the closure
+    */
+   public synchronized BitSet getClosure(OwlClass owlClass, ElementFilter filter) {
+      return (BitSet) getClosure(getEntry(owlClass), getVariant(filter)).clone();
+   }
+
+   private BitSet getClosure(ClassEntry start, int variant) {
+      BitSet closure = start.closures[variant];
+      if (closure != null) {
+         return closure;
+      }
+      closure = new BitSet();
+      closure.set(start.id);
+      boolean includeParents = (variant & 1) != 0;
+      boolean includeAlias = (variant & 2) != 0;
+      ArrayDeque<ClassEntry> queue = new ArrayDeque<>();
+      queue.add(start);
+      while (!queue.isEmpty()) {
+         ClassEntry entry = queue.poll();
+         if (includeParents) {
+            visit(entry.owlClass.getSuperClasses().values().iterator(), closure, queue, variant);
+         }
+         if (includeAlias) {
+            visit(entry.owlClass.getAliasClasses().values().iterator(), closure, queue, variant);
+         }
+      }
+      start.closures[variant] = closure;
+      return closure;
+   }
+
+   private void visit(Iterator<OwlClass> it, BitSet closure, ArrayDeque<ClassEntry> queue, int variant) {
+      while (it.hasNext()) {
+         OwlClass owlClass = it.next();
+         if (owlClass.isThing()) {
+            continue;
+         }
+         ClassEntry entry = getEntry(owlClass);
+         if (!closure.get(entry.id)) {
+            BitSet otherClosure = entry.closures[variant];
+            if (otherClosure != null) {
+               // the closure of this class has already been computed, no need to follow its relations
+               closure.or(otherClosure);
+            } else {
+               closure.set(entry.id);
+               queue.add(entry);
+            }
+         }
+      }
+   }
+
+   /**
+    * Return the ancestors of a class, following only the super classes.
+    *
+    * @param owlClass the class
+    * @return the ancestors
+    */
+   public synchronized Map<ElementKey, OwlClass> getAncestors(OwlClass owlClass) {
+      ClassEntry entry = getEntry(owlClass);
+      BitSet closure = (BitSet) getClosure(entry, 1).clone();
+      closure.clear(entry.id);
+      return getClasses(closure);
+   }
+
+   /**
+    * Return true if a class is an ancestor of another class, following only the super classes.
+    *
+    * @param ancestor the possible ancestor
+    * @param owlClass the class
+    * @return true if the ancestor is an ancestor of the class
+    */
+   public synchronized boolean isAncestor(OwlClass ancestor, OwlClass owlClass) {
+      if (ancestor == owlClass) {
+         return false;
+      }
+      return getClosure(getEntry(owlClass), 1).get(getEntry(ancestor).id);
+   }
+
+   /**
+    * Return the descendants of a class, following the sub classes.
+    *
+    * @param owlClass the class
+    * @return the descendants
+    */
+   public synchronized Map<ElementKey, OwlClass> getDescendants(OwlClass owlClass) {
+      ClassEntry start = getEntry(owlClass);
+      if (start.descendants == null) {
+         BitSet descendants = new BitSet();
+         ArrayDeque<ClassEntry> queue = new ArrayDeque<>();
+         queue.add(start);
+         while (!queue.isEmpty()) {
+            ClassEntry entry = queue.poll();
+            Iterator<OwlClass> it = entry.owlClass.getSubClasses().values().iterator();
+            while (it.hasNext()) {
+               ClassEntry subEntry = getEntry(it.next());
+               if (subEntry != start && !descendants.get(subEntry.id)) {
+                  descendants.set(subEntry.id);
+                  queue.add(subEntry);
+               }
+            }
+         }
+         start.descendants = descendants;
+      }
+      return getClasses(start.descendants);
+   }
+
+   private Map<ElementKey, OwlClass> getClasses(BitSet ids) {
+      Map<ElementKey, OwlClass> map = new HashMap<>();
+      for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+         OwlClass owlClass = entriesById.get(id).owlClass;
+         map.put(owlClass.getKey(), owlClass);
+      }
+      return map;
+   }
+
+   /**
+    * Return the data properties of a Class. The returned Map can not be modified.
+    *
+    * @param owlClass the Class
+    * @param filter the filter
+    * @return the data properties
+    */
+   public synchronized Map<ElementKey, OwlProperty> getDataProperties(OwlClass owlClass, ElementFilter filter) {
+      return getProperties(getEntry(owlClass), getVariant(filter), DATA_PROPERTIES);
+   }
+
+   /**
+    * Return the object properties for which a Class is in their domain. The returned Map can not be modified.
+    *
+    * @param owlClass the Class
+    * @param filter the filter
+    * @return the properties for which the Class is in their domain
+    */
+   public synchronized Map<ElementKey, OwlProperty> getDomainProperties(OwlClass owlClass, ElementFilter filter) {
+      return getProperties(getEntry(owlClass), getVariant(filter), DOMAIN_PROPERTIES);
+   }
+
+   /**
+    * Return the object properties for which a Class is in their range. The returned Map can not be modified.
+    *
+    * @param owlClass the Class
+    * @param filter the filter
+    * @return the properties for which the Class is in their range
+    */
+   public synchronized Map<ElementKey, OwlProperty> getRangeProperties(OwlClass owlClass, ElementFilter filter) {
+      return getProperties(getEntry(owlClass), getVariant(filter), RANGE_PROPERTIES);
+   }
+
+   private Map<ElementKey, OwlProperty> getProperties(ClassEntry start, int variant, short type) {
+      Map<ElementKey, OwlProperty> properties = start.properties[type][variant];
+      if (properties != null) {
+         return properties;
+      }
+      properties = new HashMap<>();
+      BitSet closure = getClosure(start, variant);
+      for (int id = closure.nextSetBit(0); id >= 0; id = closure.nextSetBit(id + 1)) {
+         OwlClass owlClass = entriesById.get(id).owlClass;
+         if (type == RANGE_PROPERTIES) {
+            properties.putAll(owlClass.getRangeOwlProperties());
+         } else {
+            Iterator<OwlProperty> it = owlClass.getOwlProperties().values().iterator();
+            while (it.hasNext()) {
+               OwlProperty property = it.next();
+               if (type == DATA_PROPERTIES && property instanceof OwlDatatypeProperty) {
+                  properties.put(property.getKey(), property);
+               } else if (type == DOMAIN_PROPERTIES && property instanceof OwlObjectProperty) {
+                  properties.put(property.getKey(), property);
+               }
+            }
+         }
+      }
+      properties = Collections.unmodifiableMap(properties);
+      start.properties[type][variant] = properties;
+      return properties;
+   }
+
+   /**
+    * The closures and inherited properties of one class.
+    */
+   private static class ClassEntry {
+      private final OwlClass owlClass;
+      private final int id;
+      private final BitSet[] closures = new BitSet[VARIANTS];
+      private BitSet descendants = null;
+      @SuppressWarnings("unchecked")
+      private final Map<ElementKey, OwlProperty>[][] properties = new Map[3][VARIANTS];
+
+      private ClassEntry(OwlClass owlClass, int id) {
+         this.owlClass = owlClass;
+         this.id = id;
+      }
+   }
+}
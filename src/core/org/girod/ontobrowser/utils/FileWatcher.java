@@ -0,0 +1,303 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watch a set of files and notify a listener when some of them have been modified. The parent directories of the files are registered in a
+ * {@link WatchService}, and a daemon Thread blocks until the service reports an event, so that nothing is done while the files
+ * do not change.
+ *
+ * The notifications are debounced: the files which changed are accumulated, and the listener is only notified once no file has changed
+ * for the debounce delay. A burst of writes, for example an editor saving a file in several steps, results in only one notification.
+ *
+ * The same file can be watched several times, it is only removed from the watched files when {@link #unwatch(File)} has been called
+ * as many times as {@link #watch(File)}.
+ *
+ * @since 0.18
+ */
+public class FileWatcher {
+   /**
+    * The default debounce delay in milliseconds.
+    */
+   public static final long DEFAULT_DELAY = 500;
+   private final Listener listener;
+   private final long delay;
+   private final WatchService service;
+   private final ScheduledExecutorService scheduler;
+   private final Map<File, Integer> watchedFiles = new HashMap<>();
+   private final Map<Path, WatchKey> directories = new HashMap<>();
+   private Set<File> pendingFiles = new LinkedHashSet<>();
+   private ScheduledFuture<?> pendingNotification = null;
+   private volatile boolean closed = false;
+
+   /**
+    * The listener notified of the files changes.
+    */
+   public interface Listener {
+      /**
+       * Called when some of the watched files have been modified. This method is called in a background Thread.
+       *
+       * @param files the files which have been modified
+       */
+      public void filesChanged(Set<File> files);
+   }
+
+   /**
+    * Constructor, with the default debounce delay.
+    *
+    * @param listener the listener
+    * @throws IOException if the watch service could not be created
+    */
+   public FileWatcher(Listener listener) throws IOException {
+      this(listener, DEFAULT_DELAY);
+   }
+
+   /**
+    * Constructor.
+    *
+    * @param listener the listener
+    * @param delay the debounce delay in milliseconds
+    * @throws IOException if the watch service could not be created
+    */
+   public FileWatcher(Listener listener, long delay) throws IOException {
+      this.listener = listener;
+      this.delay = delay;
+      this.service = FileSystems.getDefault().newWatchService();
+      this.scheduler = Executors.newSingleThreadScheduledExecutor((Runnable r) -> {
+         Thread thread = new Thread(r, "FileWatcher-notifier");
+         thread.setDaemon(true);
+         return thread;
+      });
+      Thread watchThread = new Thread(this::processEvents, "FileWatcher");
+      watchThread.setDaemon(true);
+      watchThread.start();
+   }
+
+   /**
+    * Return the normalized absolute form of a file, which is the form of the files notified to the listener.
+    *
+    * @param file the file
+    * @return the normalized file
+    */
+   public static File normalize(File file) {
+      return file.getAbsoluteFile().toPath().normalize().toFile();
+   }
+
+   /**
+    * Watch a file. Nothing is done if the parent directory of the file does not exist.
+    *
+    * @param file the file
+    * @return true if the file is watched
+    */
+   public synchronized boolean watch(File file) {
+      if (closed || file == null) {
+         return false;
+      }
+      file = normalize(file);
+      Integer count = watchedFiles.get(file);
+      if (count != null) {
+         watchedFiles.put(file, count + 1);
+         return true;
+      }
+      Path dir = file.toPath().getParent();
+      if (dir == null || !dir.toFile().isDirectory()) {
+         return false;
+      }
+      if (!directories.containsKey(dir)) {
+         try {
+            WatchKey key = dir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            directories.put(dir, key);
+         } catch (IOException | ClosedWatchServiceException ex) {
+            return false;
+         }
+      }
+      watchedFiles.put(file, 1);
+      return true;
+   }
+
+   /**
+    * Stop to watch a file. The parent directory of the file is not watched anymore if there are no other watched files in the directory.
+    *
+    * @param file the file
+    */
+   public synchronized void unwatch(File file) {
+      if (file == null) {
+         return;
+      }
+      file = normalize(file);
+      Integer count = watchedFiles.get(file);
+      if (count == null) {
+         return;
+      } else if (count > 1) {
+         watchedFiles.put(file, count - 1);
+         return;
+      }
+      watchedFiles.remove(file);
+      pendingFiles.remove(file);
+      Path dir = file.toPath().getParent();
+      Iterator<File> it = watchedFiles.keySet().iterator();
+      while (it.hasNext()) {
+         if (dir.equals(it.next().toPath().getParent())) {
+            return;
+         }
+      }
+      WatchKey key = directories.remove(dir);
+      if (key != null) {
+         key.cancel();
+      }
+   }
+
+   /**
+    * Return true if a file is watched.
+    *
+    * @param file the file
+    * @return true if the file is watched
+    */
+   public synchronized boolean isWatched(File file) {
+      return file != null && watchedFiles.containsKey(normalize(file));
+   }
+
+   /**
+    * Return the watched files.
+    *
+    * @return the watched files
+    */
+   public synchronized Set<File> getWatchedFiles() {
+      return new HashSet<>(watchedFiles.keySet());
+   }
+
+   /**
+    * Stop to watch all the files. The watcher can not be used anymore after this method has been called.
+    */
+   public void close() {
+      synchronized (this) {
+         if (closed) {
+            return;
+         }
+         closed = true;
+         watchedFiles.clear();
+         directories.clear();
+         pendingFiles.clear();
+      }
+      scheduler.shutdownNow();
+      try {
+         service.close();
+      } catch (IOException ex) {
+      }
+   }
+
+   private void processEvents() {
+      while (!closed) {
+         WatchKey key;
+         try {
+            key = service.take();
+         } catch (InterruptedException | ClosedWatchServiceException ex) {
+            return;
+         }
+         Path dir = (Path) key.watchable();
+         Iterator<WatchEvent<?>> it = key.pollEvents().iterator();
+         while (it.hasNext()) {
+            WatchEvent<?> event = it.next();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+               changed(dir, null);
+            } else {
+               changed(dir, (Path) event.context());
+            }
+         }
+         key.reset();
+      }
+   }
+
+   private synchronized void changed(Path dir, Path name) {
+      if (closed) {
+         return;
+      }
+      boolean found = false;
+      if (name == null) {
+         // some events have been lost, all the files of the directory are considered to have changed
+         Iterator<File> it = watchedFiles.keySet().iterator();
+         while (it.hasNext()) {
+            File file = it.next();
+            if (dir.equals(file.toPath().getParent())) {
+               pendingFiles.add(file);
+               found = true;
+            }
+         }
+      } else {
+         File file = dir.resolve(name).toFile();
+         if (watchedFiles.containsKey(file)) {
+            pendingFiles.add(file);
+            found = true;
+         }
+      }
+      if (found) {
+         if (pendingNotification != null) {
+            pendingNotification.cancel(false);
+         }
+         pendingNotification = scheduler.schedule(this::notifyListener, delay, TimeUnit.MILLISECONDS);
+      }
+   }
+
+   private void notifyListener() {
+      Set<File> files;
+      synchronized (this) {
+         pendingNotification = null;
+         if (closed || pendingFiles.isEmpty()) {
+            return;
+         }
+         files = pendingFiles;
+         pendingFiles = new LinkedHashSet<>();
+      }
+      listener.filesChanged(files);
+   }
+}
@@ -0,0 +1,233 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.utils;
+
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Measures the size of labels for one font family and size.
+ *
+ * The font and its render context are shared by all the labels, and the sizes of the last measured labels are kept in a bounded
+ * LRU cache, keyed by the label and the measurement mode, because the same names are measured several times when building and refreshing the diagrams. The measurer also
+ * has an approximate mode which sums the advances of the glyphs of the label, using a table of the advances of the first 256
+ * characters computed once for the font. This mode does not perform any text layout.
+ *
+ * @since 0.18
+ */
+public class LabelMeasurer {
+   /**
+    * The maximum number of labels sizes kept in the cache.
+    */
+   public static final int CACHE_SIZE = 8192;
+   private static final int TABLE_SIZE = 256;
+   private static final FontRenderContext FRC = new FontRenderContext(new AffineTransform(), true, true);
+   private static final Map<String, LabelMeasurer> measurers = new HashMap<>();
+   private final Font font;
+   private final float lineHeight;
+   private float[] advances = null;
+   private final Map<SizeKey, Dimension> cache;
+
+   private LabelMeasurer(String fontFamily, int fontSize) {
+      this.font = new Font(fontFamily, Font.PLAIN, fontSize);
+      this.lineHeight = font.getLineMetrics("Xg", FRC).getHeight();
+      this.cache = new LinkedHashMap<SizeKey, Dimension>(256, 0.75f, true) {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<SizeKey, Dimension> eldest) {
+            return size() > CACHE_SIZE;
+         }
+      };
+   }
+
+   /**
+    * Return the measurer for a font family and size. The measurers are shared.
+    *
+    * @param fontFamily the font family
+    * @param fontSize the font size
+    * @return the measurer
+    */
+   public static LabelMeasurer getInstance(String fontFamily, int fontSize) {
+      String key = fontFamily + "/" + fontSize;
+      synchronized (measurers) {
+         LabelMeasurer measurer = measurers.get(key);
+         if (measurer == null) {
+            measurer = new LabelMeasurer(fontFamily, fontSize);
+            measurers.put(key, measurer);
+         }
+         return measurer;
+      }
+   }
+
+   /**
+    * Clear the cache of all the measurers.
+    */
+   public static void clearCaches() {
+      synchronized (measurers) {
+         Iterator<LabelMeasurer> it = measurers.values().iterator();
+         while (it.hasNext()) {
+            it.next().clearCache();
+         }
+      }
+   }
+
+   /**
+    * Return the font used by this measurer.
+    *
+    * @return the font
+    */
+   public Font getFont() {
+      return font;
+   }
+
+   /**
+    * Return the size of a label. The size is computed only if the label has not already been measured with the same mode.
+    *
+    * @param label the label
+    * @param approximate true if the size is approximated from the glyphs advances
+    * @return the size
+    */
+   public Dimension getSize(String label, boolean approximate) {
+      SizeKey key = new SizeKey(label, approximate);
+      synchronized (cache) {
+         Dimension size = cache.get(key);
+         if (size == null) {
+            size = approximate ? getApproximateSize(label) : getExactSize(label);
+            cache.put(key, size);
+         }
+         return new Dimension(size);
+      }
+   }
+
+   /**
+    * Return the number of labels sizes in the cache.
+    *
+    * @return the number of labels sizes in the cache
+    */
+   public int getCacheSize() {
+      synchronized (cache) {
+         return cache.size();
+      }
+   }
+
+   /**
+    * Clear the cache.
+    */
+   public void clearCache() {
+      synchronized (cache) {
+         cache.clear();
+      }
+   }
+
+   /**
+    * Return the size of a label computed by the layout of the text.
+    *
+    * @param label the label
+    * @return the size
+    */
+   public Dimension getExactSize(String label) {
+      Rectangle2D bounds = font.getStringBounds(label, FRC);
+      return new Dimension((int) bounds.getWidth(), (int) bounds.getHeight());
+   }
+
+   /**
+    * Return the size of a label computed from the advances of its glyphs. The size is computed by the layout of the text if
+    * the label has characters which are not in the advances table.
+    *
+    * @param label the label
+    * @return the size
+    */
+   public Dimension getApproximateSize(String label) {
+      float[] table = getAdvances();
+      float width = 0;
+      for (int i = 0; i < label.length(); i++) {
+         char c = label.charAt(i);
+         if (c >= TABLE_SIZE) {
+            return getExactSize(label);
+         }
+         width += table[c];
+      }
+      return new Dimension((int) width, (int) lineHeight);
+   }
+
+   private synchronized float[] getAdvances() {
+      if (advances == null) {
+         char[] chars = new char[TABLE_SIZE];
+         for (int i = 0; i < TABLE_SIZE; i++) {
+            chars[i] = (char) i;
+         }
+         GlyphVector vector = font.createGlyphVector(FRC, chars);
+         float[] table = new float[TABLE_SIZE];
+         for (int i = 0; i < TABLE_SIZE; i++) {
+            table[i] = vector.getGlyphMetrics(i).getAdvance();
+         }
+         advances = table;
+      }
+      return advances;
+   }
+
+   /**
+    * The key of a label size in the cache.
+    */
+   private static class SizeKey {
+      private final String label;
+      private final boolean approximate;
+
+      private SizeKey(String label, boolean approximate) {
+         this.label = label;
+         this.approximate = approximate;
+      }
+
+      @Override
+      public int hashCode() {
+         return 31 * Objects.hashCode(label) + (approximate ? 1 : 0);
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (!(obj instanceof SizeKey)) {
+            return false;
+         }
+         SizeKey other = (SizeKey) obj;
+         return approximate == other.approximate && Objects.equals(label, other.label);
+      }
+   }
+}
@@ -33,28 +33,43 @@ the project website at the project page on https://github.com/hervegirod/ontolog
 package org.girod.ontobrowser.utils;
 
 import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.font.FontRenderContext;
-import java.awt.geom.AffineTransform;
+import java.awt.GraphicsEnvironment;
 import org.girod.ontobrowser.BrowserConfiguration;
 
 /**
  * Utilities methods to handle labels in the output graph.
  *
- * @version 0.4
+ * @version 0.18
  */
 public class LabelUtils {
-   private static final AffineTransform TRANSFORM = new AffineTransform();
-   private static final FontRenderContext FRC = new FontRenderContext(TRANSFORM, true, true);
+   // the text layout is not necessary for headless exports, where the labels are not rendered
+   private static boolean approximateMeasurement = GraphicsEnvironment.isHeadless();
 
    private LabelUtils() {
    }
 
+   /**
+    * Set if the size of the labels is approximated from the advances of their glyphs rather than computed by the layout of the
+    * text. The default is true only in headless mode.
+    *
+    * @param approximate true if the size of the labels is approximated
+    */
+   public static void setApproximateMeasurement(boolean approximate) {
+      approximateMeasurement = approximate;
+   }
+
+   /**
+    * Return true if the size of the labels is approximated from the advances of their glyphs.
+    *
+    * @return true if the size of the labels is approximated
+    */
+   public static boolean isApproximateMeasurement() {
+      return approximateMeasurement;
+   }
+
    private static Dimension getMinimumSize(String label, int fontSize, String fontFamily) {
-      Font font = new Font(fontFamily, Font.PLAIN, fontSize);
-      int textwidth = (int) (font.getStringBounds(label, FRC).getWidth());
-      int textheight = (int) (font.getStringBounds(label, FRC).getHeight());
-      return new Dimension(textwidth, textheight);
+      LabelMeasurer measurer = LabelMeasurer.getInstance(fontFamily, fontSize);
+      return measurer.getSize(label, approximateMeasurement);
    }
 
    /**
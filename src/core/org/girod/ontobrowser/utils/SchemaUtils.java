@@ -34,21 +34,19 @@ package org.girod.ontobrowser.utils;
 
 import org.girod.ontobrowser.model.ElementFilter;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
 import org.girod.ontobrowser.model.ElementKey;
 import org.girod.ontobrowser.model.OwlClass;
-import org.girod.ontobrowser.model.OwlDatatypeProperty;
 import org.girod.ontobrowser.model.OwlObjectProperty;
 import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
 import org.girod.ontobrowser.model.restriction.OwlRestriction;
 
 /**
  * Provides utilities to use with elements in a Schema.
  *
- * @version 0.12
+ * @version 0.18
  */
 public class SchemaUtils {
    private SchemaUtils() {
@@ -60,13 +58,31 @@ public class SchemaUtils {
     * @param theClass the class
     * @param filter the filter
     * @return the dependent classes
+    * @deprecated use {@link #getDependentClasses(OwlSchema, OwlClass, ElementFilter)}
     */
+   @Deprecated
    public static Map<ElementKey, OwlClass> getDependentClasses(OwlClass theClass, ElementFilter filter) {
+      return getDependentClasses(new ClassClosureIndex(), theClass, filter);
+   }
+
+   /**
+    * Return the classes dependent from a class, using the closure index of a schema.
+    *
+    * @param schema the schema
+    * @param theClass the class
+    * @param filter the filter
+    * @return the dependent classes
+    */
+   public static Map<ElementKey, OwlClass> getDependentClasses(OwlSchema schema, OwlClass theClass, ElementFilter filter) {
+      return getDependentClasses(schema.getClosureIndex(), theClass, filter);
+   }
+
+   private static Map<ElementKey, OwlClass> getDependentClasses(ClassClosureIndex index, OwlClass theClass, ElementFilter filter) {
       Map<ElementKey, OwlClass> map = new HashMap<>();
       if (filter == null) {
          filter = new ElementFilter();
       }
-      Iterator<OwlProperty> it = getDomainProperties(theClass, filter).values().iterator();
+      Iterator<OwlProperty> it = index.getDomainProperties(theClass, filter).values().iterator();
       while (it.hasNext()) {
          OwlProperty property = it.next();
          if (property instanceof OwlObjectProperty) {
@@ -82,7 +98,7 @@ public class SchemaUtils {
             }
          }
       }
-      it = getRangeProperties(theClass, filter).values().iterator();
+      it = index.getRangeProperties(theClass, filter).values().iterator();
       while (it.hasNext()) {
          OwlProperty property = it.next();
          if (property instanceof OwlObjectProperty) {
@@ -102,171 +118,99 @@ public class SchemaUtils {
    }
 
    /**
-    * Return the data properties of a Class.
+    * Return the data properties of a Class. The returned Map is a copy which can be modified.
+    * Note that this method has no closure index to reuse, so the closure of the Class is computed again at each call.
     *
     * @param theClass the Class
     * @param filter the request properties
     * @return the data properties
+    * @deprecated use {@link #getDataProperties(OwlSchema, OwlClass, ElementFilter)}
     */
+   @Deprecated
    public static Map<ElementKey, OwlProperty> getDataProperties(OwlClass theClass, ElementFilter filter) {
-      return getDataProperties(theClass, new HashSet<>(), filter);
+      if (filter == null) {
+         filter = new ElementFilter();
+      }
+      return new HashMap<>(new ClassClosureIndex().getDataProperties(theClass, filter));
    }
 
    /**
-    * Return the data properties of a Class.
+    * Return the data properties of a Class, using the closure index of a schema. The returned Map can not be modified.
     *
+    * @param schema the schema
     * @param theClass the Class
     * @param filter the request properties
     * @return the data properties
     */
-   private static Map<ElementKey, OwlProperty> getDataProperties(OwlClass theClass, Set<ElementKey> excluded, ElementFilter filter) {
-      Map<ElementKey, OwlProperty> map = new HashMap<>(theClass.getOwlProperties());
+   public static Map<ElementKey, OwlProperty> getDataProperties(OwlSchema schema, OwlClass theClass, ElementFilter filter) {
       if (filter == null) {
          filter = new ElementFilter();
       }
-      if (filter.includeParentRelations) {
-         Iterator<OwlClass> it = theClass.getSuperClasses().values().iterator();
-         while (it.hasNext()) {
-            OwlClass superClass = it.next();
-            if (!superClass.isThing()) {
-               Map<ElementKey, OwlProperty> map2 = getDataProperties(superClass, filter);
-               map.putAll(map2);
-            }
-         }
-      }
-      if (filter.includeAlias) {
-         Set<ElementKey> excluded2 = new HashSet<>(excluded);
-         excluded2.add(theClass.getKey());
-         Iterator<OwlClass> it = theClass.getAliasClasses().values().iterator();
-         while (it.hasNext()) {
-            OwlClass aliasClass = it.next();
-            if (!aliasClass.isThing()) {
-               Map<ElementKey, OwlProperty> map2 = getDataProperties(aliasClass, excluded2, filter);
-               map.putAll(map2);
-            }
-         }
-      }
-      Map<ElementKey, OwlProperty> map2 = new HashMap<>();
-      Iterator<Map.Entry<ElementKey, OwlProperty>> it = map.entrySet().iterator();
-      while (it.hasNext()) {
-         Map.Entry<ElementKey, OwlProperty> entry = it.next();
-         if (entry.getValue() instanceof OwlDatatypeProperty) {
-            map2.put(entry.getKey(), entry.getValue());
-         }
-      }
-      return map2;
+      return schema.getClosureIndex().getDataProperties(theClass, filter);
    }
 
    /**
-    * Return the properties for which this Class is in their domain.
+    * Return the properties for which this Class is in their domain. The returned Map is a copy which can be modified.
+    * Note that this method has no closure index to reuse, so the closure of the Class is computed again at each call.
     *
     * @param theClass the Class
     * @param filter the request properties
     * @return the properties for which this Class is in their domain
+    * @deprecated use {@link #getDomainProperties(OwlSchema, OwlClass, ElementFilter)}
     */
+   @Deprecated
    public static Map<ElementKey, OwlProperty> getDomainProperties(OwlClass theClass, ElementFilter filter) {
-      return getDomainProperties(theClass, new HashSet<>(), filter);
+      if (filter == null) {
+         filter = new ElementFilter();
+      }
+      return new HashMap<>(new ClassClosureIndex().getDomainProperties(theClass, filter));
    }
 
    /**
-    * Return the properties for which this Class is in their domain.
+    * Return the properties for which this Class is in their domain, using the closure index of a schema. The returned Map can not be modified.
     *
+    * @param schema the schema
     * @param theClass the Class
     * @param filter the request properties
     * @return the properties for which this Class is in their domain
     */
-   private static Map<ElementKey, OwlProperty> getDomainProperties(OwlClass theClass, Set<ElementKey> excluded, ElementFilter filter) {
+   public static Map<ElementKey, OwlProperty> getDomainProperties(OwlSchema schema, OwlClass theClass, ElementFilter filter) {
       if (filter == null) {
          filter = new ElementFilter();
       }
-      Map<ElementKey, OwlProperty> map = new HashMap<>(theClass.getOwlProperties());
-      if (filter.includeParentRelations) {
-         Iterator<OwlClass> it = theClass.getSuperClasses().values().iterator();
-         while (it.hasNext()) {
-            OwlClass superClass = it.next();
-            if (!superClass.isThing()) {
-               Map<ElementKey, OwlProperty> map2 = getDomainProperties(superClass, filter);
-               map.putAll(map2);
-            }
-         }
-      }
-      if (filter.includeAlias) {
-         Set<ElementKey> excluded2 = new HashSet<>(excluded);
-         excluded2.add(theClass.getKey());
-         Iterator<OwlClass> it = theClass.getAliasClasses().values().iterator();
-         while (it.hasNext()) {
-            OwlClass aliasClass = it.next();
-            if (!aliasClass.isThing() && !excluded2.contains(aliasClass.getKey())) {
-               Map<ElementKey, OwlProperty> map2 = getDomainProperties(aliasClass, excluded2, filter);
-               map.putAll(map2);
-            }
-         }
-      }
-      Map<ElementKey, OwlProperty> map2 = new HashMap<>();
-      Iterator<Map.Entry<ElementKey, OwlProperty>> it = map.entrySet().iterator();
-      while (it.hasNext()) {
-         Map.Entry<ElementKey, OwlProperty> entry = it.next();
-         if (entry.getValue() instanceof OwlObjectProperty) {
-            map2.put(entry.getKey(), entry.getValue());
-         }
-      }
-      return map2;
+      return schema.getClosureIndex().getDomainProperties(theClass, filter);
    }
 
    /**
-    * Return the properties for which this Class is in their range.
+    * Return the properties for which this Class is in their range. The returned Map is a copy which can be modified.
+    * Note that this method has no closure index to reuse, so the closure of the Class is computed again at each call.
     *
     * @param theClass the Class
     * @param filter the request properties
     * @return the properties for which this Class is in their range
+    * @deprecated use {@link #getRangeProperties(OwlSchema, OwlClass, ElementFilter)}
     */
+   @Deprecated
    public static Map<ElementKey, OwlProperty> getRangeProperties(OwlClass theClass, ElementFilter filter) {
-      return getRangeProperties(theClass, new HashSet<>(), filter);
+      if (filter == null) {
+         filter = new ElementFilter();
+      }
+      return new HashMap<>(new ClassClosureIndex().getRangeProperties(theClass, filter));
    }
 
    /**
-    * Return the properties for which this Class is in their range.
+    * Return the properties for which this Class is in their range, using the closure index of a schema. The returned Map can not be modified.
     *
+    * @param schema the schema
     * @param theClass the Class
     * @param filter the request properties
     * @return the properties for which this Class is in their range
     */
-   private static Map<ElementKey, OwlProperty> getRangeProperties(OwlClass theClass, Set<ElementKey> excluded, ElementFilter filter) {
+   public static Map<ElementKey, OwlProperty> getRangeProperties(OwlSchema schema, OwlClass theClass, ElementFilter filter) {
       if (filter == null) {
          filter = new ElementFilter();
       }
-      Map<ElementKey, OwlProperty> map = new HashMap<>(theClass.getRangeOwlProperties());
-      if (filter.includeParentRelations) {
-         Iterator<OwlClass> it = theClass.getSuperClasses().values().iterator();
-         while (it.hasNext()) {
-            OwlClass superClass = it.next();
-            if (!superClass.isThing()) {
-               Map<ElementKey, OwlProperty> map2 = getRangeProperties(superClass, filter);
-               map.putAll(map2);
-            }
-         }
-      }
-      if (filter.includeAlias) {
-         Set<ElementKey> excluded2 = new HashSet<>(excluded);
-         excluded2.add(theClass.getKey());
-         Iterator<OwlClass> it = theClass.getAliasClasses().values().iterator();
-         while (it.hasNext()) {
-            OwlClass aliasClass = it.next();
-            if (!aliasClass.isThing()) {
-               Map<ElementKey, OwlProperty> map2 = getRangeProperties(aliasClass, excluded2, filter);
-               map.putAll(map2);
-            }
-         }
-      }
-      Map<ElementKey, OwlProperty> map2 = new HashMap<>();
-      Iterator<Map.Entry<ElementKey, OwlProperty>> it = map.entrySet().iterator();
-      while (it.hasNext()) {
-         Map.Entry<ElementKey, OwlProperty> entry = it.next();
-         if (entry.getValue() instanceof OwlObjectProperty) {
-            map2.put(entry.getKey(), entry.getValue());
-         }
-      }
-      return map2;
+      return schema.getClosureIndex().getRangeProperties(theClass, filter);
    }
 
    /**
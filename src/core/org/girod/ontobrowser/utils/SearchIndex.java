@@ -0,0 +1,783 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.girod.ontobrowser.model.AnnotationValue;
+import org.girod.ontobrowser.model.ElementTypes;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlAnnotation;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlDatatypeProperty;
+import org.girod.ontobrowser.model.OwlIndividual;
+import org.girod.ontobrowser.model.OwlObjectProperty;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+
+/**
+ * An inverted index of the elements of a schema, used to search elements by their names, labels, comments and annotations.
+ *
+ * The index contains:
+ * <ul>
+ * <li>The displayed names of the elements sorted in lower case, for the exact and prefix searches</li>
+ * <li>The trigrams of the displayed names, for the searches of patterns which do not start with a literal prefix</li>
+ * <li>The dictionary of the words of the names and texts of the elements, with the elements which contain each word, for the
+ * annotations and fuzzy searches</li>
+ * </ul>
+ *
+ * The elements can be added after the creation of the index, and the index can be used from any Thread.
+ *
+ * @since 0.18
+ */
+public class SearchIndex {
+   private static final int SCORE_NAME = 100;
+   private static final int SCORE_NAME_PREFIX = 80;
+   private static final int SCORE_NAME_PATTERN = 60;
+   private static final int SCORE_WORD_NAME = 40;
+   private static final int SCORE_WORD_TEXT = 20;
+   private static final int SCORE_FUZZY_DISTANCE = 10;
+   private static final int MIN_WORD_LENGTH = 2;
+   private static final Comparator<Entry> NAMES_COMPARATOR = new Comparator<Entry>() {
+      @Override
+      public int compare(Entry e1, Entry e2) {
+         return e1.lowerName.compareTo(e2.lowerName);
+      }
+   };
+   private final List<Entry> entries = new ArrayList<>();
+   private final Map<NamedOwlElement, Entry> entriesByElement = new IdentityHashMap<>();
+   private final Map<String, IntList> nameTrigrams = new HashMap<>();
+   private final Map<String, Word> words = new HashMap<>();
+   private Entry[] sortedNames = null;
+   private String[] sortedWords = null;
+
+   /**
+    * Constructor.
+    *
+    * @param schema the schema
+    */
+   public SearchIndex(OwlSchema schema) {
+      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
+      while (it.hasNext()) {
+         addElement(it.next(), false);
+      }
+      Iterator<OwlObjectProperty> it2 = schema.getOwlObjectProperties().values().iterator();
+      while (it2.hasNext()) {
+         addElement(it2.next(), false);
+      }
+      Iterator<OwlDatatypeProperty> it3 = schema.getOwlDatatypeProperties().values().iterator();
+      while (it3.hasNext()) {
+         addElement(it3.next(), false);
+      }
+      Iterator<OwlIndividual> it4 = schema.getIndividuals().values().iterator();
+      while (it4.hasNext()) {
+         addElement(it4.next(), false);
+      }
+      Iterator<OwlAnnotation> it5 = schema.getElementAnnotations().values().iterator();
+      while (it5.hasNext()) {
+         addElement(it5.next(), false);
+      }
+      // the alias elements which are not declared in the schema are only found for indirect searches
+      it = schema.getOwlClasses().values().iterator();
+      while (it.hasNext()) {
+         OwlClass owlClass = it.next();
+         addIndirectElements(owlClass.getAliasClasses().values().iterator());
+         addIndirectElements(owlClass.getFromAliasClasses().values().iterator());
+      }
+      Iterator<OwlProperty> it6 = schema.getOwlProperties().values().iterator();
+      while (it6.hasNext()) {
+         OwlProperty property = it6.next();
+         addIndirectElements(property.getAliasProperties().values().iterator());
+         addIndirectElements(property.getFromAliasProperties().values().iterator());
+      }
+   }
+
+   private void addIndirectElements(Iterator<? extends NamedOwlElement> it) {
+      while (it.hasNext()) {
+         addElement(it.next(), true);
+      }
+   }
+
+   /**
+    * Return the number of elements in the index.
+    *
+    * @return the number of elements
+    */
+   public synchronized int size() {
+      return entries.size();
+   }
+
+   /**
+    * Add an element to the index. Does nothing if the element is already in the index.
+    *
+    * @param element the element
+    */
+   public synchronized void addElement(NamedOwlElement element) {
+      addElement(element, false);
+   }
+
+   private void addElement(NamedOwlElement element, boolean indirect) {
+      Entry entry = entriesByElement.get(element);
+      if (entry != null) {
+         if (!indirect) {
+            entry.indirect = false;
+         }
+         return;
+      }
+      String name = element.getDisplayedName();
+      if (name == null) {
+         return;
+      }
+      entry = new Entry(entries.size(), element, getCategory(element), name, indirect);
+      entries.add(entry);
+      entriesByElement.put(element, entry);
+      sortedNames = null;
+      String lowerName = entry.lowerName;
+      for (int i = 0; i + 3 <= lowerName.length(); i++) {
+         String trigram = lowerName.substring(i, i + 3);
+         IntList list = nameTrigrams.get(trigram);
+         if (list == null) {
+            list = new IntList();
+            nameTrigrams.put(trigram, list);
+         }
+         list.add(entry.id);
+      }
+      addWords(entry, name, true);
+      if (!name.equals(element.getName())) {
+         addWords(entry, element.getName(), true);
+      }
+      addWords(entry, element.getDescription(), false);
+      addWords(entry, element.getComments(), false);
+      Iterator<AnnotationValue> it = element.getAnnotations().values().iterator();
+      while (it.hasNext()) {
+         AnnotationValue value = it.next();
+         if (value.getType() == AnnotationValue.LITERAL_TYPE) {
+            addWords(entry, value.getLiteral(), false);
+         }
+      }
+   }
+
+   private void addWords(Entry entry, String text, boolean isName) {
+      if (text == null) {
+         return;
+      }
+      List<String> list = getWords(text);
+      Iterator<String> it = list.iterator();
+      while (it.hasNext()) {
+         String wordS = it.next();
+         Word word = words.get(wordS);
+         if (word == null) {
+            word = new Word(wordS);
+            words.put(wordS, word);
+            sortedWords = null;
+         }
+         if (isName) {
+            word.names.add(entry.id);
+         } else {
+            word.texts.add(entry.id);
+         }
+      }
+   }
+
+   /**
+    * Split a text in lower case words. The words are separated by the characters which are not letters or digits, and by the case
+    * changes in camel case names.
+    *
+    * @param text the text
+    * @return the words
+    */
+   static List<String> getWords(String text) {
+      List<String> list = new ArrayList<>();
+      int start = -1;
+      int length = text.length();
+      for (int i = 0; i < length; i++) {
+         char c = text.charAt(i);
+         if (!Character.isLetterOrDigit(c)) {
+            if (start != -1) {
+               addWord(list, text, start, i);
+               start = -1;
+            }
+         } else if (start == -1) {
+            start = i;
+         } else if (Character.isUpperCase(c)) {
+            char previous = text.charAt(i - 1);
+            boolean nextIsLower = i + 1 < length && Character.isLowerCase(text.charAt(i + 1));
+            if (Character.isLowerCase(previous) || Character.isDigit(previous) || (Character.isUpperCase(previous) && nextIsLower)) {
+               addWord(list, text, start, i);
+               start = i;
+            }
+         }
+      }
+      if (start != -1) {
+         addWord(list, text, start, length);
+      }
+      return list;
+   }
+
+   private static void addWord(List<String> list, String text, int start, int end) {
+      if (end - start >= MIN_WORD_LENGTH) {
+         list.add(text.substring(start, end).toLowerCase());
+      }
+   }
+
+   private static String getCategory(NamedOwlElement element) {
+      if (element instanceof OwlClass) {
+         return ElementTypes.CLASS;
+      } else if (element instanceof OwlIndividual) {
+         return ElementTypes.INDIVIDUAL;
+      } else if (element instanceof OwlObjectProperty) {
+         return ElementTypes.OBJECTPROPERTY;
+      } else if (element instanceof OwlDatatypeProperty) {
+         return ElementTypes.DATAPROPERTY;
+      } else if (element instanceof OwlAnnotation) {
+         return ElementTypes.ANNOTATION;
+      } else {
+         return null;
+      }
+   }
+
+   private static boolean acceptCategory(Entry entry, Query query) {
+      String category = query.category;
+      if (entry.indirect && !query.indirectRelations) {
+         return false;
+      } else if (category == null || category.equals(ElementTypes.ALL)) {
+         return entry.category != null && !entry.category.equals(ElementTypes.ANNOTATION);
+      } else if (category.equals(ElementTypes.PROPERTY)) {
+         return ElementTypes.OBJECTPROPERTY.equals(entry.category) || ElementTypes.DATAPROPERTY.equals(entry.category);
+      } else {
+         return category.equals(entry.category);
+      }
+   }
+
+   /**
+    * Return the pattern used to match the names of the elements for a query. If the query is not a regular expression search, the
+    * '*' character matches any sequence of characters and the other characters are matched literally.
+    *
+    * @param query the query
+    * @return the pattern, or null if the regular expression is not valid
+    */
+   private static Pattern getPattern(Query query) {
+      String patS;
+      if (query.regex) {
+         patS = query.searchString;
+      } else {
+         StringBuilder buf = new StringBuilder();
+         int start = 0;
+         String text = query.searchString;
+         int index = text.indexOf('*');
+         while (index != -1) {
+            if (index > start) {
+               buf.append(Pattern.quote(text.substring(start, index)));
+            }
+            buf.append(".*");
+            start = index + 1;
+            index = text.indexOf('*', start);
+         }
+         if (start < text.length()) {
+            buf.append(Pattern.quote(text.substring(start)));
+         }
+         patS = buf.toString();
+      }
+      try {
+         if (query.matchCase) {
+            return Pattern.compile(patS);
+         } else {
+            return Pattern.compile(patS, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+         }
+      } catch (PatternSyntaxException e) {
+         return null;
+      }
+   }
+
+   /**
+    * Search the elements which match a query. The elements are ranked by decreasing score, then by name.
+    *
+    * @param query the query
+    * @return the matching elements, or null if the query is a regular expression which is not valid
+    */
+   public synchronized List<Match> search(Query query) {
+      Pattern pattern = getPattern(query);
+      if (pattern == null) {
+         return null;
+      }
+      Map<Entry, Integer> scores = new HashMap<>();
+      searchNames(query, pattern, scores);
+      if (!query.regex && (query.searchAnnotations || query.fuzzy)) {
+         List<String> terms = getWords(query.searchString);
+         if (!terms.isEmpty()) {
+            if (query.searchAnnotations) {
+               searchWords(terms, query, scores);
+            }
+            if (query.fuzzy) {
+               searchFuzzyWords(terms, query, scores);
+            }
+         }
+      }
+      List<Match> matches = new ArrayList<>(scores.size());
+      Iterator<Map.Entry<Entry, Integer>> it = scores.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<Entry, Integer> mapEntry = it.next();
+         matches.add(new Match(mapEntry.getKey(), mapEntry.getValue()));
+      }
+      Collections.sort(matches);
+      if (query.maxResults > 0 && matches.size() > query.maxResults) {
+         return new ArrayList<>(matches.subList(0, query.maxResults));
+      }
+      return matches;
+   }
+
+   private void addScore(Map<Entry, Integer> scores, Entry entry, int score) {
+      Integer previous = scores.get(entry);
+      if (previous == null || previous < score) {
+         scores.put(entry, score);
+      }
+   }
+
+   private void searchNames(Query query, Pattern pattern, Map<Entry, Integer> scores) {
+      String text = query.searchString;
+      String literal = query.regex ? null : text.replace("*", "").toLowerCase();
+      int wildcard = text.indexOf('*');
+      if (query.regex || wildcard == 0) {
+         String segment = query.regex ? null : getLongestSegment(text);
+         if (segment != null && segment.length() >= 3) {
+            // only the names which contain all the trigrams of the longest literal part of the pattern can match
+            int[] candidates = getCandidates(segment.toLowerCase());
+            for (int i = 0; i < candidates.length; i++) {
+               matchName(entries.get(candidates[i]), query, pattern, literal, scores);
+            }
+         } else {
+            Iterator<Entry> it = entries.iterator();
+            while (it.hasNext()) {
+               matchName(it.next(), query, pattern, literal, scores);
+            }
+         }
+      } else {
+         // the names are sorted, so the names which start with the literal prefix of the pattern are contiguous
+         Entry[] names = getSortedNames();
+         String prefix = wildcard == -1 ? literal : text.substring(0, wildcard).toLowerCase();
+         int index = getFirstIndex(names, prefix);
+         while (index < names.length) {
+            Entry entry = names[index];
+            if (wildcard == -1 ? !entry.lowerName.equals(prefix) : !entry.lowerName.startsWith(prefix)) {
+               break;
+            }
+            matchName(entry, query, pattern, literal, scores);
+            index++;
+         }
+      }
+   }
+
+   private void matchName(Entry entry, Query query, Pattern pattern, String literal, Map<Entry, Integer> scores) {
+      if (acceptCategory(entry, query) && pattern.matcher(entry.name).matches()) {
+         // the names which are equal to the searched string without its wildcards are ranked first, then the names which start with it
+         int score = SCORE_NAME_PATTERN;
+         if (literal != null) {
+            if (entry.lowerName.equals(literal)) {
+               score = SCORE_NAME;
+            } else if (entry.lowerName.startsWith(literal)) {
+               score = SCORE_NAME_PREFIX;
+            }
+         }
+         addScore(scores, entry, score);
+      }
+   }
+
+   private static String getLongestSegment(String text) {
+      String longest = null;
+      String[] segments = text.split("\\*");
+      for (int i = 0; i < segments.length; i++) {
+         if (longest == null || segments[i].length() > longest.length()) {
+            longest = segments[i];
+         }
+      }
+      return longest;
+   }
+
+   private int[] getCandidates(String segment) {
+      int[] candidates = null;
+      for (int i = 0; i + 3 <= segment.length(); i++) {
+         IntList list = nameTrigrams.get(segment.substring(i, i + 3));
+         if (list == null) {
+            return new int[0];
+         } else if (candidates == null) {
+            candidates = list.toArray();
+         } else {
+            candidates = IntList.intersect(candidates, list);
+         }
+      }
+      return candidates;
+   }
+
+   private Entry[] getSortedNames() {
+      if (sortedNames == null) {
+         sortedNames = entries.toArray(new Entry[entries.size()]);
+         Arrays.sort(sortedNames, NAMES_COMPARATOR);
+      }
+      return sortedNames;
+   }
+
+   private static int getFirstIndex(Entry[] names, String prefix) {
+      int low = 0;
+      int high = names.length;
+      while (low < high) {
+         int mid = (low + high) >>> 1;
+         if (names[mid].lowerName.compareTo(prefix) < 0) {
+            low = mid + 1;
+         } else {
+            high = mid;
+         }
+      }
+      return low;
+   }
+
+   private String[] getSortedWords() {
+      if (sortedWords == null) {
+         sortedWords = words.keySet().toArray(new String[words.size()]);
+         Arrays.sort(sortedWords);
+      }
+      return sortedWords;
+   }
+
+   /**
+    * Search the elements which have words starting with all the terms of the query.
+    */
+   private void searchWords(List<String> terms, Query query, Map<Entry, Integer> scores) {
+      String[] dictionary = getSortedWords();
+      Map<Entry, Integer> result = null;
+      Iterator<String> it = terms.iterator();
+      while (it.hasNext()) {
+         String term = it.next();
+         Map<Entry, Integer> termResult = new HashMap<>();
+         int index = Arrays.binarySearch(dictionary, term);
+         if (index < 0) {
+            index = -index - 1;
+         }
+         while (index < dictionary.length && dictionary[index].startsWith(term)) {
+            Word word = words.get(dictionary[index]);
+            addWordEntries(word, query, 0, termResult);
+            index++;
+         }
+         result = intersect(result, termResult);
+      }
+      mergeResult(result, scores);
+   }
+
+   /**
+    * Search the elements which have words near all the terms of the query, using the edit distance between the words.
+    */
+   private void searchFuzzyWords(List<String> terms, Query query, Map<Entry, Integer> scores) {
+      Map<Entry, Integer> result = null;
+      Iterator<String> it = terms.iterator();
+      while (it.hasNext()) {
+         String term = it.next();
+         int maxDistance = getMaxDistance(term);
+         Map<Entry, Integer> termResult = new HashMap<>();
+         Iterator<Word> it2 = words.values().iterator();
+         while (it2.hasNext()) {
+            Word word = it2.next();
+            if (Math.abs(word.word.length() - term.length()) <= maxDistance) {
+               int distance = getDistance(term, word.word, maxDistance);
+               if (distance <= maxDistance) {
+                  addWordEntries(word, query, distance, termResult);
+               }
+            }
+         }
+         result = intersect(result, termResult);
+      }
+      mergeResult(result, scores);
+   }
+
+   private void addWordEntries(Word word, Query query, int distance, Map<Entry, Integer> termResult) {
+      int penalty = distance * SCORE_FUZZY_DISTANCE;
+      for (int i = 0; i < word.names.size; i++) {
+         Entry entry = entries.get(word.names.values[i]);
+         if (acceptCategory(entry, query)) {
+            addScore(termResult, entry, SCORE_WORD_NAME - penalty);
+         }
+      }
+      if (query.searchAnnotations) {
+         for (int i = 0; i < word.texts.size; i++) {
+            Entry entry = entries.get(word.texts.values[i]);
+            if (acceptCategory(entry, query)) {
+               addScore(termResult, entry, SCORE_WORD_TEXT - penalty);
+            }
+         }
+      }
+   }
+
+   private static Map<Entry, Integer> intersect(Map<Entry, Integer> result, Map<Entry, Integer> termResult) {
+      if (result == null) {
+         return termResult;
+      }
+      Map<Entry, Integer> intersection = new HashMap<>();
+      Iterator<Map.Entry<Entry, Integer>> it = result.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<Entry, Integer> mapEntry = it.next();
+         Integer score = termResult.get(mapEntry.getKey());
+         if (score != null) {
+            intersection.put(mapEntry.getKey(), Math.min(score, mapEntry.getValue()));
+         }
+      }
+      return intersection;
+   }
+
+   private void mergeResult(Map<Entry, Integer> result, Map<Entry, Integer> scores) {
+      Iterator<Map.Entry<Entry, Integer>> it = result.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<Entry, Integer> mapEntry = it.next();
+         addScore(scores, mapEntry.getKey(), mapEntry.getValue());
+      }
+   }
+
+   private static int getMaxDistance(String term) {
+      if (term.length() <= 2) {
+         return 0;
+      } else if (term.length() <= 5) {
+         return 1;
+      } else {
+         return 2;
+      }
+   }
+
+   /**
+    * Return the edit distance between two words, or a value greater than the maximum distance if the distance is greater than the
+    * maximum distance.
+    *
+    * @param s1 the first word
+    * @param s2 the second word
+    * @param maxDistance the maximum distance
+    * @return the distance
+    */
+   static int getDistance(String s1, String s2, int maxDistance) {
+      int n = s1.length();
+      int m = s2.length();
+      int[] previous = new int[m + 1];
+      int[] current = new int[m + 1];
+      for (int j = 0; j <= m; j++) {
+         previous[j] = j;
+      }
+      for (int i = 1; i <= n; i++) {
+         current[0] = i;
+         int rowMin = current[0];
+         char c1 = s1.charAt(i - 1);
+         for (int j = 1; j <= m; j++) {
+            int cost = c1 == s2.charAt(j - 1) ? 0 : 1;
+            current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            rowMin = Math.min(rowMin, current[j]);
+         }
+         if (rowMin > maxDistance) {
+            return maxDistance + 1;
+         }
+         int[] tmp = previous;
+         previous = current;
+         current = tmp;
+      }
+      return previous[m];
+   }
+
+   /**
+    * A search query.
+    */
+   public static class Query {
+      /**
+       * The searched string. If the search is not a regular expression, the '*' character matches any sequence of characters.
+       */
+      public String searchString = "*";
+      /**
+       * The category of the searched elements (null or {@link ElementTypes#ALL} for all the elements except the annotations).
+       */
+      public String category = null;
+      /**
+       * True if the searched string is a regular expression.
+       */
+      public boolean regex = false;
+      /**
+       * True if the search is case sensitive.
+       */
+      public boolean matchCase = true;
+      /**
+       * True if the words of the labels, comments and annotations of the elements must also be searched.
+       */
+      public boolean searchAnnotations = false;
+      /**
+       * True if the words which are near the searched words must also be found.
+       */
+      public boolean fuzzy = false;
+      /**
+       * True if the alias elements which are not declared in the schema must also be found.
+       */
+      public boolean indirectRelations = false;
+      /**
+       * The maximum number of results, or 0 for no limit.
+       */
+      public int maxResults = 0;
+
+      public Query() {
+      }
+   }
+
+   /**
+    * An element which matches a query.
+    */
+   public static class Match implements Comparable<Match> {
+      private final Entry entry;
+      private final int score;
+
+      private Match(Entry entry, int score) {
+         this.entry = entry;
+         this.score = score;
+      }
+
+      /**
+       * Return the element.
+       *
+       * @return the element
+       */
+      public NamedOwlElement getElement() {
+         return entry.element;
+      }
+
+      /**
+       * Return the category of the element.
+       *
+       * @return the category
+       */
+      public String getCategory() {
+         return entry.category;
+      }
+
+      /**
+       * Return the score of the match. The higher scores are the better matches.
+       *
+       * @return the score
+       */
+      public int getScore() {
+         return score;
+      }
+
+      @Override
+      public int compareTo(Match o) {
+         if (score != o.score) {
+            return o.score - score;
+         }
+         int compared = entry.lowerName.compareTo(o.entry.lowerName);
+         if (compared != 0) {
+            return compared;
+         }
+         return entry.id - o.entry.id;
+      }
+
+      @Override
+      public String toString() {
+         return entry.name;
+      }
+   }
+
+   private static class Entry {
+      private final int id;
+      private final NamedOwlElement element;
+      private final String category;
+      private final String name;
+      private final String lowerName;
+      private boolean indirect;
+
+      private Entry(int id, NamedOwlElement element, String category, String name, boolean indirect) {
+         this.id = id;
+         this.element = element;
+         this.category = category;
+         this.name = name;
+         this.lowerName = name.toLowerCase();
+         this.indirect = indirect;
+      }
+   }
+
+   private static class Word {
+      private final String word;
+      private final IntList names = new IntList();
+      private final IntList texts = new IntList();
+
+      private Word(String word) {
+         this.word = word;
+      }
+   }
+
+   /**
+    * A growable list of increasing int values.
+    */
+   private static class IntList {
+      private int[] values = new int[2];
+      private int size = 0;
+
+      private void add(int value) {
+         if (size > 0 && values[size - 1] == value) {
+            return;
+         }
+         if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+         }
+         values[size++] = value;
+      }
+
+      private int[] toArray() {
+         return Arrays.copyOf(values, size);
+      }
+
+      private static int[] intersect(int[] array, IntList list) {
+         int[] result = new int[Math.min(array.length, list.size)];
+         int count = 0;
+         int i = 0;
+         int j = 0;
+         while (i < array.length && j < list.size) {
+            if (array[i] < list.values[j]) {
+               i++;
+            } else if (array[i] > list.values[j]) {
+               j++;
+            } else {
+               result[count++] = array[i];
+               i++;
+               j++;
+            }
+         }
+         return Arrays.copyOf(result, count);
+      }
+   }
+}
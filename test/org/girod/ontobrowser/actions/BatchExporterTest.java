@@ -0,0 +1,220 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.OntoBrowserBatch;
+import org.girod.ontobrowser.batch.BatchExporter;
+import org.girod.ontobrowser.batch.BatchResult;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the headless batch export of all the samples.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class BatchExporterTest {
+   private static boolean includeIndividuals;
+   private static List<File> samples;
+
+   public BatchExporterTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      samples = SamplesUtils.getSamples();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      samples = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private List<BatchResult> export(File outputDir, int threads) throws Exception {
+      BatchExporter exporter = new BatchExporter(outputDir);
+      exporter.setThreads(threads);
+      exporter.setExportGraph(true);
+      exporter.setExportPackages(true);
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         exporter.addFile(it.next());
+      }
+      return exporter.run();
+   }
+
+   /**
+    * Return the sorted lines of a file, without the identifiers of the nodes and edges. The order of the nodes of the exported
+    * diagrams, and then their identifiers, depends on the blank nodes of the parsed model, which are not the same for two
+    * parsings of the same file.
+    */
+   private static List<String> getSortedLines(File file) throws Exception {
+      List<String> lines = new ArrayList<>();
+      Iterator<String> it = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).iterator();
+      while (it.hasNext()) {
+         lines.add(it.next().replaceAll(" (id|source|target)=\"[^\"]*\"", ""));
+      }
+      Collections.sort(lines);
+      return lines;
+   }
+
+   private static void delete(File dir) {
+      File[] files = dir.listFiles();
+      if (files != null) {
+         for (int i = 0; i < files.length; i++) {
+            files[i].delete();
+         }
+      }
+      dir.delete();
+   }
+
+   /**
+    * Test of the export of all the samples, with one worker and with several workers.
+    */
+   @Test
+   @Order(order = 1)
+   public void testBatchExport() throws Exception {
+      System.out.println("BatchExporterTest : testBatchExport");
+      assertFalse("Must have samples", samples.isEmpty());
+      File sequentialDir = Files.createTempDirectory("batch1").toFile();
+      File concurrentDir = Files.createTempDirectory("batch2").toFile();
+      try {
+         List<BatchResult> expected = export(sequentialDir, 1);
+         List<BatchResult> actual = export(concurrentDir, 4);
+         assertEquals("Must have one result per file", samples.size(), actual.size());
+         for (int i = 0; i < actual.size(); i++) {
+            BatchResult result = actual.get(i);
+            assertEquals(samples.get(i), result.getFile());
+            assertTrue(result.getFile().getName() + ": " + result.getErrorMessage(), result.isSuccessful());
+            assertFalse("Must have exported files", result.getExportedFiles().isEmpty());
+            List<File> expectedFiles = expected.get(i).getExportedFiles();
+            List<File> actualFiles = result.getExportedFiles();
+            assertEquals(result.getFile().getName(), expectedFiles.size(), actualFiles.size());
+            for (int j = 0; j < actualFiles.size(); j++) {
+               File actualFile = actualFiles.get(j);
+               assertTrue(actualFile.getName() + " must exist", actualFile.exists());
+               assertEquals(expectedFiles.get(j).getName(), actualFile.getName());
+               assertEquals(actualFile.getName(), getSortedLines(expectedFiles.get(j)), getSortedLines(actualFile));
+            }
+         }
+      } finally {
+         delete(sequentialDir);
+         delete(concurrentDir);
+      }
+   }
+
+   /**
+    * Test of the command line of the batch exporter.
+    */
+   @Test
+   @Order(order = 2)
+   public void testCommandLine() throws Exception {
+      System.out.println("BatchExporterTest : testCommandLine");
+      File outputDir = Files.createTempDirectory("batch3").toFile();
+      try {
+         ByteArrayOutputStream stream = new ByteArrayOutputStream();
+         PrintStream out = new PrintStream(stream, true);
+         assertEquals("Must fail without files", 2, OntoBrowserBatch.run(new String[] {"-graphml"}, out));
+         assertEquals("Must fail on an unknown option", 2, OntoBrowserBatch.run(new String[] {"-unknown"}, out));
+         File file = samples.get(0);
+         String[] args = {"-out", outputDir.getPath(), "-threads", "2", file.getPath()};
+         assertEquals("Must succeed", 0, OntoBrowserBatch.run(args, out));
+         String name = file.getName().substring(0, file.getName().lastIndexOf('.'));
+         assertTrue("Must export the diagram", new File(outputDir, name + ".graphml").exists());
+         assertTrue("Must report the file", stream.toString().contains(file.getName() + ": parse "));
+      } finally {
+         delete(outputDir);
+      }
+   }
+
+   /**
+    * Test that the options of the command line do not modify the configuration of the application.
+    */
+   @Test
+   @Order(order = 3)
+   public void testConfigurationCopy() throws Exception {
+      System.out.println("BatchExporterTest : testConfigurationCopy");
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      boolean streamingExport = conf.streamingExport;
+      boolean compressExport = conf.compressExport;
+      File outputDir = Files.createTempDirectory("batch4").toFile();
+      try {
+         conf.streamingExport = false;
+         conf.compressExport = false;
+         ByteArrayOutputStream stream = new ByteArrayOutputStream();
+         PrintStream out = new PrintStream(stream, true);
+         File file = samples.get(0);
+         String[] args = {"-out", outputDir.getPath(), "-gzip", file.getPath()};
+         assertEquals("Must succeed", 0, OntoBrowserBatch.run(args, out));
+         String name = file.getName().substring(0, file.getName().lastIndexOf('.'));
+         assertTrue("Must export the compressed diagram", new File(outputDir, name + ".graphmlz").exists());
+         assertFalse("Configuration must not be modified", conf.streamingExport);
+         assertFalse("Configuration must not be modified", conf.compressExport);
+      } finally {
+         conf.streamingExport = streamingExport;
+         conf.compressExport = compressExport;
+         delete(outputDir);
+      }
+   }
+}
@@ -0,0 +1,243 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.jena.ontology.OntModel;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.OwlDiagram;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlObjectProperty;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.utils.ClassAdjacencyIndex;
+import org.girod.ontobrowser.utils.ClassAdjacencyIndex.Neighbourhood;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the neighbourhoods of the ClassAdjacencyIndex against an expansion of the classes relations, and their use in the export of
+ * the classes diagrams, for all the samples.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class ClassAdjacencyIndexTest {
+   private static boolean includeIndividuals;
+   private static List<OwlDiagram> diagrams;
+
+   public ClassAdjacencyIndexTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      diagrams = new ArrayList<>();
+      Iterator<File> it = SamplesUtils.getSamples().iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OntModel model = SamplesUtils.createModel(file);
+         GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+         OwlDiagram diagram = new OwlDiagram(file.getName());
+         diagram.setFile(file);
+         diagram.setSchema(extractor.getGraph());
+         diagrams.add(diagram);
+      }
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      diagrams = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static void addNeighbours(Map<ElementKey, OwlClass> owlClasses, Iterator<ElementKey> it, List<OwlClass> neighbours) {
+      while (it.hasNext()) {
+         OwlClass owlClass = owlClasses.get(it.next());
+         if (owlClass != null) {
+            neighbours.add(owlClass);
+         }
+      }
+   }
+
+   private static List<OwlClass> getNeighbours(OwlSchema schema, OwlClass theClass, boolean includeAlias) {
+      Map<ElementKey, OwlClass> owlClasses = schema.getOwlClasses();
+      List<OwlClass> neighbours = new ArrayList<>();
+      addNeighbours(owlClasses, theClass.getSuperClasses().keySet().iterator(), neighbours);
+      addNeighbours(owlClasses, theClass.getSubClasses().keySet().iterator(), neighbours);
+      if (includeAlias) {
+         addNeighbours(owlClasses, theClass.getAliasClasses().keySet().iterator(), neighbours);
+      }
+      Iterator<OwlProperty> it = theClass.getOwlProperties().values().iterator();
+      while (it.hasNext()) {
+         OwlProperty property = it.next();
+         if (property instanceof OwlObjectProperty) {
+            addNeighbours(owlClasses, ((OwlObjectProperty) property).getRange().keySet().iterator(), neighbours);
+         }
+      }
+      Iterator<OwlObjectProperty> it2 = theClass.getRangeOwlProperties().values().iterator();
+      while (it2.hasNext()) {
+         addNeighbours(owlClasses, it2.next().getDomain().keySet().iterator(), neighbours);
+      }
+      return neighbours;
+   }
+
+   private static Map<OwlClass, Integer> expand(OwlSchema schema, OwlClass theClass, int radius, boolean includeAlias) {
+      Map<OwlClass, Integer> distances = new HashMap<>();
+      distances.put(theClass, 0);
+      List<OwlClass> frontier = Collections.singletonList(theClass);
+      for (int distance = 1; distance <= radius; distance++) {
+         List<OwlClass> next = new ArrayList<>();
+         Iterator<OwlClass> it = frontier.iterator();
+         while (it.hasNext()) {
+            Iterator<OwlClass> it2 = getNeighbours(schema, it.next(), includeAlias).iterator();
+            while (it2.hasNext()) {
+               OwlClass neighbour = it2.next();
+               if (!distances.containsKey(neighbour)) {
+                  distances.put(neighbour, distance);
+                  next.add(neighbour);
+               }
+            }
+         }
+         frontier = next;
+      }
+      return distances;
+   }
+
+   /**
+    * Test of the neighbourhoods of all the classes of the samples.
+    */
+   @Test
+   @Order(order = 1)
+   public void testNeighbourhood() throws Exception {
+      System.out.println("ClassAdjacencyIndexTest : testNeighbourhood");
+      assertFalse("Must have samples", diagrams.isEmpty());
+      Iterator<OwlDiagram> it = diagrams.iterator();
+      while (it.hasNext()) {
+         OwlSchema schema = it.next().getSchema();
+         ClassAdjacencyIndex index = schema.getAdjacencyIndex();
+         assertEquals(schema.getOwlClasses().size(), index.size());
+         Iterator<OwlClass> it2 = schema.getOwlClasses().values().iterator();
+         while (it2.hasNext()) {
+            OwlClass theClass = it2.next();
+            for (int radius = 0; radius <= 3; radius++) {
+               for (int alias = 0; alias < 2; alias++) {
+                  Map<OwlClass, Integer> expected = expand(schema, theClass, radius, alias == 1);
+                  Neighbourhood neighbourhood = index.getNeighbourhood(Collections.singletonList(theClass), radius, alias == 1);
+                  String message = theClass.getKey() + " " + radius + " " + alias;
+                  assertEquals(message, expected.size(), neighbourhood.size());
+                  int previousDistance = 0;
+                  Iterator<OwlClass> it3 = neighbourhood.getClasses().iterator();
+                  while (it3.hasNext()) {
+                     OwlClass owlClass = it3.next();
+                     int distance = neighbourhood.getDistance(owlClass);
+                     assertEquals(message, expected.get(owlClass).intValue(), distance);
+                     assertTrue(message, distance >= previousDistance);
+                     previousDistance = distance;
+                  }
+               }
+            }
+         }
+      }
+   }
+
+   /**
+    * Test of the export of the classes diagrams with a radius of 2 for all the classes of the samples.
+    */
+   @Test
+   @Order(order = 2)
+   public void testExportClassGraph() throws Exception {
+      System.out.println("ClassAdjacencyIndexTest : testExportClassGraph");
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      int maximumRadius = conf.maximumRadius;
+      conf.maximumRadius = 2;
+      try {
+         Iterator<OwlDiagram> it = diagrams.iterator();
+         while (it.hasNext()) {
+            OwlDiagram diagram = it.next();
+            OwlSchema schema = diagram.getSchema();
+            Iterator<OwlClass> it2 = schema.getOwlClasses().values().iterator();
+            while (it2.hasNext()) {
+               OwlClass theClass = it2.next();
+               ExportClassGraphAction action = new ExportClassGraphAction(null, "Export Class graph", "Export Class graph", diagram, theClass, null);
+               action.configure();
+               action.export();
+               Neighbourhood neighbourhood = schema.getAdjacencyIndex().getNeighbourhood(Collections.singletonList(theClass), 2, conf.showAlias);
+               Iterator<OwlClass> it3 = neighbourhood.getClasses().iterator();
+               while (it3.hasNext()) {
+                  OwlClass owlClass = it3.next();
+                  if (neighbourhood.isExpanded(owlClass)) {
+                     assertTrue(theClass.getKey() + " " + owlClass.getKey(), action.elementToNode.containsKey(owlClass.getKey()));
+                  }
+               }
+               Iterator<ElementKey> it4 = action.elementToNode.keySet().iterator();
+               while (it4.hasNext()) {
+                  OwlClass owlClass = schema.getOwlClasses().get(it4.next());
+                  if (owlClass != null) {
+                     assertTrue(theClass.getKey() + " " + owlClass.getKey(), neighbourhood.contains(owlClass));
+                  }
+               }
+            }
+         }
+      } finally {
+         conf.maximumRadius = maximumRadius;
+      }
+   }
+}
@@ -0,0 +1,254 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.jena.ontology.OntModel;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.ElementFilter;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlDatatypeProperty;
+import org.girod.ontobrowser.model.OwlIndividual;
+import org.girod.ontobrowser.model.OwlObjectProperty;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.utils.ClassClosureIndex;
+import org.girod.ontobrowser.utils.SchemaUtils;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the results of the ClassClosureIndex against a walk of the classes hierarchy for all the samples.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class ClassClosureIndexTest {
+   private static boolean includeIndividuals;
+   private static List<File> samples;
+
+   public ClassClosureIndexTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      samples = SamplesUtils.getSamples();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      samples = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static OwlSchema getSchema(File file) throws Exception {
+      OntModel model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      return extractor.getGraph();
+   }
+
+   private static void walk(OwlClass theClass, ElementFilter filter, Set<OwlClass> visited) {
+      if (!visited.add(theClass)) {
+         return;
+      }
+      if (filter.includeParentRelations) {
+         Iterator<OwlClass> it = theClass.getSuperClasses().values().iterator();
+         while (it.hasNext()) {
+            OwlClass superClass = it.next();
+            if (!superClass.isThing()) {
+               walk(superClass, filter, visited);
+            }
+         }
+      }
+      if (filter.includeAlias) {
+         Iterator<OwlClass> it = theClass.getAliasClasses().values().iterator();
+         while (it.hasNext()) {
+            OwlClass aliasClass = it.next();
+            if (!aliasClass.isThing()) {
+               walk(aliasClass, filter, visited);
+            }
+         }
+      }
+   }
+
+   private static Map<ElementKey, OwlProperty> getProperties(Set<OwlClass> classes, boolean range, Class<?> type) {
+      Map<ElementKey, OwlProperty> map = new HashMap<>();
+      Iterator<OwlClass> it = classes.iterator();
+      while (it.hasNext()) {
+         OwlClass theClass = it.next();
+         Map<ElementKey, ? extends OwlProperty> properties = range ? theClass.getRangeOwlProperties() : theClass.getOwlProperties();
+         Iterator<? extends OwlProperty> it2 = properties.values().iterator();
+         while (it2.hasNext()) {
+            OwlProperty property = it2.next();
+            if (type.isInstance(property)) {
+               map.put(property.getKey(), property);
+            }
+         }
+      }
+      return map;
+   }
+
+   /**
+    * Test of the inherited properties of all the classes of the samples.
+    */
+   @Test
+   @Order(order = 1)
+   public void testProperties() throws Exception {
+      System.out.println("ClassClosureIndexTest : testProperties");
+      assertFalse("Must have samples", samples.isEmpty());
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OwlSchema schema = getSchema(file);
+         for (int variant = 0; variant < 4; variant++) {
+            ElementFilter filter = new ElementFilter((variant & 1) != 0, (variant & 2) != 0);
+            Iterator<OwlClass> it2 = schema.getOwlClasses().values().iterator();
+            while (it2.hasNext()) {
+               OwlClass theClass = it2.next();
+               Set<OwlClass> classes = new HashSet<>();
+               walk(theClass, filter, classes);
+               String message = file.getName() + " " + theClass.getKey() + " " + variant;
+               assertEquals(message, getProperties(classes, false, OwlDatatypeProperty.class), SchemaUtils.getDataProperties(schema, theClass, filter));
+               assertEquals(message, getProperties(classes, false, OwlObjectProperty.class), SchemaUtils.getDomainProperties(schema, theClass, filter));
+               assertEquals(message, getProperties(classes, true, OwlObjectProperty.class), SchemaUtils.getRangeProperties(schema, theClass, filter));
+               assertEquals(message, SchemaUtils.getDependentClasses(theClass, filter), SchemaUtils.getDependentClasses(schema, theClass, filter));
+            }
+         }
+      }
+   }
+
+   /**
+    * Test of the ancestors and descendants of all the classes of the samples.
+    */
+   @Test
+   @Order(order = 2)
+   public void testAncestors() throws Exception {
+      System.out.println("ClassClosureIndexTest : testAncestors");
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OwlSchema schema = getSchema(file);
+         ClassClosureIndex index = schema.getClosureIndex();
+         ElementFilter filter = new ElementFilter(true, false);
+         Iterator<OwlClass> it2 = schema.getOwlClasses().values().iterator();
+         while (it2.hasNext()) {
+            OwlClass theClass = it2.next();
+            Set<OwlClass> classes = new HashSet<>();
+            walk(theClass, filter, classes);
+            classes.remove(theClass);
+            Map<ElementKey, OwlClass> ancestors = index.getAncestors(theClass);
+            assertEquals(file.getName() + " " + theClass.getKey(), classes, new HashSet<>(ancestors.values()));
+            Iterator<OwlClass> it3 = ancestors.values().iterator();
+            while (it3.hasNext()) {
+               OwlClass ancestor = it3.next();
+               assertTrue(file.getName() + " " + theClass.getKey(), index.isAncestor(ancestor, theClass));
+               assertTrue(file.getName() + " " + theClass.getKey(), index.getDescendants(ancestor).containsKey(theClass.getKey()));
+            }
+         }
+      }
+   }
+
+   /**
+    * Test of the invalidation of the index.
+    */
+   @Test
+   @Order(order = 3)
+   public void testInvalidate() throws Exception {
+      System.out.println("ClassClosureIndexTest : testInvalidate");
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OwlSchema schema = getSchema(file);
+         if (schema.getIndividuals().isEmpty()) {
+            continue;
+         }
+         ClassClosureIndex index = schema.getClosureIndex();
+         assertSame("Index must be reused", index, schema.getClosureIndex());
+         OwlIndividual individual = schema.getIndividuals().values().iterator().next();
+         schema.addIndividual(individual);
+         assertNotSame("Index must be invalidated", index, schema.getClosureIndex());
+         return;
+      }
+      assertTrue("Must have a sample with individuals", false);
+   }
+
+   /**
+    * Test that the properties returned without a schema are modifiable copies.
+    */
+   @Test
+   @Order(order = 4)
+   public void testLegacyCopies() throws Exception {
+      System.out.println("ClassClosureIndexTest : testLegacyCopies");
+      File file = samples.get(0);
+      OwlSchema schema = getSchema(file);
+      ElementFilter filter = new ElementFilter();
+      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
+      while (it.hasNext()) {
+         OwlClass theClass = it.next();
+         Map<ElementKey, OwlProperty> properties = SchemaUtils.getDomainProperties(theClass, filter);
+         assertEquals(theClass.getKey().toString(), SchemaUtils.getDomainProperties(schema, theClass, filter), properties);
+         properties.clear();
+         assertEquals(theClass.getKey().toString(), SchemaUtils.getDomainProperties(schema, theClass, filter), SchemaUtils.getDomainProperties(theClass, filter));
+      }
+   }
+}
@@ -0,0 +1,236 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.ElementKeyPool;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the canonical keys of the ElementKeyPool.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class ElementKeyPoolTest {
+   private static final String NAMESPACE = "http://localhost/ElementKeyPoolTest#";
+
+   public ElementKeyPoolTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the canonical keys.
+    */
+   @Test
+   @Order(order = 1)
+   public void testCreate() throws Exception {
+      System.out.println("ElementKeyPoolTest : testCreate");
+      ElementKey key = ElementKey.create(NAMESPACE, "Class1");
+      assertSame("Key must be canonical", key, ElementKey.create(new String(NAMESPACE), new String("Class1")));
+      assertSame("Key must be canonical", key, ElementKey.createFromURI(NAMESPACE + "Class1"));
+      assertSame("Key must be canonical", ElementKey.create("Class1"), ElementKey.create(new String("Class1")));
+      assertSame("Thing key must be canonical", ElementKey.THING, ElementKey.createFromURI("http://www.w3.org/2002/07/owl#Thing"));
+      assertSame("Namespace must be interned", key.getNamespace(), ElementKey.create(new String(NAMESPACE), "Class2").getNamespace());
+
+      ElementKey otherKey = new ElementKey(NAMESPACE, "Class1");
+      assertEquals("Keys must be equal", key, otherKey);
+      assertEquals("Keys must have the same hash code", key.hashCode(), otherKey.hashCode());
+   }
+
+   /**
+    * Test of the keys created from URIs.
+    */
+   @Test
+   @Order(order = 2)
+   public void testCreateFromURI() throws Exception {
+      System.out.println("ElementKeyPoolTest : testCreateFromURI");
+      ElementKey key = ElementKey.createFromURI(NAMESPACE + "Class3");
+      assertEquals("Namespace", NAMESPACE, key.getNamespace());
+      assertEquals("Name", "Class3", key.getName());
+      assertNull("URI without # must not have a key", ElementKey.createFromURI("http://localhost/ElementKeyPoolTest/Class3"));
+
+      ElementKey.create("http://localhost/ElementKeyPoolTest/", "Class4");
+      assertNull("URI without # must not have a key", ElementKey.createFromURI("http://localhost/ElementKeyPoolTest/Class4"));
+      key = ElementKey.createFromURI("http://localhost/ElementKeyPoolTest#Class5#Part");
+      assertEquals("Namespace", NAMESPACE, key.getNamespace());
+      assertEquals("Name", "Class5#Part", key.getName());
+   }
+
+   /**
+    * Test of the deserialization of the keys.
+    */
+   @Test
+   @Order(order = 3)
+   public void testSerialization() throws Exception {
+      System.out.println("ElementKeyPoolTest : testSerialization");
+      ElementKey key = ElementKey.create(NAMESPACE, "Class6");
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+         stream.writeObject(key);
+      }
+      ElementKey restoredKey;
+      try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+         restoredKey = (ElementKey) stream.readObject();
+      }
+      assertSame("Deserialized key must be canonical", key, restoredKey);
+      assertSame("Pool", ElementKeyPool.getInstance(), ElementKeyPool.getInstance());
+   }
+
+   /**
+    * Test that the keys which are not used anymore are removed from the pool.
+    */
+   @Test
+   @Order(order = 4)
+   public void testWeakKeys() throws Exception {
+      System.out.println("ElementKeyPoolTest : testWeakKeys");
+      ElementKey key = ElementKey.createFromURI(NAMESPACE + "Class7");
+      WeakReference<ElementKey> ref = new WeakReference<>(key);
+      key = null;
+      for (int i = 0; i < 50 && ref.get() != null; i++) {
+         System.gc();
+         Thread.sleep(20);
+      }
+      assertNull("Key must not be kept by the pool", ref.get());
+      key = ElementKey.createFromURI(NAMESPACE + "Class7");
+      assertSame("Key must be canonical", key, ElementKey.create(NAMESPACE, "Class7"));
+   }
+
+   /**
+    * Test that looking up the keys which are already in the pool does not allocate.
+    */
+   @Test
+   @Order(order = 5)
+   public void testLookupAllocation() throws Exception {
+      System.out.println("ElementKeyPoolTest : testLookupAllocation");
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+         return;
+      }
+      com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+      if (!threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) {
+         return;
+      }
+      int count = 1000;
+      String[] names = new String[count];
+      String[] uris = new String[count];
+      ElementKey[] keys = new ElementKey[count];
+      for (int i = 0; i < count; i++) {
+         names[i] = "Lookup" + i;
+         uris[i] = NAMESPACE + names[i];
+         keys[i] = ElementKey.create(NAMESPACE, names[i]);
+      }
+      long threadId = Thread.currentThread().getId();
+      long allocated = threadBean.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < count; i++) {
+         if (ElementKey.create(NAMESPACE, names[i]) != keys[i] || ElementKey.createFromURI(uris[i]) != keys[i]) {
+            throw new AssertionError("Key must be canonical " + names[i]);
+         }
+      }
+      allocated = threadBean.getThreadAllocatedBytes(threadId) - allocated;
+      // the old implementation allocated a probe key for each lookup, and the namespace and name substrings for each URI
+      assertTrue("Lookups must not allocate, allocated " + allocated + " bytes", allocated < count * 8);
+   }
+
+   /**
+    * Test that the keys created concurrently are canonical.
+    */
+   @Test
+   @Order(order = 6)
+   public void testConcurrentCreation() throws Exception {
+      System.out.println("ElementKeyPoolTest : testConcurrentCreation");
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      List<Future<ElementKey[]>> futures = new ArrayList<>();
+      try {
+         for (int t = 0; t < 4; t++) {
+            futures.add(executor.submit(() -> {
+               ElementKey[] keys = new ElementKey[2000];
+               for (int i = 0; i < keys.length; i++) {
+                  keys[i] = ElementKey.createFromURI(NAMESPACE + "Concurrent" + i);
+               }
+               return keys;
+            }));
+         }
+         ElementKey[] keys = futures.get(0).get();
+         for (int t = 1; t < futures.size(); t++) {
+            ElementKey[] otherKeys = futures.get(t).get();
+            for (int i = 0; i < keys.length; i++) {
+               assertSame("Key must be canonical", keys[i], otherKeys[i]);
+            }
+         }
+         for (int i = 0; i < keys.length; i++) {
+            assertSame("Key must be canonical", keys[i], ElementKey.create(NAMESPACE, "Concurrent" + i));
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+}
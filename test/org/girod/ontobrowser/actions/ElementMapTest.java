@@ -0,0 +1,218 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.ElementMap;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the ElementMap against a HashMap.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class ElementMapTest {
+   private static List<ElementKey> keys;
+
+   public ElementMapTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+      keys = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+         keys.add(ElementKey.create("http://test#", "element" + i));
+      }
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      keys = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of random insertions and removals, for small and big maps.
+    */
+   @Test
+   @Order(order = 1)
+   public void testRandomOperations() throws Exception {
+      System.out.println("ElementMapTest : testRandomOperations");
+      Random random = new Random(0);
+      int[] bounds = {3, ElementMap.LINEAR_THRESHOLD + 2, keys.size()};
+      for (int b = 0; b < bounds.length; b++) {
+         int bound = bounds[b];
+         Map<ElementKey, Integer> expected = new HashMap<>();
+         ElementMap<Integer> map = new ElementMap<>();
+         for (int i = 0; i < 5000; i++) {
+            ElementKey key = keys.get(random.nextInt(bound));
+            int op = random.nextInt(4);
+            if (op == 0) {
+               assertEquals(expected.remove(key), map.remove(key));
+            } else if (op == 1) {
+               assertEquals(expected.containsKey(key), map.containsKey(key));
+               assertEquals(expected.get(key), map.get(key));
+            } else {
+               assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+         }
+         assertEquals(expected, map);
+         assertEquals(map, expected);
+         assertEquals(expected.hashCode(), map.hashCode());
+         assertEquals(expected.keySet(), map.keySet());
+      }
+   }
+
+   /**
+    * Test of the insertion order and of the removals during an iteration.
+    */
+   @Test
+   @Order(order = 2)
+   public void testIteration() throws Exception {
+      System.out.println("ElementMapTest : testIteration");
+      ElementMap<String> map = new ElementMap<>();
+      for (int i = 0; i < 20; i++) {
+         map.put(keys.get(i), "value" + i);
+      }
+      Iterator<ElementKey> it = map.keySet().iterator();
+      int index = 0;
+      while (it.hasNext()) {
+         ElementKey key = it.next();
+         assertEquals(keys.get(index), key);
+         if (index % 2 == 0) {
+            it.remove();
+         }
+         index++;
+      }
+      assertEquals(10, map.size());
+      for (int i = 0; i < 20; i++) {
+         assertEquals("element" + i, i % 2 != 0, map.containsKey(keys.get(i)));
+      }
+      Iterator<Map.Entry<ElementKey, String>> it2 = map.entrySet().iterator();
+      while (it2.hasNext()) {
+         Map.Entry<ElementKey, String> entry = it2.next();
+         entry.setValue(entry.getValue() + "b");
+      }
+      assertEquals("value1b", map.get(keys.get(1)));
+      map.values().remove("value3b");
+      assertFalse(map.containsKey(keys.get(3)));
+      assertNull(map.get("element1"));
+      map.clear();
+      assertTrue(map.isEmpty());
+   }
+
+   /**
+    * Test of the serialization.
+    */
+   @Test
+   @Order(order = 3)
+   public void testSerialization() throws Exception {
+      System.out.println("ElementMapTest : testSerialization");
+      ElementMap<String> map = new ElementMap<>();
+      for (int i = 0; i < 50; i++) {
+         map.put(keys.get(i), "value" + i);
+      }
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+         stream.writeObject(map);
+      }
+      ElementMap<?> copy;
+      try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+         copy = (ElementMap<?>) stream.readObject();
+      }
+      assertEquals(map, copy);
+      assertEquals("value42", copy.get(keys.get(42)));
+   }
+
+   /**
+    * Test of the removals in a big map: the other elements must still be found and keep their insertion order.
+    */
+   @Test
+   @Order(order = 4)
+   public void testRemovals() throws Exception {
+      System.out.println("ElementMapTest : testRemovals");
+      ElementMap<Integer> map = new ElementMap<>();
+      for (int i = 0; i < keys.size(); i++) {
+         map.put(keys.get(i), i);
+      }
+      List<ElementKey> remaining = new ArrayList<>(keys);
+      Random random = new Random(0);
+      boolean reinserted = false;
+      while (remaining.size() > 1) {
+         ElementKey removed = remaining.remove(random.nextInt(remaining.size()));
+         assertEquals(Integer.valueOf(keys.indexOf(removed)), map.remove(removed));
+         assertFalse(map.containsKey(removed));
+         assertEquals(remaining.size(), map.size());
+         for (int i = 0; i < remaining.size(); i++) {
+            assertEquals(Integer.valueOf(keys.indexOf(remaining.get(i))), map.get(remaining.get(i)));
+         }
+         assertEquals(remaining, new ArrayList<>(map.keySet()));
+         if (remaining.size() == 50 && !reinserted) {
+            reinserted = true;
+            map.put(removed, keys.indexOf(removed));
+            remaining.add(removed);
+            assertEquals(remaining, new ArrayList<>(map.keySet()));
+         }
+      }
+   }
+}
@@ -0,0 +1,384 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.apache.jena.ontology.OntModel;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.OwlDiagram;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.LayoutOptions;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Check that the streamed export of the diagrams has the same nodes and edges as the export which is built in memory.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class ExportGraphStreamingTest {
+   private static boolean includeIndividuals;
+   private static List<OwlDiagram> diagrams;
+   private static File dir;
+
+   public ExportGraphStreamingTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      diagrams = new ArrayList<>();
+      Iterator<File> it = SamplesUtils.getSamples().iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OntModel model = SamplesUtils.createModel(file);
+         GraphExtractor extractor = new GraphExtractor(file, model, false, true);
+         OwlSchema schema = extractor.getGraph();
+         OwlDiagram diagram = new OwlDiagram(file.getName());
+         diagram.setFile(file);
+         diagram.setSchema(schema);
+         diagrams.add(diagram);
+      }
+      dir = Files.createTempDirectory("streaming").toFile();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      conf.includeIndividuals = includeIndividuals;
+      conf.streamingExport = false;
+      conf.compressExport = false;
+      diagrams = null;
+      File[] files = dir.listFiles();
+      for (int i = 0; i < files.length; i++) {
+         files[i].delete();
+      }
+      dir.delete();
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static AbstractExportGraphAction createAction(OwlDiagram diagram, OwlClass thePackage, File file) {
+      if (thePackage == null) {
+         return new ExportGraphAction(null, "Export graph", "Export graph", diagram, file);
+      } else {
+         return new ExportPackageGraphAction(null, "Export Package graph", "Export Package graph", diagram, thePackage, file);
+      }
+   }
+
+   private static File export(OwlDiagram diagram, OwlClass thePackage, boolean streaming, boolean compress) throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      conf.streamingExport = streaming;
+      conf.compressExport = compress;
+      String name = diagram.getName() + (thePackage == null ? "" : "_" + thePackage.getName()) + (streaming ? "_streamed" : "");
+      File file = new File(dir, name + "." + conf.getGraphMLExtension());
+      createAction(diagram, thePackage, file).run();
+      return file;
+   }
+
+   private static List<Element> getElements(Document doc, String name) {
+      List<Element> list = new ArrayList<>();
+      NodeList nodes = doc.getElementsByTagName(name);
+      for (int i = 0; i < nodes.getLength(); i++) {
+         list.add((Element) nodes.item(i));
+      }
+      return list;
+   }
+
+   /**
+    * Return the label of a node or group node, without looking in the children of a group node.
+    */
+   private static String getNodeLabel(Element node) {
+      NodeList children = node.getChildNodes();
+      for (int i = 0; i < children.getLength(); i++) {
+         Node child = children.item(i);
+         if (child instanceof Element && !child.getNodeName().equals("graph")) {
+            NodeList labels = ((Element) child).getElementsByTagName("y:NodeLabel");
+            if (labels.getLength() > 0) {
+               return labels.item(0).getTextContent();
+            }
+         }
+      }
+      return null;
+   }
+
+   /**
+    * Return the label of the group node of a node, or an empty string for the top-level graph.
+    */
+   private static String getGroupLabel(Element node) {
+      Node parent = node.getParentNode().getParentNode();
+      if (parent instanceof Element && parent.getNodeName().equals("node")) {
+         return getNodeLabel((Element) parent);
+      } else {
+         return "";
+      }
+   }
+
+   private static String getText(Element element) {
+      StringBuilder buf = new StringBuilder();
+      NodeList children = element.getChildNodes();
+      for (int i = 0; i < children.getLength(); i++) {
+         Node child = children.item(i);
+         if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+            buf.append(child.getNodeValue());
+         }
+      }
+      return buf.toString().trim();
+   }
+
+   /**
+    * Return the type of an edge, which is defined by its arrows, its line style, its port constraints, and its labels.
+    */
+   private static String getEdgeType(Element edge) {
+      StringBuilder buf = new StringBuilder();
+      Element arrows = (Element) edge.getElementsByTagName("y:Arrows").item(0);
+      buf.append(arrows.getAttribute("source")).append('/').append(arrows.getAttribute("target"));
+      Element lineStyle = (Element) edge.getElementsByTagName("y:LineStyle").item(0);
+      buf.append(' ').append(lineStyle.getAttribute("type"));
+      NodeList list = edge.getElementsByTagName("y:PortConstraint");
+      for (int i = 0; i < list.getLength(); i++) {
+         Element constraint = (Element) list.item(i);
+         buf.append(' ').append(constraint.getAttribute("endpoint")).append('=').append(constraint.getAttribute("side"));
+      }
+      list = edge.getElementsByTagName("y:EdgeLabel");
+      for (int i = 0; i < list.getLength(); i++) {
+         buf.append(" \"").append(getText((Element) list.item(i))).append('"');
+      }
+      return buf.toString();
+   }
+
+   /**
+    * Return the sorted list of the nodes labels associated with the label of their group node.
+    */
+   private static List<String> getNodesGroups(Document doc) {
+      List<String> list = new ArrayList<>();
+      Iterator<Element> it = getElements(doc, "node").iterator();
+      while (it.hasNext()) {
+         Element node = it.next();
+         list.add(getNodeLabel(node) + " in " + getGroupLabel(node));
+      }
+      Collections.sort(list);
+      return list;
+   }
+
+   /**
+    * Return the sorted list of the (source label, target label, edge type) triples of the edges.
+    */
+   private static List<String> getEdges(Document doc) {
+      Map<String, String> labels = new HashMap<>();
+      Iterator<Element> it = getElements(doc, "node").iterator();
+      while (it.hasNext()) {
+         Element node = it.next();
+         labels.put(node.getAttribute("id"), getNodeLabel(node));
+      }
+      List<String> list = new ArrayList<>();
+      it = getElements(doc, "edge").iterator();
+      while (it.hasNext()) {
+         Element edge = it.next();
+         String source = labels.get(edge.getAttribute("source"));
+         String target = labels.get(edge.getAttribute("target"));
+         list.add("(" + source + ", " + target + ", " + getEdgeType(edge) + ")");
+      }
+      Collections.sort(list);
+      return list;
+   }
+
+   private static int count(String content, String element) {
+      int count = 0;
+      int index = content.indexOf(element);
+      while (index != -1) {
+         count++;
+         index = content.indexOf(element, index + 1);
+      }
+      return count;
+   }
+
+   private static byte[] read(InputStream stream) throws IOException {
+      try (InputStream in = stream) {
+         ByteArrayOutputStream out = new ByteArrayOutputStream();
+         byte[] buf = new byte[8192];
+         int length;
+         while ((length = in.read(buf)) != -1) {
+            out.write(buf, 0, length);
+         }
+         return out.toByteArray();
+      }
+   }
+
+   private static void checkSameDiagram(String name, File expectedFile, File actualFile) throws Exception {
+      DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+      Document expectedDoc = builder.parse(expectedFile);
+      Document actualDoc = builder.parse(actualFile);
+      String expected = new String(Files.readAllBytes(expectedFile.toPath()), StandardCharsets.UTF_8);
+      String actual = new String(Files.readAllBytes(actualFile.toPath()), StandardCharsets.UTF_8);
+      assertEquals(name + ": nodes", count(expected, "<node "), count(actual, "<node "));
+      assertEquals(name + ": edges", count(expected, "<edge "), count(actual, "<edge "));
+      assertEquals(name + ": nodes groups", getNodesGroups(expectedDoc), getNodesGroups(actualDoc));
+      assertEquals(name + ": edges", getEdges(expectedDoc), getEdges(actualDoc));
+   }
+
+   /**
+    * Test of the streamed export of the whole schema of the samples.
+    */
+   @Test
+   @Order(order = 1)
+   public void testExportGraph() throws Exception {
+      System.out.println("ExportGraphStreamingTest : testExportGraph");
+      assertFalse("Must have samples", diagrams.isEmpty());
+      Iterator<OwlDiagram> it = diagrams.iterator();
+      while (it.hasNext()) {
+         OwlDiagram diagram = it.next();
+         File expected = export(diagram, null, false, false);
+         File actual = export(diagram, null, true, false);
+         checkSameDiagram(diagram.getName(), expected, actual);
+      }
+   }
+
+   /**
+    * Test of the streamed export of the packages of the samples.
+    */
+   @Test
+   @Order(order = 2)
+   public void testExportPackages() throws Exception {
+      System.out.println("ExportGraphStreamingTest : testExportPackages");
+      int count = 0;
+      Iterator<OwlDiagram> it = diagrams.iterator();
+      while (it.hasNext()) {
+         OwlDiagram diagram = it.next();
+         Iterator<OwlClass> it2 = diagram.getSchema().getPackages().values().iterator();
+         while (it2.hasNext()) {
+            OwlClass thePackage = it2.next();
+            File expected = export(diagram, thePackage, false, false);
+            File actual = export(diagram, thePackage, true, false);
+            checkSameDiagram(diagram.getName() + " " + thePackage.getName(), expected, actual);
+            count++;
+         }
+      }
+      assertTrue("Must have packages", count > 0);
+   }
+
+   /**
+    * Test of the streamed export with the properties constraints and types, without the inter-package connections, and with the
+    * children layout.
+    */
+   @Test
+   @Order(order = 3)
+   public void testExportWithOptions() throws Exception {
+      System.out.println("ExportGraphStreamingTest : testExportWithOptions");
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      boolean showRelationsConstraints = conf.showRelationsConstraints;
+      boolean showDataPropertiesTypes = conf.showDataPropertiesTypes;
+      boolean showInterPackageConnections = conf.showInterPackageConnections;
+      short layoutOptions = conf.layoutOptions;
+      conf.showRelationsConstraints = true;
+      conf.showDataPropertiesTypes = true;
+      conf.showInterPackageConnections = false;
+      try {
+         Iterator<OwlDiagram> it = diagrams.iterator();
+         while (it.hasNext()) {
+            OwlDiagram diagram = it.next();
+            conf.layoutOptions = LayoutOptions.CHILDREN_SOUTH_POSITION;
+            File expected = export(diagram, null, false, false);
+            File actual = export(diagram, null, true, false);
+            checkSameDiagram(diagram.getName(), expected, actual);
+            Iterator<OwlClass> it2 = diagram.getSchema().getPackages().values().iterator();
+            while (it2.hasNext()) {
+               OwlClass thePackage = it2.next();
+               expected = export(diagram, thePackage, false, false);
+               actual = export(diagram, thePackage, true, false);
+               checkSameDiagram(diagram.getName() + " " + thePackage.getName(), expected, actual);
+            }
+         }
+      } finally {
+         conf.showRelationsConstraints = showRelationsConstraints;
+         conf.showDataPropertiesTypes = showDataPropertiesTypes;
+         conf.showInterPackageConnections = showInterPackageConnections;
+         conf.layoutOptions = layoutOptions;
+      }
+   }
+
+   /**
+    * Test of the compressed streamed export.
+    */
+   @Test
+   @Order(order = 4)
+   public void testCompressedExport() throws Exception {
+      System.out.println("ExportGraphStreamingTest : testCompressedExport");
+      OwlDiagram diagram = diagrams.get(0);
+      File file = export(diagram, null, true, true);
+      assertTrue("Must be a graphmlz file", file.getName().endsWith(".graphmlz"));
+      File uncompressed = export(diagram, null, true, false);
+      byte[] expected = Files.readAllBytes(uncompressed.toPath());
+      assertArrayEquals("Must have the same content", expected, read(new GZIPInputStream(new FileInputStream(file))));
+   }
+}
@@ -0,0 +1,170 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.girod.ontobrowser.utils.FileWatcher;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the FileWatcher debouncing.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class FileWatcherTest {
+   private static final long DELAY = 300;
+   private File dir;
+   private FileWatcher watcher;
+   private BlockingQueue<Set<File>> notifications;
+
+   public FileWatcherTest() {
+   }
+
+   @Before
+   public void setUp() throws IOException {
+      dir = Files.createTempDirectory("fileWatcher").toFile();
+      notifications = new LinkedBlockingQueue<>();
+      watcher = new FileWatcher((Set<File> files) -> notifications.add(files), DELAY);
+   }
+
+   @After
+   public void tearDown() {
+      watcher.close();
+      File[] files = dir.listFiles();
+      for (int i = 0; i < files.length; i++) {
+         files[i].delete();
+      }
+      dir.delete();
+   }
+
+   private File createFile(String name) throws IOException {
+      File file = new File(dir, name);
+      write(file, "start");
+      return file;
+   }
+
+   private void write(File file, String content) throws IOException {
+      try (FileWriter writer = new FileWriter(file)) {
+         writer.write(content);
+      }
+   }
+
+   /**
+    * Test that a burst of writes only triggers one notification.
+    */
+   @Test
+   @Order(order = 1)
+   public void testBurst() throws Exception {
+      System.out.println("FileWatcherTest : testBurst");
+      File file = createFile("schema.owl");
+      assertTrue("File must be watched", watcher.watch(file));
+      for (int i = 0; i < 5; i++) {
+         write(file, "content " + i);
+         Thread.sleep(20);
+      }
+      Set<File> files = notifications.poll(5, TimeUnit.SECONDS);
+      assertNotNull("Must have a notification", files);
+      assertEquals("Must have one file", 1, files.size());
+      assertTrue("Must have the modified file", files.contains(FileWatcher.normalize(file)));
+      assertNull("Must not have a second notification", notifications.poll(DELAY * 3, TimeUnit.MILLISECONDS));
+   }
+
+   /**
+    * Test that the modifications of several files are coalesced, and that the other files are ignored.
+    */
+   @Test
+   @Order(order = 2)
+   public void testSeveralFiles() throws Exception {
+      System.out.println("FileWatcherTest : testSeveralFiles");
+      File file1 = createFile("schema1.owl");
+      File file2 = createFile("schema2.owl");
+      File other = createFile("other.owl");
+      watcher.watch(file1);
+      watcher.watch(file2);
+      write(other, "modified");
+      assertNull("Must not have a notification", notifications.poll(DELAY * 3, TimeUnit.MILLISECONDS));
+
+      write(file1, "modified");
+      write(file2, "modified");
+      Set<File> files = notifications.poll(5, TimeUnit.SECONDS);
+      assertNotNull("Must have a notification", files);
+      if (files.size() == 1) {
+         // the second modification may have been reported by the watch service after the end of the delay
+         Set<File> files2 = notifications.poll(5, TimeUnit.SECONDS);
+         assertNotNull("Must have a second notification", files2);
+         files.addAll(files2);
+      }
+      assertEquals("Must have two files", 2, files.size());
+      assertTrue("Must have the first file", files.contains(FileWatcher.normalize(file1)));
+      assertTrue("Must have the second file", files.contains(FileWatcher.normalize(file2)));
+   }
+
+   /**
+    * Test that the files are only unwatched when they have been unwatched as many times as they have been watched.
+    */
+   @Test
+   @Order(order = 3)
+   public void testUnwatch() throws Exception {
+      System.out.println("FileWatcherTest : testUnwatch");
+      File file = createFile("schema.owl");
+      watcher.watch(file);
+      watcher.watch(file);
+      watcher.unwatch(file);
+      assertTrue("File must still be watched", watcher.isWatched(file));
+      write(file, "modified");
+      assertNotNull("Must have a notification", notifications.poll(5, TimeUnit.SECONDS));
+
+      watcher.unwatch(file);
+      assertFalse("File must not be watched", watcher.isWatched(file));
+      write(file, "modified again");
+      assertNull("Must not have a notification", notifications.poll(DELAY * 3, TimeUnit.MILLISECONDS));
+   }
+}
@@ -0,0 +1,143 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.ParallelExtractionHelper;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check that the parallel extraction produces the same schema as the sequential extraction for all the samples.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class GraphExtractorParallelTest {
+   private static boolean includeIndividuals;
+   private static List<File> samples;
+
+   public GraphExtractorParallelTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      samples = SamplesUtils.getSamples();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      samples = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private List<String> extract(File file, OntModel model, boolean parallel, boolean showPackages) {
+      GraphExtractor extractor = new GraphExtractor(file, model, true, showPackages);
+      extractor.setParallelExtraction(parallel);
+      extractor.setParallelism(4);
+      return SchemaDumper.dump(extractor);
+   }
+
+   /**
+    * Test of the extraction of all the samples, with and without the parallel extraction.
+    */
+   @Test
+   @Order(order = 1)
+   public void testParallelExtraction() throws Exception {
+      System.out.println("GraphExtractorParallelTest : testParallelExtraction");
+      assertFalse("Must have samples", samples.isEmpty());
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OntModel model = SamplesUtils.createModel(file);
+         List<String> expected = extract(file, model, false, false);
+         List<String> actual = extract(file, model, true, false);
+         assertNull(file.getName(), SchemaDumper.firstDifference(expected, actual));
+      }
+   }
+
+   /**
+    * Test of the extraction of all the samples with packages, with and without the parallel extraction.
+    */
+   @Test
+   @Order(order = 2)
+   public void testParallelExtractionWithPackages() throws Exception {
+      System.out.println("GraphExtractorParallelTest : testParallelExtractionWithPackages");
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OntModel model = SamplesUtils.createModel(file);
+         List<String> expected = extract(file, model, false, true);
+         List<String> actual = extract(file, model, true, true);
+         assertNull(file.getName(), SchemaDumper.firstDifference(expected, actual));
+      }
+   }
+
+   /**
+    * Test that the parallel extraction is not used for a model with a reasoner.
+    */
+   @Test
+   @Order(order = 3)
+   public void testReasonerModel() throws Exception {
+      System.out.println("GraphExtractorParallelTest : testReasonerModel");
+      assertTrue(ParallelExtractionHelper.isSupported(ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM)));
+      assertFalse(ParallelExtractionHelper.isSupported(ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM_MICRO_RULE_INF)));
+   }
+}
@@ -0,0 +1,301 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.shared.AddDeniedException;
+import org.girod.ontobrowser.batch.BatchExporter;
+import org.girod.ontobrowser.batch.BatchResult;
+import org.girod.ontobrowser.model.OwlRepresentationType;
+import org.girod.ontobrowser.parsers.graph.LoadingMonitor;
+import org.girod.ontobrowser.parsers.graph.ImportsCache;
+import org.girod.ontobrowser.parsers.graph.ImportsLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check that the imported Ontologies are shared between the models through the ImportsCache.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class ImportsCacheTest {
+   private static final String OWL_PREFIX = "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n";
+   private File dir;
+   private File importedFile;
+
+   public ImportsCacheTest() {
+   }
+
+   @Before
+   public void setUp() throws IOException {
+      dir = Files.createTempDirectory("importsCache").toFile();
+      importedFile = new File(dir, "imported.ttl");
+      writeImported("<http://imported#Class1> a owl:Class .");
+   }
+
+   @After
+   public void tearDown() {
+      importedFile.delete();
+      dir.delete();
+   }
+
+   private void writeImported(String content) throws IOException {
+      try (PrintWriter writer = new PrintWriter(importedFile, "UTF-8")) {
+         writer.println(OWL_PREFIX + "<http://imported> a owl:Ontology .\n" + content);
+      }
+   }
+
+   private OntModel createModel(String ontologyURI) {
+      Model model = ModelFactory.createDefaultModel();
+      String content = OWL_PREFIX + "<" + ontologyURI + "> a owl:Ontology ; owl:imports <" + importedFile.toURI().toString() + "> .";
+      model.read(new StringReader(content), null, "TTL");
+      return ImportsLoader.createOntModel(OntModelSpec.OWL_MEM, model);
+   }
+
+   private static Graph getImportedGraph(OntModel model) {
+      List<OntModel> subModels = model.listSubModels().toList();
+      assertEquals("Must have one imported model", 1, subModels.size());
+      return subModels.get(0).getBaseModel().getGraph();
+   }
+
+   private static String getImportedURI() {
+      List<String> uris = ImportsCache.getInstance().getCachedURIs();
+      assertEquals("Must have one cached import", 1, uris.size());
+      return uris.get(0);
+   }
+
+   /**
+    * Test that the imported graph is shared and read-only.
+    */
+   @Test
+   @Order(order = 1)
+   public void testShared() throws Exception {
+      System.out.println("ImportsCacheTest : testShared");
+      OntModel model1 = createModel("http://model1");
+      OntModel model2 = createModel("http://model2");
+      String uri = getImportedURI();
+      ImportsCache cache = ImportsCache.getInstance();
+      assertEquals("Must have two references", 2, cache.getReferences(uri));
+
+      Graph graph = getImportedGraph(model1);
+      assertSame("Imported graph must be shared", graph, getImportedGraph(model2));
+      assertSame("Imported graph must be the cached graph", cache.getGraph(uri), graph);
+      assertTrue("Class must be imported", model1.getOntClass("http://imported#Class1") != null);
+      assertTrue("Class must be imported", model2.getOntClass("http://imported#Class1") != null);
+      try {
+         graph.add(Triple.create(NodeFactory.createURI("http://imported#Class2"), NodeFactory.createURI("http://p"),
+            NodeFactory.createURI("http://o")));
+         fail("Imported graph must be read-only");
+      } catch (AddDeniedException ex) {
+      }
+
+      ImportsLoader.releaseImports(model1);
+      ImportsLoader.releaseImports(model2);
+   }
+
+   /**
+    * Test that the imported graph is evicted when no model references it.
+    */
+   @Test
+   @Order(order = 2)
+   public void testEviction() throws Exception {
+      System.out.println("ImportsCacheTest : testEviction");
+      OntModel model1 = createModel("http://model1");
+      OntModel model2 = createModel("http://model2");
+      String uri = getImportedURI();
+      ImportsCache cache = ImportsCache.getInstance();
+
+      ImportsLoader.releaseImports(model1);
+      assertEquals("Must have one reference", 1, cache.getReferences(uri));
+      assertTrue("Import must still be cached", cache.isCached(uri));
+      // releasing a model twice must not change the references
+      ImportsLoader.releaseImports(model1);
+      assertEquals("Must have one reference", 1, cache.getReferences(uri));
+
+      ImportsLoader.releaseImports(model2);
+      assertFalse("Import must have been evicted", cache.isCached(uri));
+   }
+
+   /**
+    * Test that the imported graph is parsed again when its file has been modified.
+    */
+   @Test
+   @Order(order = 3)
+   public void testModified() throws Exception {
+      System.out.println("ImportsCacheTest : testModified");
+      OntModel model1 = createModel("http://model1");
+      String uri = getImportedURI();
+      ImportsCache cache = ImportsCache.getInstance();
+      Graph graph1 = getImportedGraph(model1);
+
+      writeImported("<http://imported#Class2> a owl:Class .");
+      importedFile.setLastModified(importedFile.lastModified() + 10000);
+      OntModel model2 = createModel("http://model2");
+      Graph graph2 = getImportedGraph(model2);
+      assertNotSame("Imported graph must have been parsed again", graph1, graph2);
+      assertSame("Imported graph must be the cached graph", cache.getGraph(uri), graph2);
+      assertTrue("Class must be imported", model2.getOntClass("http://imported#Class2") != null);
+      assertTrue("Previous class must still be imported in the first model", model1.getOntClass("http://imported#Class1") != null);
+
+      // releasing the first model must not evict the new graph
+      ImportsLoader.releaseImports(model1);
+      assertEquals("Must have one reference", 1, cache.getReferences(uri));
+      ImportsLoader.releaseImports(model2);
+      assertFalse("Import must have been evicted", cache.isCached(uri));
+   }
+
+   private File writeMain() throws IOException {
+      File mainFile = new File(dir, "main.ttl");
+      try (PrintWriter writer = new PrintWriter(mainFile, "UTF-8")) {
+         writer.println(OWL_PREFIX + "<http://main> a owl:Ontology ; owl:imports <" + importedFile.toURI().toString() + "> .");
+         writer.println("<http://main#Class1> a owl:Class .");
+      }
+      return mainFile;
+   }
+
+   /**
+    * Test that the references of the models opened by the application return to 0 when they are released.
+    */
+   @Test
+   @Order(order = 4)
+   public void testReadModel() throws Exception {
+      System.out.println("ImportsCacheTest : testReadModel");
+      File mainFile = writeMain();
+      ImportsCache cache = ImportsCache.getInstance();
+      try {
+         for (int i = 0; i < 2; i++) {
+            OntModel model;
+            if (i == 0) {
+               model = AbstractOpenModelAction.readModel(mainFile, OwlRepresentationType.TYPE_OWL_TURTLE, new LoadingMonitor());
+            } else {
+               model = AbstractOpenModelAction.readSchemaModel(mainFile, OwlRepresentationType.TYPE_OWL_TURTLE, new LoadingMonitor());
+            }
+            String uri = getImportedURI();
+            assertEquals("Must have one reference", 1, cache.getReferences(uri));
+            ImportsLoader.releaseImports(model);
+            assertEquals("Must have no reference", 0, cache.getReferences(uri));
+            assertFalse("Import must have been evicted", cache.isCached(uri));
+         }
+
+         File outputDir = new File(dir, "output");
+         BatchExporter exporter = new BatchExporter(outputDir);
+         exporter.setExportGraph(false);
+         exporter.addFile(mainFile);
+         List<BatchResult> results = exporter.run();
+         assertTrue("File must be exported", results.get(0).isSuccessful());
+         assertTrue("Batch must release the imports", cache.getCachedURIs().isEmpty());
+         outputDir.delete();
+      } finally {
+         mainFile.delete();
+      }
+   }
+
+   /**
+    * Test that the imported graph is evicted when a model which has not been released is garbage collected.
+    */
+   @Test
+   @Order(order = 5)
+   public void testGarbageCollected() throws Exception {
+      System.out.println("ImportsCacheTest : testGarbageCollected");
+      OntModel model = createModel("http://model1");
+      String uri = getImportedURI();
+      ImportsCache cache = ImportsCache.getInstance();
+      assertEquals("Must have one reference", 1, cache.getReferences(uri));
+
+      model = null;
+      for (int i = 0; i < 50 && cache.isCached(uri); i++) {
+         System.gc();
+         Thread.sleep(20);
+      }
+      assertFalse("Import must have been evicted", cache.isCached(uri));
+   }
+
+   /**
+    * Test that the models created concurrently share the imported graph.
+    */
+   @Test
+   @Order(order = 6)
+   public void testConcurrentLoads() throws Exception {
+      System.out.println("ImportsCacheTest : testConcurrentLoads");
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      List<OntModel> models = new ArrayList<>();
+      try {
+         List<Future<OntModel>> futures = new ArrayList<>();
+         for (int i = 0; i < 8; i++) {
+            String ontologyURI = "http://model" + i;
+            futures.add(executor.submit(() -> createModel(ontologyURI)));
+         }
+         for (int i = 0; i < futures.size(); i++) {
+            models.add(futures.get(i).get());
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+      String uri = getImportedURI();
+      ImportsCache cache = ImportsCache.getInstance();
+      assertEquals("Must have a reference for each model", models.size(), cache.getReferences(uri));
+      for (int i = 0; i < models.size(); i++) {
+         OntModel model = models.get(i);
+         assertTrue("Class must be imported", model.getOntClass("http://imported#Class1") != null);
+         ImportsLoader.releaseImports(model);
+      }
+      assertFalse("Import must have been evicted", cache.isCached(uri));
+   }
+}
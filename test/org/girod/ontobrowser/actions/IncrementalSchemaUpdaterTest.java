@@ -0,0 +1,196 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.Map;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.vocabulary.RDFS;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.IncrementalSchemaUpdater;
+import org.girod.ontobrowser.parsers.graph.ModelDiff;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the incremental update of a schema on the pizza sample.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class IncrementalSchemaUpdaterTest {
+   private static final String PIZZA = "http://www.co-ode.org/ontologies/pizza/pizza.owl#";
+   private static File file;
+   private static OntModel model;
+   private static OwlSchema schema;
+
+   public IncrementalSchemaUpdaterTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      file = new File("samples/pizza.owl.rdf");
+      model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      schema = extractor.getGraph();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      file = null;
+      model = null;
+      schema = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static Model parseFile() {
+      Model newModel = ModelFactory.createDefaultModel();
+      RDFDataMgr.read(newModel, file.toURI().toString(), Lang.RDFXML);
+      return newModel;
+   }
+
+   /**
+    * Test a new parsing of the file which did not change.
+    */
+   @Test
+   @Order(order = 1)
+   public void testUnchanged() {
+      System.out.println("IncrementalSchemaUpdaterTest : testUnchanged");
+      IncrementalSchemaUpdater updater = new IncrementalSchemaUpdater(schema);
+      assertTrue("Schema must be updated incrementally", updater.update(parseFile()));
+      ModelDiff diff = updater.getDiff();
+      assertTrue("Diff must be empty", diff.isEmpty());
+      assertFalse("Blank nodes must be isomorphic", diff.hasBlankNodeChanges());
+      assertTrue("No element must be updated", updater.getUpdatedElements().isEmpty());
+   }
+
+   /**
+    * Test the modification of the label and the comment of a class.
+    */
+   @Test
+   @Order(order = 2)
+   public void testAnnotationChange() {
+      System.out.println("IncrementalSchemaUpdaterTest : testAnnotationChange");
+      Model newModel = parseFile();
+      Resource american = newModel.getResource(PIZZA + "American");
+      newModel.removeAll(american, RDFS.label, null);
+      newModel.add(american, RDFS.label, "American Pizza");
+      newModel.add(american, RDFS.comment, "A pizza with pepperoni");
+
+      IncrementalSchemaUpdater updater = new IncrementalSchemaUpdater(schema);
+      assertTrue("Schema must be updated incrementally", updater.update(newModel));
+      ModelDiff diff = updater.getDiff();
+      assertEquals("Added triples", 2, diff.getAddedTriples().size());
+      assertEquals("Removed triples", 1, diff.getRemovedTriples().size());
+
+      ElementKey key = ElementKey.create(PIZZA, "American");
+      Map<ElementKey, NamedOwlElement> updated = updater.getUpdatedElements();
+      assertEquals("Updated elements", 1, updated.size());
+      assertTrue("American must be updated", updated.containsKey(key));
+      OwlClass theClass = schema.getOwlClass(key);
+      assertNotNull("American must exist", theClass);
+      assertEquals("Label", "American Pizza", theClass.getLabel());
+      assertEquals("Displayed name", "American Pizza", theClass.getDisplayedName());
+      assertEquals("Comments", "A pizza with pepperoni", theClass.getComments());
+      Triple triple = diff.getAddedTriples().get(0);
+      assertTrue("Model must contain the added triples", model.getBaseModel().getGraph().contains(triple));
+
+      // a new parsing of the modified file must not find any difference
+      updater = new IncrementalSchemaUpdater(schema);
+      assertTrue("Schema must be updated incrementally", updater.update(newModel));
+      assertTrue("Diff must be empty", updater.getDiff().isEmpty());
+   }
+
+   /**
+    * Test a modification of the classes hierarchy, which can not be applied incrementally.
+    */
+   @Test
+   @Order(order = 3)
+   public void testStructuralChange() {
+      System.out.println("IncrementalSchemaUpdaterTest : testStructuralChange");
+      Model newModel = parseFile();
+      Resource newPizza = newModel.createResource(PIZZA + "NewPizza");
+      Statement statement = newModel.createStatement(newPizza, RDFS.subClassOf, newModel.getResource(PIZZA + "NamedPizza"));
+      newModel.add(statement);
+
+      IncrementalSchemaUpdater updater = new IncrementalSchemaUpdater(schema);
+      assertFalse("Schema must not be updated incrementally", updater.update(newModel));
+      assertFalse("Model must not be modified", model.getBaseModel().contains(statement));
+      assertTrue("No element must be updated", updater.getUpdatedElements().isEmpty());
+   }
+
+   /**
+    * Test a modification of a restriction, which changes the triples with blank nodes.
+    */
+   @Test
+   @Order(order = 4)
+   public void testBlankNodeChange() {
+      System.out.println("IncrementalSchemaUpdaterTest : testBlankNodeChange");
+      Model newModel = parseFile();
+      Statement statement = newModel.listStatements(newModel.getResource(PIZZA + "American"), RDFS.subClassOf, (Resource) null)
+         .filterKeep(s -> s.getObject().isAnon()).next();
+      newModel.remove(statement);
+
+      IncrementalSchemaUpdater updater = new IncrementalSchemaUpdater(schema);
+      assertFalse("Schema must not be updated incrementally", updater.update(newModel));
+      assertTrue("Blank nodes must be different", updater.getDiff().hasBlankNodeChanges());
+   }
+}
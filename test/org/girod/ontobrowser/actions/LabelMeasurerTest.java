@@ -0,0 +1,171 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import org.girod.ontobrowser.utils.LabelMeasurer;
+import org.girod.ontobrowser.utils.LabelUtils;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the measurement of the labels.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class LabelMeasurerTest {
+   private static final String[] LABELS = {"Thing", "Person", "hasFirstName", "ALongClassNameWithManyWords", "a b", "Élément"};
+   private static boolean approximate;
+
+   public LabelMeasurerTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+      approximate = LabelUtils.isApproximateMeasurement();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      LabelUtils.setApproximateMeasurement(approximate);
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test that the exact size is the size computed by the layout of the text.
+    */
+   @Test
+   @Order(order = 1)
+   public void testExactSize() throws Exception {
+      System.out.println("LabelMeasurerTest : testExactSize");
+      LabelMeasurer measurer = LabelMeasurer.getInstance("Dialog", 11);
+      assertSame("Measurers must be shared", measurer, LabelMeasurer.getInstance("Dialog", 11));
+      Font font = new Font("Dialog", Font.PLAIN, 11);
+      FontRenderContext frc = new FontRenderContext(new AffineTransform(), true, true);
+      for (int i = 0; i < LABELS.length; i++) {
+         String label = LABELS[i];
+         Dimension expected = new Dimension((int) font.getStringBounds(label, frc).getWidth(), (int) font.getStringBounds(label, frc).getHeight());
+         assertEquals(label, expected, measurer.getExactSize(label));
+         assertEquals(label, expected, measurer.getSize(label, false));
+      }
+   }
+
+   /**
+    * Test that the approximate size is near the exact size.
+    */
+   @Test
+   @Order(order = 2)
+   public void testApproximateSize() throws Exception {
+      System.out.println("LabelMeasurerTest : testApproximateSize");
+      LabelMeasurer measurer = LabelMeasurer.getInstance("Dialog", 11);
+      for (int i = 0; i < LABELS.length; i++) {
+         String label = LABELS[i];
+         Dimension expected = measurer.getExactSize(label);
+         Dimension actual = measurer.getApproximateSize(label);
+         assertTrue(label + " width " + actual.width + " instead of " + expected.width, Math.abs(expected.width - actual.width) <= 1 + label.length() / 10);
+         assertTrue(label + " height " + actual.height + " instead of " + expected.height, Math.abs(expected.height - actual.height) <= 1);
+      }
+   }
+
+   /**
+    * Test of the cache of the sizes.
+    */
+   @Test
+   @Order(order = 3)
+   public void testCache() throws Exception {
+      System.out.println("LabelMeasurerTest : testCache");
+      LabelMeasurer measurer = LabelMeasurer.getInstance("Dialog", 12);
+      measurer.clearCache();
+      Dimension size = measurer.getSize("Person", false);
+      size.width = 0;
+      assertEquals("Cached size must not be modified", measurer.getExactSize("Person"), measurer.getSize("Person", false));
+      assertEquals(1, measurer.getCacheSize());
+      for (int i = 0; i < LabelMeasurer.CACHE_SIZE + 100; i++) {
+         measurer.getSize("label" + i, true);
+      }
+      assertEquals("Cache must be bounded", LabelMeasurer.CACHE_SIZE, measurer.getCacheSize());
+      measurer.clearCache();
+      assertEquals(0, measurer.getCacheSize());
+   }
+
+   /**
+    * Test that the sizes measured in one mode are not returned for the other mode.
+    */
+   @Test
+   @Order(order = 5)
+   public void testCacheModes() throws Exception {
+      System.out.println("LabelMeasurerTest : testCacheModes");
+      LabelMeasurer measurer = LabelMeasurer.getInstance("Dialog", 13);
+      measurer.clearCache();
+      String label = "hasVeryLongPropertyNameForMeasurement";
+      assertEquals("Exact size", measurer.getExactSize(label), measurer.getSize(label, false));
+      assertEquals("Approximate size", measurer.getApproximateSize(label), measurer.getSize(label, true));
+      assertEquals("Exact size", measurer.getExactSize(label), measurer.getSize(label, false));
+      assertEquals("Both modes must be cached", 2, measurer.getCacheSize());
+   }
+
+   /**
+    * Test of the dimension of the labels in the graph.
+    */
+   @Test
+   @Order(order = 4)
+   public void testDimension() throws Exception {
+      System.out.println("LabelMeasurerTest : testDimension");
+      LabelUtils.setApproximateMeasurement(false);
+      Dimension exact = LabelUtils.getDimension("hasFirstName", 11, "Dialog");
+      LabelUtils.setApproximateMeasurement(true);
+      Dimension approx = LabelUtils.getDimension("hasFirstName", 11, "Dialog");
+      assertTrue(Math.abs(exact.width - approx.width) <= 2);
+      assertEquals(exact.height, approx.height);
+   }
+}
@@ -0,0 +1,230 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.apache.jena.ontology.OntClass;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.girod.jgraphml.model.GraphMLNode;
+import org.girod.jgraphml.model.IGraphMLNode;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.OwlDiagram;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.LayoutOptions;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the positions of the nodes computed by the LayeredLayout for the samples and for a deep classes hierarchy.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class LayeredLayoutTest {
+   private static final String NAMESPACE = "http://www.girod.org/layered#";
+   private static final int LEVELS = 20;
+   private static boolean includeIndividuals;
+   private static short layoutOptions;
+   private static List<OwlDiagram> diagrams;
+
+   public LayeredLayoutTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      layoutOptions = conf.layoutOptions;
+      conf.includeIndividuals = true;
+      diagrams = new ArrayList<>();
+      Iterator<File> it = SamplesUtils.getSamples().iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OntModel model = SamplesUtils.createModel(file);
+         GraphExtractor extractor = new GraphExtractor(file, model, false, true);
+         OwlDiagram diagram = new OwlDiagram(file.getName());
+         diagram.setFile(file);
+         diagram.setSchema(extractor.getGraph());
+         diagrams.add(diagram);
+      }
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      conf.includeIndividuals = includeIndividuals;
+      conf.layoutOptions = layoutOptions;
+      diagrams = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static ExportGraphAction export(OwlDiagram diagram, short layoutOption) throws Exception {
+      BrowserConfiguration.getInstance().layoutOptions = layoutOption;
+      ExportGraphAction action = new ExportGraphAction(null, "Export graph", "Export graph", diagram, null);
+      action.run();
+      return action;
+   }
+
+   private static ElementKey getPartitionKey(ExportGraphAction action, OwlClass theClass) {
+      if (theClass.isInUniquePackage() && action.packagesNodes.containsKey(theClass.getPackage())) {
+         return theClass.getPackage();
+      }
+      return null;
+   }
+
+   /**
+    * Check that the sub-classes are below their super-classes, and that the nodes of the same layer do not overlap.
+    *
+    * @return the number of distinct layers
+    */
+   private static int checkLayout(String name, ExportGraphAction action, OwlSchema schema) {
+      List<GraphMLNode> nodes = new ArrayList<>();
+      Iterator<Entry<ElementKey, OwlClass>> it = schema.getOwlClasses().entrySet().iterator();
+      while (it.hasNext()) {
+         Entry<ElementKey, OwlClass> entry = it.next();
+         OwlClass theClass = entry.getValue();
+         IGraphMLNode node = action.elementToNode.get(entry.getKey());
+         if (!(node instanceof GraphMLNode) || theClass.isPackage()) {
+            continue;
+         }
+         GraphMLNode classNode = (GraphMLNode) node;
+         nodes.add(classNode);
+         Iterator<OwlClass> it2 = theClass.getSuperClasses().values().iterator();
+         while (it2.hasNext()) {
+            OwlClass superClass = it2.next();
+            IGraphMLNode superNode = action.elementToNode.get(superClass.getKey());
+            if (superNode instanceof GraphMLNode && !superClass.isPackage() && !superClass.getSuperClasses().containsKey(theClass.getKey())
+               && getPartitionKey(action, superClass) == getPartitionKey(action, theClass)) {
+               GraphMLNode superClassNode = (GraphMLNode) superNode;
+               String message = name + " " + theClass.getKey() + " below " + superClass.getKey();
+               assertTrue(message, classNode.getY() >= superClassNode.getY() + superClassNode.getHeight());
+            }
+         }
+      }
+      Collections.sort(nodes, (node1, node2) -> {
+         int compare = Float.compare(node1.getY(), node2.getY());
+         return compare != 0 ? compare : Float.compare(node1.getX(), node2.getX());
+      });
+      Set<Float> layers = new HashSet<>();
+      for (int i = 0; i < nodes.size(); i++) {
+         GraphMLNode node = nodes.get(i);
+         layers.add(node.getY());
+         if (i > 0) {
+            GraphMLNode previous = nodes.get(i - 1);
+            if (previous.getY() == node.getY()) {
+               assertTrue(name + ": overlapping nodes", node.getX() >= previous.getX() + previous.getWidth());
+            }
+         }
+      }
+      return layers.size();
+   }
+
+   /**
+    * Test of the layout of the samples.
+    */
+   @Test
+   @Order(order = 1)
+   public void testLayoutSamples() throws Exception {
+      System.out.println("LayeredLayoutTest : testLayoutSamples");
+      assertFalse("Must have samples", diagrams.isEmpty());
+      Iterator<OwlDiagram> it = diagrams.iterator();
+      while (it.hasNext()) {
+         OwlDiagram diagram = it.next();
+         ExportGraphAction action = export(diagram, LayoutOptions.SUBCLASS_SOUTH_POSITION);
+         checkLayout(diagram.getName(), action, diagram.getSchema());
+         action = export(diagram, LayoutOptions.CHILDREN_SOUTH_POSITION);
+         checkLayout(diagram.getName(), action, diagram.getSchema());
+      }
+   }
+
+   /**
+    * Test of the layout of a classes hierarchy with 20 levels, where each level has three classes, and the last class of each level is
+    * also a sub-class of the first class of the level above.
+    */
+   @Test
+   @Order(order = 2)
+   public void testLayoutDeepHierarchy() throws Exception {
+      System.out.println("LayeredLayoutTest : testLayoutDeepHierarchy");
+      OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+      OntClass[] previousLevel = null;
+      for (int level = 0; level < LEVELS; level++) {
+         OntClass[] classes = new OntClass[3];
+         for (int i = 0; i < 3; i++) {
+            classes[i] = model.createClass(NAMESPACE + "C" + level + "_" + i);
+            if (previousLevel != null) {
+               previousLevel[i].addSubClass(classes[i]);
+            }
+         }
+         if (previousLevel != null) {
+            previousLevel[0].addSubClass(classes[2]);
+         }
+         previousLevel = classes;
+      }
+      GraphExtractor extractor = new GraphExtractor(null, model, false, false);
+      OwlSchema schema = extractor.getGraph();
+      OwlDiagram diagram = new OwlDiagram("layered");
+      diagram.setSchema(schema);
+      ExportGraphAction action = export(diagram, LayoutOptions.SUBCLASS_SOUTH_POSITION);
+      int layers = checkLayout("layered", action, schema);
+      assertEquals("Must have one layer for each level", LEVELS, layers);
+   }
+}
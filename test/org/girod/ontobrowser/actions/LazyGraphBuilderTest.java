@@ -0,0 +1,204 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import com.mxgraph.model.mxCell;
+import com.mxgraph.model.mxGraphModel;
+import com.mxgraph.view.mxGraph;
+import java.io.File;
+import java.util.Iterator;
+import java.util.Map;
+import org.apache.jena.ontology.OntModel;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.OwlDiagram;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlIndividual;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the lazy creation of the graph of a diagram.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class LazyGraphBuilderTest {
+   private static boolean includeIndividuals;
+   private static OwlSchema schema;
+
+   public LazyGraphBuilderTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      File file = new File("samples/pizza.owl.rdf");
+      OntModel model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      schema = extractor.getGraph();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      schema = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static void checkConsistency(LazyGraphBuilder builder) {
+      mxGraphModel model = (mxGraphModel) builder.getGraph().getModel();
+      Map<ElementKey, mxCell> keyToCell = builder.getKeyToCell();
+      assertEquals(builder.getVerticesCount(), keyToCell.size());
+      assertEquals(keyToCell.size(), mxGraphModel.getChildVertices(model, builder.getGraph().getDefaultParent()).length);
+      Iterator<Map.Entry<ElementKey, mxCell>> it = keyToCell.entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<ElementKey, mxCell> entry = it.next();
+         assertTrue("Cell must be in the graph", model.contains(entry.getValue()));
+         assertEquals(entry.getKey(), builder.getKey(entry.getValue()));
+      }
+   }
+
+   /**
+    * Test of the neighbourhood of a class.
+    */
+   @Test
+   @Order(order = 1)
+   public void testExpand() throws Exception {
+      System.out.println("LazyGraphBuilderTest : testExpand");
+      LazyGraphBuilder builder = new LazyGraphBuilder(new mxGraph(), schema, false);
+      assertEquals("Graph must be empty", 0, builder.getVerticesCount());
+      ElementKey key = new ElementKey("http://www.co-ode.org/ontologies/pizza/pizza.owl#", "Pizza");
+      OwlClass pizza = schema.getOwlClasses().get(key);
+      assertNotNull("Must have the Pizza class", pizza);
+      mxCell cell = builder.expand(key);
+      assertNotNull(cell);
+      assertEquals("Pizza", cell.getValue());
+      assertSame(cell, builder.expand(key));
+      Iterator<ElementKey> it = pizza.getSubClasses().keySet().iterator();
+      while (it.hasNext()) {
+         ElementKey subKey = it.next();
+         mxCell subCell = builder.getKeyToCell().get(subKey);
+         assertNotNull("Must have the sub-class " + subKey, subCell);
+         assertEquals("Must be connected to the sub-class " + subKey, 1, mxGraphModel.getEdgesBetween(builder.getGraph().getModel(), subCell, cell, true).length);
+      }
+      assertEquals(1, builder.getNeighbourhoodsCount());
+      checkConsistency(builder);
+   }
+
+   /**
+    * Test of the neighbourhood of an individual.
+    */
+   @Test
+   @Order(order = 2)
+   public void testExpandIndividual() throws Exception {
+      System.out.println("LazyGraphBuilderTest : testExpandIndividual");
+      assertTrue("Must have individuals", !schema.getIndividuals().isEmpty());
+      OwlIndividual individual = schema.getIndividuals().values().iterator().next();
+      LazyGraphBuilder builder = new LazyGraphBuilder(new mxGraph(), schema, false);
+      mxCell cell = builder.expand(individual.getKey());
+      assertNotNull(cell);
+      assertEquals(individual.getDisplayedName(), cell.getValue());
+      checkConsistency(builder);
+   }
+
+   /**
+    * Test of the eviction of the neighbourhoods.
+    */
+   @Test
+   @Order(order = 3)
+   public void testEviction() throws Exception {
+      System.out.println("LazyGraphBuilderTest : testEviction");
+      LazyGraphBuilder builder = new LazyGraphBuilder(new mxGraph(), schema, false);
+      builder.setMaximumCells(40);
+      int maximumNeighbourhood = 0;
+      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
+      while (it.hasNext()) {
+         OwlClass owlClass = it.next();
+         mxCell cell = builder.expand(owlClass.getKey());
+         assertNotNull(cell);
+         assertSame("The navigated class must be kept", cell, builder.getKeyToCell().get(owlClass.getKey()));
+         int size = 1 + owlClass.getSuperClasses().size() + owlClass.getSubClasses().size() + owlClass.getIndividuals().size()
+            + owlClass.getOwlProperties().size() * 2;
+         maximumNeighbourhood = Math.max(maximumNeighbourhood, size);
+         assertTrue("Graph must be bounded", builder.getVerticesCount() <= Math.max(40, size));
+      }
+      assertTrue("Neighbourhoods must have been evicted", builder.getNeighbourhoodsCount() < schema.getOwlClasses().size());
+      checkConsistency(builder);
+   }
+
+   /**
+    * Test of the roots and of the lazy diagram.
+    */
+   @Test
+   @Order(order = 4)
+   public void testLazyDiagram() throws Exception {
+      System.out.println("LazyGraphBuilderTest : testLazyDiagram");
+      LazyGraphBuilder builder = new LazyGraphBuilder(new mxGraph(), schema, false);
+      builder.expandRoots();
+      assertTrue("Must have the roots", builder.getVerticesCount() > 0);
+      assertTrue(builder.getVerticesCount() < schema.getOwlClasses().size());
+      OwlDiagram diagram = new OwlDiagram("pizza");
+      diagram.setSchema(schema);
+      diagram.setGraph(builder.getGraph());
+      diagram.setKeyToCell(builder.getKeyToCell());
+      diagram.setLazyGraphBuilder(builder);
+      ElementKey key = new ElementKey("http://www.co-ode.org/ontologies/pizza/pizza.owl#", "Margherita");
+      assertTrue(diagram.isLazy());
+      mxCell cell = diagram.getCell(key);
+      assertNotNull("Cell must be created on demand", cell);
+      assertSame(cell, builder.getKeyToCell().get(key));
+      checkConsistency(builder);
+   }
+}
@@ -0,0 +1,244 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.Iterator;
+import java.util.Map;
+import javax.swing.tree.TreeNode;
+import javax.swing.tree.TreePath;
+import org.apache.jena.ontology.OntModel;
+import org.girod.ontobrowser.gui.tree.ClassTreeModel;
+import org.girod.ontobrowser.gui.tree.IndividualsTreeModel;
+import org.girod.ontobrowser.gui.tree.LazyTreeNode;
+import org.girod.ontobrowser.gui.tree.PropertiesTreeModel;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlIndividual;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the lazy tree models on the pizza sample.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class LazyTreeModelTest {
+   private static OwlSchema schema;
+
+   public LazyTreeModelTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      File file = new File("samples/pizza.owl.rdf");
+      OntModel model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      schema = extractor.getGraph();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      schema = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static void checkSorted(LazyTreeNode node) {
+      ElementKey previousKey = null;
+      for (int i = 0; i < node.getChildCount(); i++) {
+         LazyTreeNode child = (LazyTreeNode) node.getChildAt(i);
+         ElementKey key = child.getElement().getKey();
+         if (previousKey != null) {
+            assertTrue("Children must be sorted", previousKey.compareTo(key) < 0);
+         }
+         assertEquals("Index of the child", i, node.getIndex(child));
+         previousKey = key;
+      }
+   }
+
+   private static void checkPath(TreePath path, ElementKey key) {
+      assertNotNull("Path must exist for " + key, path);
+      LazyTreeNode node = (LazyTreeNode) path.getLastPathComponent();
+      assertEquals("Element of the node", key, node.getElement().getKey());
+      TreeNode[] nodes = node.getPath();
+      assertEquals("Path length", nodes.length, path.getPathCount());
+      for (int i = 0; i < nodes.length; i++) {
+         assertSame("Path node", nodes[i], path.getPathComponent(i));
+      }
+   }
+
+   /**
+    * Test that the children of the classes tree are only created when they are accessed.
+    */
+   @Test
+   @Order(order = 1)
+   public void testLazyChildren() {
+      System.out.println("LazyTreeModelTest : testLazyChildren");
+      ClassTreeModel model = new ClassTreeModel(schema, false);
+      LazyTreeNode root = (LazyTreeNode) model.getRoot();
+      assertFalse("Root must not be a leaf", root.isLeaf());
+      assertFalse("Index must not be computed", root.isChildIndexComputed());
+
+      int count = model.getChildCount(root);
+      assertTrue("Root must have children", count > 0);
+      assertTrue("Index must be computed", root.isChildIndexComputed());
+      assertEquals("No child must be created", 0, root.getCreatedChildCount());
+
+      LazyTreeNode child = (LazyTreeNode) model.getChild(root, 0);
+      assertEquals("One child must be created", 1, root.getCreatedChildCount());
+      assertSame("Child must be reused", child, model.getChild(root, 0));
+      assertSame("Parent of the child", root, child.getParent());
+      assertFalse("Index of the child must not be computed", child.isChildIndexComputed());
+      assertEquals("Index of the child", 0, model.getIndexOfChild(root, child));
+   }
+
+   /**
+    * Test that the children of the classes tree are sorted by their keys.
+    */
+   @Test
+   @Order(order = 2)
+   public void testSortedChildren() {
+      System.out.println("LazyTreeModelTest : testSortedChildren");
+      ClassTreeModel model = new ClassTreeModel(schema, false);
+      LazyTreeNode root = (LazyTreeNode) model.getRoot();
+      checkSorted(root);
+      ElementKey pizzaKey = ElementKey.create("http://www.co-ode.org/ontologies/pizza/pizza.owl#", "Pizza");
+      LazyTreeNode pizzaNode = (LazyTreeNode) model.getNode(pizzaKey);
+      assertNotNull("Pizza node must exist", pizzaNode);
+      assertTrue("Pizza must have sub-classes", pizzaNode.getChildCount() > 0);
+      checkSorted(pizzaNode);
+   }
+
+   /**
+    * Test the path lookup of all the classes, and that classes with several super classes are under each of them.
+    */
+   @Test
+   @Order(order = 3)
+   public void testClassPaths() {
+      System.out.println("LazyTreeModelTest : testClassPaths");
+      ClassTreeModel model = new ClassTreeModel(schema, false);
+      ElementKey thingKey = schema.getThingClass().getKey();
+      int multipleParents = 0;
+      Iterator<OwlClass> it = schema.getOwlClasses().values().iterator();
+      while (it.hasNext()) {
+         OwlClass theClass = it.next();
+         ElementKey key = theClass.getKey();
+         if (key.equals(thingKey)) {
+            continue;
+         }
+         checkPath(model.getPath(key), key);
+         Map<ElementKey, OwlClass> superClasses = theClass.getSuperClasses();
+         if (superClasses.size() > 1 && !superClasses.containsKey(thingKey)) {
+            multipleParents++;
+            Iterator<ElementKey> it2 = superClasses.keySet().iterator();
+            while (it2.hasNext()) {
+               LazyTreeNode parentNode = (LazyTreeNode) model.getNode(it2.next());
+               assertNotNull("Parent node must exist", parentNode);
+               assertNotNull("Class must be under each parent", parentNode.getChild(key));
+            }
+         }
+      }
+      assertTrue("Some classes must have several parents", multipleParents > 0);
+   }
+
+   /**
+    * Test the properties tree.
+    */
+   @Test
+   @Order(order = 4)
+   public void testPropertyPaths() {
+      System.out.println("LazyTreeModelTest : testPropertyPaths");
+      PropertiesTreeModel model = new PropertiesTreeModel(schema, false);
+      assertEquals("Categories", 2, model.getChildCount(model.getRoot()));
+      checkSorted(model.getObjectPropertiesRoot());
+      Iterator<OwlProperty> it = schema.getOwlProperties().values().iterator();
+      while (it.hasNext()) {
+         OwlProperty property = it.next();
+         ElementKey key = property.getKey();
+         TreePath path = model.getPath(key);
+         checkPath(path, key);
+         if (property.isObjectProperty()) {
+            assertSame("Object property category", model.getObjectPropertiesRoot(), path.getPathComponent(1));
+         } else {
+            assertSame("Data property category", model.getDataPropertiesRoot(), path.getPathComponent(1));
+         }
+      }
+   }
+
+   /**
+    * Test the individuals tree.
+    */
+   @Test
+   @Order(order = 5)
+   public void testIndividuals() {
+      System.out.println("LazyTreeModelTest : testIndividuals");
+      IndividualsTreeModel model = new IndividualsTreeModel(schema, false);
+      LazyTreeNode root = (LazyTreeNode) model.getRoot();
+      Map<ElementKey, OwlIndividual> individuals = schema.getIndividuals();
+      assertTrue("Pizza must have individuals", individuals.size() > 1);
+      assertEquals("Individuals count", individuals.size(), root.getChildCount());
+
+      ElementKey key = individuals.keySet().iterator().next();
+      checkPath(model.getPath(key), key);
+      assertEquals("Only the selected individual must be created", 1, root.getCreatedChildCount());
+
+      checkSorted(root);
+      Iterator<ElementKey> it = individuals.keySet().iterator();
+      while (it.hasNext()) {
+         key = it.next();
+         checkPath(model.getPath(key), key);
+      }
+   }
+}
@@ -0,0 +1,260 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.apache.jena.ontology.OntModel;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.AnnotationValue;
+import org.girod.ontobrowser.model.ElementDocumentation;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.LiteralPool;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the LiteralPool deduplication and compaction.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class LiteralPoolTest {
+   private static boolean compactAnnotations;
+   private static String longLiteral;
+   private static String latinLiteral;
+   private static boolean compactStrings;
+
+   public LiteralPoolTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+      compactAnnotations = BrowserConfiguration.getInstance().compactAnnotations;
+      StringBuilder buf = new StringBuilder();
+      for (int i = 0; i < 20; i++) {
+         buf.append("This is a long comment \u2013 ").append(i).append(". ");
+      }
+      longLiteral = buf.toString();
+      buf = new StringBuilder();
+      for (int i = 0; i < 20; i++) {
+         buf.append("This is a long comment é ").append(i).append(". ");
+      }
+      latinLiteral = buf.toString();
+      compactStrings = !System.getProperty("java.specification.version").startsWith("1.");
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().compactAnnotations = compactAnnotations;
+   }
+
+   @Before
+   public void setUp() {
+      BrowserConfiguration.getInstance().compactAnnotations = true;
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test the deduplication of the literals.
+    */
+   @Test
+   @Order(order = 1)
+   public void testDeduplication() throws Exception {
+      System.out.println("LiteralPoolTest : testDeduplication");
+      LiteralPool pool = LiteralPool.getInstance();
+      String literal1 = new String("short literal");
+      String literal2 = new String("short literal");
+      assertNotSame("Literals must be different instances", literal1, literal2);
+      assertSame("Literals must be deduplicated", pool.intern(literal1), pool.intern(literal2));
+
+      AnnotationValue value1 = new AnnotationValue.LiteralAnnotationValue(null, literal1);
+      AnnotationValue value2 = new AnnotationValue.LiteralAnnotationValue(null, literal2);
+      assertSame("Annotation literals must be deduplicated", value1.getLiteral(), value2.getLiteral());
+   }
+
+   /**
+    * Test the compaction of the long literals.
+    */
+   @Test
+   @Order(order = 2)
+   public void testCompaction() throws Exception {
+      System.out.println("LiteralPoolTest : testCompaction");
+      LiteralPool pool = LiteralPool.getInstance();
+      Object compact = pool.compact(longLiteral);
+      assertTrue("Literal must be compacted", compact instanceof LiteralPool.CompactLiteral);
+      assertTrue("Literal must be smaller", ((LiteralPool.CompactLiteral) compact).getEncodedSize() < longLiteral.length() * 2);
+      assertEquals("Literal must be decoded", longLiteral, compact.toString());
+      assertSame("Compact literals must be deduplicated", compact, pool.compact(new String(longLiteral)));
+      assertTrue("Short literal must not be compacted", pool.compact("short literal") instanceof String);
+      StringBuilder buf = new StringBuilder();
+      for (int i = 0; i < LiteralPool.COMPACT_LENGTH; i++) {
+         buf.append('\u6f22');
+      }
+      assertTrue("Literal bigger in UTF-8 must not be compacted", pool.compact(buf.toString()) instanceof String);
+      assertEquals("Latin-1 literal must only be compacted without compact Strings", !compactStrings,
+         pool.compact(latinLiteral) instanceof LiteralPool.CompactLiteral);
+
+      BrowserConfiguration.getInstance().compactAnnotations = false;
+      assertTrue("Literal must not be compacted", pool.compact(longLiteral) instanceof String);
+   }
+
+   /**
+    * Test the serialization of the compacted documentation.
+    */
+   @Test
+   @Order(order = 3)
+   public void testSerialization() throws Exception {
+      System.out.println("LiteralPoolTest : testSerialization");
+      ElementDocumentation doc = new ElementDocumentation();
+      doc.setComments(longLiteral);
+      doc.setVersionInfo("1.0");
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+         stream.writeObject(doc);
+      }
+      ElementDocumentation doc2;
+      try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+         doc2 = (ElementDocumentation) stream.readObject();
+      }
+      assertEquals("Comments must be restored", longLiteral, doc2.getComments());
+      assertEquals("Version must be restored", "1.0", doc2.getVersionInfo());
+      assertFalse("Description must not exist", doc2.hasDescription());
+   }
+
+   /**
+    * Test that the annotations of the samples are the same with and without compaction.
+    */
+   @Test
+   @Order(order = 4)
+   public void testSamples() throws Exception {
+      System.out.println("LiteralPoolTest : testSamples");
+      List<File> samples = SamplesUtils.getSamples();
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         // the same model is used for the two extractions, because the order of the values of multi-valued annotations depends on the model
+         OntModel model = SamplesUtils.createModel(file);
+         BrowserConfiguration.getInstance().compactAnnotations = false;
+         List<String> expected = dumpAnnotations(getSchema(file, model));
+         BrowserConfiguration.getInstance().compactAnnotations = true;
+         List<String> result = dumpAnnotations(getSchema(file, model));
+         assertEquals("Annotations for " + file.getName(), expected, result);
+      }
+   }
+
+   /**
+    * Test that the compaction reduces the storage of the literals, and never increases it.
+    */
+   @Test
+   @Order(order = 5)
+   public void testFootprint() throws Exception {
+      System.out.println("LiteralPoolTest : testFootprint");
+      LiteralPool pool = LiteralPool.getInstance();
+      List<String> literals = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+         literals.add(longLiteral + i);
+         literals.add(latinLiteral + i);
+         literals.add("short literal " + i);
+      }
+      int stringsSize = 0;
+      int compactSize = 0;
+      Iterator<String> it = literals.iterator();
+      while (it.hasNext()) {
+         String literal = it.next();
+         int size = LiteralPool.getStorageSize(literal);
+         int compacted = LiteralPool.getStorageSize(pool.compact(literal));
+         assertTrue("Compaction must not increase the size of " + literal, compacted <= size);
+         stringsSize += size;
+         compactSize += compacted;
+      }
+      assertTrue("Compaction must reduce the size of the literals", compactSize < stringsSize);
+      assertEquals("Non latin-1 literal is stored as UTF-16", longLiteral.length() * 2, LiteralPool.getStorageSize(longLiteral));
+      if (compactStrings) {
+         assertEquals("Latin-1 literal is stored as one byte per character", latinLiteral.length(),
+            LiteralPool.getStorageSize(pool.compact(latinLiteral)));
+      }
+   }
+
+   private static OwlSchema getSchema(File file, OntModel model) throws Exception {
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      return extractor.getGraph();
+   }
+
+   private static List<String> dumpAnnotations(OwlSchema schema) {
+      List<String> list = new ArrayList<>();
+      List<NamedOwlElement> elements = new ArrayList<>();
+      elements.addAll(schema.getOwlClasses().values());
+      elements.addAll(schema.getOwlProperties().values());
+      elements.addAll(schema.getIndividuals().values());
+      Iterator<NamedOwlElement> it = elements.iterator();
+      while (it.hasNext()) {
+         NamedOwlElement element = it.next();
+         ElementDocumentation doc = element.getDocumentation();
+         if (doc != null) {
+            list.add(element.getKey() + " doc " + doc.getDescription() + " " + doc.getComments() + " " + doc.getVersionInfo() + " "
+               + doc.getLabel());
+         }
+         Iterator<Map.Entry<ElementKey, AnnotationValue>> it2 = element.getAnnotations().entrySet().iterator();
+         while (it2.hasNext()) {
+            Map.Entry<ElementKey, AnnotationValue> entry = it2.next();
+            list.add(element.getKey() + " " + entry.getKey() + " " + entry.getValue().getLiteral());
+         }
+      }
+      return list;
+   }
+}
@@ -0,0 +1,222 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.OntModelSpecTypes;
+import org.girod.ontobrowser.model.OwlRepresentationType;
+import org.girod.ontobrowser.parsers.graph.CancellableInputStream;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.LoadingCancelledException;
+import org.girod.ontobrowser.parsers.graph.LoadingListener;
+import org.girod.ontobrowser.parsers.graph.LoadingMonitor;
+import org.girod.ontobrowser.parsers.graph.LoadingPhases;
+import org.girod.ontobrowser.parsers.graph.StreamingModelReader;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the progress notifications and the cancellation of the loading of a model.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class LoadingMonitorTest {
+   private static boolean includeIndividuals;
+   private static List<File> samples;
+
+   public LoadingMonitorTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      samples = SamplesUtils.getSamples();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      samples = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private Lang getLang(File file) {
+      if (SamplesUtils.getRepresentationType(file) == OwlRepresentationType.TYPE_OWL_TURTLE) {
+         return Lang.TURTLE;
+      } else {
+         return Lang.RDFXML;
+      }
+   }
+
+   /**
+    * Check that reading the samples through a cancellable stream produces the same triples as the default read.
+    */
+   @Test
+   @Order(order = 1)
+   public void testCancellableRead() throws Exception {
+      System.out.println("LoadingMonitorTest : testCancellableRead");
+      assertFalse("Must have samples", samples.isEmpty());
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OntModel expected = SamplesUtils.createModel(file);
+         OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+         try (InputStream stream = new CancellableInputStream(new FileInputStream(file), new LoadingMonitor())) {
+            RDFDataMgr.read(model, stream, file.toURI().toString(), getLang(file));
+         }
+         assertTrue(file.getName() + " must have the same triples", expected.getBaseModel().isIsomorphicWith(model.getRawModel()));
+      }
+   }
+
+   /**
+    * Check that cancelling the loading aborts the parsers.
+    */
+   @Test
+   @Order(order = 2)
+   public void testCancelParse() throws Exception {
+      System.out.println("LoadingMonitorTest : testCancelParse");
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      LoadingMonitor monitor = new LoadingMonitor();
+      monitor.cancel();
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+         try (InputStream stream = new CancellableInputStream(new FileInputStream(file), monitor)) {
+            RDFDataMgr.read(model, stream, file.toURI().toString(), getLang(file));
+            fail(file.getName() + " read must be cancelled");
+         } catch (LoadingCancelledException ex) {
+         }
+         assertTrue(file.getName() + " must have no triples", model.getRawModel().isEmpty());
+
+         StreamingModelReader reader = new StreamingModelReader(file, SamplesUtils.getRepresentationType(file));
+         reader.setLoadingMonitor(monitor);
+         try {
+            reader.read(OntModelSpecTypes.getOntModelSpec(conf.modelSpec));
+            fail(file.getName() + " streaming read must be cancelled");
+         } catch (LoadingCancelledException ex) {
+         }
+         assertEquals(file.getName() + " must have no triples", 0, reader.getTriplesCount());
+      }
+   }
+
+   /**
+    * Check the order of the extraction phases.
+    */
+   @Test
+   @Order(order = 3)
+   public void testPhases() throws Exception {
+      System.out.println("LoadingMonitorTest : testPhases");
+      File file = samples.get(0);
+      OntModel model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      LoadingMonitor monitor = new LoadingMonitor();
+      List<Short> phases = new ArrayList<>();
+      monitor.setListener(new LoadingListener() {
+         @Override
+         public void phaseStarted(short phase) {
+            phases.add(phase);
+         }
+      });
+      extractor.setLoadingMonitor(monitor);
+      extractor.getGraph();
+
+      assertEquals("Must have 5 extraction phases", 5, phases.size());
+      assertEquals("Phase 1", LoadingPhases.PHASE_PROPERTIES, (short) phases.get(0));
+      assertEquals("Phase 2", LoadingPhases.PHASE_CLASSES, (short) phases.get(1));
+      assertEquals("Phase 3", LoadingPhases.PHASE_INDIVIDUALS, (short) phases.get(2));
+      assertEquals("Phase 4", LoadingPhases.PHASE_DEPENDENCIES, (short) phases.get(3));
+      assertEquals("Phase 5", LoadingPhases.PHASE_PACKAGES, (short) phases.get(4));
+      assertEquals("Current phase", LoadingPhases.PHASE_PACKAGES, monitor.getPhase());
+   }
+
+   /**
+    * Check that cancelling the loading aborts the extraction.
+    */
+   @Test
+   @Order(order = 4)
+   public void testCancelExtraction() throws Exception {
+      System.out.println("LoadingMonitorTest : testCancelExtraction");
+      File file = samples.get(0);
+      OntModel model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      LoadingMonitor monitor = new LoadingMonitor();
+      monitor.setListener(new LoadingListener() {
+         @Override
+         public void phaseStarted(short phase) {
+            if (phase == LoadingPhases.PHASE_CLASSES) {
+               monitor.cancel();
+            }
+         }
+      });
+      extractor.setLoadingMonitor(monitor);
+      try {
+         extractor.getGraph();
+         fail("Extraction must be cancelled");
+      } catch (LoadingCancelledException ex) {
+      }
+      assertTrue("Monitor must be cancelled", monitor.isCancelled());
+      assertEquals("Extraction must be cancelled in the classes phase", LoadingPhases.PHASE_CLASSES, monitor.getPhase());
+   }
+}
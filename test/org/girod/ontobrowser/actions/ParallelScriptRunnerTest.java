@@ -0,0 +1,227 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.jena.ontology.OntModel;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.OwlDiagram;
+import org.girod.ontobrowser.actions.script.ParallelScriptRunner;
+import org.girod.ontobrowser.model.NamedElement;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.script.OwlScriptContext;
+import org.girod.ontobrowser.script.Script;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+import org.scripthelper.context.HyperlinkElement;
+import org.scripthelper.context.ScriptLogger;
+
+/**
+ * Check the parallel execution of Scripts on the pizza sample.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class ParallelScriptRunnerTest {
+   private static boolean includeIndividuals;
+   private static OwlDiagram diagram;
+   private static OwlSchema schema;
+
+   public ParallelScriptRunnerTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      File file = new File("samples/pizza.owl.rdf");
+      OntModel model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      diagram = new OwlDiagram(file.getName());
+      diagram.setFile(file);
+      schema = extractor.getGraph();
+      diagram.setSchema(schema);
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      diagram = null;
+      schema = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test that the output of the parallel execution is in the order of the elements.
+    */
+   @Test
+   @Order(order = 1)
+   public void testDeterministicOutput() throws Exception {
+      System.out.println("ParallelScriptRunnerTest : testDeterministicOutput");
+      List<NamedElement> elements = ParallelScriptRunner.getElements(schema);
+      assertTrue("Must have many elements", elements.size() > 100);
+      List<String> expected = new ArrayList<>();
+      Iterator<NamedElement> it = elements.iterator();
+      while (it.hasNext()) {
+         NamedElement element = it.next();
+         expected.add(element.getKey().toString());
+         expected.add("link " + element.getName());
+      }
+
+      ParallelScriptRunner runner = new ParallelScriptRunner(new EchoFactory(-1), 4);
+      runner.setChunkSize(7);
+      CollectingLogger logger = new CollectingLogger();
+      runner.run(elements, logger);
+      assertEquals("Output", expected, logger.lines);
+      assertTrue("Must have at most one Script for each Thread", runner.getWorkersCount() >= 1 && runner.getWorkersCount() <= 4);
+   }
+
+   /**
+    * Test of the abort of the parallel execution.
+    */
+   @Test
+   @Order(order = 2)
+   public void testAbort() throws Exception {
+      System.out.println("ParallelScriptRunnerTest : testAbort");
+      List<NamedElement> elements = ParallelScriptRunner.getElements(schema);
+      ParallelScriptRunner runner = new ParallelScriptRunner(new EchoFactory(-1), 2) {
+         @Override
+         protected boolean isAborted() {
+            return true;
+         }
+      };
+      CollectingLogger logger = new CollectingLogger();
+      runner.run(elements, logger);
+      assertTrue("No element must be processed", logger.lines.isEmpty());
+   }
+
+   /**
+    * Test of the exceptions thrown by the Script.
+    */
+   @Test
+   @Order(order = 3)
+   public void testException() throws Exception {
+      System.out.println("ParallelScriptRunnerTest : testException");
+      List<NamedElement> elements = ParallelScriptRunner.getElements(schema);
+      ParallelScriptRunner runner = new ParallelScriptRunner(new EchoFactory(50), 4);
+      runner.setChunkSize(10);
+      try {
+         runner.run(elements, new CollectingLogger());
+         fail("The exception of the Script must be thrown");
+      } catch (IllegalStateException e) {
+         assertEquals("Exception", "Element 50", e.getMessage());
+      }
+   }
+
+   private static class EchoFactory implements ParallelScriptRunner.ContextFactory {
+      private final int failAt;
+
+      private EchoFactory(int failAt) {
+         this.failAt = failAt;
+      }
+
+      @Override
+      public OwlScriptContext createContext(ScriptLogger logger) throws Exception {
+         OwlScriptContext context = new OwlScriptContext(null, diagram);
+         context.setLogger(logger);
+         context.setScript(new Script() {
+            private final List<NamedElement> elements = ParallelScriptRunner.getElements(schema);
+
+            @Override
+            public void start(OwlSchema schema) {
+               context.echo("start");
+            }
+
+            @Override
+            public void process(NamedElement element) {
+               if (elements.indexOf(element) == failAt) {
+                  throw new IllegalStateException("Element " + failAt);
+               }
+               context.echo(element.getKey().toString());
+               logger.appendObjectLinks("link %1", new HyperlinkElement(element.getName(), element));
+            }
+
+            @Override
+            public boolean isSideEffectFree() {
+               return true;
+            }
+         });
+         return context;
+      }
+   }
+
+   private static class CollectingLogger implements ScriptLogger {
+      private final List<String> lines = new ArrayList<>();
+
+      @Override
+      public void append(String text) {
+         lines.add(text);
+      }
+
+      @Override
+      public void append(String text, String color) {
+         lines.add(text);
+      }
+
+      @Override
+      public void appendObjectLinks(String text, HyperlinkElement... elements) {
+         lines.add(text.replace("%1", elements[0].text));
+      }
+
+      @Override
+      public void appendError(String error) {
+         lines.add(error);
+      }
+   }
+}
@@ -0,0 +1,188 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.query.Dataset;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.rdf.model.StmtIterator;
+import org.apache.jena.tdb.StoreConnection;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.OntModelSpecTypes;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.PersistentDatasetStore;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check that the models backed by a persistent dataset have the same content as the in-memory models.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class PersistentDatasetStoreTest {
+   private static boolean includeIndividuals;
+   private static List<File> samples;
+   private static File dir;
+   private static PersistentDatasetStore store;
+
+   public PersistentDatasetStoreTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      samples = SamplesUtils.getSamples();
+      dir = Files.createTempDirectory("datasets").toFile();
+      store = new PersistentDatasetStore(dir);
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      samples = null;
+      StoreConnection.reset();
+      delete(dir);
+      store = null;
+   }
+
+   private static void delete(File file) {
+      File[] files = file.listFiles();
+      if (files != null) {
+         for (int i = 0; i < files.length; i++) {
+            delete(files[i]);
+         }
+      }
+      file.delete();
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the loading of all the samples in persistent datasets.
+    */
+   @Test
+   @Order(order = 1)
+   public void testLoad() throws Exception {
+      System.out.println("PersistentDatasetStoreTest : testLoad");
+      assertFalse("Must have samples", samples.isEmpty());
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         assertFalse(file.getName() + " must not be loaded", store.isUpToDate(file));
+         OntModel model = SamplesUtils.createModel(file);
+         OntModel persistentModel = store.getModel(file, SamplesUtils.getRepresentationType(file), OntModelSpecTypes.getOntModelSpec(conf.modelSpec), null);
+         persistentModel.setStrictMode(conf.strictMode);
+         assertTrue(file.getName() + " must be loaded", store.isUpToDate(file));
+         // the typed literals are stored in their canonical form in the dataset, so the models are not isomorphic, but they
+         // have the same statements by value
+         assertEquals(file.getName() + " must have the same number of triples", model.getBaseModel().size(), persistentModel.getBaseModel().size());
+         StmtIterator it2 = model.getBaseModel().listStatements();
+         while (it2.hasNext()) {
+            Statement statement = it2.next();
+            if (!statement.getSubject().isAnon() && !statement.getObject().isAnon()) {
+               assertTrue(file.getName() + " must contain " + statement, persistentModel.getBaseModel().contains(statement));
+            }
+         }
+      }
+   }
+
+   /**
+    * Test of the reopening of persistent datasets.
+    */
+   @Test
+   @Order(order = 2)
+   public void testReopen() throws Exception {
+      System.out.println("PersistentDatasetStoreTest : testReopen");
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      File file = samples.get(0);
+      short owlType = SamplesUtils.getRepresentationType(file);
+      File sourceFile = new File(store.getLocation(file), "source.properties");
+      long lastModified = sourceFile.lastModified();
+      OntModel model = store.getModel(file, owlType, OntModelSpecTypes.getOntModelSpec(conf.modelSpec), null);
+      model.setStrictMode(conf.strictMode);
+      assertEquals("Dataset must not be loaded again", lastModified, sourceFile.lastModified());
+      List<String> expected = SchemaDumper.dump(new GraphExtractor(file, model, true, false));
+
+      model = store.getModel(file, owlType, OntModelSpecTypes.getOntModelSpec(conf.modelSpec), null);
+      model.setStrictMode(conf.strictMode);
+      List<String> actual = SchemaDumper.dump(new GraphExtractor(file, model, true, false));
+      assertNull(file.getName(), SchemaDumper.firstDifference(expected, actual));
+   }
+
+   /**
+    * Test of the loading of a modified file.
+    */
+   @Test
+   @Order(order = 3)
+   public void testModifiedFile() throws Exception {
+      System.out.println("PersistentDatasetStoreTest : testModifiedFile");
+      File sample = samples.get(0);
+      File file = new File(dir, sample.getName());
+      Files.copy(sample.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      short owlType = SamplesUtils.getRepresentationType(file);
+      Dataset dataset = store.getDataset(file, owlType, null);
+      long size = dataset.getDefaultModel().size();
+      assertTrue("Dataset must be loaded", store.isUpToDate(file));
+
+      file.setLastModified(file.lastModified() + 10000L);
+      assertFalse("Dataset must not be up to date", store.isUpToDate(file));
+      dataset = store.getDataset(file, owlType, null);
+      assertTrue("Dataset must be loaded", store.isUpToDate(file));
+      assertEquals("Dataset size", size, dataset.getDefaultModel().size());
+   }
+}
@@ -0,0 +1,229 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.rdf.model.RDFNode;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.actions.sparql.SPARQLQueryCache;
+import org.girod.ontobrowser.actions.sparql.SPARQLResultStreamer;
+import org.girod.ontobrowser.actions.sparql.SPARQLTemplate;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the cache of parsed SPARQL queries and the SPARQL templates on the pizza sample.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class SPARQLQueryCacheTest {
+   private static final String PREFIXES = "PREFIX rdfs: <http://www.w3.org/2000/01/rdf-schema#>\n"
+      + "PREFIX pizza: <http://www.co-ode.org/ontologies/pizza/pizza.owl#>\n";
+   private static final String SUPER_CLASSES = PREFIXES + "SELECT ?super WHERE { ?sub rdfs:subClassOf ?super }";
+   private static boolean addPrefixInSPARQL;
+   private static OntModel model;
+   private static OwlSchema schema;
+
+   public SPARQLQueryCacheTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      addPrefixInSPARQL = conf.addPrefixInSPARQL;
+      conf.addPrefixInSPARQL = false;
+      File file = new File("samples/pizza.owl.rdf");
+      model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      schema = extractor.getGraph();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().addPrefixInSPARQL = addPrefixInSPARQL;
+      model = null;
+      schema = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the normalization of the text of the requests.
+    */
+   @Test
+   @Order(order = 1)
+   public void testNormalize() throws Exception {
+      System.out.println("SPARQLQueryCacheTest : testNormalize");
+      String sparql = "SELECT ?s WHERE { ?s ?p ?o }";
+      assertEquals(sparql, SPARQLQueryCache.normalize("  SELECT   ?s\tWHERE {  ?s ?p   ?o }  \n"));
+      assertEquals("SELECT ?s\nWHERE { ?s ?p ?o }", SPARQLQueryCache.normalize("SELECT ?s  \r\n\r\n  WHERE { ?s ?p ?o }"));
+      // whitespaces in literals are significant
+      assertEquals("SELECT ?s WHERE { ?s ?p \"a  b\" }", SPARQLQueryCache.normalize("SELECT ?s WHERE { ?s  ?p \"a  b\" }"));
+      assertEquals("SELECT ?s WHERE { ?s ?p '''a \n\n b''' }", SPARQLQueryCache.normalize("SELECT ?s WHERE { ?s ?p '''a \n\n b''' }"));
+      // comments still end at the end of their line, even with an IRI containing a #
+      assertEquals("# it's a comment\nSELECT ?s WHERE { ?s ?p <http://a#b> }",
+         SPARQLQueryCache.normalize("# it's a comment\n  SELECT ?s WHERE { ?s  ?p <http://a#b> }"));
+      // a comparison is not an IRI
+      assertEquals("SELECT ?s WHERE { ?s ?p ?o FILTER (?o < 2 && ?o > 0) }",
+         SPARQLQueryCache.normalize("SELECT ?s WHERE { ?s ?p ?o FILTER (?o <  2 && ?o > 0) }"));
+   }
+
+   /**
+    * Test of the cache of queries.
+    */
+   @Test
+   @Order(order = 2)
+   public void testCache() throws Exception {
+      System.out.println("SPARQLQueryCacheTest : testCache");
+      SPARQLQueryCache cache = new SPARQLQueryCache(schema);
+      Query query = cache.getQuery(SUPER_CLASSES);
+      Query query2 = cache.getQuery("  " + SUPER_CLASSES.replace(" ", "   ") + "\n");
+      assertSame("The query must be taken from the cache", query, query2);
+      assertEquals("Hits", 1, cache.getHitCount());
+      assertEquals("Misses", 1, cache.getMissCount());
+      assertSame("Must be the cache of the schema", SPARQLQueryCache.getCache(schema), SPARQLQueryCache.getCache(schema));
+
+      // the added prefixes are part of the key
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      conf.addPrefixInSPARQL = true;
+      try {
+         Query query3 = cache.getQuery(SUPER_CLASSES);
+         assertNotSame("The prefixes configuration must be part of the key", query, query3);
+         assertEquals("Misses", 2, cache.getMissCount());
+         Query query4 = cache.getQuery("SELECT ?super WHERE { ?sub rdfs:subClassOf ?super }");
+         assertEquals("Must have the prefixes of the schema", "http://www.w3.org/2000/01/rdf-schema#",
+            query4.getPrefixMapping().getNsPrefixURI("rdfs"));
+      } finally {
+         conf.addPrefixInSPARQL = false;
+      }
+
+      // the least recently used queries are removed first
+      cache.setMaximumSize(2);
+      assertEquals("Size", 2, cache.size());
+      query = cache.getQuery(SUPER_CLASSES);
+      cache.getQuery(PREFIXES + "SELECT ?s WHERE { ?s rdfs:label ?o }");
+      assertEquals("Size", 2, cache.size());
+      int misses = cache.getMissCount();
+      assertSame("The query must still be in the cache", query, cache.getQuery(SUPER_CLASSES));
+      assertEquals("Misses", misses, cache.getMissCount());
+      cache.getQuery(PREFIXES + "SELECT ?s WHERE { ?s rdfs:comment ?o }");
+      cache.getQuery(SUPER_CLASSES);
+      assertEquals("The least recently used query must have been removed", misses + 1, cache.getMissCount());
+      cache.getQuery(PREFIXES + "SELECT ?s WHERE { ?s rdfs:label ?o }");
+      assertEquals("The least recently used query must have been removed", misses + 2, cache.getMissCount());
+   }
+
+   /**
+    * Test of the templates.
+    */
+   @Test
+   @Order(order = 3)
+   public void testTemplate() throws Exception {
+      System.out.println("SPARQLQueryCacheTest : testTemplate");
+      SPARQLQueryCache cache = new SPARQLQueryCache(schema);
+      SPARQLTemplate template = cache.getTemplate(SUPER_CLASSES);
+      SPARQLTemplate template2 = cache.getTemplate(SUPER_CLASSES);
+      assertSame("The templates must share the same query", template.getQuery(), template2.getQuery());
+      String queryAsString = template.getQuery().toString();
+      template.bindResource("sub", "http://www.co-ode.org/ontologies/pizza/pizza.owl#American");
+      template2.bindResource("?sub", "http://www.co-ode.org/ontologies/pizza/pizza.owl#Rosa");
+      List<QuerySolution> solutions = template.select(model);
+      List<QuerySolution> solutions2 = template2.select(model);
+      assertEquals("The query must not be modified", queryAsString, template.getQuery().toString());
+
+      String expected = PREFIXES + "SELECT ?super WHERE { pizza:American rdfs:subClassOf ?super }";
+      List<QuerySolution> expectedSolutions = cache.getTemplate(expected).select(model);
+      assertTrue("Must have super-classes", !expectedSolutions.isEmpty());
+      assertEquals("Super-classes", getValues(expectedSolutions), getValues(solutions));
+      assertNotEquals("The bindings must be independent", getValues(solutions), getValues(solutions2));
+
+      // the streamer must use the bindings too
+      SPARQLResultStreamer streamer = template.createStreamer(model);
+      List<RDFNode> values = new ArrayList<>();
+      streamer.stream(new SPARQLResultStreamer.RowsListener() {
+         @Override
+         public void variablesFound(List<String> variables) {
+         }
+
+         @Override
+         public void rowsAdded(List<RDFNode[]> rows) {
+            Iterator<RDFNode[]> it = rows.iterator();
+            while (it.hasNext()) {
+               values.add(it.next()[0]);
+            }
+         }
+      });
+      assertEquals("Super-classes", getValues(expectedSolutions), new HashSet<>(values));
+
+      template.clearBindings();
+      assertTrue("Must have more solutions without bindings", template.select(model).size() > solutions.size());
+      assertTrue("ASK", cache.getTemplate(PREFIXES + "ASK { ?sub rdfs:subClassOf pizza:Pizza }").ask(model));
+   }
+
+   private static Set<RDFNode> getValues(List<QuerySolution> solutions) {
+      Set<RDFNode> values = new HashSet<>();
+      Iterator<QuerySolution> it = solutions.iterator();
+      while (it.hasNext()) {
+         values.add(it.next().get("super"));
+      }
+      return values;
+   }
+}
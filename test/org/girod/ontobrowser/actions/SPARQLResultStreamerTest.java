@@ -0,0 +1,249 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.rdf.model.RDFNode;
+import org.girod.ontobrowser.actions.sparql.SPARQLResultStreamer;
+import org.girod.ontobrowser.actions.sparql.SPARQLResultTableModel;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the streaming of the results of SPARQL queries on the pizza sample.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class SPARQLResultStreamerTest {
+   private static final String ALL_TRIPLES = "SELECT ?s ?p ?o WHERE { ?s ?p ?o }";
+   private static final String COUNT_TRIPLES = "SELECT ?s (COUNT(?p) AS ?count) WHERE { ?s ?p ?o } GROUP BY ?s";
+   private static OntModel model;
+   private static int triplesCount;
+
+   public SPARQLResultStreamerTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      model = SamplesUtils.createModel(new File("samples/pizza.owl.rdf"));
+      try (QueryExecution qexec = QueryExecutionFactory.create(QueryFactory.create(ALL_TRIPLES), model)) {
+         triplesCount = ResultSetFormatter.consume(qexec.execSelect());
+      }
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      model = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the streaming of all the rows by batches.
+    */
+   @Test
+   @Order(order = 1)
+   public void testStream() throws Exception {
+      System.out.println("SPARQLResultStreamerTest : testStream");
+      assertTrue("Must have more than one page of triples", triplesCount > 1024);
+      SPARQLResultStreamer streamer = new SPARQLResultStreamer(QueryFactory.create(ALL_TRIPLES), model);
+      streamer.setBatchSize(100);
+      List<String> variables = new ArrayList<>();
+      List<RDFNode[]> rows = new ArrayList<>();
+      int count = streamer.stream(new SPARQLResultStreamer.RowsListener() {
+         @Override
+         public void variablesFound(List<String> theVariables) {
+            assertTrue("The variables must be found before the rows", rows.isEmpty());
+            variables.addAll(theVariables);
+         }
+
+         @Override
+         public void rowsAdded(List<RDFNode[]> batch) {
+            assertTrue("Batch size", batch.size() <= 100 && !batch.isEmpty());
+            rows.addAll(batch);
+         }
+      });
+      assertEquals("Rows count", triplesCount, count);
+      assertEquals("Rows count", triplesCount, rows.size());
+      assertEquals("Variables", 3, variables.size());
+      assertFalse("Must not be truncated", streamer.isTruncated());
+      assertFalse("Must not be cancelled", streamer.isCancelled());
+
+      SPARQLResultTableModel tableModel = new SPARQLResultTableModel(model);
+      tableModel.setColumns(variables);
+      tableModel.addRows(rows.subList(0, 1000));
+      tableModel.addRows(rows.subList(1000, rows.size()));
+      assertEquals("Table rows count", triplesCount, tableModel.getRowCount());
+      assertEquals("Table columns count", 3, tableModel.getColumnCount());
+      assertEquals("Column name", "p", tableModel.getColumnName(1));
+      for (int i = 0; i < rows.size(); i++) {
+         assertTrue("Row " + i, tableModel.getValueAt(i, 0) != null);
+      }
+   }
+
+   /**
+    * Test of the limit on the number of rows and of the cancellation.
+    */
+   @Test
+   @Order(order = 2)
+   public void testLimitAndCancel() throws Exception {
+      System.out.println("SPARQLResultStreamerTest : testLimitAndCancel");
+      Query query = QueryFactory.create(ALL_TRIPLES);
+      SPARQLResultStreamer streamer = new SPARQLResultStreamer(query, model);
+      streamer.setRowLimit(250);
+      streamer.setBatchSize(100);
+      List<RDFNode[]> rows = new ArrayList<>();
+      int count = streamer.stream(new SPARQLResultStreamer.RowsListener() {
+         @Override
+         public void variablesFound(List<String> variables) {
+         }
+
+         @Override
+         public void rowsAdded(List<RDFNode[]> batch) {
+            rows.addAll(batch);
+         }
+      });
+      assertEquals("Rows count", 250, count);
+      assertEquals("Rows count", 250, rows.size());
+      assertTrue("Must be truncated", streamer.isTruncated());
+
+      SPARQLResultStreamer streamer2 = new SPARQLResultStreamer(query, model);
+      streamer2.setBatchSize(100);
+      count = streamer2.stream(new SPARQLResultStreamer.RowsListener() {
+         @Override
+         public void variablesFound(List<String> variables) {
+         }
+
+         @Override
+         public void rowsAdded(List<RDFNode[]> batch) {
+            streamer2.cancel();
+         }
+      });
+      assertTrue("Must be cancelled", streamer2.isCancelled());
+      assertTrue("Must stop after the cancellation", count < triplesCount);
+   }
+
+   /**
+    * Test of the types of the columns of the table.
+    */
+   @Test
+   @Order(order = 3)
+   public void testColumnTypes() throws Exception {
+      System.out.println("SPARQLResultStreamerTest : testColumnTypes");
+      SPARQLResultStreamer streamer = new SPARQLResultStreamer(QueryFactory.create(COUNT_TRIPLES), model);
+      SPARQLResultTableModel tableModel = new SPARQLResultTableModel(model);
+      streamer.stream(new SPARQLResultStreamer.RowsListener() {
+         @Override
+         public void variablesFound(List<String> variables) {
+            tableModel.setColumns(variables);
+         }
+
+         @Override
+         public void rowsAdded(List<RDFNode[]> rows) {
+            tableModel.addRows(rows);
+         }
+      });
+      assertTrue("Must have rows", tableModel.getRowCount() > 0);
+      assertEquals("Subjects column", String.class, tableModel.getColumnClass(0));
+      assertEquals("Count column", Number.class, tableModel.getColumnClass(1));
+      assertTrue("Count value", tableModel.getValueAt(0, 1) instanceof Number);
+   }
+
+   /**
+    * Test of the streaming of the results to CSV, TSV, and JSON.
+    */
+   @Test
+   @Order(order = 4)
+   public void testWrite() throws Exception {
+      System.out.println("SPARQLResultStreamerTest : testWrite");
+      SPARQLResultStreamer streamer = new SPARQLResultStreamer(QueryFactory.create(ALL_TRIPLES), model);
+      assertEquals(SPARQLResultStreamer.FORMAT_CSV, SPARQLResultStreamer.getFormat(new File("result.csv")));
+      assertEquals(SPARQLResultStreamer.FORMAT_TSV, SPARQLResultStreamer.getFormat(new File("result.tsv")));
+      assertEquals(SPARQLResultStreamer.FORMAT_JSON, SPARQLResultStreamer.getFormat(new File("result.json")));
+
+      ByteArrayOutputStream stream = new ByteArrayOutputStream();
+      streamer.write(stream, SPARQLResultStreamer.FORMAT_CSV);
+      try (CSVParser parser = CSVFormat.DEFAULT.withFirstRecordAsHeader().parse(new StringReader(stream.toString("UTF-8")))) {
+         assertEquals("CSV rows", triplesCount, parser.getRecords().size());
+      }
+
+      stream = new ByteArrayOutputStream();
+      streamer.write(stream, SPARQLResultStreamer.FORMAT_TSV);
+      String[] lines = new String(stream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+      assertEquals("TSV rows", triplesCount + 1, lines.length);
+
+      stream = new ByteArrayOutputStream();
+      streamer.write(stream, SPARQLResultStreamer.FORMAT_JSON);
+      JsonNode json = new ObjectMapper().readTree(stream.toByteArray());
+      JsonNode bindings = json.get("results").get("bindings");
+      int count = 0;
+      Iterator<JsonNode> it = bindings.elements();
+      while (it.hasNext()) {
+         it.next();
+         count++;
+      }
+      assertEquals("JSON rows", triplesCount, count);
+   }
+}
@@ -0,0 +1,118 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.namespace.QName;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.ontology.impl.OntModelImpl;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.util.FileManager;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.OntModelSpecTypes;
+import org.girod.ontobrowser.model.OwlRepresentationType;
+import org.mdiutil.io.FileUtilities;
+import org.mdiutil.xml.XMLRootDetector;
+
+/**
+ * Utilities to get the samples of the project and read them as the browser does.
+ *
+ * @since 0.18
+ */
+public class SamplesUtils {
+   private SamplesUtils() {
+   }
+
+   /**
+    * Return the Owl/RDF samples of the project which can be opened in the browser.
+    *
+    * @return the samples
+    */
+   public static List<File> getSamples() {
+      List<File> samples = new ArrayList<>();
+      File[] files = new File("samples").listFiles();
+      if (files != null) {
+         Arrays.sort(files);
+         for (int i = 0; i < files.length; i++) {
+            File file = files[i];
+            if (getRepresentationType(file) != OwlRepresentationType.TYPE_UNDEFINED) {
+               samples.add(file);
+            }
+         }
+      }
+      return samples;
+   }
+
+   /**
+    * Return the representation type of a sample.
+    *
+    * @param file the sample
+    * @return the representation type, or TYPE_UNDEFINED if the sample can not be opened in the browser
+    */
+   public static short getRepresentationType(File file) {
+      String extension = FileUtilities.getFileExtension(file);
+      if (extension == null) {
+         return OwlRepresentationType.TYPE_UNDEFINED;
+      }
+      extension = extension.toLowerCase();
+      if (extension.equals("ttl")) {
+         return OwlRepresentationType.TYPE_OWL_TURTLE;
+      } else if (extension.equals("owl") || extension.equals("rdf")) {
+         XMLRootDetector detector = new XMLRootDetector();
+         QName rootName = detector.getQualifiedRootName(file);
+         if (rootName != null && rootName.getLocalPart().equals("RDF")) {
+            return OwlRepresentationType.TYPE_OWL_XML;
+         }
+      }
+      return OwlRepresentationType.TYPE_UNDEFINED;
+   }
+
+   /**
+    * Read a sample in the same way as the open action.
+    *
+    * @param file the sample
+    * @return the model
+    */
+   public static OntModel createModel(File file) {
+      OntModel model = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+      FileManager.get().readModel(model, file.toURI().toString(), "N-TRIPLES");
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      model = new OntModelImpl(OntModelSpecTypes.getOntModelSpec(conf.modelSpec), model.getRawModel());
+      model.setStrictMode(conf.strictMode);
+      return model;
+   }
+}
@@ -0,0 +1,266 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecException;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.query.ResultSetFormatter;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDF;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.actions.sparql.SPARQLQueryCache;
+import org.girod.ontobrowser.actions.sparql.SPARQLResultStreamer;
+import org.girod.ontobrowser.actions.sparql.SchemaAwareSPARQL;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the schema-aware SPARQL queries on the pizza sample.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class SchemaAwareSPARQLTest {
+   private static final String PIZZA = "http://www.co-ode.org/ontologies/pizza/pizza.owl#";
+   private static final String PREFIXES = "PREFIX rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#>\n"
+      + "PREFIX rdfs: <http://www.w3.org/2000/01/rdf-schema#>\n"
+      + "PREFIX ob: <" + SchemaAwareSPARQL.NAMESPACE + ">\n"
+      + "PREFIX pizza: <" + PIZZA + ">\n";
+   private static boolean addPrefixInSPARQL;
+   private static boolean schemaAwareSPARQL;
+   private static OntModel model;
+   private static OwlSchema schema;
+
+   public SchemaAwareSPARQLTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      addPrefixInSPARQL = conf.addPrefixInSPARQL;
+      schemaAwareSPARQL = conf.schemaAwareSPARQL;
+      conf.addPrefixInSPARQL = false;
+      conf.schemaAwareSPARQL = false;
+      File file = new File("samples/pizza.owl.rdf");
+      model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      schema = extractor.getGraph();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      conf.addPrefixInSPARQL = addPrefixInSPARQL;
+      conf.schemaAwareSPARQL = schemaAwareSPARQL;
+      model = null;
+      schema = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the rewriting of the property paths.
+    */
+   @Test
+   @Order(order = 1)
+   public void testRewrite() throws Exception {
+      System.out.println("SchemaAwareSPARQLTest : testRewrite");
+      Query query = QueryFactory.create(PREFIXES + "SELECT ?s WHERE { ?s rdfs:subClassOf ?o }");
+      assertSame("The query must not be rewritten", query, SchemaAwareSPARQL.rewrite(query));
+
+      query = QueryFactory.create(PREFIXES + "SELECT ?s ?i WHERE { ?s rdfs:subClassOf* pizza:Pizza . OPTIONAL { ?i rdf:type/rdfs:subClassOf* ?s } }");
+      String queryAsString = query.toString();
+      Query rewrittenQuery = SchemaAwareSPARQL.rewrite(query);
+      assertNotSame("The query must be rewritten", query, rewrittenQuery);
+      assertEquals("The query must not be modified", queryAsString, query.toString());
+      String rewrittenAsString = rewrittenQuery.toString();
+      assertTrue("Must use the sub-class function", rewrittenAsString.contains("ob:subClassOf"));
+      assertTrue("Must use the instance function", rewrittenAsString.contains("ob:instanceOf"));
+      assertTrue("Must not have any path", !rewrittenAsString.contains("*"));
+   }
+
+   /**
+    * Test of the sub-class property function.
+    */
+   @Test
+   @Order(order = 2)
+   public void testSubClassOf() throws Exception {
+      System.out.println("SchemaAwareSPARQLTest : testSubClassOf");
+      OwlClass pizza = schema.getOwlClass(ElementKey.create(PIZZA, "Pizza"));
+      Set<String> expected = new HashSet<>();
+      expected.add(PIZZA + "Pizza");
+      Iterator<ElementKey> it = schema.getClosureIndex().getDescendants(pizza).keySet().iterator();
+      while (it.hasNext()) {
+         ElementKey key = it.next();
+         expected.add(key.getNamespace() + key.getName());
+      }
+      assertTrue("Pizza must have sub-classes", expected.size() > 10);
+      assertEquals("Sub-classes", expected, select("SELECT ?s WHERE { ?s rdfs:subClassOf* pizza:Pizza }", "s"));
+      assertEquals("Sub-classes", expected, select("SELECT ?s WHERE { ?s ob:subClassOf pizza:Pizza }", "s"));
+
+      Set<String> superClasses = select("SELECT ?o WHERE { pizza:American rdfs:subClassOf* ?o }", "o");
+      assertTrue("Must contain the class itself", superClasses.contains(PIZZA + "American"));
+      assertTrue("Must contain Pizza", superClasses.contains(PIZZA + "Pizza"));
+      assertEquals("Bound subject and object", 1, select("SELECT * WHERE { pizza:American rdfs:subClassOf* pizza:Pizza }", "s").size());
+      assertEquals("Bound subject and object", 0, select("SELECT * WHERE { pizza:Pizza rdfs:subClassOf* pizza:American }", "s").size());
+      assertEquals("Same variable", schema.getOwlClasses().size(), select("SELECT ?s WHERE { ?s rdfs:subClassOf* ?s }", "s").size());
+      int pairs = count("SELECT ?s ?o WHERE { ?s rdfs:subClassOf* ?o }");
+      assertTrue("Must have all the pairs of the hierarchy", pairs > schema.getOwlClasses().size());
+   }
+
+   /**
+    * Test of the instance property function.
+    */
+   @Test
+   @Order(order = 3)
+   public void testInstanceOf() throws Exception {
+      System.out.println("SchemaAwareSPARQLTest : testInstanceOf");
+      Set<String> expected = new HashSet<>();
+      ExtendedIterator<Triple> it = model.getRawModel().getGraph().find(Node.ANY, RDF.type.asNode(), Node.ANY);
+      while (it.hasNext()) {
+         Triple triple = it.next();
+         if (triple.getObject().isURI() && triple.getObject().getURI().equals(PIZZA + "Country")) {
+            expected.add(triple.getSubject().toString());
+         }
+      }
+      assertTrue("Must have countries", !expected.isEmpty());
+      assertEquals("Countries", expected, select("SELECT ?i WHERE { ?i rdf:type/rdfs:subClassOf* pizza:Country }", "i"));
+      Set<String> types = select("SELECT ?c WHERE { pizza:Italy rdf:type/rdfs:subClassOf* ?c }", "c");
+      assertTrue("Must contain Country", types.contains(PIZZA + "Country"));
+   }
+
+   /**
+    * Test of the domain and range property functions.
+    */
+   @Test
+   @Order(order = 4)
+   public void testDomainRange() throws Exception {
+      System.out.println("SchemaAwareSPARQLTest : testDomainRange");
+      assertTrue("Domain", select("SELECT ?p WHERE { ?p ob:domain pizza:Pizza }", "p").contains(PIZZA + "hasTopping"));
+      assertTrue("Range", select("SELECT ?c WHERE { pizza:hasTopping ob:range ?c }", "c").contains(PIZZA + "PizzaTopping"));
+      assertTrue("Domains", count("SELECT ?p ?c WHERE { ?p ob:domain ?c }") > 0);
+   }
+
+   /**
+    * Test of the schema-aware execution from the cache and the streamer, and of the property functions outside of schema-aware queries.
+    */
+   @Test
+   @Order(order = 5)
+   public void testExecution() throws Exception {
+      System.out.println("SchemaAwareSPARQLTest : testExecution");
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      conf.addPrefixInSPARQL = true;
+      conf.schemaAwareSPARQL = true;
+      Query query;
+      try {
+         query = new SPARQLQueryCache(schema).getQuery("SELECT ?s WHERE { ?s ob:subClassOf pizza:Pizza }");
+      } finally {
+         conf.addPrefixInSPARQL = false;
+         conf.schemaAwareSPARQL = false;
+      }
+      SPARQLResultStreamer streamer = new SPARQLResultStreamer(query, model);
+      streamer.setSchemaAware(schema);
+      int count = streamer.stream(new SPARQLResultStreamer.RowsListener() {
+         @Override
+         public void variablesFound(List<String> variables) {
+         }
+
+         @Override
+         public void rowsAdded(List<RDFNode[]> rows) {
+         }
+      });
+      assertEquals("Sub-classes", select("SELECT ?s WHERE { ?s rdfs:subClassOf* pizza:Pizza }", "s").size(), count);
+
+      try (QueryExecution exec = QueryExecutionFactory.create(query, model)) {
+         ResultSetFormatter.consume(exec.execSelect());
+         fail("The property functions must only be available in schema-aware queries");
+      } catch (QueryExecException e) {
+      }
+   }
+
+   private static Set<String> select(String sparql, String var) {
+      Set<String> values = new HashSet<>();
+      Query query = QueryFactory.create(PREFIXES + sparql);
+      try (QueryExecution exec = SchemaAwareSPARQL.createExecution(schema, query, null)) {
+         ResultSet results = exec.execSelect();
+         while (results.hasNext()) {
+            QuerySolution solution = results.next();
+            RDFNode node = solution.get(var);
+            values.add(node == null ? "" : node.toString());
+         }
+      }
+      return values;
+   }
+
+   private static int count(String sparql) {
+      Query query = QueryFactory.create(PREFIXES + sparql);
+      try (QueryExecution exec = SchemaAwareSPARQL.createExecution(schema, query, null)) {
+         return ResultSetFormatter.consume(exec.execSelect());
+      }
+   }
+}
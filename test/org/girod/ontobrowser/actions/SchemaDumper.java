@@ -0,0 +1,313 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.apache.jena.ontology.OntologyException;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.NodeIterator;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.OWL;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.girod.ontobrowser.model.AnnotatedElement;
+import org.girod.ontobrowser.model.AnnotationValue;
+import org.girod.ontobrowser.model.DatatypePropertyValue;
+import org.girod.ontobrowser.model.ElementDocumentation;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.ObjectPropertyValue;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlDatatypeProperty;
+import org.girod.ontobrowser.model.OwlIndividual;
+import org.girod.ontobrowser.model.OwlObjectProperty;
+import org.girod.ontobrowser.model.OwlProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+
+/**
+ * Dump the content of a schema as a sorted list of lines, which allows to compare two schemas extracted from the same model.
+ *
+ * Only one value is kept for an annotation which has several values, and the kept value depends on the order of the statements of
+ * the element, which depends on the hash of the blank nodes and changes at each parsing. To compare the schemas extracted from two
+ * different parsings, the dump can be normalized with the model: the annotations which have several values in the model are dumped with
+ * the sorted list of all their values.
+ *
+ * @since 0.18
+ */
+public class SchemaDumper {
+   private SchemaDumper() {
+   }
+
+   /**
+    * Extract the schema with an extractor and dump its content. If the schema can not be extracted, the dump only contains the
+    * exception.
+    *
+    * @param extractor the extractor
+    * @return the sorted list of lines
+    */
+   public static List<String> dump(GraphExtractor extractor) {
+      return dump(extractor, null);
+   }
+
+   /**
+    * Extract the schema with an extractor and dump its content, normalizing the annotations which have several values in a model. If
+    * the schema can not be extracted, the dump only contains the exception.
+    *
+    * @param extractor the extractor
+    * @param model the model of the extractor (can be null)
+    * @return the sorted list of lines
+    */
+   public static List<String> dump(GraphExtractor extractor, Model model) {
+      try {
+         OwlSchema schema = extractor.getGraph();
+         return dump(schema, model);
+      } catch (OntologyException ex) {
+         List<String> list = new ArrayList<>();
+         list.add(ex.getClass().getName() + ": " + ex.getMessage());
+         return list;
+      }
+   }
+
+   /**
+    * Dump the content of a schema.
+    *
+    * @param schema the schema
+    * @return the sorted list of lines
+    */
+   public static List<String> dump(OwlSchema schema) {
+      return dump(schema, null);
+   }
+
+   /**
+    * Dump the content of a schema, normalizing the annotations which have several values in a model.
+    *
+    * @param schema the schema
+    * @param model the model the schema has been extracted from (can be null)
+    * @return the sorted list of lines
+    */
+   public static List<String> dump(OwlSchema schema, Model model) {
+      List<String> lines = new ArrayList<>();
+      lines.add("defaultNamespace " + schema.getDefaultNamespace());
+      lines.add("datatypes " + keys(schema.getDatatypes()));
+      lines.add("annotations " + keys(schema.getElementAnnotations()));
+      lines.add("packages " + keys(schema.getPackages()));
+      List<Resource> ontologies = null;
+      if (model != null) {
+         ontologies = model.listSubjectsWithProperty(RDF.type, OWL.Ontology).toList();
+      }
+      lines.add("schema " + annotations(schema, model, ontologies));
+      Iterator<OwlClass> itc = schema.getOwlClasses().values().iterator();
+      while (itc.hasNext()) {
+         OwlClass theClass = itc.next();
+         StringBuilder buf = new StringBuilder();
+         buf.append("class ").append(theClass.getKey()).append(" prefix=").append(theClass.getPrefix());
+         buf.append(" foreign=").append(theClass.isForeign()).append(" package=").append(theClass.isPackage());
+         buf.append(" super=").append(keys(theClass.getSuperClasses()));
+         buf.append(" sub=").append(keys(theClass.getSubClasses()));
+         buf.append(" alias=").append(keys(theClass.getAliasClasses()));
+         buf.append(" fromAlias=").append(keys(theClass.getFromAliasClasses()));
+         buf.append(" properties=").append(keys(theClass.getOwlProperties()));
+         buf.append(" individuals=").append(keys(theClass.getIndividuals()));
+         buf.append(" fromDomain=").append(keys(theClass.fromDomain()));
+         buf.append(" toRange=").append(keys(theClass.toRange()));
+         buf.append(" expressions=").append(theClass.getEquivalentExpressions().size());
+         buf.append(" ").append(annotations(theClass, model, getSubjects(model, theClass.getKey())));
+         lines.add(buf.toString());
+      }
+      Iterator<OwlProperty> itp = schema.getOwlProperties().values().iterator();
+      while (itp.hasNext()) {
+         OwlProperty theProperty = itp.next();
+         StringBuilder buf = new StringBuilder();
+         buf.append("property ").append(theProperty.getKey()).append(" prefix=").append(theProperty.getPrefix());
+         buf.append(" foreign=").append(theProperty.isForeign());
+         buf.append(" domain=").append(keys(theProperty.getDomain()));
+         buf.append(" super=").append(keys(theProperty.getSuperProperties()));
+         buf.append(" sub=").append(keys(theProperty.getSubProperties()));
+         buf.append(" alias=").append(keys(theProperty.getAliasProperties()));
+         buf.append(" min=").append(theProperty.getMinCardinality()).append(" max=").append(theProperty.getMaxCardinality());
+         if (theProperty instanceof OwlObjectProperty) {
+            OwlObjectProperty objectProperty = (OwlObjectProperty) theProperty;
+            buf.append(" range=").append(keys(objectProperty.getRange()));
+            if (objectProperty.hasInverseProperty()) {
+               buf.append(" inverse=").append(objectProperty.getInverseProperty().getKey());
+            }
+         } else if (theProperty instanceof OwlDatatypeProperty) {
+            buf.append(" types=").append(keys(((OwlDatatypeProperty) theProperty).getTypes()));
+         }
+         buf.append(" ").append(annotations(theProperty, model, getSubjects(model, theProperty.getKey())));
+         lines.add(buf.toString());
+      }
+      Iterator<OwlIndividual> iti = schema.getIndividuals().values().iterator();
+      while (iti.hasNext()) {
+         OwlIndividual theIndividual = iti.next();
+         StringBuilder buf = new StringBuilder();
+         buf.append("individual ").append(theIndividual.getKey()).append(" ").append(theIndividual.getClass().getSimpleName());
+         buf.append(" prefix=").append(theIndividual.getPrefix()).append(" foreign=").append(theIndividual.isForeign());
+         buf.append(" classes=").append(keys(theIndividual.getParentClasses()));
+         Set<String> values = new TreeSet<>();
+         Iterator<List<ObjectPropertyValue>> ito = theIndividual.getObjectPropertyValues().values().iterator();
+         while (ito.hasNext()) {
+            Iterator<ObjectPropertyValue> ito2 = ito.next().iterator();
+            while (ito2.hasNext()) {
+               ObjectPropertyValue value = ito2.next();
+               values.add(value.getKey() + "->" + value.getTarget().getKey());
+            }
+         }
+         Iterator<List<DatatypePropertyValue>> itd = theIndividual.getDatatypePropertyValues().values().iterator();
+         while (itd.hasNext()) {
+            Iterator<DatatypePropertyValue> itd2 = itd.next().iterator();
+            while (itd2.hasNext()) {
+               DatatypePropertyValue value = itd2.next();
+               values.add(value.getKey() + "=" + value.getValue() + "^^" + value.getDatatype().getKey());
+            }
+         }
+         buf.append(" values=").append(values);
+         buf.append(" ").append(annotations(theIndividual, model, getSubjects(model, theIndividual.getKey())));
+         lines.add(buf.toString());
+      }
+      Collections.sort(lines);
+      return lines;
+   }
+
+   private static Set<String> keys(Map<ElementKey, ?> map) {
+      Set<String> set = new TreeSet<>();
+      if (map == null) {
+         return set;
+      }
+      Iterator<ElementKey> it = map.keySet().iterator();
+      while (it.hasNext()) {
+         set.add(String.valueOf(it.next()));
+      }
+      return set;
+   }
+
+   private static List<Resource> getSubjects(Model model, ElementKey key) {
+      if (model == null) {
+         return null;
+      }
+      List<Resource> subjects = new ArrayList<>();
+      subjects.add(model.createResource(key.toString()));
+      return subjects;
+   }
+
+   /**
+    * Return the values of the properties of subjects in a model. The blank nodes have all the same value, because their labels change
+    * at each parsing.
+    *
+    * @param model the model
+    * @param subjects the subjects
+    * @param properties the URIs of the properties
+    * @return the values
+    */
+   private static Set<String> getValues(Model model, List<Resource> subjects, String... properties) {
+      Set<String> values = new TreeSet<>();
+      Iterator<Resource> it = subjects.iterator();
+      while (it.hasNext()) {
+         Resource subject = it.next();
+         for (int i = 0; i < properties.length; i++) {
+            Property property = model.createProperty(properties[i]);
+            NodeIterator it2 = model.listObjectsOfProperty(subject, property);
+            while (it2.hasNext()) {
+               RDFNode node = it2.next();
+               if (node.isLiteral()) {
+                  values.add(node.asLiteral().getLexicalForm());
+               } else if (node.isURIResource()) {
+                  values.add(node.asResource().getURI());
+               } else {
+                  values.add("_:blank");
+               }
+            }
+         }
+      }
+      return values;
+   }
+
+   private static String value(Object value, Model model, List<Resource> subjects, String... properties) {
+      if (model != null && subjects != null) {
+         Set<String> values = getValues(model, subjects, properties);
+         if (values.size() > 1) {
+            return "multiple:" + values;
+         }
+      }
+      return String.valueOf(value);
+   }
+
+   private static String annotations(AnnotatedElement element, Model model, List<Resource> subjects) {
+      Set<String> set = new TreeSet<>();
+      Iterator<Map.Entry<ElementKey, AnnotationValue>> it = element.getAnnotations().entrySet().iterator();
+      while (it.hasNext()) {
+         Map.Entry<ElementKey, AnnotationValue> entry = it.next();
+         AnnotationValue value = entry.getValue();
+         set.add(entry.getKey() + "=" + value(value.getType() + ":" + value.toString(), model, subjects, entry.getKey().toString()));
+      }
+      StringBuilder buf = new StringBuilder();
+      buf.append("annotations=").append(set);
+      ElementDocumentation doc = element.getDocumentation();
+      if (doc != null) {
+         buf.append(" description=").append(value(doc.getDescription(), model, subjects, AnnotatedElement.DUBLINCORE_DESCRIPTION.toString(),
+            AnnotatedElement.DUBLINCORE_DESCRIPTION2.toString()));
+         buf.append(" comments=").append(value(doc.getComments(), model, subjects, RDFS.comment.getURI()));
+         buf.append(" label=").append(value(doc.getLabel(), model, subjects, RDFS.label.getURI()));
+         buf.append(" versionInfo=").append(value(doc.getVersionInfo(), model, subjects, OWL.versionInfo.getURI()));
+      }
+      return buf.toString();
+   }
+
+   /**
+    * Return a description of the first difference between two dumps.
+    *
+    * @param expected the expected dump
+    * @param actual the actual dump
+    * @return the description of the first difference, or null if the dumps are equal
+    */
+   public static String firstDifference(List<String> expected, List<String> actual) {
+      int size = Math.min(expected.size(), actual.size());
+      for (int i = 0; i < size; i++) {
+         if (!expected.get(i).equals(actual.get(i))) {
+            return "expected: " + expected.get(i) + "\nactual:   " + actual.get(i);
+         }
+      }
+      if (expected.size() != actual.size()) {
+         return "expected " + expected.size() + " lines, got " + actual.size();
+      }
+      return null;
+   }
+}
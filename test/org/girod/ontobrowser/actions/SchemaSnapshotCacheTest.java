@@ -0,0 +1,300 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlRepresentationType;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.ImportsLoader;
+import org.girod.ontobrowser.parsers.graph.LoadingMonitor;
+import org.girod.ontobrowser.parsers.graph.SchemaSnapshotCache;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check that the schemas restored from the snapshot cache are the same as the extracted schemas.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class SchemaSnapshotCacheTest {
+   private static boolean includeIndividuals;
+   private static List<File> samples;
+   private static File dir;
+   private static SchemaSnapshotCache cache;
+
+   public SchemaSnapshotCacheTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws Exception {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      samples = SamplesUtils.getSamples();
+      dir = Files.createTempDirectory("snapshots").toFile();
+      cache = new SchemaSnapshotCache(dir);
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      samples = null;
+      cache.clear();
+      dir.delete();
+      cache = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Test of the store and load of the snapshots of all the samples.
+    */
+   @Test
+   @Order(order = 1)
+   public void testStoreAndLoad() throws Exception {
+      System.out.println("SchemaSnapshotCacheTest : testStoreAndLoad");
+      assertFalse("Must have samples", samples.isEmpty());
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OntModel model = SamplesUtils.createModel(file);
+         GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+         OwlSchema schema = extractor.getGraph();
+         List<String> expected = SchemaDumper.dump(schema);
+
+         String key = cache.getKey(file);
+         assertFalse(file.getName() + " must not have a snapshot", cache.hasSnapshot(key));
+         assertNull(file.getName() + " must not have a snapshot", cache.load(key));
+         cache.store(key, schema);
+         assertTrue(file.getName() + " must have a snapshot", cache.hasSnapshot(key));
+
+         OwlSchema restoredSchema = cache.load(key);
+         assertNotNull(file.getName() + " must be restored", restoredSchema);
+         assertFalse(file.getName() + " must not have a model", restoredSchema.hasOntModel());
+         List<String> actual = SchemaDumper.dump(restoredSchema);
+         assertNull(file.getName(), SchemaDumper.firstDifference(expected, actual));
+      }
+   }
+
+   /**
+    * Test of the keys of the snapshots.
+    */
+   @Test
+   @Order(order = 2)
+   public void testKey() throws Exception {
+      System.out.println("SchemaSnapshotCacheTest : testKey");
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      File file = samples.get(0);
+      String key = cache.getKey(file);
+      assertEquals("Key", key, cache.getKey(file));
+      conf.includeIndividuals = false;
+      try {
+         assertNotEquals("Key must depend on the configuration", key, cache.getKey(file));
+      } finally {
+         conf.includeIndividuals = true;
+      }
+      assertEquals("Key", key, cache.getKey(file));
+      File[] alternateLocations = conf.getAlternateLocations();
+      conf.setAlternateLocations(new File[] { samples.get(samples.size() - 1) });
+      try {
+         assertNotEquals("Key must depend on the alternate locations", key, cache.getKey(file));
+      } finally {
+         conf.setAlternateLocations(alternateLocations);
+      }
+      assertEquals("Key", key, cache.getKey(file));
+   }
+
+   /**
+    * Test of the lazy loading of the model of a restored schema.
+    */
+   @Test
+   @Order(order = 3)
+   public void testLazyModel() throws Exception {
+      System.out.println("SchemaSnapshotCacheTest : testLazyModel");
+      File file = samples.get(0);
+      OwlSchema restoredSchema = cache.load(cache.getKey(file));
+      assertNotNull("Schema must be restored", restoredSchema);
+      assertFalse("Schema must have classes", restoredSchema.getOwlClasses().isEmpty());
+      OwlClass owlClass = restoredSchema.getOwlClasses().values().iterator().next();
+      assertNull("Class must not be bound", owlClass.getOntClass());
+
+      restoredSchema.setOntModelLoader(() -> SamplesUtils.createModel(file));
+      assertNotNull("Model must be loaded", restoredSchema.getOntModel());
+      assertTrue("Schema must have a model", restoredSchema.hasOntModel());
+      assertNotNull("Class must be bound", owlClass.getOntClass());
+      assertEquals("Class", owlClass.getKey().toString(), owlClass.getOntClass().getURI());
+   }
+
+   /**
+    * Test of a corrupted snapshot.
+    */
+   @Test
+   @Order(order = 4)
+   public void testCorruptedSnapshot() throws Exception {
+      System.out.println("SchemaSnapshotCacheTest : testCorruptedSnapshot");
+      File file = samples.get(0);
+      String key = cache.getKey(file);
+      File snapshotFile = cache.getSnapshotFile(key);
+      try (OutputStream stream = new FileOutputStream(snapshotFile)) {
+         stream.write("not a snapshot".getBytes("UTF-8"));
+      }
+      assertNull("Corrupted snapshot must not be restored", cache.load(key));
+      assertFalse("Corrupted snapshot must be removed", snapshotFile.exists());
+   }
+
+   /**
+    * Test that a snapshot is not used anymore when the file of an imported Ontology has been modified.
+    */
+   @Test
+   @Order(order = 5)
+   public void testModifiedImport() throws Exception {
+      System.out.println("SchemaSnapshotCacheTest : testModifiedImport");
+      File importsDir = Files.createTempDirectory("snapshotImports").toFile();
+      File importedFile = new File(importsDir, "imported.ttl");
+      File mainFile = new File(importsDir, "main.ttl");
+      String prefix = "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n";
+      try {
+         try (PrintWriter writer = new PrintWriter(importedFile, "UTF-8")) {
+            writer.println(prefix + "<http://imported> a owl:Ontology .\n<http://imported#Class1> a owl:Class .");
+         }
+         try (PrintWriter writer = new PrintWriter(mainFile, "UTF-8")) {
+            writer.println(prefix + "<http://main> a owl:Ontology ; owl:imports <" + importedFile.toURI().toString() + "> .");
+            writer.println("<http://main#Class2> a owl:Class ; <http://www.w3.org/2000/01/rdf-schema#subClassOf> <http://imported#Class1> .");
+         }
+         OntModel model = AbstractOpenModelAction.readModel(mainFile, OwlRepresentationType.TYPE_OWL_TURTLE, new LoadingMonitor());
+         OwlSchema schema = new GraphExtractor(mainFile, model, true, false).getGraph();
+         String key = cache.getKey(mainFile);
+         cache.store(key, schema);
+         ImportsLoader.releaseImports(model);
+         assertNotNull("Schema must be restored", cache.load(key));
+
+         importedFile.setLastModified(importedFile.lastModified() + 10000);
+         assertEquals("Key must not depend on the imports", key, cache.getKey(mainFile));
+         assertNull("Schema must not be restored if an import has been modified", cache.load(key));
+         assertFalse("Stale snapshot must be removed", cache.hasSnapshot(key));
+      } finally {
+         importedFile.delete();
+         mainFile.delete();
+         importsDir.delete();
+      }
+   }
+
+   /**
+    * Test that the key of a snapshot depends on the location of the Ontology file.
+    */
+   @Test
+   @Order(order = 6)
+   public void testKeyLocation() throws Exception {
+      System.out.println("SchemaSnapshotCacheTest : testKeyLocation");
+      File file = samples.get(0);
+      File copyDir = Files.createTempDirectory("snapshotCopy").toFile();
+      File copy = new File(copyDir, file.getName());
+      try {
+         Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+         assertNotEquals("Key must depend on the location of the file", cache.getKey(file), cache.getKey(copy));
+      } finally {
+         copy.delete();
+         copyDir.delete();
+      }
+   }
+
+   /**
+    * Test the store and load of a schema with a very deep graph of classes, in the Thread of the test.
+    */
+   @Test
+   @Order(order = 7)
+   public void testDeepSchema() throws Exception {
+      System.out.println("SchemaSnapshotCacheTest : testDeepSchema");
+      int depth = 100000;
+      String ns = "http://deep#";
+      OwlSchema schema = new OwlSchema(ModelFactory.createOntologyModel());
+      OwlClass superClass = null;
+      for (int i = 0; i < depth; i++) {
+         OwlClass theClass = new OwlClass(ns, "Class" + i);
+         schema.addOwlClass(theClass);
+         if (superClass != null) {
+            theClass.addSuperClass(superClass.getKey(), superClass, null);
+            superClass.addSubClass(theClass.getKey(), theClass);
+         }
+         superClass = theClass;
+      }
+      String key = "deep";
+      cache.store(key, schema);
+      OwlSchema restoredSchema = cache.load(key);
+      assertNotNull("Schema must be restored", restoredSchema);
+      assertEquals("Classes", depth, restoredSchema.getOwlClasses().size());
+      OwlClass theClass = restoredSchema.getOwlClass(ElementKey.create(ns, "Class" + (depth - 1)));
+      assertNotNull("Class must be restored", theClass);
+      int count = 0;
+      while (theClass.hasSuperClasses()) {
+         OwlClass parent = theClass.getFirstSuperClass();
+         assertTrue("Superclass must have the class as a subclass", parent.getSubClasses().get(theClass.getKey()) == theClass);
+         assertTrue("Superclass must be the class of the schema", restoredSchema.getOwlClass(parent.getKey()) == parent);
+         theClass = parent;
+         count++;
+      }
+      assertEquals("Depth", depth - 1, count);
+   }
+}
@@ -0,0 +1,282 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.apache.jena.ontology.OntClass;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.ElementTypes;
+import org.girod.ontobrowser.model.NamedOwlElement;
+import org.girod.ontobrowser.model.OwlAnnotation;
+import org.girod.ontobrowser.model.OwlClass;
+import org.girod.ontobrowser.model.OwlDatatypeProperty;
+import org.girod.ontobrowser.model.OwlIndividual;
+import org.girod.ontobrowser.model.OwlObjectProperty;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.utils.SearchIndex;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check the results of the SearchIndex against a scan of the elements of the samples.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class SearchIndexTest {
+   private static boolean includeIndividuals;
+   private static List<File> samples;
+
+   public SearchIndexTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      conf.includeIndividuals = true;
+      samples = SamplesUtils.getSamples();
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration.getInstance().includeIndividuals = includeIndividuals;
+      samples = null;
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   private static OwlSchema getSchema(File file) throws Exception {
+      OntModel model = SamplesUtils.createModel(file);
+      GraphExtractor extractor = new GraphExtractor(file, model, true, false);
+      return extractor.getGraph();
+   }
+
+   private static List<NamedOwlElement> getElements(OwlSchema schema, String category) {
+      List<NamedOwlElement> list = new ArrayList<>();
+      if (category.equals(ElementTypes.ALL) || category.equals(ElementTypes.CLASS)) {
+         list.addAll(schema.getOwlClasses().values());
+      }
+      if (category.equals(ElementTypes.ALL) || category.equals(ElementTypes.PROPERTY) || category.equals(ElementTypes.OBJECTPROPERTY)) {
+         list.addAll(schema.getOwlObjectProperties().values());
+      }
+      if (category.equals(ElementTypes.ALL) || category.equals(ElementTypes.PROPERTY) || category.equals(ElementTypes.DATAPROPERTY)) {
+         list.addAll(schema.getOwlDatatypeProperties().values());
+      }
+      if (category.equals(ElementTypes.ALL) || category.equals(ElementTypes.INDIVIDUAL)) {
+         list.addAll(schema.getIndividuals().values());
+      }
+      if (category.equals(ElementTypes.ANNOTATION)) {
+         list.addAll(schema.getElementAnnotations().values());
+      }
+      return list;
+   }
+
+   private static Set<NamedOwlElement> scan(OwlSchema schema, String category, String regex, boolean matchCase) {
+      Pattern pattern = matchCase ? Pattern.compile(regex) : Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+      Set<NamedOwlElement> set = new HashSet<>();
+      Iterator<NamedOwlElement> it = getElements(schema, category).iterator();
+      while (it.hasNext()) {
+         NamedOwlElement element = it.next();
+         String name = element.getDisplayedName();
+         if (name != null && pattern.matcher(name).matches()) {
+            set.add(element);
+         }
+      }
+      return set;
+   }
+
+   private static Set<NamedOwlElement> search(SearchIndex index, SearchIndex.Query query) {
+      Set<NamedOwlElement> set = new HashSet<>();
+      Iterator<SearchIndex.Match> it = index.search(query).iterator();
+      while (it.hasNext()) {
+         set.add(it.next().getElement());
+      }
+      return set;
+   }
+
+   private static SearchIndex.Query createQuery(String searchString, String category, boolean matchCase) {
+      SearchIndex.Query query = new SearchIndex.Query();
+      query.searchString = searchString;
+      query.category = category;
+      query.matchCase = matchCase;
+      return query;
+   }
+
+   /**
+    * Test of the exact, prefix and wildcard searches on the names of the elements of the samples.
+    */
+   @Test
+   @Order(order = 1)
+   public void testNames() throws Exception {
+      System.out.println("SearchIndexTest : testNames");
+      assertFalse("Must have samples", samples.isEmpty());
+      String[] categories = {ElementTypes.ALL, ElementTypes.CLASS, ElementTypes.PROPERTY, ElementTypes.OBJECTPROPERTY,
+         ElementTypes.DATAPROPERTY, ElementTypes.ANNOTATION, ElementTypes.INDIVIDUAL};
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         OwlSchema schema = getSchema(file);
+         SearchIndex index = schema.getSearchIndex();
+         for (int i = 0; i < categories.length; i++) {
+            String category = categories[i];
+            Iterator<NamedOwlElement> it2 = getElements(schema, category).iterator();
+            int count = 0;
+            while (it2.hasNext() && count < 20) {
+               String name = it2.next().getDisplayedName();
+               if (name == null || name.length() < 4) {
+                  continue;
+               }
+               count++;
+               String prefix = name.substring(0, 3);
+               String middle = name.substring(1, name.length() - 1);
+               for (int j = 0; j < 2; j++) {
+                  boolean matchCase = j == 0;
+                  String message = file.getName() + " " + category + " " + name + " " + matchCase;
+                  assertEquals(message, scan(schema, category, Pattern.quote(name), matchCase), search(index, createQuery(name, category, matchCase)));
+                  assertEquals(message, scan(schema, category, Pattern.quote(prefix) + ".*", matchCase), search(index, createQuery(prefix + "*", category, matchCase)));
+                  assertEquals(message, scan(schema, category, ".*" + Pattern.quote(middle) + ".*", matchCase), search(index, createQuery("*" + middle + "*", category, matchCase)));
+                  SearchIndex.Query query = createQuery(".*" + Pattern.quote(middle) + ".*", category, matchCase);
+                  query.regex = true;
+                  assertEquals(message, scan(schema, category, query.searchString, matchCase), search(index, query));
+               }
+            }
+         }
+         assertEquals(file.getName(), scan(schema, ElementTypes.ALL, ".*", true), search(index, createQuery("*", null, true)));
+      }
+   }
+
+   /**
+    * Test of the ranking of the results, and of a regular expression which is not valid.
+    */
+   @Test
+   @Order(order = 2)
+   public void testRanking() throws Exception {
+      System.out.println("SearchIndexTest : testRanking");
+      OwlSchema schema = new OwlSchema(ModelFactory.createOntologyModel());
+      schema.addOwlClass(new OwlClass("http://test#", "Person"));
+      schema.addOwlClass(new OwlClass("http://test#", "PersonGroup"));
+      schema.addOwlClass(new OwlClass("http://test#", "MainPerson"));
+      SearchIndex index = schema.getSearchIndex();
+      List<SearchIndex.Match> matches = index.search(createQuery("*person*", null, false));
+      assertEquals("Must have 3 matches", 3, matches.size());
+      assertEquals("Person", matches.get(0).getElement().getName());
+      assertEquals("PersonGroup", matches.get(1).getElement().getName());
+      assertEquals("MainPerson", matches.get(2).getElement().getName());
+      matches = index.search(createQuery("Person*", null, true));
+      assertEquals("Must have 2 matches", 2, matches.size());
+      assertEquals("Person", matches.get(0).getElement().getName());
+      assertTrue("Exact match must be ranked first", matches.get(0).getScore() > matches.get(1).getScore());
+      SearchIndex.Query query = createQuery("Person(", null, true);
+      query.regex = true;
+      assertNull("Bad regex", index.search(query));
+      query = createQuery("Pers*", null, true);
+      query.maxResults = 1;
+      assertEquals("Must have 1 match", 1, index.search(query).size());
+   }
+
+   /**
+    * Test of the fuzzy and annotations searches, and of the elements added after the creation of the index.
+    */
+   @Test
+   @Order(order = 3)
+   public void testWords() throws Exception {
+      System.out.println("SearchIndexTest : testWords");
+      OntModel model = ModelFactory.createOntologyModel();
+      OwlSchema schema = new OwlSchema(model);
+      OwlClass vehicle = new OwlClass("http://test#", "MotorVehicle");
+      vehicle.setDescription("A self-propelled machine used to transport passengers");
+      schema.addOwlClass(vehicle);
+      SearchIndex index = schema.getSearchIndex();
+      assertEquals("Must have 1 element", 1, index.size());
+
+      SearchIndex.Query query = createQuery("transport", null, false);
+      assertTrue("Description not searched", search(index, query).isEmpty());
+      query.searchAnnotations = true;
+      assertEquals("Description search", 1, search(index, query).size());
+      query.searchString = "machine pass";
+      assertEquals("Description prefix search", 1, search(index, query).size());
+      query.searchString = "machine bicycle";
+      assertTrue("All the terms must match", search(index, query).isEmpty());
+
+      query = createQuery("vehicel", null, false);
+      assertTrue("Not fuzzy", search(index, query).isEmpty());
+      query.fuzzy = true;
+      assertEquals("Fuzzy search", 1, search(index, query).size());
+      query.searchString = "motr";
+      assertEquals("Fuzzy search", 1, search(index, query).size());
+      query.searchString = "passenjers";
+      assertTrue("Fuzzy search without annotations", search(index, query).isEmpty());
+      query.searchAnnotations = true;
+      assertEquals("Fuzzy search with annotations", 1, search(index, query).size());
+
+      OntClass bicycleClass = model.createClass("http://test#Bicycle");
+      OwlClass bicycle = new OwlClass(bicycleClass);
+      schema.addOwlClass(bicycle);
+      schema.addIndividual(new OwlIndividual(bicycle, model.createIndividual("http://test#myBicycle", bicycleClass)));
+      schema.addOwlProperty(new OwlObjectProperty(model.createObjectProperty("http://test#hasWheel"), "http://test#", "hasWheel"));
+      schema.addOwlProperty(new OwlDatatypeProperty(model.createDatatypeProperty("http://test#wheelSize"), "http://test#", "wheelSize"));
+      schema.addElementAnnotation(new OwlAnnotation("http://test#", "wheelNote"));
+      assertEquals("Must have 6 elements", 6, index.size());
+      assertEquals("Added class", 1, search(index, createQuery("Bicycle", ElementTypes.CLASS, true)).size());
+      assertEquals("Added individual", 1, search(index, createQuery("*Bicycle", ElementTypes.INDIVIDUAL, true)).size());
+      assertEquals("Added properties", 2, search(index, createQuery("*wheel*", ElementTypes.PROPERTY, false)).size());
+      assertEquals("Added annotation", 1, search(index, createQuery("wheel*", ElementTypes.ANNOTATION, false)).size());
+      assertEquals("All elements", 5, search(index, createQuery("*", ElementTypes.ALL, false)).size());
+   }
+}
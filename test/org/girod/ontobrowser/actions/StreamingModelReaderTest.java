@@ -0,0 +1,234 @@
+/*
+Copyright (c) 2025 Hervé Girod
+All rights reserved.
+
+Redistribution and use in source and binary forms, with or without
+modification, are permitted provided that the following conditions are met:
+
+1. Redistributions of source code must retain the above copyright notice, this
+   list of conditions and the following disclaimer.
+
+2. Redistributions in binary form must reproduce the above copyright notice,
+   this list of conditions and the following disclaimer in the documentation
+   and/or other materials provided with the distribution.
+
+3. Neither the name of the copyright holder nor the names of its
+   contributors may be used to endorse or promote products derived from
+   this software without specific prior written permission.
+
+THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+Alternatively if you have any questions about this project, you can visit
+the project website at the project page on https://github.com/hervegirod/ontologyBrowser
+ */
+package org.girod.ontobrowser.actions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.jena.ontology.OntModel;
+import org.girod.ontobrowser.BrowserConfiguration;
+import org.girod.ontobrowser.model.ElementKey;
+import org.girod.ontobrowser.model.OntModelLoader;
+import org.girod.ontobrowser.model.OntModelSpecTypes;
+import org.girod.ontobrowser.model.OwlRepresentationType;
+import org.girod.ontobrowser.model.OwlSchema;
+import org.girod.ontobrowser.parsers.graph.GraphExtractor;
+import org.girod.ontobrowser.parsers.graph.ImportsLoader;
+import org.girod.ontobrowser.parsers.graph.LoadingMonitor;
+import org.girod.ontobrowser.parsers.graph.StreamingModelReader;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mdiutil.junit.Order;
+import org.mdiutil.junit.OrderedRunner;
+
+/**
+ * Check that the streaming open produces the same schema as the default open for all the samples, while only retaining the triples
+ * of the schema.
+ *
+ * @since 0.18
+ */
+@RunWith(OrderedRunner.class)
+public class StreamingModelReaderTest {
+   private static final int INDIVIDUALS_COUNT = 5000;
+   private static boolean includeIndividuals;
+   private static boolean streamingOpen;
+   private static boolean persistentDataset;
+   private static List<File> samples;
+   private static File dir;
+   private static File aboxFile;
+
+   public StreamingModelReaderTest() {
+   }
+
+   @BeforeClass
+   public static void setUpClass() throws IOException {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      includeIndividuals = conf.includeIndividuals;
+      // the streaming open only retains the schema if the individuals are not included
+      conf.includeIndividuals = false;
+      streamingOpen = conf.streamingOpen;
+      persistentDataset = conf.persistentDataset;
+      // the default open is the reference
+      conf.streamingOpen = false;
+      conf.persistentDataset = false;
+      samples = SamplesUtils.getSamples();
+      dir = Files.createTempDirectory("streamingOpen").toFile();
+      aboxFile = writeABox(new File(dir, "abox.ttl"));
+   }
+
+   @AfterClass
+   public static void tearDownClass() {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      conf.includeIndividuals = includeIndividuals;
+      conf.streamingOpen = streamingOpen;
+      conf.persistentDataset = persistentDataset;
+      samples = null;
+      aboxFile.delete();
+      dir.delete();
+   }
+
+   @Before
+   public void setUp() {
+   }
+
+   @After
+   public void tearDown() {
+   }
+
+   /**
+    * Write an Ontology with a small schema and a lot of individuals. Half of the individuals are declared after their values.
+    */
+   private static File writeABox(File file) throws IOException {
+      try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+         writer.println("@prefix owl: <http://www.w3.org/2002/07/owl#> .");
+         writer.println("@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .");
+         writer.println("@prefix xsd: <http://www.w3.org/2001/XMLSchema#> .");
+         writer.println("@prefix : <http://abox#> .");
+         writer.println("<http://abox> a owl:Ontology .");
+         writer.println(":Person a owl:Class ; rdfs:label \"Person\" .");
+         writer.println(":Employee a owl:Class ; rdfs:subClassOf :Person .");
+         writer.println(":knows a owl:ObjectProperty ; rdfs:domain :Person ; rdfs:range :Person .");
+         writer.println(":age a owl:DatatypeProperty ; rdfs:domain :Person ; rdfs:range xsd:int .");
+         for (int i = 0; i < INDIVIDUALS_COUNT; i++) {
+            String individual = ":person" + i;
+            String values = " :age " + i + " ; :knows :person" + ((i + 1) % INDIVIDUALS_COUNT) + " ; rdfs:label \"person " + i + "\"";
+            if (i % 2 == 0) {
+               writer.println(individual + " a owl:NamedIndividual, :Employee ;" + values + " .");
+            } else {
+               writer.println(individual + values + " .");
+               writer.println(individual + " a :Person .");
+            }
+         }
+      }
+      return file;
+   }
+
+   private static OntModel readSchemaModel(StreamingModelReader reader) {
+      BrowserConfiguration conf = BrowserConfiguration.getInstance();
+      OntModel model = reader.read(OntModelSpecTypes.getOntModelSpec(conf.modelSpec));
+      model.setStrictMode(conf.strictMode);
+      return model;
+   }
+
+   /**
+    * Test of the streaming open of all the samples.
+    */
+   @Test
+   @Order(order = 1)
+   public void testStreamingOpen() throws Exception {
+      System.out.println("StreamingModelReaderTest : testStreamingOpen");
+      assertFalse("Must have samples", samples.isEmpty());
+      Iterator<File> it = samples.iterator();
+      while (it.hasNext()) {
+         File file = it.next();
+         short owlType = SamplesUtils.getRepresentationType(file);
+         OntModel model = AbstractOpenModelAction.readModel(file, owlType, new LoadingMonitor());
+
+         StreamingModelReader reader = new StreamingModelReader(file, owlType);
+         OntModel streamedModel = readSchemaModel(reader);
+         assertTrue(file.getName() + " must have triples", reader.getRetainedTriplesCount() > 0);
+         assertTrue(file.getName() + " must not have more triples", reader.getRetainedTriplesCount() <= reader.getTriplesCount());
+         // the order of the statements of a subject depends on the hash of its blank nodes, which changes at each parsing, so the
+         // annotations which have several values are normalized
+         List<String> expected = SchemaDumper.dump(new GraphExtractor(file, model, true, false), model);
+         List<String> actual = SchemaDumper.dump(new GraphExtractor(file, streamedModel, true, false), streamedModel);
+         assertNull(file.getName(), SchemaDumper.firstDifference(expected, actual));
+         ImportsLoader.releaseImports(model);
+         ImportsLoader.releaseImports(streamedModel);
+      }
+   }
+
+   /**
+    * Test that the triples of the individuals are not retained by the streaming open.
+    */
+   @Test
+   @Order(order = 2)
+   public void testRetainedTriples() throws Exception {
+      System.out.println("StreamingModelReaderTest : testRetainedTriples");
+      OntModel model = AbstractOpenModelAction.readModel(aboxFile, OwlRepresentationType.TYPE_OWL_TURTLE, new LoadingMonitor());
+      long modelTriples = model.getBaseModel().size();
+
+      StreamingModelReader reader = new StreamingModelReader(aboxFile, OwlRepresentationType.TYPE_OWL_TURTLE);
+      OntModel streamedModel = readSchemaModel(reader);
+      assertEquals("Must parse all the triples", modelTriples, reader.getTriplesCount());
+      assertEquals("Must have the retained triples", reader.getRetainedTriplesCount(), streamedModel.getBaseModel().size());
+      assertTrue("Must retain less than 1% of the triples: " + reader.getRetainedTriplesCount() + " / " + modelTriples,
+         reader.getRetainedTriplesCount() * 100 < modelTriples);
+
+      List<String> expected = SchemaDumper.dump(new GraphExtractor(aboxFile, model, true, false), model);
+      List<String> actual = SchemaDumper.dump(new GraphExtractor(aboxFile, streamedModel, true, false), streamedModel);
+      assertNull(SchemaDumper.firstDifference(expected, actual));
+      ImportsLoader.releaseImports(model);
+      ImportsLoader.releaseImports(streamedModel);
+   }
+
+   /**
+    * Test that the complete model of a schema extracted from the streamed model is only loaded when it is used.
+    */
+   @Test
+   @Order(order = 3)
+   public void testLazyModel() throws Exception {
+      System.out.println("StreamingModelReaderTest : testLazyModel");
+      OntModel streamedModel = AbstractOpenModelAction.readSchemaModel(aboxFile, OwlRepresentationType.TYPE_OWL_TURTLE, new LoadingMonitor());
+      OwlSchema schema = new GraphExtractor(aboxFile, streamedModel, true, false).getGraph();
+      schema.resetOntModel(new OntModelLoader() {
+         @Override
+         public OntModel loadModel() {
+            try {
+               return AbstractOpenModelAction.readModel(aboxFile, OwlRepresentationType.TYPE_OWL_TURTLE, new LoadingMonitor());
+            } catch (IOException ex) {
+               throw new RuntimeException(ex);
+            }
+         }
+      });
+      ImportsLoader.releaseImports(streamedModel);
+      assertFalse("Schema must not have a model", schema.hasOntModel());
+
+      OntModel model = schema.getOntModel();
+      assertTrue("Schema must have a model", schema.hasOntModel());
+      assertEquals("Must have all the individuals", INDIVIDUALS_COUNT, model.listIndividuals().toList().size());
+      assertEquals("Must be bound to the complete model", model, schema.getOwlClass(ElementKey.createFromURI("http://abox#Person")).getOntClass().getModel());
+      ImportsLoader.releaseImports(model);
+   }
+}